@@ -18,9 +18,12 @@ import org.openjdk.jmh.annotations.Warmup;
 
 import com.google.common.io.ByteStreams;
 
+import rocks.inspectit.agent.java.analyzer.impl.ClassHashFunction;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
+
 /**
  * Performance test for the {@link DigestUtils#sha256(byte[])} method that we use in the byte code
- * analyzer.
+ * analyzer compared to the {@link ClassHashFunction}s that create the class hashes.
  *
  * @author Ivan Senic
  *
@@ -41,6 +44,16 @@ public class DigestUtilsPerfTest {
 		return DigestUtils.sha256Hex(getByteCode(clazz));
 	}
 
+	@Benchmark
+	public ClassHash murmur3ClassHash() {
+		return ClassHashFunction.MURMUR3_128.hash(getByteCode(clazz));
+	}
+
+	@Benchmark
+	public ClassHash sha256ClassHash() {
+		return ClassHashFunction.SHA256.hash(getByteCode(clazz));
+	}
+
 	@Benchmark
 	public byte[] baseline() {
 		return getByteCode(clazz);
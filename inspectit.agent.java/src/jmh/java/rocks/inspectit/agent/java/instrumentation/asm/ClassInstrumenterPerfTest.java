@@ -26,6 +26,7 @@ import org.openjdk.jmh.annotations.Warmup;
 
 import rocks.inspectit.agent.java.instrumentation.InstrumenterFactory;
 import rocks.inspectit.shared.all.instrumentation.config.impl.MethodInstrumentationConfig;
+import rocks.inspectit.shared.all.instrumentation.config.impl.PropertyPathStart;
 import rocks.inspectit.shared.all.instrumentation.config.impl.SensorInstrumentationPoint;
 import rocks.inspectit.shared.all.instrumentation.config.impl.SpecialInstrumentationPoint;
 
@@ -57,6 +58,9 @@ public class ClassInstrumenterPerfTest {
 	@Param({ "true", "false" })
 	private boolean specialMethodInstrumentation;
 
+	@Param({ "true", "false" })
+	private boolean argumentAccess;
+
 	private Collection<MethodInstrumentationConfig> configs;
 
 	@Setup(Level.Iteration)
@@ -76,6 +80,10 @@ public class ClassInstrumenterPerfTest {
 			instrumentationConfig.setReturnType(method.getReturnType().getName());
 			if (!specialMethodInstrumentation) {
 				SensorInstrumentationPoint registeredSensorConfig = new SensorInstrumentationPoint();
+				if (argumentAccess) {
+					// property access forces passing of the parameters and return value
+					registeredSensorConfig.addPropertyAccessor(new PropertyPathStart());
+				}
 				instrumentationConfig.setSensorInstrumentationPoint(registeredSensorConfig);
 			} else {
 				SpecialInstrumentationPoint specialInstrumentationPoint = new SpecialInstrumentationPoint();
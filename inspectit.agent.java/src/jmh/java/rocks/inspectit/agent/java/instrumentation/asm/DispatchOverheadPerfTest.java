@@ -0,0 +1,218 @@
+package rocks.inspectit.agent.java.instrumentation.asm;
+
+import info.novatec.inspectit.org.objectweb.asm.ClassReader;
+import info.novatec.inspectit.org.objectweb.asm.ClassWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rocks.inspectit.agent.java.Agent;
+import rocks.inspectit.agent.java.IAgent;
+import rocks.inspectit.agent.java.hooking.IHookDispatcher;
+import rocks.inspectit.agent.java.instrumentation.InstrumenterFactory;
+import rocks.inspectit.shared.all.instrumentation.config.impl.MethodInstrumentationConfig;
+import rocks.inspectit.shared.all.instrumentation.config.impl.PropertyPathStart;
+import rocks.inspectit.shared.all.instrumentation.config.impl.SensorInstrumentationPoint;
+
+/**
+ * End-to-end performance test of the call overhead that the instrumentation adds to a method with
+ * primitive parameters and return value. The hook dispatcher is doing nothing, thus only the cost
+ * of the generated byte code is measured. With <code>argumentAccess</code> set to
+ * <code>false</code> the lean dispatch without parameters array and return value boxing is used.
+ * Run with the GC profiler (<code>-PjmhProfilers=gc</code>) to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class DispatchOverheadPerfTest {
+
+	@Param({ "true", "false" })
+	private boolean argumentAccess;
+
+	private Workload original;
+
+	private Workload instrumented;
+
+	private int intValue = 3;
+
+	private long longValue = 5L;
+
+	private double doubleValue = 7.5d;
+
+	@Setup
+	public void init() throws Exception {
+		Agent.agent = new BenchmarkAgent();
+
+		SensorInstrumentationPoint sensorInstrumentationPoint = new SensorInstrumentationPoint();
+		if (argumentAccess) {
+			// property access forces passing of the parameters and return value
+			sensorInstrumentationPoint.addPropertyAccessor(new PropertyPathStart());
+		}
+
+		MethodInstrumentationConfig config = new MethodInstrumentationConfig();
+		config.setTargetClassFqn(Target.class.getName());
+		config.setTargetMethodName("compute");
+		config.setReturnType("long");
+		config.setParameterTypes(Arrays.asList("int", "long", "double"));
+		config.setSensorInstrumentationPoint(sensorInstrumentationPoint);
+
+		original = new Target();
+		instrumented = (Workload) instrument(config).newInstance();
+	}
+
+	/**
+	 * Call of the not instrumented method as reference.
+	 */
+	@Benchmark
+	public long original() {
+		return original.compute(intValue, longValue, doubleValue);
+	}
+
+	/**
+	 * Call of the instrumented method.
+	 */
+	@Benchmark
+	public long instrumented() {
+		return instrumented.compute(intValue, longValue, doubleValue);
+	}
+
+	/**
+	 * Instruments the {@link Target} class and loads it in the separate class loader.
+	 *
+	 * @param config
+	 *            instrumentation config
+	 * @return Instrumented class.
+	 * @throws IOException
+	 *             If class can not be read.
+	 */
+	private Class<?> instrument(MethodInstrumentationConfig config) throws IOException {
+		InstrumenterFactory instrumenterFactory = new InstrumenterFactory();
+		ClassReader classReader = new ClassReader(Target.class.getName());
+		LoaderAwareClassWriter classWriter = new LoaderAwareClassWriter(classReader, ClassWriter.COMPUTE_FRAMES, null);
+		ClassInstrumenter classInstrumenter = new ClassInstrumenter(instrumenterFactory, classWriter, Collections.singletonList(config), false);
+		classReader.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+		if (!classInstrumenter.isByteCodeAdded()) {
+			throw new IllegalStateException("Target class was not instrumented.");
+		}
+		return new BenchmarkClassLoader().define(Target.class.getName(), classWriter.toByteArray());
+	}
+
+	/**
+	 * Interface to call the instrumented class without reflection.
+	 */
+	public interface Workload {
+
+		long compute(int a, long b, double c);
+	}
+
+	/**
+	 * Class that is instrumented.
+	 */
+	public static class Target implements Workload {
+
+		public long compute(int a, long b, double c) {
+			return (a * b) + (long) c;
+		}
+	}
+
+	/**
+	 * Class loader defining the instrumented class.
+	 */
+	private static class BenchmarkClassLoader extends ClassLoader {
+
+		BenchmarkClassLoader() {
+			super(DispatchOverheadPerfTest.class.getClassLoader());
+		}
+
+		Class<?> define(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+	/**
+	 * Agent returning the dispatcher that is doing nothing.
+	 */
+	private static class BenchmarkAgent implements IAgent {
+
+		private final IHookDispatcher hookDispatcher = new NoopHookDispatcher();
+
+		public byte[] inspectByteCode(byte[] byteCode, String className, ClassLoader classLoader) {
+			return null;
+		}
+
+		public IHookDispatcher getHookDispatcher() {
+			return hookDispatcher;
+		}
+
+		public boolean shouldClassBeIgnored(String className) {
+			return true;
+		}
+	}
+
+	/**
+	 * Dispatcher that is doing nothing, thus only the instrumented byte code is measured.
+	 */
+	private static class NoopHookDispatcher implements IHookDispatcher {
+
+		public void dispatchMethodBeforeBody(long id, Object object, Object[] parameters) {
+		}
+
+		public void dispatchFirstMethodAfterBody(long id, Object object, Object[] parameters, Object returnValue) {
+		}
+
+		public void dispatchSecondMethodAfterBody(long id, Object object, Object[] parameters, Object returnValue) {
+		}
+
+		public void dispatchMethodBeforeBody(long id, Object object) {
+		}
+
+		public void dispatchFirstMethodAfterBody(long id, Object object) {
+		}
+
+		public void dispatchSecondMethodAfterBody(long id, Object object) {
+		}
+
+		public void dispatchOnThrowInBody(long id, Object object, Object[] parameters, Object exceptionObject) {
+		}
+
+		public void dispatchBeforeCatch(long id, Object exceptionObject) {
+		}
+
+		public void dispatchConstructorOnThrowInBody(long id, Object object, Object[] parameters, Object exceptionObject) {
+		}
+
+		public void dispatchConstructorBeforeCatch(long id, Object exceptionObject) {
+		}
+
+		public void dispatchConstructorBeforeBody(long id, Object[] parameters) {
+		}
+
+		public void dispatchConstructorAfterBody(long id, Object object, Object[] parameters) {
+		}
+
+		public Object dispatchSpecialMethodBeforeBody(long id, Object object, Object[] parameters) {
+			return null;
+		}
+
+		public Object dispatchSpecialMethodAfterBody(long id, Object object, Object[] parameters, Object returnValue) {
+			return null;
+		}
+	}
+}
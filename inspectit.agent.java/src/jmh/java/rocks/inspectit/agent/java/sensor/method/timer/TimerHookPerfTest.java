@@ -0,0 +1,183 @@
+package rocks.inspectit.agent.java.sensor.method.timer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
+import rocks.inspectit.agent.java.core.ICoreService;
+import rocks.inspectit.agent.java.core.IObjectStorage;
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.agent.java.core.ListListener;
+import rocks.inspectit.agent.java.util.ThreadLocalPrimitiveStack;
+import rocks.inspectit.agent.java.util.ThreadLocalStack;
+import rocks.inspectit.agent.java.util.Timer;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
+
+/**
+ * Performance test for the {@link TimerHook} and the time stacks used by the hooks. Run with the
+ * GC profiler (<code>-PjmhProfilers=gc</code>) to verify that the <code>gc.alloc.rate.norm</code>
+ * of the {@link #timerHook()} and {@link #primitiveStack()} benchmarks is zero bytes per
+ * operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class TimerHookPerfTest {
+
+	private static final long METHOD_ID = 1L;
+
+	private static final long SENSOR_TYPE_ID = 2L;
+
+	private TimerHook timerHook;
+
+	private ICoreService coreService;
+
+	private RegisteredSensorConfig rsc;
+
+	private final ThreadLocalStack<Double> objectStack = new ThreadLocalStack<Double>();
+
+	private final ThreadLocalPrimitiveStack primitiveStack = new ThreadLocalPrimitiveStack();
+
+	private final Timer timer = new Timer();
+
+	private final Object object = new Object();
+
+	private final Object[] parameters = new Object[0];
+
+	@Setup
+	public void init() {
+		Map<String, Object> settings = new HashMap<String, Object>();
+		settings.put("mode", "optimized");
+
+		timerHook = new TimerHook(timer, new BenchmarkPlatformManager(), null, settings, ManagementFactory.getThreadMXBean());
+
+		rsc = new RegisteredSensorConfig();
+		rsc.setSettings(Collections.<String, Object> emptyMap());
+
+		ITimerStorage storage = new OptimizedTimerStorage(null, 1L, SENSOR_TYPE_ID, METHOD_ID, null, false);
+		coreService = new StorageCoreService(storage);
+	}
+
+	/**
+	 * One complete invocation of the timer hook with an already existing storage.
+	 */
+	@Benchmark
+	public void timerHook() {
+		timerHook.beforeBody(METHOD_ID, SENSOR_TYPE_ID, object, parameters, rsc);
+		timerHook.firstAfterBody(METHOD_ID, SENSOR_TYPE_ID, object, parameters, null, rsc);
+		timerHook.secondAfterBody(coreService, METHOD_ID, SENSOR_TYPE_ID, object, parameters, null, rsc);
+	}
+
+	/**
+	 * Push and pop of two time values with the boxing {@link ThreadLocalStack}.
+	 */
+	@Benchmark
+	public double objectStack() {
+		objectStack.push(Double.valueOf(timer.getCurrentTime()));
+		objectStack.push(Double.valueOf(timer.getCurrentTime()));
+		return objectStack.pop().doubleValue() - objectStack.pop().doubleValue();
+	}
+
+	/**
+	 * Push and pop of two time values with the {@link ThreadLocalPrimitiveStack}.
+	 */
+	@Benchmark
+	public double primitiveStack() {
+		primitiveStack.pushDouble(timer.getCurrentTime());
+		primitiveStack.pushDouble(timer.getCurrentTime());
+		return primitiveStack.popDouble() - primitiveStack.popDouble();
+	}
+
+	/**
+	 * Platform manager that always returns the same platform id.
+	 */
+	private static class BenchmarkPlatformManager implements IPlatformManager {
+
+		public boolean isPlatformRegistered() {
+			return true;
+		}
+
+		public long getPlatformId() {
+			return 1L;
+		}
+
+		public void unregisterPlatform() {
+		}
+	}
+
+	/**
+	 * Core service that always returns the same object storage, thus the benchmark only measures
+	 * the hook itself.
+	 */
+	private static class StorageCoreService implements ICoreService {
+
+		private final IObjectStorage objectStorage;
+
+		StorageCoreService(IObjectStorage objectStorage) {
+			this.objectStorage = objectStorage;
+		}
+
+		public IObjectStorage getObjectStorage(long sensorTypeIdent, long methodIdent, String prefix) {
+			return objectStorage;
+		}
+
+		public void start() {
+		}
+
+		public void stop() {
+		}
+
+		public void addJmxSensorValueData(long sensorTypeIdent, String objectName, String attributeName, JmxSensorValueData jmxSensorValueData) {
+		}
+
+		public void addMethodSensorData(long sensorTypeId, long methodId, String prefix, MethodSensorData methodSensorData) {
+		}
+
+		public void addPlatformSensorData(long sensorTypeIdent, SystemSensorData systemSensorData) {
+		}
+
+		public void addExceptionSensorData(long sensorTypeIdent, long throwableIdentityHashCode, ExceptionSensorData exceptionSensorData) {
+		}
+
+		public IObjectStorage addObjectStorage(long sensorTypeId, long methodId, String prefix, IObjectStorage objectStorage) {
+			return null;
+		}
+
+		public void sendData() {
+		}
+
+		public MethodSensorData getMethodSensorData(long sensorTypeIdent, long methodIdent, String prefix) {
+			return null;
+		}
+
+		public ExceptionSensorData getExceptionSensorData(long sensorTypeIdent, long throwableIdentityHashCode) {
+			return null;
+		}
+
+		public void addListListener(ListListener listener) {
+		}
+
+		public void removeListListener(ListListener listener) {
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package rocks.inspectit.agent.java.sensor.method.timer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention performance test for the {@link ITimerStorage} implementations. All threads update
+ * the same storage, as it's the case when many request threads execute the same method.
+ * <p>
+ * Note that the <i>optimized</i> storage is not thread-safe and loses updates under contention,
+ * it's included only as the baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TimerStoragePerfTest {
+
+	@Param({ "optimized", "striped" })
+	private String mode;
+
+	private ITimerStorage storage;
+
+	@Setup(Level.Iteration)
+	public void init() {
+		if ("striped".equals(mode)) {
+			storage = new StripedTimerStorage(null, 1L, 1L, 1L, null, false);
+		} else {
+			storage = new OptimizedTimerStorage(null, 1L, 1L, 1L, null, false);
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public void threads1() {
+		storage.addData(10d, 5d);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void threads4() {
+		storage.addData(10d, 5d);
+	}
+
+	@Benchmark
+	@Threads(16)
+	public void threads16() {
+		storage.addData(10d, 5d);
+	}
+
+	@Benchmark
+	@Threads(64)
+	public void threads64() {
+		storage.addData(10d, 5d);
+	}
+
+}
@@ -0,0 +1,254 @@
+package rocks.inspectit.agent.java.analyzer.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import rocks.inspectit.agent.java.connection.IConnection;
+import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
+import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Collects the types that need to be analyzed by the CMR and sends them in batches using
+ * {@link IConnection#analyze(long, Map)}. Types submitted while a batch is on its way to the CMR
+ * are coalesced in the next batch, thus the types of classes loaded concurrently and the depending
+ * types of a class are sent with only few round trips.
+ * <p>
+ * Batches are sent in the submit order by only one thread at a time, thus a type is never sent
+ * after a type submitted later. Result of the analysis is registered to the
+ * {@link ClassHashHelper} before the future returned by {@link #submit(ClassHash, Type)} completes.
+ */
+@Component
+public class AnalyzeBatcher {
+
+	/**
+	 * Maximum amount of types sent in one batch.
+	 */
+	private static final int MAX_BATCH_SIZE = 512;
+
+	/**
+	 * Log for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * Platform manager.
+	 */
+	@Autowired
+	private IPlatformManager platformManager;
+
+	/**
+	 * {@link IConnection}.
+	 */
+	@Autowired
+	private IConnection connection;
+
+	/**
+	 * {@link ClassHashHelper} to register sent types to.
+	 */
+	@Autowired
+	private ClassHashHelper classHashHelper;
+
+	/**
+	 * Core-service executor service.
+	 */
+	@Autowired
+	@Qualifier("coreServiceExecutorService")
+	private ExecutorService executorService;
+
+	/**
+	 * Types waiting to be sent.
+	 */
+	private final Queue<PendingType> queue = new ConcurrentLinkedQueue<PendingType>();
+
+	/**
+	 * If the sending task is currently scheduled or running.
+	 */
+	private final AtomicBoolean sending = new AtomicBoolean();
+
+	/**
+	 * Runnable sending the pending types.
+	 */
+	private final Runnable sendingRunnable = new Runnable() {
+		@Override
+		public void run() {
+			sendPending();
+		}
+	};
+
+	/**
+	 * Submits the type for the analysis. Method does not block, the type is sent asynchronously
+	 * together with the other submitted types.
+	 *
+	 * @param hash
+	 *            Class hash.
+	 * @param type
+	 *            Type that has been parsed from the byte-code.
+	 * @return Future holding the instrumentation definition or <code>null</code> if the type
+	 *         should not be instrumented. If sending failed the future holds the exception.
+	 */
+	public Future<InstrumentationDefinition> submit(ClassHash hash, Type type) {
+		PendingType pendingType = new PendingType(hash, type);
+		queue.offer(pendingType);
+		scheduleSending();
+		return pendingType.future;
+	}
+
+	/**
+	 * Schedules the sending task if there are pending types and the task is not already
+	 * scheduled.
+	 */
+	private void scheduleSending() {
+		if (!queue.isEmpty() && sending.compareAndSet(false, true)) {
+			try {
+				executorService.submit(sendingRunnable);
+			} catch (RejectedExecutionException e) {
+				sending.set(false);
+				// executor is shut down, nothing will be sent anymore
+				PendingType pendingType = queue.poll();
+				while (null != pendingType) {
+					pendingType.future.setException(e);
+					pendingType = queue.poll();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sends the pending types in batches until the queue is empty.
+	 */
+	void sendPending() {
+		try {
+			List<PendingType> batch = pollBatch();
+			while (!batch.isEmpty()) {
+				send(batch);
+				batch = pollBatch();
+			}
+		} finally {
+			sending.set(false);
+			// types could have been added after the last poll
+			scheduleSending();
+		}
+	}
+
+	/**
+	 * Removes the next batch from the queue.
+	 *
+	 * @return Batch of pending types, never <code>null</code>.
+	 */
+	private List<PendingType> pollBatch() {
+		List<PendingType> batch = new ArrayList<PendingType>();
+		PendingType pendingType = queue.poll();
+		while (null != pendingType) {
+			batch.add(pendingType);
+			if (batch.size() >= MAX_BATCH_SIZE) {
+				break;
+			}
+			pendingType = queue.poll();
+		}
+		return batch;
+	}
+
+	/**
+	 * Sends one batch to the CMR and completes the futures of the pending types.
+	 *
+	 * @param batch
+	 *            Pending types to send.
+	 */
+	private void send(List<PendingType> batch) {
+		Map<String, Type> hashToType = new HashMap<String, Type>(batch.size());
+		for (PendingType pendingType : batch) {
+			hashToType.put(pendingType.hashString, pendingType.type);
+		}
+
+		Map<String, InstrumentationDefinition> instrumentationResults;
+		try {
+			instrumentationResults = connection.analyze(platformManager.getPlatformId(), hashToType);
+		} catch (Exception e) { // NOPMD
+			if (e instanceof ServerUnavailableException) {
+				ServerUnavailableException serverUnavailableException = (ServerUnavailableException) e;
+				if (log.isDebugEnabled()) {
+					log.debug("Batch of " + batch.size() + " types could not be sent to the CMR." + (serverUnavailableException.isServerTimeout() ? " Server timeout." : " Server not available."), e);
+				} else {
+					log.warn("Batch of " + batch.size() + " types could not be sent to the CMR due to the ServerUnavailableException."
+							+ (serverUnavailableException.isServerTimeout() ? " (timeout)" : " (error)"));
+				}
+			} else {
+				log.error("Batch of " + batch.size() + " types could not be analyzed by the CMR.", e);
+			}
+
+			for (PendingType pendingType : batch) {
+				pendingType.future.setException(e);
+			}
+			return;
+		}
+
+		for (PendingType pendingType : batch) {
+			InstrumentationDefinition instrumentationResult = instrumentationResults.get(pendingType.hashString);
+			String fqn = pendingType.type.getFQN();
+			classHashHelper.registerSent(fqn, pendingType.hash);
+			classHashHelper.registerInstrumentationDefinition(fqn, instrumentationResult);
+			pendingType.future.set(instrumentationResult);
+		}
+	}
+
+	/**
+	 * Type waiting to be sent.
+	 */
+	private static class PendingType {
+
+		/**
+		 * Class hash.
+		 */
+		private final ClassHash hash;
+
+		/**
+		 * String representation of the class hash used in the communication with the CMR.
+		 */
+		private final String hashString;
+
+		/**
+		 * Parsed type.
+		 */
+		private final Type type;
+
+		/**
+		 * Future to complete once the result is known.
+		 */
+		private final SettableFuture<InstrumentationDefinition> future = SettableFuture.create();
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param hash
+		 *            Class hash.
+		 * @param type
+		 *            Parsed type.
+		 */
+		PendingType(ClassHash hash, Type type) {
+			this.hash = hash;
+			this.hashString = hash.toString();
+			this.type = type;
+		}
+	}
+
+}
@@ -9,17 +9,17 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,6 +44,7 @@ import rocks.inspectit.agent.java.instrumentation.asm.ClassInstrumenter;
 import rocks.inspectit.agent.java.instrumentation.asm.LoaderAwareClassWriter;
 import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
 import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
 import rocks.inspectit.shared.all.instrumentation.config.impl.MethodInstrumentationConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.PropertyPathStart;
@@ -62,10 +63,15 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 
 	/**
-	 * Amount of milliseconds to wait for the result of the {@link AnalyzeCallable}.
+	 * Amount of milliseconds to wait for the result of the analysis.
 	 */
 	private static final int ANALYZE_TIMEOUT_MILLIS = 2000;
 
+	/**
+	 * System property for choosing the {@link ClassHashFunction}.
+	 */
+	static final String CLASS_HASH_FUNCTION_PROPERTY = "inspectit.class.hash";
+
 	/**
 	 * Log for the class.
 	 */
@@ -102,6 +108,12 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 	@Autowired
 	private ClassHashHelper classHashHelper;
 
+	/**
+	 * {@link AnalyzeBatcher} for sending the types to the CMR.
+	 */
+	@Autowired
+	private AnalyzeBatcher analyzeBatcher;
+
 	/**
 	 * Core-service executor service.
 	 */
@@ -126,17 +138,21 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 	 */
 	private Map<Long, IMethodSensor> methodSensorMap;
 
+	/**
+	 * Function creating the class hashes.
+	 */
+	private ClassHashFunction classHashFunction = ClassHashFunction.MURMUR3_128;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public byte[] analyzeAndInstrument(byte[] byteCode, String className, final ClassLoader classLoader) {
-		return analyzeAndInstrumentInternal(byteCode, className, classLoader, true);
+		return analyzeAndInstrumentInternal(byteCode, className, classLoader);
 	}
 
 	/**
 	 * Internal implementation of the {@link #analyzeAndInstrument(byte[], String, ClassLoader)}.
-	 * Provides option to define if the instrumentation needs to be performed or not.
 	 *
 	 * @param byteCode
 	 *            The byte-code of the class to analyze. If <code>null</code> is passed byte code
@@ -145,13 +161,10 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 	 *            The class name.
 	 * @param classLoader
 	 *            The class loader.
-	 * @param performInstrumentation
-	 *            If instrumentation should be performed with the instrumentation result sent by the
-	 *            server.
 	 * @return The instrumented byte code or <code>null</code> if instrumentation was not performed
 	 *         (or in case of error).
 	 */
-	private byte[] analyzeAndInstrumentInternal(byte[] byteCode, String className, final ClassLoader classLoader, boolean performInstrumentation) {
+	private byte[] analyzeAndInstrumentInternal(byte[] byteCode, String className, final ClassLoader classLoader) {
 		// clear any interrupted flag that might be there on the thread loading the class
 		boolean isInterrupted = Thread.interrupted();
 		try {
@@ -168,7 +181,7 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 			classHashHelper.registerAnalyzed(className);
 
 			// create the hash
-			String hash = DigestUtils.sha256Hex(byteCode);
+			ClassHash hash = classHashFunction.hash(byteCode);
 			InstrumentationDefinition instrumentationResult = null;
 			if (classHashHelper.isSent(className, hash)) {
 				// if sent load instrumentation result from the class hash helper
@@ -185,17 +198,17 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 
 				// parse first, do not use internFQNs
 				ClassReader classReader = new ClassReader(byteCode);
-				ClassAnalyzer classAnalyzer = new ClassAnalyzer(hash);
+				ClassAnalyzer classAnalyzer = new ClassAnalyzer(hash.toString());
 				classReader.accept(classAnalyzer, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
 				Type type = (Type) classAnalyzer.getType();
 
-				// analyze all necessary depending classes before
+				// submit all necessary depending classes before, we don't wait for their results
+				// as they are sent in the same or in an earlier batch than the type itself
 				analyzeDependingTypes(type, classLoader);
 
-				// try connecting to server
-				Callable<InstrumentationDefinition> analyzeCallable = new AnalyzeCallable(connection, platformManager.getPlatformId(), hash, type);
+				// wait for the result from the server
 				try {
-					instrumentationResult = executorService.submit(analyzeCallable).get(ANALYZE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+					instrumentationResult = analyzeBatcher.submit(hash, type).get(ANALYZE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
 				} catch (InterruptedException e) {
 					isInterrupted = true;
 					if (log.isWarnEnabled()) {
@@ -208,21 +221,10 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 					}
 					return null;
 				}
-
-				// register type as sent
-				classHashHelper.registerSent(className, hash);
-				classHashHelper.registerInstrumentationDefinition(className, instrumentationResult);
 			}
 
 			// execute instrumentation if needed
-			if (performInstrumentation) {
-				return performInstrumentation(byteCode, classLoader, instrumentationResult);
-			} else {
-				return null;
-			}
-		} catch (IdNotAvailableException idNotAvailableException) {
-			log.error("Error occurred instrumenting the byte code of class " + className, idNotAvailableException);
-			return null;
+			return performInstrumentation(byteCode, classLoader, instrumentationResult);
 		} catch (StorageException storageException) {
 			log.error("Error occurred instrumenting the byte code of class " + className, storageException);
 			return null;
@@ -237,7 +239,8 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 	}
 
 	/**
-	 * Analyze the depending types of the given type and sends the results to the server if needed.
+	 * Analyze the depending types of the given type and submits them to the
+	 * {@link AnalyzeBatcher} if needed. Does not wait for the results of the analysis.
 	 *
 	 * @param type
 	 *            {@link Type}
@@ -249,12 +252,43 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 		if (CollectionUtils.isNotEmpty(dependingTypes)) {
 			for (Type dependingType : dependingTypes) {
 				if (!classHashHelper.isAnalyzed(dependingType.getFQN())) {
-					analyzeAndInstrumentInternal(null, dependingType.getFQN(), classLoader, false);
+					analyzeDependingType(dependingType.getFQN(), classLoader);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Parses the depending type with the given name and submits it to the {@link AnalyzeBatcher}
+	 * if it was not sent before. The depending types of this type are submitted first.
+	 *
+	 * @param className
+	 *            The class name.
+	 * @param classLoader
+	 *            {@link ClassLoader} used for loading the type that depends on this one.
+	 */
+	private void analyzeDependingType(String className, ClassLoader classLoader) {
+		byte[] byteCode = getByteCodeFromClassLoader(className, classLoader);
+		if (null == byteCode) {
+			return;
+		}
+
+		classHashHelper.registerAnalyzed(className);
+
+		ClassHash hash = classHashFunction.hash(byteCode);
+		if (classHashHelper.isSent(className, hash)) {
+			return;
+		}
+
+		ClassReader classReader = new ClassReader(byteCode);
+		ClassAnalyzer classAnalyzer = new ClassAnalyzer(hash.toString());
+		classReader.accept(classAnalyzer, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+		Type type = (Type) classAnalyzer.getType();
+
+		analyzeDependingTypes(type, classLoader);
+		analyzeBatcher.submit(hash, type);
+	}
+
 	/**
 	 * Performs the instrumentation. No instrumentation will be performed if instrumentation result
 	 * is <code>null</code> or {@link InstrumentationDefinition#isEmpty()} returns <code>true</code>
@@ -472,6 +506,15 @@ public class ByteCodeAnalyzer implements IByteCodeAnalyzer, InitializingBean {
 		for (IMethodSensor methodSensor : methodSensors) {
 			methodSensorMap.put(methodSensor.getSensorTypeConfig().getId(), methodSensor);
 		}
+
+		String classHashFunctionProperty = System.getProperty(CLASS_HASH_FUNCTION_PROPERTY);
+		if (StringUtils.isNotBlank(classHashFunctionProperty)) {
+			try {
+				classHashFunction = ClassHashFunction.valueOf(classHashFunctionProperty.trim().toUpperCase(Locale.ENGLISH));
+			} catch (IllegalArgumentException e) {
+				log.warn("Unknown class hash function " + classHashFunctionProperty + " specified with the " + CLASS_HASH_FUNCTION_PROPERTY + " property, using " + classHashFunction + ".");
+			}
+		}
 	}
 
 }
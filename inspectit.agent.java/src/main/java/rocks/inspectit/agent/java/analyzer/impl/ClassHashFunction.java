@@ -0,0 +1,50 @@
+package rocks.inspectit.agent.java.analyzer.impl;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import com.google.common.hash.Hashing;
+
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
+
+/**
+ * Functions available for creating the identity hash of the class byte code.
+ */
+public enum ClassHashFunction {
+
+	/**
+	 * Non-cryptographic Murmur3 128-bit hash. Fast and used as default.
+	 */
+	MURMUR3_128 {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public ClassHash hash(byte[] byteCode) {
+			return ClassHash.fromBytes(Hashing.murmur3_128().hashBytes(byteCode).asBytes());
+		}
+	},
+
+	/**
+	 * SHA-256 hash truncated to 128 bits. Results in the same class hashes as the ones created by
+	 * the agents that were always using SHA-256.
+	 */
+	SHA256 {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public ClassHash hash(byte[] byteCode) {
+			return ClassHash.fromBytes(DigestUtils.sha256(byteCode));
+		}
+	};
+
+	/**
+	 * Creates the class hash for the given byte code.
+	 *
+	 * @param byteCode
+	 *            Class byte code.
+	 * @return Class hash
+	 */
+	public abstract ClassHash hash(byte[] byteCode);
+
+}
@@ -4,13 +4,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -29,6 +28,7 @@ import com.esotericsoftware.kryo.io.Output;
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
 import rocks.inspectit.agent.java.io.FileResolver;
 import rocks.inspectit.agent.java.spring.PrototypesProvider;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
 import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
 import rocks.inspectit.shared.all.serializer.provider.SerializationManagerProvider;
@@ -123,14 +123,14 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 	 * @param hash
 	 *            Class hash
 	 */
-	public void registerSent(String fqn, String hash) {
+	public void registerSent(String fqn, ClassHash hash) {
 		ClassEntry entry = getOrCreateEntry(fqn);
 		entry.addHash(hash);
 	}
 
 	/**
 	 * Returns if the class with given fqn and hash has been sent to the CMR. Only hashes that are
-	 * registered with {@link #registerSent(String)} are considered as sent ones.
+	 * registered with {@link #registerSent(String, ClassHash)} are considered as sent ones.
 	 *
 	 * @param fqn
 	 *            Class fully qualified name.
@@ -140,7 +140,7 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 	 *
 	 * @return Returns if the class with given hash has been sent to the CMR.
 	 */
-	public boolean isSent(String fqn, String hash) {
+	public boolean isSent(String fqn, ClassHash hash) {
 		ClassEntry entry = fqnToClassEntryMap.get(fqn);
 		return entry != null ? entry.containsHash(hash) : false;
 	}
@@ -230,7 +230,7 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 				String fqn = instrumentationResult.getClassName();
 				registerInstrumentationDefinition(fqn, instrumentationResult);
 				for (String hash : entry.getKey()) {
-					registerSent(fqn, hash);
+					registerSent(fqn, ClassHash.fromString(hash));
 				}
 			}
 		}
@@ -256,7 +256,8 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 	}
 
 	/**
-	 * Load sent classes from disk.
+	 * Load sent classes from disk. Hashes are saved as pairs of longs, but the caches saved with
+	 * hashes as strings are also supported.
 	 */
 	@SuppressWarnings("unchecked")
 	private void loadCacheFromDisk() {
@@ -268,11 +269,20 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 				fileInputStream = new FileInputStream(file);
 				Input input = new Input(fileInputStream);
 
-				Map<String, Collection<String>> fqnWithHashes = (Map<String, Collection<String>>) serializationManager.deserialize(input);
-				for (Entry<String, Collection<String>> entry : fqnWithHashes.entrySet()) {
+				Map<String, Object> fqnWithHashes = (Map<String, Object>) serializationManager.deserialize(input);
+				for (Entry<String, Object> entry : fqnWithHashes.entrySet()) {
 					ClassEntry classEntry = getOrCreateEntry(entry.getKey());
-					for (String hash : entry.getValue()) {
-						classEntry.addHash(hash);
+					Object hashes = entry.getValue();
+					if (hashes instanceof long[]) {
+						long[] pairs = (long[]) hashes;
+						for (int i = 0; (i + 1) < pairs.length; i += 2) {
+							classEntry.addHash(new ClassHash(pairs[i], pairs[i + 1]));
+						}
+					} else if (hashes instanceof Collection) {
+						// cache saved with hashes as strings
+						for (String hash : (Collection<String>) hashes) {
+							classEntry.addHash(ClassHash.fromString(hash));
+						}
 					}
 				}
 			} catch (Throwable t) { // NOPMD
@@ -328,7 +338,7 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 			Output output = new Output(fileOutputStream);
 
 			// save only the ones being set to the CMR
-			Map<String, Collection<String>> fqnWithHashes = new HashMap<String, Collection<String>>();
+			Map<String, long[]> fqnWithHashes = new HashMap<String, long[]>();
 			for (Entry<String, ClassEntry> entry : fqnToClassEntryMap.entrySet()) {
 				fqnWithHashes.put(entry.getKey(), entry.getValue().getHashes());
 			}
@@ -348,8 +358,8 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 	}
 
 	/**
-	 * Simple entry class that should hold the {@link InstrumentationDefinition} and collection of
-	 * class loaders for one class hash.
+	 * Simple entry class that should hold the {@link InstrumentationDefinition} and the known hashes
+	 * for one class.
 	 *
 	 * @author Ivan Senic
 	 *
@@ -362,9 +372,10 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 		private volatile InstrumentationDefinition instrumentationResult;
 
 		/**
-		 * Known hashes for this class.
+		 * Known hashes for this class as pairs of high and low bits. Array is never changed, only
+		 * replaced with the copy.
 		 */
-		private final CopyOnWriteArrayList<String> hashes = new CopyOnWriteArrayList<String>();
+		private volatile long[] hashes = new long[0];
 
 		/**
 		 * Gets {@link #instrumentationResult}.
@@ -391,9 +402,13 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 		 * @param hash
 		 *            of the class
 		 */
-		public void addHash(String hash) {
-			if (null != hash) {
-				hashes.addIfAbsent(hash);
+		public synchronized void addHash(ClassHash hash) {
+			if ((null != hash) && !containsHash(hash)) {
+				long[] current = hashes;
+				long[] updated = Arrays.copyOf(current, current.length + 2);
+				updated[current.length] = hash.getHigh();
+				updated[current.length + 1] = hash.getLow();
+				hashes = updated;
 			}
 		}
 
@@ -404,20 +419,25 @@ public class ClassHashHelper implements InitializingBean, DisposableBean {
 		 *            of the class
 		 * @return Returns if the hash is contained in the {@link #hashes}.
 		 */
-		public boolean containsHash(String hash) {
+		public boolean containsHash(ClassHash hash) {
 			if (null != hash) {
-				return hashes.contains(hash);
+				long[] current = hashes;
+				for (int i = 0; i < current.length; i += 2) {
+					if ((current[i] == hash.getHigh()) && (current[i + 1] == hash.getLow())) {
+						return true;
+					}
+				}
 			}
 			return false;
 		}
 
 		/**
-		 * Gets {@link #hashes}.
+		 * Gets {@link #hashes}. Returned array must not be changed.
 		 *
 		 * @return {@link #hashes}
 		 */
-		public Collection<String> getHashes() {
-			return Collections.unmodifiableList(hashes);
+		public long[] getHashes() {
+			return hashes;
 		}
 
 	}
@@ -0,0 +1,393 @@
+package rocks.inspectit.agent.java.buffer.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import rocks.inspectit.agent.java.buffer.AbstractBufferStrategy;
+import rocks.inspectit.agent.java.buffer.IBufferStrategy;
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.agent.java.core.IdNotAvailableException;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.DataLossInformationData;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Lock-free bounded buffer strategy holding the lists of measurements in a ring. Contrary to the
+ * {@link SizeBufferStrategy} the lists are returned in the FIFO order and adding never blocks.
+ * <p>
+ * The ring is based on the bounded queue of Dmitry Vyukov: every slot has a sequence number that
+ * tells producers and consumers if the slot can be written or read, thus the head and tail
+ * counters are the only points of contention. Although there is only one consumer (the sending
+ * thread), the poll side is also CAS based as producers need to evict the oldest list when the
+ * ring is full and the drop policy is {@link DropPolicy#OLDEST} or {@link DropPolicy#SAMPLING}.
+ * <p>
+ * Every dropped list and element is counted. Counts that were not reported yet are sent to the
+ * CMR as {@link DataLossInformationData} appended to the next list returned by {@link #next()}.
+ */
+public class RingBufferStrategy extends AbstractBufferStrategy<DefaultData> implements IBufferStrategy<DefaultData> {
+
+	/**
+	 * The logger of the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * The default capacity if none is specified.
+	 */
+	private static final int DEFAULT_SIZE = 16;
+
+	/**
+	 * Platform manager for the platform id of the data loss information.
+	 */
+	@Autowired
+	private IPlatformManager platformManager;
+
+	/**
+	 * Random used by the {@link DropPolicy#SAMPLING} policy.
+	 */
+	private final Random random = new Random();
+
+	/**
+	 * Policy used when the ring is full.
+	 */
+	private DropPolicy dropPolicy = DropPolicy.OLDEST;
+
+	/**
+	 * Slots holding the lists.
+	 */
+	private AtomicReferenceArray<List<DefaultData>> slots;
+
+	/**
+	 * Sequence number of each slot.
+	 */
+	private AtomicLongArray sequences;
+
+	/**
+	 * Mask for the slot index, capacity is always power of two.
+	 */
+	private int mask;
+
+	/**
+	 * Position of the next slot to read.
+	 */
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * Position of the next slot to write.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * Amount of consecutive adds that found the ring full, used for the sampling.
+	 */
+	private final AtomicLong fullAdds = new AtomicLong();
+
+	/**
+	 * Dropped elements not yet reported to the CMR.
+	 */
+	private final AtomicLong pendingDroppedObjects = new AtomicLong();
+
+	/**
+	 * Dropped lists not yet reported to the CMR.
+	 */
+	private final AtomicLong pendingDroppedBatches = new AtomicLong();
+
+	/**
+	 * Total amount of dropped elements.
+	 */
+	private final AtomicLong totalDroppedObjects = new AtomicLong();
+
+	/**
+	 * Total amount of dropped lists.
+	 */
+	private final AtomicLong totalDroppedBatches = new AtomicLong();
+
+	/**
+	 * Delegates to the second constructor with the default size.
+	 */
+	public RingBufferStrategy() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * The second constructor where one can specify the capacity of the ring. Capacity is rounded
+	 * up to the next power of two.
+	 *
+	 * @param size
+	 *            The ring capacity.
+	 */
+	public RingBufferStrategy(int size) {
+		allocate(size);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addMeasurements(List<DefaultData> measurements) {
+		if (null == measurements) {
+			throw new IllegalArgumentException("Measurements cannot be null!");
+		}
+
+		while (!offer(measurements)) {
+			// ring is full
+			if ((DropPolicy.NEWEST == dropPolicy) || ((DropPolicy.SAMPLING == dropPolicy) && !sampleNewest())) {
+				drop(measurements);
+				return;
+			}
+
+			List<DefaultData> oldest = poll();
+			if (null != oldest) {
+				drop(oldest);
+			}
+		}
+		fullAdds.set(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		long position = head.get();
+		return sequences.get(index(position)) == (position + 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<DefaultData> next() {
+		List<DefaultData> measurements = poll();
+		if (null == measurements) {
+			throw new NoSuchElementException();
+		}
+
+		long droppedObjects = pendingDroppedObjects.getAndSet(0);
+		long droppedBatches = pendingDroppedBatches.getAndSet(0);
+		if ((droppedObjects > 0) || (droppedBatches > 0)) {
+			try {
+				DataLossInformationData dataLossInformationData = new DataLossInformationData(new Timestamp(System.currentTimeMillis()), platformManager.getPlatformId(), 0);
+				dataLossInformationData.setDroppedObjects(droppedObjects);
+				dataLossInformationData.setDroppedBatches(droppedBatches);
+
+				// don't change the list passed by the producer
+				List<DefaultData> result = new ArrayList<DefaultData>(measurements.size() + 1);
+				result.addAll(measurements);
+				result.add(dataLossInformationData);
+				return result;
+			} catch (IdNotAvailableException e) {
+				// report with the next list
+				pendingDroppedObjects.addAndGet(droppedObjects);
+				pendingDroppedBatches.addAndGet(droppedBatches);
+			}
+		}
+
+		return measurements;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Must be called before any data is added.
+	 */
+	@Override
+	public void init(Map<String, String> settings) {
+		if (settings.containsKey("size")) {
+			allocate(Integer.parseInt(settings.get("size")));
+		}
+		if (settings.containsKey("dropPolicy")) {
+			this.dropPolicy = DropPolicy.valueOf(settings.get("dropPolicy").toUpperCase(Locale.ENGLISH));
+		}
+	}
+
+	/**
+	 * Returns total amount of dropped elements.
+	 *
+	 * @return Total amount of dropped elements.
+	 */
+	public long getTotalDroppedObjects() {
+		return totalDroppedObjects.get();
+	}
+
+	/**
+	 * Returns total amount of dropped lists.
+	 *
+	 * @return Total amount of dropped lists.
+	 */
+	public long getTotalDroppedBatches() {
+		return totalDroppedBatches.get();
+	}
+
+	/**
+	 * Returns the capacity of the ring.
+	 *
+	 * @return Capacity of the ring.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Creates the ring for the given size.
+	 *
+	 * @param size
+	 *            Wanted capacity, rounded up to the next power of two.
+	 */
+	private void allocate(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Size of the ring buffer must be positive.");
+		}
+
+		int capacity = Integer.highestOneBit(size);
+		if (capacity < size) {
+			capacity <<= 1;
+		}
+
+		slots = new AtomicReferenceArray<List<DefaultData>>(capacity);
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+		mask = capacity - 1;
+		head.set(0);
+		tail.set(0);
+	}
+
+	/**
+	 * Tries to add the list to the ring.
+	 *
+	 * @param measurements
+	 *            List to add.
+	 * @return <code>false</code> if the ring is full.
+	 */
+	private boolean offer(List<DefaultData> measurements) {
+		long position = tail.get();
+		while (true) {
+			int index = index(position);
+			long difference = sequences.get(index) - position;
+			if (0 == difference) {
+				if (tail.compareAndSet(position, position + 1)) {
+					slots.set(index, measurements);
+					sequences.set(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Removes the oldest list from the ring.
+	 *
+	 * @return Oldest list or <code>null</code> if the ring is empty.
+	 */
+	private List<DefaultData> poll() {
+		long position = head.get();
+		while (true) {
+			int index = index(position);
+			long difference = sequences.get(index) - (position + 1);
+			if (0 == difference) {
+				if (head.compareAndSet(position, position + 1)) {
+					List<DefaultData> measurements = slots.get(index);
+					slots.set(index, null);
+					// slot is free for the next round
+					sequences.set(index, position + mask + 1);
+					return measurements;
+				}
+				position = head.get();
+			} else if (difference < 0) {
+				return null;
+			} else {
+				position = head.get();
+			}
+		}
+	}
+
+	/**
+	 * Decides if the new list should be kept with the {@link DropPolicy#SAMPLING} policy. The
+	 * longer the ring is full the less probable is that the new list is kept, so that the content
+	 * of the ring is a sample of the whole overload period.
+	 *
+	 * @return <code>true</code> if the oldest list should be evicted in favor of the new one.
+	 */
+	private boolean sampleNewest() {
+		long full = fullAdds.incrementAndGet();
+		int capacity = mask + 1;
+		return (random.nextDouble() * (capacity + full)) < capacity;
+	}
+
+	/**
+	 * Counts the dropped list.
+	 *
+	 * @param measurements
+	 *            Dropped list.
+	 */
+	private void drop(List<DefaultData> measurements) {
+		int size = measurements.size();
+		pendingDroppedBatches.incrementAndGet();
+		pendingDroppedObjects.addAndGet(size);
+		totalDroppedBatches.incrementAndGet();
+		totalDroppedObjects.addAndGet(size);
+		if (log.isDebugEnabled()) {
+			log.debug("Possible data loss due to the excessive data creation on the Agent! Dropped " + size + " objects using the " + dropPolicy + " policy.");
+		}
+	}
+
+	/**
+	 * Slot index for the position.
+	 *
+	 * @param position
+	 *            Head or tail position.
+	 * @return Slot index.
+	 */
+	private int index(long position) {
+		return (int) position & mask;
+	}
+
+	/**
+	 * Policy defining which data is dropped when the ring is full.
+	 */
+	enum DropPolicy {
+
+		/**
+		 * The oldest list is dropped.
+		 */
+		OLDEST,
+
+		/**
+		 * The new list is dropped.
+		 */
+		NEWEST,
+
+		/**
+		 * The new list replaces the oldest one with decreasing probability.
+		 */
+		SAMPLING;
+	}
+
+}
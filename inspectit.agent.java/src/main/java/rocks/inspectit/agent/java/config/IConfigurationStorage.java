@@ -179,4 +179,14 @@ public interface IConfigurationStorage {
 	 */
 	Map<Collection<String>, InstrumentationDefinition> getInitialInstrumentationResults() throws StorageException;
 
+	/**
+	 * Returns the size of the disk spool in bytes. The disk spool keeps the data while the CMR is
+	 * not available. Value <code>0</code> means that the disk spool is not used.
+	 *
+	 * @return Returns the size of the disk spool in bytes.
+	 * @throws StorageException
+	 *             If agent configuration is not set.
+	 */
+	long getDiskSpoolSize() throws StorageException;
+
 }
\ No newline at end of file
@@ -332,6 +332,16 @@ public class ConfigurationStorage implements IConfigurationStorage, Initializing
 		return agentConfiguration.getInitialInstrumentationResults();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDiskSpoolSize() throws StorageException {
+		ensureConfigurationExists();
+
+		return agentConfiguration.getDiskSpoolSize();
+	}
+
 	/**
 	 * Checks if the JVM parameters have the repository and agent information.
 	 */
@@ -0,0 +1,20 @@
+package rocks.inspectit.agent.java.connection;
+
+import java.util.List;
+
+import rocks.inspectit.shared.all.communication.message.IAgentMessage;
+
+/**
+ * Listener notified about the {@link IAgentMessage}s pushed by the CMR.
+ */
+public interface IAgentMessageListener {
+
+	/**
+	 * Called when the CMR pushed new messages. Called by the network thread, thus implementations
+	 * should not block.
+	 *
+	 * @param messages
+	 *            Pushed messages, ordered by time (ascending -> index 0 is the oldest). Never empty.
+	 */
+	void messagesReceived(List<IAgentMessage<?>> messages);
+}
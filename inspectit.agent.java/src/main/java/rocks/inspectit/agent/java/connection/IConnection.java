@@ -64,6 +64,13 @@ public interface IConnection {
 	 */
 	void sendKeepAlive(long platformId) throws ServerUnavailableException;
 
+	/**
+	 * Returns the backpressure level reported by the server with the last keep-alive signal.
+	 *
+	 * @return Backpressure level from <code>0</code> (no backpressure) to <code>100</code>.
+	 */
+	int getBackpressure();
+
 	/**
 	 * Send the measurements to the server for further processing.
 	 *
@@ -126,6 +133,23 @@ public interface IConnection {
 	 */
 	InstrumentationDefinition analyze(long platformIdent, String hash, Type type) throws ServerUnavailableException, BusinessException;
 
+	/**
+	 * Analyzes the batch of types in one call, returning the {@link InstrumentationDefinition}s for
+	 * the types that should be instrumented on the Agent.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param hashToType
+	 *            Map of class hash code to the type that has been parsed from the byte-code.
+	 * @return Map of class hash code to the instrumentation definition. Hashes of the types that
+	 *         should not be instrumented are not contained in the map.
+	 * @throws ServerUnavailableException
+	 *             If server to send the request to is unavailable.
+	 * @throws BusinessException
+	 *             If {@link BusinessException} is thrown on the server.
+	 */
+	Map<String, InstrumentationDefinition> analyze(long platformIdent, Map<String, Type> hashToType) throws ServerUnavailableException, BusinessException;
+
 	/**
 	 * Informs the CMR that the methods have been instrumented on the agent.
 	 *
@@ -164,4 +188,25 @@ public interface IConnection {
 	 *             If agent with specified id does not exist.
 	 */
 	List<IAgentMessage<?>> fetchAgentMessages(long platformIdent) throws ServerUnavailableException;
+
+	/**
+	 * Subscribes to the {@link IAgentMessage}s pushed by the CMR over this connection. Received
+	 * messages are acknowledged to the CMR after the listener has been notified. The subscription is
+	 * lost when the connection is closed and has to be renewed after reconnecting. Does nothing if
+	 * not connected.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param listener
+	 *            Listener to notify about the pushed messages.
+	 */
+	void subscribeAgentMessages(long platformIdent, IAgentMessageListener listener);
+
+	/**
+	 * Returns if the CMR confirmed the subscription to the pushed {@link IAgentMessage}s on the
+	 * current connection.
+	 *
+	 * @return <code>true</code> if the messages are pushed by the CMR.
+	 */
+	boolean isAgentMessagePushActive();
 }
@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import rocks.inspectit.agent.java.connection.IAgentMessageListener;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.agent.java.core.IPlatformManager;
@@ -23,20 +24,27 @@ import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.spring.logger.Log;
 
 /**
- * This component is responsible for fetching and publishing available
- * {@link IAgentMessage}s.
+ * This component is responsible for receiving and publishing available {@link IAgentMessage}s.
+ * The component subscribes to the messages pushed by the CMR. As long as the CMR does not confirm
+ * the subscription, the messages are fetched periodically. When the push is active, the messages
+ * are additionally fetched only every {@value #FALLBACK_FETCH_RUNS}-th run as a fallback.
  *
  * @author Marius Oehler
  *
  */
 @Component
-public class AgentMessageFetcher implements Runnable {
+public class AgentMessageFetcher implements Runnable, IAgentMessageListener {
 
 	/**
 	 * The interval in seconds of fetching the available {@link IAgentMessage}s.
 	 */
 	private static final long FETCH_INTERVAL_SECONDS = 30L;
 
+	/**
+	 * Amount of runs between two fallback fetches while the messages are pushed by the CMR.
+	 */
+	static final int FALLBACK_FETCH_RUNS = 10;
+
 	/**
 	 * The logger of the class.
 	 */
@@ -68,6 +76,11 @@ public class AgentMessageFetcher implements Runnable {
 	@Autowired
 	private ApplicationEventPublisher eventPublisher;
 
+	/**
+	 * Amount of runs without fetching since the push is active.
+	 */
+	private int skippedRuns;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -85,8 +98,7 @@ public class AgentMessageFetcher implements Runnable {
 			List<IAgentMessage<?>> messages = fetchMessages();
 
 			if (CollectionUtils.isNotEmpty(messages)) {
-				AgentMessagesReceivedEvent event = new AgentMessagesReceivedEvent(this, messages);
-				eventPublisher.publishEvent(event);
+				publishMessages(messages);
 			}
 		} catch (Exception e) {
 			if (log.isWarnEnabled()) {
@@ -96,7 +108,41 @@ public class AgentMessageFetcher implements Runnable {
 	}
 
 	/**
-	 * Fetches the available {@link IAgentMessage}s from the CMR.
+	 * {@inheritDoc}
+	 * <p>
+	 * Publishes the pushed messages in the executor service, so the network thread is not blocked.
+	 */
+	@Override
+	public void messagesReceived(final List<IAgentMessage<?>> messages) {
+		executorService.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					publishMessages(messages);
+				} catch (Exception e) {
+					if (log.isWarnEnabled()) {
+						log.warn("An unexpected exception ocurred.", e);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Publishes the {@link AgentMessagesReceivedEvent} containing the given messages.
+	 *
+	 * @param messages
+	 *            messages to publish
+	 */
+	private void publishMessages(List<IAgentMessage<?>> messages) {
+		AgentMessagesReceivedEvent event = new AgentMessagesReceivedEvent(this, messages);
+		eventPublisher.publishEvent(event);
+	}
+
+	/**
+	 * Fetches the available {@link IAgentMessage}s from the CMR if the push is not active or the
+	 * fallback fetch is due. Subscribes to the pushed messages after fetching if the push is not
+	 * active.
 	 *
 	 * @return Collection containing all {@link IAgentMessage}s
 	 */
@@ -107,7 +153,19 @@ public class AgentMessageFetcher implements Runnable {
 		}
 		if (connection.isConnected()) {
 			try {
-				return connection.fetchAgentMessages(platformManager.getPlatformId());
+				long platformId = platformManager.getPlatformId();
+				boolean pushActive = connection.isAgentMessagePushActive();
+				if (pushActive && (++skippedRuns < FALLBACK_FETCH_RUNS)) {
+					return Collections.EMPTY_LIST;
+				}
+				skippedRuns = 0;
+
+				List<IAgentMessage<?>> messages = connection.fetchAgentMessages(platformId);
+				if (!pushActive) {
+					// subscribe after fetching, so the fetched messages are not pushed again
+					connection.subscribeAgentMessages(platformId, this);
+				}
+				return messages;
 			} catch (ServerUnavailableException e) {
 				if (log.isDebugEnabled()) {
 					log.debug("CMR is not available. Agent messages could not been fetched.", e);
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,7 @@ import org.springframework.stereotype.Component;
 import com.esotericsoftware.kryonet.rmi.RemoteObject;
 
 import rocks.inspectit.agent.java.connection.FailFastRemoteMethodCall;
+import rocks.inspectit.agent.java.connection.IAgentMessageListener;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.RegistrationException;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
@@ -29,6 +31,9 @@ import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.cmr.service.IKeepAliveService;
 import rocks.inspectit.shared.all.cmr.service.ServiceInterface;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.instrumentation.classcache.Type;
@@ -36,6 +41,8 @@ import rocks.inspectit.shared.all.instrumentation.config.impl.AgentConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
 import rocks.inspectit.shared.all.instrumentation.config.impl.JmxAttributeDescriptor;
 import rocks.inspectit.shared.all.kryonet.Client;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.Listener;
 import rocks.inspectit.shared.all.kryonet.rmi.ObjectSpace;
 import rocks.inspectit.shared.all.spring.logger.Log;
 
@@ -76,6 +83,21 @@ public class KryoNetConnection implements IConnection {
 	 */
 	private IKeepAliveService keepAliveService;
 
+	/**
+	 * Backpressure level reported by the server with the last keep-alive signal.
+	 */
+	private volatile int backpressure;
+
+	/**
+	 * Listener receiving the agent message batches pushed by the server.
+	 */
+	private final AgentMessageBatchListener agentMessageBatchListener = new AgentMessageBatchListener();
+
+	/**
+	 * If the server confirmed the agent message subscription on the current connection.
+	 */
+	private volatile boolean agentMessagePushActive;
+
 	/**
 	 * Defines if there was a connection exception before. Used for throttling the info log
 	 * messages.
@@ -149,6 +171,8 @@ public class KryoNetConnection implements IConnection {
 		agentStorageService = null; // NOPMD
 		agentService = null; // NOPMD
 		keepAliveService = null; // NOPMD
+		backpressure = 0;
+		agentMessagePushActive = false;
 	}
 
 	/**
@@ -205,6 +229,7 @@ public class KryoNetConnection implements IConnection {
 	 * Binds services if client is connected.
 	 */
 	private void bindServices() {
+		agentMessagePushActive = false;
 		if (client.isConnected()) {
 			int agentStorageServiceId = IAgentStorageService.class.getAnnotation(ServiceInterface.class).serviceId();
 			agentStorageService = ObjectSpace.getRemoteObject(client, agentStorageServiceId, IAgentStorageService.class);
@@ -218,8 +243,8 @@ public class KryoNetConnection implements IConnection {
 
 			int keepAliveServiceId = IKeepAliveService.class.getAnnotation(ServiceInterface.class).serviceId();
 			keepAliveService = ObjectSpace.getRemoteObject(client, keepAliveServiceId, IKeepAliveService.class);
-			((RemoteObject) keepAliveService).setNonBlocking(true);
-			((RemoteObject) keepAliveService).setTransmitReturnValue(false);
+			((RemoteObject) keepAliveService).setNonBlocking(false);
+			((RemoteObject) keepAliveService).setTransmitReturnValue(true);
 		}
 	}
 
@@ -232,16 +257,16 @@ public class KryoNetConnection implements IConnection {
 			throw new ServerUnavailableException();
 		}
 
-		FailFastRemoteMethodCall<IKeepAliveService, Void> call = new FailFastRemoteMethodCall<IKeepAliveService, Void>(keepAliveService) {
+		FailFastRemoteMethodCall<IKeepAliveService, Integer> call = new FailFastRemoteMethodCall<IKeepAliveService, Integer>(keepAliveService) {
 			@Override
-			protected Void performRemoteCall(IKeepAliveService service) {
-				service.sendKeepAlive(platformId);
-				return null;
+			protected Integer performRemoteCall(IKeepAliveService service) {
+				return Integer.valueOf(service.sendKeepAlive(platformId));
 			}
 		};
 
 		try {
-			call.makeCall();
+			Integer result = call.makeCall();
+			backpressure = (null != result) ? result.intValue() : 0;
 		} catch (ExecutionException e) {
 			// there should be no execution exception
 			log.error("Exception thrown while trying to send keep-alive signal to the server.", e);
@@ -284,7 +309,11 @@ public class KryoNetConnection implements IConnection {
 		};
 
 		try {
-			return call.makeCall();
+			AgentConfig agentConfig = call.makeCall();
+			if (agentConfig.isNetworkCompression()) {
+				client.requestCompression();
+			}
+			return agentConfig;
 		} catch (ExecutionException executionException) {
 			if (log.isTraceEnabled()) {
 				log.trace("register(String, String)", executionException);
@@ -406,6 +435,46 @@ public class KryoNetConnection implements IConnection {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, InstrumentationDefinition> analyze(final long platformIdent, final Map<String, Type> hashToType) throws ServerUnavailableException, BusinessException {
+		if (!isConnected()) {
+			throw new ServerUnavailableException();
+		}
+
+		// make call
+		FailFastRemoteMethodCall<IAgentService, Map<String, InstrumentationDefinition>> call = new FailFastRemoteMethodCall<IAgentService, Map<String, InstrumentationDefinition>>(agentService) {
+			@Override
+			protected Map<String, InstrumentationDefinition> performRemoteCall(IAgentService service) throws Exception {
+				return agentService.analyze(platformIdent, hashToType);
+			}
+		};
+
+		try {
+			return call.makeCall();
+		} catch (ExecutionException executionException) {
+			if (log.isTraceEnabled()) {
+				log.trace("analyze(long,Map)", executionException);
+			}
+
+			// check for business exception
+			if (executionException.getCause() instanceof BusinessException) {
+				throw ((BusinessException) executionException.getCause()); // NOPMD
+			}
+
+			// otherwise we log and return empty map as it's unexpected exception for us
+			log.error("Could not get instrumentation results", executionException);
+			return Collections.emptyMap();
+		} catch (ServerUnavailableException e) {
+			if (!e.isServerTimeout()) {
+				disconnectClient();
+			}
+			throw e;
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -502,6 +571,29 @@ public class KryoNetConnection implements IConnection {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void subscribeAgentMessages(long platformIdent, IAgentMessageListener listener) {
+		if (!isConnected()) {
+			return;
+		}
+
+		agentMessageBatchListener.platformIdent = platformIdent;
+		agentMessageBatchListener.listener = listener;
+		client.addListener(agentMessageBatchListener);
+		client.sendTCP(new AgentMessageSubscription(platformIdent));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isAgentMessagePushActive() {
+		return agentMessagePushActive && isConnected();
+	}
+
 	/**
 	 * Loads all the network interfaces and transforms the enumeration to the list of strings
 	 * containing all addresses.
@@ -534,4 +626,55 @@ public class KryoNetConnection implements IConnection {
 		return (null != client) && client.isConnected();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getBackpressure() {
+		return backpressure;
+	}
+
+	/**
+	 * Listener receiving the {@link AgentMessageBatch}es pushed by the server. Notifies the
+	 * {@link IAgentMessageListener} and acknowledges every batch.
+	 */
+	private class AgentMessageBatchListener extends Listener {
+
+		/**
+		 * Id of the subscribed agent.
+		 */
+		private volatile long platformIdent;
+
+		/**
+		 * Listener to notify.
+		 */
+		private volatile IAgentMessageListener listener;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void received(Connection connection, Object object) {
+			if (object instanceof AgentMessageBatch) {
+				AgentMessageBatch batch = (AgentMessageBatch) object;
+				agentMessagePushActive = true;
+
+				IAgentMessageListener currentListener = listener;
+				if ((null != currentListener) && CollectionUtils.isNotEmpty(batch.getMessages())) {
+					currentListener.messagesReceived(batch.getMessages());
+				}
+
+				connection.sendTCP(new AgentMessageAcknowledgement(platformIdent, batch.getBatchId()));
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void disconnected(Connection connection) {
+			agentMessagePushActive = false;
+		}
+	}
+
 }
@@ -0,0 +1,73 @@
+package rocks.inspectit.agent.java.core;
+
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
+
+/**
+ * Monitor of the overhead the agent causes in the monitored application. The monitor is not
+ * active until the agent overhead platform sensor activates it, so that all recording calls should
+ * be guarded with {@link #isActive()}.
+ */
+public interface IAgentOverheadMonitor {
+
+	/**
+	 * Returns if the monitor is active.
+	 *
+	 * @return Returns if the monitor is active.
+	 */
+	boolean isActive();
+
+	/**
+	 * Activates the monitor.
+	 */
+	void activate();
+
+	/**
+	 * Returns the amount of bytes allocated by the current thread so far.
+	 *
+	 * @return Amount of allocated bytes or <code>-1</code> if the virtual machine does not support
+	 *         the allocation measurement.
+	 */
+	long getAllocatedBytes();
+
+	/**
+	 * Records one execution of the hook.
+	 *
+	 * @param sensorTypeId
+	 *            Id of the method sensor type the hook belongs to.
+	 * @param startNanos
+	 *            {@link System#nanoTime()} before the hook was executed.
+	 * @param startAllocatedBytes
+	 *            {@link #getAllocatedBytes()} before the hook was executed.
+	 */
+	void recordDispatch(long sensorTypeId, long startNanos, long startAllocatedBytes);
+
+	/**
+	 * Records the amount of data objects prepared for sending in one batch.
+	 *
+	 * @param size
+	 *            Amount of data objects.
+	 */
+	void recordQueueSize(int size);
+
+	/**
+	 * Records one sending of the data to the CMR.
+	 *
+	 * @param startNanos
+	 *            {@link System#nanoTime()} before the sending was started.
+	 */
+	void recordSend(long startNanos);
+
+	/**
+	 * Records one batch of data lost because the sending failed.
+	 */
+	void recordDroppedBatch();
+
+	/**
+	 * Returns the overhead recorded since the activation of the monitor. Platform and sensor type
+	 * identifiers and the time stamp are not set.
+	 *
+	 * @return Cumulative overhead.
+	 */
+	AgentOverheadInformationData getCumulativeOverhead();
+
+}
@@ -88,8 +88,11 @@ public interface ICoreService {
 	 *            An arbitrary prefix {@link String}.
 	 * @param objectStorage
 	 *            The object storage.
+	 * @return The object storage that is already stored under the same ids and prefix, in which
+	 *         case the given object storage is not added, or <code>null</code> if the given object
+	 *         storage has been added.
 	 */
-	void addObjectStorage(long sensorTypeId, long methodId, String prefix, IObjectStorage objectStorage);
+	IObjectStorage addObjectStorage(long sensorTypeId, long methodId, String prefix, IObjectStorage objectStorage);
 
 	/**
 	 * Triggers sending the buffered data.
@@ -139,7 +142,7 @@ public interface ICoreService {
 	 * @param listener
 	 *            The listener to add.
 	 */
-	void addListListener(ListListener<?> listener);
+	void addListListener(ListListener listener);
 
 	/**
 	 * Removes a list listener.
@@ -147,6 +150,6 @@ public interface ICoreService {
 	 * @param listener
 	 *            The listener to remove.
 	 */
-	void removeListListener(ListListener<?> listener);
+	void removeListListener(ListListener listener);
 
 }
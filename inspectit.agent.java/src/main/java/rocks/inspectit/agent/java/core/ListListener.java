@@ -1,24 +1,22 @@
 package rocks.inspectit.agent.java.core;
 
 import java.util.EventListener;
-import java.util.List;
 
 /**
- * The {@link ListListener} interface allows a class to react on events that change a list.
- *
- * @param <E>
- *            The content class of the list.
+ * The {@link ListListener} interface allows a class to react on events that change a list. Only
+ * the amount of the elements is reported, so that the notification is a constant time operation
+ * regardless of how many elements are in the list.
  *
  * @author Patrice Bouillet
  */
-public interface ListListener<E> extends EventListener {
+public interface ListListener extends EventListener {
 
 	/**
 	 * The content of a list has changed.
 	 *
-	 * @param list
-	 *            The list which was changed.
+	 * @param size
+	 *            The amount of the elements in the list after the change.
 	 */
-	void contentChanged(List<E> list);
+	void contentChanged(int size);
 
 }
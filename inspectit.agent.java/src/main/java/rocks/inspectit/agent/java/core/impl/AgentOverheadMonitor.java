@@ -0,0 +1,457 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Default {@link IAgentOverheadMonitor} implementation. Values are recorded in the fixed-bucket
+ * histograms described in {@link AgentOverheadInformationData}, so recording is lock-free and does
+ * not allocate. Only reading the allocated bytes of the thread can allocate a few bytes, depending
+ * on the virtual machine (see {@link ThreadAllocation}); this amount is measured on activation and
+ * subtracted from the recorded allocation. On activation the monitor is also registered as MBean
+ * with the name {@value #OBJECT_NAME}.
+ */
+@Component
+public class AgentOverheadMonitor implements IAgentOverheadMonitor, AgentOverheadMonitorMBean, DisposableBean {
+
+	/**
+	 * Object name the monitor is registered with in the platform MBean server.
+	 */
+	static final String OBJECT_NAME = "rocks.inspectit.agent:type=AgentOverhead";
+
+	/**
+	 * The logger of this class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * If monitor is active.
+	 */
+	private volatile boolean active;
+
+	/**
+	 * If the allocated bytes of the threads can be measured.
+	 */
+	private boolean allocationSupported;
+
+	/**
+	 * Bytes allocated by one reading of the allocated bytes of the thread.
+	 */
+	private long allocationMeasurementOverhead;
+
+	/**
+	 * Object name the monitor was registered with, <code>null</code> if it is not registered.
+	 */
+	private ObjectName registeredName;
+
+	/**
+	 * Dispatching statistics per method sensor type id.
+	 */
+	private final NonBlockingHashMapLong<DispatchStatistics> dispatchStatistics = new NonBlockingHashMapLong<DispatchStatistics>();
+
+	/**
+	 * Histogram of the sending times.
+	 */
+	private final AtomicLongArray sendTimeHistogram = new AtomicLongArray(AgentOverheadInformationData.HISTOGRAM_BUCKETS);
+
+	/**
+	 * Histogram of the batch sizes.
+	 */
+	private final AtomicLongArray queueSizeHistogram = new AtomicLongArray(AgentOverheadInformationData.HISTOGRAM_BUCKETS);
+
+	/**
+	 * Amount of dropped batches.
+	 */
+	private final AtomicLong droppedBatches = new AtomicLong();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void activate() {
+		if (active) {
+			return;
+		}
+
+		allocationSupported = ThreadAllocation.isSupported();
+		if (allocationSupported) {
+			allocationMeasurementOverhead = ThreadAllocation.getMeasurementOverhead();
+		} else if (log.isInfoEnabled()) {
+			log.info("Measurement of the allocated bytes is not supported by this virtual machine. The agent overhead will be reported without the allocation estimate.");
+		}
+
+		try {
+			MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(OBJECT_NAME);
+			if (!mBeanServer.isRegistered(objectName)) {
+				mBeanServer.registerMBean(this, objectName);
+				registeredName = objectName;
+			}
+		} catch (Exception e) {
+			log.warn("Agent overhead monitor could not be registered as MBean.", e);
+		}
+
+		active = true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getAllocatedBytes() {
+		if (!allocationSupported) {
+			return -1;
+		}
+		return ThreadAllocation.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recordDispatch(long sensorTypeId, long startNanos, long startAllocatedBytes) {
+		long duration = System.nanoTime() - startNanos;
+		DispatchStatistics statistics = getDispatchStatistics(sensorTypeId);
+		statistics.histogram.incrementAndGet(AgentOverheadInformationData.getBucket(duration));
+		statistics.time.addAndGet(duration);
+		if (startAllocatedBytes >= 0) {
+			long allocated = getAllocatedBytes() - startAllocatedBytes - allocationMeasurementOverhead;
+			if (allocated > 0) {
+				statistics.allocatedBytes.addAndGet(allocated);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recordQueueSize(int size) {
+		queueSizeHistogram.incrementAndGet(AgentOverheadInformationData.getBucket(size));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recordSend(long startNanos) {
+		sendTimeHistogram.incrementAndGet(AgentOverheadInformationData.getBucket(System.nanoTime() - startNanos));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recordDroppedBatch() {
+		droppedBatches.incrementAndGet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public AgentOverheadInformationData getCumulativeOverhead() {
+		AgentOverheadInformationData data = new AgentOverheadInformationData();
+		for (long sensorTypeId : dispatchStatistics.keySetLong()) {
+			DispatchStatistics statistics = dispatchStatistics.get(sensorTypeId);
+			Long key = Long.valueOf(sensorTypeId);
+			data.getDispatchTimeHistograms().put(key, toArray(statistics.histogram));
+			data.getDispatchTimes().put(key, Long.valueOf(statistics.time.get()));
+			data.getAllocatedBytes().put(key, Long.valueOf(statistics.allocatedBytes.get()));
+		}
+		data.setSendTimeHistogram(toArray(sendTimeHistogram));
+		data.setQueueSizeHistogram(toArray(queueSizeHistogram));
+		data.setDroppedBatches(droppedBatches.get());
+		return data;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDispatchCount() {
+		return AgentOverheadInformationData.getCount(getCumulativeOverhead().getTotalDispatchTimeHistogram());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDispatchTime() {
+		return getCumulativeOverhead().getTotalDispatchTime();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDispatchTimeP99() {
+		return AgentOverheadInformationData.getPercentile(getCumulativeOverhead().getTotalDispatchTimeHistogram(), 0.99d);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getAllocatedBytesTotal() {
+		return getCumulativeOverhead().getTotalAllocatedBytes();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getSendCount() {
+		return AgentOverheadInformationData.getCount(toArray(sendTimeHistogram));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getSendTimeP99() {
+		return AgentOverheadInformationData.getPercentile(toArray(sendTimeHistogram), 0.99d);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getQueueSizeP99() {
+		return AgentOverheadInformationData.getPercentile(toArray(queueSizeHistogram), 0.99d);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDroppedBatches() {
+		return droppedBatches.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void destroy() throws Exception {
+		active = false;
+		if (null != registeredName) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+			} catch (Exception e) { // NOPMD
+				// ignore on shutdown
+			}
+			registeredName = null;
+		}
+	}
+
+	/**
+	 * Returns the dispatching statistics of the sensor type, creating them if needed.
+	 *
+	 * @param sensorTypeId
+	 *            Method sensor type id.
+	 * @return Dispatching statistics.
+	 */
+	private DispatchStatistics getDispatchStatistics(long sensorTypeId) {
+		DispatchStatistics statistics = dispatchStatistics.get(sensorTypeId);
+		if (null == statistics) {
+			statistics = new DispatchStatistics();
+			DispatchStatistics existing = dispatchStatistics.putIfAbsent(sensorTypeId, statistics);
+			if (null != existing) {
+				statistics = existing;
+			}
+		}
+		return statistics;
+	}
+
+	/**
+	 * Copies the atomic array to the primitive one.
+	 *
+	 * @param array
+	 *            Atomic array.
+	 * @return Copy of the values.
+	 */
+	private static long[] toArray(AtomicLongArray array) {
+		long[] result = new long[array.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = array.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Dispatching statistics of one method sensor type.
+	 */
+	private static class DispatchStatistics {
+
+		/**
+		 * Histogram of the dispatching times.
+		 */
+		private final AtomicLongArray histogram = new AtomicLongArray(AgentOverheadInformationData.HISTOGRAM_BUCKETS);
+
+		/**
+		 * Total dispatching time.
+		 */
+		private final AtomicLong time = new AtomicLong();
+
+		/**
+		 * Total allocated bytes.
+		 */
+		private final AtomicLong allocatedBytes = new AtomicLong();
+	}
+
+	/**
+	 * Access to the thread allocation measurement of the HotSpot virtual machines. This class does
+	 * not reference the <code>com.sun.management</code> classes, they are only used by the
+	 * {@link SunThreadAllocation} which is loaded after {@link #isSupported()} found the classes.
+	 * <p>
+	 * The current thread method <code>getCurrentThreadAllocatedBytes()</code> is used where
+	 * available (Java 14 and later). Older virtual machines only provide the
+	 * <code>getThreadAllocatedBytes(long)</code> method that allocates small arrays on every call,
+	 * this allocation is estimated with {@link #getMeasurementOverhead()}.
+	 */
+	private static final class ThreadAllocation {
+
+		/**
+		 * Private constructor.
+		 */
+		private ThreadAllocation() {
+		}
+
+		/**
+		 * Returns if the thread allocation measurement is available and enables it.
+		 *
+		 * @return If the thread allocation measurement is available.
+		 */
+		static boolean isSupported() {
+			try {
+				Class<?> sunThreadMXBeanClass = Class.forName("com.sun.management.ThreadMXBean");
+				if (!sunThreadMXBeanClass.isInstance(ManagementFactory.getThreadMXBean())) {
+					return false;
+				}
+				return SunThreadAllocation.init();
+			} catch (Throwable t) { // NOPMD NOCHK
+				return false;
+			}
+		}
+
+		/**
+		 * Returns the amount of bytes allocated by the current thread. Must only be called if
+		 * {@link #isSupported()} returned <code>true</code>.
+		 *
+		 * @return Allocated bytes.
+		 */
+		static long getCurrentThreadAllocatedBytes() {
+			return SunThreadAllocation.getCurrentThreadAllocatedBytes();
+		}
+
+		/**
+		 * Returns the bytes allocated by one call to {@link #getCurrentThreadAllocatedBytes()}.
+		 * Must only be called if {@link #isSupported()} returned <code>true</code>.
+		 *
+		 * @return Bytes allocated by the measurement itself.
+		 */
+		static long getMeasurementOverhead() {
+			long overhead = Long.MAX_VALUE;
+			// minimum of several runs, so that the warm-up allocations are not included
+			for (int i = 0; i < 16; i++) {
+				long first = getCurrentThreadAllocatedBytes();
+				long second = getCurrentThreadAllocatedBytes();
+				overhead = Math.min(overhead, second - first);
+			}
+			return Math.max(0, overhead);
+		}
+	}
+
+	/**
+	 * Holder of the <code>com.sun.management.ThreadMXBean</code>. Only loaded when the class is
+	 * available in the virtual machine.
+	 */
+	private static final class SunThreadAllocation {
+
+		/**
+		 * Empty arguments for the reflective invocation.
+		 */
+		private static final Object[] NO_ARGUMENTS = new Object[0];
+
+		/**
+		 * Thread MX bean providing the allocated bytes.
+		 */
+		private static volatile com.sun.management.ThreadMXBean sunThreadMXBean;
+
+		/**
+		 * The <code>getCurrentThreadAllocatedBytes()</code> method or <code>null</code> if the
+		 * virtual machine does not provide it.
+		 */
+		private static volatile Method currentThreadAllocatedBytesMethod;
+
+		/**
+		 * Private constructor.
+		 */
+		private SunThreadAllocation() {
+		}
+
+		/**
+		 * Enables the thread allocation measurement if it is supported.
+		 *
+		 * @return If the thread allocation measurement is supported.
+		 */
+		static boolean init() {
+			com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			if (!bean.isThreadAllocatedMemorySupported()) {
+				return false;
+			}
+			if (!bean.isThreadAllocatedMemoryEnabled()) {
+				bean.setThreadAllocatedMemoryEnabled(true);
+			}
+			try {
+				currentThreadAllocatedBytesMethod = com.sun.management.ThreadMXBean.class.getMethod("getCurrentThreadAllocatedBytes");
+			} catch (NoSuchMethodException e) {
+				currentThreadAllocatedBytesMethod = null;
+			}
+			sunThreadMXBean = bean;
+			return true;
+		}
+
+		/**
+		 * Returns the amount of bytes allocated by the current thread.
+		 *
+		 * @return Allocated bytes or <code>-1</code> if it can not be read.
+		 */
+		static long getCurrentThreadAllocatedBytes() {
+			Method method = currentThreadAllocatedBytesMethod;
+			if (null != method) {
+				try {
+					return ((Long) method.invoke(sunThreadMXBean, NO_ARGUMENTS)).longValue();
+				} catch (Exception e) {
+					return -1;
+				}
+			}
+			return sunThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package rocks.inspectit.agent.java.core.impl;
+
+/**
+ * Management interface of the {@link AgentOverheadMonitor}. All values are cumulative since the
+ * activation of the monitor, times are in nanoseconds.
+ */
+public interface AgentOverheadMonitorMBean {
+
+	/**
+	 * Returns the amount of executed hooks.
+	 *
+	 * @return Amount of executed hooks.
+	 */
+	long getDispatchCount();
+
+	/**
+	 * Returns the total time spent in the hooks.
+	 *
+	 * @return Total time spent in the hooks.
+	 */
+	long getDispatchTime();
+
+	/**
+	 * Returns the estimated 99th percentile of the hook execution time.
+	 *
+	 * @return Estimated 99th percentile of the hook execution time.
+	 */
+	long getDispatchTimeP99();
+
+	/**
+	 * Returns the estimated amount of bytes allocated in the hooks.
+	 *
+	 * @return Estimated amount of bytes allocated in the hooks.
+	 */
+	long getAllocatedBytesTotal();
+
+	/**
+	 * Returns the amount of batches sent to the CMR.
+	 *
+	 * @return Amount of batches sent to the CMR.
+	 */
+	long getSendCount();
+
+	/**
+	 * Returns the estimated 99th percentile of the sending time.
+	 *
+	 * @return Estimated 99th percentile of the sending time.
+	 */
+	long getSendTimeP99();
+
+	/**
+	 * Returns the estimated 99th percentile of the amount of data objects in one batch.
+	 *
+	 * @return Estimated 99th percentile of the amount of data objects in one batch.
+	 */
+	long getQueueSizeP99();
+
+	/**
+	 * Returns the amount of batches lost because the sending failed.
+	 *
+	 * @return Amount of lost batches.
+	 */
+	long getDroppedBatches();
+
+}
@@ -0,0 +1,229 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+
+/**
+ * Thread-safe storage of values identified by a composite key consisting of two primitive longs
+ * and an optional prefix. The first key selects a small per-key table (f.e. the method ident), the
+ * second key selects the value in that table (f.e. the sensor type ident). If a prefix is given,
+ * the value is additionally identified by the prefix object.
+ * <p>
+ * In contrast to the building of {@link String} keys no objects are created on the look-up of the
+ * value and the prefix is used as it is (its hash code is normally already cached). The number of
+ * stored values is maintained on every insert, thus {@link #size()} is a constant time operation.
+ *
+ * @param <V>
+ *            Type of the values.
+ */
+public class CompositeKeyStorage<V> {
+
+	/**
+	 * Tables with values for each first key. Not using the {@link java.util.Map} interface on
+	 * purpose, in order to use put/get methods with primitive longs.
+	 */
+	private final NonBlockingHashMapLong<KeyTable<V>> tables = new NonBlockingHashMapLong<KeyTable<V>>();
+
+	/**
+	 * Amount of the values in the storage.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Returns the value stored under the given key.
+	 *
+	 * @param firstKey
+	 *            First part of the key.
+	 * @param secondKey
+	 *            Second part of the key.
+	 * @param prefix
+	 *            Optional prefix, can be <code>null</code>.
+	 * @return Stored value or <code>null</code> if no value exists for the key.
+	 */
+	public V get(long firstKey, long secondKey, Object prefix) {
+		KeyTable<V> table = tables.get(firstKey);
+		if (null == table) {
+			return null;
+		}
+
+		if (null == prefix) {
+			return table.values.get(secondKey);
+		} else {
+			ConcurrentHashMap<Object, V> prefixedValues = table.prefixedValues.get(secondKey);
+			if (null == prefixedValues) {
+				return null;
+			}
+			return prefixedValues.get(prefix);
+		}
+	}
+
+	/**
+	 * Stores the value under the given key. Previously stored value under the same key is
+	 * replaced.
+	 *
+	 * @param firstKey
+	 *            First part of the key.
+	 * @param secondKey
+	 *            Second part of the key.
+	 * @param prefix
+	 *            Optional prefix, can be <code>null</code>.
+	 * @param value
+	 *            Value to store. Must not be <code>null</code>.
+	 * @return Amount of the values in the storage after the insert.
+	 */
+	public int put(long firstKey, long secondKey, Object prefix, V value) {
+		KeyTable<V> table = getOrCreateTable(firstKey);
+
+		V previous;
+		if (null == prefix) {
+			previous = table.values.put(secondKey, value);
+		} else {
+			previous = getOrCreatePrefixedValues(table, secondKey).put(prefix, value);
+		}
+
+		if (null == previous) {
+			return size.incrementAndGet();
+		} else {
+			return size.get();
+		}
+	}
+
+	/**
+	 * Stores the value under the given key only if no value is stored under the key yet.
+	 *
+	 * @param firstKey
+	 *            First part of the key.
+	 * @param secondKey
+	 *            Second part of the key.
+	 * @param prefix
+	 *            Optional prefix, can be <code>null</code>.
+	 * @param value
+	 *            Value to store. Must not be <code>null</code>.
+	 * @return The value already stored under the key or <code>null</code> if the given value has
+	 *         been stored.
+	 */
+	public V putIfAbsent(long firstKey, long secondKey, Object prefix, V value) {
+		KeyTable<V> table = getOrCreateTable(firstKey);
+
+		V existing;
+		if (null == prefix) {
+			existing = table.values.putIfAbsent(secondKey, value);
+		} else {
+			existing = getOrCreatePrefixedValues(table, secondKey).putIfAbsent(prefix, value);
+		}
+
+		if (null == existing) {
+			size.incrementAndGet();
+		}
+		return existing;
+	}
+
+	/**
+	 * Returns the table for the first key, creating it if needed.
+	 *
+	 * @param firstKey
+	 *            First part of the key.
+	 * @return Table for the first key.
+	 */
+	private KeyTable<V> getOrCreateTable(long firstKey) {
+		KeyTable<V> table = tables.get(firstKey);
+		if (null == table) {
+			table = new KeyTable<V>();
+			KeyTable<V> existing = tables.putIfAbsent(firstKey, table);
+			if (null != existing) {
+				table = existing;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the map of the prefixed values for the second key, creating it if needed.
+	 *
+	 * @param table
+	 *            Table of the first key.
+	 * @param secondKey
+	 *            Second part of the key.
+	 * @return Map of the prefixed values.
+	 */
+	private ConcurrentHashMap<Object, V> getOrCreatePrefixedValues(KeyTable<V> table, long secondKey) {
+		ConcurrentHashMap<Object, V> prefixedValues = table.prefixedValues.get(secondKey);
+		if (null == prefixedValues) {
+			prefixedValues = new ConcurrentHashMap<Object, V>(4);
+			ConcurrentHashMap<Object, V> existing = table.prefixedValues.putIfAbsent(secondKey, prefixedValues);
+			if (null != existing) {
+				prefixedValues = existing;
+			}
+		}
+		return prefixedValues;
+	}
+
+	/**
+	 * Returns the amount of the values in the storage.
+	 *
+	 * @return Returns the amount of the values in the storage.
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * Returns if the storage is empty.
+	 *
+	 * @return Returns if the storage is empty.
+	 */
+	public boolean isEmpty() {
+		return 0 == size.get();
+	}
+
+	/**
+	 * Returns all values currently in the storage as a new list.
+	 *
+	 * @return Returns all values currently in the storage as a new list.
+	 */
+	public List<V> values() {
+		List<V> list = new ArrayList<V>(size.get());
+		for (KeyTable<V> table : tables.values()) {
+			list.addAll(table.values.values());
+			for (ConcurrentHashMap<Object, V> prefixedValues : table.prefixedValues.values()) {
+				list.addAll(prefixedValues.values());
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Removes all values from the storage. Must not be called while other threads put values into
+	 * the storage, as the size would not reflect the values put concurrently. Storages that are
+	 * still in use should be replaced with a new instance instead.
+	 */
+	public void clear() {
+		tables.clear();
+		size.set(0);
+	}
+
+	/**
+	 * Table holding all values for one first key.
+	 *
+	 * @param <V>
+	 *            Type of the values.
+	 */
+	private static class KeyTable<V> {
+
+		/**
+		 * Values without the prefix by the second key.
+		 */
+		private final NonBlockingHashMapLong<V> values = new NonBlockingHashMapLong<V>(4);
+
+		/**
+		 * Values with the prefix by the second key and prefix.
+		 */
+		private final NonBlockingHashMapLong<ConcurrentHashMap<Object, V>> prefixedValues = new NonBlockingHashMapLong<ConcurrentHashMap<Object, V>>(4);
+
+	}
+
+}
@@ -2,13 +2,15 @@ package rocks.inspectit.agent.java.core.impl;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.keyvalue.MultiKey;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
@@ -21,6 +23,7 @@ import rocks.inspectit.agent.java.IThreadTransformHelper;
 import rocks.inspectit.agent.java.buffer.IBufferStrategy;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
 import rocks.inspectit.agent.java.core.ICoreService;
 import rocks.inspectit.agent.java.core.IObjectStorage;
 import rocks.inspectit.agent.java.core.IPlatformManager;
@@ -28,6 +31,7 @@ import rocks.inspectit.agent.java.core.ListListener;
 import rocks.inspectit.agent.java.sending.ISendingStrategy;
 import rocks.inspectit.agent.java.sensor.jmx.IJmxSensor;
 import rocks.inspectit.agent.java.sensor.platform.IPlatformSensor;
+import rocks.inspectit.agent.java.spool.ISpool;
 import rocks.inspectit.agent.java.util.AgentAwareThread;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.ExceptionEvent;
@@ -35,6 +39,8 @@ import rocks.inspectit.shared.all.communication.MethodSensorData;
 import rocks.inspectit.shared.all.communication.SystemSensorData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.data.TimerDataBatch;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.all.util.ExecutorServiceUtils;
 
@@ -108,34 +114,49 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	IThreadTransformHelper threadTransformHelper;
 
 	/**
-	 * Already used data objects which can be used directly on the CMR to persist.
+	 * Monitor recording the queue sizes and sending times when the agent overhead is monitored.
 	 */
-	private Map<String, DefaultData> sensorDataObjects = new ConcurrentHashMap<String, DefaultData>();
+	@Autowired
+	private IAgentOverheadMonitor agentOverheadMonitor;
 
 	/**
-	 * Contains object storage instances which will be initialized when sending.
+	 * Spool keeping the batches while the CMR is not available.
 	 */
-	private Map<String, IObjectStorage> objectStorages = new ConcurrentHashMap<String, IObjectStorage>();
+	@Autowired
+	private ISpool spool;
 
 	/**
-	 * Used as second hash table for the measurements when processed before sending.
+	 * Prefix object used to separate the exception sensor data in the storage. As a private object
+	 * it can never be equal to the prefix passed by the sensors.
 	 */
-	private Map<String, DefaultData> measurementsProcessing = new ConcurrentHashMap<String, DefaultData>();
+	private static final Object EXCEPTION_PREFIX = new Object();
 
 	/**
-	 * Used as second hash table for the object storages when processed before sending.
+	 * Prefix object used to separate the platform sensor data in the storage. As a private object
+	 * it can never be equal to the prefix passed by the sensors.
 	 */
-	private Map<String, IObjectStorage> objectStoragesProcessing = new ConcurrentHashMap<String, IObjectStorage>();
+	private static final Object PLATFORM_PREFIX = new Object();
 
 	/**
-	 * Temporary Map to switch the references of the active hash table with the processed one.
+	 * Minimum amount of timers of one sensor type that are sent as a {@link TimerDataBatch}.
 	 */
-	private Map<String, ?> temp;
+	private static final int MIN_TIMER_BATCH_SIZE = 2;
 
 	/**
-	 * The registered list listeners.
+	 * Already used data objects which can be used directly on the CMR to persist.
 	 */
-	private final List<ListListener<?>> listListeners = new ArrayList<ListListener<?>>();
+	private volatile CompositeKeyStorage<DefaultData> sensorDataObjects = new CompositeKeyStorage<DefaultData>();
+
+	/**
+	 * Contains object storage instances which will be initialized when sending.
+	 */
+	private volatile CompositeKeyStorage<IObjectStorage> objectStorages = new CompositeKeyStorage<IObjectStorage>();
+
+	/**
+	 * The registered list listeners. Copy on write list as listeners are rarely changed, but
+	 * iterated on every added data object.
+	 */
+	private final List<ListListener> listListeners = new CopyOnWriteArrayList<ListListener>();
 
 	/**
 	 * The default refresh time.
@@ -170,6 +191,28 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 */
 	private boolean sendingExceptionNotice = false;
 
+	/**
+	 * Max amount of spooled batches replayed in one replay interval in addition to the live batches
+	 * that were spooled in the same interval.
+	 */
+	private static final int SPOOL_REPLAY_BATCHES = 10;
+
+	/**
+	 * Replay interval of the spooled batches in ms.
+	 */
+	private static final long SPOOL_REPLAY_INTERVAL = 500L;
+
+	/**
+	 * Time in nanoseconds when the spooled batches were replayed the last time.
+	 */
+	private long lastSpoolReplayNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(SPOOL_REPLAY_INTERVAL);
+
+	/**
+	 * Amount of live batches that were spooled while connected since the last replay, only to keep
+	 * the order with the already spooled batches.
+	 */
+	private int liveBatchesSpooled;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -235,16 +278,12 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	@Override
 	public void addJmxSensorValueData(long sensorTypeIdent, String objectName, String attributeName, JmxSensorValueData jmxSensorValueData) {
 		StringBuilder builder = new StringBuilder();
-		builder.append(sensorTypeIdent);
-		builder.append('.');
 		builder.append(objectName);
 		builder.append('.');
 		builder.append(attributeName);
-		builder.append('.');
 		// Added timestamp to be able to send multiple objects to cmr.
-		builder.append(jmxSensorValueData.getTimeStamp().getTime());
-		sensorDataObjects.put(builder.toString(), jmxSensorValueData);
-		notifyListListeners();
+		int size = sensorDataObjects.put(sensorTypeIdent, jmxSensorValueData.getTimeStamp().getTime(), builder.toString(), jmxSensorValueData);
+		notifyListListeners(size + objectStorages.size());
 	}
 
 	/**
@@ -252,16 +291,8 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 */
 	@Override
 	public void addMethodSensorData(long sensorTypeIdent, long methodIdent, String prefix, MethodSensorData methodSensorData) {
-		StringBuilder builder = new StringBuilder();
-		if (null != prefix) {
-			builder.append(prefix);
-			builder.append('.');
-		}
-		builder.append(methodIdent);
-		builder.append('.');
-		builder.append(sensorTypeIdent);
-		sensorDataObjects.put(builder.toString(), methodSensorData);
-		notifyListListeners();
+		int size = sensorDataObjects.put(methodIdent, sensorTypeIdent, prefix, methodSensorData);
+		notifyListListeners(size + objectStorages.size());
 	}
 
 	/**
@@ -269,15 +300,7 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 */
 	@Override
 	public MethodSensorData getMethodSensorData(long sensorTypeIdent, long methodIdent, String prefix) {
-		StringBuilder builder = new StringBuilder();
-		if (null != prefix) {
-			builder.append(prefix);
-			builder.append('.');
-		}
-		builder.append(methodIdent);
-		builder.append('.');
-		builder.append(sensorTypeIdent);
-		return (MethodSensorData) sensorDataObjects.get(builder.toString());
+		return (MethodSensorData) sensorDataObjects.get(methodIdent, sensorTypeIdent, prefix);
 	}
 
 	/**
@@ -285,8 +308,8 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 */
 	@Override
 	public void addPlatformSensorData(long sensorTypeIdent, SystemSensorData systemSensorData) {
-		sensorDataObjects.put(Long.toString(sensorTypeIdent), systemSensorData);
-		notifyListListeners();
+		int size = sensorDataObjects.put(sensorTypeIdent, 0L, PLATFORM_PREFIX, systemSensorData);
+		notifyListListeners(size + objectStorages.size());
 	}
 
 	/**
@@ -294,19 +317,13 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 */
 	@Override
 	public void addExceptionSensorData(long sensorTypeIdent, long throwableIdentityHashCode, ExceptionSensorData exceptionSensorData) {
-		StringBuilder builder = new StringBuilder();
-		builder.append(sensorTypeIdent);
-		builder.append("::");
-		builder.append(throwableIdentityHashCode);
-		String key = builder.toString();
-
 		// we always only save the first data object, because this object contains the nested
 		// objects to create the whole exception tree
 		if (exceptionSensorData.getExceptionEvent().equals(ExceptionEvent.CREATED)) {
 			// if a data object with the same hash code was already created, then it has to be For
 			// us only the last-most data object is relevant
-			sensorDataObjects.put(key, exceptionSensorData);
-			notifyListListeners();
+			int size = sensorDataObjects.put(sensorTypeIdent, throwableIdentityHashCode, EXCEPTION_PREFIX, exceptionSensorData);
+			notifyListListeners(size + objectStorages.size());
 		}
 	}
 
@@ -315,29 +332,20 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 */
 	@Override
 	public ExceptionSensorData getExceptionSensorData(long sensorTypeIdent, long throwableIdentityHashCode) {
-		StringBuilder builder = new StringBuilder();
-		builder.append(sensorTypeIdent);
-		builder.append("::");
-		builder.append(throwableIdentityHashCode);
-
-		return (ExceptionSensorData) sensorDataObjects.get(builder.toString());
+		return (ExceptionSensorData) sensorDataObjects.get(sensorTypeIdent, throwableIdentityHashCode, EXCEPTION_PREFIX);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void addObjectStorage(long sensorTypeIdent, long methodIdent, String prefix, IObjectStorage objectStorage) {
-		StringBuilder builder = new StringBuilder();
-		if (null != prefix) {
-			builder.append(prefix);
-			builder.append('.');
+	public IObjectStorage addObjectStorage(long sensorTypeIdent, long methodIdent, String prefix, IObjectStorage objectStorage) {
+		CompositeKeyStorage<IObjectStorage> storages = objectStorages;
+		IObjectStorage existing = storages.putIfAbsent(methodIdent, sensorTypeIdent, prefix, objectStorage);
+		if (null == existing) {
+			notifyListListeners(sensorDataObjects.size() + storages.size());
 		}
-		builder.append(methodIdent);
-		builder.append('.');
-		builder.append(sensorTypeIdent);
-		objectStorages.put(builder.toString(), objectStorage);
-		notifyListListeners();
+		return existing;
 	}
 
 	/**
@@ -345,22 +353,14 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 */
 	@Override
 	public IObjectStorage getObjectStorage(long sensorTypeIdent, long methodIdent, String prefix) {
-		StringBuilder builder = new StringBuilder();
-		if (null != prefix) {
-			builder.append(prefix);
-			builder.append('.');
-		}
-		builder.append(methodIdent);
-		builder.append('.');
-		builder.append(sensorTypeIdent);
-		return objectStorages.get(builder.toString());
+		return objectStorages.get(methodIdent, sensorTypeIdent, prefix);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void addListListener(ListListener<?> listener) {
+	public void addListListener(ListListener listener) {
 		if (!listListeners.contains(listener)) {
 			listListeners.add(listener);
 		}
@@ -370,20 +370,20 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void removeListListener(ListListener<?> listener) {
+	public void removeListListener(ListListener listener) {
 		listListeners.remove(listener);
 	}
 
 	/**
 	 * Notify all registered listeners that a change occurred in the lists.
+	 *
+	 * @param size
+	 *            Current amount of the data objects and object storages.
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void notifyListListeners() {
+	private void notifyListListeners(int size) {
 		if (!listListeners.isEmpty()) {
-			List temp = new ArrayList(sensorDataObjects.values());
-			temp.addAll(objectStorages.values());
-			for (ListListener<?> listListener : listListeners) {
-				listListener.contentChanged(temp);
+			for (ListListener listListener : listListeners) {
+				listListener.contentChanged(size);
 			}
 		}
 	}
@@ -518,59 +518,134 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 	 *
 	 * @return <code>true</code> if new data were prepared, else <code>false</code>
 	 */
-	@SuppressWarnings("unchecked")
 	private boolean prepareData() {
 		// check if measurements are added in the last interval, if not nothing needs to be sent.
 		if (sensorDataObjects.isEmpty() && objectStorages.isEmpty()) {
 			return false;
 		}
 
-		// switch the references so that new data is stored while sending
-		temp = sensorDataObjects;
-		sensorDataObjects = measurementsProcessing;
-		measurementsProcessing = (Map<String, DefaultData>) temp;
+		// switch to new storages so that new data is stored while sending
+		// the old storages are not cleared and reused, as threads that fetched them before the
+		// switch may still put into them
+		CompositeKeyStorage<DefaultData> measurementsProcessing = sensorDataObjects;
+		sensorDataObjects = new CompositeKeyStorage<DefaultData>();
 
-		temp = objectStorages;
-		objectStorages = objectStoragesProcessing;
-		objectStoragesProcessing = (Map<String, IObjectStorage>) temp;
+		CompositeKeyStorage<IObjectStorage> objectStoragesProcessing = objectStorages;
+		objectStorages = new CompositeKeyStorage<IObjectStorage>();
 
 		// copy the measurements values to a new list
-		List<DefaultData> tempList = new ArrayList<DefaultData>(measurementsProcessing.values());
-		measurementsProcessing.clear();
+		List<DefaultData> tempList = measurementsProcessing.values();
 
 		// iterate the object storages and get the value objects which will be stored in the same
 		// list.
 		for (IObjectStorage objectStorage : objectStoragesProcessing.values()) {
 			tempList.add(objectStorage.finalizeDataObject());
 		}
-		objectStoragesProcessing.clear();
+
+		if (agentOverheadMonitor.isActive()) {
+			agentOverheadMonitor.recordQueueSize(tempList.size());
+		}
 
 		// Now give the strategy the list
-		bufferStrategy.addMeasurements(tempList);
+		bufferStrategy.addMeasurements(batchTimerData(tempList));
 
 		return true;
 	}
 
+	/**
+	 * Replaces the {@link TimerData} objects that can be batched with one {@link TimerDataBatch}
+	 * per platform and sensor type, if there are at least {@value #MIN_TIMER_BATCH_SIZE} of them.
+	 *
+	 * @param dataList
+	 *            Data to be sent.
+	 * @return List with the batched timers or the given list if there was nothing to batch.
+	 */
+	private List<DefaultData> batchTimerData(List<DefaultData> dataList) {
+		Map<MultiKey, List<TimerData>> timerDataMap = null;
+		List<DefaultData> batchedList = new ArrayList<DefaultData>(dataList.size());
+		for (DefaultData defaultData : dataList) {
+			if (TimerDataBatch.isBatchable(defaultData)) {
+				if (null == timerDataMap) {
+					timerDataMap = new LinkedHashMap<MultiKey, List<TimerData>>();
+				}
+				MultiKey key = new MultiKey(Long.valueOf(defaultData.getPlatformIdent()), Long.valueOf(defaultData.getSensorTypeIdent()));
+				List<TimerData> timerDataList = timerDataMap.get(key);
+				if (null == timerDataList) {
+					timerDataList = new ArrayList<TimerData>();
+					timerDataMap.put(key, timerDataList);
+				}
+				timerDataList.add((TimerData) defaultData);
+			} else {
+				batchedList.add(defaultData);
+			}
+		}
+
+		if (null == timerDataMap) {
+			return dataList;
+		}
+
+		for (List<TimerData> timerDataList : timerDataMap.values()) {
+			if (timerDataList.size() >= MIN_TIMER_BATCH_SIZE) {
+				TimerData first = timerDataList.get(0);
+				batchedList.add(new TimerDataBatch(first.getPlatformIdent(), first.getSensorTypeIdent(), timerDataList));
+			} else {
+				batchedList.addAll(timerDataList);
+			}
+		}
+		return batchedList;
+	}
+
 	/**
 	 * sends the data.
+	 * <p>
+	 * If the CMR is not available the data is spooled when the {@link ISpool} is active. Spooled
+	 * data is replayed to the CMR before the new data once the connection is available again. As
+	 * long as there is spooled data, new data is spooled as well to keep the order, see
+	 * {@link #replaySpool()} for how the spool is drained.
+	 * <p>
+	 * Method has default visibility for testing purposes.
 	 *
 	 * <b> WARNING: This code is supposed to be run single-threaded! We ensure single-threaded
 	 * invocation by only calling this method within the single <code>SendingThread</code>. During
 	 * the JVM shutdown (in the shutdownhook), it is also ensured that this code is run
 	 * singlethreaded. </b>
 	 */
-	private void send() {
+	void send() {
+		// batch taken from the buffer strategy that was not sent yet
+		List<DefaultData> dataToSend = null;
+		boolean spooled = false;
 		try {
 			while (bufferStrategy.hasNext()) {
-				// if we are not connected keep data in buffer strategy
-				if (!connection.isConnected()) {
+				boolean connected = connection.isConnected();
+				// if we are not connected and can not spool keep data in buffer strategy
+				if (!connected && !spool.isActive()) {
 					return;
 				}
 
-				List<DefaultData> dataToSend = bufferStrategy.next();
+				dataToSend = bufferStrategy.next();
+				// if not connected or there is already spooled data, spool to keep the order
+				if (!connected || spool.hasNext()) {
+					spool.spool(dataToSend);
+					dataToSend = null;
+					spooled = true;
+					if (connected) {
+						liveBatchesSpooled++;
+					}
+					continue;
+				}
+
+				long startNanos = System.nanoTime();
 				connection.sendDataObjects(dataToSend);
+				dataToSend = null;
+				if (agentOverheadMonitor.isActive()) {
+					agentOverheadMonitor.recordSend(startNanos);
+				}
 				sendingExceptionNotice = false;
 			}
+
+			if (spool.hasNext() && connection.isConnected()) {
+				replaySpool();
+			}
 		} catch (ServerUnavailableException serverUnavailableException) {
 			if (serverUnavailableException.isServerTimeout()) {
 				log.warn("Timeout on server when sending actual data. Data might be lost!", serverUnavailableException);
@@ -585,6 +660,53 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 				sendingExceptionNotice = true;
 				log.error("Connection problem appeared, stopping sending actual data!", throwable);
 			}
+		} finally {
+			if ((null != dataToSend) && agentOverheadMonitor.isActive()) {
+				agentOverheadMonitor.recordDroppedBatch();
+			}
+			if (spooled) {
+				spool.flush();
+			}
+		}
+	}
+
+	/**
+	 * Replays the spooled batches to the CMR. Batch is removed from the spool only after it was
+	 * successfully sent.
+	 * <p>
+	 * The replay is done once per {@link #SPOOL_REPLAY_INTERVAL}, so that the CMR is not flooded
+	 * after the reconnection. In one replay the {@link #SPOOL_REPLAY_BATCHES} are sent plus the
+	 * amount of live batches that were spooled since the last replay only to keep the order. Thus
+	 * the spool shrinks by up to {@link #SPOOL_REPLAY_BATCHES} in every interval and drains also
+	 * when the live batches keep coming with the same or higher rate than the replay rate. Once
+	 * the spool is empty, live batches are sent directly again.
+	 * <p>
+	 * Must be called only from the {@link #send()}.
+	 *
+	 * @throws ServerUnavailableException
+	 *             If sending fails.
+	 */
+	private void replaySpool() throws ServerUnavailableException {
+		long now = System.nanoTime();
+		if ((now - lastSpoolReplayNanos) < TimeUnit.MILLISECONDS.toNanos(SPOOL_REPLAY_INTERVAL)) {
+			return;
+		}
+		lastSpoolReplayNanos = now;
+
+		int batchesToReplay = SPOOL_REPLAY_BATCHES + liveBatchesSpooled;
+		liveBatchesSpooled = 0;
+		for (int i = 0; (i < batchesToReplay) && connection.isConnected(); i++) {
+			List<DefaultData> spooledData = spool.next();
+			if (null == spooledData) {
+				return;
+			}
+
+			long startNanos = System.nanoTime();
+			connection.sendDataObjects(spooledData);
+			spool.remove();
+			if (agentOverheadMonitor.isActive()) {
+				agentOverheadMonitor.recordSend(startNanos);
+			}
 		}
 	}
 
@@ -674,12 +796,16 @@ public class CoreService implements ICoreService, InitializingBean, DisposableBe
 			super.run();
 
 			while (!isInterrupted()) {
-				// wait for activation if there is nothing to send
+				// wait for activation if there is nothing to send, wake up for the spool replay
 				if (!bufferStrategy.hasNext()) {
 					synchronized (this) {
 						try {
 							if (!isInterrupted()) {
-								wait();
+								if (spool.hasNext()) {
+									wait(SPOOL_REPLAY_INTERVAL);
+								} else {
+									wait();
+								}
 							}
 						} catch (InterruptedException e) {
 							log.error("Sending thread interrupted and shuting down!");
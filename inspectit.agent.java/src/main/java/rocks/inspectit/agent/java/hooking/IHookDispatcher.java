@@ -50,6 +50,41 @@ public interface IHookDispatcher {
 	 */
 	void dispatchSecondMethodAfterBody(long id, Object object, Object[] parameters, Object returnValue);
 
+	/**
+	 * Dispatches the 'before' method statement for methods where no sensor accesses the parameters
+	 * or the return value. The parameters are not passed, thus no array needs to be created.
+	 *
+	 * @param id
+	 *            The id of the method.
+	 * @param object
+	 *            The instance of the class or the class itself.
+	 */
+	void dispatchMethodBeforeBody(long id, Object object);
+
+	/**
+	 * Dispatches the first 'after' method statement for methods where no sensor accesses the
+	 * parameters or the return value. The parameters and the return value are not passed, thus no
+	 * array needs to be created and the return value does not need to be boxed.
+	 *
+	 * @param id
+	 *            The id of the method.
+	 * @param object
+	 *            The instance of the class or the class itself.
+	 */
+	void dispatchFirstMethodAfterBody(long id, Object object);
+
+	/**
+	 * Dispatches the second 'after' method statement for methods where no sensor accesses the
+	 * parameters or the return value. The parameters and the return value are not passed, thus no
+	 * array needs to be created and the return value does not need to be boxed.
+	 *
+	 * @param id
+	 *            The id of the method.
+	 * @param object
+	 *            The instance of the class or the class itself.
+	 */
+	void dispatchSecondMethodAfterBody(long id, Object object);
+
 	/**
 	 * Dispatches the 'addCatch' statement of a method.
 	 *
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 
 import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
 import rocks.inspectit.agent.java.config.impl.SpecialSensorConfig;
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
 import rocks.inspectit.agent.java.core.ICoreService;
 import rocks.inspectit.agent.java.hooking.IConstructorHook;
 import rocks.inspectit.agent.java.hooking.IHook;
@@ -32,6 +33,11 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 @Component
 public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
+	/**
+	 * Empty parameters passed to the hooks when the lean dispatch is used.
+	 */
+	private static final Object[] NO_PARAMETERS = new Object[0];
+
 	/**
 	 * The logger of this class.
 	 */
@@ -56,6 +62,12 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 	@Autowired
 	private ExceptionSensor exceptionSensor;
 
+	/**
+	 * Monitor recording the time spent in the hooks when the agent overhead is monitored.
+	 */
+	@Autowired
+	private IAgentOverheadMonitor agentOverheadMonitor;
+
 	/**
 	 * Contains all hooks. Using concurrent map as we need to enable thread-safety of
 	 * {@link #addMapping(long, RegisteredSensorConfig)}.
@@ -117,6 +129,7 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
+					boolean monitorOverhead = agentOverheadMonitor.isActive();
 
 					if (rsc.isStartsInvocation()) {
 						// The sensor configuration contains an invocation sequence
@@ -137,14 +150,15 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 						// The sensor type ID is not important here, thus we are passing
 						// a -1. It is already stored in the data object
-						invocationHook.beforeBody(id, -1, object, parameters, rsc);
+						invokeHook(HookPhase.BEFORE_BODY, invocationHook, null, id, -1, invocationSequenceSensor.getSensorTypeConfig().getId(), object, parameters, null, rsc, monitorOverhead);
 					}
 
 					// Now iterate over all registered sensor types and execute them
 					// reverse execution (sensor with lowest priority first)
 					for (IMethodSensor methodSensor : rsc.getMethodSensorsReverse()) {
 						IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-						methodHook.beforeBody(id, methodSensor.getSensorTypeConfig().getId(), object, parameters, rsc);
+						long sensorId = methodSensor.getSensorTypeConfig().getId();
+						invokeHook(HookPhase.BEFORE_BODY, methodHook, null, id, sensorId, sensorId, object, parameters, null, rsc, monitorOverhead);
 					}
 				} catch (Throwable throwable) { // NOPMD
 					log.error("An error happened in the Hook Dispatcher! (before body)", throwable);
@@ -167,11 +181,14 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
 
+					boolean monitorOverhead = agentOverheadMonitor.isActive();
+
 					// Now iterate over all registered sensor types and execute them
 					// normal execution (sensor with highest priority first)
 					for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
 						IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-						methodHook.firstAfterBody(id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, rsc);
+						long sensorId = methodSensor.getSensorTypeConfig().getId();
+						invokeHook(HookPhase.FIRST_AFTER_BODY, methodHook, null, id, sensorId, sensorId, object, parameters, returnValue, rsc, monitorOverhead);
 					}
 				} catch (Throwable throwable) { // NOPMD
 					log.error("An error happened in the Hook Dispatcher! (after body)", throwable);
@@ -193,6 +210,7 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
+					boolean monitorOverhead = agentOverheadMonitor.isActive();
 
 					if (null != invocationSequenceHolder.get()) {
 						// Need to replace the core service with the one from the invocation
@@ -206,16 +224,14 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 							IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
 							// the invocation sequence sensor needs the original core service!
 							long sensorId = methodSensor.getSensorTypeConfig().getId();
-							if (invocCoreService == methodHook) { // NOPMD
-								methodHook.secondAfterBody(coreService, id, sensorId, object, parameters, returnValue, rsc);
-							} else {
-								methodHook.secondAfterBody(invocCoreService, id, sensorId, object, parameters, returnValue, rsc);
-							}
+							ICoreService hookCoreService = (invocCoreService == methodHook) ? coreService : invocCoreService; // NOPMD
+							invokeHook(HookPhase.SECOND_AFTER_BODY, methodHook, hookCoreService, id, sensorId, sensorId, object, parameters, returnValue, rsc, monitorOverhead);
 						}
 					} else {
 						for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
 							IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-							methodHook.secondAfterBody(coreService, id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, rsc);
+							long sensorId = methodSensor.getSensorTypeConfig().getId();
+							invokeHook(HookPhase.SECOND_AFTER_BODY, methodHook, coreService, id, sensorId, sensorId, object, parameters, returnValue, rsc, monitorOverhead);
 						}
 					}
 
@@ -232,7 +248,7 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 						// The sensor type ID is not important here, thus we are passing a -1. It is
 						// already stored in the data object
-						invocationHook.secondAfterBody(coreService, id, -1, object, parameters, returnValue, rsc);
+						invokeHook(HookPhase.SECOND_AFTER_BODY, invocationHook, coreService, id, -1, invocationSequenceSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, rsc, monitorOverhead);
 					}
 				} catch (Throwable throwable) { // NOPMD
 					log.error("An error happened in the Hook Dispatcher! (second after body)", throwable);
@@ -243,6 +259,71 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 		}
 	}
 
+	/**
+	 * Invokes the method hook in the given phase. If the overhead monitoring is active, the time
+	 * and allocation of the hook are recorded for the given monitored sensor type id.
+	 *
+	 * @param phase
+	 *            Phase of the method hook to invoke.
+	 * @param methodHook
+	 *            Method hook.
+	 * @param hookCoreService
+	 *            Core service to pass to the hook, only used in the
+	 *            {@link HookPhase#SECOND_AFTER_BODY} phase.
+	 * @param id
+	 *            The unique identifier of the method.
+	 * @param sensorTypeId
+	 *            Sensor type id passed to the hook.
+	 * @param monitoredSensorTypeId
+	 *            Sensor type id the overhead is recorded for.
+	 * @param object
+	 *            The object the method is invoked on.
+	 * @param parameters
+	 *            The parameters of the method.
+	 * @param returnValue
+	 *            The return value of the method, not used in the {@link HookPhase#BEFORE_BODY}
+	 *            phase.
+	 * @param rsc
+	 *            The registered sensor configuration of the method.
+	 * @param monitorOverhead
+	 *            If the overhead should be recorded.
+	 */
+	private void invokeHook(HookPhase phase, IMethodHook methodHook, ICoreService hookCoreService, long id, long sensorTypeId, long monitoredSensorTypeId, Object object, Object[] parameters,
+			Object returnValue, RegisteredSensorConfig rsc, boolean monitorOverhead) {
+		if (monitorOverhead) {
+			long startNanos = System.nanoTime();
+			long startAllocatedBytes = agentOverheadMonitor.getAllocatedBytes();
+			phase.invoke(methodHook, hookCoreService, id, sensorTypeId, object, parameters, returnValue, rsc);
+			agentOverheadMonitor.recordDispatch(monitoredSensorTypeId, startNanos, startAllocatedBytes);
+		} else {
+			phase.invoke(methodHook, hookCoreService, id, sensorTypeId, object, parameters, returnValue, rsc);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void dispatchMethodBeforeBody(long id, Object object) {
+		dispatchMethodBeforeBody(id, object, NO_PARAMETERS);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void dispatchFirstMethodAfterBody(long id, Object object) {
+		dispatchFirstMethodAfterBody(id, object, NO_PARAMETERS, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void dispatchSecondMethodAfterBody(long id, Object object) {
+		dispatchSecondMethodAfterBody(id, object, NO_PARAMETERS, null);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -608,4 +689,61 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 	}
 
+	/**
+	 * Phases of the {@link IMethodHook} the dispatcher invokes.
+	 */
+	private enum HookPhase {
+
+		/**
+		 * {@link IMethodHook#beforeBody(long, long, Object, Object[], RegisteredSensorConfig)}.
+		 */
+		BEFORE_BODY,
+
+		/**
+		 * {@link IMethodHook#firstAfterBody(long, long, Object, Object[], Object, RegisteredSensorConfig)}.
+		 */
+		FIRST_AFTER_BODY,
+
+		/**
+		 * {@link IMethodHook#secondAfterBody(ICoreService, long, long, Object, Object[], Object, RegisteredSensorConfig)}.
+		 */
+		SECOND_AFTER_BODY;
+
+		/**
+		 * Invokes this phase of the hook.
+		 *
+		 * @param methodHook
+		 *            Method hook.
+		 * @param coreService
+		 *            Core service, only used in the {@link #SECOND_AFTER_BODY} phase.
+		 * @param id
+		 *            The unique identifier of the method.
+		 * @param sensorTypeId
+		 *            Sensor type id passed to the hook.
+		 * @param object
+		 *            The object the method is invoked on.
+		 * @param parameters
+		 *            The parameters of the method.
+		 * @param returnValue
+		 *            The return value of the method.
+		 * @param rsc
+		 *            The registered sensor configuration of the method.
+		 */
+		void invoke(IMethodHook methodHook, ICoreService coreService, long id, long sensorTypeId, Object object, Object[] parameters, Object returnValue, RegisteredSensorConfig rsc) {
+			switch (this) {
+			case BEFORE_BODY:
+				methodHook.beforeBody(id, sensorTypeId, object, parameters, rsc);
+				break;
+			case FIRST_AFTER_BODY:
+				methodHook.firstAfterBody(id, sensorTypeId, object, parameters, returnValue, rsc);
+				break;
+			case SECOND_AFTER_BODY:
+				methodHook.secondAfterBody(coreService, id, sensorTypeId, object, parameters, returnValue, rsc);
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
 }
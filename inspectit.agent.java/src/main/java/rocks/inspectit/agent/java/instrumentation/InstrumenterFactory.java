@@ -2,11 +2,15 @@ package rocks.inspectit.agent.java.instrumentation;
 
 import info.novatec.inspectit.org.objectweb.asm.MethodVisitor;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import rocks.inspectit.agent.java.instrumentation.asm.ConstructorInstrumenter;
 import rocks.inspectit.agent.java.instrumentation.asm.MethodInstrumenter;
 import rocks.inspectit.agent.java.instrumentation.asm.SpecialMethodInstrumenter;
+import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
 import rocks.inspectit.shared.all.instrumentation.config.IMethodInstrumentationPoint;
 import rocks.inspectit.shared.all.instrumentation.config.impl.SensorInstrumentationPoint;
 import rocks.inspectit.shared.all.instrumentation.config.impl.SpecialInstrumentationPoint;
@@ -23,6 +27,13 @@ import rocks.inspectit.shared.all.instrumentation.config.impl.SpecialInstrumenta
 @Component
 public class InstrumenterFactory {
 
+	/**
+	 * All initialized {@link IMethodSensor}s, needed to decide if the arguments must be passed to
+	 * the dispatcher.
+	 */
+	@Autowired
+	private List<IMethodSensor> methodSensors;
+
 	/**
 	 * Returns correct {@link MethodVisitor} based on the given instrumentation point.
 	 *
@@ -54,7 +65,8 @@ public class InstrumenterFactory {
 			if (sensorInstrumentationPoint.isConstructor()) {
 				return new ConstructorInstrumenter(superMethodVisitor, access, name, desc, sensorInstrumentationPoint.getId(), enhancedExceptionSensor);
 			} else {
-				return new MethodInstrumenter(superMethodVisitor, access, name, desc, sensorInstrumentationPoint.getId(), enhancedExceptionSensor);
+				boolean argumentAccess = isArgumentAccess(sensorInstrumentationPoint);
+				return new MethodInstrumenter(superMethodVisitor, access, name, desc, sensorInstrumentationPoint.getId(), enhancedExceptionSensor, argumentAccess);
 			}
 		} else if (instrumentationPoint instanceof SpecialInstrumentationPoint) {
 			SpecialInstrumentationPoint specialInstrumentationPoint = (SpecialInstrumentationPoint) instrumentationPoint;
@@ -63,4 +75,28 @@ public class InstrumenterFactory {
 		throw new IllegalArgumentException("The instrumentation point " + instrumentationPoint + " is not known to the InstrumenterFactory.");
 	}
 
+	/**
+	 * Defines if the parameters and the return value must be passed to the dispatcher for the given
+	 * sensor instrumentation point. This is the case if property access is defined or if any of the
+	 * sensors of the instrumentation point accesses the arguments.
+	 *
+	 * @param sensorInstrumentationPoint
+	 *            {@link SensorInstrumentationPoint}
+	 * @return <code>true</code> if arguments must be passed to the dispatcher
+	 */
+	private boolean isArgumentAccess(SensorInstrumentationPoint sensorInstrumentationPoint) {
+		if (sensorInstrumentationPoint.isPropertyAccess()) {
+			return true;
+		}
+
+		for (long sensorId : sensorInstrumentationPoint.getSensorIds()) {
+			for (IMethodSensor methodSensor : methodSensors) {
+				if ((methodSensor.getSensorTypeConfig().getId() == sensorId) && methodSensor.isArgumentAccess()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 }
@@ -136,6 +136,17 @@ public abstract class AbstractMethodInstrumenter extends AdviceAdapter {
 		mv.visitInsn(Opcodes.ACONST_NULL);
 	}
 
+	/**
+	 * Pushes this object to stack or null if the method is static.
+	 */
+	protected void loadThisOrNull() {
+		if (isStatic) {
+			pushNull();
+		} else {
+			loadThis();
+		}
+	}
+
 	/**
 	 * Gets {@link #methodId}.
 	 *
@@ -54,6 +54,13 @@ public interface IInstrumenterConstant {
 	 */
 	String DISPATCH_METHOD_AFTER_BODY_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.LONG_TYPE, Type.getType(Object.class), Type.getType(Object[].class), Type.getType(Object.class));
 
+	/**
+	 * {@link IHookDispatcher#dispatchMethodBeforeBody(long, Object)},
+	 * {@link IHookDispatcher#dispatchFirstMethodAfterBody(long, Object)} and
+	 * {@link IHookDispatcher#dispatchSecondMethodAfterBody(long, Object)} descriptor.
+	 */
+	String DISPATCH_METHOD_NO_ARGUMENTS_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.LONG_TYPE, Type.getType(Object.class));
+
 	/**
 	 * {@link IHookDispatcher#dispatchBeforeCatch(long, Object)} descriptor.
 	 */
@@ -15,6 +15,11 @@ import rocks.inspectit.agent.java.hooking.IHookDispatcher;
  */
 public class MethodInstrumenter extends AbstractMethodInstrumenter {
 
+	/**
+	 * If parameters and return value are passed to the dispatcher.
+	 */
+	private final boolean argumentAccess;
+
 	/**
 	 * Default constructor. Defines method id that will be used during instrumentation and if
 	 * enhanced exception sensor is active or not.
@@ -35,7 +40,32 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 	 *      String, long, boolean)
 	 */
 	public MethodInstrumenter(MethodVisitor mv, int access, String name, String desc, long methodId, boolean enhancedExceptionSensor) {
+		this(mv, access, name, desc, methodId, enhancedExceptionSensor, true);
+	}
+
+	/**
+	 * Constructor that additionally defines if parameters and return value must be passed to the
+	 * {@link IHookDispatcher}.
+	 *
+	 * @param mv
+	 *            Super method visitor.
+	 * @param access
+	 *            Method access code.
+	 * @param name
+	 *            Method name.
+	 * @param desc
+	 *            Method description.
+	 * @param methodId
+	 *            Method id that will be passed to {@link IHookDispatcher}.
+	 * @param enhancedExceptionSensor
+	 *            Marker declaring if enhanced exception sensor is active.
+	 * @param argumentAccess
+	 *            If parameters and return value must be passed to the dispatcher. If
+	 *            <code>false</code> the lean dispatch methods are called.
+	 */
+	public MethodInstrumenter(MethodVisitor mv, int access, String name, String desc, long methodId, boolean enhancedExceptionSensor, boolean argumentAccess) {
 		super(mv, access, name, desc, methodId, enhancedExceptionSensor);
+		this.argumentAccess = argumentAccess;
 	}
 
 	/**
@@ -43,7 +73,11 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 	 */
 	@Override
 	protected void onMethodEnter() {
-		generateBeforeBodyCall();
+		if (argumentAccess) {
+			generateBeforeBodyCall();
+		} else {
+			generateNoArgumentsCall("dispatchMethodBeforeBody");
+		}
 
 		// start our try block
 		visitLabel(tryBlockStart);
@@ -61,6 +95,13 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 			return;
 		}
 
+		// with no argument access the result stays on stack and is not passed
+		if (!argumentAccess) {
+			generateNoArgumentsCall("dispatchFirstMethodAfterBody");
+			generateNoArgumentsCall("dispatchSecondMethodAfterBody");
+			return;
+		}
+
 		// just ensure that result is duplicated on the stack
 		// since we are calling two methods, make 2 copies of result on stack
 		// in case of void return or push null since we don't have result
@@ -113,11 +154,16 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 		visitLabel(finallyHandler);
 
 		// generate code for calling first and second
-		// push nulls as we don't have a result
-		pushNull();
-		pushNull();
-		generateAfterBodyCall("dispatchFirstMethodAfterBody");
-		generateAfterBodyCall("dispatchSecondMethodAfterBody");
+		if (argumentAccess) {
+			// push nulls as we don't have a result
+			pushNull();
+			pushNull();
+			generateAfterBodyCall("dispatchFirstMethodAfterBody");
+			generateAfterBodyCall("dispatchSecondMethodAfterBody");
+		} else {
+			generateNoArgumentsCall("dispatchFirstMethodAfterBody");
+			generateNoArgumentsCall("dispatchSecondMethodAfterBody");
+		}
 
 		mv.visitInsn(ATHROW);
 
@@ -149,6 +195,29 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 				true);
 	}
 
+	/**
+	 * Generates call to one of the dispatch methods that do not pass parameters and return value.
+	 * This method does not consume anything from the stack.
+	 *
+	 * @param method
+	 *            method to be called can be only
+	 *            {@link IHookDispatcher#dispatchMethodBeforeBody(long, Object)},
+	 *            {@link IHookDispatcher#dispatchFirstMethodAfterBody(long, Object)} or
+	 *            {@link IHookDispatcher#dispatchSecondMethodAfterBody(long, Object)}
+	 */
+	private void generateNoArgumentsCall(String method) {
+		// load hook dispatcher
+		loadHookDispatcher();
+
+		// first push method id
+		push(methodId);
+
+		// then this object or null if's static
+		loadThisOrNull();
+
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, IInstrumenterConstant.IHOOK_DISPATCHER_INTERNAL_NAME, method, IInstrumenterConstant.DISPATCH_METHOD_NO_ARGUMENTS_DESCRIPTOR, true);
+	}
+
 	/**
 	 * Generates code for the after body call. This method expects the result of the method call on
 	 * the stack that can be consumed.
@@ -226,4 +295,13 @@ public class MethodInstrumenter extends AbstractMethodInstrumenter {
 		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, IInstrumenterConstant.IHOOK_DISPATCHER_INTERNAL_NAME, "dispatchBeforeCatch", IInstrumenterConstant.DISPATCH_BEFORE_CATCH_DESCRIPTOR, true);
 	}
 
+	/**
+	 * Gets {@link #argumentAccess}.
+	 *
+	 * @return {@link #argumentAccess}
+	 */
+	public boolean isArgumentAccess() {
+		return this.argumentAccess;
+	}
+
 }
@@ -40,6 +40,17 @@ public class FileResolver implements InitializingBean {
 		return new File(agentJar.getParent() + File.separator + "cache" + File.separator + configurationStorage.getAgentName() + File.separator + "sendingClasses.cache");
 	}
 
+	/**
+	 * Returns file where the disk spool for this agent should be.
+	 * <p>
+	 * Expected path: <i>[PATH_TO_AGENT]/spool/agentName/data.spool</i>
+	 *
+	 * @return Returns file where the disk spool for this agent should be.
+	 */
+	public File getDiskSpoolFile() {
+		return new File(agentJar.getParent() + File.separator + "spool" + File.separator + configurationStorage.getAgentName() + File.separator + "data.spool");
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
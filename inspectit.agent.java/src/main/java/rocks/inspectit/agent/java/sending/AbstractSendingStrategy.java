@@ -4,6 +4,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
+import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.core.ICoreService;
 
 /**
@@ -11,12 +12,20 @@ import rocks.inspectit.agent.java.core.ICoreService;
  * creating an instance is {@link #start()}. An event listener or starting a thread has to be
  * implemented there. {@link #stop()} immediately stops the strategy. {@link #reset()} is called
  * after a successful {@link #sendNow()} is executed.
+ * <p>
+ * Strategies should use {@link #applyBackpressure(long)} to slow down the sending when the server
+ * reports that it can not keep up with processing the data of this agent.
  *
  * @author Patrice Bouillet
  *
  */
 public abstract class AbstractSendingStrategy implements ISendingStrategy, InitializingBean {
 
+	/**
+	 * Factor the sending threshold is increased by with the maximum backpressure.
+	 */
+	private static final int MAX_BACKPRESSURE_FACTOR = 4;
+
 	/**
 	 * The {@link ICoreService} implementation. Needed to actually trigger the sending of the data.
 	 */
@@ -28,6 +37,12 @@ public abstract class AbstractSendingStrategy implements ISendingStrategy, Initi
 	@Autowired
 	private IConfigurationStorage configurationStorage;
 
+	/**
+	 * Connection providing the backpressure level reported by the server.
+	 */
+	@Autowired
+	private IConnection connection;
+
 	/**
 	 * Send the data to the server.
 	 */
@@ -35,6 +50,23 @@ public abstract class AbstractSendingStrategy implements ISendingStrategy, Initi
 		coreService.sendData();
 	}
 
+	/**
+	 * Scales the given sending threshold (time to wait, amount of data to collect, etc.) with the
+	 * backpressure level reported by the server. With the maximum backpressure the threshold is
+	 * increased by factor {@value #MAX_BACKPRESSURE_FACTOR}.
+	 *
+	 * @param value
+	 *            Configured threshold.
+	 * @return Threshold to use.
+	 */
+	protected final long applyBackpressure(long value) {
+		int backpressure = connection.getBackpressure();
+		if (backpressure <= 0) {
+			return value;
+		}
+		return value + ((value * (MAX_BACKPRESSURE_FACTOR - 1) * Math.min(backpressure, 100)) / 100);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -1,20 +1,19 @@
 package rocks.inspectit.agent.java.sending.impl;
 
-import java.util.List;
 import java.util.Map;
 
 import rocks.inspectit.agent.java.core.ListListener;
 import rocks.inspectit.agent.java.sending.AbstractSendingStrategy;
-import rocks.inspectit.shared.all.communication.DefaultData;
 
 /**
  * A simple implementation which checks the size of the list of the current value objects. If the
- * size of the list is greater than the defined one, {@link #sendNow()} is called.
+ * size of the list is greater than the defined one, {@link #sendNow()} is called. The defined size
+ * is increased when the server reports backpressure.
  *
  * @author Patrice Bouillet
  *
  */
-public class ListSizeStrategy extends AbstractSendingStrategy implements ListListener<List<DefaultData>> {
+public class ListSizeStrategy extends AbstractSendingStrategy implements ListListener {
 
 	/**
 	 * Default size.
@@ -46,8 +45,8 @@ public class ListSizeStrategy extends AbstractSendingStrategy implements ListLis
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void contentChanged(List<List<DefaultData>> list) {
-		if (list.size() > size) {
+	public void contentChanged(int listSize) {
+		if (listSize > applyBackpressure(size)) {
 			sendNow();
 		}
 	}
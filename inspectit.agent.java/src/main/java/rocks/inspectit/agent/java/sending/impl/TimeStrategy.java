@@ -96,7 +96,7 @@ public class TimeStrategy extends AbstractSendingStrategy {
 			while (trigger == thisThread) { // NOPMD
 				try {
 					synchronized (this) {
-						wait(time);
+						wait(applyBackpressure(time));
 					}
 
 					if (allowSending) {
@@ -54,6 +54,16 @@ public abstract class AbstractMethodSensor implements IMethodSensor, Initializin
 		return sensorTypeConfig;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Sensors access the arguments by default, sub-classes can override.
+	 */
+	@Override
+	public boolean isArgumentAccess() {
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
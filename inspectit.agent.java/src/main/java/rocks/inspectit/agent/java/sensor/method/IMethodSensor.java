@@ -29,4 +29,14 @@ public interface IMethodSensor extends ISensor {
 	@Override
 	MethodSensorTypeConfig getSensorTypeConfig();
 
+	/**
+	 * Defines if the hook of this sensor accesses the parameters or the return value of the
+	 * instrumented method. If none of the sensors on a method needs them and no property access
+	 * is defined, the method is instrumented with the lean dispatch that does not box parameters
+	 * and return value.
+	 *
+	 * @return Returns <code>true</code> if the hook accesses the parameters or the return value.
+	 */
+	boolean isArgumentAccess();
+
 }
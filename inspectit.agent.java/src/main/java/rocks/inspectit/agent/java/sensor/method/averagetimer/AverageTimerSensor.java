@@ -80,4 +80,14 @@ public class AverageTimerSensor extends AbstractMethodSensor implements IMethodS
 		averageTimerHook = new AverageTimerHook(timer, platformManager, propertyAccessor, parameters);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The average timer hook only accesses the arguments when property access is defined.
+	 */
+	@Override
+	public boolean isArgumentAccess() {
+		return false;
+	}
+
 }
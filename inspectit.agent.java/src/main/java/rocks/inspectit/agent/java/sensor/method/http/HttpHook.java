@@ -16,13 +16,13 @@ import rocks.inspectit.agent.java.hooking.IMethodHook;
 import rocks.inspectit.agent.java.sensor.method.timer.TimerHook;
 import rocks.inspectit.agent.java.util.ClassUtil;
 import rocks.inspectit.agent.java.util.StringConstraint;
-import rocks.inspectit.agent.java.util.ThreadLocalStack;
+import rocks.inspectit.agent.java.util.ThreadLocalPrimitiveStack;
 import rocks.inspectit.agent.java.util.Timer;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 
 /**
- * The hook implementation for the http sensor. It uses the {@link ThreadLocalStack} class to save
- * the time when the method was called.
+ * The hook implementation for the http sensor. It uses the {@link ThreadLocalPrimitiveStack} class
+ * to save the time when the method was called.
  * <p>
  * This hook measures timer data like the {@link TimerHook} but in addition provides Http
  * information. Another difference is that we ensure that only one Http metric per request is
@@ -39,9 +39,10 @@ public class HttpHook implements IMethodHook {
 	private static final Logger LOG = LoggerFactory.getLogger(HttpHook.class);
 
 	/**
-	 * The stack containing the start time values.
+	 * The stack containing the start time values (double stack) and the thread CPU time values
+	 * (long stack).
 	 */
-	private final ThreadLocalStack<Double> timeStack = new ThreadLocalStack<Double>();
+	private final ThreadLocalPrimitiveStack timeStack = new ThreadLocalPrimitiveStack();
 
 	/**
 	 * The timer used for accurate measuring.
@@ -68,11 +69,6 @@ public class HttpHook implements IMethodHook {
 	 */
 	private boolean threadCPUTimeEnabled = false;
 
-	/**
-	 * The stack containing the start time values.
-	 */
-	private final ThreadLocalStack<Long> threadCpuTimeStack = new ThreadLocalStack<Long>();
-
 	/**
 	 * Extractor for Http information.
 	 */
@@ -201,9 +197,9 @@ public class HttpHook implements IMethodHook {
 					// timer. We cannot do that after we read the information from the request
 					// object because these methods could be instrumented and thus the whole http
 					// timer would be off - resulting in very strange results.
-					timeStack.push(new Double(timer.getCurrentTime()));
+					timeStack.pushDouble(timer.getCurrentTime());
 					if (threadCPUTimeEnabled) {
-						threadCpuTimeStack.push(Long.valueOf(threadMXBean.getCurrentThreadCpuTime()));
+						timeStack.pushLong(threadMXBean.getCurrentThreadCpuTime());
 					}
 
 					// Mark first invocation
@@ -233,9 +229,9 @@ public class HttpHook implements IMethodHook {
 
 		if (refMarker.matchesFirst()) {
 			// Get the timer and store it.
-			timeStack.push(new Double(timer.getCurrentTime()));
+			timeStack.pushDouble(timer.getCurrentTime());
 			if (threadCPUTimeEnabled) {
-				threadCpuTimeStack.push(Long.valueOf(threadMXBean.getCurrentThreadCpuTime()));
+				timeStack.pushLong(threadMXBean.getCurrentThreadCpuTime());
 			}
 		}
 	}
@@ -263,15 +259,15 @@ public class HttpHook implements IMethodHook {
 				if (providesHttpRequestMetrics(servletRequestClass) && providesHttpResponseMetrics(servletResponseClass)) {
 
 					try {
-						double endTime = timeStack.pop().doubleValue();
-						double startTime = timeStack.pop().doubleValue();
+						double endTime = timeStack.popDouble();
+						double startTime = timeStack.popDouble();
 						double duration = endTime - startTime;
 
 						// default setting to a negative number
 						double cpuDuration = -1.0d;
 						if (threadCPUTimeEnabled) {
-							long cpuEndTime = threadCpuTimeStack.pop().longValue();
-							long cpuStartTime = threadCpuTimeStack.pop().longValue();
+							long cpuEndTime = timeStack.popLong();
+							long cpuStartTime = timeStack.popLong();
 							cpuDuration = (cpuEndTime - cpuStartTime) / 1000000.0d;
 						}
 
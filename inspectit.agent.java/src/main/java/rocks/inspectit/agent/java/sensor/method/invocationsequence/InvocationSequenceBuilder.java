@@ -0,0 +1,666 @@
+package rocks.inspectit.agent.java.sensor.method.invocationsequence;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.LoggingData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Flat, array based builder of one invocation sequence. Every node of the sequence is an index in
+ * the parallel primitive arrays holding the method id, timestamp, start, end, duration and the
+ * index of the parent node. Attached data objects (timer, SQL, exceptions, logging) are kept in
+ * side tables that are only created when such data is attached.
+ * <p>
+ * Nodes are always added in the depth-first order, thus all nodes after the currently open node
+ * are its descendants and the node before a closed leaf is its previous sibling if it has the same
+ * parent. This makes collapsing of the repeated sibling calls and removal of the open node cheap.
+ * <p>
+ * The amount of nodes and the depth of the sequence can be limited. Calls exceeding the limits are
+ * not recorded, together with their data and nested calls. The {@link InvocationSequenceData} tree
+ * is only created with {@link #build()} when the sequence is sent. A sequence that is not sampled
+ * records only the root node and no nested calls at all.
+ * <p>
+ * The builder is not thread safe and is meant to be used by one thread only.
+ */
+public class InvocationSequenceBuilder {
+
+	/**
+	 * Initial capacity of the arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Capacity above which the arrays are released on {@link #reset()}, so that one huge sequence
+	 * does not keep the memory occupied by the thread.
+	 */
+	private static final int RETAINED_CAPACITY = 4096;
+
+	/**
+	 * Maximum amount of nodes, zero or negative means unlimited.
+	 */
+	private final int maxNodes;
+
+	/**
+	 * Maximum depth, zero or negative means unlimited.
+	 */
+	private final int maxDepth;
+
+	/**
+	 * If repeated identical sibling calls should be collapsed.
+	 */
+	private final boolean collapseRepetitions;
+
+	/**
+	 * Platform ident of the sequence.
+	 */
+	private long platformIdent;
+
+	/**
+	 * Sensor type ident of the sequence.
+	 */
+	private long sensorTypeIdent;
+
+	/**
+	 * Amount of nodes.
+	 */
+	private int size;
+
+	/**
+	 * Index of the currently open node or <code>-1</code> if the sequence is not started.
+	 */
+	private int current = -1;
+
+	/**
+	 * Depth of the currently open node, root has depth one.
+	 */
+	private int depth;
+
+	/**
+	 * Depth of the calls that are not recorded because of the limits.
+	 */
+	private int skippedDepth;
+
+	/**
+	 * Amount of calls not recorded because of the limits.
+	 */
+	private long droppedNodes;
+
+	/**
+	 * If the nested calls of the sequence are recorded.
+	 */
+	private boolean sampled = true;
+
+	/**
+	 * If any exception was reported during the sequence.
+	 */
+	private boolean errorOccurred;
+
+	/**
+	 * Method ids.
+	 */
+	private long[] methodIds;
+
+	/**
+	 * Timestamps in milliseconds.
+	 */
+	private long[] timestamps;
+
+	/**
+	 * Start times.
+	 */
+	private double[] starts;
+
+	/**
+	 * End times.
+	 */
+	private double[] ends;
+
+	/**
+	 * Durations.
+	 */
+	private double[] durations;
+
+	/**
+	 * Index of the parent node, <code>-1</code> for the root.
+	 */
+	private int[] parents;
+
+	/**
+	 * Amount of calls collapsed into the node.
+	 */
+	private long[] collapsedCounts;
+
+	/**
+	 * Side table of the timer data, <code>null</code> until first timer data is attached.
+	 */
+	private TimerData[] timerData;
+
+	/**
+	 * Side table of the SQL data, <code>null</code> until first SQL data is attached.
+	 */
+	private SqlStatementData[] sqlStatementData;
+
+	/**
+	 * Side table of the logging data, <code>null</code> until first logging data is attached.
+	 */
+	private LoggingData[] loggingData;
+
+	/**
+	 * Side table of the exception data, <code>null</code> until first exception data is attached.
+	 */
+	private List<ExceptionSensorData>[] exceptionSensorData;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param maxNodes
+	 *            Maximum amount of nodes, zero or negative means unlimited.
+	 * @param maxDepth
+	 *            Maximum depth, zero or negative means unlimited.
+	 * @param collapseRepetitions
+	 *            If repeated identical sibling calls should be collapsed.
+	 */
+	public InvocationSequenceBuilder(int maxNodes, int maxDepth, boolean collapseRepetitions) {
+		this.maxNodes = maxNodes;
+		this.maxDepth = maxDepth;
+		this.collapseRepetitions = collapseRepetitions;
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Starts the sequence with the root node.
+	 *
+	 * @param methodId
+	 *            Method id of the root.
+	 * @param timestamp
+	 *            Timestamp in milliseconds.
+	 * @param platformIdent
+	 *            Platform ident.
+	 * @param sensorTypeIdent
+	 *            Sensor type ident.
+	 * @param sampled
+	 *            If the nested calls should be recorded. If not only the root node is recorded.
+	 */
+	public void start(long methodId, long timestamp, long platformIdent, long sensorTypeIdent, boolean sampled) {
+		reset();
+		this.platformIdent = platformIdent;
+		this.sensorTypeIdent = sensorTypeIdent;
+		this.sampled = sampled;
+		add(methodId, timestamp, -1);
+		depth = 1;
+	}
+
+	/**
+	 * Returns if the sequence is started.
+	 *
+	 * @return Returns if the sequence is started.
+	 */
+	public boolean isStarted() {
+		return current >= 0;
+	}
+
+	/**
+	 * Opens a nested call. If one of the limits is reached the call is not recorded and
+	 * <code>false</code> is returned. In this case the call must still be closed with
+	 * {@link #exitSkipped()}.
+	 *
+	 * @param methodId
+	 *            Method id.
+	 * @param timestamp
+	 *            Timestamp in milliseconds.
+	 * @return If the call is recorded.
+	 */
+	public boolean enter(long methodId, long timestamp) {
+		if (!sampled) {
+			skippedDepth++;
+			return false;
+		}
+		if ((skippedDepth > 0) || ((maxNodes > 0) && (size >= maxNodes)) || ((maxDepth > 0) && (depth >= maxDepth))) {
+			skippedDepth++;
+			droppedNodes++;
+			return false;
+		}
+
+		add(methodId, timestamp, current);
+		depth++;
+		return true;
+	}
+
+	/**
+	 * Sets the start time of the currently open node.
+	 *
+	 * @param start
+	 *            Start time.
+	 */
+	public void setCurrentStart(double start) {
+		starts[current] = start;
+	}
+
+	/**
+	 * Returns if the currently executing call is not recorded because of the limits.
+	 *
+	 * @return If the current call is skipped.
+	 */
+	public boolean isSkipping() {
+		return skippedDepth > 0;
+	}
+
+	/**
+	 * Closes the call that was not recorded.
+	 */
+	public void exitSkipped() {
+		skippedDepth--;
+	}
+
+	/**
+	 * Returns the method id of the currently open node.
+	 *
+	 * @return Method id of the currently open node.
+	 */
+	public long getCurrentMethodId() {
+		return methodIds[current];
+	}
+
+	/**
+	 * Closes the currently open nested node. If the node is identical to its previous sibling it is
+	 * collapsed into it when collapsing is active.
+	 *
+	 * @param end
+	 *            End time.
+	 */
+	public void exit(double end) {
+		int node = current;
+		ends[node] = end;
+		durations[node] = end - starts[node];
+		current = parents[node];
+		depth--;
+
+		if (collapseRepetitions) {
+			collapse(node);
+		}
+	}
+
+	/**
+	 * Removes the currently open nested node. All its nested nodes are connected to its parent.
+	 */
+	public void removeCurrent() {
+		int node = current;
+		int parent = parents[node];
+
+		// all nodes after the open one are its descendants
+		for (int i = node + 1; i < size; i++) {
+			int target = i - 1;
+			methodIds[target] = methodIds[i];
+			timestamps[target] = timestamps[i];
+			starts[target] = starts[i];
+			ends[target] = ends[i];
+			durations[target] = durations[i];
+			collapsedCounts[target] = collapsedCounts[i];
+			parents[target] = (parents[i] == node) ? parent : parents[i] - 1;
+			moveData(i, target);
+		}
+		size--;
+		clear(size);
+
+		current = parent;
+		depth--;
+	}
+
+	/**
+	 * Attaches the timer data to the currently open node if the node has no timer data. Attached
+	 * plain {@link TimerData} is overwritten if requested.
+	 *
+	 * @param data
+	 *            Timer data.
+	 * @param overwriteTimer
+	 *            If already attached plain {@link TimerData} should be overwritten.
+	 */
+	public void setTimerData(TimerData data, boolean overwriteTimer) {
+		if (null == timerData) {
+			timerData = new TimerData[methodIds.length];
+		}
+		TimerData existing = timerData[current];
+		if ((null == existing) || (overwriteTimer && existing.getClass().equals(TimerData.class))) {
+			timerData[current] = data;
+		}
+	}
+
+	/**
+	 * Attaches the SQL data to the currently open node, if the node has no SQL data.
+	 *
+	 * @param data
+	 *            SQL data.
+	 */
+	public void setSqlStatementData(SqlStatementData data) {
+		if (null == sqlStatementData) {
+			sqlStatementData = new SqlStatementData[methodIds.length];
+		}
+		if (null == sqlStatementData[current]) {
+			sqlStatementData[current] = data;
+		}
+	}
+
+	/**
+	 * Attaches the logging data to the currently open node.
+	 *
+	 * @param data
+	 *            Logging data.
+	 */
+	public void setLoggingData(LoggingData data) {
+		if (null == loggingData) {
+			loggingData = new LoggingData[methodIds.length];
+		}
+		loggingData[current] = data;
+	}
+
+	/**
+	 * Adds the exception data to the currently open node.
+	 *
+	 * @param data
+	 *            Exception data.
+	 */
+	@SuppressWarnings("unchecked")
+	public void addExceptionSensorData(ExceptionSensorData data) {
+		if (null == exceptionSensorData) {
+			exceptionSensorData = new List[methodIds.length];
+		}
+		if (null == exceptionSensorData[current]) {
+			exceptionSensorData[current] = new ArrayList<ExceptionSensorData>(1);
+		}
+		exceptionSensorData[current].add(data);
+	}
+
+	/**
+	 * Returns the SQL data of the currently open node.
+	 *
+	 * @return SQL data or <code>null</code>.
+	 */
+	public SqlStatementData getCurrentSqlStatementData() {
+		return (null != sqlStatementData) ? sqlStatementData[current] : null;
+	}
+
+	/**
+	 * Returns the exception data of the currently open node.
+	 *
+	 * @return Exception data or <code>null</code>.
+	 */
+	public List<ExceptionSensorData> getCurrentExceptionSensorData() {
+		return (null != exceptionSensorData) ? exceptionSensorData[current] : null;
+	}
+
+	/**
+	 * Returns if the currently open node has logging data.
+	 *
+	 * @return If the currently open node has logging data.
+	 */
+	public boolean hasCurrentLoggingData() {
+		return (null != loggingData) && (null != loggingData[current]);
+	}
+
+	/**
+	 * Marks that an exception was reported during the sequence, regardless if the exception data
+	 * was recorded or not.
+	 */
+	public void markErrorOccurred() {
+		errorOccurred = true;
+	}
+
+	/**
+	 * Gets {@link #errorOccurred}.
+	 *
+	 * @return {@link #errorOccurred}
+	 */
+	public boolean isErrorOccurred() {
+		return errorOccurred;
+	}
+
+	/**
+	 * Gets {@link #sampled}.
+	 *
+	 * @return {@link #sampled}
+	 */
+	public boolean isSampled() {
+		return sampled;
+	}
+
+	/**
+	 * Gets {@link #size}.
+	 *
+	 * @return {@link #size}
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Gets {@link #droppedNodes}.
+	 *
+	 * @return {@link #droppedNodes}
+	 */
+	public long getDroppedNodes() {
+		return droppedNodes;
+	}
+
+	/**
+	 * Creates the {@link InvocationSequenceData} tree of the sequence. Start, end and duration of
+	 * the root must be set by the caller.
+	 *
+	 * @return Root of the tree.
+	 */
+	public InvocationSequenceData build() {
+		InvocationSequenceData[] nodes = new InvocationSequenceData[size];
+		for (int i = 0; i < size; i++) {
+			InvocationSequenceData node = new InvocationSequenceData(new Timestamp(timestamps[i]), platformIdent, sensorTypeIdent, methodIds[i]);
+			if (i > 0) {
+				node.setStart(starts[i]);
+				node.setEnd(ends[i]);
+				node.setDuration(durations[i]);
+				InvocationSequenceData parent = nodes[parents[i]];
+				node.setParentSequence(parent);
+				parent.getNestedSequences().add(node);
+			}
+			node.setCollapsedCount(collapsedCounts[i]);
+			if (null != timerData) {
+				node.setTimerData(timerData[i]);
+			}
+			if (null != sqlStatementData) {
+				node.setSqlStatementData(sqlStatementData[i]);
+			}
+			if (null != loggingData) {
+				node.setLoggingData(loggingData[i]);
+			}
+			if ((null != exceptionSensorData) && (null != exceptionSensorData[i])) {
+				node.setExceptionSensorDataObjects(exceptionSensorData[i]);
+			}
+			nodes[i] = node;
+		}
+
+		// children are always after the parent, so counting backwards sums up all levels
+		for (int i = size - 1; i > 0; i--) {
+			InvocationSequenceData parent = nodes[parents[i]];
+			parent.setChildCount(parent.getChildCount() + nodes[i].getChildCount() + 1);
+		}
+
+		return nodes[0];
+	}
+
+	/**
+	 * Resets the builder so that it can be used for the next sequence.
+	 */
+	public void reset() {
+		if (methodIds.length > RETAINED_CAPACITY) {
+			allocate(INITIAL_CAPACITY);
+		} else {
+			for (int i = 0; i < size; i++) {
+				clear(i);
+			}
+		}
+		size = 0;
+		current = -1;
+		depth = 0;
+		skippedDepth = 0;
+		droppedNodes = 0;
+		sampled = true;
+		errorOccurred = false;
+	}
+
+	/**
+	 * Collapses the just closed node into its previous sibling if both are leaves without data and
+	 * represent the same method.
+	 *
+	 * @param node
+	 *            Just closed node.
+	 */
+	private void collapse(int node) {
+		int previous = node - 1;
+		if ((node != (size - 1)) || (previous < 1) || (parents[previous] != parents[node]) || (methodIds[previous] != methodIds[node])) {
+			return;
+		}
+		if (hasData(previous) || hasData(node)) {
+			return;
+		}
+
+		collapsedCounts[previous] += collapsedCounts[node] + 1;
+		durations[previous] += durations[node];
+		ends[previous] = ends[node];
+		size--;
+		clear(node);
+	}
+
+	/**
+	 * Returns if any data object is attached to the node.
+	 *
+	 * @param node
+	 *            Node index.
+	 * @return If any data object is attached to the node.
+	 */
+	private boolean hasData(int node) {
+		return ((null != timerData) && (null != timerData[node])) || ((null != sqlStatementData) && (null != sqlStatementData[node])) || ((null != loggingData) && (null != loggingData[node]))
+				|| ((null != exceptionSensorData) && (null != exceptionSensorData[node]));
+	}
+
+	/**
+	 * Appends the node.
+	 *
+	 * @param methodId
+	 *            Method id.
+	 * @param timestamp
+	 *            Timestamp in milliseconds.
+	 * @param parent
+	 *            Parent index.
+	 */
+	private void add(long methodId, long timestamp, int parent) {
+		if (size == methodIds.length) {
+			grow();
+		}
+		methodIds[size] = methodId;
+		timestamps[size] = timestamp;
+		parents[size] = parent;
+		current = size;
+		size++;
+	}
+
+	/**
+	 * Moves the attached data from one node to another.
+	 *
+	 * @param from
+	 *            Source index.
+	 * @param to
+	 *            Target index.
+	 */
+	private void moveData(int from, int to) {
+		if (null != timerData) {
+			timerData[to] = timerData[from];
+		}
+		if (null != sqlStatementData) {
+			sqlStatementData[to] = sqlStatementData[from];
+		}
+		if (null != loggingData) {
+			loggingData[to] = loggingData[from];
+		}
+		if (null != exceptionSensorData) {
+			exceptionSensorData[to] = exceptionSensorData[from];
+		}
+	}
+
+	/**
+	 * Clears the node at the given index.
+	 *
+	 * @param node
+	 *            Node index.
+	 */
+	private void clear(int node) {
+		starts[node] = 0;
+		ends[node] = 0;
+		durations[node] = 0;
+		collapsedCounts[node] = 0;
+		if (null != timerData) {
+			timerData[node] = null;
+		}
+		if (null != sqlStatementData) {
+			sqlStatementData[node] = null;
+		}
+		if (null != loggingData) {
+			loggingData[node] = null;
+		}
+		if (null != exceptionSensorData) {
+			exceptionSensorData[node] = null;
+		}
+	}
+
+	/**
+	 * Allocates the empty arrays.
+	 *
+	 * @param capacity
+	 *            Capacity.
+	 */
+	private void allocate(int capacity) {
+		methodIds = new long[capacity];
+		timestamps = new long[capacity];
+		starts = new double[capacity];
+		ends = new double[capacity];
+		durations = new double[capacity];
+		parents = new int[capacity];
+		collapsedCounts = new long[capacity];
+		timerData = null; // NOPMD
+		sqlStatementData = null; // NOPMD
+		loggingData = null; // NOPMD
+		exceptionSensorData = null; // NOPMD
+	}
+
+	/**
+	 * Doubles the capacity of the arrays.
+	 */
+	private void grow() {
+		int capacity = methodIds.length << 1;
+		if ((maxNodes > 0) && (capacity > maxNodes)) {
+			capacity = maxNodes;
+		}
+		methodIds = Arrays.copyOf(methodIds, capacity);
+		timestamps = Arrays.copyOf(timestamps, capacity);
+		starts = Arrays.copyOf(starts, capacity);
+		ends = Arrays.copyOf(ends, capacity);
+		durations = Arrays.copyOf(durations, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		collapsedCounts = Arrays.copyOf(collapsedCounts, capacity);
+		if (null != timerData) {
+			timerData = Arrays.copyOf(timerData, capacity);
+		}
+		if (null != sqlStatementData) {
+			sqlStatementData = Arrays.copyOf(sqlStatementData, capacity);
+		}
+		if (null != loggingData) {
+			loggingData = Arrays.copyOf(loggingData, capacity);
+		}
+		if (null != exceptionSensorData) {
+			exceptionSensorData = Arrays.copyOf(exceptionSensorData, capacity);
+		}
+	}
+
+}
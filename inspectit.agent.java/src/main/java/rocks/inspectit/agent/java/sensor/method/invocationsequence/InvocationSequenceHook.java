@@ -1,7 +1,6 @@
 package rocks.inspectit.agent.java.sensor.method.invocationsequence;
 
 import java.net.ConnectException;
-import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,7 +27,7 @@ import rocks.inspectit.agent.java.sensor.method.jdbc.PreparedStatementParameterS
 import rocks.inspectit.agent.java.sensor.method.jdbc.PreparedStatementSensor;
 import rocks.inspectit.agent.java.sensor.method.logging.Log4JLoggingSensor;
 import rocks.inspectit.agent.java.util.StringConstraint;
-import rocks.inspectit.agent.java.util.ThreadLocalStack;
+import rocks.inspectit.agent.java.util.ThreadLocalPrimitiveStack;
 import rocks.inspectit.agent.java.util.Timer;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.MethodSensorData;
@@ -36,7 +35,6 @@ import rocks.inspectit.shared.all.communication.SystemSensorData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
-import rocks.inspectit.shared.all.communication.data.InvocationSequenceDataHelper;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
 import rocks.inspectit.shared.all.communication.data.LoggingData;
 import rocks.inspectit.shared.all.communication.data.ParameterContentData;
@@ -47,7 +45,8 @@ import rocks.inspectit.shared.all.instrumentation.config.impl.PlatformSensorType
 
 /**
  * The invocation sequence hook stores the record of the invocation sequences in a
- * {@link ThreadLocal} object.
+ * {@link ThreadLocal} object. The record is kept in the flat {@link InvocationSequenceBuilder} and
+ * the {@link InvocationSequenceData} tree is only created when the sequence is saved.
  * <p>
  * This hook implements the {@link ICoreService} interface which simulates the core service to all
  * other hooks which are called during the execution of this invocation. The
@@ -75,10 +74,15 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	private final IPropertyAccessor propertyAccessor;
 
 	/**
-	 * The {@link ThreadLocal} object which holds an {@link InvocationSequenceData} object if an
-	 * invocation record is started.
+	 * The {@link ThreadLocal} object which holds the {@link InvocationSequenceBuilder} of the
+	 * thread. The builder is started if an invocation record is started.
 	 */
-	private final ThreadLocal<InvocationSequenceData> threadLocalInvocationData = new ThreadLocal<InvocationSequenceData>();
+	private final ThreadLocal<InvocationSequenceBuilder> threadLocalBuilder = new ThreadLocal<InvocationSequenceBuilder>() {
+		@Override
+		protected InvocationSequenceBuilder initialValue() {
+			return new InvocationSequenceBuilder(maxNodes, maxDepth, collapseRepetitions);
+		}
+	};
 
 	/**
 	 * Stores the value of the method ID in the {@link ThreadLocal} object. Used to identify the
@@ -100,7 +104,7 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	/**
 	 * The stack containing the start time values.
 	 */
-	private final ThreadLocalStack<Double> timeStack = new ThreadLocalStack<Double>();
+	private final ThreadLocalPrimitiveStack timeStack = new ThreadLocalPrimitiveStack();
 
 	/**
 	 * Saves the min duration for faster access of the values.
@@ -117,6 +121,38 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 */
 	private final boolean enhancedExceptionSensor;
 
+	/**
+	 * Maximum amount of invocations recorded in one sequence, zero means unlimited.
+	 */
+	private final int maxNodes;
+
+	/**
+	 * Maximum depth of the recorded invocations, zero means unlimited.
+	 */
+	private final int maxDepth;
+
+	/**
+	 * If repeated identical sibling invocations should be collapsed into one.
+	 */
+	private final boolean collapseRepetitions;
+
+	/**
+	 * Sampler deciding which invocation sequences are recorded or <code>null</code> if all are
+	 * recorded.
+	 */
+	private final InvocationSequenceSampler sampler;
+
+	/**
+	 * Not sampled invocation sequences slower than this duration in milliseconds are still kept,
+	 * zero means that slow invocation sequences are not kept.
+	 */
+	private final int keepSlowerThan;
+
+	/**
+	 * If not sampled invocation sequences with exceptions are still kept.
+	 */
+	private final boolean keepErrors;
+
 	/**
 	 * The default constructor is initialized with a reference to the original {@link ICoreService}
 	 * implementation to delegate all calls to if the data needs to be sent.
@@ -138,6 +174,58 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 		this.propertyAccessor = propertyAccessor;
 		this.strConstraint = new StringConstraint(param);
 		this.enhancedExceptionSensor = enhancedExceptionSensor;
+		this.maxNodes = getIntParameter(param, "maxnodes");
+		this.maxDepth = getIntParameter(param, "maxdepth");
+		this.collapseRepetitions = "true".equals(param.get("collapserepetitions"));
+		this.keepSlowerThan = getIntParameter(param, "keepslowerthan");
+		this.keepErrors = "true".equals(param.get("keeperrors"));
+
+		InvocationSequenceSampler invocationSequenceSampler = new InvocationSequenceSampler(getSamplingRateParameter(param), getIntParameter(param, "maxtracespersecond"));
+		if (invocationSequenceSampler.isActive()) {
+			this.sampler = invocationSequenceSampler;
+		} else {
+			this.sampler = null;
+		}
+	}
+
+	/**
+	 * Reads the sampling rate parameter.
+	 *
+	 * @param param
+	 *            Parameters.
+	 * @return Sampling rate or <code>1</code> if parameter is not set or not correct.
+	 */
+	private static double getSamplingRateParameter(Map<String, Object> param) {
+		Object value = param.get("samplingrate");
+		if (null != value) {
+			try {
+				return Double.parseDouble(value.toString());
+			} catch (NumberFormatException e) {
+				LOG.warn("Property 'samplingrate' is not defined correctly. Sampling all invocation sequences.");
+			}
+		}
+		return 1d;
+	}
+
+	/**
+	 * Reads the positive integer parameter.
+	 *
+	 * @param param
+	 *            Parameters.
+	 * @param key
+	 *            Parameter key.
+	 * @return Value or zero if parameter is not set or not correct.
+	 */
+	private static int getIntParameter(Map<String, Object> param, String key) {
+		Object value = param.get(key);
+		if (null != value) {
+			try {
+				return Math.max(0, Integer.parseInt(value.toString()));
+			} catch (NumberFormatException e) {
+				LOG.warn("Property '" + key + "' is not defined correctly. Using unlimited value.");
+			}
+		}
+		return 0;
 	}
 
 	/**
@@ -151,18 +239,20 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 
 		try {
 			long platformId = platformManager.getPlatformId();
-			Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+			long timestamp = System.currentTimeMillis();
+			InvocationSequenceBuilder builder = threadLocalBuilder.get();
 
-			if (null == threadLocalInvocationData.get()) {
+			if (!builder.isStarted()) {
 				// the sensor type is only available in the beginning of the
 				// sequence trace
 
 				// save the start time
-				timeStack.push(new Double(timer.getCurrentTime()));
+				timeStack.pushDouble(timer.getCurrentTime());
 
-				// no invocation tracer is currently started, so we do that now.
-				InvocationSequenceData invocationSequenceData = new InvocationSequenceData(timestamp, platformId, sensorTypeId, methodId);
-				threadLocalInvocationData.set(invocationSequenceData);
+				// no invocation tracer is currently started, so we do that now. if not sampled
+				// only the root is recorded.
+				boolean sampled = (null == sampler) || sampler.sample(methodId, timestamp);
+				builder.start(methodId, timestamp, platformId, sensorTypeId, sampled);
 
 				invocationStartId.set(Long.valueOf(methodId));
 				invocationStartIdCount.set(Long.valueOf(1));
@@ -172,17 +262,11 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 					invocationStartIdCount.set(Long.valueOf(count + 1));
 				}
 				// A subsequent call to the before body method where an
-				// invocation tracer is already started.
-				InvocationSequenceData invocationSequenceData = threadLocalInvocationData.get();
-				invocationSequenceData.setChildCount(invocationSequenceData.getChildCount() + 1L);
-
-				InvocationSequenceData nestedInvocationSequenceData = new InvocationSequenceData(timestamp, platformId, invocationSequenceData.getSensorTypeIdent(), methodId);
-				nestedInvocationSequenceData.setStart(timer.getCurrentTime());
-				nestedInvocationSequenceData.setParentSequence(invocationSequenceData);
-
-				invocationSequenceData.getNestedSequences().add(nestedInvocationSequenceData);
-
-				threadLocalInvocationData.set(nestedInvocationSequenceData);
+				// invocation tracer is already started. Start time is only needed if the
+				// invocation is recorded.
+				if (builder.enter(methodId, timestamp)) {
+					builder.setCurrentStart(timer.getCurrentTime());
+				}
 			}
 		} catch (IdNotAvailableException idNotAvailableException) {
 			if (LOG.isDebugEnabled()) {
@@ -200,15 +284,13 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 			return;
 		}
 
-		InvocationSequenceData invocationSequenceData = threadLocalInvocationData.get();
-
-		if (null != invocationSequenceData) {
+		if (threadLocalBuilder.get().isStarted()) {
 			if (methodId == invocationStartId.get().longValue()) {
 				long count = invocationStartIdCount.get().longValue();
 				invocationStartIdCount.set(Long.valueOf(count - 1));
 
 				if (0 == (count - 1)) {
-					timeStack.push(new Double(timer.getCurrentTime()));
+					timeStack.pushDouble(timer.getCurrentTime());
 				}
 			}
 		}
@@ -223,9 +305,9 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 			return;
 		}
 
-		InvocationSequenceData invocationSequenceData = threadLocalInvocationData.get();
+		InvocationSequenceBuilder builder = threadLocalBuilder.get();
 
-		if (null != invocationSequenceData) {
+		if (builder.isStarted()) {
 			// check if some properties need to be accessed and saved
 			if (rsc.isPropertyAccess()) {
 				List<ParameterContentData> parameterContentData = propertyAccessor.getParameterContentData(rsc.getPropertyAccessorList(), object, parameters, result);
@@ -237,60 +319,53 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 			}
 
 			if ((methodId == invocationStartId.get().longValue()) && (0 == invocationStartIdCount.get().longValue())) {
-				double endTime = timeStack.pop().doubleValue();
-				double startTime = timeStack.pop().doubleValue();
+				double endTime = timeStack.popDouble();
+				double startTime = timeStack.popDouble();
 				double duration = endTime - startTime;
 
 				// complete the sequence and store the data object in the 'true'
 				// core service so that it can be transmitted to the server. we
 				// just need an arbitrary prefix so that this sequence will
 				// never be overwritten in the core service!
-				if (minDurationMap.containsKey(invocationStartId.get())) {
-					checkForSavingOrNot(coreService, methodId, sensorTypeId, rsc, invocationSequenceData, startTime, endTime, duration);
+				if (!builder.isSampled()) {
+					// tail decision, only slow or errored are kept
+					if (((keepSlowerThan > 0) && (duration >= keepSlowerThan)) || (keepErrors && builder.isErrorOccurred())) {
+						saveInvocation(coreService, methodId, sensorTypeId, builder, startTime, endTime, duration);
+					}
+				} else if (minDurationMap.containsKey(invocationStartId.get())) {
+					checkForSavingOrNot(coreService, methodId, sensorTypeId, rsc, builder, startTime, endTime, duration);
 				} else {
 					// maybe not saved yet in the map
 					if (rsc.getSettings().containsKey("minduration")) {
 						Long minDuration = (Long) rsc.getSettings().get("minduration");
 						minDurationMap.put(invocationStartId.get(), minDuration.doubleValue());
-						checkForSavingOrNot(coreService, methodId, sensorTypeId, rsc, invocationSequenceData, startTime, endTime, duration);
+						checkForSavingOrNot(coreService, methodId, sensorTypeId, rsc, builder, startTime, endTime, duration);
 					} else {
-						invocationSequenceData.setDuration(duration);
-						invocationSequenceData.setStart(startTime);
-						invocationSequenceData.setEnd(endTime);
-						coreService.addMethodSensorData(sensorTypeId, methodId, String.valueOf(startTime), invocationSequenceData);
+						saveInvocation(coreService, methodId, sensorTypeId, builder, startTime, endTime, duration);
 					}
 				}
 
-				threadLocalInvocationData.set(null);
+				builder.reset();
 			} else {
+				// invocations over the limits are not recorded
+				if (builder.isSkipping()) {
+					builder.exitSkipped();
+					return;
+				}
+
 				// check for the correct id we must be sure that
 				// we are closing the right sequence
-				if (methodId != invocationSequenceData.getMethodIdent()) {
+				if (methodId != builder.getCurrentMethodId()) {
 					return;
 				}
 
-				// just close the nested sequence and set the correct child count
-				InvocationSequenceData parentSequence = invocationSequenceData.getParentSequence();
 				// check if we should not include this invocation because of exception delegation,
-				// SQL wrapping or empty logging
-				if (removeDueToExceptionDelegation(rsc, invocationSequenceData) || removeDueToWrappedSqls(rsc, invocationSequenceData) || removeDueToNotCapturedLogging(rsc, invocationSequenceData)) {
-					parentSequence.getNestedSequences().remove(invocationSequenceData);
-					parentSequence.setChildCount(parentSequence.getChildCount() - 1);
-					// but connect all possible children to the parent then we are eliminating one
-					// level here
-					if (CollectionUtils.isNotEmpty(invocationSequenceData.getNestedSequences())) {
-						for (InvocationSequenceData child : invocationSequenceData.getNestedSequences()) {
-							child.setParentSequence(parentSequence);
-							parentSequence.getNestedSequences().add(child);
-						}
-						parentSequence.setChildCount(parentSequence.getChildCount() + invocationSequenceData.getChildCount());
-					}
+				// SQL wrapping or empty logging, children are then connected to the parent
+				if (removeDueToExceptionDelegation(rsc, builder) || removeDueToWrappedSqls(rsc, builder) || removeDueToNotCapturedLogging(rsc, builder)) {
+					builder.removeCurrent();
 				} else {
-					invocationSequenceData.setEnd(timer.getCurrentTime());
-					invocationSequenceData.setDuration(invocationSequenceData.getEnd() - invocationSequenceData.getStart());
-					parentSequence.setChildCount(parentSequence.getChildCount() + invocationSequenceData.getChildCount());
+					builder.exit(timer.getCurrentTime());
 				}
-				threadLocalInvocationData.set(parentSequence);
 			}
 		}
 	}
@@ -301,17 +376,17 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 *
 	 * @param rsc
 	 *            {@link RegisteredSensorConfig}
-	 * @param invocationSequenceData
-	 *            {@link InvocationSequenceData} to check.
+	 * @param builder
+	 *            {@link InvocationSequenceBuilder} with the invocation to check open.
 	 * @return True if the invocation should be removed.
 	 */
-	private boolean removeDueToExceptionDelegation(RegisteredSensorConfig rsc, InvocationSequenceData invocationSequenceData) {
+	private boolean removeDueToExceptionDelegation(RegisteredSensorConfig rsc, InvocationSequenceBuilder builder) {
 		List<IMethodSensor> sensors = rsc.getMethodSensors();
 		if (1 == sensors.size()) {
 			MethodSensorTypeConfig methodSensorTypeConfig = sensors.get(0).getSensorTypeConfig();
 
 			if (ExceptionSensor.class.getName().equals(methodSensorTypeConfig.getClassName())) {
-				return CollectionUtils.isEmpty(invocationSequenceData.getExceptionSensorDataObjects());
+				return CollectionUtils.isEmpty(builder.getCurrentExceptionSensorData());
 			}
 		}
 
@@ -324,17 +399,18 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 *
 	 * @param rsc
 	 *            {@link RegisteredSensorConfig}
-	 * @param invocationSequenceData
-	 *            {@link InvocationSequenceData} to check.
+	 * @param builder
+	 *            {@link InvocationSequenceBuilder} with the invocation to check open.
 	 * @return True if the invocation should be removed.
 	 */
-	private boolean removeDueToWrappedSqls(RegisteredSensorConfig rsc, InvocationSequenceData invocationSequenceData) {
+	private boolean removeDueToWrappedSqls(RegisteredSensorConfig rsc, InvocationSequenceBuilder builder) {
 		List<IMethodSensor> sensors = rsc.getMethodSensors();
 		if ((1 == sensors.size()) || ((2 == sensors.size()) && enhancedExceptionSensor)) {
 			for (IMethodSensor methodSensor : sensors) {
 				MethodSensorTypeConfig methodSensorTypeConfig = methodSensor.getSensorTypeConfig();
 				if (PreparedStatementSensor.class.getName().equals(methodSensorTypeConfig.getClassName())) {
-					if ((null == invocationSequenceData.getSqlStatementData()) || (0 == invocationSequenceData.getSqlStatementData().getCount())) {
+					SqlStatementData sqlStatementData = builder.getCurrentSqlStatementData();
+					if ((null == sqlStatementData) || (0 == sqlStatementData.getCount())) {
 						return true;
 					}
 				}
@@ -351,17 +427,17 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 *
 	 * @param rsc
 	 *            {@link RegisteredSensorConfig}
-	 * @param invocationSequenceData
-	 *            {@link InvocationSequenceData} to check.
+	 * @param builder
+	 *            {@link InvocationSequenceBuilder} with the invocation to check open.
 	 * @return True if the invocation should be removed.
 	 */
-	private boolean removeDueToNotCapturedLogging(RegisteredSensorConfig rsc, InvocationSequenceData invocationSequenceData) {
+	private boolean removeDueToNotCapturedLogging(RegisteredSensorConfig rsc, InvocationSequenceBuilder builder) {
 		List<IMethodSensor> sensors = rsc.getMethodSensors();
 		if ((1 == sensors.size()) || ((2 == sensors.size()) && enhancedExceptionSensor)) {
 			for (IMethodSensor methodSensor : sensors) {
 				MethodSensorTypeConfig methodSensorTypeConfig = methodSensor.getSensorTypeConfig();
 				if (Log4JLoggingSensor.class.getName().equals(methodSensorTypeConfig.getClassName())) {
-					return !InvocationSequenceDataHelper.hasLoggingData(invocationSequenceData);
+					return !builder.hasCurrentLoggingData();
 				}
 			}
 		}
@@ -416,8 +492,8 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 * @param rsc
 	 *            The {@link RegisteredSensorConfig} object which holds all the information of the
 	 *            executed method.
-	 * @param invocationSequenceData
-	 *            The invocation sequence data object.
+	 * @param builder
+	 *            The invocation sequence builder.
 	 * @param startTime
 	 *            The start time.
 	 * @param endTime
@@ -425,17 +501,14 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 * @param duration
 	 *            The actual duration.
 	 */
-	private void checkForSavingOrNot(ICoreService coreService, long methodId, long sensorTypeId, RegisteredSensorConfig rsc, InvocationSequenceData invocationSequenceData, double startTime, // NOCHK
+	private void checkForSavingOrNot(ICoreService coreService, long methodId, long sensorTypeId, RegisteredSensorConfig rsc, InvocationSequenceBuilder builder, double startTime, // NOCHK
 			double endTime, double duration) {
 		double minduration = minDurationMap.get(invocationStartId.get()).doubleValue();
 		if (duration >= minduration) {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("Saving invocation. " + duration + " > " + minduration + " ID(local): " + rsc.getId());
 			}
-			invocationSequenceData.setDuration(duration);
-			invocationSequenceData.setStart(startTime);
-			invocationSequenceData.setEnd(endTime);
-			coreService.addMethodSensorData(sensorTypeId, methodId, String.valueOf(startTime), invocationSequenceData);
+			saveInvocation(coreService, methodId, sensorTypeId, builder, startTime, endTime, duration);
 		} else {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("Not saving invocation. " + duration + " < " + minduration + " ID(local): " + rsc.getId());
@@ -443,6 +516,43 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 		}
 	}
 
+	/**
+	 * Creates the invocation sequence from the builder and stores it in the core service. Sampled
+	 * invocation sequences get the current sampling rate of the root method, the ones kept by the
+	 * tail decision only represent themselves.
+	 *
+	 * @param coreService
+	 *            The reference to the core service which holds the data objects etc.
+	 * @param methodId
+	 *            The unique method id.
+	 * @param sensorTypeId
+	 *            The unique sensor type id.
+	 * @param builder
+	 *            The invocation sequence builder.
+	 * @param startTime
+	 *            The start time.
+	 * @param endTime
+	 *            The end time.
+	 * @param duration
+	 *            The actual duration.
+	 */
+	private void saveInvocation(ICoreService coreService, long methodId, long sensorTypeId, InvocationSequenceBuilder builder, double startTime, double endTime, double duration) {
+		if ((builder.getDroppedNodes() > 0) && LOG.isDebugEnabled()) {
+			LOG.debug("Invocation sequence reached the limits, " + builder.getDroppedNodes() + " invocations were not recorded.");
+		}
+
+		InvocationSequenceData invocationSequenceData = builder.build();
+		invocationSequenceData.setDuration(duration);
+		invocationSequenceData.setStart(startTime);
+		invocationSequenceData.setEnd(endTime);
+		if ((null != sampler) && builder.isSampled()) {
+			invocationSequenceData.setSamplingRate(sampler.getSamplingRate(methodId));
+		}
+		// we just need an arbitrary prefix so that this sequence will never be overwritten in the
+		// core service!
+		coreService.addMethodSensorData(sensorTypeId, methodId, String.valueOf(startTime), invocationSequenceData);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -468,38 +578,41 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 *            The data object to save.
 	 */
 	private void saveDataObject(DefaultData dataObject) {
-		InvocationSequenceData invocationSequenceData = threadLocalInvocationData.get();
+		InvocationSequenceBuilder builder = threadLocalBuilder.get();
+
+		if (dataObject.getClass().equals(ExceptionSensorData.class)) {
+			builder.markErrorOccurred();
+		}
+
+		if (builder.isSkipping()) {
+			// invocation is not recorded
+			return;
+		}
 
 		if (dataObject.getClass().equals(SqlStatementData.class)) {
 			// don't overwrite an already existing sql statement data object.
-			if (null == invocationSequenceData.getSqlStatementData()) {
-				invocationSequenceData.setSqlStatementData((SqlStatementData) dataObject);
-			}
+			builder.setSqlStatementData((SqlStatementData) dataObject);
 		}
 
 		if (dataObject.getClass().equals(HttpTimerData.class)) {
 			// don't overwrite ourself but overwrite timers
-			if ((null == invocationSequenceData.getTimerData()) || invocationSequenceData.getTimerData().getClass().equals(TimerData.class)) {
-				invocationSequenceData.setTimerData((HttpTimerData) dataObject);
-			}
+			builder.setTimerData((HttpTimerData) dataObject, true);
 		}
 
 		if (dataObject.getClass().equals(TimerData.class)) {
 			// don't overwrite an already existing timerdata or httptimerdata
 			// object.
-			if (null == invocationSequenceData.getTimerData()) {
-				invocationSequenceData.setTimerData((TimerData) dataObject);
-			}
+			builder.setTimerData((TimerData) dataObject, false);
 		}
 
 		if (dataObject.getClass().equals(ExceptionSensorData.class)) {
 			ExceptionSensorData exceptionSensorData = (ExceptionSensorData) dataObject;
-			invocationSequenceData.addExceptionSensorData(exceptionSensorData);
+			builder.addExceptionSensorData(exceptionSensorData);
 		}
 
 		if (dataObject.getClass().equals(LoggingData.class)) {
 			LoggingData loggingData = (LoggingData) dataObject;
-			invocationSequenceData.setLoggingData(loggingData);
+			builder.setLoggingData(loggingData);
 		}
 	}
 
@@ -512,7 +625,7 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 */
 	@Override
 	public void addMethodSensorData(long sensorTypeId, long methodId, String prefix, MethodSensorData methodSensorData) {
-		if (null == threadLocalInvocationData.get()) {
+		if (!threadLocalBuilder.get().isStarted()) {
 			LOG.error("thread data NULL!!!!");
 			return;
 		}
@@ -523,13 +636,14 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void addObjectStorage(long sensorTypeId, long methodId, String prefix, IObjectStorage objectStorage) {
-		if (null == threadLocalInvocationData.get()) {
+	public IObjectStorage addObjectStorage(long sensorTypeId, long methodId, String prefix, IObjectStorage objectStorage) {
+		if (!threadLocalBuilder.get().isStarted()) {
 			LOG.error("thread data NULL!!!!");
-			return;
+			return null;
 		}
 		DefaultData defaultData = objectStorage.finalizeDataObject();
 		saveDataObject(defaultData.finalizeData());
+		return null;
 	}
 
 	/**
@@ -545,7 +659,7 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 */
 	@Override
 	public void addExceptionSensorData(long sensorTypeIdent, long throwableIdentityHashCode, ExceptionSensorData exceptionSensorData) {
-		if (null == threadLocalInvocationData.get()) {
+		if (!threadLocalBuilder.get().isStarted()) {
 			LOG.info("thread data NULL!!!!");
 			return;
 		}
@@ -595,7 +709,7 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void addListListener(ListListener<?> listener) {
+	public void addListListener(ListListener listener) {
 		throw new UnsupportedMethodException();
 	}
 
@@ -617,7 +731,7 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void removeListListener(ListListener<?> listener) {
+	public void removeListListener(ListListener listener) {
 		throw new UnsupportedMethodException();
 	}
 
@@ -0,0 +1,205 @@
+package rocks.inspectit.agent.java.sensor.method.invocationsequence;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Head-based sampler for the invocation sequences. The decision is made when the invocation
+ * sequence starts and combines the probabilistic sampling with the token bucket limiting the
+ * amount of sampled invocation sequences per second for every root method.
+ * <p>
+ * The sampler also reports the effective sampling rate of the root method, which is the product of
+ * the sampling probability and the ratio of the invocations accepted by the token bucket in the last
+ * complete second.
+ */
+public class InvocationSequenceSampler {
+
+	/**
+	 * Length of the token bucket refill period in milliseconds.
+	 */
+	private static final long PERIOD = 1000L;
+
+	/**
+	 * Probability of sampling the invocation sequence.
+	 */
+	private final double probability;
+
+	/**
+	 * Maximum amount of sampled invocation sequences per second for one root method. Zero or
+	 * negative means unlimited.
+	 */
+	private final int maxPerSecond;
+
+	/**
+	 * Random used for the probabilistic sampling.
+	 */
+	private final Random random = new Random();
+
+	/**
+	 * Token buckets of the root methods.
+	 */
+	private final ConcurrentMap<Long, TokenBucket> buckets = new ConcurrentHashMap<Long, TokenBucket>();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param probability
+	 *            Probability of sampling the invocation sequence, value is limited to the range
+	 *            <code>[0, 1]</code>.
+	 * @param maxPerSecond
+	 *            Maximum amount of sampled invocation sequences per second for one root method.
+	 *            Zero or negative means unlimited.
+	 */
+	public InvocationSequenceSampler(double probability, int maxPerSecond) {
+		this.probability = Math.max(0d, Math.min(1d, probability));
+		this.maxPerSecond = maxPerSecond;
+	}
+
+	/**
+	 * Returns if any invocation sequence can be skipped by this sampler.
+	 *
+	 * @return Returns if any invocation sequence can be skipped by this sampler.
+	 */
+	public boolean isActive() {
+		return (probability < 1d) || (maxPerSecond > 0);
+	}
+
+	/**
+	 * Decides if the invocation sequence starting with the given method should be sampled.
+	 *
+	 * @param methodId
+	 *            Root method id.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @return If the invocation sequence should be sampled.
+	 */
+	public boolean sample(long methodId, long currentTime) {
+		if ((probability < 1d) && (random.nextDouble() >= probability)) {
+			return false;
+		}
+		if (maxPerSecond <= 0) {
+			return true;
+		}
+		return getBucket(methodId).tryAcquire(currentTime);
+	}
+
+	/**
+	 * Returns the effective sampling rate of the given root method.
+	 *
+	 * @param methodId
+	 *            Root method id.
+	 * @return Sampling rate in the range <code>(0, 1]</code>.
+	 */
+	public double getSamplingRate(long methodId) {
+		if (maxPerSecond <= 0) {
+			return probability;
+		}
+		TokenBucket bucket = buckets.get(Long.valueOf(methodId));
+		if (null == bucket) {
+			return probability;
+		}
+		return probability * bucket.getAcceptedRatio();
+	}
+
+	/**
+	 * Returns the token bucket of the root method, creating it if needed.
+	 *
+	 * @param methodId
+	 *            Root method id.
+	 * @return Token bucket.
+	 */
+	private TokenBucket getBucket(long methodId) {
+		Long key = Long.valueOf(methodId);
+		TokenBucket bucket = buckets.get(key);
+		if (null == bucket) {
+			bucket = new TokenBucket();
+			TokenBucket existing = buckets.putIfAbsent(key, bucket);
+			if (null != existing) {
+				bucket = existing;
+			}
+		}
+		return bucket;
+	}
+
+	/**
+	 * Token bucket refilled with {@link InvocationSequenceSampler#maxPerSecond} tokens per second.
+	 * Also counts the offered and accepted invocations to provide the accepted ratio.
+	 */
+	private class TokenBucket {
+
+		/**
+		 * Available tokens.
+		 */
+		private double tokens = maxPerSecond;
+
+		/**
+		 * Time of the last refill.
+		 */
+		private long lastRefill = -1;
+
+		/**
+		 * Start of the current counting period.
+		 */
+		private long periodStart = -1;
+
+		/**
+		 * Invocations offered in the current period.
+		 */
+		private long offered;
+
+		/**
+		 * Invocations accepted in the current period.
+		 */
+		private long accepted;
+
+		/**
+		 * Accepted ratio of the last complete period in which any invocation was accepted.
+		 */
+		private volatile double acceptedRatio = 1d;
+
+		/**
+		 * Tries to take one token.
+		 *
+		 * @param currentTime
+		 *            Current time in milliseconds.
+		 * @return If token was available.
+		 */
+		synchronized boolean tryAcquire(long currentTime) {
+			if (lastRefill < 0) {
+				lastRefill = currentTime;
+				periodStart = currentTime;
+			} else if (currentTime > lastRefill) {
+				tokens = Math.min(maxPerSecond, tokens + (((currentTime - lastRefill) * maxPerSecond) / (double) PERIOD));
+				lastRefill = currentTime;
+			}
+
+			if ((currentTime - periodStart) >= PERIOD) {
+				if (accepted > 0) {
+					acceptedRatio = (double) accepted / offered;
+				}
+				offered = 0;
+				accepted = 0;
+				periodStart = currentTime;
+			}
+
+			offered++;
+			if (tokens >= 1d) {
+				tokens -= 1d;
+				accepted++;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Gets {@link #acceptedRatio}.
+		 *
+		 * @return {@link #acceptedRatio}
+		 */
+		double getAcceptedRatio() {
+			return acceptedRatio;
+		}
+	}
+
+}
@@ -99,4 +99,14 @@ public class InvocationSequenceSensor extends AbstractMethodSensor implements IM
 		invocationSequenceHook = new InvocationSequenceHook(timer, platformManager, propertyAccessor, parameters, enhancedExceptionSensor);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The invocation sequence hook only accesses the arguments when property access is defined.
+	 */
+	@Override
+	public boolean isArgumentAccess() {
+		return false;
+	}
+
 }
@@ -13,14 +13,14 @@ import rocks.inspectit.agent.java.core.IdNotAvailableException;
 import rocks.inspectit.agent.java.core.impl.CoreService;
 import rocks.inspectit.agent.java.hooking.IMethodHook;
 import rocks.inspectit.agent.java.util.StringConstraint;
-import rocks.inspectit.agent.java.util.ThreadLocalStack;
+import rocks.inspectit.agent.java.util.ThreadLocalPrimitiveStack;
 import rocks.inspectit.agent.java.util.Timer;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 
 /**
- * The hook implementation for the statement sensor. It uses the {@link ThreadLocalStack} class to
- * know if some execute methods call each other which would result in multiple data objects for only
- * one query. After the complete SQL method was executed, it computes how long the method took to
+ * The hook implementation for the statement sensor. It uses the {@link ThreadLocalPrimitiveStack}
+ * class to know if some execute methods call each other which would result in multiple data objects
+ * for only one query. After the complete SQL method was executed, it computes how long the method took to
  * finish and saves the executed SQL Statement String. Afterwards, the measurement is added to the
  * {@link CoreService}.
  *
@@ -38,7 +38,7 @@ public class StatementHook implements IMethodHook {
 	/**
 	 * The stack containing the start time values.
 	 */
-	private final ThreadLocalStack<Double> timeStack = new ThreadLocalStack<Double>();
+	private final ThreadLocalPrimitiveStack timeStack = new ThreadLocalPrimitiveStack();
 
 	/**
 	 * The timer used for accurate measuring.
@@ -99,7 +99,7 @@ public class StatementHook implements IMethodHook {
 	 */
 	@Override
 	public void beforeBody(long methodId, long sensorTypeId, Object object, Object[] parameters, RegisteredSensorConfig rsc) {
-		timeStack.push(new Double(timer.getCurrentTime()));
+		timeStack.pushDouble(timer.getCurrentTime());
 		threadLast.set(Boolean.TRUE);
 	}
 
@@ -108,7 +108,7 @@ public class StatementHook implements IMethodHook {
 	 */
 	@Override
 	public void firstAfterBody(long methodId, long sensorTypeId, Object object, Object[] parameters, Object result, RegisteredSensorConfig rsc) {
-		timeStack.push(new Double(timer.getCurrentTime()));
+		timeStack.pushDouble(timer.getCurrentTime());
 	}
 
 	/**
@@ -116,8 +116,8 @@ public class StatementHook implements IMethodHook {
 	 */
 	@Override
 	public void secondAfterBody(ICoreService coreService, long methodId, long sensorTypeId, Object object, Object[] parameters, Object result, RegisteredSensorConfig rsc) {
-		double endTime = timeStack.pop().doubleValue();
-		double startTime = timeStack.pop().doubleValue();
+		double endTime = timeStack.popDouble();
+		double startTime = timeStack.popDouble();
 
 		if (threadLast.get().booleanValue()) {
 			threadLast.set(Boolean.FALSE);
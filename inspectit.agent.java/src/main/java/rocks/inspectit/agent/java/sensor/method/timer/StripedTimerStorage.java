@@ -0,0 +1,197 @@
+package rocks.inspectit.agent.java.sensor.method.timer;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ParameterContentData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * The striped timer storage is a thread-safe variant of the {@link OptimizedTimerStorage}. Instead
+ * of updating one shared {@link TimerData}, every thread updates one of the cells selected by the
+ * thread id. A cell is locked only for the update of its own values, thus threads working on the
+ * same method only contend if they are mapped to the same cell. Cells are created on the first
+ * usage, so methods that are only executed by one thread hold one cell only.
+ * <p>
+ * When {@link #finalizeDataObject()} is called all cells are merged into the {@link TimerData}.
+ */
+public class StripedTimerStorage implements ITimerStorage {
+
+	/**
+	 * Maximum amount of cells.
+	 */
+	private static final int MAX_CELLS = 64;
+
+	/**
+	 * Amount of cells as the power of two that is at least double the amount of the available
+	 * processors, limited to the {@link #MAX_CELLS}.
+	 */
+	static final int CELLS = Math.min(MAX_CELLS, Integer.highestOneBit((Runtime.getRuntime().availableProcessors() << 1) - 1) << 1);
+
+	/**
+	 * Mask to select the cell based on the thread id.
+	 */
+	private static final int MASK = CELLS - 1;
+
+	/**
+	 * The used {@link TimerData} that values are merged into.
+	 */
+	private final TimerData timerData;
+
+	/**
+	 * The cells, created on demand.
+	 */
+	private final AtomicReferenceArray<Cell> cells = new AtomicReferenceArray<Cell>(CELLS);
+
+	/**
+	 * Default constructor which initializes a {@link TimerData} object.
+	 *
+	 * @param timeStamp
+	 *            The time stamp.
+	 * @param platformIdent
+	 *            The platform ID.
+	 * @param sensorTypeIdent
+	 *            The sensor type ID.
+	 * @param methodIdent
+	 *            The method ID.
+	 * @param parameterContentData
+	 *            The content of the parameter/fields.
+	 * @param charting
+	 *            If TimerData's charting should be set or not.
+	 */
+	public StripedTimerStorage(Timestamp timeStamp, long platformIdent, long sensorTypeIdent, long methodIdent, List<ParameterContentData> parameterContentData, boolean charting) {
+		timerData = new TimerData(timeStamp, platformIdent, sensorTypeIdent, methodIdent, parameterContentData);
+		timerData.setCharting(charting);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addData(double time, double cpuTime) {
+		int index = (int) Thread.currentThread().getId() & MASK;
+		Cell cell = cells.get(index);
+		if (null == cell) {
+			cells.compareAndSet(index, null, new Cell());
+			cell = cells.get(index);
+		}
+		cell.add(time, cpuTime);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public DefaultData finalizeDataObject() {
+		long count = 0;
+		double duration = 0;
+		double min = -1;
+		double max = -1;
+		double cpuDuration = 0;
+		double cpuMin = -1;
+		double cpuMax = -1;
+
+		for (int i = 0; i < CELLS; i++) {
+			Cell cell = cells.get(i);
+			if (null == cell) {
+				continue;
+			}
+
+			synchronized (cell) {
+				if (0 == cell.count) {
+					continue;
+				}
+
+				count += cell.count;
+				duration += cell.duration;
+				min = (-1 == min) ? cell.min : Math.min(min, cell.min);
+				max = Math.max(max, cell.max);
+
+				if (-1 != cell.cpuMin) {
+					cpuDuration += cell.cpuDuration;
+					cpuMin = (-1 == cpuMin) ? cell.cpuMin : Math.min(cpuMin, cell.cpuMin);
+					cpuMax = Math.max(cpuMax, cell.cpuMax);
+				}
+			}
+		}
+
+		timerData.setCount(count);
+		timerData.setDuration(duration);
+		timerData.calculateMin(min);
+		timerData.calculateMax(max);
+		if (-1 != cpuMin) {
+			timerData.setCpuDuration(cpuDuration);
+			timerData.calculateCpuMin(cpuMin);
+			timerData.calculateCpuMax(cpuMax);
+		}
+
+		return timerData;
+	}
+
+	/**
+	 * One cell holding the aggregated values of the threads mapped to it. Values are only changed
+	 * and read when holding the monitor of the cell.
+	 */
+	private static final class Cell {
+
+		/**
+		 * Count.
+		 */
+		private long count;
+
+		/**
+		 * Duration sum.
+		 */
+		private double duration;
+
+		/**
+		 * Minimum duration, <code>-1</code> if not set.
+		 */
+		private double min = -1;
+
+		/**
+		 * Maximum duration, <code>-1</code> if not set.
+		 */
+		private double max = -1;
+
+		/**
+		 * CPU duration sum.
+		 */
+		private double cpuDuration;
+
+		/**
+		 * Minimum CPU duration, <code>-1</code> if not set.
+		 */
+		private double cpuMin = -1;
+
+		/**
+		 * Maximum CPU duration, <code>-1</code> if not set.
+		 */
+		private double cpuMax = -1;
+
+		/**
+		 * Adds one measurement to the cell.
+		 *
+		 * @param time
+		 *            The time value.
+		 * @param cpuTime
+		 *            The cpu time value, only added if it's not negative.
+		 */
+		synchronized void add(double time, double cpuTime) {
+			count++;
+			duration += time;
+			min = (-1 == min) ? time : Math.min(min, time);
+			max = Math.max(max, time);
+
+			// only add the cpu time if it greater than zero
+			if (cpuTime >= 0) {
+				cpuDuration += cpuTime;
+				cpuMin = (-1 == cpuMin) ? cpuTime : Math.min(cpuMin, cpuTime);
+				cpuMax = Math.max(cpuMax, cpuTime);
+			}
+		}
+	}
+
+}
@@ -16,14 +16,15 @@ import rocks.inspectit.agent.java.core.IdNotAvailableException;
 import rocks.inspectit.agent.java.hooking.IConstructorHook;
 import rocks.inspectit.agent.java.hooking.IMethodHook;
 import rocks.inspectit.agent.java.sensor.method.averagetimer.AverageTimerHook;
+import rocks.inspectit.agent.java.util.PrimitiveStack;
 import rocks.inspectit.agent.java.util.StringConstraint;
-import rocks.inspectit.agent.java.util.ThreadLocalStack;
+import rocks.inspectit.agent.java.util.ThreadLocalPrimitiveStack;
 import rocks.inspectit.agent.java.util.Timer;
 import rocks.inspectit.shared.all.communication.data.ParameterContentData;
 
 /**
- * The hook implementation for the timer sensor. It uses the {@link ThreadLocalStack} class to save
- * the time when the method was called.
+ * The hook implementation for the timer sensor. It uses the {@link ThreadLocalPrimitiveStack} class
+ * to save the time when the method was called, so no objects are created for the time values.
  * <p>
  * The difference to the {@link AverageTimerHook} is that it's using {@link ITimerStorage} objects
  * to save the values. The {@link ITimerStorage} is responsible for the actual data saving, so
@@ -40,9 +41,10 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 	private static final Logger LOG = LoggerFactory.getLogger(TimerHook.class);
 
 	/**
-	 * The stack containing the start time values.
+	 * The stack containing the start time values (double stack) and the thread CPU time values
+	 * (long stack).
 	 */
-	private final ThreadLocalStack<Double> timeStack = new ThreadLocalStack<Double>();
+	private final ThreadLocalPrimitiveStack timeStack = new ThreadLocalPrimitiveStack();
 
 	/**
 	 * The timer used for accurate measuring.
@@ -85,11 +87,6 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 	 */
 	private boolean enabled = false;
 
-	/**
-	 * The stack containing the start time values.
-	 */
-	private final ThreadLocalStack<Long> threadCpuTimeStack = new ThreadLocalStack<Long>();
-
 	/**
 	 * The only constructor which needs the used {@link ICoreService} implementation and the used
 	 * {@link Timer}.
@@ -140,10 +137,7 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 	 */
 	@Override
 	public void beforeBody(long methodId, long sensorTypeId, Object object, Object[] parameters, RegisteredSensorConfig rsc) {
-		timeStack.push(new Double(timer.getCurrentTime()));
-		if (enabled) {
-			threadCpuTimeStack.push(Long.valueOf(threadMXBean.getCurrentThreadCpuTime()));
-		}
+		pushTimes();
 	}
 
 	/**
@@ -151,10 +145,7 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 	 */
 	@Override
 	public void firstAfterBody(long methodId, long sensorTypeId, Object object, Object[] parameters, Object result, RegisteredSensorConfig rsc) {
-		timeStack.push(new Double(timer.getCurrentTime()));
-		if (enabled) {
-			threadCpuTimeStack.push(Long.valueOf(threadMXBean.getCurrentThreadCpuTime()));
-		}
+		pushTimes();
 	}
 
 	/**
@@ -162,15 +153,16 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 	 */
 	@Override
 	public void secondAfterBody(ICoreService coreService, long methodId, long sensorTypeId, Object object, Object[] parameters, Object result, RegisteredSensorConfig rsc) {
-		double endTime = timeStack.pop().doubleValue();
-		double startTime = timeStack.pop().doubleValue();
+		PrimitiveStack stack = timeStack.get();
+		double endTime = stack.popDouble();
+		double startTime = stack.popDouble();
 		double duration = endTime - startTime;
 
 		// default setting to a negative number
 		double cpuDuration = -1.0d;
 		if (enabled) {
-			long cpuEndTime = threadCpuTimeStack.pop().longValue();
-			long cpuStartTime = threadCpuTimeStack.pop().longValue();
+			long cpuEndTime = stack.popLong();
+			long cpuStartTime = stack.popLong();
 			cpuDuration = (cpuEndTime - cpuStartTime) / 1000000.0d;
 		}
 
@@ -200,7 +192,12 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 				storage = timerStorageFactory.newStorage(timestamp, platformId, sensorTypeId, methodId, parameterContentData, charting);
 				storage.addData(duration, cpuDuration);
 
-				coreService.addObjectStorage(sensorTypeId, methodId, prefix, storage);
+				// other thread can add the storage for the same method in the meantime, then the
+				// measurement goes to the storage that was added first
+				ITimerStorage existing = (ITimerStorage) coreService.addObjectStorage(sensorTypeId, methodId, prefix, storage);
+				if (null != existing) {
+					existing.addData(duration, cpuDuration);
+				}
 			} catch (IdNotAvailableException e) {
 				if (LOG.isDebugEnabled()) {
 					LOG.debug("Could not save the timer data because of an unavailable id. " + e.getMessage());
@@ -216,10 +213,7 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 	 */
 	@Override
 	public void beforeConstructor(long methodId, long sensorTypeId, Object[] parameters, RegisteredSensorConfig rsc) {
-		timeStack.push(new Double(timer.getCurrentTime()));
-		if (enabled) {
-			threadCpuTimeStack.push(Long.valueOf(threadMXBean.getCurrentThreadCpuTime()));
-		}
+		pushTimes();
 	}
 
 	/**
@@ -227,12 +221,21 @@ public class TimerHook implements IMethodHook, IConstructorHook {
 	 */
 	@Override
 	public void afterConstructor(ICoreService coreService, long methodId, long sensorTypeId, Object object, Object[] parameters, RegisteredSensorConfig rsc) {
-		timeStack.push(new Double(timer.getCurrentTime()));
-		if (enabled) {
-			threadCpuTimeStack.push(Long.valueOf(threadMXBean.getCurrentThreadCpuTime()));
-		}
+		pushTimes();
 		// just call the second after body method directly
 		secondAfterBody(coreService, methodId, sensorTypeId, object, parameters, null, rsc);
 	}
 
+	/**
+	 * Pushes the current time and, if enabled, the current thread CPU time onto the primitive
+	 * stack of the current thread.
+	 */
+	private void pushTimes() {
+		PrimitiveStack stack = timeStack.get();
+		stack.pushDouble(timer.getCurrentTime());
+		if (enabled) {
+			stack.pushLong(threadMXBean.getCurrentThreadCpuTime());
+		}
+	}
+
 }
@@ -81,4 +81,14 @@ public class TimerSensor extends AbstractMethodSensor implements IMethodSensor {
 		timerHook = new TimerHook(timer, platformManager, propertyAccessor, parameter, ManagementFactory.getThreadMXBean());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The timer hook only accesses the arguments when property access is defined.
+	 */
+	@Override
+	public boolean isArgumentAccess() {
+		return false;
+	}
+
 }
@@ -0,0 +1,138 @@
+package rocks.inspectit.agent.java.sensor.platform;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
+
+/**
+ * This class reports the overhead the agent caused in the monitored JVM. Creation of the sensor
+ * activates the {@link IAgentOverheadMonitor}, each reported data object holds the overhead
+ * recorded since the previous one.
+ */
+public class AgentOverheadInformation extends AbstractPlatformSensor {
+
+	/** Collector class. */
+	private AgentOverheadInformationData agentOverheadInformationData = new AgentOverheadInformationData();
+
+	/**
+	 * Cumulative overhead at the time of the last {@link #get()}.
+	 */
+	private AgentOverheadInformationData lastCumulativeOverhead = new AgentOverheadInformationData();
+
+	/**
+	 * Monitor recording the overhead.
+	 */
+	@Autowired
+	private IAgentOverheadMonitor agentOverheadMonitor;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		super.afterPropertiesSet();
+		agentOverheadMonitor.activate();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void gather() {
+		// nothing to gather, the monitor records the overhead continuously
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SystemSensorData get() {
+		AgentOverheadInformationData cumulativeOverhead = agentOverheadMonitor.getCumulativeOverhead();
+
+		AgentOverheadInformationData newAgentOverheadInformationData = new AgentOverheadInformationData();
+		newAgentOverheadInformationData.setPlatformIdent(this.agentOverheadInformationData.getPlatformIdent());
+		newAgentOverheadInformationData.setSensorTypeIdent(this.agentOverheadInformationData.getSensorTypeIdent());
+		newAgentOverheadInformationData.setTimeStamp(this.agentOverheadInformationData.getTimeStamp());
+
+		for (Entry<Long, long[]> entry : cumulativeOverhead.getDispatchTimeHistograms().entrySet()) {
+			long[] last = lastCumulativeOverhead.getDispatchTimeHistograms().get(entry.getKey());
+			long[] histogram = subtract(entry.getValue(), last);
+			if (AgentOverheadInformationData.getCount(histogram) > 0) {
+				newAgentOverheadInformationData.getDispatchTimeHistograms().put(entry.getKey(), histogram);
+			}
+		}
+		subtract(cumulativeOverhead.getDispatchTimes(), lastCumulativeOverhead.getDispatchTimes(), newAgentOverheadInformationData.getDispatchTimes());
+		subtract(cumulativeOverhead.getAllocatedBytes(), lastCumulativeOverhead.getAllocatedBytes(), newAgentOverheadInformationData.getAllocatedBytes());
+		newAgentOverheadInformationData.setSendTimeHistogram(subtract(cumulativeOverhead.getSendTimeHistogram(), lastCumulativeOverhead.getSendTimeHistogram()));
+		newAgentOverheadInformationData.setQueueSizeHistogram(subtract(cumulativeOverhead.getQueueSizeHistogram(), lastCumulativeOverhead.getQueueSizeHistogram()));
+		newAgentOverheadInformationData.setDroppedBatches(cumulativeOverhead.getDroppedBatches() - lastCumulativeOverhead.getDroppedBatches());
+
+		lastCumulativeOverhead = cumulativeOverhead;
+
+		return newAgentOverheadInformationData;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset() {
+		Timestamp timestamp = new Timestamp(Calendar.getInstance().getTimeInMillis());
+		this.agentOverheadInformationData.setTimeStamp(timestamp);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected SystemSensorData getSystemSensorData() {
+		return this.agentOverheadInformationData;
+	}
+
+	/**
+	 * Subtracts the histograms.
+	 *
+	 * @param histogram
+	 *            Current histogram.
+	 * @param last
+	 *            Previous histogram, can be <code>null</code>.
+	 * @return Difference of the histograms.
+	 */
+	private long[] subtract(long[] histogram, long[] last) {
+		long[] result = new long[histogram.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = histogram[i];
+			if ((null != last) && (i < last.length)) {
+				result[i] -= last[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Subtracts the values per sensor type, putting only the non-zero differences to the result.
+	 *
+	 * @param values
+	 *            Current values.
+	 * @param last
+	 *            Previous values.
+	 * @param result
+	 *            Map to put the differences to.
+	 */
+	private void subtract(Map<Long, Long> values, Map<Long, Long> last, Map<Long, Long> result) {
+		for (Entry<Long, Long> entry : values.entrySet()) {
+			Long lastValue = last.get(entry.getKey());
+			long difference = entry.getValue().longValue() - ((null != lastValue) ? lastValue.longValue() : 0L);
+			if (difference != 0) {
+				result.put(entry.getKey(), Long.valueOf(difference));
+			}
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package rocks.inspectit.agent.java.spool;
+
+import java.util.List;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * Spool keeps the batches of the measurements that can not be sent to the CMR because the
+ * connection is not available. Spooled batches are read in the order they were spooled.
+ */
+public interface ISpool {
+
+	/**
+	 * Returns if the spool is active. Not active spool never holds any data.
+	 *
+	 * @return Returns if the spool is active.
+	 */
+	boolean isActive();
+
+	/**
+	 * Spools the batch.
+	 *
+	 * @param batch
+	 *            Batch of measurements.
+	 * @return <code>true</code> if batch was spooled, <code>false</code> if it was dropped.
+	 */
+	boolean spool(List<? extends DefaultData> batch);
+
+	/**
+	 * Returns if the spool holds batches not yet consumed.
+	 *
+	 * @return Returns if the spool holds batches not yet consumed.
+	 */
+	boolean hasNext();
+
+	/**
+	 * Returns the oldest batch not consumed. Batch stays in the spool until {@link #remove()} is
+	 * called.
+	 *
+	 * @return Returns the oldest batch not consumed or <code>null</code> if there is none.
+	 */
+	List<DefaultData> next();
+
+	/**
+	 * Consumes the batch returned by the last {@link #next()}.
+	 */
+	void remove();
+
+	/**
+	 * Forces the spooled data to the disk.
+	 */
+	void flush();
+
+}
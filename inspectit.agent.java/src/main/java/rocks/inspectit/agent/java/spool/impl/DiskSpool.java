@@ -0,0 +1,244 @@
+package rocks.inspectit.agent.java.spool.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.agent.java.config.IConfigurationStorage;
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
+import rocks.inspectit.agent.java.io.FileResolver;
+import rocks.inspectit.agent.java.spool.ISpool;
+import rocks.inspectit.agent.java.spring.PrototypesProvider;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * {@link ISpool} keeping the serialized batches in the {@link MappedSegmentRing} on the disk. The
+ * size of the spool file is defined by the disk spool size in the agent configuration, if the size
+ * is <code>0</code> the spool is not active. Batches spooled before the agent was stopped are
+ * available after the restart.
+ */
+// we must depend on PlatformManager to make sure that configuration is received
+@Component
+@DependsOn("platformManager")
+public class DiskSpool implements ISpool, InitializingBean, DisposableBean {
+
+	/**
+	 * Initial size of the serialization buffer.
+	 */
+	private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Logger for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * Configuration storage to read the spool size.
+	 */
+	@Autowired
+	private IConfigurationStorage configurationStorage;
+
+	/**
+	 * {@link FileResolver}.
+	 */
+	@Autowired
+	private FileResolver fileResolver;
+
+	/**
+	 * {@link PrototypesProvider} for the serialization.
+	 */
+	@Autowired
+	private PrototypesProvider prototypesProvider;
+
+	/**
+	 * Monitor recording the dropped batches.
+	 */
+	@Autowired
+	private IAgentOverheadMonitor agentOverheadMonitor;
+
+	/**
+	 * Serialization manager used for the batches.
+	 */
+	private SerializationManager serializationManager;
+
+	/**
+	 * Reusable output the batches are serialized to.
+	 */
+	private final Output output = new Output(INITIAL_BUFFER_SIZE, -1);
+
+	/**
+	 * Ring holding the batches, <code>null</code> if spool is not active.
+	 */
+	private MappedSegmentRing ring;
+
+	/**
+	 * Amount of dropped records already reported.
+	 */
+	private long reportedDroppedRecords;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized boolean isActive() {
+		return null != ring;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized boolean spool(List<? extends DefaultData> batch) {
+		if (null == ring) {
+			return false;
+		}
+
+		boolean spooled = false;
+		try {
+			output.clear();
+			serializationManager.serialize(batch, output);
+			spooled = ring.append(output.getBuffer(), 0, output.position());
+		} catch (Throwable t) { // NOPMD
+			log.warn("Unable to spool batch to disk.", t);
+			if (agentOverheadMonitor.isActive()) {
+				agentOverheadMonitor.recordDroppedBatch();
+			}
+		}
+		reportDropped();
+		return spooled;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized boolean hasNext() {
+		return (null != ring) && (ring.size() > 0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Batches that can not be de-serialized are dropped.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public synchronized List<DefaultData> next() {
+		if (null == ring) {
+			return null;
+		}
+
+		byte[] bytes;
+		while (null != (bytes = ring.peek())) {
+			try {
+				return (List<DefaultData>) serializationManager.deserialize(new Input(bytes));
+			} catch (Throwable t) { // NOPMD
+				log.warn("Unable to read spooled batch from disk, batch is dropped.", t);
+				ring.remove();
+				if (agentOverheadMonitor.isActive()) {
+					agentOverheadMonitor.recordDroppedBatch();
+				}
+			}
+		}
+		reportDropped();
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void remove() {
+		if (null != ring) {
+			ring.remove();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void flush() {
+		if (null != ring) {
+			ring.force();
+		}
+	}
+
+	/**
+	 * Reports the records dropped by the ring since the last report.
+	 */
+	private void reportDropped() {
+		long droppedRecords = ring.getDroppedRecords();
+		if (droppedRecords > reportedDroppedRecords) {
+			log.warn((droppedRecords - reportedDroppedRecords) + " batch(es) dropped from the disk spool as it is full or the batches are corrupted.");
+			if (agentOverheadMonitor.isActive()) {
+				for (long i = reportedDroppedRecords; i < droppedRecords; i++) {
+					agentOverheadMonitor.recordDroppedBatch();
+				}
+			}
+			reportedDroppedRecords = droppedRecords;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Opens the spool file if the spool is active, otherwise deletes the possibly existing one.
+	 */
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		File file = fileResolver.getDiskSpoolFile().getAbsoluteFile();
+		long size = configurationStorage.getDiskSpoolSize();
+
+		if (size <= 0) {
+			if (file.exists() && !file.delete()) {
+				log.warn("Unable to delete the existing disk spool file: " + file.getAbsolutePath());
+			}
+			return;
+		}
+
+		File parentDir = file.getParentFile();
+		if (!parentDir.exists() && !parentDir.mkdirs()) {
+			log.warn("Unable to create needed directory for the disk spool file: " + parentDir.getAbsolutePath());
+			return;
+		}
+
+		serializationManager = prototypesProvider.createSerializer();
+		try {
+			ring = new MappedSegmentRing(file, size);
+			reportedDroppedRecords = ring.getDroppedRecords();
+			log.info("Disk spool of " + size + " bytes opened in " + file.getAbsolutePath() + ", " + ring.size() + " batch(es) waiting to be sent.");
+		} catch (Exception e) {
+			log.warn("Unable to open the disk spool file: " + file.getAbsolutePath() + ", disk spool is not active.", e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void destroy() throws Exception {
+		if (null != ring) {
+			try {
+				ring.close();
+			} catch (IOException e) {
+				log.warn("Unable to close the disk spool file.", e);
+			}
+			ring = null;
+		}
+	}
+
+}
@@ -0,0 +1,459 @@
+package rocks.inspectit.agent.java.spool.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.zip.CRC32;
+
+/**
+ * Ring of the memory mapped segments of one file holding the byte records. Records are appended
+ * to the current write segment, when the segment is full writing continues in the next one. When
+ * the ring is full the oldest segment is overwritten and the records not consumed from it are
+ * dropped. Thus the ring never grows over the file size given in the constructor.
+ * <p>
+ * Each segment starts with the header holding the {@value #SEGMENT_MAGIC} magic number and the
+ * generation of the segment, increased every time a segment is (re-)used. Each record consists of
+ * the marker, the length, the CRC32 checksum and the record bytes. The marker is written as last,
+ * after the record bytes and the zero marker denoting the end of the segment data, thus a record
+ * that was not completely written is never seen as valid. On opening the existing file the
+ * segments are ordered by their generation and all records with valid checksum and not marked as
+ * consumed are available for reading again.
+ * <p>
+ * Class is not thread safe.
+ */
+public class MappedSegmentRing {
+
+	/**
+	 * Magic number of the initialized segment.
+	 */
+	static final int SEGMENT_MAGIC = 0x53504F4C;
+
+	/**
+	 * Marker of the written record.
+	 */
+	static final int RECORD_WRITTEN = 0x52454344;
+
+	/**
+	 * Marker of the consumed record.
+	 */
+	static final int RECORD_CONSUMED = 0x434F4E53;
+
+	/**
+	 * Size of the segment header (magic and generation).
+	 */
+	static final int SEGMENT_HEADER_SIZE = 12;
+
+	/**
+	 * Size of the record header (marker, length and checksum).
+	 */
+	static final int RECORD_HEADER_SIZE = 12;
+
+	/**
+	 * Max size of one segment.
+	 */
+	private static final long MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+	/**
+	 * Min amount of segments.
+	 */
+	private static final int MIN_SEGMENTS = 4;
+
+	/**
+	 * File holding the segments.
+	 */
+	private final RandomAccessFile randomAccessFile;
+
+	/**
+	 * Mapped segments.
+	 */
+	private final MappedByteBuffer[] segments;
+
+	/**
+	 * Generation of each segment, <code>0</code> for the segments never used.
+	 */
+	private final long[] generations;
+
+	/**
+	 * Size of each segment.
+	 */
+	private final int segmentSize;
+
+	/**
+	 * Checksum used for writing and validating.
+	 */
+	private final CRC32 crc32 = new CRC32();
+
+	/**
+	 * Last used generation.
+	 */
+	private long generation;
+
+	/**
+	 * Index of the segment being written.
+	 */
+	private int writeSegment;
+
+	/**
+	 * Position of the next record in the write segment.
+	 */
+	private int writePosition;
+
+	/**
+	 * Index of the segment being read.
+	 */
+	private int readSegment;
+
+	/**
+	 * Position of the next record to read in the read segment.
+	 */
+	private int readPosition;
+
+	/**
+	 * Amount of records not consumed.
+	 */
+	private int size;
+
+	/**
+	 * Amount of records dropped because the ring was full or the record was corrupted.
+	 */
+	private long droppedRecords;
+
+	/**
+	 * Opens the ring in the given file. If the file exists with the same size the not consumed
+	 * records are recovered, otherwise the file is (re-)created.
+	 *
+	 * @param file
+	 *            File to hold the ring.
+	 * @param fileSize
+	 *            Size of the file in bytes.
+	 * @throws IOException
+	 *             If file can not be created or mapped.
+	 */
+	public MappedSegmentRing(File file, long fileSize) throws IOException {
+		int segmentCount = (int) Math.max(MIN_SEGMENTS, ((fileSize + MAX_SEGMENT_SIZE) - 1) / MAX_SEGMENT_SIZE);
+		segmentSize = (int) (fileSize / segmentCount);
+		if (segmentSize <= (SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE + 4)) {
+			throw new IllegalArgumentException("Spool file size of " + fileSize + " bytes is too small.");
+		}
+
+		boolean recover = file.exists() && (file.length() == ((long) segmentSize * segmentCount));
+		randomAccessFile = new RandomAccessFile(file, "rw");
+		if (!recover) {
+			randomAccessFile.setLength(0);
+			randomAccessFile.setLength((long) segmentSize * segmentCount);
+		}
+
+		FileChannel channel = randomAccessFile.getChannel();
+		segments = new MappedByteBuffer[segmentCount];
+		generations = new long[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = channel.map(MapMode.READ_WRITE, (long) i * segmentSize, segmentSize);
+		}
+
+		if (recover) {
+			recover();
+		}
+		if (0 == generation) {
+			startSegment(0);
+		}
+	}
+
+	/**
+	 * Appends the record to the ring.
+	 *
+	 * @param bytes
+	 *            Array holding the record.
+	 * @param offset
+	 *            Offset of the record in the array.
+	 * @param length
+	 *            Length of the record.
+	 * @return <code>true</code> if record was appended, <code>false</code> if it is bigger than
+	 *         the segment.
+	 */
+	public boolean append(byte[] bytes, int offset, int length) {
+		int recordSize = RECORD_HEADER_SIZE + length;
+		if ((SEGMENT_HEADER_SIZE + recordSize + 4) > segmentSize) {
+			droppedRecords++;
+			return false;
+		}
+
+		if ((writePosition + recordSize + 4) > segmentSize) {
+			int next = (writeSegment + 1) % segments.length;
+			if ((size > 0) && (next == readSegment)) {
+				// ring is full, drop the oldest segment
+				dropReadSegment();
+			}
+			startSegment(next);
+		}
+		if (0 == size) {
+			readSegment = writeSegment;
+			readPosition = writePosition;
+		}
+
+		crc32.reset();
+		crc32.update(bytes, offset, length);
+
+		MappedByteBuffer segment = segments[writeSegment];
+		segment.putInt(writePosition + 4, length);
+		segment.putInt(writePosition + 8, (int) crc32.getValue());
+		segment.position(writePosition + RECORD_HEADER_SIZE);
+		segment.put(bytes, offset, length);
+		segment.putInt(writePosition + recordSize, 0);
+		segment.putInt(writePosition, RECORD_WRITTEN);
+
+		writePosition += recordSize;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the oldest record not consumed. Records that fail the checksum validation are
+	 * dropped.
+	 *
+	 * @return Returns the oldest record not consumed or <code>null</code> if ring is empty.
+	 */
+	public byte[] peek() {
+		while (size > 0) {
+			MappedByteBuffer segment = segments[readSegment];
+			int marker = ((readPosition + RECORD_HEADER_SIZE) <= segmentSize) ? segment.getInt(readPosition) : 0;
+			if (RECORD_CONSUMED == marker) {
+				readPosition += RECORD_HEADER_SIZE + segment.getInt(readPosition + 4);
+			} else if (RECORD_WRITTEN == marker) {
+				byte[] bytes = readValid(segment, readPosition);
+				if (null != bytes) {
+					return bytes;
+				}
+				// corrupted record, skip the rest of the segment
+				dropReadSegment();
+			} else if (readSegment == writeSegment) {
+				// nothing more written, only possible if the corrupted records were not counted
+				droppedRecords += size;
+				size = 0;
+			} else {
+				readSegment = (readSegment + 1) % segments.length;
+				readPosition = SEGMENT_HEADER_SIZE;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Marks the record returned by the last {@link #peek()} as consumed.
+	 */
+	public void remove() {
+		if ((size > 0) && (RECORD_WRITTEN == segments[readSegment].getInt(readPosition))) {
+			MappedByteBuffer segment = segments[readSegment];
+			segment.putInt(readPosition, RECORD_CONSUMED);
+			readPosition += RECORD_HEADER_SIZE + segment.getInt(readPosition + 4);
+			size--;
+		}
+	}
+
+	/**
+	 * Returns the amount of records not consumed.
+	 *
+	 * @return Returns the amount of records not consumed.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the amount of records dropped because the ring was full or the record was corrupted.
+	 *
+	 * @return Returns the amount of records dropped.
+	 */
+	public long getDroppedRecords() {
+		return droppedRecords;
+	}
+
+	/**
+	 * Forces the changes to the disk.
+	 */
+	public void force() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+	}
+
+	/**
+	 * Forces the changes to the disk and closes the file.
+	 *
+	 * @throws IOException
+	 *             If file can not be closed.
+	 */
+	public void close() throws IOException {
+		force();
+		randomAccessFile.close();
+	}
+
+	/**
+	 * Starts the next generation in the given segment and makes it the write segment.
+	 *
+	 * @param index
+	 *            Index of the segment.
+	 */
+	private void startSegment(int index) {
+		MappedByteBuffer segment = segments[index];
+		// invalidate the old records first
+		segment.putInt(SEGMENT_HEADER_SIZE, 0);
+		generation++;
+		segment.putLong(4, generation);
+		segment.putInt(0, SEGMENT_MAGIC);
+		generations[index] = generation;
+
+		writeSegment = index;
+		writePosition = SEGMENT_HEADER_SIZE;
+	}
+
+	/**
+	 * Drops all not consumed records from the read segment and moves the read position to the
+	 * next segment.
+	 */
+	private void dropReadSegment() {
+		MappedByteBuffer segment = segments[readSegment];
+		int position = readPosition;
+		while ((size > 0) && ((position + RECORD_HEADER_SIZE) <= segmentSize)) {
+			int marker = segment.getInt(position);
+			if (RECORD_WRITTEN == marker) {
+				droppedRecords++;
+				size--;
+			} else if (RECORD_CONSUMED != marker) {
+				break;
+			}
+			int length = segment.getInt(position + 4);
+			if (length < 0) {
+				break;
+			}
+			position += RECORD_HEADER_SIZE + length;
+		}
+		if (readSegment == writeSegment) {
+			// all not consumed records are in this segment
+			droppedRecords += size;
+			size = 0;
+			readPosition = writePosition;
+		} else {
+			readSegment = (readSegment + 1) % segments.length;
+			readPosition = SEGMENT_HEADER_SIZE;
+		}
+	}
+
+	/**
+	 * Reads the record at the given position.
+	 *
+	 * @param segment
+	 *            Segment.
+	 * @param position
+	 *            Position of the record.
+	 * @return Record bytes or <code>null</code> if the length or checksum is not valid.
+	 */
+	private byte[] readValid(MappedByteBuffer segment, int position) {
+		int length = segment.getInt(position + 4);
+		if ((length < 0) || ((position + RECORD_HEADER_SIZE + length) > segmentSize)) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		segment.position(position + RECORD_HEADER_SIZE);
+		segment.get(bytes);
+
+		crc32.reset();
+		crc32.update(bytes, 0, length);
+		if (segment.getInt(position + 8) != (int) crc32.getValue()) {
+			return null;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Recovers the state of the ring from the mapped segments.
+	 */
+	private void recover() {
+		int oldest = -1;
+		for (int i = 0; i < segments.length; i++) {
+			if (SEGMENT_MAGIC == segments[i].getInt(0)) {
+				generations[i] = segments[i].getLong(4);
+				if (generations[i] > generation) {
+					generation = generations[i];
+					writeSegment = i;
+				}
+				if ((generations[i] > 0) && ((-1 == oldest) || (generations[i] < generations[oldest]))) {
+					oldest = i;
+				}
+			}
+		}
+		if (0 == generation) {
+			return;
+		}
+
+		// segments are written one after another, so ring order from the oldest is the generation
+		// order
+		boolean readFound = false;
+		int index = oldest;
+		while (true) {
+			int position = recoverSegment(index);
+			if (!readFound && (size > 0)) {
+				readFound = true;
+				readSegment = index;
+				readPosition = firstWritten(index);
+			}
+			if (index == writeSegment) {
+				writePosition = position;
+				break;
+			}
+			index = (index + 1) % segments.length;
+		}
+	}
+
+	/**
+	 * Validates the records of one segment, counts the not consumed ones and invalidates the
+	 * corrupted tail.
+	 *
+	 * @param index
+	 *            Index of the segment.
+	 * @return Position after the last valid record.
+	 */
+	private int recoverSegment(int index) {
+		MappedByteBuffer segment = segments[index];
+		int position = SEGMENT_HEADER_SIZE;
+		if ((SEGMENT_MAGIC != segment.getInt(0)) || (0 == generations[index])) {
+			return position;
+		}
+		while ((position + RECORD_HEADER_SIZE) <= segmentSize) {
+			int marker = segment.getInt(position);
+			if ((RECORD_WRITTEN != marker) && (RECORD_CONSUMED != marker)) {
+				break;
+			}
+			if (null == readValid(segment, position)) {
+				if (RECORD_WRITTEN == marker) {
+					droppedRecords++;
+				}
+				segment.putInt(position, 0);
+				break;
+			}
+			if (RECORD_WRITTEN == marker) {
+				size++;
+			}
+			position += RECORD_HEADER_SIZE + segment.getInt(position + 4);
+		}
+		return position;
+	}
+
+	/**
+	 * Returns position of the first not consumed record in the segment.
+	 *
+	 * @param index
+	 *            Index of the segment.
+	 * @return Position of the first not consumed record.
+	 */
+	private int firstWritten(int index) {
+		MappedByteBuffer segment = segments[index];
+		int position = SEGMENT_HEADER_SIZE;
+		while (RECORD_CONSUMED == segment.getInt(position)) {
+			position += RECORD_HEADER_SIZE + segment.getInt(position + 4);
+		}
+		return position;
+	}
+}
@@ -0,0 +1,146 @@
+package rocks.inspectit.agent.java.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Stack of primitive <code>double</code> and <code>long</code> values backed by arrays with depth
+ * counters. Values are not boxed, so pushing and popping does not create any objects as long as the
+ * stack does not have to grow over the already reached depth. The two stacks are independent of
+ * each other, thus the hooks can use the double stack for the time values and the long stack for
+ * the CPU time values.
+ * <p>
+ * This class is not thread safe and is meant to be used as the per-thread value of the
+ * {@link ThreadLocalPrimitiveStack}.
+ */
+public class PrimitiveStack {
+
+	/**
+	 * Initial capacity of both stacks. Enough for most of the call depths seen in practice.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Double values.
+	 */
+	private double[] doubles = new double[INITIAL_CAPACITY];
+
+	/**
+	 * Current depth of the double stack.
+	 */
+	private int doubleDepth;
+
+	/**
+	 * Long values.
+	 */
+	private long[] longs = new long[INITIAL_CAPACITY];
+
+	/**
+	 * Current depth of the long stack.
+	 */
+	private int longDepth;
+
+	/**
+	 * Pushes the specified double value onto the stack.
+	 *
+	 * @param value
+	 *            the value to push onto the stack.
+	 */
+	public void pushDouble(double value) {
+		if (doubleDepth == doubles.length) {
+			double[] grown = new double[doubles.length << 1];
+			System.arraycopy(doubles, 0, grown, 0, doubleDepth);
+			doubles = grown;
+		}
+		doubles[doubleDepth++] = value;
+	}
+
+	/**
+	 * Returns the last pushed double value.
+	 *
+	 * @return The last pushed double value.
+	 * @throws NoSuchElementException
+	 *             If the double stack is empty.
+	 */
+	public double popDouble() throws NoSuchElementException {
+		if (0 == doubleDepth) {
+			throw new NoSuchElementException();
+		}
+		return doubles[--doubleDepth];
+	}
+
+	/**
+	 * Returns the last pushed double value without removing it.
+	 *
+	 * @return The last pushed double value.
+	 * @throws NoSuchElementException
+	 *             If the double stack is empty.
+	 */
+	public double getLastDouble() throws NoSuchElementException {
+		if (0 == doubleDepth) {
+			throw new NoSuchElementException();
+		}
+		return doubles[doubleDepth - 1];
+	}
+
+	/**
+	 * Pushes the specified long value onto the stack.
+	 *
+	 * @param value
+	 *            the value to push onto the stack.
+	 */
+	public void pushLong(long value) {
+		if (longDepth == longs.length) {
+			long[] grown = new long[longs.length << 1];
+			System.arraycopy(longs, 0, grown, 0, longDepth);
+			longs = grown;
+		}
+		longs[longDepth++] = value;
+	}
+
+	/**
+	 * Returns the last pushed long value.
+	 *
+	 * @return The last pushed long value.
+	 * @throws NoSuchElementException
+	 *             If the long stack is empty.
+	 */
+	public long popLong() throws NoSuchElementException {
+		if (0 == longDepth) {
+			throw new NoSuchElementException();
+		}
+		return longs[--longDepth];
+	}
+
+	/**
+	 * Returns the last pushed long value without removing it.
+	 *
+	 * @return The last pushed long value.
+	 * @throws NoSuchElementException
+	 *             If the long stack is empty.
+	 */
+	public long getLastLong() throws NoSuchElementException {
+		if (0 == longDepth) {
+			throw new NoSuchElementException();
+		}
+		return longs[longDepth - 1];
+	}
+
+	/**
+	 * Gets {@link #doubleDepth}.
+	 *
+	 * @return {@link #doubleDepth}
+	 */
+	public int getDoubleDepth() {
+		return doubleDepth;
+	}
+
+	/**
+	 * Gets {@link #longDepth}.
+	 *
+	 * @return {@link #longDepth}
+	 */
+	public int getLongDepth() {
+		return longDepth;
+	}
+
+}
@@ -0,0 +1,57 @@
+package rocks.inspectit.agent.java.util;
+
+/**
+ * The ThreadLocalPrimitiveStack class extends {@link ThreadLocal} to have a {@link PrimitiveStack}
+ * per thread. In contrast to the {@link ThreadLocalStack} no boxing of the values and no list node
+ * creation takes place, thus the hooks can save the time values on every invocation without
+ * creating garbage.
+ */
+public class ThreadLocalPrimitiveStack extends ThreadLocal<PrimitiveStack> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected PrimitiveStack initialValue() {
+		return new PrimitiveStack();
+	}
+
+	/**
+	 * Pushes the specified double value onto the stack of the current thread.
+	 *
+	 * @param value
+	 *            the value to push onto the stack.
+	 */
+	public void pushDouble(double value) {
+		super.get().pushDouble(value);
+	}
+
+	/**
+	 * Returns the last pushed double value of the current thread.
+	 *
+	 * @return The last pushed double value.
+	 */
+	public double popDouble() {
+		return super.get().popDouble();
+	}
+
+	/**
+	 * Pushes the specified long value onto the stack of the current thread.
+	 *
+	 * @param value
+	 *            the value to push onto the stack.
+	 */
+	public void pushLong(long value) {
+		super.get().pushLong(value);
+	}
+
+	/**
+	 * Returns the last pushed long value of the current thread.
+	 *
+	 * @return The last pushed long value.
+	 */
+	public long popLong() {
+		return super.get().popLong();
+	}
+
+}
@@ -0,0 +1,143 @@
+package rocks.inspectit.agent.java.analyzer.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.connection.IConnection;
+import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.agent.java.core.IdNotAvailableException;
+import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
+import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings({ "PMD", "unchecked", "rawtypes" })
+public class AnalyzeBatcherTest extends TestBase {
+
+	@InjectMocks
+	AnalyzeBatcher analyzeBatcher;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	IPlatformManager platformManager;
+
+	@Mock
+	IConnection connection;
+
+	@Mock
+	ClassHashHelper classHashHelper;
+
+	@Mock
+	ExecutorService executorService;
+
+	@Mock
+	Type type;
+
+	@Mock
+	InstrumentationDefinition instrumentationDefinition;
+
+	final Long platformId = 10L;
+
+	@BeforeMethod
+	public void setup() throws IdNotAvailableException {
+		when(platformManager.getPlatformId()).thenReturn(platformId);
+		when(type.getFQN()).thenReturn("fqn");
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				((Runnable) invocation.getArguments()[0]).run();
+				return null;
+			}
+		}).when(executorService).submit(Matchers.<Runnable> any());
+	}
+
+	public class Submit extends AnalyzeBatcherTest {
+
+		@Test
+		public void instrumentationResult() throws Exception {
+			ClassHash hash = new ClassHash(1L, 2L);
+			when(connection.analyze(anyLong(), Matchers.<Map<String, Type>> any())).thenReturn(Collections.singletonMap(hash.toString(), instrumentationDefinition));
+
+			Future<InstrumentationDefinition> future = analyzeBatcher.submit(hash, type);
+
+			assertThat(future.isDone(), is(true));
+			assertThat(future.get(), is(instrumentationDefinition));
+			ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+			verify(connection, times(1)).analyze(eq(platformId.longValue()), captor.capture());
+			assertThat((Map<String, Type>) captor.getValue(), hasEntry(hash.toString(), type));
+			verify(classHashHelper, times(1)).registerSent("fqn", hash);
+			verify(classHashHelper, times(1)).registerInstrumentationDefinition("fqn", instrumentationDefinition);
+			verifyNoMoreInteractions(connection, classHashHelper);
+		}
+
+		@Test
+		public void noInstrumentationResult() throws Exception {
+			ClassHash hash = new ClassHash(1L, 2L);
+			when(connection.analyze(anyLong(), Matchers.<Map<String, Type>> any())).thenReturn(Collections.<String, InstrumentationDefinition> emptyMap());
+
+			Future<InstrumentationDefinition> future = analyzeBatcher.submit(hash, type);
+
+			assertThat(future.isDone(), is(true));
+			assertThat(future.get(), is(nullValue()));
+			verify(classHashHelper, times(1)).registerSent("fqn", hash);
+			verify(classHashHelper, times(1)).registerInstrumentationDefinition("fqn", null);
+			verifyNoMoreInteractions(classHashHelper);
+		}
+
+		@Test(expectedExceptions = ExecutionException.class)
+		public void serverUnavailable() throws Exception {
+			ClassHash hash = new ClassHash(1L, 2L);
+			when(connection.analyze(anyLong(), Matchers.<Map<String, Type>> any())).thenThrow(ServerUnavailableException.class);
+
+			Future<InstrumentationDefinition> future = analyzeBatcher.submit(hash, type);
+
+			assertThat(future.isDone(), is(true));
+			verifyZeroInteractions(classHashHelper);
+			future.get();
+		}
+
+		@Test(expectedExceptions = ExecutionException.class)
+		public void executorShutDown() throws Exception {
+			ClassHash hash = new ClassHash(1L, 2L);
+			doThrow(RejectedExecutionException.class).when(executorService).submit(Matchers.<Runnable> any());
+
+			Future<InstrumentationDefinition> future = analyzeBatcher.submit(hash, type);
+
+			assertThat(future.isDone(), is(true));
+			verifyZeroInteractions(connection, classHashHelper);
+			future.get();
+		}
+	}
+
+}
@@ -29,7 +29,6 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -47,6 +46,8 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.google.common.util.concurrent.Futures;
+
 import rocks.inspectit.agent.java.analyzer.classes.AbstractSubTest;
 import rocks.inspectit.agent.java.analyzer.classes.TestClass;
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
@@ -60,6 +61,8 @@ import rocks.inspectit.agent.java.hooking.IHookDispatcherMapper;
 import rocks.inspectit.agent.java.instrumentation.InstrumenterFactory;
 import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
 import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
+import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
 import rocks.inspectit.shared.all.instrumentation.config.IMethodInstrumentationPoint;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
 import rocks.inspectit.shared.all.instrumentation.config.impl.MethodInstrumentationConfig;
@@ -105,6 +108,9 @@ public class ByteCodeAnalyzerTest extends TestBase {
 	@Mock
 	ClassHashHelper classHashHelper;
 
+	@Mock
+	AnalyzeBatcher analyzeBatcher;
+
 	@Mock
 	InstrumenterFactory instrumenterFactory;
 
@@ -124,7 +130,7 @@ public class ByteCodeAnalyzerTest extends TestBase {
 	List<IMethodSensor> methodSensors;
 
 	@Mock
-	Future<Object> future;
+	Future<InstrumentationDefinition> future;
 
 	final Long platformId = 10L;
 
@@ -138,14 +144,6 @@ public class ByteCodeAnalyzerTest extends TestBase {
 				return null;
 			}
 		}).when(executorService).submit(Matchers.<Runnable> any());
-		doAnswer(new Answer<Future<Object>>() {
-			@Override
-			public Future<Object> answer(InvocationOnMock invocation) throws Throwable {
-				final Object result = ((Callable<?>) invocation.getArguments()[0]).call();
-				when(future.get(anyLong(), Matchers.<TimeUnit> any())).thenReturn(result);
-				return future;
-			}
-		}).when(executorService).submit(Matchers.<Callable> any());
 
 		// method sensor and config
 		when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorTypeConfig);
@@ -182,12 +180,12 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			when(instrumenterFactory.getMethodVisitor(eq(sensorInstrumentationPoint), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(methodVisitor);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			ArgumentCaptor<ClassType> classCaptor = ArgumentCaptor.forClass(ClassType.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			when(connection.analyze(eq(platformId.longValue()), anyString(), classCaptor.capture())).thenReturn(instrumentationResult);
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), classCaptor.capture())).thenReturn(Futures.<InstrumentationDefinition> immediateFuture(instrumentationResult));
 			when(instrumentationResult.getMethodInstrumentationConfigs()).thenReturn(Collections.singleton(methodInstrumentationConfig));
 			long rscId = 13L;
 			long[] sensorIds = { 17L };
@@ -204,8 +202,8 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			// as instrumentation happened, we get a not null object
 			assertThat(instrumentedByteCode, is(not(nullValue())));
 
-			verify(connection, times(3)).isConnected();
-			verify(connection, times(1)).analyze(platformId.longValue(), hashCaptor.getValue(), classCaptor.getValue());
+			verify(connection, times(2)).isConnected();
+			verify(analyzeBatcher, times(1)).submit(hashCaptor.getValue(), classCaptor.getValue());
 			ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
 			verify(connection, times(1)).instrumentationApplied(eq(platformId), captor.capture());
 			assertThat(captor.getValue().size(), is(1));
@@ -213,8 +211,6 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			verify(classHashHelper, atLeastOnce()).isAnalyzed(anyString());
 			verify(classHashHelper, times(1)).isSent(fqnCaptor.getValue(), hashCaptor.getValue());
 			verify(classHashHelper, times(1)).registerAnalyzed(fqnCaptor.getValue());
-			verify(classHashHelper, times(1)).registerSent(fqnCaptor.getValue(), hashCaptor.getValue());
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(fqnCaptor.getValue(), instrumentationResult);
 			ArgumentCaptor<RegisteredSensorConfig> rscCaptor = ArgumentCaptor.forClass(RegisteredSensorConfig.class);
 			verify(hookDispatcherMapper, times(1)).addMapping(eq(rscId), rscCaptor.capture());
 			assertThat(rscCaptor.getValue().getId(), is(rscId));
@@ -243,12 +239,12 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			when(instrumenterFactory.getMethodVisitor(eq(sensorInstrumentationPoint), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(methodVisitor);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			ArgumentCaptor<ClassType> classCaptor = ArgumentCaptor.forClass(ClassType.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			when(connection.analyze(eq(platformId.longValue()), anyString(), classCaptor.capture())).thenReturn(instrumentationResult);
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), classCaptor.capture())).thenReturn(Futures.<InstrumentationDefinition> immediateFuture(instrumentationResult));
 			when(instrumentationResult.getMethodInstrumentationConfigs()).thenReturn(Collections.singleton(methodInstrumentationConfig));
 			long rscId = 13L;
 			long[] sensorIds = { 17L };
@@ -265,8 +261,8 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			// as instrumentation happened, we get a not null object
 			assertThat(instrumentedByteCode, is(not(nullValue())));
 
-			verify(connection, times(3)).isConnected();
-			verify(connection, times(1)).analyze(platformId.longValue(), hashCaptor.getValue(), classCaptor.getValue());
+			verify(connection, times(2)).isConnected();
+			verify(analyzeBatcher, times(1)).submit(hashCaptor.getValue(), classCaptor.getValue());
 			ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
 			verify(connection, times(1)).instrumentationApplied(eq(platformId), captor.capture());
 			assertThat(captor.getValue().size(), is(1));
@@ -274,8 +270,6 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			verify(classHashHelper, atLeastOnce()).isAnalyzed(anyString());
 			verify(classHashHelper, times(1)).isSent(fqnCaptor.getValue(), hashCaptor.getValue());
 			verify(classHashHelper, times(1)).registerAnalyzed(fqnCaptor.getValue());
-			verify(classHashHelper, times(1)).registerSent(fqnCaptor.getValue(), hashCaptor.getValue());
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(fqnCaptor.getValue(), instrumentationResult);
 			ArgumentCaptor<RegisteredSensorConfig> rscCaptor = ArgumentCaptor.forClass(RegisteredSensorConfig.class);
 			verify(hookDispatcherMapper, times(1)).addMapping(eq(rscId), rscCaptor.capture());
 			assertThat(rscCaptor.getValue().getId(), is(rscId));
@@ -303,12 +297,12 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			when(methodInstrumentationConfig.getSpecialInstrumentationPoint()).thenReturn(specialInstrumentationPoint);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			ArgumentCaptor<ClassType> classCaptor = ArgumentCaptor.forClass(ClassType.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			when(connection.analyze(eq(platformId.longValue()), anyString(), classCaptor.capture())).thenReturn(instrumentationResult);
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), classCaptor.capture())).thenReturn(Futures.<InstrumentationDefinition> immediateFuture(instrumentationResult));
 			when(instrumentationResult.getMethodInstrumentationConfigs()).thenReturn(Collections.singleton(methodInstrumentationConfig));
 			long sscId = 13L;
 			long sensorId = 17L;
@@ -322,8 +316,8 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			// as instrumentation happened, we get a not null object
 			assertThat(instrumentedByteCode, is(not(nullValue())));
 
-			verify(connection, times(3)).isConnected();
-			verify(connection, times(1)).analyze(platformId.longValue(), hashCaptor.getValue(), classCaptor.getValue());
+			verify(connection, times(2)).isConnected();
+			verify(analyzeBatcher, times(1)).submit(hashCaptor.getValue(), classCaptor.getValue());
 			ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
 			verify(connection, times(1)).instrumentationApplied(eq(platformId), captor.capture());
 			assertThat(captor.getValue().size(), is(1));
@@ -331,8 +325,6 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			verify(classHashHelper, atLeastOnce()).isAnalyzed(anyString());
 			verify(classHashHelper, times(1)).isSent(fqnCaptor.getValue(), hashCaptor.getValue());
 			verify(classHashHelper, times(1)).registerAnalyzed(fqnCaptor.getValue());
-			verify(classHashHelper, times(1)).registerSent(fqnCaptor.getValue(), hashCaptor.getValue());
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(fqnCaptor.getValue(), instrumentationResult);
 			ArgumentCaptor<SpecialSensorConfig> sscCaptor = ArgumentCaptor.forClass(SpecialSensorConfig.class);
 			verify(hookDispatcherMapper, times(1)).addMapping(eq(sscId), sscCaptor.capture());
 			assertThat(sscCaptor.getValue().getId(), is(sscId));
@@ -350,7 +342,7 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			byte[] byteCode = getByteCode(className);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(true);
 			when(classHashHelper.getInstrumentationDefinition(fqnCaptor.capture())).thenReturn(null);
 
@@ -382,7 +374,7 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			when(instrumenterFactory.getMethodVisitor(eq(sensorInstrumentationPoint), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(methodVisitor);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(true);
 			when(classHashHelper.getInstrumentationDefinition(fqnCaptor.capture())).thenReturn(instrumentationResult);
 
@@ -432,25 +424,23 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			byte[] byteCode = getByteCode(className);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			ArgumentCaptor<ClassType> classCaptor = ArgumentCaptor.forClass(ClassType.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			when(connection.analyze(eq(platformId.longValue()), anyString(), classCaptor.capture())).thenReturn(null);
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), classCaptor.capture())).thenReturn(Futures.<InstrumentationDefinition> immediateFuture(null));
 
 			byte[] instrumentedByteCode = byteCodeAnalyzer.analyzeAndInstrument(byteCode, className, classLoader);
 
 			// as no instrumentation happened, we get a null object
 			assertThat(instrumentedByteCode, is(nullValue()));
 
-			verify(connection, times(2)).isConnected();
-			verify(connection, times(1)).analyze(platformId.longValue(), hashCaptor.getValue(), classCaptor.getValue());
+			verify(connection, times(1)).isConnected();
+			verify(analyzeBatcher, times(1)).submit(hashCaptor.getValue(), classCaptor.getValue());
 			verify(classHashHelper, atLeastOnce()).isAnalyzed(anyString());
 			verify(classHashHelper, times(1)).isSent(fqnCaptor.getValue(), hashCaptor.getValue());
 			verify(classHashHelper, times(1)).registerAnalyzed(fqnCaptor.getValue());
-			verify(classHashHelper, times(1)).registerSent(fqnCaptor.getValue(), hashCaptor.getValue());
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(fqnCaptor.getValue(), null);
 			verifyZeroInteractions(hookDispatcherMapper);
 			verifyNoMoreInteractions(connection, classHashHelper);
 		}
@@ -462,7 +452,7 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			byte[] byteCode = getByteCode(className);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(connection.isConnected()).thenReturn(false);
 
@@ -492,12 +482,12 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			when(instrumenterFactory.getMethodVisitor(eq(sensorInstrumentationPoint), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(methodVisitor);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			ArgumentCaptor<ClassType> classCaptor = ArgumentCaptor.forClass(ClassType.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			when(connection.analyze(eq(platformId.longValue()), anyString(), classCaptor.capture())).thenReturn(instrumentationResult);
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), classCaptor.capture())).thenReturn(Futures.<InstrumentationDefinition> immediateFuture(instrumentationResult));
 			when(instrumentationResult.getMethodInstrumentationConfigs()).thenReturn(Collections.singleton(methodInstrumentationConfig));
 			long rscId = 13L;
 			when(sensorInstrumentationPoint.getId()).thenReturn(rscId);
@@ -507,13 +497,11 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			// as no instrumentation happened, we get a null object
 			assertThat(instrumentedByteCode, is(nullValue()));
 
-			verify(connection, times(2)).isConnected();
-			verify(connection, times(1)).analyze(platformId.longValue(), hashCaptor.getValue(), classCaptor.getValue());
+			verify(connection, times(1)).isConnected();
+			verify(analyzeBatcher, times(1)).submit(hashCaptor.getValue(), classCaptor.getValue());
 			verify(classHashHelper, atLeastOnce()).isAnalyzed(anyString());
 			verify(classHashHelper, times(1)).isSent(fqnCaptor.getValue(), hashCaptor.getValue());
 			verify(classHashHelper, times(1)).registerAnalyzed(fqnCaptor.getValue());
-			verify(classHashHelper, times(1)).registerSent(fqnCaptor.getValue(), hashCaptor.getValue());
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(fqnCaptor.getValue(), instrumentationResult);
 			verifyNoMoreInteractions(connection, classHashHelper);
 			verifyZeroInteractions(hookDispatcherMapper);
 		}
@@ -545,11 +533,11 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			when(instrumenterFactory.getMethodVisitor(eq(sensorInstrumentationPoint), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(methodVisitor);
 
 			ArgumentCaptor<ClassType> classCaptor = ArgumentCaptor.forClass(ClassType.class);
-			when(classHashHelper.isSent(anyString(), anyString())).thenReturn(false);
+			when(classHashHelper.isSent(anyString(), Matchers.<ClassHash> any())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(classHashHelper.isAnalyzed(AbstractSubTest.class.getName())).thenReturn(false);
 			when(connection.isConnected()).thenReturn(true);
-			when(connection.analyze(eq(platformId.longValue()), anyString(), classCaptor.capture())).thenReturn(instrumentationResult);
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), classCaptor.capture())).thenReturn(Futures.<InstrumentationDefinition> immediateFuture(instrumentationResult));
 			when(instrumentationResult.getMethodInstrumentationConfigs()).thenReturn(Collections.singleton(methodInstrumentationConfig));
 			long rscId = 13L;
 			long[] sensorIds = { 17L };
@@ -566,9 +554,9 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			// as instrumentation happened, we get a not null object
 			assertThat(instrumentedByteCode, is(not(nullValue())));
 
-			verify(connection, times(5)).isConnected();
-			verify(connection, times(1)).analyze(eq(platformId.longValue()), anyString(), eq(classCaptor.getAllValues().get(0)));
-			verify(connection, times(1)).analyze(eq(platformId.longValue()), anyString(), eq(classCaptor.getAllValues().get(1)));
+			verify(connection, times(2)).isConnected();
+			verify(analyzeBatcher, times(1)).submit(Matchers.<ClassHash> any(), eq(classCaptor.getAllValues().get(0)));
+			verify(analyzeBatcher, times(1)).submit(Matchers.<ClassHash> any(), eq(classCaptor.getAllValues().get(1)));
 			ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
 			verify(connection, times(1)).instrumentationApplied(eq(platformId), captor.capture());
 			assertThat(captor.getValue().size(), is(1));
@@ -580,14 +568,10 @@ public class ByteCodeAnalyzerTest extends TestBase {
 
 			// class hash verfications
 			verify(classHashHelper, atLeastOnce()).isAnalyzed(anyString());
-			verify(classHashHelper, times(1)).isSent(eq(TestClass.class.getName()), anyString());
-			verify(classHashHelper, times(1)).isSent(eq(AbstractSubTest.class.getName()), anyString());
+			verify(classHashHelper, times(1)).isSent(eq(TestClass.class.getName()), Matchers.<ClassHash> any());
+			verify(classHashHelper, times(1)).isSent(eq(AbstractSubTest.class.getName()), Matchers.<ClassHash> any());
 			verify(classHashHelper, times(1)).registerAnalyzed(TestClass.class.getName());
 			verify(classHashHelper, times(1)).registerAnalyzed(AbstractSubTest.class.getName());
-			verify(classHashHelper, times(1)).registerSent(eq(TestClass.class.getName()), anyString());
-			verify(classHashHelper, times(1)).registerSent(eq(AbstractSubTest.class.getName()), anyString());
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(TestClass.class.getName(), instrumentationResult);
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(AbstractSubTest.class.getName(), instrumentationResult);
 
 			ArgumentCaptor<RegisteredSensorConfig> rscCaptor = ArgumentCaptor.forClass(RegisteredSensorConfig.class);
 			verify(hookDispatcherMapper, times(1)).addMapping(eq(rscId), rscCaptor.capture());
@@ -610,17 +594,12 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			byte[] byteCode = getByteCode(className);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			doAnswer(new Answer<Future<Object>>() {
-				@Override
-				public Future<Object> answer(InvocationOnMock invocation) throws Throwable {
-					when(future.get(anyLong(), Matchers.<TimeUnit> any())).thenThrow(TimeoutException.class);
-					return future;
-				}
-			}).when(executorService).submit(Matchers.<Callable> any());
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), Matchers.<Type> any())).thenReturn(future);
+			when(future.get(anyLong(), Matchers.<TimeUnit> any())).thenThrow(TimeoutException.class);
 
 			byte[] instrumentedByteCode = byteCodeAnalyzer.analyzeAndInstrument(byteCode, className, classLoader);
 
@@ -642,17 +621,12 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			byte[] byteCode = getByteCode(className);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			doAnswer(new Answer<Future<Object>>() {
-				@Override
-				public Future<Object> answer(InvocationOnMock invocation) throws Throwable {
-					when(future.get(anyLong(), Matchers.<TimeUnit> any())).thenThrow(InterruptedException.class);
-					return future;
-				}
-			}).when(executorService).submit(Matchers.<Callable> any());
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), Matchers.<Type> any())).thenReturn(future);
+			when(future.get(anyLong(), Matchers.<TimeUnit> any())).thenThrow(InterruptedException.class);
 
 			byte[] instrumentedByteCode = byteCodeAnalyzer.analyzeAndInstrument(byteCode, className, classLoader);
 
@@ -685,12 +659,12 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			when(instrumenterFactory.getMethodVisitor(eq(sensorInstrumentationPoint), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean())).thenReturn(methodVisitor);
 
 			ArgumentCaptor<String> fqnCaptor = ArgumentCaptor.forClass(String.class);
-			ArgumentCaptor<String> hashCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<ClassHash> hashCaptor = ArgumentCaptor.forClass(ClassHash.class);
 			ArgumentCaptor<ClassType> classCaptor = ArgumentCaptor.forClass(ClassType.class);
 			when(classHashHelper.isSent(fqnCaptor.capture(), hashCaptor.capture())).thenReturn(false);
 			when(classHashHelper.isAnalyzed(anyString())).thenReturn(true);
 			when(connection.isConnected()).thenReturn(true);
-			when(connection.analyze(eq(platformId.longValue()), anyString(), classCaptor.capture())).thenReturn(instrumentationResult);
+			when(analyzeBatcher.submit(Matchers.<ClassHash> any(), classCaptor.capture())).thenReturn(Futures.<InstrumentationDefinition> immediateFuture(instrumentationResult));
 			when(instrumentationResult.getMethodInstrumentationConfigs()).thenReturn(Collections.singleton(methodInstrumentationConfig));
 			long rscId = 13L;
 			long[] sensorIds = { 17L };
@@ -712,8 +686,8 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			// interrupted)
 			assertThat(Thread.interrupted(), is(true));
 
-			verify(connection, times(3)).isConnected();
-			verify(connection, times(1)).analyze(platformId.longValue(), hashCaptor.getValue(), classCaptor.getValue());
+			verify(connection, times(2)).isConnected();
+			verify(analyzeBatcher, times(1)).submit(hashCaptor.getValue(), classCaptor.getValue());
 			ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
 			verify(connection, times(1)).instrumentationApplied(eq(platformId), captor.capture());
 			assertThat(captor.getValue().size(), is(1));
@@ -721,8 +695,6 @@ public class ByteCodeAnalyzerTest extends TestBase {
 			verify(classHashHelper, atLeastOnce()).isAnalyzed(anyString());
 			verify(classHashHelper, times(1)).isSent(fqnCaptor.getValue(), hashCaptor.getValue());
 			verify(classHashHelper, times(1)).registerAnalyzed(fqnCaptor.getValue());
-			verify(classHashHelper, times(1)).registerSent(fqnCaptor.getValue(), hashCaptor.getValue());
-			verify(classHashHelper, times(1)).registerInstrumentationDefinition(fqnCaptor.getValue(), instrumentationResult);
 			ArgumentCaptor<RegisteredSensorConfig> rscCaptor = ArgumentCaptor.forClass(RegisteredSensorConfig.class);
 			verify(hookDispatcherMapper, times(1)).addMapping(eq(rscId), rscCaptor.capture());
 			assertThat(rscCaptor.getValue().getId(), is(rscId));
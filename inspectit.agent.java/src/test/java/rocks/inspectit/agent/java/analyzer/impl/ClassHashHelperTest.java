@@ -31,6 +31,7 @@ import com.esotericsoftware.kryo.io.Input;
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
 import rocks.inspectit.agent.java.io.FileResolver;
 import rocks.inspectit.agent.java.spring.PrototypesProvider;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
 import rocks.inspectit.shared.all.serializer.SerializationException;
 import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
@@ -147,7 +148,7 @@ public class ClassHashHelperTest extends TestBase {
 			helper.afterPropertiesSet();
 
 			assertThat(helper.isEmpty(), is(false));
-			assertThat(helper.isSent(fqn, hash), is(true));
+			assertThat(helper.isSent(fqn, ClassHash.fromString(hash)), is(true));
 			assertThat(helper.getInstrumentationDefinition(fqn), is(instrumentationResult));
 		}
 
@@ -251,7 +252,7 @@ public class ClassHashHelperTest extends TestBase {
 		public void register() throws Exception {
 			helper.afterPropertiesSet();
 			String fqn = "fqn";
-			String hash = "hash";
+			ClassHash hash = new ClassHash(1L, 2L);
 
 			helper.registerSent(fqn, hash);
 
@@ -267,7 +268,7 @@ public class ClassHashHelperTest extends TestBase {
 		public void notSent() throws Exception {
 			helper.afterPropertiesSet();
 			String fqn = "fqn";
-			String hash = "hash";
+			ClassHash hash = new ClassHash(1L, 2L);
 
 			boolean sent = helper.isSent(fqn, hash);
 
@@ -277,14 +278,28 @@ public class ClassHashHelperTest extends TestBase {
 		@Test
 		public void load() throws Exception {
 			String fqn = "fqn";
-			String hash = "hash";
+			when(configurationStorage.isClassCacheExistsOnCmr()).thenReturn(true);
+			new File(TEST_CACHE_FILE).createNewFile();
+			Object hashes = Collections.singletonMap(fqn, new long[] { 1L, 2L });
+			when(serializationManager.deserialize(Matchers.<Input> any())).thenReturn(hashes);
+			helper.afterPropertiesSet();
+
+			boolean sent = helper.isSent(fqn, new ClassHash(1L, 2L));
+
+			assertThat(sent, is(true));
+		}
+
+		@Test
+		public void loadHashStrings() throws Exception {
+			String fqn = "fqn";
+			String hash = "4f8b42c22dd3729b519ba6f68d2da7cc5b2d606d05daed5ad5128cc03e6c6358";
 			when(configurationStorage.isClassCacheExistsOnCmr()).thenReturn(true);
 			new File(TEST_CACHE_FILE).createNewFile();
 			Object hashes = Collections.singletonMap(fqn, Collections.singleton(hash));
 			when(serializationManager.deserialize(Matchers.<Input> any())).thenReturn(hashes);
 			helper.afterPropertiesSet();
 
-			boolean sent = helper.isSent(fqn, hash);
+			boolean sent = helper.isSent(fqn, ClassHash.fromString(hash.substring(0, 32)));
 
 			assertThat(sent, is(true));
 		}
@@ -0,0 +1,274 @@
+package rocks.inspectit.agent.java.buffer.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.agent.java.core.IdNotAvailableException;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.DataLossInformationData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class RingBufferStrategyTest extends TestBase {
+
+	static final long PLATFORM_ID = 7L;
+
+	@InjectMocks
+	RingBufferStrategy bufferStrategy;
+
+	@Mock
+	IPlatformManager platformManager;
+
+	@BeforeMethod
+	public void init() throws IdNotAvailableException {
+		bufferStrategy.log = LoggerFactory.getLogger(RingBufferStrategy.class);
+		when(platformManager.getPlatformId()).thenReturn(PLATFORM_ID);
+	}
+
+	List<DefaultData> list(int size) {
+		List<DefaultData> list = new ArrayList<DefaultData>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(new TimerData());
+		}
+		return list;
+	}
+
+	void init(int size, String dropPolicy) {
+		Map<String, String> settings = new HashMap<String, String>();
+		settings.put("size", String.valueOf(size));
+		settings.put("dropPolicy", dropPolicy);
+		bufferStrategy.init(settings);
+	}
+
+	public class Init extends RingBufferStrategyTest {
+
+		@Test
+		public void defaultSettings() {
+			bufferStrategy.init(Collections.<String, String> emptyMap());
+
+			assertThat(bufferStrategy.getCapacity(), is(16));
+		}
+
+		@Test
+		public void roundedToPowerOfTwo() {
+			init(12, "oldest");
+
+			assertThat(bufferStrategy.getCapacity(), is(16));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void unknownDropPolicy() {
+			init(4, "unknown");
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void zeroSize() {
+			init(0, "oldest");
+		}
+	}
+
+	public class AddMeasurements extends RingBufferStrategyTest {
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void nullMeasurements() {
+			bufferStrategy.addMeasurements(null);
+		}
+
+		@Test
+		public void fifoOrder() {
+			List<DefaultData> first = list(1);
+			List<DefaultData> second = list(1);
+			List<DefaultData> third = list(1);
+
+			bufferStrategy.addMeasurements(first);
+			bufferStrategy.addMeasurements(second);
+			bufferStrategy.addMeasurements(third);
+
+			assertThat(bufferStrategy.next(), is(sameInstance(first)));
+			assertThat(bufferStrategy.next(), is(sameInstance(second)));
+			assertThat(bufferStrategy.next(), is(sameInstance(third)));
+			assertThat(bufferStrategy.hasNext(), is(false));
+		}
+
+		@Test
+		public void dropOldest() {
+			init(2, "oldest");
+			List<DefaultData> first = list(3);
+			List<DefaultData> second = list(1);
+			List<DefaultData> third = list(1);
+
+			bufferStrategy.addMeasurements(first);
+			bufferStrategy.addMeasurements(second);
+			bufferStrategy.addMeasurements(third);
+
+			assertThat(bufferStrategy.getTotalDroppedBatches(), is(1L));
+			assertThat(bufferStrategy.getTotalDroppedObjects(), is(3L));
+			List<DefaultData> next = bufferStrategy.next();
+			assertThat(next, hasSize(2));
+			assertThat(next.get(0), is(sameInstance(second.get(0))));
+			assertThat(next.get(1), is(instanceOf(DataLossInformationData.class)));
+			DataLossInformationData dataLoss = (DataLossInformationData) next.get(1);
+			assertThat(dataLoss.getPlatformIdent(), is(PLATFORM_ID));
+			assertThat(dataLoss.getDroppedBatches(), is(1L));
+			assertThat(dataLoss.getDroppedObjects(), is(3L));
+			// producer list is not changed
+			assertThat(second, hasSize(1));
+			assertThat(bufferStrategy.next(), is(sameInstance(third)));
+			assertThat(bufferStrategy.hasNext(), is(false));
+		}
+
+		@Test
+		public void dropNewest() {
+			init(2, "newest");
+			List<DefaultData> first = list(1);
+			List<DefaultData> second = list(1);
+			List<DefaultData> third = list(2);
+
+			bufferStrategy.addMeasurements(first);
+			bufferStrategy.addMeasurements(second);
+			bufferStrategy.addMeasurements(third);
+
+			assertThat(bufferStrategy.getTotalDroppedBatches(), is(1L));
+			assertThat(bufferStrategy.getTotalDroppedObjects(), is(2L));
+			List<DefaultData> next = bufferStrategy.next();
+			assertThat(next, hasSize(2));
+			assertThat(next.get(0), is(sameInstance(first.get(0))));
+			assertThat(bufferStrategy.next(), is(sameInstance(second)));
+			assertThat(bufferStrategy.hasNext(), is(false));
+		}
+
+		@Test
+		public void dropSampling() {
+			init(4, "sampling");
+
+			for (int i = 0; i < 100; i++) {
+				bufferStrategy.addMeasurements(list(1));
+			}
+
+			assertThat(bufferStrategy.getTotalDroppedBatches(), is(96L));
+			assertThat(bufferStrategy.getTotalDroppedObjects(), is(96L));
+			int count = 0;
+			while (bufferStrategy.hasNext()) {
+				bufferStrategy.next();
+				count++;
+			}
+			assertThat(count, is(4));
+		}
+
+		@Test
+		public void reportedOnlyOnce() {
+			init(1, "oldest");
+
+			bufferStrategy.addMeasurements(list(1));
+			bufferStrategy.addMeasurements(list(1));
+			List<DefaultData> first = bufferStrategy.next();
+			List<DefaultData> second = list(1);
+			bufferStrategy.addMeasurements(second);
+
+			assertThat(first, hasSize(2));
+			assertThat(bufferStrategy.next(), is(sameInstance(second)));
+		}
+
+		@Test
+		public void reportedWhenPlatformIdAvailable() throws IdNotAvailableException {
+			init(1, "oldest");
+			when(platformManager.getPlatformId()).thenThrow(new IdNotAvailableException("Not available")).thenReturn(PLATFORM_ID);
+
+			bufferStrategy.addMeasurements(list(1));
+			List<DefaultData> second = list(1);
+			bufferStrategy.addMeasurements(second);
+			assertThat(bufferStrategy.next(), is(sameInstance(second)));
+			bufferStrategy.addMeasurements(list(1));
+
+			List<DefaultData> next = bufferStrategy.next();
+			assertThat(next, hasSize(2));
+			assertThat(((DataLossInformationData) next.get(1)).getDroppedBatches(), is(1L));
+		}
+
+		@Test
+		public void concurrentProducers() throws Exception {
+			init(1024, "newest");
+			final int producers = 4;
+			final int perProducer = 1000;
+			final CountDownLatch latch = new CountDownLatch(producers);
+			ExecutorService executorService = Executors.newFixedThreadPool(producers);
+			for (int i = 0; i < producers; i++) {
+				executorService.execute(new Runnable() {
+					@Override
+					public void run() {
+						for (int j = 0; j < perProducer; j++) {
+							bufferStrategy.addMeasurements(list(1));
+						}
+						latch.countDown();
+					}
+				});
+			}
+			latch.await(10, TimeUnit.SECONDS);
+			executorService.shutdown();
+
+			long received = 0;
+			while (bufferStrategy.hasNext()) {
+				for (DefaultData data : bufferStrategy.next()) {
+					if (!(data instanceof DataLossInformationData)) {
+						received++;
+					}
+				}
+			}
+			assertThat(received + bufferStrategy.getTotalDroppedObjects(), is(equalTo((long) producers * perProducer)));
+		}
+	}
+
+	public class Next extends RingBufferStrategyTest {
+
+		@Test
+		public void emptyBuffer() {
+			assertThat(bufferStrategy.hasNext(), is(false));
+		}
+
+		@Test(expectedExceptions = NoSuchElementException.class)
+		public void noSuchElementException() {
+			bufferStrategy.next();
+		}
+
+		@Test
+		public void wrapAround() {
+			init(2, "oldest");
+
+			for (int i = 0; i < 10; i++) {
+				List<DefaultData> list = list(1);
+				bufferStrategy.addMeasurements(list);
+				assertThat(bufferStrategy.next(), is(sameInstance(list)));
+			}
+			assertThat(bufferStrategy.getTotalDroppedBatches(), is(0L));
+		}
+
+		@Test(expectedExceptions = UnsupportedOperationException.class)
+		public void remove() {
+			bufferStrategy.remove();
+		}
+	}
+}
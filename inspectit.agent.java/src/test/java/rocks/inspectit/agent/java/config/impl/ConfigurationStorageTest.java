@@ -401,4 +401,16 @@ public class ConfigurationStorageTest extends TestBase {
 			assertThat(ignorePatterns, hasItem(pattern));
 		}
 	}
+
+	public class GetDiskSpoolSize extends ConfigurationStorageTest {
+
+		@Test
+		public void check() throws StorageException {
+			when(agentConfiguration.getDiskSpoolSize()).thenReturn(1024L);
+
+			long diskSpoolSize = configurationStorage.getDiskSpoolSize();
+
+			assertThat(diskSpoolSize, is(1024L));
+		}
+	}
 }
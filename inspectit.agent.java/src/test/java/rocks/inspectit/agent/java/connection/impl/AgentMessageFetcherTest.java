@@ -4,7 +4,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -23,6 +25,7 @@ import org.slf4j.Logger;
 import org.springframework.context.ApplicationEventPublisher;
 import org.testng.annotations.Test;
 
+import rocks.inspectit.agent.java.connection.IAgentMessageListener;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.agent.java.core.IPlatformManager;
@@ -87,7 +90,9 @@ public class AgentMessageFetcherTest extends TestBase {
 			messageFetcher.run();
 
 			verify(connection).isConnected();
+			verify(connection).isAgentMessagePushActive();
 			verify(connection).fetchAgentMessages(10L);
+			verify(connection).subscribeAgentMessages(10L, messageFetcher);
 			verify(platformManager).getPlatformId();
 			ArgumentCaptor<AgentMessagesReceivedEvent> eventCaptor = ArgumentCaptor.forClass(AgentMessagesReceivedEvent.class);
 			verify(eventPublisher).publishEvent(eventCaptor.capture());
@@ -105,7 +110,9 @@ public class AgentMessageFetcherTest extends TestBase {
 			messageFetcher.run();
 
 			verify(connection).isConnected();
+			verify(connection).isAgentMessagePushActive();
 			verify(connection).fetchAgentMessages(10L);
+			verify(connection).subscribeAgentMessages(10L, messageFetcher);
 			verify(platformManager).getPlatformId();
 			verifyNoMoreInteractions(connection, platformManager);
 			verifyZeroInteractions(eventPublisher);
@@ -121,6 +128,7 @@ public class AgentMessageFetcherTest extends TestBase {
 			messageFetcher.run();
 
 			verify(connection).isConnected();
+			verify(connection).isAgentMessagePushActive();
 			verify(connection).fetchAgentMessages(any(Long.class));
 			verify(platformManager).getPlatformId();
 			verifyNoMoreInteractions(connection, platformManager);
@@ -137,6 +145,7 @@ public class AgentMessageFetcherTest extends TestBase {
 			messageFetcher.run();
 
 			verify(connection).isConnected();
+			verify(connection).isAgentMessagePushActive();
 			verify(connection).fetchAgentMessages(any(Long.class));
 			verify(platformManager).getPlatformId();
 			verifyNoMoreInteractions(connection, platformManager);
@@ -157,6 +166,40 @@ public class AgentMessageFetcherTest extends TestBase {
 			verifyZeroInteractions(eventPublisher);
 		}
 
+		@Test
+		public void pushActive() throws IdNotAvailableException {
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.isAgentMessagePushActive()).thenReturn(true);
+			when(platformManager.getPlatformId()).thenReturn(10L);
+
+			messageFetcher.run();
+
+			verify(connection).isConnected();
+			verify(connection).isAgentMessagePushActive();
+			verify(platformManager).getPlatformId();
+			verifyNoMoreInteractions(connection, platformManager);
+			verifyZeroInteractions(eventPublisher);
+		}
+
+		@Test
+		public void pushActiveFallbackFetch() throws IdNotAvailableException, ServerUnavailableException {
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.isAgentMessagePushActive()).thenReturn(true);
+			when(platformManager.getPlatformId()).thenReturn(10L);
+			List<IAgentMessage<?>> messages = Arrays.<IAgentMessage<?>> asList(mock(IAgentMessage.class));
+			when(connection.fetchAgentMessages(10L)).thenReturn(messages);
+
+			for (int i = 0; i < AgentMessageFetcher.FALLBACK_FETCH_RUNS; i++) {
+				messageFetcher.run();
+			}
+
+			verify(connection).fetchAgentMessages(10L);
+			verify(connection, never()).subscribeAgentMessages(anyLong(), any(IAgentMessageListener.class));
+			ArgumentCaptor<AgentMessagesReceivedEvent> eventCaptor = ArgumentCaptor.forClass(AgentMessagesReceivedEvent.class);
+			verify(eventPublisher).publishEvent(eventCaptor.capture());
+			assertThat(eventCaptor.getValue().getAgentMessages(), is(equalTo(messages)));
+		}
+
 		@Test
 		public void notConnected() {
 			when(connection.isConnected()).thenReturn(false);
@@ -168,4 +211,31 @@ public class AgentMessageFetcherTest extends TestBase {
 			verifyZeroInteractions(eventPublisher, platformManager);
 		}
 	}
+
+	/**
+	 * Test the {@link AgentMessageFetcher#messagesReceived(List)} method.
+	 */
+	public static class MessagesReceived extends AgentMessageFetcherTest {
+
+		@Mock
+		ScheduledExecutorService executorService;
+
+		@Mock
+		ApplicationEventPublisher eventPublisher;
+
+		@Test
+		public void publishInExecutor() {
+			List<IAgentMessage<?>> messages = Arrays.<IAgentMessage<?>> asList(mock(IAgentMessage.class));
+
+			messageFetcher.messagesReceived(messages);
+
+			verifyZeroInteractions(eventPublisher);
+			ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+			verify(executorService).execute(runnableCaptor.capture());
+			runnableCaptor.getValue().run();
+			ArgumentCaptor<AgentMessagesReceivedEvent> eventCaptor = ArgumentCaptor.forClass(AgentMessagesReceivedEvent.class);
+			verify(eventPublisher).publishEvent(eventCaptor.capture());
+			assertThat(eventCaptor.getValue().getAgentMessages(), is(equalTo(messages)));
+		}
+	}
 }
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -26,6 +27,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Matchers;
 import org.mockito.Mock;
@@ -34,6 +36,7 @@ import org.testng.annotations.Test;
 
 import com.esotericsoftware.kryonet.rmi.TimeoutException;
 
+import rocks.inspectit.agent.java.connection.IAgentMessageListener;
 import rocks.inspectit.agent.java.connection.RetryStrategy;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.shared.all.cmr.service.IAgentService;
@@ -41,6 +44,9 @@ import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.cmr.service.IKeepAliveService;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.instrumentation.classcache.Type;
@@ -48,6 +54,8 @@ import rocks.inspectit.shared.all.instrumentation.config.impl.AgentConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
 import rocks.inspectit.shared.all.instrumentation.config.impl.JmxAttributeDescriptor;
 import rocks.inspectit.shared.all.kryonet.Client;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.Listener;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
 @SuppressWarnings({ "PMD", "unchecked" })
@@ -163,6 +171,17 @@ public class KryoNetConnectionTest extends TestBase {
 			verifyNoMoreInteractions(keepAliveService);
 		}
 
+		@Test
+		public void backpressure() throws Exception {
+			when(client.isConnected()).thenReturn(true);
+			long id = 3L;
+			when(keepAliveService.sendKeepAlive(id)).thenReturn(50);
+
+			connection.sendKeepAlive(id);
+
+			assertThat(connection.getBackpressure(), is(50));
+		}
+
 		@Test(expectedExceptions = { ServerUnavailableException.class })
 		public void timeout() throws Exception {
 			when(client.isConnected()).thenReturn(true);
@@ -299,6 +318,24 @@ public class KryoNetConnectionTest extends TestBase {
 
 			verify(agentService, times(1)).register(Matchers.<List<String>> any(), eq(agentName), eq(version));
 			verifyNoMoreInteractions(agentService);
+			verify(client, never()).requestCompression();
+		}
+
+		@Test
+		public void registerWithCompression() throws Exception {
+			AgentConfig agentConfiguration = mock(AgentConfig.class);
+			when(agentConfiguration.isNetworkCompression()).thenReturn(true);
+			when(client.isConnected()).thenReturn(true);
+			doReturn(agentConfiguration).when(agentService).register(Matchers.<List<String>> any(), anyString(), anyString());
+			String agentName = "agentName";
+			String version = "version";
+
+			AgentConfig receivedAgentConfiguration = connection.register(agentName, version);
+			assertThat(receivedAgentConfiguration, is(agentConfiguration));
+
+			verify(agentService, times(1)).register(Matchers.<List<String>> any(), eq(agentName), eq(version));
+			verifyNoMoreInteractions(agentService);
+			verify(client, times(1)).requestCompression();
 		}
 
 		@Test(expectedExceptions = { ServerUnavailableException.class })
@@ -756,4 +793,74 @@ public class KryoNetConnectionTest extends TestBase {
 			}
 		}
 	}
+
+	public static class SubscribeAgentMessages extends KryoNetConnectionTest {
+
+		@Mock
+		IAgentMessageListener agentMessageListener;
+
+		@Mock
+		Connection kryoConnection;
+
+		@Test
+		public void pushedBatch() {
+			when(client.isConnected()).thenReturn(true);
+			List<IAgentMessage<?>> messages = Arrays.<IAgentMessage<?>> asList(mock(IAgentMessage.class));
+
+			connection.subscribeAgentMessages(3L, agentMessageListener);
+			ArgumentCaptor<Listener> listenerCaptor = ArgumentCaptor.forClass(Listener.class);
+			verify(client).addListener(listenerCaptor.capture());
+			ArgumentCaptor<Object> subscriptionCaptor = ArgumentCaptor.forClass(Object.class);
+			verify(client).sendTCP(subscriptionCaptor.capture());
+			assertThat(connection.isAgentMessagePushActive(), is(false));
+			listenerCaptor.getValue().received(kryoConnection, new AgentMessageBatch(5L, messages));
+
+			assertThat(((AgentMessageSubscription) subscriptionCaptor.getValue()).getPlatformId(), is(3L));
+			assertThat(connection.isAgentMessagePushActive(), is(true));
+			verify(agentMessageListener).messagesReceived(messages);
+			ArgumentCaptor<Object> acknowledgementCaptor = ArgumentCaptor.forClass(Object.class);
+			verify(kryoConnection).sendTCP(acknowledgementCaptor.capture());
+			AgentMessageAcknowledgement acknowledgement = (AgentMessageAcknowledgement) acknowledgementCaptor.getValue();
+			assertThat(acknowledgement.getPlatformId(), is(3L));
+			assertThat(acknowledgement.getBatchId(), is(5L));
+		}
+
+		@Test
+		public void emptyBatch() {
+			when(client.isConnected()).thenReturn(true);
+
+			connection.subscribeAgentMessages(3L, agentMessageListener);
+			ArgumentCaptor<Listener> listenerCaptor = ArgumentCaptor.forClass(Listener.class);
+			verify(client).addListener(listenerCaptor.capture());
+			listenerCaptor.getValue().received(kryoConnection, new AgentMessageBatch(5L, Collections.<IAgentMessage<?>> emptyList()));
+
+			assertThat(connection.isAgentMessagePushActive(), is(true));
+			verifyZeroInteractions(agentMessageListener);
+			verify(kryoConnection).sendTCP(Matchers.any(AgentMessageAcknowledgement.class));
+		}
+
+		@Test
+		public void disconnected() {
+			when(client.isConnected()).thenReturn(true);
+
+			connection.subscribeAgentMessages(3L, agentMessageListener);
+			ArgumentCaptor<Listener> listenerCaptor = ArgumentCaptor.forClass(Listener.class);
+			verify(client).addListener(listenerCaptor.capture());
+			listenerCaptor.getValue().received(kryoConnection, new AgentMessageBatch(5L, Collections.<IAgentMessage<?>> emptyList()));
+			listenerCaptor.getValue().disconnected(kryoConnection);
+
+			assertThat(connection.isAgentMessagePushActive(), is(false));
+		}
+
+		@Test
+		public void notConnected() {
+			when(client.isConnected()).thenReturn(false);
+
+			connection.subscribeAgentMessages(3L, agentMessageListener);
+
+			verify(client).isConnected();
+			verifyNoMoreInteractions(client);
+			assertThat(connection.isAgentMessagePushActive(), is(false));
+		}
+	}
 }
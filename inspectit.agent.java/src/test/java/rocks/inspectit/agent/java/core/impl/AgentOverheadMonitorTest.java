@@ -0,0 +1,125 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class AgentOverheadMonitorTest extends TestBase {
+
+	@InjectMocks
+	AgentOverheadMonitor monitor;
+
+	@Mock
+	Logger log;
+
+	public class Activate extends AgentOverheadMonitorTest {
+
+		@Test
+		public void notActiveByDefault() {
+			assertThat(monitor.isActive(), is(false));
+		}
+
+		@Test
+		public void activate() throws Exception {
+			monitor.activate();
+
+			assertThat(monitor.isActive(), is(true));
+
+			monitor.destroy();
+
+			assertThat(monitor.isActive(), is(false));
+		}
+	}
+
+	public class RecordDispatch extends AgentOverheadMonitorTest {
+
+		@Test
+		public void perSensorType() {
+			monitor.recordDispatch(1L, System.nanoTime(), -1L);
+			monitor.recordDispatch(1L, System.nanoTime(), -1L);
+			monitor.recordDispatch(2L, System.nanoTime(), -1L);
+
+			AgentOverheadInformationData data = monitor.getCumulativeOverhead();
+
+			assertThat(AgentOverheadInformationData.getCount(data.getDispatchTimeHistograms().get(1L)), is(2L));
+			assertThat(AgentOverheadInformationData.getCount(data.getDispatchTimeHistograms().get(2L)), is(1L));
+			assertThat(data.getDispatchTimes().get(1L), is(greaterThanOrEqualTo(0L)));
+			assertThat(monitor.getDispatchCount(), is(3L));
+		}
+
+		@Test
+		public void allocationNotMeasured() {
+			monitor.recordDispatch(1L, System.nanoTime(), -1L);
+
+			AgentOverheadInformationData data = monitor.getCumulativeOverhead();
+
+			assertThat(data.getAllocatedBytes().get(1L), is(0L));
+		}
+	}
+
+	public class AllocationMeasurement extends AgentOverheadMonitorTest {
+
+		@Test
+		public void measurementItselfNotRecorded() throws Exception {
+			monitor.activate();
+			try {
+				if (monitor.getAllocatedBytes() < 0) {
+					// not supported by this virtual machine
+					return;
+				}
+
+				long minAllocated = Long.MAX_VALUE;
+				for (int i = 0; i < 100; i++) {
+					long before = monitor.getAllocatedBytesTotal();
+					monitor.recordDispatch(1L, System.nanoTime(), monitor.getAllocatedBytes());
+					minAllocated = Math.min(minAllocated, monitor.getAllocatedBytesTotal() - before);
+				}
+
+				assertThat(minAllocated, is(0L));
+			} finally {
+				monitor.destroy();
+			}
+		}
+	}
+
+	public class RecordSending extends AgentOverheadMonitorTest {
+
+		@Test
+		public void queueSize() {
+			monitor.recordQueueSize(0);
+			monitor.recordQueueSize(100);
+
+			long[] histogram = monitor.getCumulativeOverhead().getQueueSizeHistogram();
+
+			assertThat(histogram[0], is(1L));
+			assertThat(histogram[AgentOverheadInformationData.getBucket(100L)], is(1L));
+			assertThat(monitor.getQueueSizeP99(), is(128L));
+		}
+
+		@Test
+		public void send() {
+			monitor.recordSend(System.nanoTime());
+
+			assertThat(monitor.getSendCount(), is(1L));
+		}
+
+		@Test
+		public void droppedBatches() {
+			monitor.recordDroppedBatch();
+			monitor.recordDroppedBatch();
+
+			assertThat(monitor.getDroppedBatches(), is(2L));
+			assertThat(monitor.getCumulativeOverhead().getDroppedBatches(), is(2L));
+		}
+	}
+
+}
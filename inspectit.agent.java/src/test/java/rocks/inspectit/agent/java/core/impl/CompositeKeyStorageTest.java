@@ -0,0 +1,133 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.mockito.InjectMocks;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class CompositeKeyStorageTest extends TestBase {
+
+	@InjectMocks
+	CompositeKeyStorage<Object> storage;
+
+	public class Get extends CompositeKeyStorageTest {
+
+		@Test
+		public void nothingStored() {
+			assertThat(storage.get(1L, 2L, null), is(nullValue()));
+			assertThat(storage.get(1L, 2L, "prefix"), is(nullValue()));
+			assertThat(storage.isEmpty(), is(true));
+		}
+
+		@Test
+		public void noPrefix() {
+			Object value = new Object();
+
+			int size = storage.put(1L, 2L, null, value);
+
+			assertThat(size, is(1));
+			assertThat(storage.get(1L, 2L, null), is(value));
+			assertThat(storage.get(2L, 1L, null), is(nullValue()));
+			assertThat(storage.get(1L, 2L, "prefix"), is(nullValue()));
+		}
+
+		@Test
+		public void prefix() {
+			Object value = new Object();
+			Object otherValue = new Object();
+
+			storage.put(1L, 2L, "prefix", value);
+			int size = storage.put(1L, 2L, "otherPrefix", otherValue);
+
+			assertThat(size, is(2));
+			assertThat(storage.get(1L, 2L, new String("prefix")), is(value));
+			assertThat(storage.get(1L, 2L, "otherPrefix"), is(otherValue));
+			assertThat(storage.get(1L, 2L, null), is(nullValue()));
+		}
+
+	}
+
+	public class Put extends CompositeKeyStorageTest {
+
+		@Test
+		public void replaceDoesNotChangeSize() {
+			Object value = new Object();
+			Object otherValue = new Object();
+
+			storage.put(1L, 2L, null, value);
+			int size = storage.put(1L, 2L, null, otherValue);
+
+			assertThat(size, is(1));
+			assertThat(storage.size(), is(1));
+			assertThat(storage.get(1L, 2L, null), is(otherValue));
+		}
+
+		@Test
+		public void differentKeys() {
+			Object first = new Object();
+			Object second = new Object();
+			Object third = new Object();
+
+			storage.put(1L, 2L, null, first);
+			storage.put(2L, 1L, null, second);
+			storage.put(1L, 3L, "prefix", third);
+
+			assertThat(storage.size(), is(3));
+			assertThat(storage.values(), containsInAnyOrder(first, second, third));
+		}
+
+	}
+
+	public class PutIfAbsent extends CompositeKeyStorageTest {
+
+		@Test
+		public void absent() {
+			Object value = new Object();
+
+			Object existing = storage.putIfAbsent(1L, 2L, "prefix", value);
+
+			assertThat(existing, is(nullValue()));
+			assertThat(storage.size(), is(1));
+			assertThat(storage.get(1L, 2L, "prefix"), is(value));
+		}
+
+		@Test
+		public void present() {
+			Object value = new Object();
+			Object otherValue = new Object();
+
+			storage.putIfAbsent(1L, 2L, null, value);
+			Object existing = storage.putIfAbsent(1L, 2L, null, otherValue);
+
+			assertThat(existing, is(value));
+			assertThat(storage.size(), is(1));
+			assertThat(storage.get(1L, 2L, null), is(value));
+		}
+
+	}
+
+	public class Clear extends CompositeKeyStorageTest {
+
+		@Test
+		public void clear() {
+			storage.put(1L, 2L, null, new Object());
+			storage.put(1L, 2L, "prefix", new Object());
+
+			storage.clear();
+
+			assertThat(storage.size(), is(0));
+			assertThat(storage.isEmpty(), is(true));
+			assertThat(storage.values(), is(empty()));
+			assertThat(storage.get(1L, 2L, null), is(nullValue()));
+		}
+
+	}
+
+}
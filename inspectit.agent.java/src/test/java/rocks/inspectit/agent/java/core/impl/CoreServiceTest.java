@@ -3,7 +3,11 @@ package rocks.inspectit.agent.java.core.impl;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -15,6 +19,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.slf4j.Logger;
@@ -25,11 +30,13 @@ import rocks.inspectit.agent.java.buffer.IBufferStrategy;
 import rocks.inspectit.agent.java.config.StorageException;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
 import rocks.inspectit.agent.java.core.IObjectStorage;
 import rocks.inspectit.agent.java.core.IPlatformManager;
 import rocks.inspectit.agent.java.core.ListListener;
 import rocks.inspectit.agent.java.sending.ISendingStrategy;
 import rocks.inspectit.agent.java.sensor.method.timer.PlainTimerStorage;
+import rocks.inspectit.agent.java.spool.ISpool;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.ExceptionEvent;
 import rocks.inspectit.shared.all.communication.MethodSensorData;
@@ -65,6 +72,12 @@ public class CoreServiceTest extends TestBase {
 	@Mock
 	private IPlatformManager platformManager;
 
+	@Mock
+	private IAgentOverheadMonitor agentOverheadMonitor;
+
+	@Mock
+	private ISpool spool;
+
 	@BeforeMethod
 	public void sendingStrategyMock() {
 		Iterator<ISendingStrategy> itr = mock(Iterator.class);
@@ -228,15 +241,13 @@ public class CoreServiceTest extends TestBase {
 
 	@Test
 	public void verifyListListenerMethodData() {
-		ListListener<TimerData> listener = mock(ListListener.class);
+		ListListener listener = mock(ListListener.class);
 		TimerData timerData = new TimerData();
-		List<TimerData> dataList = new ArrayList<TimerData>();
-		dataList.add(timerData);
 
 		coreService.addListListener(listener);
 		coreService.addMethodSensorData(0, 0, null, timerData);
 
-		verify(listener, times(1)).contentChanged(dataList);
+		verify(listener, times(1)).contentChanged(1);
 
 		coreService.removeListListener(listener);
 
@@ -246,15 +257,13 @@ public class CoreServiceTest extends TestBase {
 
 	@Test
 	public void verifyListListenerPlatformData() {
-		ListListener<SystemSensorData> listener = mock(ListListener.class);
+		ListListener listener = mock(ListListener.class);
 		CpuInformationData cpuInformationData = new CpuInformationData();
-		List<SystemSensorData> dataList = new ArrayList<SystemSensorData>();
-		dataList.add(cpuInformationData);
 
 		coreService.addListListener(listener);
 		coreService.addPlatformSensorData(0, cpuInformationData);
 
-		verify(listener, times(1)).contentChanged(dataList);
+		verify(listener, times(1)).contentChanged(1);
 
 		coreService.removeListListener(listener);
 
@@ -264,18 +273,16 @@ public class CoreServiceTest extends TestBase {
 
 	@Test
 	public void verifyListListenerExceptionData() {
-		ListListener<ExceptionSensorData> listener = mock(ListListener.class);
+		ListListener listener = mock(ListListener.class);
 		ExceptionSensorData exceptionSensorData = new ExceptionSensorData();
 		exceptionSensorData.setThrowableType("MyException");
 		exceptionSensorData.setThrowableIdentityHashCode(1234);
 		exceptionSensorData.setExceptionEvent(ExceptionEvent.CREATED);
-		List<ExceptionSensorData> dataList = new ArrayList<ExceptionSensorData>();
-		dataList.add(exceptionSensorData);
 
 		coreService.addListListener(listener);
 		coreService.addExceptionSensorData(0, exceptionSensorData.getThrowableIdentityHashCode(), exceptionSensorData);
 
-		verify(listener, times(1)).contentChanged(dataList);
+		verify(listener, times(1)).contentChanged(1);
 
 		coreService.removeListListener(listener);
 
@@ -285,15 +292,13 @@ public class CoreServiceTest extends TestBase {
 
 	@Test
 	public void verifyListListenerObjectStorageData() {
-		ListListener<IObjectStorage> listener = mock(ListListener.class);
+		ListListener listener = mock(ListListener.class);
 		PlainTimerStorage timerStorage = new PlainTimerStorage(null, 0, 0, 0, Collections.<ParameterContentData> emptyList(), false);
-		List<IObjectStorage> storageList = new ArrayList<IObjectStorage>();
-		storageList.add(timerStorage);
 
 		coreService.addListListener(listener);
 		coreService.addObjectStorage(0, 0, null, timerStorage);
 
-		verify(listener, times(1)).contentChanged(storageList);
+		verify(listener, times(1)).contentChanged(1);
 
 		coreService.removeListListener(listener);
 
@@ -367,4 +372,116 @@ public class CoreServiceTest extends TestBase {
 		assertThat(objectStorage, is(equalTo(((IObjectStorage) timerStorage))));
 	}
 
+
+	@Test
+	public void spoolWhenDisconnected() throws ServerUnavailableException {
+		List<DefaultData> dataList = Collections.<DefaultData> singletonList(new TimerData());
+		when(bufferStrategy.hasNext()).thenReturn(true, false);
+		when(bufferStrategy.next()).thenReturn(dataList);
+		when(connection.isConnected()).thenReturn(false);
+		when(spool.isActive()).thenReturn(true);
+
+		coreService.send();
+
+		verify(spool, times(1)).spool(dataList);
+		verify(spool, times(1)).flush();
+		verify(connection, never()).sendDataObjects(dataList);
+	}
+
+	@Test
+	public void keepInBufferWhenDisconnectedAndSpoolNotActive() throws ServerUnavailableException {
+		when(bufferStrategy.hasNext()).thenReturn(true, false);
+		when(connection.isConnected()).thenReturn(false);
+		when(spool.isActive()).thenReturn(false);
+
+		coreService.send();
+
+		verify(bufferStrategy, never()).next();
+		verify(spool, never()).spool(any(List.class));
+		verify(spool, never()).flush();
+	}
+
+	@Test
+	public void spoolWhenSpoolNotEmpty() throws ServerUnavailableException {
+		List<DefaultData> dataList = Collections.<DefaultData> singletonList(new TimerData());
+		List<DefaultData> spooledList = Collections.<DefaultData> singletonList(new TimerData());
+		when(bufferStrategy.hasNext()).thenReturn(true, false);
+		when(bufferStrategy.next()).thenReturn(dataList);
+		when(connection.isConnected()).thenReturn(true);
+		when(spool.hasNext()).thenReturn(true);
+		when(spool.next()).thenReturn(spooledList, (List<DefaultData>) null);
+
+		coreService.send();
+
+		InOrder inOrder = inOrder(spool, connection);
+		inOrder.verify(spool, times(1)).spool(dataList);
+		inOrder.verify(connection, times(1)).sendDataObjects(spooledList);
+		inOrder.verify(spool, times(1)).remove();
+		verify(connection, never()).sendDataObjects(dataList);
+		verify(spool, times(1)).flush();
+	}
+
+	@Test
+	public void sendDirectlyWhenSpoolEmpty() throws ServerUnavailableException {
+		List<DefaultData> dataList = Collections.<DefaultData> singletonList(new TimerData());
+		when(bufferStrategy.hasNext()).thenReturn(true, false);
+		when(bufferStrategy.next()).thenReturn(dataList);
+		when(connection.isConnected()).thenReturn(true);
+		when(spool.hasNext()).thenReturn(false);
+
+		coreService.send();
+
+		verify(connection, times(1)).sendDataObjects(dataList);
+		verify(spool, never()).spool(any(List.class));
+		verify(spool, never()).next();
+	}
+
+	@Test
+	public void replayLimitedPerInterval() throws ServerUnavailableException {
+		List<DefaultData> spooledList = Collections.<DefaultData> singletonList(new TimerData());
+		when(bufferStrategy.hasNext()).thenReturn(false);
+		when(connection.isConnected()).thenReturn(true);
+		when(spool.hasNext()).thenReturn(true);
+		when(spool.next()).thenReturn(spooledList);
+
+		coreService.send();
+		// second call is in the same interval
+		coreService.send();
+
+		verify(connection, times(10)).sendDataObjects(spooledList);
+		verify(spool, times(10)).remove();
+	}
+
+	@Test
+	public void replayIncludesLiveBatchesSpooledWhileConnected() throws ServerUnavailableException {
+		List<DefaultData> dataList = Collections.<DefaultData> singletonList(new TimerData());
+		List<DefaultData> spooledList = Collections.<DefaultData> singletonList(new TimerData());
+		when(bufferStrategy.hasNext()).thenReturn(true, true, true, false);
+		when(bufferStrategy.next()).thenReturn(dataList);
+		when(connection.isConnected()).thenReturn(true);
+		when(spool.hasNext()).thenReturn(true);
+		when(spool.next()).thenReturn(spooledList);
+
+		coreService.send();
+
+		verify(spool, times(3)).spool(dataList);
+		verify(connection, times(13)).sendDataObjects(spooledList);
+		verify(spool, times(13)).remove();
+	}
+
+	@Test
+	public void spooledBatchNotRemovedWhenSendingFails() throws ServerUnavailableException {
+		List<DefaultData> spooledList = Collections.<DefaultData> singletonList(new TimerData());
+		when(bufferStrategy.hasNext()).thenReturn(false);
+		when(connection.isConnected()).thenReturn(true);
+		when(spool.hasNext()).thenReturn(true);
+		when(spool.next()).thenReturn(spooledList);
+		doThrow(new ServerUnavailableException()).when(connection).sendDataObjects(spooledList);
+
+		coreService.send();
+
+		verify(connection, times(1)).sendDataObjects(spooledList);
+		verify(spool, never()).remove();
+	}
+
 }
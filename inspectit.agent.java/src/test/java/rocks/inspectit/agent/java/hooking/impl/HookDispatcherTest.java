@@ -27,6 +27,7 @@ import rocks.inspectit.agent.java.analyzer.classes.MyTestException;
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
 import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
 import rocks.inspectit.agent.java.config.impl.SpecialSensorConfig;
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
 import rocks.inspectit.agent.java.core.ICoreService;
 import rocks.inspectit.agent.java.hooking.IConstructorHook;
 import rocks.inspectit.agent.java.hooking.IMethodHook;
@@ -60,6 +61,9 @@ public class HookDispatcherTest extends TestBase {
 	@Mock
 	ExceptionSensor exceptionSensor;
 
+	@Mock
+	IAgentOverheadMonitor agentOverheadMonitor;
+
 	public class MethodHook extends HookDispatcherTest {
 
 		@Test
@@ -129,6 +133,39 @@ public class HookDispatcherTest extends TestBase {
 			verifyNoMoreInteractions(registeredSensorConfig, methodHook);
 		}
 
+		@Test
+		public void dispatchOneMethodHookOverheadMonitored() {
+			long sensorTypeId = 7L;
+			IMethodSensor methodSensor = mock(IMethodSensor.class);
+			IMethodHook methodHook = mock(IMethodHook.class);
+			MethodSensorTypeConfig methodSensorConfig = mock(MethodSensorTypeConfig.class);
+			when(methodSensor.getHook()).thenReturn(methodHook);
+			when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorConfig);
+			when(methodSensorConfig.getId()).thenReturn(sensorTypeId);
+			when(agentOverheadMonitor.isActive()).thenReturn(true);
+			when(agentOverheadMonitor.getAllocatedBytes()).thenReturn(100L);
+
+			RegisteredSensorConfig registeredSensorConfig = mock(RegisteredSensorConfig.class);
+			when(registeredSensorConfig.getMethodSensors()).thenReturn(Collections.singletonList(methodSensor));
+			when(registeredSensorConfig.getMethodSensorsReverse()).thenReturn(Collections.singletonList(methodSensor));
+
+			int methodId = 3;
+			Object object = mock(Object.class);
+			Object[] parameters = new Object[0];
+			Object returnValue = mock(Object.class);
+
+			hookDispatcher.addMapping(methodId, registeredSensorConfig);
+
+			hookDispatcher.dispatchMethodBeforeBody(methodId, object, parameters);
+			hookDispatcher.dispatchFirstMethodAfterBody(methodId, object, parameters, returnValue);
+			hookDispatcher.dispatchSecondMethodAfterBody(methodId, object, parameters, returnValue);
+
+			verify(methodHook, times(1)).beforeBody(methodId, sensorTypeId, object, parameters, registeredSensorConfig);
+			verify(methodHook, times(1)).firstAfterBody(methodId, sensorTypeId, object, parameters, returnValue, registeredSensorConfig);
+			verify(methodHook, times(1)).secondAfterBody(coreService, methodId, sensorTypeId, object, parameters, returnValue, registeredSensorConfig);
+			verify(agentOverheadMonitor, times(3)).recordDispatch(eq(sensorTypeId), anyLong(), eq(100L));
+		}
+
 		@Test
 		public void dispatchManyMethodHooksWithoutInvocationTrace() {
 			IMethodHook methodHookOne = mock(IMethodHook.class);
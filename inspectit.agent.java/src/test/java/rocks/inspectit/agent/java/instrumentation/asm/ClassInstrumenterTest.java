@@ -65,6 +65,16 @@ public class ClassInstrumenterTest extends AbstractInstrumentationTest {
 		}
 	};
 
+	protected static final Answer<MethodVisitor> METHOD_INSTRUMENTER_NO_ARGUMENTS_ANSWER = new Answer<MethodVisitor>() {
+
+		@Override
+		public MethodVisitor answer(InvocationOnMock invocation) throws Throwable {
+			Object[] arguments = invocation.getArguments();
+			SensorInstrumentationPoint sip = (SensorInstrumentationPoint) arguments[0];
+			return getMethodInstrumenter((MethodVisitor) arguments[1], (Integer) arguments[2], (String) arguments[3], (String) arguments[4], sip.getId(), (Boolean) arguments[5], false);
+		}
+	};
+
 	protected static final Answer<MethodVisitor> CONSTRUCTOR_INSTRUMENTER_ANSWER = new Answer<MethodVisitor>() {
 
 		@Override
@@ -619,6 +629,145 @@ public class ClassInstrumenterTest extends AbstractInstrumentationTest {
 			verifyNoMoreInteractions(hookDispatcher);
 		}
 
+		// no argument access
+
+		@Test
+		public void noArgumentsStringNullParameter() throws Exception {
+			String methodName = "stringNullParameter";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName);
+			doAnswer(METHOD_INSTRUMENTER_NO_ARGUMENTS_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(noArgumentsStringNullParameter_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(noArgumentsStringNullParameter_CLASS_FQN, b);
+			Object result = this.callMethod(testClass, methodName, null);
+
+			assertThat(result, is((Object) "stringNullParameter"));
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, testClass);
+			verify(hookDispatcher).dispatchFirstMethodAfterBody(methodId, testClass);
+			verify(hookDispatcher).dispatchSecondMethodAfterBody(methodId, testClass);
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
+		@Test
+		public void noArgumentsDoubleNullParameter() throws Exception {
+			String methodName = "doubleNullParameter";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName);
+			doAnswer(METHOD_INSTRUMENTER_NO_ARGUMENTS_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(noArgumentsDoubleNullParameter_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(noArgumentsDoubleNullParameter_CLASS_FQN, b);
+			Object result = this.callMethod(testClass, methodName, null);
+
+			assertThat(result, is((Object) 5.3D));
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, testClass);
+			verify(hookDispatcher).dispatchFirstMethodAfterBody(methodId, testClass);
+			verify(hookDispatcher).dispatchSecondMethodAfterBody(methodId, testClass);
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
+		@Test
+		public void noArgumentsVoidNullParameterStatic() throws Exception {
+			String methodName = "voidNullParameterStatic";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName);
+			doAnswer(METHOD_INSTRUMENTER_NO_ARGUMENTS_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(noArgumentsVoidNullParameterStatic_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(noArgumentsVoidNullParameterStatic_CLASS_FQN, b);
+			this.callMethod(testClass, methodName, null);
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, null);
+			verify(hookDispatcher).dispatchFirstMethodAfterBody(methodId, null);
+			verify(hookDispatcher).dispatchSecondMethodAfterBody(methodId, null);
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
+		@Test
+		public void noArgumentsMixedTwoParameters() throws Exception {
+			String methodName = "mixedTwoParameters";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName, int.class, boolean.class);
+			doAnswer(METHOD_INSTRUMENTER_NO_ARGUMENTS_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(noArgumentsMixedTwoParameters_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(noArgumentsMixedTwoParameters_CLASS_FQN, b);
+			this.callMethod(testClass, methodName, new Object[] { "int", "boolean" });
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, testClass);
+			verify(hookDispatcher).dispatchFirstMethodAfterBody(methodId, testClass);
+			verify(hookDispatcher).dispatchSecondMethodAfterBody(methodId, testClass);
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
+		@Test
+		public void noArgumentsUnexpectedExceptionTrowing() throws Exception {
+			String methodName = "unexpectedExceptionThrowing";
+			long methodId = 9L;
+
+			when(sip.getId()).thenReturn(methodId);
+			prepareConfigurationMockMethod(config, InstrumentationTestClass.class, methodName);
+			doAnswer(METHOD_INSTRUMENTER_NO_ARGUMENTS_ANSWER).when(instrumenterFactory).getMethodVisitor(eq(sip), Matchers.<MethodVisitor> any(), anyInt(), anyString(), anyString(), anyBoolean());
+			when(config.getAllInstrumentationPoints()).thenReturn(Collections.<IMethodInstrumentationPoint> singleton(sip));
+
+			ClassReader cr = new ClassReader(noArgumentsUnexpectedExceptionTrowing_CLASS_FQN);
+			prepareWriter(cr, null, false, config);
+			cr.accept(classInstrumenter, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+			assertThat(classInstrumenter.isByteCodeAdded(), is(true));
+			byte b[] = classWriter.toByteArray();
+
+			// now call this method
+			Object testClass = this.createInstance(noArgumentsUnexpectedExceptionTrowing_CLASS_FQN, b);
+			try {
+				this.callMethod(testClass, methodName, null);
+			} catch (Throwable t) {
+			}
+
+			verify(hookDispatcher).dispatchMethodBeforeBody(methodId, testClass);
+			verify(hookDispatcher).dispatchFirstMethodAfterBody(methodId, testClass);
+			verify(hookDispatcher).dispatchSecondMethodAfterBody(methodId, testClass);
+			verifyNoMoreInteractions(hookDispatcher);
+		}
+
 		// exception no enhanced
 
 		@Test
@@ -1172,6 +1321,15 @@ public class ClassInstrumenterTest extends AbstractInstrumentationTest {
 		};
 	}
 
+	protected static MethodInstrumenter getMethodInstrumenter(MethodVisitor superMethodVisitor, int access, String name, String desc, long id, boolean enhancedExceptionSensor, boolean argumentAccess) {
+		return new MethodInstrumenter(superMethodVisitor, access, name, desc, id, enhancedExceptionSensor, argumentAccess) {
+			@Override
+			protected void loadHookDispatcher() {
+				mv.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(ClassInstrumenterTest.class), "dispatcher", Type.getDescriptor(IHookDispatcher.class));
+			}
+		};
+	}
+
 	protected static ConstructorInstrumenter getConstructorInstrumenter(MethodVisitor superMethodVisitor, int access, String name, String desc, long id, boolean enhancedExceptionSensor) {
 		return new ConstructorInstrumenter(superMethodVisitor, access, name, desc, id, enhancedExceptionSensor) {
 			@Override
@@ -4,16 +4,22 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import info.novatec.inspectit.org.objectweb.asm.MethodVisitor;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.testng.annotations.Test;
 
 import rocks.inspectit.agent.java.instrumentation.InstrumenterFactory;
+import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
 import rocks.inspectit.shared.all.instrumentation.config.IMethodInstrumentationPoint;
+import rocks.inspectit.shared.all.instrumentation.config.impl.MethodSensorTypeConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.SensorInstrumentationPoint;
 import rocks.inspectit.shared.all.instrumentation.config.impl.SpecialInstrumentationPoint;
 import rocks.inspectit.shared.all.instrumentation.config.impl.SubstitutionDescriptor;
@@ -38,6 +44,15 @@ public class InstrumenterFactoryTest extends TestBase {
 	@Mock
 	MethodVisitor superMethodVisitor;
 
+	@Mock
+	List<IMethodSensor> methodSensors;
+
+	@Mock
+	IMethodSensor methodSensor;
+
+	@Mock
+	MethodSensorTypeConfig methodSensorTypeConfig;
+
 	public static class GetMethodVisitor extends InstrumenterFactoryTest {
 
 		@Test
@@ -48,6 +63,7 @@ public class InstrumenterFactoryTest extends TestBase {
 			boolean enhancedExceptionSensor = false;
 			when(sensorInstrumentationPoint.isConstructor()).thenReturn(false);
 			when(sensorInstrumentationPoint.getId()).thenReturn(id);
+			when(sensorInstrumentationPoint.getSensorIds()).thenReturn(new long[0]);
 
 			MethodVisitor methodVisitor = factory.getMethodVisitor(sensorInstrumentationPoint, superMethodVisitor, 0, name, desc, enhancedExceptionSensor);
 
@@ -65,6 +81,7 @@ public class InstrumenterFactoryTest extends TestBase {
 			boolean enhancedExceptionSensor = true;
 			when(sensorInstrumentationPoint.isConstructor()).thenReturn(false);
 			when(sensorInstrumentationPoint.getId()).thenReturn(id);
+			when(sensorInstrumentationPoint.getSensorIds()).thenReturn(new long[0]);
 
 			MethodVisitor methodVisitor = factory.getMethodVisitor(sensorInstrumentationPoint, superMethodVisitor, 0, name, desc, enhancedExceptionSensor);
 
@@ -74,6 +91,70 @@ public class InstrumenterFactoryTest extends TestBase {
 			assertThat(methodInstrumenter.isEnhancedExceptionSensor(), is(enhancedExceptionSensor));
 		}
 
+		@Test
+		public void methodNoArgumentAccess() {
+			long id = 7L;
+			long sensorId = 11L;
+			String name = "method";
+			String desc = "()V";
+			when(sensorInstrumentationPoint.isConstructor()).thenReturn(false);
+			when(sensorInstrumentationPoint.getId()).thenReturn(id);
+			when(sensorInstrumentationPoint.getSensorIds()).thenReturn(new long[] { sensorId });
+			when(sensorInstrumentationPoint.isPropertyAccess()).thenReturn(false);
+			when(methodSensors.iterator()).thenReturn(Collections.singletonList(methodSensor).iterator());
+			when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorTypeConfig);
+			when(methodSensorTypeConfig.getId()).thenReturn(sensorId);
+			when(methodSensor.isArgumentAccess()).thenReturn(false);
+
+			MethodVisitor methodVisitor = factory.getMethodVisitor(sensorInstrumentationPoint, superMethodVisitor, 0, name, desc, false);
+
+			assertThat(methodVisitor, is(instanceOf(MethodInstrumenter.class)));
+			MethodInstrumenter methodInstrumenter = (MethodInstrumenter) methodVisitor;
+			assertThat(methodInstrumenter.getMethodId(), is(id));
+			assertThat(methodInstrumenter.isArgumentAccess(), is(false));
+		}
+
+		@Test
+		public void methodSensorArgumentAccess() {
+			long id = 7L;
+			long sensorId = 11L;
+			String name = "method";
+			String desc = "()V";
+			when(sensorInstrumentationPoint.isConstructor()).thenReturn(false);
+			when(sensorInstrumentationPoint.getId()).thenReturn(id);
+			when(sensorInstrumentationPoint.getSensorIds()).thenReturn(new long[] { sensorId });
+			when(sensorInstrumentationPoint.isPropertyAccess()).thenReturn(false);
+			when(methodSensors.iterator()).thenReturn(Collections.singletonList(methodSensor).iterator());
+			when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorTypeConfig);
+			when(methodSensorTypeConfig.getId()).thenReturn(sensorId);
+			when(methodSensor.isArgumentAccess()).thenReturn(true);
+
+			MethodVisitor methodVisitor = factory.getMethodVisitor(sensorInstrumentationPoint, superMethodVisitor, 0, name, desc, false);
+
+			assertThat(methodVisitor, is(instanceOf(MethodInstrumenter.class)));
+			MethodInstrumenter methodInstrumenter = (MethodInstrumenter) methodVisitor;
+			assertThat(methodInstrumenter.getMethodId(), is(id));
+			assertThat(methodInstrumenter.isArgumentAccess(), is(true));
+		}
+
+		@Test
+		public void methodPropertyAccess() {
+			long id = 7L;
+			String name = "method";
+			String desc = "()V";
+			when(sensorInstrumentationPoint.isConstructor()).thenReturn(false);
+			when(sensorInstrumentationPoint.getId()).thenReturn(id);
+			when(sensorInstrumentationPoint.isPropertyAccess()).thenReturn(true);
+
+			MethodVisitor methodVisitor = factory.getMethodVisitor(sensorInstrumentationPoint, superMethodVisitor, 0, name, desc, false);
+
+			assertThat(methodVisitor, is(instanceOf(MethodInstrumenter.class)));
+			MethodInstrumenter methodInstrumenter = (MethodInstrumenter) methodVisitor;
+			assertThat(methodInstrumenter.getMethodId(), is(id));
+			assertThat(methodInstrumenter.isArgumentAccess(), is(true));
+			verifyZeroInteractions(methodSensors);
+		}
+
 		@Test
 		public void constructor() {
 			long id = 7L;
@@ -1,20 +1,18 @@
 package rocks.inspectit.agent.java.sending.impl;
 
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.testng.annotations.Test;
 
+import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.core.ICoreService;
-import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
 @SuppressWarnings("PMD")
@@ -23,6 +21,9 @@ public class ListSizeStrategyTest extends TestBase {
 	@Mock
 	private ICoreService coreService;
 
+	@Mock
+	private IConnection connection;
+
 	@InjectMocks
 	private ListSizeStrategy sendingStrategy;
 
@@ -37,42 +38,49 @@ public class ListSizeStrategyTest extends TestBase {
 		verifyNoMoreInteractions(coreService);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Test
 	public void contentChanged() {
 		sendingStrategy.start(coreService);
-		List<List<DefaultData>> list = mock(List.class);
-
-		sendingStrategy.contentChanged(list);
 
-		verify(list).size();
+		sendingStrategy.contentChanged(10);
 
-		verifyNoMoreInteractions(list);
+		verify(coreService).addListListener(sendingStrategy);
+		verifyNoMoreInteractions(coreService);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Test
 	public void fireSending() {
 		sendingStrategy.start(coreService);
-		List<List<DefaultData>> list = mock(List.class);
-		when(list.size()).thenReturn(11);
 
-		sendingStrategy.contentChanged(list);
+		sendingStrategy.contentChanged(11);
 
 		verify(coreService).sendData();
 	}
 
-	@SuppressWarnings("unchecked")
 	@Test
 	public void fireSendingModifiedListSize() {
 		Map<String, String> settings = new HashMap<String, String>();
 		settings.put("size", "3");
 		sendingStrategy.init(settings);
 		sendingStrategy.start(coreService);
-		List<List<DefaultData>> list = mock(List.class);
-		when(list.size()).thenReturn(5);
 
-		sendingStrategy.contentChanged(list);
+		sendingStrategy.contentChanged(5);
+
+		verify(coreService).sendData();
+	}
+
+	@Test
+	public void backpressureDelaysSending() {
+		when(connection.getBackpressure()).thenReturn(100);
+		sendingStrategy.start(coreService);
+
+		sendingStrategy.contentChanged(11);
+		sendingStrategy.contentChanged(40);
+
+		verify(coreService).addListListener(sendingStrategy);
+		verifyNoMoreInteractions(coreService);
+
+		sendingStrategy.contentChanged(41);
 
 		verify(coreService).sendData();
 	}
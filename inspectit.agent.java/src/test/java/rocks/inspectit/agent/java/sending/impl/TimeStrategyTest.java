@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.testng.annotations.Test;
 
 import rocks.inspectit.agent.java.IThreadTransformHelper;
+import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.core.ICoreService;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
@@ -24,6 +25,9 @@ public class TimeStrategyTest extends TestBase {
 	@Mock
 	private IThreadTransformHelper threadTransformHelper;
 
+	@Mock
+	private IConnection connection;
+
 	@InjectMocks
 	private TimeStrategy sendingStrategy;
 
@@ -0,0 +1,334 @@
+package rocks.inspectit.agent.java.sensor.method.invocationsequence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class InvocationSequenceBuilderTest extends TestBase {
+
+	static final long ROOT_METHOD_ID = 1L;
+
+	static final long METHOD_ID = 2L;
+
+	static final long OTHER_METHOD_ID = 3L;
+
+	static final long PLATFORM_ID = 10L;
+
+	static final long SENSOR_TYPE_ID = 11L;
+
+	InvocationSequenceBuilder builder;
+
+	void enter(long methodId, double start) {
+		builder.enter(methodId, 0L);
+		builder.setCurrentStart(start);
+	}
+
+	public class Build extends InvocationSequenceBuilderTest {
+
+		@Test
+		public void tree() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			enter(OTHER_METHOD_ID, 2d);
+			builder.exit(3d);
+			builder.exit(4d);
+			enter(OTHER_METHOD_ID, 5d);
+			builder.exit(6d);
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getMethodIdent(), is(ROOT_METHOD_ID));
+			assertThat(root.getPlatformIdent(), is(PLATFORM_ID));
+			assertThat(root.getSensorTypeIdent(), is(SENSOR_TYPE_ID));
+			assertThat(root.getChildCount(), is(3L));
+			assertThat(root.getNestedSequences(), hasSize(2));
+			InvocationSequenceData first = root.getNestedSequences().get(0);
+			assertThat(first.getMethodIdent(), is(METHOD_ID));
+			assertThat(first.getParentSequence(), is(root));
+			assertThat(first.getChildCount(), is(1L));
+			assertThat(first.getStart(), is(1d));
+			assertThat(first.getEnd(), is(4d));
+			assertThat(first.getDuration(), is(3d));
+			InvocationSequenceData nested = first.getNestedSequences().get(0);
+			assertThat(nested.getMethodIdent(), is(OTHER_METHOD_ID));
+			assertThat(nested.getParentSequence(), is(first));
+			assertThat(nested.getChildCount(), is(0L));
+			InvocationSequenceData second = root.getNestedSequences().get(1);
+			assertThat(second.getMethodIdent(), is(OTHER_METHOD_ID));
+			assertThat(second.getNestedSequences(), is(empty()));
+		}
+
+		@Test
+		public void data() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			TimerData timerData = new TimerData();
+			HttpTimerData httpTimerData = new HttpTimerData();
+			SqlStatementData sqlStatementData = new SqlStatementData();
+			ExceptionSensorData exceptionSensorData = new ExceptionSensorData();
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			builder.setTimerData(timerData, false);
+			builder.setTimerData(httpTimerData, true);
+			enter(METHOD_ID, 1d);
+			builder.setSqlStatementData(sqlStatementData);
+			builder.setSqlStatementData(new SqlStatementData());
+			builder.addExceptionSensorData(exceptionSensorData);
+			builder.exit(2d);
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getTimerData(), is((TimerData) httpTimerData));
+			InvocationSequenceData child = root.getNestedSequences().get(0);
+			assertThat(child.getTimerData(), is(nullValue()));
+			assertThat(child.getSqlStatementData(), is(sqlStatementData));
+			assertThat(child.getExceptionSensorDataObjects(), contains(exceptionSensorData));
+		}
+
+		@Test
+		public void reset() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			builder.setTimerData(new TimerData(), false);
+			builder.exit(2d);
+			builder.reset();
+
+			assertThat(builder.isStarted(), is(false));
+
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getNestedSequences(), is(empty()));
+			assertThat(root.getTimerData(), is(nullValue()));
+			assertThat(root.getChildCount(), is(0L));
+		}
+	}
+
+	public class Limits extends InvocationSequenceBuilderTest {
+
+		@Test
+		public void maxNodes() {
+			builder = new InvocationSequenceBuilder(2, 0, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			boolean first = builder.enter(METHOD_ID, 0L);
+			builder.exit(1d);
+			boolean second = builder.enter(METHOD_ID, 0L);
+
+			assertThat(first, is(true));
+			assertThat(second, is(false));
+			assertThat(builder.isSkipping(), is(true));
+
+			builder.exitSkipped();
+
+			assertThat(builder.isSkipping(), is(false));
+			assertThat(builder.getSize(), is(2));
+			assertThat(builder.getDroppedNodes(), is(1L));
+		}
+
+		@Test
+		public void maxDepth() {
+			builder = new InvocationSequenceBuilder(0, 2, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			boolean first = builder.enter(METHOD_ID, 0L);
+			boolean nested = builder.enter(OTHER_METHOD_ID, 0L);
+			boolean nestedInSkipped = builder.enter(OTHER_METHOD_ID, 0L);
+			builder.exitSkipped();
+			builder.exitSkipped();
+
+			assertThat(first, is(true));
+			assertThat(nested, is(false));
+			assertThat(nestedInSkipped, is(false));
+			assertThat(builder.isSkipping(), is(false));
+			assertThat(builder.getCurrentMethodId(), is(METHOD_ID));
+			assertThat(builder.getDroppedNodes(), is(2L));
+
+			builder.exit(1d);
+			boolean sibling = builder.enter(OTHER_METHOD_ID, 0L);
+
+			assertThat(sibling, is(true));
+		}
+
+		@Test
+		public void notSampled() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, false);
+			boolean nested = builder.enter(METHOD_ID, 0L);
+			builder.markErrorOccurred();
+			builder.exitSkipped();
+
+			assertThat(nested, is(false));
+			assertThat(builder.isSampled(), is(false));
+			assertThat(builder.isErrorOccurred(), is(true));
+			assertThat(builder.getSize(), is(1));
+			assertThat(builder.getDroppedNodes(), is(0L));
+
+			builder.reset();
+
+			assertThat(builder.isSampled(), is(true));
+			assertThat(builder.isErrorOccurred(), is(false));
+		}
+
+		@Test
+		public void growsOverInitialCapacity() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			for (int i = 0; i < 1000; i++) {
+				enter(METHOD_ID, i);
+				builder.exit(i + 1);
+			}
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getNestedSequences(), hasSize(1000));
+			assertThat(root.getChildCount(), is(1000L));
+		}
+	}
+
+	public class Collapse extends InvocationSequenceBuilderTest {
+
+		@Test
+		public void repeatedLeaves() {
+			builder = new InvocationSequenceBuilder(0, 0, true);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			builder.exit(2d);
+			enter(METHOD_ID, 3d);
+			builder.exit(5d);
+			enter(METHOD_ID, 6d);
+			builder.exit(9d);
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getNestedSequences(), hasSize(1));
+			assertThat(root.getChildCount(), is(1L));
+			InvocationSequenceData child = root.getNestedSequences().get(0);
+			assertThat(child.getCollapsedCount(), is(2L));
+			assertThat(child.getStart(), is(1d));
+			assertThat(child.getEnd(), is(9d));
+			assertThat(child.getDuration(), is(6d));
+		}
+
+		@Test
+		public void differentMethods() {
+			builder = new InvocationSequenceBuilder(0, 0, true);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			builder.exit(2d);
+			enter(OTHER_METHOD_ID, 3d);
+			builder.exit(4d);
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getNestedSequences(), hasSize(2));
+		}
+
+		@Test
+		public void withData() {
+			builder = new InvocationSequenceBuilder(0, 0, true);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			builder.setTimerData(new TimerData(), false);
+			builder.exit(2d);
+			enter(METHOD_ID, 3d);
+			builder.exit(4d);
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getNestedSequences(), hasSize(2));
+		}
+
+		@Test
+		public void withChildren() {
+			builder = new InvocationSequenceBuilder(0, 0, true);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			builder.exit(2d);
+			enter(METHOD_ID, 3d);
+			enter(OTHER_METHOD_ID, 4d);
+			builder.exit(5d);
+			builder.exit(6d);
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getNestedSequences(), hasSize(2));
+			assertThat(root.getChildCount(), is(3L));
+		}
+
+		@Test
+		public void disabled() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			builder.exit(2d);
+			enter(METHOD_ID, 3d);
+			builder.exit(4d);
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getNestedSequences(), hasSize(2));
+			assertThat(root.getNestedSequences().get(0).getCollapsedCount(), is(0L));
+		}
+	}
+
+	public class RemoveCurrent extends InvocationSequenceBuilderTest {
+
+		@Test
+		public void childrenConnectedToParent() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			enter(OTHER_METHOD_ID, 2d);
+			enter(METHOD_ID, 3d);
+			builder.exit(4d);
+			builder.exit(5d);
+			builder.removeCurrent();
+
+			assertThat(builder.getCurrentMethodId(), is(ROOT_METHOD_ID));
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getChildCount(), is(2L));
+			assertThat(root.getNestedSequences(), hasSize(1));
+			InvocationSequenceData child = root.getNestedSequences().get(0);
+			assertThat(child.getMethodIdent(), is(OTHER_METHOD_ID));
+			assertThat(child.getParentSequence(), is(root));
+			assertThat(child.getStart(), is(2d));
+			assertThat(child.getChildCount(), is(1L));
+			assertThat(child.getNestedSequences().get(0).getParentSequence(), is(child));
+		}
+
+		@Test
+		public void dataMoved() {
+			builder = new InvocationSequenceBuilder(0, 0, false);
+			SqlStatementData sqlStatementData = new SqlStatementData();
+			builder.start(ROOT_METHOD_ID, 0L, PLATFORM_ID, SENSOR_TYPE_ID, true);
+			enter(METHOD_ID, 1d);
+			enter(OTHER_METHOD_ID, 2d);
+			builder.setSqlStatementData(sqlStatementData);
+			builder.exit(3d);
+
+			assertThat(builder.getCurrentSqlStatementData(), is(nullValue()));
+
+			builder.removeCurrent();
+
+			InvocationSequenceData root = builder.build();
+
+			assertThat(root.getSqlStatementData(), is(nullValue()));
+			assertThat(root.getNestedSequences().get(0).getSqlStatementData(), is(sqlStatementData));
+		}
+	}
+
+}
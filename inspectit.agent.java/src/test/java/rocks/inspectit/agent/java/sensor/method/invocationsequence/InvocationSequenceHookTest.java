@@ -136,6 +136,84 @@ public class InvocationSequenceHookTest extends TestBase {
 		assertThat(invocation.getSqlStatementData(), is(sqlStatementData));
 	}
 
+	/**
+	 * Tests that the not sampled invocation is not saved.
+	 *
+	 * @throws IdNotAvailableException
+	 */
+	@Test
+	public void notSampled() throws IdNotAvailableException {
+		long methodId1 = 3L;
+		long sensorTypeId = 11L;
+		long methodId2 = 23L;
+		Object object = mock(Object.class);
+		Object[] parameters = new Object[0];
+		Object result = mock(Object.class);
+		Map<String, Object> param = new HashMap<String, Object>();
+		param.put("samplingrate", "0");
+		invocationSequenceHook = new InvocationSequenceHook(timer, platformManager, propertyAccessor, param, false);
+
+		when(timer.getCurrentTime()).thenReturn(1000.0d, 2562.0d);
+		when(rsc.getMethodSensors()).thenReturn(Collections.singletonList(methodSensor));
+		when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorTypeConfig);
+
+		invocationSequenceHook.beforeBody(methodId1, sensorTypeId, object, parameters, rsc);
+		invocationSequenceHook.beforeBody(methodId2, sensorTypeId, object, parameters, rsc);
+		invocationSequenceHook.addMethodSensorData(0, 0, "", new TimerData());
+		invocationSequenceHook.firstAfterBody(methodId2, sensorTypeId, object, parameters, result, rsc);
+		invocationSequenceHook.secondAfterBody(coreService, methodId2, sensorTypeId, object, parameters, result, rsc);
+		invocationSequenceHook.firstAfterBody(methodId1, sensorTypeId, object, parameters, result, rsc);
+		invocationSequenceHook.secondAfterBody(coreService, methodId1, sensorTypeId, object, parameters, result, rsc);
+
+		// only root is timed
+		verify(timer, times(2)).getCurrentTime();
+		verifyZeroInteractions(coreService);
+	}
+
+	/**
+	 * Tests that the not sampled invocation with an exception is saved without children when
+	 * errors should be kept.
+	 *
+	 * @throws IdNotAvailableException
+	 */
+	@Test
+	public void notSampledKeptOnError() throws IdNotAvailableException {
+		long methodId1 = 3L;
+		long sensorTypeId = 11L;
+		long methodId2 = 23L;
+		Object object = mock(Object.class);
+		Object[] parameters = new Object[0];
+		Object result = mock(Object.class);
+		Map<String, Object> param = new HashMap<String, Object>();
+		param.put("samplingrate", "0");
+		param.put("keeperrors", "true");
+		invocationSequenceHook = new InvocationSequenceHook(timer, platformManager, propertyAccessor, param, false);
+
+		double firstTimerValue = 1000.0d;
+		double secondTimerValue = 2562.0d;
+		when(timer.getCurrentTime()).thenReturn(firstTimerValue, secondTimerValue);
+		when(rsc.getMethodSensors()).thenReturn(Collections.singletonList(methodSensor));
+		when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorTypeConfig);
+
+		invocationSequenceHook.beforeBody(methodId1, sensorTypeId, object, parameters, rsc);
+		invocationSequenceHook.beforeBody(methodId2, sensorTypeId, object, parameters, rsc);
+		invocationSequenceHook.addExceptionSensorData(0, 0, new ExceptionSensorData());
+		invocationSequenceHook.firstAfterBody(methodId2, sensorTypeId, object, parameters, result, rsc);
+		invocationSequenceHook.secondAfterBody(coreService, methodId2, sensorTypeId, object, parameters, result, rsc);
+		invocationSequenceHook.firstAfterBody(methodId1, sensorTypeId, object, parameters, result, rsc);
+		invocationSequenceHook.secondAfterBody(coreService, methodId1, sensorTypeId, object, parameters, result, rsc);
+
+		verify(timer, times(2)).getCurrentTime();
+		ArgumentCaptor<InvocationSequenceData> captor = ArgumentCaptor.forClass(InvocationSequenceData.class);
+		verify(coreService, times(1)).addMethodSensorData(eq(sensorTypeId), eq(methodId1), Matchers.<String> anyObject(), captor.capture());
+
+		InvocationSequenceData invocation = captor.getValue();
+		assertThat(invocation.getDuration(), is(secondTimerValue - firstTimerValue));
+		assertThat(invocation.getNestedSequences(), is(empty()));
+		assertThat(invocation.getChildCount(), is(0L));
+		assertThat(invocation.getSamplingRate(), is(1.0d));
+	}
+
 	/**
 	 * Tests that the invocation and child will have correct times and ids.
 	 *
@@ -0,0 +1,124 @@
+package rocks.inspectit.agent.java.sensor.method.invocationsequence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class InvocationSequenceSamplerTest extends TestBase {
+
+	static final long METHOD_ID = 1L;
+
+	static final long OTHER_METHOD_ID = 2L;
+
+	InvocationSequenceSampler sampler;
+
+	public class IsActive extends InvocationSequenceSamplerTest {
+
+		@Test
+		public void sampleAll() {
+			sampler = new InvocationSequenceSampler(1d, 0);
+
+			assertThat(sampler.isActive(), is(false));
+		}
+
+		@Test
+		public void probability() {
+			sampler = new InvocationSequenceSampler(0.5d, 0);
+
+			assertThat(sampler.isActive(), is(true));
+		}
+
+		@Test
+		public void maxPerSecond() {
+			sampler = new InvocationSequenceSampler(1d, 10);
+
+			assertThat(sampler.isActive(), is(true));
+		}
+	}
+
+	public class Sample extends InvocationSequenceSamplerTest {
+
+		@Test
+		public void probabilityZero() {
+			sampler = new InvocationSequenceSampler(0d, 0);
+
+			for (int i = 0; i < 100; i++) {
+				assertThat(sampler.sample(METHOD_ID, 0L), is(false));
+			}
+		}
+
+		@Test
+		public void probabilityOne() {
+			sampler = new InvocationSequenceSampler(1d, 0);
+
+			for (int i = 0; i < 100; i++) {
+				assertThat(sampler.sample(METHOD_ID, 0L), is(true));
+			}
+		}
+
+		@Test
+		public void tokenBucket() {
+			sampler = new InvocationSequenceSampler(1d, 2);
+
+			assertThat(sampler.sample(METHOD_ID, 0L), is(true));
+			assertThat(sampler.sample(METHOD_ID, 0L), is(true));
+			assertThat(sampler.sample(METHOD_ID, 0L), is(false));
+		}
+
+		@Test
+		public void tokenBucketPerMethod() {
+			sampler = new InvocationSequenceSampler(1d, 1);
+
+			assertThat(sampler.sample(METHOD_ID, 0L), is(true));
+			assertThat(sampler.sample(OTHER_METHOD_ID, 0L), is(true));
+			assertThat(sampler.sample(METHOD_ID, 0L), is(false));
+		}
+
+		@Test
+		public void tokenBucketRefill() {
+			sampler = new InvocationSequenceSampler(1d, 2);
+
+			sampler.sample(METHOD_ID, 0L);
+			sampler.sample(METHOD_ID, 0L);
+
+			assertThat(sampler.sample(METHOD_ID, 499L), is(false));
+			assertThat(sampler.sample(METHOD_ID, 1000L), is(true));
+		}
+	}
+
+	public class GetSamplingRate extends InvocationSequenceSamplerTest {
+
+		@Test
+		public void probability() {
+			sampler = new InvocationSequenceSampler(0.25d, 0);
+
+			assertThat(sampler.getSamplingRate(METHOD_ID), is(0.25d));
+		}
+
+		@Test
+		public void noInvocations() {
+			sampler = new InvocationSequenceSampler(1d, 10);
+
+			assertThat(sampler.getSamplingRate(METHOD_ID), is(1d));
+		}
+
+		@Test
+		public void acceptedRatio() {
+			sampler = new InvocationSequenceSampler(1d, 1);
+
+			// one of four accepted in the first second
+			for (int i = 0; i < 4; i++) {
+				sampler.sample(METHOD_ID, 0L);
+			}
+			sampler.sample(METHOD_ID, 1000L);
+
+			assertThat(sampler.getSamplingRate(METHOD_ID), is(0.25d));
+			assertThat(sampler.getSamplingRate(OTHER_METHOD_ID), is(1d));
+		}
+	}
+
+}
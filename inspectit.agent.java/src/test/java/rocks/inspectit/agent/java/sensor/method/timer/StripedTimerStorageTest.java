@@ -0,0 +1,113 @@
+package rocks.inspectit.agent.java.sensor.method.timer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+@SuppressWarnings("PMD")
+public class StripedTimerStorageTest {
+
+	public class FinalizeDataObject extends StripedTimerStorageTest {
+
+		@Test
+		public void noData() {
+			StripedTimerStorage storage = new StripedTimerStorage(null, 1L, 2L, 3L, null, true);
+
+			TimerData timerData = (TimerData) storage.finalizeDataObject();
+
+			assertThat(timerData.getPlatformIdent(), is(1L));
+			assertThat(timerData.getSensorTypeIdent(), is(2L));
+			assertThat(timerData.getMethodIdent(), is(3L));
+			assertThat(timerData.isCharting(), is(true));
+			assertThat(timerData.getCount(), is(0L));
+			assertThat(timerData.isCpuMetricDataAvailable(), is(false));
+		}
+
+		@Test
+		public void singleThread() {
+			StripedTimerStorage storage = new StripedTimerStorage(null, 1L, 2L, 3L, null, false);
+
+			storage.addData(10d, 2d);
+			storage.addData(30d, 4d);
+			storage.addData(20d, 3d);
+			TimerData timerData = (TimerData) storage.finalizeDataObject();
+
+			assertThat(timerData.getCount(), is(3L));
+			assertThat(timerData.getDuration(), is(60d));
+			assertThat(timerData.getMin(), is(10d));
+			assertThat(timerData.getMax(), is(30d));
+			assertThat(timerData.getCpuDuration(), is(9d));
+			assertThat(timerData.getCpuMin(), is(2d));
+			assertThat(timerData.getCpuMax(), is(4d));
+		}
+
+		@Test
+		public void noCpuTime() {
+			StripedTimerStorage storage = new StripedTimerStorage(null, 1L, 2L, 3L, null, false);
+
+			storage.addData(10d, -1d);
+			TimerData timerData = (TimerData) storage.finalizeDataObject();
+
+			assertThat(timerData.getCount(), is(1L));
+			assertThat(timerData.getDuration(), is(10d));
+			assertThat(timerData.isCpuMetricDataAvailable(), is(false));
+		}
+
+		@Test
+		public void finalizeTwice() {
+			StripedTimerStorage storage = new StripedTimerStorage(null, 1L, 2L, 3L, null, false);
+
+			storage.addData(10d, 2d);
+			storage.finalizeDataObject();
+			TimerData timerData = (TimerData) storage.finalizeDataObject();
+
+			assertThat(timerData.getCount(), is(1L));
+			assertThat(timerData.getDuration(), is(10d));
+			assertThat(timerData.getCpuDuration(), is(2d));
+		}
+
+		@Test
+		public void concurrentThreads() throws InterruptedException {
+			final StripedTimerStorage storage = new StripedTimerStorage(null, 1L, 2L, 3L, null, false);
+			final int threads = 16;
+			final int iterations = 10000;
+			final CountDownLatch start = new CountDownLatch(1);
+			final CountDownLatch end = new CountDownLatch(threads);
+
+			for (int i = 0; i < threads; i++) {
+				final double time = i + 1;
+				new Thread() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+							for (int j = 0; j < iterations; j++) {
+								storage.addData(time, 1d);
+							}
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						} finally {
+							end.countDown();
+						}
+					}
+				}.start();
+			}
+			start.countDown();
+			end.await();
+			TimerData timerData = (TimerData) storage.finalizeDataObject();
+
+			assertThat(timerData.getCount(), is((long) threads * iterations));
+			assertThat(timerData.getDuration(), is(closeTo(((threads * (threads + 1)) / 2d) * iterations, 0.0001d)));
+			assertThat(timerData.getMin(), is(1d));
+			assertThat(timerData.getMax(), is((double) threads));
+			assertThat(timerData.getCpuDuration(), is((double) threads * iterations));
+		}
+	}
+
+}
@@ -76,6 +76,34 @@ public class TimerHookTest extends AbstractLogSupport {
 		timerHook = new TimerHook(timer, platformManager, propertyAccessor, settings, threadMXBean);
 	}
 
+	@Test
+	public void storageAddedConcurrently() throws IdNotAvailableException {
+		long platformId = 1L;
+		long methodId = 3L;
+		long sensorTypeId = 11L;
+		Object object = mock(Object.class);
+		Object[] parameters = new Object[0];
+		Object result = mock(Object.class);
+
+		Double firstTimerValue = 1000.0d;
+		Double secondTimerValue = 1323.0d;
+
+		ITimerStorage existingStorage = mock(ITimerStorage.class);
+		when(timer.getCurrentTime()).thenReturn(firstTimerValue).thenReturn(secondTimerValue);
+		when(platformManager.getPlatformId()).thenReturn(platformId);
+		when(registeredSensorConfig.getSettings()).thenReturn(Collections.<String, Object> emptyMap());
+		// other thread added the storage after our look-up
+		when(coreService.getObjectStorage(sensorTypeId, methodId, null)).thenReturn(null);
+		when(coreService.addObjectStorage(eq(sensorTypeId), eq(methodId), (String) eq(null), (IObjectStorage) argThat(instanceOf(ITimerStorage.class)))).thenReturn(existingStorage);
+
+		timerHook.beforeBody(methodId, sensorTypeId, object, parameters, registeredSensorConfig);
+		timerHook.firstAfterBody(methodId, sensorTypeId, object, parameters, result, registeredSensorConfig);
+		timerHook.secondAfterBody(coreService, methodId, sensorTypeId, object, parameters, result, registeredSensorConfig);
+
+		// measurement must end in the storage that was added first
+		verify(existingStorage).addData(secondTimerValue - firstTimerValue, 0.0d);
+	}
+
 	@Test
 	public void sameMethodTwice() throws IdNotAvailableException {
 		// set up data
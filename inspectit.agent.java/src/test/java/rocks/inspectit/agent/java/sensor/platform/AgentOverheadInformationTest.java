@@ -0,0 +1,91 @@
+package rocks.inspectit.agent.java.sensor.platform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.core.IAgentOverheadMonitor;
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Test class for {@link AgentOverheadInformation}.
+ */
+@SuppressWarnings("PMD")
+public class AgentOverheadInformationTest extends TestBase {
+
+	/** Class under test. */
+	@InjectMocks
+	AgentOverheadInformation cut;
+
+	/** The mocked {@link IAgentOverheadMonitor}. */
+	@Mock
+	IAgentOverheadMonitor agentOverheadMonitor;
+
+	/**
+	 * Tests the {@link AgentOverheadInformation#get()}.
+	 */
+	public static class Get extends AgentOverheadInformationTest {
+
+		@Test
+		void identifiersAndTimestamp() {
+			AgentOverheadInformationData collector = (AgentOverheadInformationData) this.cut.getSystemSensorData();
+			collector.setPlatformIdent(1L);
+			collector.setSensorTypeIdent(2L);
+			Timestamp timestamp = new Timestamp(3L);
+			collector.setTimeStamp(timestamp);
+			when(agentOverheadMonitor.getCumulativeOverhead()).thenReturn(new AgentOverheadInformationData());
+
+			AgentOverheadInformationData data = (AgentOverheadInformationData) this.cut.get();
+
+			assertThat(data.getPlatformIdent(), is(1L));
+			assertThat(data.getSensorTypeIdent(), is(2L));
+			assertThat(data.getTimeStamp(), is(timestamp));
+		}
+
+		@Test
+		void differenceToPreviousGet() {
+			when(agentOverheadMonitor.getCumulativeOverhead()).thenReturn(overhead(2L, 10L, 1L), overhead(5L, 25L, 1L));
+
+			AgentOverheadInformationData first = (AgentOverheadInformationData) this.cut.get();
+			AgentOverheadInformationData second = (AgentOverheadInformationData) this.cut.get();
+
+			assertThat(first.getDispatchTimes().get(1L), is(10L));
+			assertThat(AgentOverheadInformationData.getCount(first.getDispatchTimeHistograms().get(1L)), is(2L));
+			assertThat(first.getDroppedBatches(), is(1L));
+			assertThat(second.getDispatchTimes().get(1L), is(15L));
+			assertThat(AgentOverheadInformationData.getCount(second.getDispatchTimeHistograms().get(1L)), is(3L));
+			assertThat(second.getDroppedBatches(), is(0L));
+		}
+
+		@Test
+		void noDispatchesOmitted() {
+			when(agentOverheadMonitor.getCumulativeOverhead()).thenReturn(overhead(2L, 10L, 0L), overhead(2L, 10L, 0L));
+
+			this.cut.get();
+			AgentOverheadInformationData data = (AgentOverheadInformationData) this.cut.get();
+
+			assertThat(data.getDispatchTimes(), not(hasKey(1L)));
+			assertThat(data.getDispatchTimeHistograms(), not(hasKey(1L)));
+		}
+
+		private AgentOverheadInformationData overhead(long dispatchCount, long dispatchTime, long droppedBatches) {
+			AgentOverheadInformationData data = new AgentOverheadInformationData();
+			long[] histogram = new long[AgentOverheadInformationData.HISTOGRAM_BUCKETS];
+			histogram[AgentOverheadInformationData.getBucket(5L)] = dispatchCount;
+			data.getDispatchTimeHistograms().put(1L, histogram);
+			data.getDispatchTimes().put(1L, dispatchTime);
+			data.setDroppedBatches(droppedBatches);
+			return data;
+		}
+	}
+
+}
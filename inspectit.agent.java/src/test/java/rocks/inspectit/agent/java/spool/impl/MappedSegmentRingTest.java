@@ -0,0 +1,212 @@
+package rocks.inspectit.agent.java.spool.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link MappedSegmentRing}.
+ */
+@SuppressWarnings("PMD")
+public class MappedSegmentRingTest extends TestBase {
+
+	/**
+	 * File size resulting in four segments of 1 KB.
+	 */
+	private static final long FILE_SIZE = 4096;
+
+	File file;
+
+	MappedSegmentRing ring;
+
+	@BeforeMethod
+	public void init() throws IOException {
+		file = File.createTempFile("spool", ".spool");
+		file.delete();
+		ring = new MappedSegmentRing(file, FILE_SIZE);
+	}
+
+	@AfterMethod
+	public void cleanUp() throws IOException {
+		ring.close();
+		file.delete();
+	}
+
+	byte[] record(int value, int length) {
+		byte[] bytes = new byte[length];
+		Arrays.fill(bytes, (byte) value);
+		return bytes;
+	}
+
+	void append(int value, int length) {
+		byte[] bytes = record(value, length);
+		assertThat(ring.append(bytes, 0, bytes.length), is(true));
+	}
+
+	void reopen() throws IOException {
+		ring.close();
+		ring = new MappedSegmentRing(file, FILE_SIZE);
+	}
+
+	public static class Append extends MappedSegmentRingTest {
+
+		@Test
+		public void readInOrder() {
+			append(1, 100);
+			append(2, 200);
+
+			assertThat(ring.size(), is(2));
+			assertThat(ring.peek(), is(equalTo(record(1, 100))));
+			ring.remove();
+			assertThat(ring.peek(), is(equalTo(record(2, 200))));
+			ring.remove();
+			assertThat(ring.peek(), is(nullValue()));
+			assertThat(ring.size(), is(0));
+		}
+
+		@Test
+		public void peekWithoutRemove() {
+			append(1, 100);
+
+			assertThat(ring.peek(), is(equalTo(record(1, 100))));
+			assertThat(ring.peek(), is(equalTo(record(1, 100))));
+			assertThat(ring.size(), is(1));
+		}
+
+		@Test
+		public void acrossSegments() {
+			for (int i = 0; i < 20; i++) {
+				append(i, 100);
+			}
+
+			for (int i = 0; i < 20; i++) {
+				assertThat(ring.peek(), is(equalTo(record(i, 100))));
+				ring.remove();
+			}
+			assertThat(ring.getDroppedRecords(), is(0L));
+		}
+
+		@Test
+		public void fullDropsOldest() {
+			for (int i = 0; i < 100; i++) {
+				append(i, 100);
+			}
+
+			assertThat(ring.getDroppedRecords(), is(greaterThan(0L)));
+			assertThat(ring.getDroppedRecords() + ring.size(), is(100L));
+			int first = (int) ring.getDroppedRecords();
+			for (int i = first; i < 100; i++) {
+				assertThat(ring.peek(), is(equalTo(record(i, 100))));
+				ring.remove();
+			}
+			assertThat(ring.peek(), is(nullValue()));
+		}
+
+		@Test
+		public void tooBig() {
+			byte[] bytes = record(1, 2000);
+
+			assertThat(ring.append(bytes, 0, bytes.length), is(false));
+			assertThat(ring.size(), is(0));
+			assertThat(ring.getDroppedRecords(), is(1L));
+		}
+
+		@Test
+		public void writeAfterEmpty() {
+			for (int i = 0; i < 50; i++) {
+				append(i, 100);
+				assertThat(ring.peek(), is(equalTo(record(i, 100))));
+				ring.remove();
+			}
+
+			assertThat(ring.size(), is(0));
+			assertThat(ring.getDroppedRecords(), is(0L));
+		}
+	}
+
+	public static class Recover extends MappedSegmentRingTest {
+
+		@Test
+		public void notConsumed() throws IOException {
+			append(1, 100);
+			append(2, 100);
+			append(3, 100);
+			ring.peek();
+			ring.remove();
+
+			reopen();
+
+			assertThat(ring.size(), is(2));
+			assertThat(ring.peek(), is(equalTo(record(2, 100))));
+			ring.remove();
+			assertThat(ring.peek(), is(equalTo(record(3, 100))));
+		}
+
+		@Test
+		public void afterWrap() throws IOException {
+			for (int i = 0; i < 100; i++) {
+				append(i, 100);
+			}
+			int size = ring.size();
+
+			reopen();
+
+			assertThat(ring.size(), is(size));
+			for (int i = 100 - size; i < 100; i++) {
+				assertThat(ring.peek(), is(equalTo(record(i, 100))));
+				ring.remove();
+			}
+			append(100, 100);
+			assertThat(ring.peek(), is(equalTo(record(100, 100))));
+		}
+
+		@Test
+		public void corruptedRecord() throws IOException {
+			append(1, 100);
+			append(2, 100);
+			ring.close();
+
+			// change one byte of the second record
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+			try {
+				randomAccessFile.seek(MappedSegmentRing.SEGMENT_HEADER_SIZE + ((MappedSegmentRing.RECORD_HEADER_SIZE + 100) * 2) - 1);
+				randomAccessFile.write(7);
+			} finally {
+				randomAccessFile.close();
+			}
+			ring = new MappedSegmentRing(file, FILE_SIZE);
+
+			assertThat(ring.size(), is(1));
+			assertThat(ring.getDroppedRecords(), is(1L));
+			assertThat(ring.peek(), is(equalTo(record(1, 100))));
+			ring.remove();
+			assertThat(ring.peek(), is(nullValue()));
+			append(3, 100);
+			assertThat(ring.peek(), is(equalTo(record(3, 100))));
+		}
+
+		@Test
+		public void differentSize() throws IOException {
+			append(1, 100);
+			ring.close();
+
+			ring = new MappedSegmentRing(file, FILE_SIZE * 2);
+
+			assertThat(ring.size(), is(0));
+			assertThat(file.length(), is(FILE_SIZE * 2));
+		}
+	}
+}
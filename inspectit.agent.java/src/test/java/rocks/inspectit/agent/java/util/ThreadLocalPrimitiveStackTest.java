@@ -0,0 +1,101 @@
+package rocks.inspectit.agent.java.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.Test;
+
+@SuppressWarnings("PMD")
+public class ThreadLocalPrimitiveStackTest {
+
+	private final ThreadLocalPrimitiveStack sharedStack = new ThreadLocalPrimitiveStack();
+
+	@Test
+	public void sameStackInThread() {
+		ThreadLocalPrimitiveStack threadLocalStack = new ThreadLocalPrimitiveStack();
+		PrimitiveStack stack = threadLocalStack.get();
+
+		assertThat(stack, is(notNullValue()));
+		assertThat(threadLocalStack.get(), is(sameInstance(stack)));
+		assertThat(stack.getDoubleDepth(), is(0));
+		assertThat(stack.getLongDepth(), is(0));
+	}
+
+	@Test
+	public void oneDoubleValue() {
+		ThreadLocalPrimitiveStack threadLocalStack = new ThreadLocalPrimitiveStack();
+		threadLocalStack.pushDouble(1.5d);
+
+		assertThat(threadLocalStack.popDouble(), is(1.5d));
+	}
+
+	@Test
+	public void oneLongValue() {
+		ThreadLocalPrimitiveStack threadLocalStack = new ThreadLocalPrimitiveStack();
+		threadLocalStack.pushLong(7L);
+
+		assertThat(threadLocalStack.popLong(), is(7L));
+	}
+
+	@Test(expectedExceptions = { NoSuchElementException.class })
+	public void noSuchDoubleElement() {
+		ThreadLocalPrimitiveStack threadLocalStack = new ThreadLocalPrimitiveStack();
+		threadLocalStack.popDouble();
+	}
+
+	@Test(expectedExceptions = { NoSuchElementException.class })
+	public void noSuchLongElement() {
+		ThreadLocalPrimitiveStack threadLocalStack = new ThreadLocalPrimitiveStack();
+		threadLocalStack.pushDouble(1.0d);
+		threadLocalStack.popLong();
+	}
+
+	@Test
+	public void stacksAreIndependent() {
+		ThreadLocalPrimitiveStack threadLocalStack = new ThreadLocalPrimitiveStack();
+		threadLocalStack.pushDouble(1.0d);
+		threadLocalStack.pushLong(2L);
+		threadLocalStack.pushDouble(3.0d);
+		threadLocalStack.pushLong(4L);
+
+		assertThat(threadLocalStack.popLong(), is(4L));
+		assertThat(threadLocalStack.popDouble(), is(3.0d));
+		assertThat(threadLocalStack.popDouble(), is(1.0d));
+		assertThat(threadLocalStack.popLong(), is(2L));
+	}
+
+	@Test
+	public void growBeyondInitialCapacity() {
+		ThreadLocalPrimitiveStack threadLocalStack = new ThreadLocalPrimitiveStack();
+		PrimitiveStack stack = threadLocalStack.get();
+		for (int i = 0; i < 100; i++) {
+			stack.pushDouble(i);
+			stack.pushLong(i);
+		}
+
+		assertThat(stack.getDoubleDepth(), is(100));
+		assertThat(stack.getLongDepth(), is(100));
+		assertThat(stack.getLastDouble(), is(99.0d));
+		assertThat(stack.getLastLong(), is(99L));
+		for (int i = 99; i >= 0; i--) {
+			assertThat(stack.popDouble(), is((double) i));
+			assertThat(stack.popLong(), is((long) i));
+		}
+	}
+
+	@Test(invocationCount = 10, threadPoolSize = 10)
+	public void stackTest() {
+		sharedStack.pushDouble(1.0d);
+		sharedStack.pushDouble(2.0d);
+		sharedStack.pushDouble(3.0d);
+
+		assertThat(sharedStack.popDouble(), is(3.0d));
+		assertThat(sharedStack.popDouble(), is(2.0d));
+		assertThat(sharedStack.popDouble(), is(1.0d));
+	}
+
+}
@@ -57,7 +57,8 @@ public class IndexingTreePerfTest {
 	private RootBranch<DefaultData> indexingTree;
 
 	/**
-	 * Number of invocations to be added to the indexing tree.
+	 * Number of invocations to be added to the indexing tree. With 1000 children the larger value
+	 * results in roughly 10 million indexed elements, what corresponds to a buffer of about 2 GB.
 	 */
 	@Param({ "1000", "10000" })
 	private int invocations;
@@ -86,6 +87,18 @@ public class IndexingTreePerfTest {
 	@Param({ "100" })
 	private int methods;
 
+	/**
+	 * Layout of the indexing tree.
+	 */
+	@Param({ RootBranchFactory.DEFAULT_TREE_LAYOUT, "PLATFORM_IDENT,OBJECT_TYPE,METHOD_IDENT,TIMESTAMP" })
+	private String treeLayout;
+
+	/**
+	 * If leafs keep the method ident index.
+	 */
+	@Param({ "false", "true" })
+	private boolean methodIdentLeafIndex;
+
 	/**
 	 * Spread of data in duration of 1 hour.
 	 */
@@ -112,6 +125,11 @@ public class IndexingTreePerfTest {
 	 */
 	private IndexQuery invocationOverviewQuery;
 
+	/**
+	 * Invocation overview query for single method id.
+	 */
+	private IndexQuery invocationOverviewQueryMethod;
+
 	/**
 	 * ForkJoinPool
 	 */
@@ -131,6 +149,8 @@ public class IndexingTreePerfTest {
 		forkJoinPool = new ForkJoinPool(numberOfProcessors);
 
 		RootBranchFactory rootBranchFactory = new RootBranchFactory();
+		rootBranchFactory.setTreeLayout(treeLayout);
+		rootBranchFactory.setMethodIdentLeafIndex(methodIdentLeafIndex);
 		indexingTree = rootBranchFactory.getObject();
 
 		CacheIdGeneratorCmrProcessor idProcessor = new CacheIdGeneratorCmrProcessor();
@@ -191,6 +211,7 @@ public class IndexingTreePerfTest {
 		invocationSequenceDataQueryFactory.setIndexQueryProvider(indexQueryProvider);
 
 		invocationOverviewQuery = invocationSequenceDataQueryFactory.getInvocationSequences(platformIdent, 0, null, null);
+		invocationOverviewQueryMethod = invocationSequenceDataQueryFactory.getInvocationSequences(platformIdent, methodIdent, null, null);
 	}
 
 	// Query fork&join benchmarks
@@ -214,6 +235,11 @@ public class IndexingTreePerfTest {
 		return indexingTree.query(invocationOverviewQuery, forkJoinPool);
 	}
 
+	@Benchmark
+	public List<DefaultData> queryInvocationOverviewMethodForkJoin() {
+		return indexingTree.query(invocationOverviewQueryMethod, forkJoinPool);
+	}
+
 	// Query benchmarks without fork&join
 	@Benchmark
 	public List<DefaultData> queryTimerData() {
@@ -235,6 +261,11 @@ public class IndexingTreePerfTest {
 		return indexingTree.query(invocationOverviewQuery);
 	}
 
+	@Benchmark
+	public List<DefaultData> queryInvocationOverviewMethod() {
+		return indexingTree.query(invocationOverviewQueryMethod);
+	}
+
 	// private helpers
 	private InvocationSequenceData getInvocationSequenceDataInstance(int childCount) {
 		Random random = new Random();
@@ -0,0 +1,210 @@
+package rocks.inspectit.server.rmi;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.esotericsoftware.kryo.Kryo;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.kryonet.Client;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.ExtendedSerializationImpl;
+import rocks.inspectit.shared.all.kryonet.IExtendedSerialization;
+import rocks.inspectit.shared.all.kryonet.Listener;
+import rocks.inspectit.shared.all.kryonet.Server;
+import rocks.inspectit.shared.all.serializer.IKryoProvider;
+import rocks.inspectit.shared.all.storage.nio.ByteBufferProvider;
+import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
+import rocks.inspectit.shared.all.storage.nio.stream.SocketExtendedByteBufferInputStream;
+import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
+import rocks.inspectit.shared.all.util.KryoNetNetwork;
+
+/**
+ * Performance test for the KryoNet {@link Server} receiving the data from many agents over the
+ * loopback interface.
+ * <p>
+ * Every simulated agent is one {@link Client} sending batches of {@link TimerData} objects. The
+ * benchmark measures the time until the server received one batch from every agent, once with the
+ * single threaded server and once in the reactor mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD")
+public class KryoNetServerPerfTest {
+
+	/**
+	 * Port the server is bound to.
+	 */
+	private static final int PORT = 18765;
+
+	/**
+	 * Number of selector threads, <code>0</code> runs the server without the reactor mode.
+	 */
+	@Param({ "0", "4" })
+	private int selectorThreads;
+
+	/**
+	 * Number of agents to simulate.
+	 */
+	@Param({ "50", "300" })
+	private int agents;
+
+	/**
+	 * Number of timer data objects in one batch.
+	 */
+	@Param({ "100" })
+	private int batchSize;
+
+	/**
+	 * Server under test.
+	 */
+	private Server server;
+
+	/**
+	 * Simulated agents.
+	 */
+	private List<Client> clients;
+
+	/**
+	 * Batch every agent sends.
+	 */
+	private List<TimerData> batch;
+
+	/**
+	 * Amount of batches received by the server.
+	 */
+	private final AtomicLong received = new AtomicLong();
+
+	/**
+	 * Executor for the socket reads of the single threaded server.
+	 */
+	private ExecutorService socketReadExecutorService;
+
+	/**
+	 * Executor for the de-serialization in the reactor mode.
+	 */
+	private ExecutorService decodingExecutorService;
+
+	@Setup(Level.Trial)
+	public void init() throws IOException {
+		final ByteBufferProvider byteBufferProvider = new ByteBufferProvider();
+		byteBufferProvider.setMaxActive(-1);
+		socketReadExecutorService = Executors.newFixedThreadPool(2);
+		decodingExecutorService = Executors.newFixedThreadPool(4);
+
+		StreamProvider streamProvider = new StreamProvider() {
+			@Override
+			protected ExtendedByteBufferOutputStream createExtendedByteBufferOutputStream() {
+				ExtendedByteBufferOutputStream stream = new ExtendedByteBufferOutputStream();
+				stream.setByteBufferProvider(byteBufferProvider);
+				return stream;
+			}
+
+			@Override
+			protected SocketExtendedByteBufferInputStream createSocketExtendedByteBufferInputStream() {
+				SocketExtendedByteBufferInputStream stream = new SocketExtendedByteBufferInputStream();
+				stream.setByteBufferProvider(byteBufferProvider);
+				stream.setExecutorService(socketReadExecutorService);
+				return stream;
+			}
+		};
+
+		IExtendedSerialization serialization = new ExtendedSerializationImpl(null, 0) {
+			@Override
+			protected IKryoProvider createKryoProvider() {
+				final Kryo kryo = new Kryo();
+				new KryoNetNetwork().register(kryo);
+				kryo.register(ArrayList.class);
+				kryo.register(TimerData.class);
+				return new IKryoProvider() {
+					@Override
+					public Kryo getKryo() {
+						return kryo;
+					}
+				};
+			}
+		};
+
+		server = new Server(serialization, streamProvider, selectorThreads, decodingExecutorService);
+		server.addListener(new Listener() {
+			@Override
+			public void received(Connection connection, Object object) {
+				if (object instanceof List) {
+					received.incrementAndGet();
+				}
+			}
+		});
+		server.start();
+		server.bind(PORT);
+
+		clients = new ArrayList<>(agents);
+		for (int i = 0; i < agents; i++) {
+			Client client = new Client(serialization, streamProvider);
+			client.start();
+			client.connect(5000, "localhost", PORT);
+			clients.add(client);
+		}
+
+		batch = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			TimerData timerData = new TimerData();
+			timerData.setPlatformIdent(1L);
+			timerData.setSensorTypeIdent(2L);
+			timerData.setMethodIdent(i);
+			timerData.calculateMin(i);
+			timerData.calculateMax(i);
+			timerData.setDuration(i);
+			timerData.setCount(1L);
+			batch.add(timerData);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void shutdown() {
+		for (Client client : clients) {
+			client.stop();
+		}
+		server.stop();
+		socketReadExecutorService.shutdownNow();
+		decodingExecutorService.shutdownNow();
+	}
+
+	/**
+	 * Every agent sends one batch, waits until all are received.
+	 */
+	@Benchmark
+	public long receive() {
+		long expected = received.get() + agents;
+		for (Client client : clients) {
+			client.sendTCP(batch);
+		}
+		while (received.get() < expected) {
+			Thread.yield();
+		}
+		return expected;
+	}
+
+}
@@ -0,0 +1,349 @@
+package rocks.inspectit.server.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ClassLoadingInformationData;
+import rocks.inspectit.shared.all.communication.data.CompilationInformationData;
+import rocks.inspectit.shared.all.communication.data.CpuInformationData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.MemoryInformationData;
+import rocks.inspectit.shared.all.communication.data.RuntimeInformationData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.ThreadInformationData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.kryonet.ExtendedSerializationImpl;
+import rocks.inspectit.shared.all.kryonet.IExtendedSerialization;
+import rocks.inspectit.shared.all.serializer.IKryoProvider;
+import rocks.inspectit.shared.all.serializer.SerializationException;
+import rocks.inspectit.shared.all.serializer.impl.CustomCompatibleFieldSerializer;
+import rocks.inspectit.shared.all.serializer.impl.InvocationAwareDataSerializer;
+import rocks.inspectit.shared.all.serializer.impl.InvocationSequenceCustomCompatibleFieldSerializer;
+import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
+import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
+import rocks.inspectit.shared.all.serializer.util.KryoSerializationPreferences;
+import rocks.inspectit.shared.all.util.KryoNetNetwork;
+
+/**
+ * Performance test for the serialization of the data objects with the field accessors compared to
+ * the serialization with the Kryo cached fields only.
+ * <p>
+ * Both the agent to CMR format (KryoNet {@link ExtendedSerializationImpl}) and the storage format
+ * ({@link SerializationManager} without the invocation affiliation data) are measured. The
+ * serialized size of one batch is printed in the setup, it is the same for both serializers as
+ * the accessors do not change the format.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("PMD")
+public class DataSerializerPerfTest {
+
+	/**
+	 * If the field accessors should be used, otherwise all fields are handled by the Kryo cached
+	 * fields.
+	 */
+	@Param({ "false", "true" })
+	private boolean fieldAccessors;
+
+	/**
+	 * Type of the data in the batch.
+	 */
+	@Param({ "timer", "invocation", "platform" })
+	private String dataType;
+
+	/**
+	 * Number of data objects in one batch.
+	 */
+	@Param({ "100" })
+	private int batchSize;
+
+	/**
+	 * Serialization manager used for the storage format.
+	 */
+	private SerializationManager serializationManager;
+
+	/**
+	 * KryoNet serialization used for the agent to CMR format.
+	 */
+	private IExtendedSerialization serialization;
+
+	/**
+	 * Kryo preferences of the storage format.
+	 */
+	private Map<?, ?> storagePreferences;
+
+	/**
+	 * Batch to serialize.
+	 */
+	private List<DefaultData> batch;
+
+	/**
+	 * Stream for the agent to CMR format.
+	 */
+	private ByteArrayOutputStream agentStream;
+
+	/**
+	 * Output for the storage format.
+	 */
+	private Output storageOutput;
+
+	/**
+	 * Batch serialized in the agent to CMR format.
+	 */
+	private byte[] agentBytes;
+
+	/**
+	 * Batch serialized in the storage format.
+	 */
+	private byte[] storageBytes;
+
+	@Setup(Level.Trial)
+	public void init() throws IOException, SerializationException {
+		ClassSchemaManager schemaManager = new ClassSchemaManager();
+		schemaManager.setLog(LoggerFactory.getLogger(ClassSchemaManager.class));
+		schemaManager.setSchemaListFile(new ClassPathResource(ClassSchemaManager.SCHEMA_DIR + "/" + ClassSchemaManager.SCHEMA_LIST_FILE, ClassSchemaManager.class.getClassLoader()));
+		schemaManager.loadSchemasFromLocations();
+
+		serializationManager = new SerializationManager();
+		serializationManager.setSchemaManager(schemaManager);
+		serializationManager.setKryoNetNetwork(new KryoNetNetwork());
+		serializationManager.initKryo();
+		if (!fieldAccessors) {
+			registerCachedFieldSerializers(serializationManager.getKryo(), schemaManager);
+		}
+
+		serialization = new ExtendedSerializationImpl(null, 0) {
+			@Override
+			protected IKryoProvider createKryoProvider() {
+				return serializationManager;
+			}
+		};
+		storagePreferences = Collections.singletonMap(KryoSerializationPreferences.WRITE_INVOCATION_AFFILIATION_DATA, Boolean.FALSE);
+
+		batch = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			if ("invocation".equals(dataType)) {
+				batch.add(createInvocation(i));
+			} else if ("platform".equals(dataType)) {
+				batch.add(createPlatformData(i));
+			} else {
+				batch.add(createTimerData(TimerData.class, i));
+			}
+		}
+
+		agentStream = new ByteArrayOutputStream(1024 * 1024);
+		storageOutput = new Output(1024 * 1024, -1);
+		agentToCmrWrite();
+		agentBytes = agentStream.toByteArray();
+		storageWrite();
+		storageBytes = storageOutput.toBytes();
+		System.out.println("Serialized size of the batch: " + agentBytes.length + " bytes (agent to CMR), " + storageBytes.length + " bytes (storage)");
+	}
+
+	/**
+	 * Writes the batch in the agent to CMR format.
+	 */
+	@Benchmark
+	public int agentToCmrWrite() {
+		agentStream.reset();
+		serialization.write(null, agentStream, batch);
+		return agentStream.size();
+	}
+
+	/**
+	 * Reads the batch in the agent to CMR format.
+	 */
+	@Benchmark
+	public Object agentToCmrRead() {
+		return serialization.read(null, new Input(agentBytes));
+	}
+
+	/**
+	 * Writes the batch in the storage format.
+	 */
+	@Benchmark
+	public int storageWrite() throws SerializationException {
+		storageOutput.clear();
+		serializationManager.serialize(batch, storageOutput, storagePreferences);
+		return storageOutput.position();
+	}
+
+	/**
+	 * Reads the batch in the storage format.
+	 */
+	@Benchmark
+	public Object storageRead() throws SerializationException {
+		return serializationManager.deserialize(new Input(storageBytes));
+	}
+
+	/**
+	 * Registers the serializers of the data classes that handle all fields with the Kryo cached
+	 * fields, as it was done before the field accessors.
+	 */
+	private void registerCachedFieldSerializers(Kryo kryo, ClassSchemaManager schemaManager) {
+		kryo.register(InvocationSequenceData.class, new InvocationSequenceCustomCompatibleFieldSerializer(kryo, InvocationSequenceData.class, schemaManager));
+		kryo.register(TimerData.class, new InvocationAwareDataSerializer<TimerData>(kryo, TimerData.class, schemaManager));
+		kryo.register(HttpTimerData.class, new InvocationAwareDataSerializer<HttpTimerData>(kryo, HttpTimerData.class, schemaManager));
+		kryo.register(SqlStatementData.class, new InvocationAwareDataSerializer<SqlStatementData>(kryo, SqlStatementData.class, schemaManager));
+		kryo.register(ExceptionSensorData.class, new InvocationAwareDataSerializer<ExceptionSensorData>(kryo, ExceptionSensorData.class, schemaManager));
+		kryo.register(MemoryInformationData.class, new CustomCompatibleFieldSerializer<MemoryInformationData>(kryo, MemoryInformationData.class, schemaManager));
+		kryo.register(CpuInformationData.class, new CustomCompatibleFieldSerializer<CpuInformationData>(kryo, CpuInformationData.class, schemaManager));
+		kryo.register(ThreadInformationData.class, new CustomCompatibleFieldSerializer<ThreadInformationData>(kryo, ThreadInformationData.class, schemaManager));
+		kryo.register(RuntimeInformationData.class, new CustomCompatibleFieldSerializer<RuntimeInformationData>(kryo, RuntimeInformationData.class, schemaManager));
+		kryo.register(CompilationInformationData.class, new CustomCompatibleFieldSerializer<CompilationInformationData>(kryo, CompilationInformationData.class, schemaManager));
+		kryo.register(ClassLoadingInformationData.class, new CustomCompatibleFieldSerializer<ClassLoadingInformationData>(kryo, ClassLoadingInformationData.class, schemaManager));
+	}
+
+	/**
+	 * Creates the timer data with all primitive fields set.
+	 */
+	private <T extends TimerData> T createTimerData(Class<T> type, int i) {
+		T timerData;
+		try {
+			timerData = type.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+		timerData.setId(i);
+		timerData.setPlatformIdent(1L);
+		timerData.setSensorTypeIdent(2L);
+		timerData.setMethodIdent(i);
+		timerData.setTimeStamp(new Timestamp(System.currentTimeMillis()));
+		timerData.calculateMin(i);
+		timerData.calculateMax(i * 2d);
+		timerData.calculateCpuMin(i / 2d);
+		timerData.calculateCpuMax(i);
+		timerData.setDuration(i * 10d);
+		timerData.setCpuDuration(i * 5d);
+		timerData.setCount(10L);
+		timerData.setVariance(i / 3d);
+		timerData.setCharting(true);
+		return timerData;
+	}
+
+	/**
+	 * Creates the invocation with nested sequences holding the timer, HTTP timer and SQL data.
+	 */
+	private InvocationSequenceData createInvocation(int i) {
+		InvocationSequenceData invocation = new InvocationSequenceData(new Timestamp(System.currentTimeMillis()), 1L, 2L, i);
+		invocation.setDuration(i * 10d);
+		invocation.setStart(i);
+		invocation.setEnd(i + (i * 10d));
+		invocation.setTimerData(createTimerData(HttpTimerData.class, i));
+		List<InvocationSequenceData> nestedSequences = new ArrayList<>();
+		for (int j = 0; j < 10; j++) {
+			InvocationSequenceData child = new InvocationSequenceData(invocation.getTimeStamp(), 1L, 2L, j);
+			child.setPosition(j);
+			child.setDuration(j);
+			child.setStart(i + j);
+			child.setEnd(i + (j * 2d));
+			child.setParentSequence(invocation);
+			if ((j % 2) == 0) {
+				child.setTimerData(createTimerData(TimerData.class, j));
+			} else {
+				SqlStatementData sqlStatementData = createTimerData(SqlStatementData.class, j);
+				sqlStatementData.setSql("SELECT * FROM table WHERE id = ?");
+				sqlStatementData.setPreparedStatement(true);
+				child.setSqlStatementData(sqlStatementData);
+			}
+			nestedSequences.add(child);
+		}
+		invocation.setNestedSequences(nestedSequences);
+		invocation.setChildCount(nestedSequences.size());
+		return invocation;
+	}
+
+	/**
+	 * Creates the platform sensor data, cycling through the platform sensor data classes.
+	 */
+	private DefaultData createPlatformData(int i) {
+		DefaultData defaultData;
+		switch (i % 6) {
+		case 0:
+			CpuInformationData cpuInformationData = new CpuInformationData();
+			cpuInformationData.setCount(i);
+			cpuInformationData.setProcessCpuTime(i * 1000L);
+			cpuInformationData.setMinCpuUsage(i);
+			cpuInformationData.setMaxCpuUsage(i * 2f);
+			cpuInformationData.setTotalCpuUsage(i * 3f);
+			defaultData = cpuInformationData;
+			break;
+		case 1:
+			MemoryInformationData memoryInformationData = new MemoryInformationData();
+			memoryInformationData.setCount(i);
+			memoryInformationData.setMinFreePhysMemory(i * 1000L);
+			memoryInformationData.setMaxFreePhysMemory(i * 2000L);
+			memoryInformationData.setTotalFreePhysMemory(i * 3000L);
+			memoryInformationData.setMinUsedHeapMemorySize(i * 1000L);
+			memoryInformationData.setMaxUsedHeapMemorySize(i * 2000L);
+			memoryInformationData.setTotalUsedHeapMemorySize(i * 3000L);
+			defaultData = memoryInformationData;
+			break;
+		case 2:
+			ThreadInformationData threadInformationData = new ThreadInformationData();
+			threadInformationData.setCount(i);
+			threadInformationData.setMinThreadCount(i);
+			threadInformationData.setMaxThreadCount(i * 2);
+			threadInformationData.setTotalThreadCount(i * 3);
+			defaultData = threadInformationData;
+			break;
+		case 3:
+			ClassLoadingInformationData classLoadingInformationData = new ClassLoadingInformationData();
+			classLoadingInformationData.setCount(i);
+			classLoadingInformationData.setMinLoadedClassCount(i);
+			classLoadingInformationData.setMaxLoadedClassCount(i * 2);
+			classLoadingInformationData.setTotalLoadedClassCount(i * 3);
+			defaultData = classLoadingInformationData;
+			break;
+		case 4:
+			CompilationInformationData compilationInformationData = new CompilationInformationData();
+			compilationInformationData.setCount(i);
+			compilationInformationData.setMinTotalCompilationTime(i * 10L);
+			compilationInformationData.setMaxTotalCompilationTime(i * 20L);
+			compilationInformationData.setTotalTotalCompilationTime(i * 30L);
+			defaultData = compilationInformationData;
+			break;
+		default:
+			RuntimeInformationData runtimeInformationData = new RuntimeInformationData();
+			runtimeInformationData.setUptime(i * 1000L);
+			defaultData = runtimeInformationData;
+			break;
+		}
+		defaultData.setPlatformIdent(1L);
+		defaultData.setSensorTypeIdent(2L);
+		defaultData.setTimeStamp(new Timestamp(System.currentTimeMillis()));
+		return defaultData;
+	}
+}
@@ -180,7 +180,7 @@ public abstract class AbstractObjectSizes implements IObjectSizes {
 	@Override
 	public long getSizeOfCustomWeakReference() {
 		long size = this.getSizeOfObjectHeader();
-		size += this.getPrimitiveTypesSize(4, 0, 0, 0, 1, 0);
+		size += this.getPrimitiveTypesSize(4, 0, 0, 0, 2, 0);
 		return alignTo8Bytes(size);
 	}
 
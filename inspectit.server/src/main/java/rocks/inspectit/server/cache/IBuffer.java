@@ -107,4 +107,16 @@ public interface IBuffer<E> {
 	 * @return Returns the newest element in the buffer.
 	 */
 	E getNewestElement();
+
+	/**
+	 *
+	 * @return Returns the number of elements added to the buffer that are not yet indexed.
+	 */
+	long getIndexingLagElements();
+
+	/**
+	 *
+	 * @return Returns how many milliseconds of data added to the buffer are not yet indexed.
+	 */
+	long getIndexingLagMillis();
 }
@@ -58,9 +58,13 @@ abstract class AbstractBufferElementProcessor<E extends DefaultData> {
 	}
 
 	/**
-	 * Processes next element to be processed. Note that this method passes the element to the
-	 * {@link #process(IBufferElement, IBufferElement)} method so that sub-classes can execute the
-	 * real processing. This method handles waiting of element to be available for processing.
+	 * Processes next chunk of elements to be processed. The chunk consists of at most
+	 * {@link BufferProperties#getProcessingChunkSize()} consecutive elements that can be processed
+	 * (see {@link #canProcess(IBufferElement)}). The chunk is claimed with a single compare and set
+	 * of the last processed element reference, thus several threads can process different chunks
+	 * of the buffer at the same time. Each element of the claimed chunk is passed to the
+	 * {@link #process(IBufferElement)} method so that sub-classes can execute the real processing.
+	 * This method handles waiting of element to be available for processing.
 	 *
 	 * @throws InterruptedException
 	 *             If {@link InterruptedException} occurs.
@@ -69,7 +73,7 @@ abstract class AbstractBufferElementProcessor<E extends DefaultData> {
 		// wait until there are elements to process
 		// we wait if:
 		// 1) queue is empty -> last points to empty element
-		// 2) all are analyzed -> last to process is not empty element, but points to the empty
+		// 2) all are processed -> last processed is not empty element, but points to the empty
 		// one
 		while (true) {
 			IBufferElement<E> lastProcessedElement = lastProcessed.get();
@@ -78,7 +82,7 @@ abstract class AbstractBufferElementProcessor<E extends DefaultData> {
 				lock.lock();
 				try {
 					// check again with lock
-					lastProcessedElement = this.atomicBuffer.lastAnalyzed.get();
+					lastProcessedElement = lastProcessed.get();
 					if ((this.atomicBuffer.emptyBufferElement == this.atomicBuffer.last.get())
 							|| ((this.atomicBuffer.emptyBufferElement != lastProcessedElement) && (this.atomicBuffer.emptyBufferElement == lastProcessedElement.getNextElement()))) { // NOPMD
 						condition.await();
@@ -94,41 +98,99 @@ abstract class AbstractBufferElementProcessor<E extends DefaultData> {
 		}
 
 		while (true) {
+			boolean waitForProcessable = false;
+			boolean moreToProcess = false;
 			this.atomicBuffer.clearReadLock.lock();
 			try {
-				IBufferElement<E> elementToProcess = null;
+				IBufferElement<E> chunkStart = null;
 				IBufferElement<E> lastProcessElement = lastProcessed.get();
-				// if last analyzed points to empty then we take the first added element
+				// if last processed points to empty then we take the first added element
 				if (this.atomicBuffer.emptyBufferElement == lastProcessElement) { // NOPMD
-					elementToProcess = this.atomicBuffer.last.get();
+					chunkStart = this.atomicBuffer.last.get();
 				} else {
-					elementToProcess = lastProcessElement.getNextElement();
+					chunkStart = lastProcessElement.getNextElement();
 				}
 
-				// if there is nothing to analyze any more break
-				if (this.atomicBuffer.emptyBufferElement == elementToProcess) { // NOPMD
+				// if there is nothing to process any more break
+				if (this.atomicBuffer.emptyBufferElement == chunkStart) { // NOPMD
 					break;
 				}
 
-				if (process(elementToProcess, lastProcessElement)) {
-					break;
+				if (!canProcess(chunkStart)) {
+					waitForProcessable = true;
+				} else {
+					// collect the consecutive elements that can be processed
+					int chunkSize = Math.max(1, this.atomicBuffer.bufferProperties.getProcessingChunkSize());
+					IBufferElement<E> chunkEnd = chunkStart;
+					int elementsInChunk = 1;
+					while (elementsInChunk < chunkSize) {
+						IBufferElement<E> next = chunkEnd.getNextElement();
+						if ((this.atomicBuffer.emptyBufferElement == next) || !canProcess(next)) { // NOPMD
+							break;
+						}
+						chunkEnd = next;
+						elementsInChunk++;
+					}
+
+					// only thread that execute compare and set successfully can process the chunk
+					if (lastProcessed.compareAndSet(lastProcessElement, chunkEnd)) {
+						moreToProcess = this.atomicBuffer.emptyBufferElement != chunkEnd.getNextElement(); // NOPMD
+						IBufferElement<E> element = chunkStart;
+						for (int i = 0; i < elementsInChunk; i++) {
+							process(element);
+							element = element.getNextElement();
+						}
+						break;
+					}
 				}
 			} finally {
 				this.atomicBuffer.clearReadLock.unlock();
+
+				// wake up other waiting thread as there is still work to be done
+				if (moreToProcess) {
+					lock.lock();
+					try {
+						condition.signal();
+					} finally {
+						lock.unlock();
+					}
+				}
+			}
+
+			if (waitForProcessable) {
+				waitForProcessable();
 			}
 		}
 	}
 
 	/**
-	 * Sub-classes should implement this method with the real processing.
+	 * Defines if the element can be processed. Processing of the buffer stops on the first element
+	 * that can not be processed until it becomes processable. Default implementation returns
+	 * <code>true</code>.
+	 *
+	 * @param element
+	 *            Element to check.
+	 * @return <code>true</code> if the element can be processed.
+	 */
+	protected boolean canProcess(IBufferElement<E> element) {
+		return true;
+	}
+
+	/**
+	 * Called when the next element to be processed can not be processed yet. Sub-classes that
+	 * override {@link #canProcess(IBufferElement)} should wait here. Default implementation does
+	 * nothing.
+	 */
+	protected void waitForProcessable() {
+	}
+
+	/**
+	 * Sub-classes should implement this method with the real processing. The element is already
+	 * claimed by the calling thread, thus no other thread will process it.
 	 *
-	 * @param elementToProcess
+	 * @param element
 	 *            Element to be processed.
-	 * @param lastProcessedElement
-	 *            Last successfully processed element.
-	 * @return This method should return <code>true</code> if element was processed and
-	 *         <code>false</code> otherwise.
 	 */
-	public abstract boolean process(IBufferElement<E> elementToProcess, IBufferElement<E> lastProcessedElement);
+	protected abstract void process(IBufferElement<E> element);
 
-}
\ No newline at end of file
+}
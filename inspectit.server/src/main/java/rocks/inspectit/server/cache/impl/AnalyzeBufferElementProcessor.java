@@ -39,18 +39,12 @@ class AnalyzeBufferElementProcessor<E extends DefaultData> extends AbstractBuffe
 	 * {@inheritDoc}
 	 */
 	@Override
-	public boolean process(IBufferElement<E> elementToProcess, IBufferElement<E> lastProcessedElement) {
-		// only thread that execute compare and set successfully can perform changes
-		if (lastProcessed.compareAndSet(lastProcessedElement, elementToProcess)) {
-			// perform analysis
-			elementToProcess.calculateAndSetBufferElementSize(atomicBuffer.objectSizes);
-			elementToProcess.setBufferElementState(BufferElementState.ANALYZED);
-			atomicBuffer.addToCurrentSize(elementToProcess.getBufferElementSize(), true);
-			atomicBuffer.elementsAnalyzed.incrementAndGet();
-			return true;
-		}
-
-		return false;
+	protected void process(IBufferElement<E> element) {
+		// perform analysis
+		element.calculateAndSetBufferElementSize(atomicBuffer.objectSizes);
+		element.setBufferElementState(BufferElementState.ANALYZED);
+		atomicBuffer.addToCurrentSize(element.getBufferElementSize(), true);
+		atomicBuffer.elementsAnalyzed.incrementAndGet();
 	}
 
 }
\ No newline at end of file
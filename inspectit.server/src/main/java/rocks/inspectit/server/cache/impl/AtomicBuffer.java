@@ -24,6 +24,9 @@ import rocks.inspectit.server.cache.IBufferElement.BufferElementState;
 import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
 import rocks.inspectit.shared.all.cmr.property.spring.PropertyUpdate;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationAwareData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
 
@@ -149,6 +152,13 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 	 */
 	private AtomicReference<IBufferElement<E>> lastIndexed;
 
+	/**
+	 * Atomic reference to the element up to which all elements have completed the indexing. Since
+	 * several indexing threads can work on different chunks at the same time, this element can be
+	 * behind the {@link #lastIndexed}. Only moved forward when the indexing lag is calculated.
+	 */
+	private AtomicReference<IBufferElement<E>> indexingCompletedUpTo;
+
 	/**
 	 * Size of the indexing tree.
 	 */
@@ -260,7 +270,7 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 		if (informAnalyzing) {
 			analyzeLock.lock();
 			try {
-				nothingToAnalyze.signal();
+				nothingToAnalyze.signalAll();
 			} finally {
 				analyzeLock.unlock();
 			}
@@ -269,7 +279,7 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 		if (informIndexing) {
 			indexingLock.lock();
 			try {
-				nothingToIndex.signal();
+				nothingToIndex.signalAll();
 			} finally {
 				indexingLock.unlock();
 			}
@@ -283,6 +293,9 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 	 * smaller than eviction occupancy percentage. This method also sets the cleaning flag after
 	 * every {@value #elementsCountForMaintenance}th element evicted.
 	 * <p>
+	 * If the indexing tree holds strong references to the elements, the evicted elements are
+	 * removed from the indexing tree once the fragment is detached from the buffer.
+	 * <p>
 	 * This method is designed for multiply thread access.
 	 */
 	@Override
@@ -340,6 +353,16 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 					// add evicted elements to the total count
 					elementsEvicted.addAndGet(elementsInFragment);
 
+					// publish the evicted elements to the indexing tree if it does not let them go
+					// by itself
+					if (bufferProperties.isStrongReferenceLeafs()) {
+						IBufferElement<E> evictedElement = currentLastElement;
+						for (int i = 0; i < elementsInFragment; i++) {
+							removeFromIndexingTree(evictedElement.getObject());
+							evictedElement = evictedElement.getNextElement();
+						}
+					}
+
 					// if the last is now pointing to the empty buffer element, it means that we
 					// have
 					// evicted all elements, so first should also point to empty buffer element
@@ -358,6 +381,57 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 
 	}
 
+	/**
+	 * Removes the evicted element from the indexing tree. For the invocation sequences also the
+	 * data that has been indexed directly from the invocation is removed, as this data is not
+	 * present in the buffer as separate element.
+	 *
+	 * @param element
+	 *            Evicted element.
+	 */
+	void removeFromIndexingTree(E element) {
+		indexingTree.getAndRemove(element);
+		if (element instanceof InvocationSequenceData) {
+			removeInvocationDataFromIndexingTree((InvocationSequenceData) element);
+		}
+	}
+
+	/**
+	 * Removes the data found only in the invocation from the indexing tree, recursively for the
+	 * complete invocation.
+	 *
+	 * @param invocation
+	 *            Invocation sequence.
+	 */
+	private void removeInvocationDataFromIndexingTree(InvocationSequenceData invocation) {
+		removeInvocationAwareDataFromIndexingTree(invocation.getTimerData());
+		removeInvocationAwareDataFromIndexingTree(invocation.getSqlStatementData());
+		if (null != invocation.getExceptionSensorDataObjects()) {
+			for (ExceptionSensorData exceptionSensorData : invocation.getExceptionSensorDataObjects()) {
+				removeInvocationAwareDataFromIndexingTree(exceptionSensorData);
+			}
+		}
+		if (null != invocation.getNestedSequences()) {
+			for (InvocationSequenceData child : invocation.getNestedSequences()) {
+				removeInvocationDataFromIndexingTree(child);
+			}
+		}
+	}
+
+	/**
+	 * Removes the invocation aware data from the indexing tree if it has been indexed directly
+	 * from the invocation.
+	 *
+	 * @param invocationAwareData
+	 *            Data to remove, can be <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	private void removeInvocationAwareDataFromIndexingTree(InvocationAwareData invocationAwareData) {
+		if ((null != invocationAwareData) && invocationAwareData.isOnlyFoundInInvocations()) {
+			indexingTree.getAndRemove((E) invocationAwareData);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -502,6 +576,7 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 			last.set(emptyBufferElement);
 			lastAnalyzed.set(emptyBufferElement);
 			lastIndexed.set(emptyBufferElement);
+			indexingCompletedUpTo.set(emptyBufferElement);
 			setCurrentSize(0);
 			elementsAdded.set(0);
 			elementsAnalyzed.set(0);
@@ -554,6 +629,79 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 		return elementsAnalyzed.get();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getIndexingLagElements() {
+		return Math.max(0L, elementsAdded.get() - elementsIndexed.get());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The lag is calculated as the difference between the time stamps of the newest element in the
+	 * buffer and the oldest element that has not completed the indexing, thus it is based on the
+	 * time of the data and not on the time the data was added to the buffer. Elements claimed by
+	 * an indexing thread, but not yet indexed, are counted in the lag.
+	 */
+	@Override
+	public long getIndexingLagMillis() {
+		clearReadLock.lock();
+		try {
+			IBufferElement<E> newestElement = first.get();
+			if (emptyBufferElement == newestElement) {
+				return 0;
+			}
+
+			IBufferElement<E> oldestNotIndexed = findOldestNotIndexed();
+			if (null == oldestNotIndexed) {
+				return 0;
+			}
+
+			E newest = newestElement.getObject();
+			E oldestNotIndexedObject = oldestNotIndexed.getObject();
+			if ((null == newest) || (null == oldestNotIndexedObject) || (null == newest.getTimeStamp()) || (null == oldestNotIndexedObject.getTimeStamp())) {
+				return 0;
+			}
+			return Math.max(0L, newest.getTimeStamp().getTime() - oldestNotIndexedObject.getTimeStamp().getTime());
+		} finally {
+			clearReadLock.unlock();
+		}
+	}
+
+	/**
+	 * Finds the oldest element in the buffer that has not completed the indexing and moves the
+	 * {@link #indexingCompletedUpTo} to the element before it. The search starts from the
+	 * {@link #indexingCompletedUpTo} or from the last element in the buffer if that element has
+	 * been evicted in the meantime, thus only the elements indexed since the last search are
+	 * visited.
+	 *
+	 * @return Oldest element that is not indexed or <code>null</code> if all elements are indexed.
+	 */
+	private IBufferElement<E> findOldestNotIndexed() {
+		IBufferElement<E> completedUpTo = indexingCompletedUpTo.get();
+		IBufferElement<E> element;
+		if ((emptyBufferElement == completedUpTo) || completedUpTo.isEvicted()) {
+			completedUpTo = emptyBufferElement;
+			element = last.get();
+		} else {
+			element = completedUpTo.getNextElement();
+		}
+
+		// evicted elements also report to be indexed, they are not waiting for the indexing any more
+		while ((emptyBufferElement != element) && element.isIndexed()) {
+			completedUpTo = element;
+			element = element.getNextElement();
+		}
+
+		indexingCompletedUpTo.set(completedUpTo);
+		if (emptyBufferElement == element) {
+			return null;
+		}
+		return element;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -593,6 +741,7 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 		this.last = new AtomicReference<IBufferElement<E>>(emptyBufferElement);
 		this.lastAnalyzed = new AtomicReference<IBufferElement<E>>(emptyBufferElement);
 		this.lastIndexed = new AtomicReference<IBufferElement<E>>(emptyBufferElement);
+		this.indexingCompletedUpTo = new AtomicReference<IBufferElement<E>>(emptyBufferElement);
 		this.indexingTreeCleaningExecutorService = Executors.newFixedThreadPool(bufferProperties.getIndexingTreeCleaningThreads());
 		this.flagsSetOnBytes = bufferProperties.getFlagsSetOnBytes(this.maxSize.get());
 
@@ -665,6 +814,12 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 
 		msg.append("\n-Elements evicted: ");
 		msg.append(NumberFormat.getInstance().format(elementsEvicted.get()));
+
+		msg.append("\n-Indexing lag: ");
+		msg.append(NumberFormat.getInstance().format(getIndexingLagElements()));
+		msg.append(" elements (");
+		msg.append(NumberFormat.getInstance().format(getIndexingLagMillis()));
+		msg.append(" ms)");
 		msg.append('\n');
 		return msg.toString();
 	}
@@ -24,7 +24,19 @@ public class BufferAnalyzer extends BufferWorker {
 	 */
 	@Autowired
 	public BufferAnalyzer(IBuffer<?> buffer) {
-		super(buffer, "buffer-analyzing-thread");
+		this(buffer, "buffer-analyzing-thread");
+	}
+
+	/**
+	 * Constructor for the additional threads started by the {@link ParallelBufferWorkers}.
+	 *
+	 * @param buffer
+	 *            Buffer to work on.
+	 * @param threadName
+	 *            How to name the thread.
+	 */
+	public BufferAnalyzer(IBuffer<?> buffer, String threadName) {
+		super(buffer, threadName);
 	}
 
 	/**
@@ -29,9 +29,9 @@ public class BufferElement<E extends DefaultData> implements IBufferElement<E> {
 	private long bufferElementSize;
 
 	/**
-	 * Buffer element state.
+	 * Buffer element state. Volatile as the eviction and indexing threads both check the state.
 	 */
-	private BufferElementState bufferElementState;
+	private volatile BufferElementState bufferElementState;
 
 	/**
 	 * Default constructor.
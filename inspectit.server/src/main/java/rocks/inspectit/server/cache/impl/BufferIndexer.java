@@ -24,7 +24,19 @@ public class BufferIndexer extends BufferWorker {
 	 */
 	@Autowired
 	public BufferIndexer(IBuffer<?> buffer) {
-		super(buffer, "buffer-indexing-thread");
+		this(buffer, "buffer-indexing-thread");
+	}
+
+	/**
+	 * Constructor for the additional threads started by the {@link ParallelBufferWorkers}.
+	 *
+	 * @param buffer
+	 *            Buffer to work on.
+	 * @param threadName
+	 *            How to name the thread.
+	 */
+	public BufferIndexer(IBuffer<?> buffer, String threadName) {
+		super(buffer, threadName);
 		setPriority(NORM_PRIORITY);
 	}
 
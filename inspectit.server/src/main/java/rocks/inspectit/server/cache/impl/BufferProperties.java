@@ -107,6 +107,30 @@ public class BufferProperties {
 	@Value(value = "${buffer.indexingWaitTime}")
 	long indexingWaitTime;
 
+	/**
+	 * Number of threads that are indexing the buffer elements.
+	 */
+	@Value(value = "${buffer.indexingThreads}")
+	int indexingThreads;
+
+	/**
+	 * Number of threads that are analyzing the buffer elements.
+	 */
+	@Value(value = "${buffer.analyzingThreads}")
+	int analyzingThreads;
+
+	/**
+	 * Maximum number of consecutive elements one indexing or analyzing thread claims at once.
+	 */
+	@Value(value = "${buffer.processingChunkSize}")
+	int processingChunkSize;
+
+	/**
+	 * If the leafs of the indexing tree hold strong references to the elements.
+	 */
+	@Value(value = "${buffer.strongReferenceLeafs}")
+	boolean strongReferenceLeafs;
+
 	/**
 	 * Size of old space occupancy till which min occupancy will be active.
 	 */
@@ -237,6 +261,36 @@ public class BufferProperties {
 		return indexingWaitTime;
 	}
 
+	/**
+	 * @return Number of threads that are indexing the buffer elements.
+	 */
+	public int getIndexingThreads() {
+		return indexingThreads;
+	}
+
+	/**
+	 * @return Number of threads that are analyzing the buffer elements.
+	 */
+	public int getAnalyzingThreads() {
+		return analyzingThreads;
+	}
+
+	/**
+	 * @return Maximum number of consecutive elements one indexing or analyzing thread claims at
+	 *         once.
+	 */
+	public int getProcessingChunkSize() {
+		return processingChunkSize;
+	}
+
+	/**
+	 * @return If the leafs of the indexing tree hold strong references to the elements, thus the
+	 *         evicted elements must be removed from the indexing tree.
+	 */
+	public boolean isStrongReferenceLeafs() {
+		return strongReferenceLeafs;
+	}
+
 	/**
 	 * @return the minOldSpaceOccupancyActiveTillOldGenSize
 	 */
@@ -459,6 +513,10 @@ public class BufferProperties {
 			log.info("||-Eviction fragment size percentage: " + NumberFormat.getInstance().format(evictionFragmentSizePercentage * 100) + "%");
 			log.info("||-Indexing tree cleaning threads: " + NumberFormat.getInstance().format(indexingTreeCleaningThreads));
 			log.info("||-Indexing waiting time: " + NumberFormat.getInstance().format(indexingWaitTime) + " ms");
+			log.info("||-Indexing threads: " + NumberFormat.getInstance().format(indexingThreads));
+			log.info("||-Analyzing threads: " + NumberFormat.getInstance().format(analyzingThreads));
+			log.info("||-Processing chunk size: " + NumberFormat.getInstance().format(processingChunkSize) + " elements");
+			log.info("||-Strong reference leafs: " + strongReferenceLeafs);
 			log.info("||-Min old generation occupancy percentage active till: " + NumberFormat.getInstance().format(minOldSpaceOccupancyActiveTillOldGenSize) + " bytes");
 			log.info("||-Max old generation occupancy percentage active from: " + NumberFormat.getInstance().format(maxOldSpaceOccupancyActiveFromOldGenSize) + " bytes");
 			log.info("||-Min old generation occupancy percentage: " + NumberFormat.getInstance().format(minOldSpaceOccupancy * 100) + "%");
@@ -519,6 +577,18 @@ public class BufferProperties {
 			throw new BeanInitializationException(
 					"Buffer properties initialization error: The indexing wait time can not be less or equal than zero. Initialization value is: " + this.indexingWaitTime);
 		}
+		if (this.indexingThreads <= 0) {
+			throw new BeanInitializationException(
+					"Buffer properties initialization error: The number of indexing threads can not be less or equal than zero. Initialization value is: " + this.indexingThreads);
+		}
+		if (this.analyzingThreads <= 0) {
+			throw new BeanInitializationException(
+					"Buffer properties initialization error: The number of analyzing threads can not be less or equal than zero. Initialization value is: " + this.analyzingThreads);
+		}
+		if (this.processingChunkSize <= 0) {
+			throw new BeanInitializationException(
+					"Buffer properties initialization error: The processing chunk size can not be less or equal than zero. Initialization value is: " + this.processingChunkSize);
+		}
 
 		// old space settings
 		if (this.minOldSpaceOccupancyActiveTillOldGenSize <= 0) {
@@ -75,70 +75,80 @@ class IndexBufferElementProcessor<E extends DefaultData> extends AbstractBufferE
 	/**
 	 * {@inheritDoc}
 	 * <p>
-	 * We wait until element is analyzed to index it.
+	 * We only index the elements that have already been analyzed.
+	 */
+	@Override
+	protected boolean canProcess(IBufferElement<E> element) {
+		return element.isAnalyzed();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Waits for the element to be analyzed.
+	 */
+	@Override
+	protected void waitForProcessable() {
+		try {
+			Thread.sleep(atomicBuffer.bufferProperties.getIndexingWaitTime());
+		} catch (InterruptedException e) {
+			Thread.interrupted();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
 	 * <p>
 	 * After successful indexing we check if update of indexing tree size is needed and if so update
 	 * it.
-	 *
+	 * <p>
+	 * If the indexing tree holds strong references and the element has been evicted in the
+	 * meantime, the element is removed again, as the eviction might have missed it.
 	 */
 	@Override
-	public boolean process(IBufferElement<E> elementToProcess, IBufferElement<E> lastProcessedElement) {
-		// we only index when the element has already been analyzed
-		if (!elementToProcess.isAnalyzed()) {
-			try {
-				Thread.sleep(atomicBuffer.bufferProperties.getIndexingWaitTime());
-			} catch (InterruptedException e) {
-				Thread.interrupted();
+	protected void process(IBufferElement<E> element) {
+		try {
+			// index element
+			atomicBuffer.indexingTree.put(element.getObject());
+			if (atomicBuffer.bufferProperties.isStrongReferenceLeafs() && element.isEvicted()) {
+				atomicBuffer.removeFromIndexingTree(element.getObject());
+			} else {
+				element.setBufferElementState(BufferElementState.INDEXED);
 			}
-			// we go back to the while loop, because we want to check if the nextForIndexing
-			// element has changed
-			return false;
-		}
-
-		// only thread that execute compare and set successfully can perform changes
-		if (lastProcessed.compareAndSet(lastProcessedElement, elementToProcess)) {
-			try {
-				// index element
-				atomicBuffer.indexingTree.put(elementToProcess.getObject());
-				elementToProcess.setBufferElementState(BufferElementState.INDEXED);
 
-				// increase number of indexed elements, and perform calculation of the
-				// indexing tree size if enough elements have been indexed
-				atomicBuffer.elementsIndexed.incrementAndGet();
+			// increase number of indexed elements, and perform calculation of the
+			// indexing tree size if enough elements have been indexed
+			atomicBuffer.elementsIndexed.incrementAndGet();
 
-				long dataAddedInBytesCurrent = atomicBuffer.dataAddedInBytes.get();
-				if (dataAddedInBytesCurrent > atomicBuffer.flagsSetOnBytes) {
-					if (atomicBuffer.dataAddedInBytes.compareAndSet(dataAddedInBytesCurrent, 0)) {
-						long time = 0;
-						if (atomicBuffer.log.isDebugEnabled()) {
-							time = System.nanoTime();
-						}
-						while (true) {
-							// calculation of new size has to be repeated if old size
-							// compare and set fails
-							long newSize = atomicBuffer.indexingTree.getComponentSize(atomicBuffer.objectSizes);
-							newSize += newSize * atomicBuffer.objectSizes.getObjectSecurityExpansionRate();
-							long oldSize = atomicBuffer.indexingTreeSize.get();
-							if (atomicBuffer.indexingTreeSize.compareAndSet(oldSize, newSize)) {
-								atomicBuffer.addToCurrentSize(newSize - oldSize, false);
-								if (atomicBuffer.log.isDebugEnabled()) {
-									atomicBuffer.log.debug("Indexing tree size update duration: " + Converter.nanoToMilliseconds(System.nanoTime() - time));
-									atomicBuffer.log.debug("Indexing tree delta: " + (newSize - oldSize));
-									atomicBuffer.log.debug("Indexing tree new size: " + newSize);
-								}
-								break;
+			long dataAddedInBytesCurrent = atomicBuffer.dataAddedInBytes.get();
+			if (dataAddedInBytesCurrent > atomicBuffer.flagsSetOnBytes) {
+				if (atomicBuffer.dataAddedInBytes.compareAndSet(dataAddedInBytesCurrent, 0)) {
+					long time = 0;
+					if (atomicBuffer.log.isDebugEnabled()) {
+						time = System.nanoTime();
+					}
+					while (true) {
+						// calculation of new size has to be repeated if old size
+						// compare and set fails
+						long newSize = atomicBuffer.indexingTree.getComponentSize(atomicBuffer.objectSizes);
+						newSize += newSize * atomicBuffer.objectSizes.getObjectSecurityExpansionRate();
+						long oldSize = atomicBuffer.indexingTreeSize.get();
+						if (atomicBuffer.indexingTreeSize.compareAndSet(oldSize, newSize)) {
+							atomicBuffer.addToCurrentSize(newSize - oldSize, false);
+							if (atomicBuffer.log.isDebugEnabled()) {
+								atomicBuffer.log.debug("Indexing tree size update duration: " + Converter.nanoToMilliseconds(System.nanoTime() - time));
+								atomicBuffer.log.debug("Indexing tree delta: " + (newSize - oldSize));
+								atomicBuffer.log.debug("Indexing tree new size: " + newSize);
 							}
+							break;
 						}
 					}
 				}
-			} catch (IndexingException e) {
-				// indexing exception should not happen
-				atomicBuffer.log.error(e.getMessage(), e);
 			}
-			return true;
+		} catch (IndexingException e) {
+			// indexing exception should not happen
+			atomicBuffer.log.error(e.getMessage(), e);
 		}
-
-		return false;
 	}
 
 }
\ No newline at end of file
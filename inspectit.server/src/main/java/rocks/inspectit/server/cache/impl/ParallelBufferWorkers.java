@@ -0,0 +1,62 @@
+package rocks.inspectit.server.cache.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.cache.IBuffer;
+
+/**
+ * Starts the additional {@link BufferIndexer} and {@link BufferAnalyzer} threads when more than
+ * one indexing or analyzing thread is defined in the {@link BufferProperties}. The additional
+ * threads work next to the default ones, each claiming its own chunk of the buffer elements.
+ */
+@Component
+public class ParallelBufferWorkers {
+
+	/**
+	 * Buffer to work on.
+	 */
+	@Autowired
+	IBuffer<?> buffer;
+
+	/**
+	 * Buffer properties.
+	 */
+	@Autowired
+	BufferProperties bufferProperties;
+
+	/**
+	 * Additional workers started.
+	 */
+	private final List<BufferWorker> workers = new ArrayList<>();
+
+	/**
+	 * Starts the additional workers.
+	 */
+	@PostConstruct
+	public void startWorkers() {
+		for (int i = 1; i < bufferProperties.getIndexingThreads(); i++) {
+			workers.add(new BufferIndexer(buffer, "buffer-indexing-thread-" + i));
+		}
+		for (int i = 1; i < bufferProperties.getAnalyzingThreads(); i++) {
+			workers.add(new BufferAnalyzer(buffer, "buffer-analyzing-thread-" + i));
+		}
+		for (BufferWorker worker : workers) {
+			worker.start();
+		}
+	}
+
+	/**
+	 * Returns the additional workers.
+	 *
+	 * @return Returns the additional workers.
+	 */
+	public List<BufferWorker> getWorkers() {
+		return workers;
+	}
+}
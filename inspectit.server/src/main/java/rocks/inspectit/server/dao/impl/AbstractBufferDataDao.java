@@ -158,6 +158,10 @@ public abstract class AbstractBufferDataDao<E extends DefaultData> {
 	 * Executes the query on the indexing tree. If the {@link IAggregator} is not <code>null</code>
 	 * then the results will be aggregated based on the given {@link IAggregator}. Results can be
 	 * sorted by comparator. Furthermore the result list can be limited.
+	 * <p>
+	 * If the results are sorted and limited, but not aggregated, the comparator and the limit are
+	 * passed to the indexing tree, so that only the first <code>limit</code> elements are kept
+	 * during the search instead of sorting all the matching elements.
 	 *
 	 * @param indexQuery
 	 *            Index query to execute.
@@ -172,6 +176,14 @@ public abstract class AbstractBufferDataDao<E extends DefaultData> {
 	 * @return Result list.
 	 */
 	protected List<E> executeQuery(IIndexQuery indexQuery, IAggregator<E> aggregator, Comparator<? super E> comparator, int limit, boolean useForkJoin) {
+		if ((null == aggregator) && (null != comparator) && (limit > -1)) {
+			if (useForkJoin) {
+				return indexingTree.query(indexQuery, comparator, limit, forkJoinPool);
+			} else {
+				return indexingTree.query(indexQuery, comparator, limit);
+			}
+		}
+
 		List<E> data;
 
 		if (useForkJoin) {
@@ -0,0 +1,63 @@
+package rocks.inspectit.server.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event for signaling that an agent has acknowledged a pushed batch of agent messages.
+ */
+public class AgentMessagesAcknowledgedEvent extends ApplicationEvent {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = -6204316815412254539L;
+
+	/**
+	 * Id of the agent.
+	 */
+	private final long platformId;
+
+	/**
+	 * Id of the acknowledged batch.
+	 */
+	private final long batchId;
+
+	/**
+	 * Default constructor for the event.
+	 *
+	 * @param source
+	 *            event source
+	 * @param platformId
+	 *            id of the agent, must be greater than 0
+	 * @param batchId
+	 *            id of the acknowledged batch
+	 */
+	public AgentMessagesAcknowledgedEvent(Object source, long platformId, long batchId) {
+		super(source);
+
+		if (platformId <= 0) {
+			throw new IllegalArgumentException("Agent ID has to be greater than 0.");
+		}
+
+		this.platformId = platformId;
+		this.batchId = batchId;
+	}
+
+	/**
+	 * Gets {@link #platformId}.
+	 *
+	 * @return {@link #platformId}
+	 */
+	public long getPlatformId() {
+		return this.platformId;
+	}
+
+	/**
+	 * Gets {@link #batchId}.
+	 *
+	 * @return {@link #batchId}
+	 */
+	public long getBatchId() {
+		return this.batchId;
+	}
+}
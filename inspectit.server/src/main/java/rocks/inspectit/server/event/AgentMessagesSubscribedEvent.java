@@ -0,0 +1,46 @@
+package rocks.inspectit.server.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event for signaling that an agent has subscribed to the pushed agent messages.
+ */
+public class AgentMessagesSubscribedEvent extends ApplicationEvent {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = 4417307659420374722L;
+
+	/**
+	 * Id of the subscribed agent.
+	 */
+	private final long platformId;
+
+	/**
+	 * Default constructor for the event.
+	 *
+	 * @param source
+	 *            event source
+	 * @param platformId
+	 *            id of subscribed agent, must be greater than 0
+	 */
+	public AgentMessagesSubscribedEvent(Object source, long platformId) {
+		super(source);
+
+		if (platformId <= 0) {
+			throw new IllegalArgumentException("Agent ID has to be greater than 0.");
+		}
+
+		this.platformId = platformId;
+	}
+
+	/**
+	 * Gets {@link #platformId}.
+	 *
+	 * @return {@link #platformId}
+	 */
+	public long getPlatformId() {
+		return this.platformId;
+	}
+}
@@ -1,9 +1,15 @@
 package rocks.inspectit.server.indexing.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
+import org.apache.commons.lang.StringUtils;
+import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import rocks.inspectit.server.indexing.impl.RootBranchFactory.RootBranch;
@@ -13,13 +19,20 @@ import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
 import rocks.inspectit.shared.cs.indexing.buffer.impl.Branch;
 import rocks.inspectit.shared.cs.indexing.buffer.impl.BufferBranchIndexer;
 import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
+import rocks.inspectit.shared.cs.indexing.indexer.IBranchIndexer;
+import rocks.inspectit.shared.cs.indexing.indexer.impl.MethodIdentIndexer;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.ObjectTypeIndexer;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.PlatformIdentIndexer;
+import rocks.inspectit.shared.cs.indexing.indexer.impl.SensorTypeIdentIndexer;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.TimestampIndexer;
 
 /**
  * Factory that creates the root branch for indexing tree. This root branch will be injected in
  * Spring as a bean.
+ * <p>
+ * The levels of the tree are defined by the {@link #treeLayout}, a comma separated list of the
+ * {@link TreeLevel} names starting with the level below the root. The default layout is platform
+ * ident, object type and time-stamp.
  *
  * @author Ivan Senic
  *
@@ -27,15 +40,110 @@ import rocks.inspectit.shared.cs.indexing.indexer.impl.TimestampIndexer;
 @Component
 public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 
+	/**
+	 * Default layout of the tree.
+	 */
+	public static final String DEFAULT_TREE_LAYOUT = "PLATFORM_IDENT,OBJECT_TYPE,TIMESTAMP";
+
+	/**
+	 * Comma separated list of the tree levels.
+	 */
+	@Value("${buffer.indexingTreeLayout}")
+	private String treeLayout = DEFAULT_TREE_LAYOUT;
+
+	/**
+	 * If the leafs should keep the secondary index of the elements by method ident.
+	 */
+	@Value("${buffer.methodIdentLeafIndex}")
+	private boolean methodIdentLeafIndex = true;
+
+	/**
+	 * If the leafs should hold strong references to the elements. The buffer then removes the
+	 * elements from the tree on eviction.
+	 */
+	@Value("${buffer.strongReferenceLeafs}")
+	private boolean strongReferenceLeafs;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public RootBranch<DefaultData> getObject() throws Exception {
-		BufferBranchIndexer<DefaultData> timestampIndexer = new BufferBranchIndexer<>(new TimestampIndexer<>());
-		BufferBranchIndexer<DefaultData> objectTypeIndexer = new BufferBranchIndexer<>(new ObjectTypeIndexer<>(), timestampIndexer);
-		BufferBranchIndexer<DefaultData> platformIndexer = new BufferBranchIndexer<>(new PlatformIdentIndexer<>(), objectTypeIndexer);
-		return new RootBranch<>(platformIndexer);
+		List<TreeLevel> levels = parseTreeLayout(treeLayout);
+
+		// build the indexers from the leaf level up to the root
+		BufferBranchIndexer<DefaultData> indexer = null;
+		for (int i = levels.size() - 1; i >= 0; i--) {
+			indexer = new BufferBranchIndexer<>(levels.get(i).<DefaultData> createIndexer(), indexer);
+			if (i == (levels.size() - 1)) {
+				indexer.setMethodIdentLeafIndex(methodIdentLeafIndex);
+				indexer.setStrongReferenceLeafs(strongReferenceLeafs);
+			}
+		}
+		return new RootBranch<>(indexer);
+	}
+
+	/**
+	 * Parses the tree layout.
+	 *
+	 * @param layout
+	 *            Comma separated list of the {@link TreeLevel} names.
+	 * @return List of levels in the order of the layout.
+	 * @throws BeanInitializationException
+	 *             If the layout is empty, contains unknown or duplicated levels.
+	 */
+	static List<TreeLevel> parseTreeLayout(String layout) throws BeanInitializationException {
+		List<TreeLevel> levels = new ArrayList<>();
+		for (String name : StringUtils.split(StringUtils.defaultString(layout), ',')) {
+			String trimmed = name.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			TreeLevel level;
+			try {
+				level = TreeLevel.valueOf(trimmed.toUpperCase(Locale.ENGLISH));
+			} catch (IllegalArgumentException e) {
+				throw new BeanInitializationException("Indexing tree layout (" + layout + ") contains unknown level " + trimmed + ".", e);
+			}
+			if (levels.contains(level)) {
+				throw new BeanInitializationException("Indexing tree layout (" + layout + ") contains level " + level + " more than once.");
+			}
+			levels.add(level);
+		}
+		if (levels.isEmpty()) {
+			throw new BeanInitializationException("Indexing tree layout must define at least one level.");
+		}
+		return levels;
+	}
+
+	/**
+	 * Sets {@link #treeLayout}.
+	 *
+	 * @param treeLayout
+	 *            New value for {@link #treeLayout}
+	 */
+	public void setTreeLayout(String treeLayout) {
+		this.treeLayout = treeLayout;
+	}
+
+	/**
+	 * Sets {@link #methodIdentLeafIndex}.
+	 *
+	 * @param methodIdentLeafIndex
+	 *            New value for {@link #methodIdentLeafIndex}
+	 */
+	public void setMethodIdentLeafIndex(boolean methodIdentLeafIndex) {
+		this.methodIdentLeafIndex = methodIdentLeafIndex;
+	}
+
+	/**
+	 * Sets {@link #strongReferenceLeafs}.
+	 *
+	 * @param strongReferenceLeafs
+	 *            New value for {@link #strongReferenceLeafs}
+	 */
+	public void setStrongReferenceLeafs(boolean strongReferenceLeafs) {
+		this.strongReferenceLeafs = strongReferenceLeafs;
 	}
 
 	/**
@@ -54,6 +162,62 @@ public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 		return true;
 	}
 
+	/**
+	 * Levels the buffer indexing tree can be built of.
+	 */
+	public enum TreeLevel {
+
+		/**
+		 * Level by platform ident.
+		 */
+		PLATFORM_IDENT,
+
+		/**
+		 * Level by object type.
+		 */
+		OBJECT_TYPE,
+
+		/**
+		 * Level by sensor type ident.
+		 */
+		SENSOR_TYPE_IDENT,
+
+		/**
+		 * Level by method ident. Elements that are not method sensor data are indexed with the key
+		 * <code>0</code>.
+		 */
+		METHOD_IDENT,
+
+		/**
+		 * Level by time-stamp.
+		 */
+		TIMESTAMP;
+
+		/**
+		 * Creates the indexer for this level.
+		 *
+		 * @param <E>
+		 *            Type of the elements indexed.
+		 * @return New indexer.
+		 */
+		<E extends DefaultData> IBranchIndexer<E> createIndexer() {
+			switch (this) {
+			case PLATFORM_IDENT:
+				return new PlatformIdentIndexer<>();
+			case OBJECT_TYPE:
+				return new ObjectTypeIndexer<>();
+			case SENSOR_TYPE_IDENT:
+				return new SensorTypeIdentIndexer<>();
+			case METHOD_IDENT:
+				return new MethodIdentIndexer<>();
+			case TIMESTAMP:
+				return new TimestampIndexer<>();
+			default:
+				throw new IllegalStateException("Unknown tree level " + this + ".");
+			}
+		}
+	}
+
 	/**
 	 * Root branch. It has additional functionality of generating IDs for the elements that need to
 	 * be put into the indexing tree.
@@ -0,0 +1,55 @@
+package rocks.inspectit.server.influx.builder;
+
+import org.influxdb.dto.Point.Builder;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.influx.constants.Series;
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
+
+/**
+ * Point builder for the {@link AgentOverheadInformationData}. The dispatching overhead is written
+ * as the sum over all sensor types.
+ */
+@Component
+public class AgentOverheadPointBuilder extends DefaultDataPointBuilder<AgentOverheadInformationData> {
+
+	/**
+	 * Percentile written to the series.
+	 */
+	private static final double PERCENTILE = 0.99d;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<AgentOverheadInformationData> getDataClass() {
+		return AgentOverheadInformationData.class;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String getSeriesName() {
+		return Series.AgentOverhead.NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void addFields(AgentOverheadInformationData data, Builder builder) {
+		long[] dispatchTimeHistogram = data.getTotalDispatchTimeHistogram();
+
+		// fields
+		builder.addField(Series.AgentOverhead.FIELD_DISPATCH_COUNT, AgentOverheadInformationData.getCount(dispatchTimeHistogram));
+		builder.addField(Series.AgentOverhead.FIELD_DISPATCH_TIME, data.getTotalDispatchTime());
+		builder.addField(Series.AgentOverhead.FIELD_DISPATCH_TIME_P99, AgentOverheadInformationData.getPercentile(dispatchTimeHistogram, PERCENTILE));
+		builder.addField(Series.AgentOverhead.FIELD_ALLOCATED_BYTES, data.getTotalAllocatedBytes());
+		builder.addField(Series.AgentOverhead.FIELD_SEND_COUNT, AgentOverheadInformationData.getCount(data.getSendTimeHistogram()));
+		builder.addField(Series.AgentOverhead.FIELD_SEND_TIME_P99, AgentOverheadInformationData.getPercentile(data.getSendTimeHistogram(), PERCENTILE));
+		builder.addField(Series.AgentOverhead.FIELD_QUEUE_SIZE_P99, AgentOverheadInformationData.getPercentile(data.getQueueSizeHistogram(), PERCENTILE));
+		builder.addField(Series.AgentOverhead.FIELD_DROPPED_BATCHES, data.getDroppedBatches());
+	}
+
+}
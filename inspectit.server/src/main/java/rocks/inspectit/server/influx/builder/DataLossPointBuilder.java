@@ -0,0 +1,41 @@
+package rocks.inspectit.server.influx.builder;
+
+import org.influxdb.dto.Point.Builder;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.influx.constants.Series;
+import rocks.inspectit.shared.all.communication.data.DataLossInformationData;
+
+/**
+ * Point builder for the {@link DataLossInformationData}.
+ */
+@Component
+public class DataLossPointBuilder extends DefaultDataPointBuilder<DataLossInformationData> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<DataLossInformationData> getDataClass() {
+		return DataLossInformationData.class;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String getSeriesName() {
+		return Series.DataLoss.NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void addFields(DataLossInformationData data, Builder builder) {
+		// fields
+		builder.addField(Series.DataLoss.FIELD_DROPPED_OBJECTS, data.getDroppedObjects());
+		builder.addField(Series.DataLoss.FIELD_DROPPED_BATCHES, data.getDroppedBatches());
+	}
+
+}
@@ -456,4 +456,78 @@ public interface Series {
 
 	}
 
+	/**
+	 * Series for the {@link rocks.inspectit.shared.all.communication.data.DataLossInformationData}.
+	 */
+	interface DataLoss extends Series {
+
+		/**
+		 * Series name.
+		 */
+		String NAME = "dataLoss";
+
+		/**
+		 * Dropped objects field.
+		 */
+		String FIELD_DROPPED_OBJECTS = "droppedObjects";
+
+		/**
+		 * Dropped batches field.
+		 */
+		String FIELD_DROPPED_BATCHES = "droppedBatches";
+
+	}
+
+	/**
+	 * Series for the {@link rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData}.
+	 */
+	interface AgentOverhead extends Series {
+
+		/**
+		 * Series name.
+		 */
+		String NAME = "agentOverhead";
+
+		/**
+		 * Dispatch count field.
+		 */
+		String FIELD_DISPATCH_COUNT = "dispatchCount";
+
+		/**
+		 * Dispatch time field.
+		 */
+		String FIELD_DISPATCH_TIME = "dispatchTime";
+
+		/**
+		 * Dispatch time 99th percentile field.
+		 */
+		String FIELD_DISPATCH_TIME_P99 = "dispatchTimeP99";
+
+		/**
+		 * Allocated bytes field.
+		 */
+		String FIELD_ALLOCATED_BYTES = "allocatedBytes";
+
+		/**
+		 * Send count field.
+		 */
+		String FIELD_SEND_COUNT = "sendCount";
+
+		/**
+		 * Send time 99th percentile field.
+		 */
+		String FIELD_SEND_TIME_P99 = "sendTimeP99";
+
+		/**
+		 * Queue size 99th percentile field.
+		 */
+		String FIELD_QUEUE_SIZE_P99 = "queueSizeP99";
+
+		/**
+		 * Dropped batches field.
+		 */
+		String FIELD_DROPPED_BATCHES = "droppedBatches";
+
+	}
+
 }
@@ -3,10 +3,12 @@ package rocks.inspectit.server.instrumentation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
@@ -189,6 +191,77 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 		return classCache.getInstrumentationService().addAndGetInstrumentationResult(classType, configurationHolder.getAgentConfiguration(), configurationHolder.getInstrumentationAppliers());
 	}
 
+	/**
+	 * Analyzes the batch of types sent by the agent. All types are first merged to the class cache
+	 * and only then the instrumentation points are added, thus the order of the types in the batch
+	 * is not important. The complete batch is processed with one acquisition of the class cache
+	 * write lock.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param hashToType
+	 *            Map of class hash to the parsed {@link Type}.
+	 * @return Map of class hash to the instrumentation definition. Only hashes of the types that
+	 *         should be instrumented are contained in the map.
+	 * @throws BusinessException
+	 *             If agent with specified id does not exist.
+	 */
+	public Map<String, InstrumentationDefinition> analyze(long platformIdent, final Map<String, Type> hashToType) throws BusinessException {
+		AgentCacheEntry agentCacheEntry = agentCacheMap.get(Long.valueOf(platformIdent));
+		if (null == agentCacheEntry) {
+			throw new BusinessException("Instrumenting batch of " + hashToType.size() + " classes for the agent with id=" + platformIdent, AgentManagementErrorCodeEnum.AGENT_DOES_NOT_EXIST);
+		}
+
+		final ClassCache classCache = agentCacheEntry.getClassCache();
+		final ConfigurationHolder configurationHolder = agentCacheEntry.getConfigurationHolder();
+
+		try {
+			return classCache.executeWithWriteLock(new Callable<Map<String, InstrumentationDefinition>>() {
+				@Override
+				public Map<String, InstrumentationDefinition> call() throws Exception {
+					// merge everything first so that the type hierarchy is complete
+					for (Entry<String, Type> entry : hashToType.entrySet()) {
+						if (null == classCache.getLookupService().findByHash(entry.getKey())) {
+							try {
+								classCache.getModificationService().merge(entry.getValue());
+							} catch (ClassCacheModificationException e) {
+								log.error("Type can not be analyzed due to the exception during merging.", e);
+							}
+						}
+					}
+
+					Map<String, InstrumentationDefinition> result = new HashMap<>();
+
+					// if configuration holder is for any reason not initialized we can not define
+					// if it can be instrumented
+					if (!configurationHolder.isInitialized()) {
+						return result;
+					}
+
+					for (String hash : hashToType.keySet()) {
+						ImmutableType type = classCache.getLookupService().findByHash(hash);
+
+						// no need to do anything with types that are not classes
+						if ((null == type) || !type.isClass()) {
+							continue;
+						}
+
+						InstrumentationDefinition instrumentationDefinition = classCache.getInstrumentationService().addAndGetInstrumentationResult(type.castToClass(),
+								configurationHolder.getAgentConfiguration(), configurationHolder.getInstrumentationAppliers());
+						if (null != instrumentationDefinition) {
+							result.put(hash, instrumentationDefinition);
+						}
+					}
+
+					return result;
+				}
+			});
+		} catch (Exception e) {
+			log.error("Error occurred while analyzing the batch of types sent by the agent with id=" + platformIdent + ".", e);
+			return Collections.emptyMap();
+		}
+	}
+
 	/**
 	 * Generates {@link RefreshInstrumentationTimestampsJob} for the given method IDs.
 	 *
@@ -14,10 +14,14 @@ import rocks.inspectit.server.instrumentation.classcache.events.NodeEvent.NodeEv
 import rocks.inspectit.server.instrumentation.classcache.events.NodeEvent.NodeEventType;
 import rocks.inspectit.server.instrumentation.classcache.events.ReferenceEvent;
 import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableType;
+import rocks.inspectit.shared.all.instrumentation.classcache.util.ClassHash;
 
 /**
  * Indexer that index types based on the hash.
  * <p>
+ * Hashes are kept as {@link ClassHash} instances, thus a SHA-256 hash and its truncated 128-bit
+ * form point to the same type.
+ * <p>
  * Note that this indexer should not be used with multiple threads reading and writing. Multiple
  * threads reading is OK.
  *
@@ -32,7 +36,7 @@ public class HashIndexer implements INodeChangeListener {
 	/**
 	 * Simple hash map for holding hashes.
 	 */
-	private final Map<String, ImmutableType> storage = new HashMap<>();
+	private final Map<ClassHash, ImmutableType> storage = new HashMap<>();
 
 	/**
 	 * {@inheritDoc}
@@ -43,21 +47,22 @@ public class HashIndexer implements INodeChangeListener {
 			// if it's initialized type index it cause he have hash
 			ImmutableType type = event.getType();
 			for (String hash : type.getHashes()) {
-				storage.put(hash, type);
+				storage.put(ClassHash.fromString(hash), type);
 			}
 		} else if (NodeEventType.CHANGED.equals(event.getEventType()) && NodeEventDetails.HASH_ADDED.equals(event.getEventDetails())) {
 			// otherwise only index it if there is new hash available
 			ImmutableType type = event.getType();
 			for (String hash : type.getHashes()) {
-				if (!storage.containsKey(hash)) {
-					storage.put(hash, type);
+				ClassHash classHash = ClassHash.fromString(hash);
+				if (!storage.containsKey(classHash)) {
+					storage.put(classHash, type);
 				}
 			}
 		} else if (NodeEventType.REMOVED.equals(event.getEventType())) {
 			// if removed kill all links
 			ImmutableType type = event.getType();
 			for (String hash : type.getHashes()) {
-				storage.remove(hash);
+				storage.remove(ClassHash.fromString(hash));
 			}
 		}
 
@@ -79,6 +84,9 @@ public class HashIndexer implements INodeChangeListener {
 	 * @return Returns type or <code>null</code> if it can not be found.
 	 */
 	public ImmutableType lookup(String hash) {
-		return storage.get(hash);
+		if (null == hash) {
+			return null;
+		}
+		return storage.get(ClassHash.fromString(hash));
 	}
 }
@@ -115,6 +115,12 @@ public class ConfigurationCreator {
 		IStrategyConfig sendingStrategyConfig = environment.getSendingStrategyConfig();
 		agentConfiguration.setSendingStrategyConfig(new StrategyConfig(sendingStrategyConfig.getClassName(), sendingStrategyConfig.getSettings()));
 
+		// network compression
+		agentConfiguration.setNetworkCompression(environment.isNetworkCompression());
+
+		// disk spool
+		agentConfiguration.setDiskSpoolSize(environment.getDiskSpoolSize() * 1024L * 1024L);
+
 		// exclude classes
 		Collection<ExcludeRule> excludeRules = configurationResolver.getAllExcludeRules(environment);
 		if (CollectionUtils.isNotEmpty(excludeRules)) {
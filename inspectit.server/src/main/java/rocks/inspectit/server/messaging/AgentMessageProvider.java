@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,7 +17,10 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
 import rocks.inspectit.server.event.AgentDeletedEvent;
+import rocks.inspectit.server.event.AgentMessagesAcknowledgedEvent;
+import rocks.inspectit.server.event.AgentMessagesSubscribedEvent;
 import rocks.inspectit.server.event.AgentRegisteredEvent;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.communication.message.UpdatedInstrumentationMessage;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
@@ -24,7 +28,9 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.IRegistrationService;
 
 /**
- * Provides {@link IAgentMessage} for the agent to fetch.
+ * Provides {@link IAgentMessage} for the agent. Messages are pushed to the agents subscribed via
+ * the {@link AgentMessagePusher} as soon as they are provided and kept until the agent acknowledges
+ * them. Agents not subscribed, or not acknowledging the pushed messages, can still fetch them.
  *
  * @author Marius Oehler
  *
@@ -44,14 +50,32 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 	@Autowired
 	private IRegistrationService registrationService;
 
+	/**
+	 * The pusher of the messages.
+	 */
+	@Autowired
+	private AgentMessagePusher messagePusher;
+
 	/**
 	 * Map containing messages which can be fetched by the agent.
 	 */
 	private final Map<Long, List<IAgentMessage<?>>> agentMessageMap = new HashMap<>();
 
 	/**
-	 * Fetches all available messages for the agent with the given id. The returned list is an
-	 * ordered list, ordered by time (ascending -> index 0 is the oldest).
+	 * Map containing the pushed batches not yet acknowledged by the agent, in the order they were
+	 * pushed.
+	 */
+	private final Map<Long, Map<Long, List<IAgentMessage<?>>>> unacknowledgedBatchMap = new HashMap<>();
+
+	/**
+	 * Id of the last pushed batch.
+	 */
+	private long lastBatchId;
+
+	/**
+	 * Fetches all available messages for the agent with the given id, including the pushed but not
+	 * acknowledged ones. The returned list is an ordered list, ordered by time (ascending -> index 0
+	 * is the oldest).
 	 *
 	 * @param platformId
 	 *            the agent id
@@ -64,6 +88,14 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 
 		List<IAgentMessage<?>> currentList = agentMessageMap.put(platformId, new ArrayList<IAgentMessage<?>>());
 
+		List<IAgentMessage<?>> unacknowledgedList = removeUnacknowledgedMessages(platformId);
+		if (!unacknowledgedList.isEmpty()) {
+			if (null != currentList) {
+				unacknowledgedList.addAll(currentList);
+			}
+			currentList = unacknowledgedList;
+		}
+
 		if (CollectionUtils.isEmpty(currentList)) {
 			currentList = Collections.emptyList();
 		}
@@ -74,6 +106,24 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 		return currentList;
 	}
 
+	/**
+	 * Removes all pushed but not acknowledged messages of the agent with the given id.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 * @return Removed messages ordered by time, never <code>null</code>.
+	 */
+	private List<IAgentMessage<?>> removeUnacknowledgedMessages(long platformId) {
+		List<IAgentMessage<?>> messages = new ArrayList<>();
+		Map<Long, List<IAgentMessage<?>>> unacknowledgedBatches = unacknowledgedBatchMap.remove(platformId);
+		if (null != unacknowledgedBatches) {
+			for (List<IAgentMessage<?>> batchMessages : unacknowledgedBatches.values()) {
+				messages.addAll(batchMessages);
+			}
+		}
+		return messages;
+	}
+
 	/**
 	 * Updates the timestamp of all method idents matching the {@link InstrumentationDefinition}s in
 	 * the given message.
@@ -140,6 +190,46 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 		}
 
 		messageList.addAll(messages);
+
+		pushMessages(platformId, false);
+	}
+
+	/**
+	 * Pushes all available messages to the agent with the given id if the agent is subscribed. The
+	 * pushed messages are kept until acknowledged by the agent.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 * @param pushEmpty
+	 *            if an empty batch should be pushed when no messages are available
+	 */
+	private void pushMessages(long platformId, boolean pushEmpty) {
+		if (!messagePusher.isSubscribed(platformId)) {
+			return;
+		}
+
+		List<IAgentMessage<?>> messages = agentMessageMap.get(platformId);
+		if (CollectionUtils.isEmpty(messages)) {
+			if (pushEmpty) {
+				messagePusher.push(platformId, new AgentMessageBatch(++lastBatchId, new ArrayList<IAgentMessage<?>>()));
+			}
+			return;
+		}
+
+		AgentMessageBatch batch = new AgentMessageBatch(++lastBatchId, new ArrayList<IAgentMessage<?>>(messages));
+		if (messagePusher.push(platformId, batch)) {
+			messages.clear();
+
+			Map<Long, List<IAgentMessage<?>>> unacknowledgedBatches = unacknowledgedBatchMap.get(platformId);
+			if (null == unacknowledgedBatches) {
+				unacknowledgedBatches = new LinkedHashMap<>();
+				unacknowledgedBatchMap.put(platformId, unacknowledgedBatches);
+			}
+			unacknowledgedBatches.put(batch.getBatchId(), batch.getMessages());
+
+			// update timestamp of method idents (resulting in a disabled method ident)
+			updateMethodIdentTimestamps(platformId, batch.getMessages());
+		}
 	}
 
 	/**
@@ -157,6 +247,7 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 
 			messages.clear();
 		}
+		unacknowledgedBatchMap.remove(platformId);
 	}
 
 	/**
@@ -168,6 +259,10 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 			handleAgentDeletedEvent((AgentDeletedEvent) event);
 		} else if (event instanceof AgentRegisteredEvent) {
 			handleAgentRegisteredEvent((AgentRegisteredEvent) event);
+		} else if (event instanceof AgentMessagesSubscribedEvent) {
+			handleAgentMessagesSubscribedEvent((AgentMessagesSubscribedEvent) event);
+		} else if (event instanceof AgentMessagesAcknowledgedEvent) {
+			handleAgentMessagesAcknowledgedEvent((AgentMessagesAcknowledgedEvent) event);
 		}
 	}
 
@@ -190,4 +285,40 @@ public class AgentMessageProvider implements ApplicationListener<ApplicationEven
 	private void handleAgentRegisteredEvent(AgentRegisteredEvent event) {
 		clear(event.getPlatformId());
 	}
+
+	/**
+	 * Handles an event of type {@link AgentMessagesSubscribedEvent}. Batches not acknowledged over
+	 * the previous subscription are pushed again, together with the available messages. An empty
+	 * batch is pushed if there are no messages, so the agent knows that the subscription is active.
+	 *
+	 * @param event
+	 *            the event instance
+	 */
+	private synchronized void handleAgentMessagesSubscribedEvent(AgentMessagesSubscribedEvent event) {
+		long platformId = event.getPlatformId();
+
+		List<IAgentMessage<?>> unacknowledgedList = removeUnacknowledgedMessages(platformId);
+		if (!unacknowledgedList.isEmpty()) {
+			List<IAgentMessage<?>> currentList = agentMessageMap.get(platformId);
+			if (null != currentList) {
+				unacknowledgedList.addAll(currentList);
+			}
+			agentMessageMap.put(platformId, unacknowledgedList);
+		}
+
+		pushMessages(platformId, true);
+	}
+
+	/**
+	 * Handles an event of type {@link AgentMessagesAcknowledgedEvent}.
+	 *
+	 * @param event
+	 *            the event instance
+	 */
+	private synchronized void handleAgentMessagesAcknowledgedEvent(AgentMessagesAcknowledgedEvent event) {
+		Map<Long, List<IAgentMessage<?>>> unacknowledgedBatches = unacknowledgedBatchMap.get(event.getPlatformId());
+		if (null != unacknowledgedBatches) {
+			unacknowledgedBatches.remove(event.getBatchId());
+		}
+	}
 }
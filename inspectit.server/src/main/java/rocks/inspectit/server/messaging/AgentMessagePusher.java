@@ -0,0 +1,137 @@
+package rocks.inspectit.server.messaging;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.event.AgentMessagesAcknowledgedEvent;
+import rocks.inspectit.server.event.AgentMessagesSubscribedEvent;
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.Listener;
+import rocks.inspectit.shared.all.kryonet.Server;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Pushes the {@link AgentMessageBatch}es to the agents over the KryoNet connection. The agent
+ * subscribes with the {@link AgentMessageSubscription} sent over the same connection and
+ * acknowledges every received batch with the {@link AgentMessageAcknowledgement}. Subscriptions
+ * and acknowledgements are published as {@link AgentMessagesSubscribedEvent} and
+ * {@link AgentMessagesAcknowledgedEvent}.
+ */
+@Component
+public class AgentMessagePusher {
+
+	/**
+	 * Logger of this class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * KryoNet server the agents are connected to.
+	 */
+	@Autowired
+	Server server;
+
+	/**
+	 * Spring {@link ApplicationEventPublisher} for publishing the events.
+	 */
+	@Autowired
+	ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * Connections of the subscribed platforms.
+	 */
+	private final ConcurrentMap<Long, Connection> subscriptions = new ConcurrentHashMap<>();
+
+	/**
+	 * Pushes the batch to the platform.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 * @param batch
+	 *            batch to push
+	 * @return <code>true</code> if the batch was sent, <code>false</code> if the platform is not
+	 *         subscribed or its connection is closed
+	 */
+	public boolean push(long platformId, AgentMessageBatch batch) {
+		Connection connection = subscriptions.get(platformId);
+		if ((null == connection) || !connection.isConnected()) {
+			return false;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Push {} messages to agent {} in batch {}.", batch.getMessages().size(), platformId, batch.getBatchId());
+		}
+
+		return connection.sendTCP(batch) > 0;
+	}
+
+	/**
+	 * Returns if the platform is subscribed to the pushed messages.
+	 *
+	 * @param platformId
+	 *            the agent id
+	 * @return <code>true</code> if the platform is subscribed and connected
+	 */
+	public boolean isSubscribed(long platformId) {
+		Connection connection = subscriptions.get(platformId);
+		return (null != connection) && connection.isConnected();
+	}
+
+	/**
+	 * Registers the listener for the subscriptions and acknowledgements to the server.
+	 */
+	@PostConstruct
+	public void postConstruct() {
+		server.addListener(new PushListener());
+	}
+
+	/**
+	 * Listener handling the subscriptions and acknowledgements sent by the agents.
+	 */
+	class PushListener extends Listener {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void received(Connection connection, Object object) {
+			if (object instanceof AgentMessageSubscription) {
+				long platformId = ((AgentMessageSubscription) object).getPlatformId();
+				subscriptions.put(platformId, connection);
+				if (log.isDebugEnabled()) {
+					log.debug("Agent {} subscribed to the pushed messages.", platformId);
+				}
+				eventPublisher.publishEvent(new AgentMessagesSubscribedEvent(AgentMessagePusher.this, platformId));
+			} else if (object instanceof AgentMessageAcknowledgement) {
+				AgentMessageAcknowledgement acknowledgement = (AgentMessageAcknowledgement) object;
+				eventPublisher.publishEvent(new AgentMessagesAcknowledgedEvent(AgentMessagePusher.this, acknowledgement.getPlatformId(), acknowledgement.getBatchId()));
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void disconnected(Connection connection) {
+			Iterator<Entry<Long, Connection>> iterator = subscriptions.entrySet().iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().getValue() == connection) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+}
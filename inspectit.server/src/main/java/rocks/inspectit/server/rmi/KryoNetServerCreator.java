@@ -45,6 +45,12 @@ public class KryoNetServerCreator {
 	@Value("${cmr.port}")
 	private int port;
 
+	/**
+	 * Amount of selector threads, <code>0</code> to run the server without the reactor mode.
+	 */
+	@Value("${cmr.kryonetSelectorThreads}")
+	private int selectorThreads;
+
 	/**
 	 * Serialization manager to provide {@link Kryo} instance.
 	 */
@@ -65,6 +71,13 @@ public class KryoNetServerCreator {
 	@Qualifier("kryoNetObjectSpaceExecutorService")
 	private ExecutorService executorService;
 
+	/**
+	 * Executor service de-serializing the received data when server runs in the reactor mode.
+	 */
+	@Autowired
+	@Qualifier("kryoNetDecodingExecutorService")
+	private ExecutorService decodingExecutorService;
+
 	/**
 	 * Start the kryonet server and binds it to the specified port.
 	 *
@@ -74,12 +87,12 @@ public class KryoNetServerCreator {
 	public Server createServer() {
 		IExtendedSerialization serialization = new ExtendedSerializationImpl(serializationManagerProvider);
 
-		Server server = new Server(serialization, streamProvider);
+		Server server = new Server(serialization, streamProvider, selectorThreads, decodingExecutorService);
 		server.start();
 
 		try {
 			server.bind(port);
-			log.info("|-Kryonet server successfully started and running on port " + port);
+			log.info("|-Kryonet server successfully started and running on port " + port + (server.isReactorMode() ? " with " + selectorThreads + " selector threads" : ""));
 		} catch (IOException e) {
 			throw new BeanInitializationException("Could not bind the kryonet server to the specified port (" + port + ").", e);
 		}
@@ -76,6 +76,15 @@ public class AgentService implements IAgentService {
 		return nextGenInstrumentationManager.analyze(platformIdent, hash, sentType);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public Map<String, InstrumentationDefinition> analyze(long platformIdent, Map<String, Type> hashToType) throws BusinessException {
+		return nextGenInstrumentationManager.analyze(platformIdent, hashToType);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
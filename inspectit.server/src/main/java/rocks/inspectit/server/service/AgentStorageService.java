@@ -1,9 +1,7 @@
 package rocks.inspectit.server.service;
 
-import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
@@ -15,11 +13,14 @@ import org.springframework.stereotype.Service;
 
 import rocks.inspectit.server.dao.DefaultDataDao;
 import rocks.inspectit.server.spring.aop.MethodLog;
+import rocks.inspectit.server.util.AgentDataQueue;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
 import rocks.inspectit.server.util.Converter;
 import rocks.inspectit.shared.all.cmr.property.spring.PropertyUpdate;
 import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.data.TimerDataBatch;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.ICmrManagementService;
 
@@ -37,11 +38,6 @@ public class AgentStorageService implements IAgentStorageService {
 	@Log
 	Logger log;
 
-	/**
-	 * Queue capacity for incoming data.
-	 */
-	private static final int QUEUE_CAPACITY = 50;
-
 	/**
 	 * Amount of milliseconds after which the data is thrown away if queue is full.
 	 */
@@ -68,7 +64,8 @@ public class AgentStorageService implements IAgentStorageService {
 	/**
 	 * Queue to store and remove list of data that has to be processed.
 	 */
-	private ArrayBlockingQueue<SoftReference<List<? extends DefaultData>>> dataObjectsBlockingQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	@Autowired
+	AgentDataQueue agentDataQueue;
 
 	/**
 	 * Count of thread to process data.
@@ -81,39 +78,21 @@ public class AgentStorageService implements IAgentStorageService {
 	 */
 	private List<Thread> threadList = new ArrayList<>();
 
-	/**
-	 * Default constructor.
-	 */
-	public AgentStorageService() {
-	}
-
-	/**
-	 * Constructor that can be used in testing for suppling the queue.
-	 *
-	 * @param dataObjectsBlockingQueue
-	 *            Queue.
-	 */
-	AgentStorageService(ArrayBlockingQueue<SoftReference<List<? extends DefaultData>>> dataObjectsBlockingQueue) {
-		this.dataObjectsBlockingQueue = dataObjectsBlockingQueue;
-	}
-
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	@MethodLog
 	public void addDataObjects(final List<? extends DefaultData> dataObjects) {
-		SoftReference<List<? extends DefaultData>> softReference = new SoftReference<List<? extends DefaultData>>(dataObjects);
-		if (!dataObjects.isEmpty()) {
-			platformIdentDateSaver.registerDataSent(dataObjects.get(0).getPlatformIdent());
+		if (dataObjects.isEmpty()) {
+			return;
 		}
+
+		long platformIdent = dataObjects.get(0).getPlatformIdent();
+		platformIdentDateSaver.registerDataSent(platformIdent);
 		try {
-			boolean added = dataObjectsBlockingQueue.offer(softReference, DATA_THROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
-			if (!added) {
-				int droppedSize = dataObjects.size();
-				if (log.isTraceEnabled()) {
-					log.trace("Data dropped on the CMR due to the high volume of incoming data from Agent(s). Dropped data objects count: " + droppedSize);
-				}
+			int droppedSize = agentDataQueue.offer(platformIdent, dataObjects, DATA_THROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+			if (droppedSize > 0) {
 				cmrManagementService.addDroppedDataCount(droppedSize);
 			}
 		} catch (InterruptedException e) {
@@ -121,6 +100,35 @@ public class AgentStorageService implements IAgentStorageService {
 		}
 	}
 
+	/**
+	 * Expands the {@link TimerDataBatch} objects in the given list to the {@link TimerData}
+	 * objects.
+	 *
+	 * @param dataObjects
+	 *            Data sent by the agent.
+	 * @return List with the expanded batches or the given list if it contains no batch.
+	 */
+	List<? extends DefaultData> expandBatches(List<? extends DefaultData> dataObjects) {
+		List<DefaultData> expandedList = null;
+		for (int i = 0; i < dataObjects.size(); i++) {
+			DefaultData defaultData = dataObjects.get(i);
+			if (defaultData instanceof TimerDataBatch) {
+				if (null == expandedList) {
+					expandedList = new ArrayList<>(dataObjects.size() + ((TimerDataBatch) defaultData).getSize());
+					expandedList.addAll(dataObjects.subList(0, i));
+				}
+				expandedList.addAll(((TimerDataBatch) defaultData).expand());
+			} else if (null != expandedList) {
+				expandedList.add(defaultData);
+			}
+		}
+
+		if (null == expandedList) {
+			return dataObjects;
+		}
+		return expandedList;
+	}
+
 	/**
 	 * Updates the number of data processing threads. The new number of threads should be defined in
 	 * {@link #threadCount} before calling this method.
@@ -202,21 +210,22 @@ public class AgentStorageService implements IAgentStorageService {
 					break;
 				}
 
-				SoftReference<List<? extends DefaultData>> softReference = null;
+				List<? extends DefaultData> defaultDataList = null;
 				try {
-					softReference = dataObjectsBlockingQueue.take();
+					defaultDataList = agentDataQueue.take();
 				} catch (InterruptedException e) {
 					this.interrupt();
 					return;
 				}
 
-				List<? extends DefaultData> defaultDataList = softReference.get();
 				if (defaultDataList != null) {
 					long time = 0;
 					if (log.isDebugEnabled()) {
 						time = System.nanoTime();
 					}
 
+					// batches are expanded only here to keep the queued data compact
+					defaultDataList = expandBatches(defaultDataList);
 					defaultDataDao.saveAll(defaultDataList);
 
 					if (log.isDebugEnabled()) {
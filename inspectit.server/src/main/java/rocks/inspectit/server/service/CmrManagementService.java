@@ -25,6 +25,8 @@ import rocks.inspectit.server.spring.aop.MethodLog;
 import rocks.inspectit.server.util.ShutdownService;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.cmr.CmrStatusData;
+import rocks.inspectit.shared.all.kryonet.CompressionStatistics;
+import rocks.inspectit.shared.all.kryonet.Server;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.property.configuration.PropertySection;
 import rocks.inspectit.shared.cs.cmr.property.update.configuration.ConfigurationUpdate;
@@ -84,6 +86,12 @@ public class CmrManagementService implements ICmrManagementService {
 	@Autowired
 	private List<IExternalService> services;
 
+	/**
+	 * KryoNet server the agents are connected to.
+	 */
+	@Autowired
+	private Server server;
+
 	/**
 	 * Time in milliseconds when the CMR has started.
 	 */
@@ -131,6 +139,8 @@ public class CmrManagementService implements ICmrManagementService {
 		cmrStatusData.setMaxBufferSize(buffer.getMaxSize());
 		cmrStatusData.setBufferOldestElement(buffer.getOldestElement());
 		cmrStatusData.setBufferNewestElement(buffer.getNewestElement());
+		cmrStatusData.setBufferIndexingLagElements(buffer.getIndexingLagElements());
+		cmrStatusData.setBufferIndexingLagMillis(buffer.getIndexingLagMillis());
 		cmrStatusData.setStorageDataSpaceLeft(storageManager.getBytesHardDriveOccupancyLeft());
 		cmrStatusData.setStorageMaxDataSpace(storageManager.getMaxBytesHardDriveOccupancy());
 		cmrStatusData.setWarnSpaceLeftActive(storageManager.isSpaceWarnActive());
@@ -139,6 +149,11 @@ public class CmrManagementService implements ICmrManagementService {
 		cmrStatusData.setDateStarted(dateStarted);
 		cmrStatusData.setDatabaseSize(getDatabaseSize());
 
+		CompressionStatistics compressionStatistics = server.getCompressionStatistics();
+		cmrStatusData.setNetworkRawBytes(compressionStatistics.getRawBytes());
+		cmrStatusData.setNetworkCompressedBytes(compressionStatistics.getCompressedBytes());
+		cmrStatusData.setNetworkCompressionTime(compressionStatistics.getCompressionTime() + compressionStatistics.getDecompressionTime());
+
 		for (IExternalService service : services) {
 			cmrStatusData.getExternalServiceStatusMap().put(service.getServiceType(), service.getServiceStatus());
 		}
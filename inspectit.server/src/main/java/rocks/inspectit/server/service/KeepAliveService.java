@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import rocks.inspectit.server.util.AgentDataQueue;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
 import rocks.inspectit.shared.all.cmr.service.IKeepAliveService;
 import rocks.inspectit.shared.all.spring.logger.Log;
@@ -31,16 +32,23 @@ public class KeepAliveService implements IKeepAliveService {
 	@Autowired
 	AgentStatusDataProvider agentStatusDataProvider;
 
+	/**
+	 * {@link AgentDataQueue} providing the backpressure level.
+	 */
+	@Autowired
+	AgentDataQueue agentDataQueue;
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void sendKeepAlive(long platformId) {
+	public int sendKeepAlive(long platformId) {
 		if (log.isDebugEnabled()) {
 			log.debug("Received keep-alive signal from platform " + platformId);
 		}
 
 		agentStatusDataProvider.handleKeepAliveSignal(platformId);
+		return agentDataQueue.getBackpressure(platformId);
 	}
 
 	/**
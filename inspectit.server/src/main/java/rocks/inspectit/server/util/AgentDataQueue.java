@@ -0,0 +1,429 @@
+package rocks.inspectit.server.util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.event.AgentDeletedEvent;
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.TimerDataBatch;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Queue of the data sent by the agents that waits to be processed. Each platform has its own queue
+ * and the queues are drained in the round-robin manner, so that one agent sending a lot of data
+ * can not starve the others.
+ * <p>
+ * The queue is bounded by the estimated size of the queued data in bytes. When the queue is full
+ * the data of the platform is accepted only if the platform does not occupy more than its fair
+ * share of the capacity (capacity divided by the amount of platforms having data in the queue). In
+ * that case the oldest data of the platform occupying the most of the queue is dropped. Otherwise
+ * the data waits for the given timeout and is dropped if there is still no space.
+ * <p>
+ * The fill level of the platform queue is reported as the backpressure level to the agent, so the
+ * agent can slow down the sending before the data is dropped.
+ */
+@Component
+public class AgentDataQueue implements ApplicationListener<AgentDeletedEvent> {
+
+	/**
+	 * Logger for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * {@link IObjectSizes} for estimating the size of the data.
+	 */
+	@Autowired
+	IObjectSizes objectSizes;
+
+	/**
+	 * {@link AgentStatusDataProvider} to report the dropped data per agent.
+	 */
+	@Autowired
+	AgentStatusDataProvider agentStatusDataProvider;
+
+	/**
+	 * Capacity of the queue in bytes.
+	 */
+	@Value("${cmr.agentStorageServiceQueueCapacity}")
+	long capacity;
+
+	/**
+	 * Lock guarding all queues.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Signaled when data is added.
+	 */
+	private final Condition notEmpty = lock.newCondition();
+
+	/**
+	 * Signaled when data is removed.
+	 */
+	private final Condition notFull = lock.newCondition();
+
+	/**
+	 * Queues of the platforms.
+	 */
+	private final Map<Long, PlatformQueue> platformQueues = new HashMap<>();
+
+	/**
+	 * Queues having data in the round-robin order.
+	 */
+	private final ArrayDeque<PlatformQueue> readyQueues = new ArrayDeque<>();
+
+	/**
+	 * Estimated size of all queued data in bytes.
+	 */
+	private long queuedBytes;
+
+	/**
+	 * Offers the data of the platform to the queue.
+	 *
+	 * @param platformIdent
+	 *            Platform the data belongs to.
+	 * @param dataObjects
+	 *            Data to add.
+	 * @param timeout
+	 *            How long to wait for the space in the queue.
+	 * @param unit
+	 *            Unit of the timeout.
+	 * @return Amount of dropped data objects, including the data of other platforms dropped to make
+	 *         space for the given data. <code>0</code> if nothing was dropped.
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	public int offer(long platformIdent, List<? extends DefaultData> dataObjects, long timeout, TimeUnit unit) throws InterruptedException {
+		long bytes = estimateSize(dataObjects);
+		int count = countObjects(dataObjects);
+		int dropped = 0;
+		long nanos = unit.toNanos(timeout);
+
+		lock.lockInterruptibly();
+		try {
+			PlatformQueue queue = platformQueues.get(platformIdent);
+			if (null == queue) {
+				queue = new PlatformQueue(platformIdent);
+				platformQueues.put(platformIdent, queue);
+			}
+
+			while ((queuedBytes > 0) && ((queuedBytes + bytes) > capacity)) {
+				PlatformQueue largest = getLargestQueue();
+				if ((largest != queue) && ((queue.bytes + bytes) <= getFairShare(queue))) {
+					// platform is under its fair share, drop from the one using the most
+					dropped += largest.dropOldest();
+				} else if (nanos > 0) {
+					nanos = notFull.awaitNanos(nanos);
+				} else {
+					queue.registerDropped(count);
+					return dropped + count;
+				}
+			}
+
+			if (queue.isEmpty()) {
+				readyQueues.addLast(queue);
+			}
+			queue.add(new QueuedData(dataObjects, bytes, count));
+			queuedBytes += bytes;
+			notEmpty.signal();
+			return dropped;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes the next data to process, waiting if necessary. Platforms are served in the round-robin
+	 * order.
+	 *
+	 * @return Data to process.
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	public List<? extends DefaultData> take() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while (readyQueues.isEmpty()) {
+				notEmpty.await();
+			}
+
+			PlatformQueue queue = readyQueues.removeFirst();
+			QueuedData queuedData = queue.remove();
+			if (!queue.isEmpty()) {
+				readyQueues.addLast(queue);
+			}
+			queuedBytes -= queuedData.bytes;
+			notFull.signalAll();
+			return queuedData.dataObjects;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the backpressure level of the platform in percentages. Level is the fill ratio of the
+	 * platform fair share, or <code>100</code> if data of the platform was dropped since the last
+	 * call.
+	 *
+	 * @param platformIdent
+	 *            Platform ident.
+	 * @return Backpressure level from <code>0</code> to <code>100</code>.
+	 */
+	public int getBackpressure(long platformIdent) {
+		lock.lock();
+		try {
+			PlatformQueue queue = platformQueues.get(platformIdent);
+			if (null == queue) {
+				return 0;
+			}
+			if (queue.droppedSinceLastSignal) {
+				queue.droppedSinceLastSignal = false;
+				return 100;
+			}
+			return (int) Math.min(100L, (queue.bytes * 100L) / Math.max(1L, getFairShare(queue)));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the estimated size of all queued data in bytes.
+	 *
+	 * @return Returns the estimated size of all queued data in bytes.
+	 */
+	public long getQueuedBytes() {
+		lock.lock();
+		try {
+			return queuedBytes;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Removes the queue of the deleted agent if it has no data.
+	 */
+	@Override
+	public void onApplicationEvent(AgentDeletedEvent event) {
+		lock.lock();
+		try {
+			PlatformQueue queue = platformQueues.get(event.getPlatformId());
+			if ((null != queue) && queue.isEmpty()) {
+				platformQueues.remove(event.getPlatformId());
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the fair share of the capacity for the queue. Must be called with the lock held.
+	 *
+	 * @param queue
+	 *            Platform queue.
+	 * @return Capacity divided by the amount of platforms having data, including the given one.
+	 */
+	private long getFairShare(PlatformQueue queue) {
+		int platforms = readyQueues.size();
+		if (queue.isEmpty()) {
+			platforms++;
+		}
+		return capacity / platforms;
+	}
+
+	/**
+	 * Returns the queue having the most bytes queued. Must be called with the lock held.
+	 *
+	 * @return Returns the queue having the most bytes queued.
+	 */
+	private PlatformQueue getLargestQueue() {
+		PlatformQueue largest = null;
+		for (PlatformQueue queue : readyQueues) {
+			if ((null == largest) || (queue.bytes > largest.bytes)) {
+				largest = queue;
+			}
+		}
+		return largest;
+	}
+
+	/**
+	 * Estimates the size of the data in bytes.
+	 *
+	 * @param dataObjects
+	 *            Data.
+	 * @return Estimated size in bytes.
+	 */
+	private long estimateSize(List<? extends DefaultData> dataObjects) {
+		long size = 0;
+		for (DefaultData defaultData : dataObjects) {
+			size += defaultData.getObjectSize(objectSizes, false);
+		}
+		return size;
+	}
+
+	/**
+	 * Counts the data objects, including the objects contained in the {@link TimerDataBatch}.
+	 *
+	 * @param dataObjects
+	 *            Data.
+	 * @return Amount of data objects.
+	 */
+	private int countObjects(List<? extends DefaultData> dataObjects) {
+		int count = 0;
+		for (DefaultData defaultData : dataObjects) {
+			if (defaultData instanceof TimerDataBatch) {
+				count += ((TimerDataBatch) defaultData).getSize();
+			} else {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Queued data with the estimated size.
+	 */
+	private static class QueuedData {
+
+		/**
+		 * Data.
+		 */
+		private final List<? extends DefaultData> dataObjects;
+
+		/**
+		 * Estimated size in bytes.
+		 */
+		private final long bytes;
+
+		/**
+		 * Amount of data objects.
+		 */
+		private final int count;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param dataObjects
+		 *            Data.
+		 * @param bytes
+		 *            Estimated size in bytes.
+		 * @param count
+		 *            Amount of data objects.
+		 */
+		QueuedData(List<? extends DefaultData> dataObjects, long bytes, int count) {
+			this.dataObjects = dataObjects;
+			this.bytes = bytes;
+			this.count = count;
+		}
+	}
+
+	/**
+	 * Queue of one platform. Must be used with the lock held.
+	 */
+	private class PlatformQueue {
+
+		/**
+		 * Platform ident.
+		 */
+		private final long platformIdent;
+
+		/**
+		 * Queued data.
+		 */
+		private final ArrayDeque<QueuedData> queue = new ArrayDeque<>();
+
+		/**
+		 * Estimated size of the queued data in bytes.
+		 */
+		private long bytes;
+
+		/**
+		 * If data was dropped since the last backpressure signal.
+		 */
+		private boolean droppedSinceLastSignal;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param platformIdent
+		 *            Platform ident.
+		 */
+		PlatformQueue(long platformIdent) {
+			this.platformIdent = platformIdent;
+		}
+
+		/**
+		 * Adds data.
+		 *
+		 * @param queuedData
+		 *            Data.
+		 */
+		void add(QueuedData queuedData) {
+			queue.addLast(queuedData);
+			bytes += queuedData.bytes;
+		}
+
+		/**
+		 * Removes the oldest data.
+		 *
+		 * @return Removed data.
+		 */
+		QueuedData remove() {
+			QueuedData queuedData = queue.removeFirst();
+			bytes -= queuedData.bytes;
+			return queuedData;
+		}
+
+		/**
+		 * Drops the oldest data.
+		 *
+		 * @return Amount of dropped data objects.
+		 */
+		int dropOldest() {
+			QueuedData queuedData = remove();
+			queuedBytes -= queuedData.bytes;
+			if (queue.isEmpty()) {
+				readyQueues.remove(this);
+			}
+			registerDropped(queuedData.count);
+			return queuedData.count;
+		}
+
+		/**
+		 * Registers dropped data of this platform.
+		 *
+		 * @param count
+		 *            Amount of dropped data objects.
+		 */
+		void registerDropped(int count) {
+			droppedSinceLastSignal = true;
+			agentStatusDataProvider.registerDroppedData(platformIdent, count);
+			if (log.isTraceEnabled()) {
+				log.trace("Data of the platform " + platformIdent + " dropped on the CMR due to the high volume of incoming data. Dropped data objects count: " + count);
+			}
+		}
+
+		/**
+		 * @return If there is no queued data.
+		 */
+		boolean isEmpty() {
+			return queue.isEmpty();
+		}
+	}
+}
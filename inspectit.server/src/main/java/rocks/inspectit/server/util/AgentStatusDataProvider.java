@@ -139,6 +139,23 @@ public class AgentStatusDataProvider implements InitializingBean, ApplicationLis
 		}
 	}
 
+	/**
+	 * Registers that data of the given platform ident was dropped on the CMR.
+	 *
+	 * @param platformIdent
+	 *            ID of the platform ident.
+	 * @param count
+	 *            Amount of dropped data objects.
+	 */
+	public void registerDroppedData(long platformIdent, long count) {
+		AgentStatusData agentStatusData = agentStatusDataMap.get(platformIdent);
+		if (null != agentStatusData) {
+			synchronized (agentStatusData) {
+				agentStatusData.setDroppedDataCount(agentStatusData.getDroppedDataCount() + count);
+			}
+		}
+	}
+
 	/**
 	 * Registers the time when the last keep-alive was received for a given platform ident.
 	 *
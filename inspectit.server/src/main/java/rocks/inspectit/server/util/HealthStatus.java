@@ -19,6 +19,7 @@ import rocks.inspectit.server.cache.IBuffer;
 import rocks.inspectit.server.service.AgentStorageService;
 import rocks.inspectit.server.storage.CmrStorageManager;
 import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.all.serializer.provider.SerializerPool;
 import rocks.inspectit.shared.all.storage.nio.ByteBufferProvider;
 import rocks.inspectit.shared.cs.cmr.service.ICmrManagementService;
 import rocks.inspectit.shared.cs.storage.StorageData;
@@ -110,6 +111,12 @@ public class HealthStatus {
 	@Autowired
 	private ByteBufferProvider byteBufferProvider;
 
+	/**
+	 * Serializer pool for the serializers pool status.
+	 */
+	@Autowired
+	private SerializerPool serializerPool;
+
 	/**
 	 * Log all the statistics.
 	 */
@@ -437,6 +444,10 @@ public class HealthStatus {
 
 		log.info("Byte buffer provider has " + byteBufferProvider.getBufferPoolSize() + " available buffers in the pool with total capacity of " + byteBufferProvider.getAvailableCapacity()
 				+ " bytes. Total created capacity of the pool is " + byteBufferProvider.getCreatedCapacity() + " bytes.");
+		log.info("Byte buffer provider occupies " + byteBufferProvider.getDirectMemoryUsage() + " bytes of the direct memory. New buffer had to be allocated " + byteBufferProvider.getBufferPoolMisses()
+				+ " times because no buffer was available in the pool.");
+		log.info("Serializer pool has " + serializerPool.getNumIdle() + " available and " + serializerPool.getNumActive() + " acquired serializers. New serializer had to be created "
+				+ serializerPool.getMissCount() + " times because no serializer was available in the pool.");
 	}
 
 	/**
@@ -6,10 +6,13 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Timestamp;
+import java.util.Collections;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 
@@ -21,9 +24,12 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import rocks.inspectit.server.cache.IBufferElement;
+import rocks.inspectit.server.cache.IBufferElement.BufferElementState;
 import rocks.inspectit.server.test.AbstractTestNGLogSupport;
 import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
 
 /**
@@ -131,6 +137,78 @@ public class AtomicBufferTest extends AbstractTestNGLogSupport {
 		assertThat(buffer.getEvictedElemenets(), is(elements / 2));
 	}
 
+	/**
+	 * Tests that eviction removes the evicted elements from the indexing tree when the tree holds
+	 * strong references.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void evictionWithStrongReferenceLeafs() throws Exception {
+		long elements = 100;
+
+		// evict half of the buffer
+		when(bufferProperties.getInitialBufferSize()).thenReturn(elements);
+		when(bufferProperties.getEvictionOccupancyPercentage()).thenReturn(0.1f);
+		when(bufferProperties.getEvictionFragmentSizePercentage()).thenReturn(0.5f);
+		when(bufferProperties.isStrongReferenceLeafs()).thenReturn(true);
+		buffer.postConstruct();
+
+		DefaultData defaultData = mock(DefaultData.class);
+		when(defaultData.getObjectSize(objectSizes)).thenReturn(1L);
+		DefaultData notEvictedData = mock(DefaultData.class);
+		when(notEvictedData.getObjectSize(objectSizes)).thenReturn(1L);
+
+		BufferAnalyzer bufferAnalyzer = new BufferAnalyzer(buffer);
+		bufferAnalyzer.start();
+
+		for (int i = 0; i < elements; i++) {
+			IBufferElement<DefaultData> bufferElement = new BufferElement<>((i < (elements / 2)) ? defaultData : notEvictedData);
+			buffer.put(bufferElement);
+		}
+
+		// wait to be analyzed
+		while (buffer.getAnalyzedElements() < elements) {
+			Thread.sleep(50);
+		}
+
+		buffer.evict();
+		bufferAnalyzer.interrupt();
+
+		assertThat(buffer.getEvictedElemenets(), is(elements / 2));
+		verify(indexingTree, times((int) (elements / 2))).getAndRemove(defaultData);
+		verify(indexingTree, never()).getAndRemove(notEvictedData);
+	}
+
+	/**
+	 * Tests that the data indexed directly from the invocation is removed from the indexing tree
+	 * with the invocation.
+	 */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void removeInvocationFromIndexingTree() {
+		AtomicBuffer<InvocationSequenceData> invocationBuffer = new AtomicBuffer<>();
+		IBufferTreeComponent<InvocationSequenceData> invocationIndexingTree = mock(IBufferTreeComponent.class);
+		invocationBuffer.indexingTree = invocationIndexingTree;
+
+		TimerData onlyInInvocationTimerData = mock(TimerData.class);
+		when(onlyInInvocationTimerData.isOnlyFoundInInvocations()).thenReturn(true);
+		TimerData aggregatedTimerData = mock(TimerData.class);
+		when(aggregatedTimerData.isOnlyFoundInInvocations()).thenReturn(false);
+
+		InvocationSequenceData invocation = new InvocationSequenceData();
+		invocation.setTimerData(aggregatedTimerData);
+		InvocationSequenceData child = new InvocationSequenceData();
+		child.setTimerData(onlyInInvocationTimerData);
+		invocation.setNestedSequences(Collections.singletonList(child));
+
+		invocationBuffer.removeFromIndexingTree(invocation);
+
+		verify((IBufferTreeComponent<DefaultData>) (IBufferTreeComponent<?>) invocationIndexingTree, times(1)).getAndRemove(onlyInInvocationTimerData);
+		verify((IBufferTreeComponent<DefaultData>) (IBufferTreeComponent<?>) invocationIndexingTree, never()).getAndRemove(aggregatedTimerData);
+		verify(invocationIndexingTree, times(1)).getAndRemove(invocation);
+	}
+
 	/**
 	 * Tests that size of the elements is correctly analyzed and added to the buffer size.
 	 *
@@ -311,6 +389,101 @@ public class AtomicBufferTest extends AbstractTestNGLogSupport {
 		verify(indexingTree, times((int) elements)).put(defaultData);
 	}
 
+	/**
+	 * Test that elements are indexed exactly once when several analyzers and indexers process the
+	 * buffer in chunks.
+	 *
+	 * @throws Exception
+	 */
+	@Test(invocationCount = 5)
+	public void chunkedIndexing() throws Exception {
+		Random random = new Random();
+		long elements = 1 + random.nextInt(10000);
+		int workers = 2 + random.nextInt(3);
+
+		when(bufferProperties.getIndexingWaitTime()).thenReturn(10L);
+		when(bufferProperties.getProcessingChunkSize()).thenReturn(1 + random.nextInt(64));
+
+		DefaultData defaultData = mock(DefaultData.class);
+		when(defaultData.getObjectSize(objectSizes)).thenReturn(1L);
+
+		BufferWorker[] workerArray = new BufferWorker[workers * 2];
+		for (int i = 0; i < workers; i++) {
+			workerArray[i] = new BufferAnalyzer(buffer, "analyzer-" + i);
+			workerArray[workers + i] = new BufferIndexer(buffer, "indexer-" + i);
+		}
+		for (BufferWorker worker : workerArray) {
+			worker.start();
+		}
+
+		IBufferElement<DefaultData> first = null;
+		for (int i = 0; i < elements; i++) {
+			IBufferElement<DefaultData> bufferElement = new BufferElement<>(defaultData);
+			if (0 == i) {
+				first = bufferElement;
+			}
+			buffer.put(bufferElement);
+		}
+
+		// wait for the elements to be analyzed and indexed
+		while ((buffer.getAnalyzedElements() < elements) || (buffer.getIndexedElements() < elements)) {
+			Thread.sleep(50);
+		}
+
+		for (BufferWorker worker : workerArray) {
+			worker.interrupt();
+		}
+
+		for (int i = 0; i < elements; i++) {
+			assertThat(first.isIndexed(), is(true));
+			first = first.getNextElement();
+		}
+
+		assertThat(buffer.getAnalyzedElements(), is(elements));
+		assertThat(buffer.getIndexedElements(), is(elements));
+		assertThat(buffer.getCurrentSize(), is(elements));
+		assertThat(buffer.getIndexingLagElements(), is(0L));
+		assertThat(buffer.getIndexingLagMillis(), is(0L));
+		verify(indexingTree, times((int) elements)).put(defaultData);
+	}
+
+	/**
+	 * Tests that the indexing lag is calculated from the oldest element that has not completed
+	 * the indexing, even if newer elements are already indexed by other indexing threads.
+	 */
+	@Test
+	public void indexingLagFromNotCompletedElements() {
+		IBufferElement<DefaultData> element1 = new BufferElement<>(mockData(1000L));
+		IBufferElement<DefaultData> element2 = new BufferElement<>(mockData(2000L));
+		IBufferElement<DefaultData> element3 = new BufferElement<>(mockData(3500L));
+		buffer.put(element1);
+		buffer.put(element2);
+		buffer.put(element3);
+
+		assertThat(buffer.getIndexingLagMillis(), is(2500L));
+
+		// newest chunk completed before the older one
+		element1.setBufferElementState(BufferElementState.INDEXED);
+		element3.setBufferElementState(BufferElementState.INDEXED);
+		assertThat(buffer.getIndexingLagMillis(), is(1500L));
+
+		element2.setBufferElementState(BufferElementState.INDEXED);
+		assertThat(buffer.getIndexingLagMillis(), is(0L));
+	}
+
+	/**
+	 * Creates the data mock with the given time stamp.
+	 *
+	 * @param time
+	 *            Time stamp in milliseconds.
+	 * @return Data mock.
+	 */
+	private DefaultData mockData(long time) {
+		DefaultData defaultData = mock(DefaultData.class);
+		when(defaultData.getTimeStamp()).thenReturn(new Timestamp(time));
+		return defaultData;
+	}
+
 	/**
 	 * Tests that the tree size calculations and maintenance is done.
 	 *
@@ -0,0 +1,73 @@
+package rocks.inspectit.server.indexing.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.BeanInitializationException;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.indexing.impl.RootBranchFactory.TreeLevel;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link RootBranchFactory} class.
+ */
+@SuppressWarnings("PMD")
+public class RootBranchFactoryTest extends TestBase {
+
+	/**
+	 * Tests the {@link RootBranchFactory#parseTreeLayout(String)} method.
+	 */
+	public static class ParseTreeLayout extends RootBranchFactoryTest {
+
+		@Test
+		public void layout() {
+			List<TreeLevel> levels = RootBranchFactory.parseTreeLayout("PLATFORM_IDENT,OBJECT_TYPE,TIMESTAMP");
+
+			assertThat(levels, contains(TreeLevel.PLATFORM_IDENT, TreeLevel.OBJECT_TYPE, TreeLevel.TIMESTAMP));
+		}
+
+		@Test
+		public void layoutWhitespacesAndEmptyEntries() {
+			List<TreeLevel> levels = RootBranchFactory.parseTreeLayout(" PLATFORM_IDENT , ,METHOD_IDENT,");
+
+			assertThat(levels, contains(TreeLevel.PLATFORM_IDENT, TreeLevel.METHOD_IDENT));
+		}
+
+		@Test
+		public void layoutLowerCaseIndependentOfDefaultLocale() {
+			Locale defaultLocale = Locale.getDefault();
+			Locale.setDefault(new Locale("tr"));
+			try {
+				List<TreeLevel> levels = RootBranchFactory.parseTreeLayout("platform_ident,sensor_type_ident");
+
+				assertThat(levels, contains(TreeLevel.PLATFORM_IDENT, TreeLevel.SENSOR_TYPE_IDENT));
+			} finally {
+				Locale.setDefault(defaultLocale);
+			}
+		}
+
+		@Test(expectedExceptions = BeanInitializationException.class)
+		public void unknownLevel() {
+			RootBranchFactory.parseTreeLayout("PLATFORM_IDENT,UNKNOWN");
+		}
+
+		@Test(expectedExceptions = BeanInitializationException.class)
+		public void duplicatedLevel() {
+			RootBranchFactory.parseTreeLayout("PLATFORM_IDENT,TIMESTAMP,platform_ident");
+		}
+
+		@Test(expectedExceptions = BeanInitializationException.class)
+		public void emptyLayout() {
+			RootBranchFactory.parseTreeLayout(" , ");
+		}
+
+		@Test(expectedExceptions = BeanInitializationException.class)
+		public void nullLayout() {
+			RootBranchFactory.parseTreeLayout(null);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package rocks.inspectit.server.influx.builder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.influxdb.dto.Point.Builder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.influx.constants.Series;
+import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
+import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
+
+@SuppressWarnings("PMD")
+public class AgentOverheadPointBuilderTest extends AbstractPointBuilderTest {
+
+	@InjectMocks
+	AgentOverheadPointBuilder builder;
+
+	@Mock
+	ICachedDataService cachedDataService;
+
+	@Mock
+	PlatformIdent platformIdent;
+
+	public class CreateBuilder extends AgentOverheadPointBuilderTest {
+
+		static final long PLATFORM_ID = 1L;
+		static final String AGENT_NAME = "Agent";
+
+		AgentOverheadInformationData data;
+
+		@BeforeMethod
+		public void setup() {
+			when(platformIdent.getAgentName()).thenReturn(AGENT_NAME);
+			data = new AgentOverheadInformationData();
+			data.setPlatformIdent(PLATFORM_ID);
+		}
+
+		@Test
+		public void happyPath() throws Exception {
+			when(cachedDataService.getPlatformIdentForId(PLATFORM_ID)).thenReturn(platformIdent);
+
+			long time = RandomUtils.nextLong();
+			data.setTimeStamp(new Timestamp(time));
+			long[] histogram = new long[AgentOverheadInformationData.HISTOGRAM_BUCKETS];
+			histogram[AgentOverheadInformationData.getBucket(1000L)] = 3L;
+			data.getDispatchTimeHistograms().put(1L, histogram);
+			data.getDispatchTimes().put(1L, 3000L);
+			data.getAllocatedBytes().put(1L, 240L);
+			data.getSendTimeHistogram()[AgentOverheadInformationData.getBucket(5000L)] = 1L;
+			data.getQueueSizeHistogram()[AgentOverheadInformationData.getBucket(10L)] = 1L;
+			data.setDroppedBatches(2L);
+
+			Builder pointBuilder = builder.createBuilder(data);
+
+			assertThat(getMeasurement(pointBuilder), is(Series.AgentOverhead.NAME));
+			assertThat(getTime(pointBuilder), is(time));
+			assertThat(getPrecision(pointBuilder), is(TimeUnit.MILLISECONDS));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_ID, String.valueOf(PLATFORM_ID)));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_NAME, String.valueOf(AGENT_NAME)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_DISPATCH_COUNT, (Object) Long.valueOf(3L)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_DISPATCH_TIME, (Object) Long.valueOf(3000L)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_DISPATCH_TIME_P99, (Object) Long.valueOf(1024L)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_ALLOCATED_BYTES, (Object) Long.valueOf(240L)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_SEND_COUNT, (Object) Long.valueOf(1L)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_SEND_TIME_P99, (Object) Long.valueOf(8192L)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_QUEUE_SIZE_P99, (Object) Long.valueOf(16L)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentOverhead.FIELD_DROPPED_BATCHES, (Object) Long.valueOf(2L)));
+		}
+
+		@Test
+		public void noPlatform() throws Exception {
+			when(cachedDataService.getPlatformIdentForId(PLATFORM_ID)).thenReturn(null);
+
+			long time = RandomUtils.nextLong();
+			data.setTimeStamp(new Timestamp(time));
+
+			Builder pointBuilder = builder.createBuilder(data);
+
+			assertThat(getMeasurement(pointBuilder), is(Series.AgentOverhead.NAME));
+			assertThat(getTime(pointBuilder), is(time));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_ID, String.valueOf(PLATFORM_ID)));
+			assertThat(getTags(pointBuilder), not(hasKey(Series.TAG_AGENT_NAME)));
+		}
+
+	}
+
+}
@@ -0,0 +1,90 @@
+package rocks.inspectit.server.influx.builder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.influxdb.dto.Point.Builder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.influx.constants.Series;
+import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
+import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
+import rocks.inspectit.shared.all.communication.data.DataLossInformationData;
+
+@SuppressWarnings("PMD")
+public class DataLossPointBuilderTest extends AbstractPointBuilderTest {
+
+	@InjectMocks
+	DataLossPointBuilder builder;
+
+	@Mock
+	ICachedDataService cachedDataService;
+
+	@Mock
+	PlatformIdent platformIdent;
+
+	@Mock
+	DataLossInformationData data;
+
+	public class CreateBuilder extends DataLossPointBuilderTest {
+
+		static final long PLATFORM_ID = 1L;
+		static final String AGENT_NAME = "Agent";
+
+		@BeforeMethod
+		public void setup() {
+			when(platformIdent.getAgentName()).thenReturn(AGENT_NAME);
+		}
+
+		@Test
+		public void happyPath() throws Exception {
+			when(cachedDataService.getPlatformIdentForId(PLATFORM_ID)).thenReturn(platformIdent);
+
+			long time = RandomUtils.nextLong();
+			when(data.getPlatformIdent()).thenReturn(PLATFORM_ID);
+			when(data.getTimeStamp()).thenReturn(new Timestamp(time));
+			when(data.getDroppedObjects()).thenReturn(RandomUtils.nextLong());
+			when(data.getDroppedBatches()).thenReturn(RandomUtils.nextLong());
+
+			Builder pointBuilder = builder.createBuilder(data);
+
+			assertThat(getMeasurement(pointBuilder), is(Series.DataLoss.NAME));
+			assertThat(getTime(pointBuilder), is(time));
+			assertThat(getPrecision(pointBuilder), is(TimeUnit.MILLISECONDS));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_ID, String.valueOf(PLATFORM_ID)));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_NAME, String.valueOf(AGENT_NAME)));
+			assertThat(getFields(pointBuilder), hasEntry(Series.DataLoss.FIELD_DROPPED_OBJECTS, (Object) Long.valueOf(data.getDroppedObjects())));
+			assertThat(getFields(pointBuilder), hasEntry(Series.DataLoss.FIELD_DROPPED_BATCHES, (Object) Long.valueOf(data.getDroppedBatches())));
+		}
+
+		@Test
+		public void noPlatform() throws Exception {
+			when(cachedDataService.getPlatformIdentForId(PLATFORM_ID)).thenReturn(null);
+
+			long time = RandomUtils.nextLong();
+			when(data.getPlatformIdent()).thenReturn(PLATFORM_ID);
+			when(data.getTimeStamp()).thenReturn(new Timestamp(time));
+
+			Builder pointBuilder = builder.createBuilder(data);
+
+			assertThat(getMeasurement(pointBuilder), is(Series.DataLoss.NAME));
+			assertThat(getTime(pointBuilder), is(time));
+			assertThat(getPrecision(pointBuilder), is(TimeUnit.MILLISECONDS));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_ID, String.valueOf(PLATFORM_ID)));
+			assertThat(getTags(pointBuilder), not(hasKey(Series.TAG_AGENT_NAME)));
+		}
+
+	}
+
+}
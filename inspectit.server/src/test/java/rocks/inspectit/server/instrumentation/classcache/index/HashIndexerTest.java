@@ -0,0 +1,85 @@
+package rocks.inspectit.server.instrumentation.classcache.index;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.mockito.InjectMocks;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.instrumentation.classcache.events.NodeEvent;
+import rocks.inspectit.server.instrumentation.classcache.events.NodeEvent.NodeEventDetails;
+import rocks.inspectit.server.instrumentation.classcache.events.NodeEvent.NodeEventType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableType;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class HashIndexerTest extends TestBase {
+
+	static final String SHA256_HASH = "4f8b42c22dd3729b519ba6f68d2da7cc5b2d606d05daed5ad5128cc03e6c6358";
+
+	@InjectMocks
+	HashIndexer indexer;
+
+	public class Lookup extends HashIndexerTest {
+
+		@Test
+		public void initialized() {
+			ClassType type = new ClassType("fqn", "hash", 0);
+			indexer.informNodeChange(new NodeEvent(type, NodeEventType.NEW, NodeEventDetails.INITIALIZED));
+
+			ImmutableType lookup = indexer.lookup("hash");
+
+			assertThat(lookup, is((ImmutableType) type));
+		}
+
+		@Test
+		public void truncatedSha256() {
+			ClassType type = new ClassType("fqn", SHA256_HASH, 0);
+			indexer.informNodeChange(new NodeEvent(type, NodeEventType.NEW, NodeEventDetails.INITIALIZED));
+
+			ImmutableType lookup = indexer.lookup(SHA256_HASH.substring(0, 32));
+
+			assertThat(lookup, is((ImmutableType) type));
+		}
+
+		@Test
+		public void hashAdded() {
+			ClassType type = new ClassType("fqn", "hash", 0);
+			indexer.informNodeChange(new NodeEvent(type, NodeEventType.NEW, NodeEventDetails.INITIALIZED));
+			type.addHash("other");
+			indexer.informNodeChange(new NodeEvent(type, NodeEventType.CHANGED, NodeEventDetails.HASH_ADDED));
+
+			ImmutableType lookup = indexer.lookup("other");
+
+			assertThat(lookup, is((ImmutableType) type));
+		}
+
+		@Test
+		public void removed() {
+			ClassType type = new ClassType("fqn", "hash", 0);
+			indexer.informNodeChange(new NodeEvent(type, NodeEventType.NEW, NodeEventDetails.INITIALIZED));
+			indexer.informNodeChange(new NodeEvent(type, NodeEventType.REMOVED, null));
+
+			ImmutableType lookup = indexer.lookup("hash");
+
+			assertThat(lookup, is(nullValue()));
+		}
+
+		@Test
+		public void notFound() {
+			ImmutableType lookup = indexer.lookup("hash");
+
+			assertThat(lookup, is(nullValue()));
+		}
+
+		@Test
+		public void nullHash() {
+			ImmutableType lookup = indexer.lookup(null);
+
+			assertThat(lookup, is(nullValue()));
+		}
+	}
+
+}
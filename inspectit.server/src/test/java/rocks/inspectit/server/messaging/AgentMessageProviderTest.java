@@ -6,12 +6,20 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.slf4j.Logger;
@@ -19,7 +27,10 @@ import org.springframework.context.ApplicationEvent;
 import org.testng.annotations.Test;
 
 import rocks.inspectit.server.event.AgentDeletedEvent;
+import rocks.inspectit.server.event.AgentMessagesAcknowledgedEvent;
+import rocks.inspectit.server.event.AgentMessagesSubscribedEvent;
 import rocks.inspectit.server.event.AgentRegisteredEvent;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
@@ -38,6 +49,9 @@ public class AgentMessageProviderTest extends TestBase {
 	@Mock
 	Logger log;
 
+	@Mock
+	AgentMessagePusher messagePusher;
+
 	/**
 	 * Tests the {@link AgentMessageProvider#provideMessage(long, IAgentMessage)} class.
 	 */
@@ -222,4 +236,102 @@ public class AgentMessageProviderTest extends TestBase {
 			assertThat(messageProvider.fetchMessages(10L), hasSize(1));
 		}
 	}
+
+	/**
+	 * Tests the pushing of the messages to the subscribed agents.
+	 */
+	public static class Push extends AgentMessageProviderTest {
+
+		@Test
+		public void pushProvidedMessage() {
+			IAgentMessage<?> message = mock(IAgentMessage.class);
+			when(messagePusher.isSubscribed(10L)).thenReturn(true);
+			when(messagePusher.push(eq(10L), any(AgentMessageBatch.class))).thenReturn(true);
+
+			messageProvider.provideMessage(10L, message);
+
+			ArgumentCaptor<AgentMessageBatch> batchCaptor = ArgumentCaptor.forClass(AgentMessageBatch.class);
+			verify(messagePusher).push(eq(10L), batchCaptor.capture());
+			assertThat(batchCaptor.getValue().getMessages(), contains(message));
+		}
+
+		@Test
+		public void notSubscribed() {
+			IAgentMessage<?> message = mock(IAgentMessage.class);
+			when(messagePusher.isSubscribed(10L)).thenReturn(false);
+
+			messageProvider.provideMessage(10L, message);
+
+			verify(messagePusher, never()).push(anyLong(), any(AgentMessageBatch.class));
+			assertThat(messageProvider.fetchMessages(10L), contains(message));
+		}
+
+		@Test
+		public void pushFailed() {
+			IAgentMessage<?> message = mock(IAgentMessage.class);
+			when(messagePusher.isSubscribed(10L)).thenReturn(true);
+			when(messagePusher.push(eq(10L), any(AgentMessageBatch.class))).thenReturn(false);
+
+			messageProvider.provideMessage(10L, message);
+
+			assertThat(messageProvider.fetchMessages(10L), contains(message));
+		}
+
+		@Test
+		public void acknowledged() {
+			IAgentMessage<?> message = mock(IAgentMessage.class);
+			when(messagePusher.isSubscribed(10L)).thenReturn(true);
+			when(messagePusher.push(eq(10L), any(AgentMessageBatch.class))).thenReturn(true);
+			messageProvider.provideMessage(10L, message);
+			ArgumentCaptor<AgentMessageBatch> batchCaptor = ArgumentCaptor.forClass(AgentMessageBatch.class);
+			verify(messagePusher).push(eq(10L), batchCaptor.capture());
+
+			messageProvider.onApplicationEvent(new AgentMessagesAcknowledgedEvent(this, 10L, batchCaptor.getValue().getBatchId()));
+
+			assertThat(messageProvider.fetchMessages(10L), hasSize(0));
+		}
+
+		@Test
+		public void notAcknowledgedFetched() {
+			IAgentMessage<?> messageOne = mock(IAgentMessage.class);
+			IAgentMessage<?> messageTwo = mock(IAgentMessage.class);
+			when(messagePusher.isSubscribed(10L)).thenReturn(true);
+			when(messagePusher.push(eq(10L), any(AgentMessageBatch.class))).thenReturn(true);
+			messageProvider.provideMessage(10L, messageOne);
+			when(messagePusher.isSubscribed(10L)).thenReturn(false);
+			messageProvider.provideMessage(10L, messageTwo);
+
+			assertThat(messageProvider.fetchMessages(10L), contains(messageOne, messageTwo));
+			assertThat(messageProvider.fetchMessages(10L), hasSize(0));
+		}
+
+		@Test
+		public void subscribedPushesNotAcknowledged() {
+			IAgentMessage<?> messageOne = mock(IAgentMessage.class);
+			IAgentMessage<?> messageTwo = mock(IAgentMessage.class);
+			when(messagePusher.isSubscribed(10L)).thenReturn(true);
+			when(messagePusher.push(eq(10L), any(AgentMessageBatch.class))).thenReturn(true);
+			messageProvider.provideMessage(10L, messageOne);
+			when(messagePusher.isSubscribed(10L)).thenReturn(false);
+			messageProvider.provideMessage(10L, messageTwo);
+			when(messagePusher.isSubscribed(10L)).thenReturn(true);
+
+			messageProvider.onApplicationEvent(new AgentMessagesSubscribedEvent(this, 10L));
+
+			ArgumentCaptor<AgentMessageBatch> batchCaptor = ArgumentCaptor.forClass(AgentMessageBatch.class);
+			verify(messagePusher, times(2)).push(eq(10L), batchCaptor.capture());
+			assertThat(batchCaptor.getValue().getMessages(), contains(messageOne, messageTwo));
+		}
+
+		@Test
+		public void subscribedNoMessages() {
+			when(messagePusher.isSubscribed(10L)).thenReturn(true);
+
+			messageProvider.onApplicationEvent(new AgentMessagesSubscribedEvent(this, 10L));
+
+			ArgumentCaptor<AgentMessageBatch> batchCaptor = ArgumentCaptor.forClass(AgentMessageBatch.class);
+			verify(messagePusher).push(eq(10L), batchCaptor.capture());
+			assertThat(batchCaptor.getValue().getMessages(), is(empty()));
+		}
+	}
 }
@@ -0,0 +1,151 @@
+package rocks.inspectit.server.messaging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.event.AgentMessagesAcknowledgedEvent;
+import rocks.inspectit.server.event.AgentMessagesSubscribedEvent;
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
+import rocks.inspectit.shared.all.communication.message.IAgentMessage;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.Listener;
+import rocks.inspectit.shared.all.kryonet.Server;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link AgentMessagePusher} class.
+ */
+@SuppressWarnings("PMD")
+public class AgentMessagePusherTest extends TestBase {
+
+	@InjectMocks
+	AgentMessagePusher messagePusher;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	Server server;
+
+	@Mock
+	ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	Connection connection;
+
+	Listener listener;
+
+	@BeforeMethod
+	public void init() {
+		messagePusher.postConstruct();
+		ArgumentCaptor<Listener> listenerCaptor = ArgumentCaptor.forClass(Listener.class);
+		verify(server).addListener(listenerCaptor.capture());
+		listener = listenerCaptor.getValue();
+	}
+
+	AgentMessageBatch batch() {
+		return new AgentMessageBatch(1L, new ArrayList<IAgentMessage<?>>());
+	}
+
+	/**
+	 * Tests the {@link AgentMessagePusher#push(long, AgentMessageBatch)} method.
+	 */
+	public static class Push extends AgentMessagePusherTest {
+
+		@Test
+		public void subscribed() {
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.sendTCP(any())).thenReturn(10);
+			listener.received(connection, new AgentMessageSubscription(10L));
+			AgentMessageBatch batch = batch();
+
+			boolean pushed = messagePusher.push(10L, batch);
+
+			assertThat(pushed, is(true));
+			assertThat(messagePusher.isSubscribed(10L), is(true));
+			verify(connection).sendTCP(batch);
+		}
+
+		@Test
+		public void notSubscribed() {
+			boolean pushed = messagePusher.push(10L, batch());
+
+			assertThat(pushed, is(false));
+			assertThat(messagePusher.isSubscribed(10L), is(false));
+			verifyZeroInteractions(connection);
+		}
+
+		@Test
+		public void disconnected() {
+			listener.received(connection, new AgentMessageSubscription(10L));
+			listener.disconnected(connection);
+
+			boolean pushed = messagePusher.push(10L, batch());
+
+			assertThat(pushed, is(false));
+			verify(connection, never()).sendTCP(any());
+		}
+
+		@Test
+		public void connectionClosed() {
+			when(connection.isConnected()).thenReturn(false);
+			listener.received(connection, new AgentMessageSubscription(10L));
+
+			boolean pushed = messagePusher.push(10L, batch());
+
+			assertThat(pushed, is(false));
+			verify(connection, never()).sendTCP(any());
+		}
+	}
+
+	/**
+	 * Tests the received objects of the listener.
+	 */
+	public static class Received extends AgentMessagePusherTest {
+
+		@Test
+		public void subscription() {
+			listener.received(connection, new AgentMessageSubscription(10L));
+
+			ArgumentCaptor<ApplicationEvent> eventCaptor = ArgumentCaptor.forClass(ApplicationEvent.class);
+			verify(eventPublisher).publishEvent(eventCaptor.capture());
+			assertThat(((AgentMessagesSubscribedEvent) eventCaptor.getValue()).getPlatformId(), is(10L));
+		}
+
+		@Test
+		public void acknowledgement() {
+			listener.received(connection, new AgentMessageAcknowledgement(10L, 5L));
+
+			ArgumentCaptor<ApplicationEvent> eventCaptor = ArgumentCaptor.forClass(ApplicationEvent.class);
+			verify(eventPublisher).publishEvent(eventCaptor.capture());
+			AgentMessagesAcknowledgedEvent event = (AgentMessagesAcknowledgedEvent) eventCaptor.getValue();
+			assertThat(event.getPlatformId(), is(10L));
+			assertThat(event.getBatchId(), is(5L));
+		}
+
+		@Test
+		public void otherObject() {
+			listener.received(connection, new Object());
+
+			verifyZeroInteractions(eventPublisher);
+		}
+	}
+}
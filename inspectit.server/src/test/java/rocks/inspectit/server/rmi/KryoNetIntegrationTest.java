@@ -5,6 +5,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -18,7 +19,10 @@ import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.mockito.InOrder;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -87,7 +91,7 @@ public class KryoNetIntegrationTest extends AbstractTransactionalTestNGLogSuppor
 			}
 		};
 
-		server = new Server(serialization, streamProvider);
+		server = createServer(serialization);
 		server.start();
 		server.bind(port);
 
@@ -218,6 +222,88 @@ public class KryoNetIntegrationTest extends AbstractTransactionalTestNGLogSuppor
 		}
 	}
 
+	public class ReactorMode extends KryoNetIntegrationTest {
+
+		ExecutorService decodingExecutorService;
+
+		@Override
+		protected Server createServer(IExtendedSerialization serialization) {
+			decodingExecutorService = Executors.newFixedThreadPool(2);
+			return new Server(serialization, streamProvider, 2, decodingExecutorService);
+		}
+
+		@AfterClass
+		public void shutdownExecutor() {
+			decodingExecutorService.shutdownNow();
+		}
+
+		@Test
+		public void reactorMode() {
+			assertThat(server.isReactorMode(), is(true));
+		}
+
+		@Test
+		public void invoke() {
+			Service clientService = getServiceForClient();
+
+			String toSend = "toSend";
+			assertThat(clientService.returnSame(toSend), is(equalTo(toSend)));
+			verify(service).returnSame(toSend);
+			verifyNoMoreInteractions(service);
+		}
+
+		@Test
+		public void sendInOrder() throws InterruptedException {
+			int numObjects = 1024;
+			for (int i = 0; i < numObjects; i++) {
+				client.sendTCP(Integer.valueOf(i));
+			}
+
+			// sleep as the receiving is done in another thread
+			Thread.sleep(500);
+
+			InOrder inOrder = inOrder(listener);
+			for (int i = 0; i < numObjects; i++) {
+				inOrder.verify(listener).received(Matchers.<Connection> anyObject(), eq(Integer.valueOf(i)));
+			}
+		}
+
+		@Test(invocationCount = 10)
+		public void multiThreaded() throws InterruptedException, BrokenBarrierException, IOException {
+			int numThreads = 3;
+			int numObjects = 1024;
+
+			Set<Object> sendingObjectsSet = getObjectToSend(numObjects);
+			Queue<Object> queue = new ArrayBlockingQueue<>(numObjects);
+			queue.addAll(sendingObjectsSet);
+
+			CyclicBarrier cyclicBarrier = new CyclicBarrier(numThreads + 1);
+			List<Thread> threads = new ArrayList<>();
+			for (int i = 0; i < numThreads; i++) {
+				Sender sender = new Sender(cyclicBarrier, queue);
+				threads.add(sender);
+				sender.start();
+			}
+
+			cyclicBarrier.await();
+
+			for (Thread thread : threads) {
+				thread.join(10000);
+			}
+
+			// sleep as the receiving is done in another thread
+			Thread.sleep(100);
+
+			for (Object toSend : sendingObjectsSet) {
+				verify(listener).received(Matchers.<Connection> anyObject(), eq(toSend));
+			}
+		}
+	}
+
+	protected Server createServer(IExtendedSerialization serialization) {
+		return new Server(serialization, streamProvider);
+	}
+
 	protected Set<Object> getObjectToSend(int numObjects) {
 		Random random = new Random();
 		// use set to avoid possibility of same to send
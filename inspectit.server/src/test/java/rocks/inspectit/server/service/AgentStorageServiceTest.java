@@ -1,9 +1,18 @@
 package rocks.inspectit.server.service;
 
-import java.lang.ref.SoftReference;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -13,9 +22,11 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import rocks.inspectit.server.test.AbstractTestNGLogSupport;
+import rocks.inspectit.server.util.AgentDataQueue;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.data.TimerDataBatch;
 import rocks.inspectit.shared.cs.cmr.service.ICmrManagementService;
 
 /**
@@ -41,28 +52,32 @@ public class AgentStorageServiceTest extends AbstractTestNGLogSupport {
 	@Mock
 	private ICmrManagementService cmrManagementService;
 
+	@Mock
+	private AgentDataQueue agentDataQueue;
+
 	/**
 	 * Initializes the mocks.
 	 */
 	@BeforeMethod
 	public void init() {
 		MockitoAnnotations.initMocks(this);
-		agentStorageService = new AgentStorageService(new ArrayBlockingQueue<SoftReference<List<? extends DefaultData>>>(1));
+		agentStorageService = new AgentStorageService();
 		agentStorageService.platformIdentDateSaver = agentStatusDataProvider;
 		agentStorageService.cmrManagementService = cmrManagementService;
+		agentStorageService.agentDataQueue = agentDataQueue;
 		agentStorageService.log = LoggerFactory.getLogger(AgentStorageService.class);
 	}
 
 	/**
-	 * Proves that the data will be dropped after the timeout if there is no place in the queue and
-	 * amount of dropped data be remembered.
+	 * Proves that the amount of data dropped by the queue will be remembered.
 	 */
 	@Test
-	public void dropDataAfterTimeout() {
+	public void dropData() throws InterruptedException {
 		List<DefaultData> dataList = new ArrayList<>();
 		TimerData timerData = new TimerData();
 		timerData.setPlatformIdent(1L);
 		dataList.add(timerData);
+		Mockito.when(agentDataQueue.offer(eq(1L), eq(dataList), anyLong(), any(TimeUnit.class))).thenReturn(0, dataList.size());
 
 		agentStorageService.addDataObjects(dataList);
 		agentStorageService.addDataObjects(dataList);
@@ -75,7 +90,7 @@ public class AgentStorageServiceTest extends AbstractTestNGLogSupport {
 	 * Provides that data will be processed if there is place in the queue.
 	 */
 	@Test
-	public void acceptData() {
+	public void acceptData() throws InterruptedException {
 		List<DefaultData> dataList = new ArrayList<>();
 		TimerData timerData = new TimerData();
 		timerData.setPlatformIdent(1L);
@@ -84,6 +99,47 @@ public class AgentStorageServiceTest extends AbstractTestNGLogSupport {
 		agentStorageService.addDataObjects(dataList);
 
 		Mockito.verify(agentStatusDataProvider, Mockito.times(1)).registerDataSent(1L);
+		Mockito.verify(agentDataQueue).offer(eq(1L), eq(dataList), anyLong(), any(TimeUnit.class));
 		Mockito.verifyZeroInteractions(cmrManagementService);
 	}
+
+	/**
+	 * Empty data is not queued.
+	 */
+	@Test
+	public void emptyData() {
+		agentStorageService.addDataObjects(new ArrayList<DefaultData>());
+
+		Mockito.verifyZeroInteractions(agentStatusDataProvider, agentDataQueue, cmrManagementService);
+	}
+
+	/**
+	 * Proves that the timer batches are expanded and the other data is kept in order.
+	 */
+	@Test
+	public void expandBatches() {
+		TimerData first = new TimerData(new Timestamp(10L), 1L, 2L, 3L);
+		TimerData second = new TimerData(new Timestamp(20L), 1L, 2L, 4L);
+		TimerData other = new TimerData();
+		List<DefaultData> dataList = new ArrayList<>();
+		dataList.add(other);
+		dataList.add(new TimerDataBatch(1L, 2L, Arrays.asList(first, second)));
+
+		List<? extends DefaultData> expanded = agentStorageService.expandBatches(dataList);
+
+		assertThat(expanded, contains((DefaultData) other, first, second));
+	}
+
+	/**
+	 * Proves that the list without batches is not copied.
+	 */
+	@Test
+	public void noBatches() {
+		List<DefaultData> dataList = new ArrayList<>();
+		dataList.add(new TimerData());
+
+		List<? extends DefaultData> expanded = agentStorageService.expandBatches(dataList);
+
+		assertThat(expanded, is(sameInstance((Object) dataList)));
+	}
 }
@@ -0,0 +1,176 @@
+package rocks.inspectit.server.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.event.AgentDeletedEvent;
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link AgentDataQueue}.
+ */
+@SuppressWarnings("PMD")
+public class AgentDataQueueTest extends TestBase {
+
+	/**
+	 * Class under test.
+	 */
+	@InjectMocks
+	AgentDataQueue agentDataQueue;
+
+	@Mock
+	IObjectSizes objectSizes;
+
+	@Mock
+	AgentStatusDataProvider agentStatusDataProvider;
+
+	@Mock
+	Logger log;
+
+	@BeforeMethod
+	public void init() {
+		agentDataQueue.capacity = 1000L;
+	}
+
+	List<DefaultData> data(long size) {
+		DefaultData defaultData = mock(DefaultData.class);
+		when(defaultData.getObjectSize(objectSizes, false)).thenReturn(size);
+		return Collections.singletonList(defaultData);
+	}
+
+	public static class Offer extends AgentDataQueueTest {
+
+		@Test
+		public void accept() throws InterruptedException {
+			List<DefaultData> data = data(200L);
+
+			int dropped = agentDataQueue.offer(1L, data, 0, TimeUnit.MILLISECONDS);
+
+			assertThat(dropped, is(0));
+			assertThat(agentDataQueue.getQueuedBytes(), is(200L));
+			verify(agentStatusDataProvider, never()).registerDroppedData(anyLong(), anyLong());
+		}
+
+		@Test
+		public void dropAfterTimeout() throws InterruptedException {
+			for (int i = 0; i < 5; i++) {
+				agentDataQueue.offer(1L, data(200L), 0, TimeUnit.MILLISECONDS);
+			}
+
+			int dropped = agentDataQueue.offer(1L, data(200L), 10, TimeUnit.MILLISECONDS);
+
+			assertThat(dropped, is(1));
+			assertThat(agentDataQueue.getQueuedBytes(), is(1000L));
+			verify(agentStatusDataProvider).registerDroppedData(1L, 1L);
+		}
+
+		@Test
+		public void dropOldestOfLargest() throws InterruptedException {
+			List<DefaultData> oldest = data(200L);
+			agentDataQueue.offer(1L, oldest, 0, TimeUnit.MILLISECONDS);
+			for (int i = 0; i < 4; i++) {
+				agentDataQueue.offer(1L, data(200L), 0, TimeUnit.MILLISECONDS);
+			}
+			List<DefaultData> data = data(200L);
+
+			int dropped = agentDataQueue.offer(2L, data, 0, TimeUnit.MILLISECONDS);
+
+			assertThat(dropped, is(1));
+			assertThat(agentDataQueue.getQueuedBytes(), is(1000L));
+			verify(agentStatusDataProvider).registerDroppedData(1L, 1L);
+			assertThat(agentDataQueue.take(), is(not(sameInstance(oldest))));
+			assertThat(agentDataQueue.take(), is(sameInstance(data)));
+		}
+
+		@Test
+		public void notOverFairShare() throws InterruptedException {
+			agentDataQueue.offer(1L, data(600L), 0, TimeUnit.MILLISECONDS);
+			agentDataQueue.offer(2L, data(400L), 0, TimeUnit.MILLISECONDS);
+
+			int dropped = agentDataQueue.offer(2L, data(200L), 0, TimeUnit.MILLISECONDS);
+
+			assertThat(dropped, is(1));
+			assertThat(agentDataQueue.getQueuedBytes(), is(1000L));
+			verify(agentStatusDataProvider).registerDroppedData(2L, 1L);
+		}
+	}
+
+	public static class Take extends AgentDataQueueTest {
+
+		@Test
+		public void roundRobin() throws InterruptedException {
+			List<DefaultData> first = data(100L);
+			List<DefaultData> second = data(100L);
+			List<DefaultData> third = data(100L);
+			agentDataQueue.offer(1L, first, 0, TimeUnit.MILLISECONDS);
+			agentDataQueue.offer(1L, second, 0, TimeUnit.MILLISECONDS);
+			agentDataQueue.offer(2L, third, 0, TimeUnit.MILLISECONDS);
+
+			assertThat(agentDataQueue.take(), is(sameInstance(first)));
+			assertThat(agentDataQueue.take(), is(sameInstance(third)));
+			assertThat(agentDataQueue.take(), is(sameInstance(second)));
+			assertThat(agentDataQueue.getQueuedBytes(), is(0L));
+		}
+	}
+
+	public static class GetBackpressure extends AgentDataQueueTest {
+
+		@Test
+		public void unknownPlatform() {
+			assertThat(agentDataQueue.getBackpressure(1L), is(0));
+		}
+
+		@Test
+		public void fillLevel() throws InterruptedException {
+			agentDataQueue.offer(1L, data(500L), 0, TimeUnit.MILLISECONDS);
+
+			assertThat(agentDataQueue.getBackpressure(1L), is(50));
+		}
+
+		@Test
+		public void afterDrop() throws InterruptedException {
+			for (int i = 0; i < 5; i++) {
+				agentDataQueue.offer(1L, data(200L), 0, TimeUnit.MILLISECONDS);
+			}
+			agentDataQueue.offer(1L, data(200L), 0, TimeUnit.MILLISECONDS);
+			for (int i = 0; i < 3; i++) {
+				agentDataQueue.take();
+			}
+
+			assertThat(agentDataQueue.getBackpressure(1L), is(100));
+			assertThat(agentDataQueue.getBackpressure(1L), is(40));
+		}
+	}
+
+	public static class OnApplicationEvent extends AgentDataQueueTest {
+
+		@Test
+		public void keepQueueWithData() throws InterruptedException {
+			agentDataQueue.offer(1L, data(500L), 0, TimeUnit.MILLISECONDS);
+
+			agentDataQueue.onApplicationEvent(new AgentDeletedEvent(this, 1L));
+
+			assertThat(agentDataQueue.getBackpressure(1L), is(50));
+			assertThat(agentDataQueue.getQueuedBytes(), is(500L));
+		}
+	}
+}
@@ -64,6 +64,22 @@ public interface IAgentService {
 	 */
 	InstrumentationDefinition analyze(long platformIdent, String hash, Type type) throws BusinessException;
 
+	/**
+	 * Analyzes the batch of types in one call. All types are merged before the instrumentation
+	 * points are added, thus the types depending on each other can be sent in one batch.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param hashToType
+	 *            Map of class hash to the parsed {@link Type} representing class being loaded on
+	 *            the agent.
+	 * @return Map of class hash to the instrumentation definition. Hashes of the classes that
+	 *         should not be instrumented are not contained in the map.
+	 * @throws BusinessException
+	 *             If agent with specified id does not exist.
+	 */
+	Map<String, InstrumentationDefinition> analyze(long platformIdent, Map<String, Type> hashToType) throws BusinessException;
+
 	/**
 	 * Informs the CMR that the methods have been instrumented on the agent.
 	 *
@@ -31,7 +31,10 @@ public interface IKeepAliveService extends Remote {
 	 *
 	 * @param platformId
 	 *            ID of the platform ident.
+	 * @return Backpressure level of the platform from <code>0</code> to <code>100</code>. The
+	 *         higher the level, the more the agent should slow down sending the data, as the data
+	 *         of the agent waiting for the processing on the CMR is about to be dropped.
 	 */
-	void sendKeepAlive(long platformId);
+	int sendKeepAlive(long platformId);
 
 }
@@ -0,0 +1,393 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+
+/**
+ * Overhead the agent caused in the monitored JVM since the last report.
+ * <p>
+ * All histograms have {@value #HISTOGRAM_BUCKETS} fixed buckets with power of two boundaries: the
+ * bucket <code>0</code> counts the zero values and the bucket <code>i</code> counts values in the
+ * range <code>[2^(i-1), 2^i)</code>. The last bucket also counts all bigger values. Times are in
+ * nanoseconds.
+ */
+public class AgentOverheadInformationData extends SystemSensorData {
+
+	/**
+	 * Amount of buckets in the histograms.
+	 */
+	public static final int HISTOGRAM_BUCKETS = 32;
+
+	/**
+	 * The serial version uid for this class.
+	 */
+	private static final long serialVersionUID = 4150318870287236719L;
+
+	/**
+	 * Histogram of the hook dispatching times per method sensor type id.
+	 */
+	private Map<Long, long[]> dispatchTimeHistograms = new HashMap<Long, long[]>();
+
+	/**
+	 * Total hook dispatching time per method sensor type id.
+	 */
+	private Map<Long, Long> dispatchTimes = new HashMap<Long, Long>();
+
+	/**
+	 * Estimated amount of bytes allocated while dispatching per method sensor type id. Only
+	 * available on virtual machines supporting the thread allocation measurement.
+	 */
+	private Map<Long, Long> allocatedBytes = new HashMap<Long, Long>();
+
+	/**
+	 * Histogram of the times needed for sending one batch of data to the CMR.
+	 */
+	private long[] sendTimeHistogram = new long[HISTOGRAM_BUCKETS];
+
+	/**
+	 * Histogram of the amount of data objects that were queued for sending in one batch.
+	 */
+	private long[] queueSizeHistogram = new long[HISTOGRAM_BUCKETS];
+
+	/**
+	 * Amount of batches lost because the sending failed.
+	 */
+	private long droppedBatches;
+
+	/**
+	 * Default no-args constructor.
+	 */
+	public AgentOverheadInformationData() {
+	}
+
+	/**
+	 * The constructor which needs three parameters.
+	 *
+	 * @param timeStamp
+	 *            The Timestamp.
+	 * @param platformIdent
+	 *            The PlatformIdent.
+	 * @param sensorTypeIdent
+	 *            The SensorTypeIdent.
+	 */
+	public AgentOverheadInformationData(Timestamp timeStamp, long platformIdent, long sensorTypeIdent) {
+		super(timeStamp, platformIdent, sensorTypeIdent);
+	}
+
+	/**
+	 * Returns the index of the histogram bucket the value belongs to.
+	 *
+	 * @param value
+	 *            Value
+	 * @return Bucket index.
+	 */
+	public static int getBucket(long value) {
+		if (value <= 0) {
+			return 0;
+		}
+		return Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+	}
+
+	/**
+	 * Returns the exclusive upper bound of the values counted in the bucket.
+	 *
+	 * @param bucket
+	 *            Bucket index.
+	 * @return Exclusive upper bound, for the last bucket {@link Long#MAX_VALUE}.
+	 */
+	public static long getBucketUpperBound(int bucket) {
+		if (bucket >= (HISTOGRAM_BUCKETS - 1)) {
+			return Long.MAX_VALUE;
+		}
+		return 1L << bucket;
+	}
+
+	/**
+	 * Estimates the percentile of the histogram. Returned is the upper bound of the bucket holding
+	 * the percentile.
+	 *
+	 * @param histogram
+	 *            Histogram
+	 * @param percentile
+	 *            Percentile in range <code>(0, 1]</code>.
+	 * @return Estimated percentile or <code>0</code> if histogram is empty.
+	 */
+	public static long getPercentile(long[] histogram, double percentile) {
+		long count = getCount(histogram);
+		if (0 == count) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(count * percentile);
+		long seen = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			seen += histogram[i];
+			if (seen >= rank) {
+				return getBucketUpperBound(i);
+			}
+		}
+		return getBucketUpperBound(histogram.length - 1);
+	}
+
+	/**
+	 * Returns the amount of values in the histogram.
+	 *
+	 * @param histogram
+	 *            Histogram
+	 * @return Amount of values.
+	 */
+	public static long getCount(long[] histogram) {
+		long count = 0;
+		for (long bucketCount : histogram) {
+			count += bucketCount;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the histogram of the dispatching times summed over all sensor types.
+	 *
+	 * @return Histogram of all dispatching times.
+	 */
+	public long[] getTotalDispatchTimeHistogram() {
+		long[] total = new long[HISTOGRAM_BUCKETS];
+		for (long[] histogram : dispatchTimeHistograms.values()) {
+			for (int i = 0; (i < histogram.length) && (i < total.length); i++) {
+				total[i] += histogram[i];
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the dispatching time summed over all sensor types.
+	 *
+	 * @return Total dispatching time.
+	 */
+	public long getTotalDispatchTime() {
+		long total = 0;
+		for (Long time : dispatchTimes.values()) {
+			total += time.longValue();
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the allocated bytes summed over all sensor types.
+	 *
+	 * @return Total allocated bytes.
+	 */
+	public long getTotalAllocatedBytes() {
+		long total = 0;
+		for (Long bytes : allocatedBytes.values()) {
+			total += bytes.longValue();
+		}
+		return total;
+	}
+
+	/**
+	 * Gets {@link #dispatchTimeHistograms}.
+	 *
+	 * @return {@link #dispatchTimeHistograms}
+	 */
+	public Map<Long, long[]> getDispatchTimeHistograms() {
+		return dispatchTimeHistograms;
+	}
+
+	/**
+	 * Sets {@link #dispatchTimeHistograms}.
+	 *
+	 * @param dispatchTimeHistograms
+	 *            New value for {@link #dispatchTimeHistograms}
+	 */
+	public void setDispatchTimeHistograms(Map<Long, long[]> dispatchTimeHistograms) {
+		this.dispatchTimeHistograms = dispatchTimeHistograms;
+	}
+
+	/**
+	 * Gets {@link #dispatchTimes}.
+	 *
+	 * @return {@link #dispatchTimes}
+	 */
+	public Map<Long, Long> getDispatchTimes() {
+		return dispatchTimes;
+	}
+
+	/**
+	 * Sets {@link #dispatchTimes}.
+	 *
+	 * @param dispatchTimes
+	 *            New value for {@link #dispatchTimes}
+	 */
+	public void setDispatchTimes(Map<Long, Long> dispatchTimes) {
+		this.dispatchTimes = dispatchTimes;
+	}
+
+	/**
+	 * Gets {@link #allocatedBytes}.
+	 *
+	 * @return {@link #allocatedBytes}
+	 */
+	public Map<Long, Long> getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * Sets {@link #allocatedBytes}.
+	 *
+	 * @param allocatedBytes
+	 *            New value for {@link #allocatedBytes}
+	 */
+	public void setAllocatedBytes(Map<Long, Long> allocatedBytes) {
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/**
+	 * Gets {@link #sendTimeHistogram}.
+	 *
+	 * @return {@link #sendTimeHistogram}
+	 */
+	public long[] getSendTimeHistogram() {
+		return sendTimeHistogram;
+	}
+
+	/**
+	 * Sets {@link #sendTimeHistogram}.
+	 *
+	 * @param sendTimeHistogram
+	 *            New value for {@link #sendTimeHistogram}
+	 */
+	public void setSendTimeHistogram(long[] sendTimeHistogram) {
+		this.sendTimeHistogram = sendTimeHistogram;
+	}
+
+	/**
+	 * Gets {@link #queueSizeHistogram}.
+	 *
+	 * @return {@link #queueSizeHistogram}
+	 */
+	public long[] getQueueSizeHistogram() {
+		return queueSizeHistogram;
+	}
+
+	/**
+	 * Sets {@link #queueSizeHistogram}.
+	 *
+	 * @param queueSizeHistogram
+	 *            New value for {@link #queueSizeHistogram}
+	 */
+	public void setQueueSizeHistogram(long[] queueSizeHistogram) {
+		this.queueSizeHistogram = queueSizeHistogram;
+	}
+
+	/**
+	 * Gets {@link #droppedBatches}.
+	 *
+	 * @return {@link #droppedBatches}
+	 */
+	public long getDroppedBatches() {
+		return droppedBatches;
+	}
+
+	/**
+	 * Sets {@link #droppedBatches}.
+	 *
+	 * @param droppedBatches
+	 *            New value for {@link #droppedBatches}
+	 */
+	public void setDroppedBatches(long droppedBatches) {
+		this.droppedBatches = droppedBatches;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = (prime * result) + ((allocatedBytes == null) ? 0 : allocatedBytes.hashCode());
+		result = (prime * result) + ((dispatchTimes == null) ? 0 : dispatchTimes.hashCode());
+		result = (prime * result) + (int) (droppedBatches ^ (droppedBatches >>> 32));
+		result = (prime * result) + Arrays.hashCode(queueSizeHistogram);
+		result = (prime * result) + Arrays.hashCode(sendTimeHistogram);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		AgentOverheadInformationData other = (AgentOverheadInformationData) obj;
+		if (allocatedBytes == null) {
+			if (other.allocatedBytes != null) {
+				return false;
+			}
+		} else if (!allocatedBytes.equals(other.allocatedBytes)) {
+			return false;
+		}
+		if (dispatchTimes == null) {
+			if (other.dispatchTimes != null) {
+				return false;
+			}
+		} else if (!dispatchTimes.equals(other.dispatchTimes)) {
+			return false;
+		}
+		if (droppedBatches != other.droppedBatches) {
+			return false;
+		}
+		if (!Arrays.equals(queueSizeHistogram, other.queueSizeHistogram)) {
+			return false;
+		}
+		if (!Arrays.equals(sendTimeHistogram, other.sendTimeHistogram)) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
+		long size = super.getObjectSize(objectSizes, doAlign);
+		size += objectSizes.getPrimitiveTypesSize(5, 0, 0, 0, 1, 0);
+		size += objectSizes.getSizeOfHashMap(dispatchTimeHistograms.size());
+		size += dispatchTimeHistograms.size() * (objectSizes.getSizeOfLongObject() + objectSizes.getSizeOfPrimitiveArray(HISTOGRAM_BUCKETS, 8L));
+		size += objectSizes.getSizeOfHashMap(dispatchTimes.size());
+		size += dispatchTimes.size() * 2L * objectSizes.getSizeOfLongObject();
+		size += objectSizes.getSizeOfHashMap(allocatedBytes.size());
+		size += allocatedBytes.size() * 2L * objectSizes.getSizeOfLongObject();
+		size += objectSizes.getSizeOfPrimitiveArray(sendTimeHistogram.length, 8L);
+		size += objectSizes.getSizeOfPrimitiveArray(queueSizeHistogram.length, 8L);
+		if (doAlign) {
+			return objectSizes.alignTo8Bytes(size);
+		} else {
+			return size;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentOverheadInformationData [dispatchTimes=" + dispatchTimes + ", allocatedBytes=" + allocatedBytes + ", droppedBatches=" + droppedBatches + "]";
+	}
+
+}
@@ -0,0 +1,146 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import java.sql.Timestamp;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+
+/**
+ * Information about the data that the agent had to drop since the last report, f.e. because the
+ * buffer was full as the sending of the data was not fast enough. The counters are exact and
+ * relate to the period between two reports.
+ */
+public class DataLossInformationData extends SystemSensorData {
+
+	/**
+	 * The serial version uid for this class.
+	 */
+	private static final long serialVersionUID = -2722094711425376283L;
+
+	/**
+	 * Amount of dropped data objects.
+	 */
+	private long droppedObjects;
+
+	/**
+	 * Amount of dropped batches of data objects.
+	 */
+	private long droppedBatches;
+
+	/**
+	 * Default no-args constructor.
+	 */
+	public DataLossInformationData() {
+	}
+
+	/**
+	 * The constructor which needs three parameters.
+	 *
+	 * @param timeStamp
+	 *            The Timestamp.
+	 * @param platformIdent
+	 *            The PlatformIdent.
+	 * @param sensorTypeIdent
+	 *            The SensorTypeIdent.
+	 */
+	public DataLossInformationData(Timestamp timeStamp, long platformIdent, long sensorTypeIdent) {
+		super(timeStamp, platformIdent, sensorTypeIdent);
+	}
+
+	/**
+	 * Gets {@link #droppedObjects}.
+	 *
+	 * @return {@link #droppedObjects}
+	 */
+	public long getDroppedObjects() {
+		return droppedObjects;
+	}
+
+	/**
+	 * Sets {@link #droppedObjects}.
+	 *
+	 * @param droppedObjects
+	 *            New value for {@link #droppedObjects}
+	 */
+	public void setDroppedObjects(long droppedObjects) {
+		this.droppedObjects = droppedObjects;
+	}
+
+	/**
+	 * Gets {@link #droppedBatches}.
+	 *
+	 * @return {@link #droppedBatches}
+	 */
+	public long getDroppedBatches() {
+		return droppedBatches;
+	}
+
+	/**
+	 * Sets {@link #droppedBatches}.
+	 *
+	 * @param droppedBatches
+	 *            New value for {@link #droppedBatches}
+	 */
+	public void setDroppedBatches(long droppedBatches) {
+		this.droppedBatches = droppedBatches;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = (prime * result) + (int) (droppedBatches ^ (droppedBatches >>> 32));
+		result = (prime * result) + (int) (droppedObjects ^ (droppedObjects >>> 32));
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		DataLossInformationData other = (DataLossInformationData) obj;
+		if (droppedBatches != other.droppedBatches) {
+			return false;
+		}
+		if (droppedObjects != other.droppedObjects) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
+		long size = super.getObjectSize(objectSizes, doAlign);
+		size += objectSizes.getPrimitiveTypesSize(0, 0, 0, 0, 2, 0);
+		if (doAlign) {
+			return objectSizes.alignTo8Bytes(size);
+		} else {
+			return size;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "DataLossInformationData [droppedObjects=" + droppedObjects + ", droppedBatches=" + droppedBatches + "]";
+	}
+
+}
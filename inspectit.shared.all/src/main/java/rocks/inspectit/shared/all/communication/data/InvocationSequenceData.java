@@ -95,6 +95,22 @@ public class InvocationSequenceData extends MethodSensorData {
 	 */
 	private long childCount = 0;
 
+	/**
+	 * Number of identical consecutive calls of the same method that were collapsed into this
+	 * invocation in addition to the invocation itself. Duration is then the sum of all collapsed
+	 * calls.
+	 */
+	@JsonSerialize(include = JsonSerialize.Inclusion.NON_DEFAULT)
+	private long collapsedCount = 0;
+
+	/**
+	 * Rate with which the invocation sequence was sampled on the agent. Invocation sequence
+	 * represents <code>1 / samplingRate</code> invocations of the root method, thus counts can be
+	 * extrapolated with it.
+	 */
+	@JsonSerialize(include = JsonSerialize.Inclusion.NON_DEFAULT)
+	private double samplingRate = 1.0d;
+
 	/**
 	 * If the {@link SqlStatementData} is available in this or one of the nested invocations.
 	 */
@@ -346,6 +362,44 @@ public class InvocationSequenceData extends MethodSensorData {
 		return childCount;
 	}
 
+	/**
+	 * Gets {@link #collapsedCount}.
+	 *
+	 * @return {@link #collapsedCount}
+	 */
+	public long getCollapsedCount() {
+		return collapsedCount;
+	}
+
+	/**
+	 * Sets {@link #collapsedCount}.
+	 *
+	 * @param collapsedCount
+	 *            New value for {@link #collapsedCount}
+	 */
+	public void setCollapsedCount(long collapsedCount) {
+		this.collapsedCount = collapsedCount;
+	}
+
+	/**
+	 * Gets {@link #samplingRate}.
+	 *
+	 * @return {@link #samplingRate}
+	 */
+	public double getSamplingRate() {
+		return samplingRate;
+	}
+
+	/**
+	 * Sets {@link #samplingRate}.
+	 *
+	 * @param samplingRate
+	 *            New value for {@link #samplingRate}
+	 */
+	public void setSamplingRate(double samplingRate) {
+		this.samplingRate = samplingRate;
+	}
+
 	/**
 	 * Gets {@link #nestedSqlStatements}.
 	 *
@@ -496,7 +550,7 @@ public class InvocationSequenceData extends MethodSensorData {
 	@Override
 	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
 		long size = super.getObjectSize(objectSizes, doAlign);
-		size += objectSizes.getPrimitiveTypesSize(8, 0, 2, 0, 2, 3);
+		size += objectSizes.getPrimitiveTypesSize(8, 0, 2, 0, 3, 4);
 		size += objectSizes.getSizeOf(timerData);
 		size += objectSizes.getSizeOf(loggingData);
 		size += objectSizes.getSizeOf(sqlStatementData);
@@ -535,6 +589,8 @@ public class InvocationSequenceData extends MethodSensorData {
 		InvocationSequenceData clone = new InvocationSequenceData(this.getTimeStamp(), this.getPlatformIdent(), this.getSensorTypeIdent(), this.getMethodIdent());
 		clone.setId(this.getId());
 		clone.setChildCount(this.getChildCount());
+		clone.setCollapsedCount(this.getCollapsedCount());
+		clone.setSamplingRate(this.getSamplingRate());
 		clone.setDuration(this.getDuration());
 		clone.setEnd(this.getEnd());
 		clone.setNestedSequences(Collections.<InvocationSequenceData> emptyList());
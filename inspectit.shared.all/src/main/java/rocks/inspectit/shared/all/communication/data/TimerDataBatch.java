@@ -0,0 +1,468 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * Columnar container of the {@link TimerData} objects sent by the agent. Platform and sensor type
+ * ident are kept only once in the batch, while the values of the single timers are kept in the
+ * parallel primitive arrays (columns). The time stamp of the batch is the smallest time stamp of
+ * all timers.
+ * <p>
+ * Only the plain {@link TimerData} objects without captured parameters, invocation affiliation or
+ * exclusive times can be put into a batch, see {@link #isBatchable(DefaultData)}. The batch is
+ * only a transmission container and is expanded back to {@link TimerData} objects with
+ * {@link #expand()} on the CMR.
+ */
+public class TimerDataBatch extends DefaultData {
+
+	/**
+	 * The serial version uid for this class.
+	 */
+	private static final long serialVersionUID = -3512480318420725614L;
+
+	/**
+	 * Time stamps of the timers in milliseconds.
+	 */
+	private long[] timeStamps;
+
+	/**
+	 * Method idents of the timers.
+	 */
+	private long[] methodIdents;
+
+	/**
+	 * Counts of the timers.
+	 */
+	private long[] counts;
+
+	/**
+	 * Durations of the timers.
+	 */
+	private double[] durations;
+
+	/**
+	 * Minimum durations of the timers.
+	 */
+	private double[] mins;
+
+	/**
+	 * Maximum durations of the timers.
+	 */
+	private double[] maxs;
+
+	/**
+	 * CPU durations of the timers.
+	 */
+	private double[] cpuDurations;
+
+	/**
+	 * Minimum CPU durations of the timers.
+	 */
+	private double[] cpuMins;
+
+	/**
+	 * Maximum CPU durations of the timers.
+	 */
+	private double[] cpuMaxs;
+
+	/**
+	 * Charting flags of the timers.
+	 */
+	private boolean[] charting;
+
+	/**
+	 * No-arg constructor.
+	 */
+	public TimerDataBatch() {
+	}
+
+	/**
+	 * Creates the batch containing the given timers. All timers must be batchable and belong to
+	 * the given platform and sensor type.
+	 *
+	 * @param platformIdent
+	 *            Platform ident of all timers.
+	 * @param sensorTypeIdent
+	 *            Sensor type ident of all timers.
+	 * @param timerDataList
+	 *            Timers to put into the batch.
+	 * @see #isBatchable(DefaultData)
+	 */
+	public TimerDataBatch(long platformIdent, long sensorTypeIdent, List<TimerData> timerDataList) {
+		int size = timerDataList.size();
+		timeStamps = new long[size];
+		methodIdents = new long[size];
+		counts = new long[size];
+		durations = new double[size];
+		mins = new double[size];
+		maxs = new double[size];
+		cpuDurations = new double[size];
+		cpuMins = new double[size];
+		cpuMaxs = new double[size];
+		charting = new boolean[size];
+
+		long minTimeStamp = Long.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			TimerData timerData = timerDataList.get(i);
+			timeStamps[i] = timerData.getTimeStamp().getTime();
+			methodIdents[i] = timerData.getMethodIdent();
+			counts[i] = timerData.getCount();
+			durations[i] = timerData.getDuration();
+			mins[i] = timerData.getMin();
+			maxs[i] = timerData.getMax();
+			cpuDurations[i] = timerData.getCpuDuration();
+			cpuMins[i] = timerData.getCpuMin();
+			cpuMaxs[i] = timerData.getCpuMax();
+			charting[i] = timerData.isCharting();
+			minTimeStamp = Math.min(minTimeStamp, timeStamps[i]);
+		}
+
+		setPlatformIdent(platformIdent);
+		setSensorTypeIdent(sensorTypeIdent);
+		setTimeStamp(new Timestamp((size > 0) ? minTimeStamp : System.currentTimeMillis()));
+	}
+
+	/**
+	 * Returns if the given data can be put into the batch without losing any information.
+	 *
+	 * @param defaultData
+	 *            Data to check.
+	 * @return <code>true</code> if the data is a plain {@link TimerData} with no captured
+	 *         parameters, invocation affiliation, exclusive times or variance.
+	 */
+	public static boolean isBatchable(DefaultData defaultData) {
+		if ((null == defaultData) || (defaultData.getClass() != TimerData.class)) {
+			return false;
+		}
+
+		TimerData timerData = (TimerData) defaultData;
+		return (0 == timerData.getId()) && (null != timerData.getTimeStamp()) && !timerData.providesCapturedParameters() && timerData.getInvocationParentsIdSet().isEmpty()
+				&& (0 == timerData.getExclusiveCount()) && (0 == Double.compare(0d, timerData.getExclusiveDuration())) && (0 == Double.compare(0d, timerData.getVariance()));
+	}
+
+	/**
+	 * Returns the amount of timers in the batch.
+	 *
+	 * @return Returns the amount of timers in the batch.
+	 */
+	public int getSize() {
+		if (null == methodIdents) {
+			return 0;
+		}
+		return methodIdents.length;
+	}
+
+	/**
+	 * Creates the {@link TimerData} objects contained in this batch.
+	 *
+	 * @return List of {@link TimerData} objects.
+	 */
+	public List<TimerData> expand() {
+		int size = getSize();
+		List<TimerData> timerDataList = new ArrayList<TimerData>(size);
+		for (int i = 0; i < size; i++) {
+			TimerData timerData = new TimerData(new Timestamp(timeStamps[i]), getPlatformIdent(), getSensorTypeIdent(), methodIdents[i]);
+			timerData.setCount(counts[i]);
+			timerData.setDuration(durations[i]);
+			timerData.calculateMin(mins[i]);
+			timerData.calculateMax(maxs[i]);
+			timerData.setCpuDuration(cpuDurations[i]);
+			timerData.calculateCpuMin(cpuMins[i]);
+			timerData.calculateCpuMax(cpuMaxs[i]);
+			timerData.setCharting(charting[i]);
+			timerDataList.add(timerData);
+		}
+		return timerDataList;
+	}
+
+	/**
+	 * Gets {@link #timeStamps}.
+	 *
+	 * @return {@link #timeStamps}
+	 */
+	public long[] getTimeStamps() {
+		return timeStamps;
+	}
+
+	/**
+	 * Sets {@link #timeStamps}.
+	 *
+	 * @param timeStamps
+	 *            New value for {@link #timeStamps}
+	 */
+	public void setTimeStamps(long[] timeStamps) {
+		this.timeStamps = timeStamps;
+	}
+
+	/**
+	 * Gets {@link #methodIdents}.
+	 *
+	 * @return {@link #methodIdents}
+	 */
+	public long[] getMethodIdents() {
+		return methodIdents;
+	}
+
+	/**
+	 * Sets {@link #methodIdents}.
+	 *
+	 * @param methodIdents
+	 *            New value for {@link #methodIdents}
+	 */
+	public void setMethodIdents(long[] methodIdents) {
+		this.methodIdents = methodIdents;
+	}
+
+	/**
+	 * Gets {@link #counts}.
+	 *
+	 * @return {@link #counts}
+	 */
+	public long[] getCounts() {
+		return counts;
+	}
+
+	/**
+	 * Sets {@link #counts}.
+	 *
+	 * @param counts
+	 *            New value for {@link #counts}
+	 */
+	public void setCounts(long[] counts) {
+		this.counts = counts;
+	}
+
+	/**
+	 * Gets {@link #durations}.
+	 *
+	 * @return {@link #durations}
+	 */
+	public double[] getDurations() {
+		return durations;
+	}
+
+	/**
+	 * Sets {@link #durations}.
+	 *
+	 * @param durations
+	 *            New value for {@link #durations}
+	 */
+	public void setDurations(double[] durations) {
+		this.durations = durations;
+	}
+
+	/**
+	 * Gets {@link #mins}.
+	 *
+	 * @return {@link #mins}
+	 */
+	public double[] getMins() {
+		return mins;
+	}
+
+	/**
+	 * Sets {@link #mins}.
+	 *
+	 * @param mins
+	 *            New value for {@link #mins}
+	 */
+	public void setMins(double[] mins) {
+		this.mins = mins;
+	}
+
+	/**
+	 * Gets {@link #maxs}.
+	 *
+	 * @return {@link #maxs}
+	 */
+	public double[] getMaxs() {
+		return maxs;
+	}
+
+	/**
+	 * Sets {@link #maxs}.
+	 *
+	 * @param maxs
+	 *            New value for {@link #maxs}
+	 */
+	public void setMaxs(double[] maxs) {
+		this.maxs = maxs;
+	}
+
+	/**
+	 * Gets {@link #cpuDurations}.
+	 *
+	 * @return {@link #cpuDurations}
+	 */
+	public double[] getCpuDurations() {
+		return cpuDurations;
+	}
+
+	/**
+	 * Sets {@link #cpuDurations}.
+	 *
+	 * @param cpuDurations
+	 *            New value for {@link #cpuDurations}
+	 */
+	public void setCpuDurations(double[] cpuDurations) {
+		this.cpuDurations = cpuDurations;
+	}
+
+	/**
+	 * Gets {@link #cpuMins}.
+	 *
+	 * @return {@link #cpuMins}
+	 */
+	public double[] getCpuMins() {
+		return cpuMins;
+	}
+
+	/**
+	 * Sets {@link #cpuMins}.
+	 *
+	 * @param cpuMins
+	 *            New value for {@link #cpuMins}
+	 */
+	public void setCpuMins(double[] cpuMins) {
+		this.cpuMins = cpuMins;
+	}
+
+	/**
+	 * Gets {@link #cpuMaxs}.
+	 *
+	 * @return {@link #cpuMaxs}
+	 */
+	public double[] getCpuMaxs() {
+		return cpuMaxs;
+	}
+
+	/**
+	 * Sets {@link #cpuMaxs}.
+	 *
+	 * @param cpuMaxs
+	 *            New value for {@link #cpuMaxs}
+	 */
+	public void setCpuMaxs(double[] cpuMaxs) {
+		this.cpuMaxs = cpuMaxs;
+	}
+
+	/**
+	 * Gets {@link #charting}.
+	 *
+	 * @return {@link #charting}
+	 */
+	public boolean[] getCharting() {
+		return charting;
+	}
+
+	/**
+	 * Sets {@link #charting}.
+	 *
+	 * @param charting
+	 *            New value for {@link #charting}
+	 */
+	public void setCharting(boolean[] charting) {
+		this.charting = charting;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
+		long size = super.getObjectSize(objectSizes, doAlign);
+		size += objectSizes.getPrimitiveTypesSize(10, 0, 0, 0, 0, 0);
+		int length = getSize();
+		// three long and six double columns
+		size += 9 * objectSizes.getSizeOfPrimitiveArray(length, 8);
+		size += objectSizes.getSizeOfPrimitiveArray(length, 1);
+		if (doAlign) {
+			return objectSizes.alignTo8Bytes(size);
+		} else {
+			return size;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = (prime * result) + Arrays.hashCode(charting);
+		result = (prime * result) + Arrays.hashCode(counts);
+		result = (prime * result) + Arrays.hashCode(cpuDurations);
+		result = (prime * result) + Arrays.hashCode(cpuMaxs);
+		result = (prime * result) + Arrays.hashCode(cpuMins);
+		result = (prime * result) + Arrays.hashCode(durations);
+		result = (prime * result) + Arrays.hashCode(maxs);
+		result = (prime * result) + Arrays.hashCode(methodIdents);
+		result = (prime * result) + Arrays.hashCode(mins);
+		result = (prime * result) + Arrays.hashCode(timeStamps);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		TimerDataBatch other = (TimerDataBatch) obj;
+		if (!Arrays.equals(charting, other.charting)) {
+			return false;
+		}
+		if (!Arrays.equals(counts, other.counts)) {
+			return false;
+		}
+		if (!Arrays.equals(cpuDurations, other.cpuDurations)) {
+			return false;
+		}
+		if (!Arrays.equals(cpuMaxs, other.cpuMaxs)) {
+			return false;
+		}
+		if (!Arrays.equals(cpuMins, other.cpuMins)) {
+			return false;
+		}
+		if (!Arrays.equals(durations, other.durations)) {
+			return false;
+		}
+		if (!Arrays.equals(maxs, other.maxs)) {
+			return false;
+		}
+		if (!Arrays.equals(methodIdents, other.methodIdents)) {
+			return false;
+		}
+		if (!Arrays.equals(mins, other.mins)) {
+			return false;
+		}
+		if (!Arrays.equals(timeStamps, other.timeStamps)) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "TimerDataBatch [platformIdent=" + getPlatformIdent() + ", sensorTypeIdent=" + getSensorTypeIdent() + ", size=" + getSize() + "]";
+	}
+
+}
@@ -98,6 +98,11 @@ public class AgentStatusData implements Serializable {
 	 */
 	private InstrumentationStatus instrumentationStatus;
 
+	/**
+	 * Amount of data objects of the agent dropped on the CMR.
+	 */
+	private long droppedDataCount;
+
 	/**
 	 * No-arg constructor. Calling {@link #AgentStatusData(AgentConnection)} using
 	 * {@link AgentConnection#NEVER_CONNECTED}.
@@ -249,6 +254,25 @@ public class AgentStatusData implements Serializable {
 		this.instrumentationStatus = instrumentationStatus;
 	}
 
+	/**
+	 * Gets {@link #droppedDataCount}.
+	 *
+	 * @return {@link #droppedDataCount}
+	 */
+	public long getDroppedDataCount() {
+		return this.droppedDataCount;
+	}
+
+	/**
+	 * Sets {@link #droppedDataCount}.
+	 *
+	 * @param droppedDataCount
+	 *            New value for {@link #droppedDataCount}
+	 */
+	public void setDroppedDataCount(long droppedDataCount) {
+		this.droppedDataCount = droppedDataCount;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -258,6 +282,7 @@ public class AgentStatusData implements Serializable {
 		int result = 1;
 		result = (prime * result) + ((this.agentConnection == null) ? 0 : this.agentConnection.hashCode());
 		result = (prime * result) + (int) (this.connectionTimestamp ^ (this.connectionTimestamp >>> 32));
+		result = (prime * result) + (int) (this.droppedDataCount ^ (this.droppedDataCount >>> 32));
 		result = (prime * result) + ((this.instrumentationStatus == null) ? 0 : this.instrumentationStatus.hashCode());
 		result = (prime * result) + (int) (this.lastDataSendTimestamp ^ (this.lastDataSendTimestamp >>> 32));
 		result = (prime * result) + (int) (this.lastKeepAliveTimestamp ^ (this.lastKeepAliveTimestamp >>> 32));
@@ -287,6 +312,9 @@ public class AgentStatusData implements Serializable {
 		if (this.connectionTimestamp != other.connectionTimestamp) {
 			return false;
 		}
+		if (this.droppedDataCount != other.droppedDataCount) {
+			return false;
+		}
 		if (this.instrumentationStatus != other.instrumentationStatus) {
 			return false;
 		}
@@ -77,6 +77,31 @@ public class CmrStatusData implements Serializable {
 	 */
 	private Long databaseSize;
 
+	/**
+	 * Amount of raw bytes of the compressed frames sent and received by the agent connections.
+	 */
+	private long networkRawBytes;
+
+	/**
+	 * Amount of compressed bytes of the compressed frames sent and received by the agent connections.
+	 */
+	private long networkCompressedBytes;
+
+	/**
+	 * Time in nanoseconds the CMR spent in compressing and decompressing the agent connection frames.
+	 */
+	private long networkCompressionTime;
+
+	/**
+	 * Number of elements in the buffer that are not yet indexed.
+	 */
+	private long bufferIndexingLagElements;
+
+	/**
+	 * Milliseconds of data in the buffer that is not yet indexed.
+	 */
+	private long bufferIndexingLagMillis;
+
 	/**
 	 * The connection status of external services.
 	 */
@@ -300,6 +325,101 @@ public class CmrStatusData implements Serializable {
 		this.databaseSize = databaseSize;
 	}
 
+	/**
+	 * Gets {@link #networkRawBytes}.
+	 *
+	 * @return {@link #networkRawBytes}
+	 */
+	public long getNetworkRawBytes() {
+		return networkRawBytes;
+	}
+
+	/**
+	 * Sets {@link #networkRawBytes}.
+	 *
+	 * @param networkRawBytes
+	 *            New value for {@link #networkRawBytes}
+	 */
+	public void setNetworkRawBytes(long networkRawBytes) {
+		this.networkRawBytes = networkRawBytes;
+	}
+
+	/**
+	 * Gets {@link #networkCompressedBytes}.
+	 *
+	 * @return {@link #networkCompressedBytes}
+	 */
+	public long getNetworkCompressedBytes() {
+		return networkCompressedBytes;
+	}
+
+	/**
+	 * Sets {@link #networkCompressedBytes}.
+	 *
+	 * @param networkCompressedBytes
+	 *            New value for {@link #networkCompressedBytes}
+	 */
+	public void setNetworkCompressedBytes(long networkCompressedBytes) {
+		this.networkCompressedBytes = networkCompressedBytes;
+	}
+
+	/**
+	 * Gets {@link #networkCompressionTime}.
+	 *
+	 * @return {@link #networkCompressionTime}
+	 */
+	public long getNetworkCompressionTime() {
+		return networkCompressionTime;
+	}
+
+	/**
+	 * Sets {@link #networkCompressionTime}.
+	 *
+	 * @param networkCompressionTime
+	 *            New value for {@link #networkCompressionTime}
+	 */
+	public void setNetworkCompressionTime(long networkCompressionTime) {
+		this.networkCompressionTime = networkCompressionTime;
+	}
+
+	/**
+	 * Gets {@link #bufferIndexingLagElements}.
+	 *
+	 * @return {@link #bufferIndexingLagElements}
+	 */
+	public long getBufferIndexingLagElements() {
+		return bufferIndexingLagElements;
+	}
+
+	/**
+	 * Sets {@link #bufferIndexingLagElements}.
+	 *
+	 * @param bufferIndexingLagElements
+	 *            New value for {@link #bufferIndexingLagElements}
+	 */
+	public void setBufferIndexingLagElements(long bufferIndexingLagElements) {
+		this.bufferIndexingLagElements = bufferIndexingLagElements;
+	}
+
+	/**
+	 * Gets {@link #bufferIndexingLagMillis}.
+	 *
+	 * @return {@link #bufferIndexingLagMillis}
+	 */
+	public long getBufferIndexingLagMillis() {
+		return bufferIndexingLagMillis;
+	}
+
+	/**
+	 * Sets {@link #bufferIndexingLagMillis}.
+	 *
+	 * @param bufferIndexingLagMillis
+	 *            New value for {@link #bufferIndexingLagMillis}
+	 */
+	public void setBufferIndexingLagMillis(long bufferIndexingLagMillis) {
+		this.bufferIndexingLagMillis = bufferIndexingLagMillis;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -307,6 +427,8 @@ public class CmrStatusData implements Serializable {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
+		result = (prime * result) + (int) (bufferIndexingLagElements ^ (bufferIndexingLagElements >>> 32));
+		result = (prime * result) + (int) (bufferIndexingLagMillis ^ (bufferIndexingLagMillis >>> 32));
 		result = (prime * result) + ((bufferNewestElement == null) ? 0 : bufferNewestElement.hashCode());
 		result = (prime * result) + ((bufferOldestElement == null) ? 0 : bufferOldestElement.hashCode());
 		result = (prime * result) + (canWriteMore ? 1231 : 1237);
@@ -314,6 +436,9 @@ public class CmrStatusData implements Serializable {
 		result = (prime * result) + ((databaseSize == null) ? 0 : databaseSize.hashCode());
 		result = (prime * result) + ((dateStarted == null) ? 0 : dateStarted.hashCode());
 		result = (prime * result) + (int) (maxBufferSize ^ (maxBufferSize >>> 32));
+		result = (prime * result) + (int) (networkCompressedBytes ^ (networkCompressedBytes >>> 32));
+		result = (prime * result) + (int) (networkCompressionTime ^ (networkCompressionTime >>> 32));
+		result = (prime * result) + (int) (networkRawBytes ^ (networkRawBytes >>> 32));
 		result = (prime * result) + (int) (storageDataSpaceLeft ^ (storageDataSpaceLeft >>> 32));
 		result = (prime * result) + (int) (storageMaxDataSpace ^ (storageMaxDataSpace >>> 32));
 		result = (prime * result) + (int) (upTime ^ (upTime >>> 32));
@@ -336,6 +461,12 @@ public class CmrStatusData implements Serializable {
 			return false;
 		}
 		CmrStatusData other = (CmrStatusData) obj;
+		if (bufferIndexingLagElements != other.bufferIndexingLagElements) {
+			return false;
+		}
+		if (bufferIndexingLagMillis != other.bufferIndexingLagMillis) {
+			return false;
+		}
 		if (bufferNewestElement == null) {
 			if (other.bufferNewestElement != null) {
 				return false;
@@ -373,6 +504,15 @@ public class CmrStatusData implements Serializable {
 		if (maxBufferSize != other.maxBufferSize) {
 			return false;
 		}
+		if (networkCompressedBytes != other.networkCompressedBytes) {
+			return false;
+		}
+		if (networkCompressionTime != other.networkCompressionTime) {
+			return false;
+		}
+		if (networkRawBytes != other.networkRawBytes) {
+			return false;
+		}
 		if (storageDataSpaceLeft != other.storageDataSpaceLeft) {
 			return false;
 		}
@@ -0,0 +1,64 @@
+package rocks.inspectit.shared.all.communication.message;
+
+/**
+ * Sent by the agent over the KryoNet connection to acknowledge the received
+ * {@link AgentMessageBatch}.
+ */
+public class AgentMessageAcknowledgement {
+
+	/**
+	 * Id of the platform that received the batch.
+	 */
+	private long platformId;
+
+	/**
+	 * Id of the received batch.
+	 */
+	private long batchId;
+
+	/**
+	 * No-arg constructor.
+	 */
+	public AgentMessageAcknowledgement() {
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param platformId
+	 *            Id of the platform that received the batch.
+	 * @param batchId
+	 *            Id of the received batch.
+	 */
+	public AgentMessageAcknowledgement(long platformId, long batchId) {
+		this.platformId = platformId;
+		this.batchId = batchId;
+	}
+
+	/**
+	 * Gets {@link #platformId}.
+	 *
+	 * @return {@link #platformId}
+	 */
+	public long getPlatformId() {
+		return this.platformId;
+	}
+
+	/**
+	 * Gets {@link #batchId}.
+	 *
+	 * @return {@link #batchId}
+	 */
+	public long getBatchId() {
+		return this.batchId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentMessageAcknowledgement [platformId=" + platformId + ", batchId=" + batchId + "]";
+	}
+
+}
@@ -0,0 +1,68 @@
+package rocks.inspectit.shared.all.communication.message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch of {@link IAgentMessage}s pushed by the CMR to the subscribed agent. The agent must
+ * acknowledge every batch with the {@link AgentMessageAcknowledgement}. The first batch after the
+ * subscription confirms the subscription and can be empty.
+ */
+public class AgentMessageBatch {
+
+	/**
+	 * Id of the batch.
+	 */
+	private long batchId;
+
+	/**
+	 * Messages in the batch, ordered by time (index 0 is the oldest).
+	 */
+	private List<IAgentMessage<?>> messages = new ArrayList<IAgentMessage<?>>();
+
+	/**
+	 * No-arg constructor.
+	 */
+	public AgentMessageBatch() {
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param batchId
+	 *            Id of the batch.
+	 * @param messages
+	 *            Messages in the batch.
+	 */
+	public AgentMessageBatch(long batchId, List<IAgentMessage<?>> messages) {
+		this.batchId = batchId;
+		this.messages = messages;
+	}
+
+	/**
+	 * Gets {@link #batchId}.
+	 *
+	 * @return {@link #batchId}
+	 */
+	public long getBatchId() {
+		return this.batchId;
+	}
+
+	/**
+	 * Gets {@link #messages}.
+	 *
+	 * @return {@link #messages}
+	 */
+	public List<IAgentMessage<?>> getMessages() {
+		return this.messages;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentMessageBatch [batchId=" + batchId + ", messages=" + messages + "]";
+	}
+
+}
@@ -0,0 +1,47 @@
+package rocks.inspectit.shared.all.communication.message;
+
+/**
+ * Sent by the agent over the KryoNet connection to subscribe to the {@link IAgentMessage}s pushed
+ * by the CMR. The subscription is bound to the connection it was sent over.
+ */
+public class AgentMessageSubscription {
+
+	/**
+	 * Id of the subscribing platform.
+	 */
+	private long platformId;
+
+	/**
+	 * No-arg constructor.
+	 */
+	public AgentMessageSubscription() {
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param platformId
+	 *            Id of the subscribing platform.
+	 */
+	public AgentMessageSubscription(long platformId) {
+		this.platformId = platformId;
+	}
+
+	/**
+	 * Gets {@link #platformId}.
+	 *
+	 * @return {@link #platformId}
+	 */
+	public long getPlatformId() {
+		return this.platformId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentMessageSubscription [platformId=" + platformId + "]";
+	}
+
+}
@@ -0,0 +1,181 @@
+package rocks.inspectit.shared.all.instrumentation.classcache.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+
+/**
+ * 128-bit identity of the class byte code held in two longs. Compared to the hex string
+ * representation used in the {@link rocks.inspectit.shared.all.instrumentation.classcache.Type}
+ * this class needs much less memory and can be compared without any string operation.
+ * <p>
+ * Hash strings are converted with {@link #fromString(String)}. Any hex string of at least 128 bits
+ * is represented by its leading 128 bits, thus a SHA-256 hash and its truncated 128-bit form denote
+ * the same class hash. This keeps hashes created with SHA-256 by older agents compatible with the
+ * ones created by the current agents.
+ */
+public final class ClassHash {
+
+	/**
+	 * Amount of hex characters in the string representation.
+	 */
+	private static final int HEX_LENGTH = 32;
+
+	/**
+	 * Hex digits.
+	 */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * High 64 bits of the hash.
+	 */
+	private final long high;
+
+	/**
+	 * Low 64 bits of the hash.
+	 */
+	private final long low;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param high
+	 *            High 64 bits of the hash.
+	 * @param low
+	 *            Low 64 bits of the hash.
+	 */
+	public ClassHash(long high, long low) {
+		this.high = high;
+		this.low = low;
+	}
+
+	/**
+	 * Creates the class hash from the leading 16 bytes of the given digest.
+	 *
+	 * @param digest
+	 *            Digest with at least 16 bytes.
+	 * @return Class hash
+	 */
+	public static ClassHash fromBytes(byte[] digest) {
+		if ((null == digest) || (digest.length < 16)) {
+			throw new IllegalArgumentException("Digest must have at least 16 bytes.");
+		}
+		return new ClassHash(toLong(digest, 0), toLong(digest, 8));
+	}
+
+	/**
+	 * Creates the class hash from the string representation. Hex strings of at least 32 characters
+	 * are parsed and only the leading 128 bits are taken. Any other string is hashed with the
+	 * Murmur3 128-bit hash function, thus the same string always results in the same class hash.
+	 *
+	 * @param hash
+	 *            Hash string.
+	 * @return Class hash
+	 */
+	public static ClassHash fromString(String hash) {
+		if (null == hash) {
+			throw new IllegalArgumentException("Hash string can not be null.");
+		}
+
+		if (hash.length() >= HEX_LENGTH) {
+			long high = 0;
+			long low = 0;
+			boolean hex = true;
+			for (int i = 0; i < HEX_LENGTH; i++) {
+				int digit = Character.digit(hash.charAt(i), 16);
+				if (digit < 0) {
+					hex = false;
+					break;
+				}
+				if (i < (HEX_LENGTH / 2)) {
+					high = (high << 4) | digit;
+				} else {
+					low = (low << 4) | digit;
+				}
+			}
+			if (hex) {
+				return new ClassHash(high, low);
+			}
+		}
+
+		return fromBytes(Hashing.murmur3_128().hashString(hash, Charsets.UTF_8).asBytes());
+	}
+
+	/**
+	 * Reads big-endian long from the given bytes.
+	 *
+	 * @param bytes
+	 *            Bytes
+	 * @param offset
+	 *            Offset to start reading from.
+	 * @return Long value
+	 */
+	private static long toLong(byte[] bytes, int offset) {
+		long result = 0;
+		for (int i = offset; i < (offset + 8); i++) {
+			result = (result << 8) | (bytes[i] & 0xFF);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets {@link #high}.
+	 *
+	 * @return {@link #high}
+	 */
+	public long getHigh() {
+		return high;
+	}
+
+	/**
+	 * Gets {@link #low}.
+	 *
+	 * @return {@link #low}
+	 */
+	public long getLow() {
+		return low;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		// bits are already well distributed
+		return (int) (low ^ (low >>> 32) ^ high);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		ClassHash other = (ClassHash) obj;
+		return (high == other.high) && (low == other.low);
+	}
+
+	/**
+	 * Returns the 32 characters long hex representation of the hash.
+	 *
+	 * @return Hex representation of the hash.
+	 */
+	@Override
+	public String toString() {
+		char[] chars = new char[HEX_LENGTH];
+		for (int i = 0; i < (HEX_LENGTH / 2); i++) {
+			int shift = 60 - (i * 4);
+			chars[i] = HEX_DIGITS[(int) (high >>> shift) & 0xF];
+			chars[i + (HEX_LENGTH / 2)] = HEX_DIGITS[(int) (low >>> shift) & 0xF];
+		}
+		return new String(chars);
+	}
+
+}
@@ -62,6 +62,16 @@ public class AgentConfig {
 	 */
 	private StrategyConfig sendingStrategyConfig;
 
+	/**
+	 * If the data sent to the CMR should be compressed.
+	 */
+	private boolean networkCompression;
+
+	/**
+	 * Size of the disk spool in bytes. Value <code>0</code> means that the spool is not used.
+	 */
+	private long diskSpoolSize;
+
 	/**
 	 * Collection of the exclude classes patterns.
 	 */
@@ -291,6 +301,44 @@ public class AgentConfig {
 		this.sendingStrategyConfig = sendingStrategyConfig;
 	}
 
+	/**
+	 * Gets {@link #networkCompression}.
+	 *
+	 * @return {@link #networkCompression}
+	 */
+	public boolean isNetworkCompression() {
+		return networkCompression;
+	}
+
+	/**
+	 * Sets {@link #networkCompression}.
+	 *
+	 * @param networkCompression
+	 *            New value for {@link #networkCompression}
+	 */
+	public void setNetworkCompression(boolean networkCompression) {
+		this.networkCompression = networkCompression;
+	}
+
+	/**
+	 * Gets {@link #diskSpoolSize}.
+	 *
+	 * @return {@link #diskSpoolSize}
+	 */
+	public long getDiskSpoolSize() {
+		return diskSpoolSize;
+	}
+
+	/**
+	 * Sets {@link #diskSpoolSize}.
+	 *
+	 * @param diskSpoolSize
+	 *            New value for {@link #diskSpoolSize}
+	 */
+	public void setDiskSpoolSize(long diskSpoolSize) {
+		this.diskSpoolSize = diskSpoolSize;
+	}
+
 	/**
 	 * Gets {@link #excludeClassesPatterns}.
 	 *
@@ -358,11 +406,13 @@ public class AgentConfig {
 		result = (prime * result) + ((this.bufferStrategyConfig == null) ? 0 : this.bufferStrategyConfig.hashCode());
 		result = (prime * result) + (this.classCacheExistsOnCmr ? 1231 : 1237);
 		result = (prime * result) + ((this.configurationInfo == null) ? 0 : this.configurationInfo.hashCode());
+		result = (prime * result) + (int) (this.diskSpoolSize ^ (this.diskSpoolSize >>> 32));
 		result = (prime * result) + ((this.exceptionSensorTypeConfig == null) ? 0 : this.exceptionSensorTypeConfig.hashCode());
 		result = (prime * result) + ((this.excludeClassesPatterns == null) ? 0 : this.excludeClassesPatterns.hashCode());
 		result = (prime * result) + ((this.initialInstrumentationResults == null) ? 0 : this.initialInstrumentationResults.hashCode());
 		result = (prime * result) + ((this.jmxSensorTypeConfig == null) ? 0 : this.jmxSensorTypeConfig.hashCode());
 		result = (prime * result) + ((this.methodSensorTypeConfigs == null) ? 0 : this.methodSensorTypeConfigs.hashCode());
+		result = (prime * result) + (this.networkCompression ? 1231 : 1237);
 		result = (prime * result) + (int) (this.platformId ^ (this.platformId >>> 32));
 		result = (prime * result) + ((this.platformSensorTypeConfigs == null) ? 0 : this.platformSensorTypeConfigs.hashCode());
 		result = (prime * result) + ((this.sendingStrategyConfig == null) ? 0 : this.sendingStrategyConfig.hashCode());
@@ -402,6 +452,9 @@ public class AgentConfig {
 		} else if (!this.configurationInfo.equals(other.configurationInfo)) {
 			return false;
 		}
+		if (this.diskSpoolSize != other.diskSpoolSize) {
+			return false;
+		}
 		if (this.exceptionSensorTypeConfig == null) {
 			if (other.exceptionSensorTypeConfig != null) {
 				return false;
@@ -437,6 +490,9 @@ public class AgentConfig {
 		} else if (!this.methodSensorTypeConfigs.equals(other.methodSensorTypeConfigs)) {
 			return false;
 		}
+		if (this.networkCompression != other.networkCompression) {
+			return false;
+		}
 		if (this.platformId != other.platformId) {
 			return false;
 		}
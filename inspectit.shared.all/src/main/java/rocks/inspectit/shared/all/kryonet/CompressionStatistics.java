@@ -0,0 +1,129 @@
+package rocks.inspectit.shared.all.kryonet;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the frame compression of one {@link IExtendedSerialization}. Counts the frames
+ * sent and received compressed, their raw and compressed sizes and the time spent in compressing
+ * and decompressing.
+ */
+public class CompressionStatistics {
+
+	/**
+	 * Amount of frames compressed or decompressed.
+	 */
+	private final AtomicLong frames = new AtomicLong();
+
+	/**
+	 * Amount of raw bytes of all compressed or decompressed frames.
+	 */
+	private final AtomicLong rawBytes = new AtomicLong();
+
+	/**
+	 * Amount of compressed bytes of all compressed or decompressed frames.
+	 */
+	private final AtomicLong compressedBytes = new AtomicLong();
+
+	/**
+	 * Time in nanoseconds spent in compressing.
+	 */
+	private final AtomicLong compressionTime = new AtomicLong();
+
+	/**
+	 * Time in nanoseconds spent in decompressing.
+	 */
+	private final AtomicLong decompressionTime = new AtomicLong();
+
+	/**
+	 * Records the compressed frame.
+	 *
+	 * @param raw
+	 *            Raw size.
+	 * @param compressed
+	 *            Compressed size.
+	 * @param time
+	 *            Time in nanoseconds spent in compressing.
+	 */
+	public void compressed(long raw, long compressed, long time) {
+		frames.incrementAndGet();
+		rawBytes.addAndGet(raw);
+		compressedBytes.addAndGet(compressed);
+		compressionTime.addAndGet(time);
+	}
+
+	/**
+	 * Records the decompressed frame.
+	 *
+	 * @param raw
+	 *            Raw size.
+	 * @param compressed
+	 *            Compressed size.
+	 * @param time
+	 *            Time in nanoseconds spent in decompressing.
+	 */
+	public void decompressed(long raw, long compressed, long time) {
+		frames.incrementAndGet();
+		rawBytes.addAndGet(raw);
+		compressedBytes.addAndGet(compressed);
+		decompressionTime.addAndGet(time);
+	}
+
+	/**
+	 * Returns the compression ratio, the raw size divided by the compressed size.
+	 *
+	 * @return Compression ratio or <code>0</code> if no frame was compressed.
+	 */
+	public double getCompressionRatio() {
+		long compressed = compressedBytes.get();
+		if (0 == compressed) {
+			return 0d;
+		}
+		return (double) rawBytes.get() / compressed;
+	}
+
+	/**
+	 * Gets {@link #frames}.
+	 *
+	 * @return {@link #frames}
+	 */
+	public long getFrames() {
+		return frames.get();
+	}
+
+	/**
+	 * Gets {@link #rawBytes}.
+	 *
+	 * @return {@link #rawBytes}
+	 */
+	public long getRawBytes() {
+		return rawBytes.get();
+	}
+
+	/**
+	 * Gets {@link #compressedBytes}.
+	 *
+	 * @return {@link #compressedBytes}
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes.get();
+	}
+
+	/**
+	 * Gets {@link #compressionTime}.
+	 *
+	 * @return {@link #compressionTime}
+	 */
+	public long getCompressionTime() {
+		return compressionTime.get();
+	}
+
+	/**
+	 * Gets {@link #decompressionTime}.
+	 *
+	 * @return {@link #decompressionTime}
+	 */
+	public long getDecompressionTime() {
+		return decompressionTime.get();
+	}
+
+}
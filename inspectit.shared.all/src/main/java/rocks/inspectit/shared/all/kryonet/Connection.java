@@ -21,6 +21,7 @@ import com.esotericsoftware.kryonet.FrameworkMessage;
 import com.esotericsoftware.kryonet.FrameworkMessage.Ping;
 import com.esotericsoftware.kryonet.KryoNetException;
 
+import rocks.inspectit.shared.all.serializer.impl.StringDictionary;
 import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 
 // BOZO - Layer to handle handshake state.
@@ -211,6 +212,34 @@ public class Connection {
 		sendTCP(ping);
 	}
 
+	/**
+	 * Requests the compression of the frames sent over this connection. The compression is enabled
+	 * once the remote side replies with the {@link EnableCompression} message, from then on each
+	 * side compresses the big enough frames it sends.
+	 */
+	// Added for the frame compression
+	public void requestCompression() {
+		if (!tcp.isCompressionEnabled()) {
+			sendTCP(new EnableCompression());
+		}
+	}
+
+	/**
+	 * Returns if the frames sent over this connection are compressed.
+	 */
+	// Added for the frame compression
+	public boolean isCompressionEnabled() {
+		return tcp.isCompressionEnabled();
+	}
+
+	/**
+	 * Returns the dictionary of the strings exchanged over this connection.
+	 */
+	// Added for the string dictionary
+	public StringDictionary getStringDictionary() {
+		return tcp.getStringDictionary();
+	}
+
 	/**
 	 * Returns the last calculated TCP return trip time, or -1 if {@link #updateReturnTripTime()}
 	 * has never been called or the {@link FrameworkMessage.Ping} response has not yet been
@@ -346,6 +375,16 @@ public class Connection {
 				ping.isReply = true;
 				sendTCP(ping);
 			}
+		} else if (object instanceof EnableCompression) { // Added for the frame compression
+			EnableCompression enableCompression = (EnableCompression) object;
+			if (!enableCompression.isReply) {
+				enableCompression.isReply = true;
+				sendTCP(enableCompression);
+			}
+			tcp.setCompressionEnabled(true);
+			if (DEBUG) {
+				debug("kryonet", this + " frame compression enabled.");
+			}
 		}
 		Listener[] listeners = this.listeners;
 		for (Listener listener : listeners) {
@@ -0,0 +1,17 @@
+package rocks.inspectit.shared.all.kryonet;
+
+/**
+ * Message negotiating the frame compression of the connection. The side requesting the compression
+ * sends the message, the other side enables the compression of the frames it sends and replies.
+ * The requesting side enables the compression after receiving the reply. Compressed frames can
+ * always be read, thus the compression of each direction is enabled only when the other side is
+ * known to support it.
+ */
+public class EnableCompression {
+
+	/**
+	 * If message is the reply.
+	 */
+	public boolean isReply;
+
+}
@@ -1,10 +1,11 @@
 package rocks.inspectit.shared.all.kryonet;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.commons.pool.BasePoolableObjectFactory;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
@@ -12,12 +13,19 @@ import com.esotericsoftware.kryo.io.Output;
 
 import rocks.inspectit.shared.all.serializer.IKryoProvider;
 import rocks.inspectit.shared.all.serializer.ISerializerProvider;
+import rocks.inspectit.shared.all.serializer.impl.StringDictionary;
+import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
+import rocks.inspectit.shared.all.util.ThreadAffineObjectPool;
 
 /**
  * Implementation of the {@link IExtendedSerialization} with some additional methods we need for
  * (de-)serializing the object during the communication. The idea is not to (de-)serialize from/to
  * buffer, but to use the streams which would give us opportunity to transfer objects of unlimited
  * size.
+ * <p>
+ * The {@link IKryoProvider}s together with their stream input and output buffers, and the
+ * {@link FrameCodec}s are kept in the {@link ThreadAffineObjectPool}s, so that the network
+ * threads reuse their own instances without contending with each other.
  *
  * @author Ivan Senic
  *
@@ -31,15 +39,42 @@ public class ExtendedSerializationImpl implements IExtendedSerialization {
 	private static final int INIT_CREATED_SERIALIZERS = 2;
 
 	/**
-	 * Queue for {@link IKryoProvider} that are available.
+	 * Size of the pooled input and output buffers.
 	 */
-	private Queue<IKryoProvider> serializerQueue = new ConcurrentLinkedQueue<IKryoProvider>();
+	private static final int BUFFER_SIZE = 4096;
+
+	/**
+	 * Pool of the {@link KryoContext}s. If nothing is available in the pool a new one is created,
+	 * thus the pool never blocks.
+	 */
+	private final ThreadAffineObjectPool<KryoContext> kryoPool = new ThreadAffineObjectPool<KryoContext>(new BasePoolableObjectFactory<KryoContext>() {
+		@Override
+		public KryoContext makeObject() {
+			return new KryoContext(createKryoProvider());
+		}
+	});
 
 	/**
 	 * {@link ISerializerProvider} for create new instances.
 	 */
 	private ISerializerProvider<? extends IKryoProvider> serializerProvider;
 
+	/**
+	 * Pool of the {@link FrameCodec}s. If nothing is available in the pool a new one is created,
+	 * thus the pool never blocks.
+	 */
+	private final ThreadAffineObjectPool<FrameCodec> codecPool = new ThreadAffineObjectPool<FrameCodec>(new BasePoolableObjectFactory<FrameCodec>() {
+		@Override
+		public FrameCodec makeObject() {
+			return new FrameCodec();
+		}
+	});
+
+	/**
+	 * Statistics of the compression.
+	 */
+	private final CompressionStatistics compressionStatistics = new CompressionStatistics();
+
 	/**
 	 * One argument constructor. Same as calling
 	 * {@link #ExtendedSerializationImpl(ISerializerProvider, int)} with init serializers value of
@@ -66,7 +101,11 @@ public class ExtendedSerializationImpl implements IExtendedSerialization {
 		this.serializerProvider = serializerProvider;
 
 		for (int i = 0; i < initialSerializersCreated; i++) {
-			serializerQueue.offer(createKryoProvider());
+			try {
+				kryoPool.addObject();
+			} catch (Exception e) {
+				throw new IllegalStateException("Kryo provider can not be created.", e);
+			}
 		}
 	}
 
@@ -83,12 +122,28 @@ public class ExtendedSerializationImpl implements IExtendedSerialization {
 	/**
 	 * {@inheritDoc}
 	 * <p>
-	 * Not implemented. It's not used because we won't read from the buffer, but from the input
-	 * stream. But it's defined in the Serialization interface, so we must implement it.
+	 * Used by the reactor mode of the {@link Server} to de-serialize the complete frames. Reads
+	 * all remaining bytes of the buffer.
 	 */
 	@Override
 	public Object read(Connection connection, ByteBuffer buffer) {
-		return null;
+		Input input;
+		if (buffer.hasArray()) {
+			input = new Input(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		} else {
+			byte[] bytes = new byte[buffer.remaining()];
+			buffer.get(bytes);
+			input = new Input(bytes);
+		}
+		KryoContext kryoContext = borrow(kryoPool);
+
+		try {
+			Kryo kryo = kryoContext.kryoProvider.getKryo();
+			prepareContext(kryo, connection);
+			return kryo.readClassAndObject(input);
+		} finally {
+			kryoPool.returnObject(kryoContext);
+		}
 	}
 
 	/**
@@ -124,21 +179,29 @@ public class ExtendedSerializationImpl implements IExtendedSerialization {
 	@Override
 	@SuppressWarnings("unchecked")
 	public void write(Connection connection, OutputStream outputStream, Object object) {
-		Output output = new Output(outputStream);
-		IKryoProvider kryoProvider = serializerQueue.poll();
-
-		// if nothing is available in queue don't wait, create new one
-		if (null == kryoProvider) {
-			kryoProvider = createKryoProvider();
-		}
+		KryoContext kryoContext = borrow(kryoPool);
+		Output output = kryoContext.output;
+		output.setOutputStream(outputStream);
 
 		try {
-			Kryo kryo = kryoProvider.getKryo();
-			kryo.getContext().put("connection", connection);
-			kryo.writeClassAndObject(output, object);
-			output.flush();
+			Kryo kryo = kryoContext.kryoProvider.getKryo();
+			prepareContext(kryo, connection);
+			try {
+				kryo.writeClassAndObject(output, object);
+				output.flush();
+			} catch (RuntimeException e) {
+				// strings added will never be read by the other side
+				if (null != connection) {
+					connection.getStringDictionary().rollback();
+				}
+				throw e;
+			}
+			if (null != connection) {
+				connection.getStringDictionary().commit();
+			}
 		} finally {
-			serializerQueue.offer(kryoProvider);
+			output.setOutputStream(null);
+			kryoPool.returnObject(kryoContext);
 		}
 	}
 
@@ -149,20 +212,95 @@ public class ExtendedSerializationImpl implements IExtendedSerialization {
 	@Override
 	@SuppressWarnings("unchecked")
 	public Object read(Connection connection, InputStream inputStream) {
-		Input input = new Input(inputStream);
-		IKryoProvider kryoProvider = serializerQueue.poll();
+		KryoContext kryoContext = borrow(kryoPool);
+		Input input = kryoContext.input;
+		input.setInputStream(inputStream);
 
-		// if nothing is available in queue don't wait, create new one
-		if (null == kryoProvider) {
-			kryoProvider = createKryoProvider();
+		try {
+			Kryo kryo = kryoContext.kryoProvider.getKryo();
+			prepareContext(kryo, connection);
+			return kryo.readClassAndObject(input);
+		} finally {
+			input.setInputStream(null);
+			kryoPool.returnObject(kryoContext);
 		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long compress(ExtendedByteBufferOutputStream source, int offset, OutputStream target) throws IOException {
+		FrameCodec codec = borrow(codecPool);
 
 		try {
-			Kryo kryo = kryoProvider.getKryo();
-			kryo.getContext().put("connection", connection);
-			return kryo.readClassAndObject(input);
+			long start = System.nanoTime();
+			long written = codec.compress(source, offset, target);
+			compressionStatistics.compressed(source.getTotalWriteSize() - offset, written, System.nanoTime() - start);
+			return written;
 		} finally {
-			serializerQueue.offer(kryoProvider);
+			codecPool.returnObject(codec);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object readCompressed(Connection connection, InputStream inputStream) {
+		FrameCodec codec = borrow(codecPool);
+
+		try {
+			InputStream decompressingStream = codec.decompress(inputStream);
+			Object object = read(connection, decompressingStream);
+			compressionStatistics.decompressed(codec.getDecompressedBytes(), codec.getCompressedBytes(), codec.getDecompressionTime());
+			return object;
+		} finally {
+			codecPool.returnObject(codec);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompressionStatistics getCompressionStatistics() {
+		return compressionStatistics;
+	}
+
+	/**
+	 * Places the connection and its {@link StringDictionary} to the Kryo context.
+	 *
+	 * @param kryo
+	 *            Kryo to prepare.
+	 * @param connection
+	 *            Connection the object is written to or read from.
+	 */
+	private void prepareContext(Kryo kryo, Connection connection) {
+		kryo.getContext().put("connection", connection);
+		if (null != connection) {
+			kryo.getContext().put(StringDictionary.CONTEXT_KEY, connection.getStringDictionary());
+		} else {
+			kryo.getContext().remove(StringDictionary.CONTEXT_KEY);
+		}
+	}
+
+	/**
+	 * Borrows the object from the pool.
+	 *
+	 * @param <T>
+	 *            Type of the pooled objects.
+	 * @param pool
+	 *            Pool to borrow from.
+	 * @return Borrowed object.
+	 */
+	private static <T> T borrow(ThreadAffineObjectPool<T> pool) {
+		try {
+			return pool.borrowObject();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException("Object can not be borrowed from the pool.", e);
 		}
 	}
 
@@ -177,4 +315,35 @@ public class ExtendedSerializationImpl implements IExtendedSerialization {
 		return serializerProvider.createSerializer();
 	}
 
+	/**
+	 * {@link IKryoProvider} together with the input and output buffers reused for the streams.
+	 */
+	private static final class KryoContext {
+
+		/**
+		 * Kryo provider.
+		 */
+		private final IKryoProvider kryoProvider;
+
+		/**
+		 * Input reused for reading from the streams.
+		 */
+		private final Input input = new Input(BUFFER_SIZE);
+
+		/**
+		 * Output reused for writing to the streams.
+		 */
+		private final Output output = new Output(BUFFER_SIZE);
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param kryoProvider
+		 *            Kryo provider.
+		 */
+		KryoContext(IKryoProvider kryoProvider) {
+			this.kryoProvider = kryoProvider;
+		}
+	}
+
 }
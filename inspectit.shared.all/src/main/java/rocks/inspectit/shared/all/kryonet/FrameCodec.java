@@ -0,0 +1,357 @@
+package rocks.inspectit.shared.all.kryonet;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
+
+/**
+ * Compresses and decompresses the frames sent over the KryoNet connection. The frame is split in
+ * blocks of {@link #BLOCK_SIZE} bytes that are compressed independently with the
+ * {@link Lz4BlockCodec}. Each block is written as the raw length, the stored length and the stored
+ * bytes. Blocks that can not be compressed are stored raw, which is marked with the
+ * {@link #RAW_BLOCK_FLAG} in the stored length.
+ * <p>
+ * The codec holds all arrays needed for the compression, thus it is not thread-safe and should be
+ * pooled.
+ */
+public class FrameCodec {
+
+	/**
+	 * Maximum amount of raw bytes in one block.
+	 */
+	public static final int BLOCK_SIZE = 64 * 1024;
+
+	/**
+	 * Flag in the stored length marking the block stored without compression.
+	 */
+	private static final int RAW_BLOCK_FLAG = 0x80000000;
+
+	/**
+	 * Size of the block header.
+	 */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * Raw bytes of the current block.
+	 */
+	private final byte[] raw = new byte[BLOCK_SIZE];
+
+	/**
+	 * Compressed bytes of the current block.
+	 */
+	private final byte[] compressed = new byte[Lz4BlockCodec.maxCompressedLength(BLOCK_SIZE)];
+
+	/**
+	 * Header of the current block.
+	 */
+	private final byte[] header = new byte[HEADER_SIZE];
+
+	/**
+	 * Hash table for the compression.
+	 */
+	private final int[] hashTable = new int[Lz4BlockCodec.HASH_TABLE_SIZE];
+
+	/**
+	 * Input stream decompressing the blocks.
+	 */
+	private final BlockInputStream blockInputStream = new BlockInputStream();
+
+	/**
+	 * Amount of bytes decompressed since the last {@link #decompress(InputStream)} call.
+	 */
+	private long decompressedBytes;
+
+	/**
+	 * Amount of compressed bytes read since the last {@link #decompress(InputStream)} call.
+	 */
+	private long compressedBytes;
+
+	/**
+	 * Time in nanoseconds spent in decompressing since the last {@link #decompress(InputStream)}
+	 * call.
+	 */
+	private long decompressionTime;
+
+	/**
+	 * Compresses the bytes written to the source stream, starting at the given offset. The source
+	 * stream must be flushed, its buffers are left unchanged.
+	 *
+	 * @param source
+	 *            Stream holding the bytes to compress.
+	 * @param offset
+	 *            Amount of bytes to skip in the source stream.
+	 * @param target
+	 *            Stream to write the compressed blocks to.
+	 * @return Amount of bytes written to the target.
+	 * @throws IOException
+	 *             If writing to the target fails.
+	 */
+	public long compress(ExtendedByteBufferOutputStream source, int offset, OutputStream target) throws IOException {
+		List<ByteBuffer> buffers = source.getAllByteBuffers();
+		long written = 0;
+		int skip = offset;
+		int filled = 0;
+		for (ByteBuffer buffer : buffers) {
+			int position = buffer.position();
+			if (skip > 0) {
+				int skipped = Math.min(skip, buffer.remaining());
+				buffer.position(position + skipped);
+				skip -= skipped;
+			}
+			while (buffer.hasRemaining()) {
+				int length = Math.min(buffer.remaining(), BLOCK_SIZE - filled);
+				buffer.get(raw, filled, length);
+				filled += length;
+				if (filled == BLOCK_SIZE) {
+					written += writeBlock(filled, target);
+					filled = 0;
+				}
+			}
+			buffer.position(position);
+		}
+		if (filled > 0) {
+			written += writeBlock(filled, target);
+		}
+		return written;
+	}
+
+	/**
+	 * Returns the input stream providing the decompressed bytes of the given stream. The returned
+	 * stream is valid until the next call of this method.
+	 *
+	 * @param source
+	 *            Stream providing the compressed blocks. All bytes till the end of the stream are
+	 *            read.
+	 * @return Input stream providing the decompressed bytes.
+	 */
+	public InputStream decompress(InputStream source) {
+		decompressedBytes = 0;
+		compressedBytes = 0;
+		decompressionTime = 0;
+		blockInputStream.reset(source);
+		return blockInputStream;
+	}
+
+	/**
+	 * Gets {@link #decompressedBytes}.
+	 *
+	 * @return {@link #decompressedBytes}
+	 */
+	public long getDecompressedBytes() {
+		return decompressedBytes;
+	}
+
+	/**
+	 * Gets {@link #compressedBytes}.
+	 *
+	 * @return {@link #compressedBytes}
+	 */
+	public long getCompressedBytes() {
+		return compressedBytes;
+	}
+
+	/**
+	 * Gets {@link #decompressionTime}.
+	 *
+	 * @return {@link #decompressionTime}
+	 */
+	public long getDecompressionTime() {
+		return decompressionTime;
+	}
+
+	/**
+	 * Compresses the block held in the {@link #raw} array and writes it to the target.
+	 *
+	 * @param length
+	 *            Amount of raw bytes.
+	 * @param target
+	 *            Stream to write to.
+	 * @return Amount of bytes written.
+	 * @throws IOException
+	 *             If writing fails.
+	 */
+	private int writeBlock(int length, OutputStream target) throws IOException {
+		int compressedLength = Lz4BlockCodec.compress(raw, 0, length, compressed, 0, hashTable);
+		writeInt(header, 0, length);
+		if (compressedLength < length) {
+			writeInt(header, 4, compressedLength);
+			target.write(header, 0, HEADER_SIZE);
+			target.write(compressed, 0, compressedLength);
+			return HEADER_SIZE + compressedLength;
+		} else {
+			writeInt(header, 4, length | RAW_BLOCK_FLAG);
+			target.write(header, 0, HEADER_SIZE);
+			target.write(raw, 0, length);
+			return HEADER_SIZE + length;
+		}
+	}
+
+	/**
+	 * Writes the integer in big-endian order.
+	 *
+	 * @param array
+	 *            Array to write to.
+	 * @param offset
+	 *            Offset in the array.
+	 * @param value
+	 *            Value to write.
+	 */
+	private static void writeInt(byte[] array, int offset, int value) {
+		array[offset] = (byte) (value >>> 24);
+		array[offset + 1] = (byte) (value >>> 16);
+		array[offset + 2] = (byte) (value >>> 8);
+		array[offset + 3] = (byte) value;
+	}
+
+	/**
+	 * Reads the integer in big-endian order.
+	 *
+	 * @param array
+	 *            Array to read from.
+	 * @param offset
+	 *            Offset in the array.
+	 * @return Read value.
+	 */
+	private static int readInt(byte[] array, int offset) {
+		return ((array[offset] & 0xFF) << 24) | ((array[offset + 1] & 0xFF) << 16) | ((array[offset + 2] & 0xFF) << 8) | (array[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * Input stream decompressing one block after another from the source stream.
+	 */
+	private class BlockInputStream extends InputStream {
+
+		/**
+		 * Source stream.
+		 */
+		private InputStream source;
+
+		/**
+		 * Position in the decompressed block.
+		 */
+		private int position;
+
+		/**
+		 * Size of the decompressed block.
+		 */
+		private int limit;
+
+		/**
+		 * Starts reading from the new source.
+		 *
+		 * @param source
+		 *            Source stream.
+		 */
+		void reset(InputStream source) {
+			this.source = source;
+			position = 0;
+			limit = 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read() throws IOException {
+			if ((position == limit) && !nextBlock()) {
+				return -1;
+			}
+			return raw[position++] & 0xFF;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if ((position == limit) && !nextBlock()) {
+				return -1;
+			}
+			int length = Math.min(len, limit - position);
+			System.arraycopy(raw, position, b, off, length);
+			position += length;
+			return length;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int available() throws IOException {
+			return limit - position;
+		}
+
+		/**
+		 * Reads and decompresses the next block.
+		 *
+		 * @return <code>false</code> if the source has no more blocks.
+		 * @throws IOException
+		 *             If reading fails or the block is corrupted.
+		 */
+		private boolean nextBlock() throws IOException {
+			if (!readFully(header, HEADER_SIZE, true)) {
+				return false;
+			}
+
+			int rawLength = readInt(header, 0);
+			int storedLength = readInt(header, 4);
+			boolean rawBlock = (storedLength & RAW_BLOCK_FLAG) != 0;
+			storedLength &= ~RAW_BLOCK_FLAG;
+			if ((rawLength <= 0) || (rawLength > BLOCK_SIZE) || (storedLength > compressed.length) || (rawBlock && (storedLength != rawLength))) {
+				throw new IOException("Corrupted compressed frame, invalid block header.");
+			}
+
+			if (rawBlock) {
+				readFully(raw, rawLength, false);
+			} else {
+				readFully(compressed, storedLength, false);
+				long start = System.nanoTime();
+				if (Lz4BlockCodec.decompress(compressed, 0, storedLength, raw, 0, rawLength) != rawLength) {
+					throw new IOException("Corrupted compressed frame, invalid block size.");
+				}
+				decompressionTime += System.nanoTime() - start;
+			}
+			decompressedBytes += rawLength;
+			compressedBytes += HEADER_SIZE + storedLength;
+			position = 0;
+			limit = rawLength;
+			return true;
+		}
+
+		/**
+		 * Reads the given amount of bytes from the source.
+		 *
+		 * @param array
+		 *            Array to read to.
+		 * @param length
+		 *            Amount of bytes to read.
+		 * @param endAllowed
+		 *            If the end of the source is allowed before the first byte.
+		 * @return <code>false</code> if end of the source was reached before the first byte.
+		 * @throws IOException
+		 *             If reading fails or the end of the source is reached in the middle.
+		 */
+		private boolean readFully(byte[] array, int length, boolean endAllowed) throws IOException {
+			int read = 0;
+			while (read < length) {
+				int count = source.read(array, read, length - read);
+				if (count < 0) {
+					if (endAllowed && (read == 0)) {
+						return false;
+					}
+					throw new EOFException("Compressed frame ended in the middle of the block.");
+				}
+				read += count;
+			}
+			return true;
+		}
+	}
+}
@@ -1,8 +1,11 @@
 package rocks.inspectit.shared.all.kryonet;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
+
 /**
  * Extended {@link Serialization} to support additional methods for object (de-)serialization.
  *
@@ -34,4 +37,39 @@ public interface IExtendedSerialization extends Serialization {
 	 * @return De-serialized object.
 	 */
 	Object read(Connection connection, InputStream inputStream);
+
+	/**
+	 * Compresses the bytes written to the source stream into the target stream. The source stream
+	 * must be flushed and is not changed.
+	 *
+	 * @param source
+	 *            Stream holding the serialized object.
+	 * @param offset
+	 *            Amount of bytes to skip in the source stream.
+	 * @param target
+	 *            Stream to write compressed bytes to.
+	 * @return Amount of bytes written to the target stream.
+	 * @throws IOException
+	 *             If writing to the target stream fails.
+	 */
+	long compress(ExtendedByteBufferOutputStream source, int offset, OutputStream target) throws IOException;
+
+	/**
+	 * Reads object from the given {@link InputStream} holding the bytes compressed with
+	 * {@link #compress(ExtendedByteBufferOutputStream, int, OutputStream)}.
+	 *
+	 * @param connection
+	 *            Connection to be added to kryo context.
+	 * @param inputStream
+	 *            Stream to decompress and de-serialize object from.
+	 * @return De-serialized object.
+	 */
+	Object readCompressed(Connection connection, InputStream inputStream);
+
+	/**
+	 * Returns the statistics of the compression.
+	 *
+	 * @return Returns the statistics of the compression.
+	 */
+	CompressionStatistics getCompressionStatistics();
 }
@@ -0,0 +1,339 @@
+package rocks.inspectit.shared.all.kryonet;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compressor and decompressor for the LZ4 block format. The compressor uses the fast single hash
+ * table strategy of the reference implementation, thus the compression ratio is lower than the one
+ * of the high compression mode, but the compression costs only a few nanoseconds per byte.
+ * <p>
+ * All methods work on the provided arrays and do not allocate any memory.
+ */
+public final class Lz4BlockCodec {
+
+	/**
+	 * Size of the hash table needed for the compression.
+	 */
+	public static final int HASH_TABLE_SIZE = 1 << 12;
+
+	/**
+	 * Minimum length of the match.
+	 */
+	private static final int MIN_MATCH = 4;
+
+	/**
+	 * Amount of the last bytes that are always written as literals.
+	 */
+	private static final int LAST_LITERALS = 5;
+
+	/**
+	 * No match can start in the last bytes of the block.
+	 */
+	private static final int MF_LIMIT = 12;
+
+	/**
+	 * Maximum distance of the match.
+	 */
+	private static final int MAX_DISTANCE = (1 << 16) - 1;
+
+	/**
+	 * Mask of the length part in the token.
+	 */
+	private static final int RUN_MASK = 0x0F;
+
+	/**
+	 * Controls how fast the search accelerates over the incompressible data.
+	 */
+	private static final int SKIP_STRENGTH = 6;
+
+	/**
+	 * Private constructor.
+	 */
+	private Lz4BlockCodec() {
+	}
+
+	/**
+	 * Returns the maximum size of the compressed block for the given input length.
+	 *
+	 * @param length
+	 *            Input length.
+	 * @return Maximum size of the compressed block.
+	 */
+	public static int maxCompressedLength(int length) {
+		return length + (length / 255) + 16;
+	}
+
+	/**
+	 * Compresses the source bytes to the destination.
+	 *
+	 * @param src
+	 *            Source array.
+	 * @param srcOff
+	 *            Offset in the source array.
+	 * @param srcLen
+	 *            Amount of bytes to compress.
+	 * @param dest
+	 *            Destination array, must have at least {@link #maxCompressedLength(int)} bytes
+	 *            available after the offset.
+	 * @param destOff
+	 *            Offset in the destination array.
+	 * @param hashTable
+	 *            Hash table of size {@link #HASH_TABLE_SIZE}, content is overwritten.
+	 * @return Size of the compressed block.
+	 */
+	public static int compress(byte[] src, int srcOff, int srcLen, byte[] dest, int destOff, int[] hashTable) {
+		Arrays.fill(hashTable, -1);
+
+		int srcEnd = srcOff + srcLen;
+		int mfLimit = srcEnd - MF_LIMIT;
+		int matchLimit = srcEnd - LAST_LITERALS;
+
+		int sOff = srcOff;
+		int dOff = destOff;
+		int anchor = srcOff;
+
+		if (srcLen > MF_LIMIT) {
+			hashTable[hash(readInt(src, sOff))] = sOff;
+			sOff++;
+
+			int searchMatchCount = 1 << SKIP_STRENGTH;
+			while (sOff < mfLimit) {
+				int h = hash(readInt(src, sOff));
+				int ref = hashTable[h];
+				hashTable[h] = sOff;
+
+				if ((ref < srcOff) || ((sOff - ref) > MAX_DISTANCE) || (readInt(src, ref) != readInt(src, sOff))) {
+					sOff += searchMatchCount++ >>> SKIP_STRENGTH;
+					continue;
+				}
+				searchMatchCount = 1 << SKIP_STRENGTH;
+
+				// extend the match backwards
+				while ((sOff > anchor) && (ref > srcOff) && (src[sOff - 1] == src[ref - 1])) {
+					sOff--;
+					ref--;
+				}
+
+				// and forward
+				int matchLength = MIN_MATCH;
+				while (((sOff + matchLength) < matchLimit) && (src[ref + matchLength] == src[sOff + matchLength])) {
+					matchLength++;
+				}
+
+				dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLength, dest, dOff);
+				sOff += matchLength;
+				anchor = sOff;
+
+				if (sOff < mfLimit) {
+					hashTable[hash(readInt(src, sOff - 2))] = sOff - 2;
+				}
+			}
+		}
+
+		dOff = writeLastLiterals(src, anchor, srcEnd - anchor, dest, dOff);
+		return dOff - destOff;
+	}
+
+	/**
+	 * Decompresses the block.
+	 *
+	 * @param src
+	 *            Array holding the compressed block.
+	 * @param srcOff
+	 *            Offset of the compressed block.
+	 * @param srcLen
+	 *            Size of the compressed block.
+	 * @param dest
+	 *            Destination array.
+	 * @param destOff
+	 *            Offset in the destination array.
+	 * @param destLen
+	 *            Maximum amount of bytes to decompress.
+	 * @return Amount of decompressed bytes.
+	 * @throws IOException
+	 *             If block is malformed or does not fit in the destination.
+	 */
+	public static int decompress(byte[] src, int srcOff, int srcLen, byte[] dest, int destOff, int destLen) throws IOException {
+		int srcEnd = srcOff + srcLen;
+		int destEnd = destOff + destLen;
+		int sOff = srcOff;
+		int dOff = destOff;
+
+		while (sOff < srcEnd) {
+			int token = src[sOff++] & 0xFF;
+
+			// literals
+			int literalLength = token >>> 4;
+			if (literalLength == RUN_MASK) {
+				int b;
+				do {
+					if (sOff >= srcEnd) {
+						throw new IOException("Malformed LZ4 block, literal length exceeds the input.");
+					}
+					b = src[sOff++] & 0xFF;
+					literalLength += b;
+				} while (b == 255);
+			}
+			if (((sOff + literalLength) > srcEnd) || ((dOff + literalLength) > destEnd)) {
+				throw new IOException("Malformed LZ4 block, literals exceed the input or output.");
+			}
+			System.arraycopy(src, sOff, dest, dOff, literalLength);
+			sOff += literalLength;
+			dOff += literalLength;
+
+			// last sequence has no match
+			if (sOff == srcEnd) {
+				break;
+			}
+
+			// match
+			if ((sOff + 2) > srcEnd) {
+				throw new IOException("Malformed LZ4 block, match offset exceeds the input.");
+			}
+			int offset = (src[sOff] & 0xFF) | ((src[sOff + 1] & 0xFF) << 8);
+			sOff += 2;
+
+			int matchLength = token & RUN_MASK;
+			if (matchLength == RUN_MASK) {
+				int b;
+				do {
+					if (sOff >= srcEnd) {
+						throw new IOException("Malformed LZ4 block, match length exceeds the input.");
+					}
+					b = src[sOff++] & 0xFF;
+					matchLength += b;
+				} while (b == 255);
+			}
+			matchLength += MIN_MATCH;
+
+			int ref = dOff - offset;
+			if ((offset == 0) || (ref < destOff) || ((dOff + matchLength) > destEnd)) {
+				throw new IOException("Malformed LZ4 block, invalid match.");
+			}
+			// byte by byte as the match can overlap the output
+			for (int i = 0; i < matchLength; i++) {
+				dest[dOff + i] = dest[ref + i];
+			}
+			dOff += matchLength;
+		}
+
+		return dOff - destOff;
+	}
+
+	/**
+	 * Writes one sequence of literals and the match.
+	 *
+	 * @param src
+	 *            Source array.
+	 * @param literalOff
+	 *            Offset of the literals.
+	 * @param literalLength
+	 *            Amount of literals.
+	 * @param matchOffset
+	 *            Distance of the match.
+	 * @param matchLength
+	 *            Length of the match.
+	 * @param dest
+	 *            Destination array.
+	 * @param dOff
+	 *            Offset in the destination array.
+	 * @return New offset in the destination array.
+	 */
+	private static int writeSequence(byte[] src, int literalOff, int literalLength, int matchOffset, int matchLength, byte[] dest, int dOff) {
+		int tokenOff = dOff++;
+		int token;
+		if (literalLength >= RUN_MASK) {
+			token = RUN_MASK << 4;
+			dOff = writeLength(literalLength - RUN_MASK, dest, dOff);
+		} else {
+			token = literalLength << 4;
+		}
+		System.arraycopy(src, literalOff, dest, dOff, literalLength);
+		dOff += literalLength;
+
+		dest[dOff++] = (byte) matchOffset;
+		dest[dOff++] = (byte) (matchOffset >>> 8);
+
+		int length = matchLength - MIN_MATCH;
+		if (length >= RUN_MASK) {
+			token |= RUN_MASK;
+			dOff = writeLength(length - RUN_MASK, dest, dOff);
+		} else {
+			token |= length;
+		}
+		dest[tokenOff] = (byte) token;
+		return dOff;
+	}
+
+	/**
+	 * Writes the last literals of the block.
+	 *
+	 * @param src
+	 *            Source array.
+	 * @param literalOff
+	 *            Offset of the literals.
+	 * @param literalLength
+	 *            Amount of literals.
+	 * @param dest
+	 *            Destination array.
+	 * @param dOff
+	 *            Offset in the destination array.
+	 * @return New offset in the destination array.
+	 */
+	private static int writeLastLiterals(byte[] src, int literalOff, int literalLength, byte[] dest, int dOff) {
+		if (literalLength >= RUN_MASK) {
+			dest[dOff++] = (byte) (RUN_MASK << 4);
+			dOff = writeLength(literalLength - RUN_MASK, dest, dOff);
+		} else {
+			dest[dOff++] = (byte) (literalLength << 4);
+		}
+		System.arraycopy(src, literalOff, dest, dOff, literalLength);
+		return dOff + literalLength;
+	}
+
+	/**
+	 * Writes the additional length bytes.
+	 *
+	 * @param length
+	 *            Length exceeding the token.
+	 * @param dest
+	 *            Destination array.
+	 * @param dOff
+	 *            Offset in the destination array.
+	 * @return New offset in the destination array.
+	 */
+	private static int writeLength(int length, byte[] dest, int dOff) {
+		int remaining = length;
+		while (remaining >= 255) {
+			dest[dOff++] = (byte) 255;
+			remaining -= 255;
+		}
+		dest[dOff++] = (byte) remaining;
+		return dOff;
+	}
+
+	/**
+	 * Reads four bytes as integer.
+	 *
+	 * @param src
+	 *            Array.
+	 * @param off
+	 *            Offset.
+	 * @return Integer value.
+	 */
+	private static int readInt(byte[] src, int off) {
+		return (src[off] & 0xFF) | ((src[off + 1] & 0xFF) << 8) | ((src[off + 2] & 0xFF) << 16) | ((src[off + 3] & 0xFF) << 24);
+	}
+
+	/**
+	 * Hash of the four bytes.
+	 *
+	 * @param value
+	 *            Four bytes as integer.
+	 * @return Index in the hash table.
+	 */
+	private static int hash(int value) {
+		return (value * -1640531535) >>> (32 - 12);
+	}
+}
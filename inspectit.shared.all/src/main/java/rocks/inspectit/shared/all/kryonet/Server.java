@@ -22,7 +22,11 @@ import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
@@ -39,6 +43,13 @@ import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 /**
  * Manages TCP and optionally UDP connections from many {@link Client Clients}.
  * <p>
+ * If created with selector threads the server runs in the reactor mode: the update thread only
+ * accepts the connections and assigns them to the selector threads in round-robin fashion. Each
+ * selector thread blocks in the select of its own selector, reads the complete frames of its
+ * connections and hands them to the decoding executor service for de-serialization. Reading of a
+ * connection is suspended until its last frame is de-serialized, so that the objects of one
+ * connection are still received in order.
+ * <p>
  * <b>IMPORTANT:</b> The class code is copied/taken/based from
  * <a href="https://github.com/EsotericSoftware/kryonet">kryonet</a>. Original author is Nathan
  * Sweet. License info can be found
@@ -71,6 +82,29 @@ public class Server implements EndPoint {
 	private Thread updateThread;
 	private ByteBuffer emptyBuffer = ByteBuffer.allocate(0);
 
+	// Added for the reactor mode start
+	/**
+	 * Selector threads, empty if server does not run in the reactor mode.
+	 */
+	private final SelectorThread[] selectorThreads;
+
+	/**
+	 * Executor service de-serializing the frames in the reactor mode.
+	 */
+	private final ExecutorService decodingExecutorService;
+
+	/**
+	 * Index of the selector thread to assign the next connection to.
+	 */
+	private int nextSelectorThread;
+
+	/**
+	 * Lock for the connection bookkeeping, as connections are accepted by many threads in the
+	 * reactor mode.
+	 */
+	private final Object connectionLock = new Object();
+	// Added for the reactor mode end
+
 	private Listener dispatchListener = new Listener() {
 		@Override
 		public void connected(Connection connection) {
@@ -113,16 +147,48 @@ public class Server implements EndPoint {
 		this(0, serialization.getLengthLength(), serialization, streamProvider);
 	}
 
+	/**
+	 * Creates the server running in the reactor mode if selector thread count is positive.
+	 *
+	 * @param serialization
+	 *            Serialization.
+	 * @param streamProvider
+	 *            Stream provider.
+	 * @param selectorThreadCount
+	 *            Amount of selector threads, <code>0</code> to disable the reactor mode.
+	 * @param decodingExecutorService
+	 *            Executor service de-serializing the frames, needed only in the reactor mode.
+	 */
+	// Added for the reactor mode
+	public Server(IExtendedSerialization serialization, StreamProvider streamProvider, int selectorThreadCount, ExecutorService decodingExecutorService) {
+		this(0, serialization.getLengthLength(), serialization, streamProvider, selectorThreadCount, decodingExecutorService);
+	}
+
 	// Changed by ISE: added StreamProvider, changed to IExtendedSerialization
 	public Server(int writeBufferSize, int objectBufferSize, IExtendedSerialization serialization, StreamProvider streamProvider) {
+		this(writeBufferSize, objectBufferSize, serialization, streamProvider, 0, null);
+	}
+
+	// Changed for the reactor mode: added selector thread count and decoding executor service
+	public Server(int writeBufferSize, int objectBufferSize, IExtendedSerialization serialization, StreamProvider streamProvider, int selectorThreadCount,
+			ExecutorService decodingExecutorService) {
 		this.writeBufferSize = writeBufferSize;
 		this.objectBufferSize = objectBufferSize;
 		this.streamProvider = streamProvider; // Added by ISE.
 
 		this.serialization = serialization;
 
+		if ((selectorThreadCount > 0) && (null == decodingExecutorService)) {
+			throw new IllegalArgumentException("Decoding executor service must be provided in the reactor mode.");
+		}
+		this.decodingExecutorService = decodingExecutorService;
+
 		try {
 			selector = Selector.open();
+			selectorThreads = new SelectorThread[Math.max(0, selectorThreadCount)];
+			for (int i = 0; i < selectorThreads.length; i++) {
+				selectorThreads[i] = new SelectorThread(Selector.open());
+			}
 		} catch (IOException ex) {
 			throw new RuntimeException("Error opening selector.", ex);
 		}
@@ -133,6 +199,14 @@ public class Server implements EndPoint {
 		return serialization;
 	}
 
+	/**
+	 * Returns the statistics of the frame compression of all connections of this server.
+	 */
+	// Added for the frame compression
+	public CompressionStatistics getCompressionStatistics() {
+		return serialization.getCompressionStatistics();
+	}
+
 	@Override
 	public Kryo getKryo() {
 		throw new UnsupportedOperationException("Can not provide Kryo instance.");
@@ -207,17 +281,23 @@ public class Server implements EndPoint {
 		}
 		long startTime = System.currentTimeMillis();
 
-		/* Changed by ISE start */
-		// select without timeout
-		int select = selector.selectNow();
-		long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
-		while ((select == 0) && (System.nanoTime() < waitUntil)) {
-			// if no operation is there sleep 1/10 of a millisecond
-			// until we reach the timeout
-			LockSupport.parkNanos(100000);
+		int select;
+		if (isReactorMode()) {
+			// Added for the reactor mode: only accepting here, so block in select
+			select = (timeout > 0) ? selector.select(timeout) : selector.selectNow();
+		} else {
+			/* Changed by ISE start */
+			// select without timeout
 			select = selector.selectNow();
+			long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+			while ((select == 0) && (System.nanoTime() < waitUntil)) {
+				// if no operation is there sleep 1/10 of a millisecond
+				// until we reach the timeout
+				LockSupport.parkNanos(100000);
+				select = selector.selectNow();
+			}
+			/* Changed by ISE end */
 		}
-		/* Changed by ISE end */
 
 		if (select == 0) {
 			emptySelects++;
@@ -251,47 +331,10 @@ public class Server implements EndPoint {
 								continue;
 							}
 							if ((ops & SelectionKey.OP_READ) == SelectionKey.OP_READ) {
-								try {
-									while (true) {
-										Object object = fromConnection.tcp.readObject(fromConnection);
-										if (object == null) {
-											break;
-										}
-										if (DEBUG) {
-											String objectString = object == null ? "null" : object.getClass().getSimpleName();
-											if (!(object instanceof FrameworkMessage)) {
-												debug("kryonet", fromConnection + " received TCP: " + objectString);
-											} else if (TRACE) {
-												trace("kryonet", fromConnection + " received TCP: " + objectString);
-											}
-										}
-										fromConnection.notifyReceived(object);
-									}
-								} catch (IOException ex) {
-									if (TRACE) {
-										trace("kryonet", "Unable to read TCP from: " + fromConnection, ex);
-									} else if (DEBUG) {
-										debug("kryonet", fromConnection + " update: " + ex.getMessage());
-									}
-									fromConnection.close();
-								} catch (KryoNetException ex) {
-									if (ERROR) {
-										error("kryonet", "Error reading TCP from connection: " + fromConnection, ex);
-									}
-									fromConnection.close();
-								}
+								readOperation(fromConnection);
 							}
 							if ((ops & SelectionKey.OP_WRITE) == SelectionKey.OP_WRITE) {
-								try {
-									fromConnection.tcp.writeOperation();
-								} catch (IOException ex) {
-									if (TRACE) {
-										trace("kryonet", "Unable to write TCP to connection: " + fromConnection, ex);
-									} else if (DEBUG) {
-										debug("kryonet", fromConnection + " update: " + ex.getMessage());
-									}
-									fromConnection.close();
-								}
+								writeOperation(fromConnection);
 							}
 							continue;
 						}
@@ -304,7 +347,12 @@ public class Server implements EndPoint {
 							try {
 								SocketChannel socketChannel = serverChannel.accept();
 								if (socketChannel != null) {
-									acceptOperation(socketChannel);
+									if (isReactorMode()) {
+										// Changed for the reactor mode
+										nextSelectorThread().register(socketChannel);
+									} else {
+										acceptOperation(socketChannel, selector);
+									}
 								}
 							} catch (IOException ex) {
 								if (DEBUG) {
@@ -361,7 +409,10 @@ public class Server implements EndPoint {
 								// Store the fromAddress on the connection and reply over TCP with a
 								// RegisterUDP to indicate success.
 								int fromConnectionID = ((RegisterUDP) object).connectionID;
-								Connection connection = pendingConnections.remove(fromConnectionID);
+								Connection connection;
+								synchronized (connectionLock) {
+									connection = pendingConnections.remove(fromConnectionID);
+								}
 								if (connection != null) {
 									if (connection.udpRemoteAddress != null) {
 										continue outer;
@@ -465,6 +516,12 @@ public class Server implements EndPoint {
 	@Override
 	public void start() {
 		new Thread(this, "Server").start();
+		// Added for the reactor mode
+		for (int i = 0; i < selectorThreads.length; i++) {
+			Thread thread = new Thread(selectorThreads[i], "Server-Selector-" + i);
+			thread.setDaemon(true);
+			thread.start();
+		}
 	}
 
 	@Override
@@ -477,9 +534,132 @@ public class Server implements EndPoint {
 			trace("kryonet", "Server thread stopping.");
 		}
 		shutdown = true;
+		// Added for the reactor mode
+		selector.wakeup();
+		for (SelectorThread selectorThread : selectorThreads) {
+			selectorThread.selector.wakeup();
+		}
+	}
+
+	/**
+	 * Returns if the server runs in the reactor mode.
+	 *
+	 * @return If the server runs in the reactor mode.
+	 */
+	// Added for the reactor mode
+	public boolean isReactorMode() {
+		return selectorThreads.length > 0;
+	}
+
+	/**
+	 * Returns the selector thread to assign the next connection to. Only called by the update
+	 * thread.
+	 *
+	 * @return Selector thread.
+	 */
+	// Added for the reactor mode
+	private SelectorThread nextSelectorThread() {
+		SelectorThread selectorThread = selectorThreads[nextSelectorThread];
+		nextSelectorThread = (nextSelectorThread + 1) % selectorThreads.length;
+		return selectorThread;
+	}
+
+	/**
+	 * Reads and notifies all objects available in the connection, used when not running in the
+	 * reactor mode.
+	 *
+	 * @param fromConnection
+	 *            Connection to read from.
+	 */
+	// Extracted from update for the reactor mode
+	private void readOperation(Connection fromConnection) {
+		try {
+			while (true) {
+				Object object = fromConnection.tcp.readObject(fromConnection);
+				if (object == null) {
+					break;
+				}
+				logReceived(fromConnection, object);
+				fromConnection.notifyReceived(object);
+			}
+		} catch (IOException ex) {
+			if (TRACE) {
+				trace("kryonet", "Unable to read TCP from: " + fromConnection, ex);
+			} else if (DEBUG) {
+				debug("kryonet", fromConnection + " update: " + ex.getMessage());
+			}
+			fromConnection.close();
+		} catch (KryoNetException ex) {
+			if (ERROR) {
+				error("kryonet", "Error reading TCP from connection: " + fromConnection, ex);
+			}
+			fromConnection.close();
+		}
+	}
+
+	/**
+	 * Reads the next frame of the connection and hands it to the decoding executor service, used
+	 * in the reactor mode. Reading of the connection is suspended until the frame is de-serialized.
+	 *
+	 * @param fromConnection
+	 *            Connection to read from.
+	 */
+	// Added for the reactor mode
+	private void readFrameOperation(Connection fromConnection) {
+		try {
+			ByteBuffer frame = fromConnection.tcp.readFrame();
+			if (frame != null) {
+				fromConnection.tcp.suspendReading();
+				decodingExecutorService.execute(new DecodingTask(fromConnection, frame));
+			}
+		} catch (IOException ex) {
+			if (TRACE) {
+				trace("kryonet", "Unable to read TCP from: " + fromConnection, ex);
+			} else if (DEBUG) {
+				debug("kryonet", fromConnection + " update: " + ex.getMessage());
+			}
+			fromConnection.close();
+		} catch (KryoNetException ex) {
+			if (ERROR) {
+				error("kryonet", "Error reading TCP from connection: " + fromConnection, ex);
+			}
+			fromConnection.close();
+		} catch (RejectedExecutionException ex) {
+			if (ERROR) {
+				error("kryonet", "Decoding executor rejected the frame from connection: " + fromConnection, ex);
+			}
+			fromConnection.close();
+		}
+	}
+
+	// Extracted from update for the reactor mode
+	private void writeOperation(Connection fromConnection) {
+		try {
+			fromConnection.tcp.writeOperation();
+		} catch (IOException ex) {
+			if (TRACE) {
+				trace("kryonet", "Unable to write TCP to connection: " + fromConnection, ex);
+			} else if (DEBUG) {
+				debug("kryonet", fromConnection + " update: " + ex.getMessage());
+			}
+			fromConnection.close();
+		}
+	}
+
+	// Extracted from update for the reactor mode
+	private void logReceived(Connection fromConnection, Object object) {
+		if (DEBUG) {
+			String objectString = object == null ? "null" : object.getClass().getSimpleName();
+			if (!(object instanceof FrameworkMessage)) {
+				debug("kryonet", fromConnection + " received TCP: " + objectString);
+			} else if (TRACE) {
+				trace("kryonet", fromConnection + " received TCP: " + objectString);
+			}
+		}
 	}
 
-	private void acceptOperation(SocketChannel socketChannel) {
+	// Changed for the reactor mode: added selector
+	private void acceptOperation(SocketChannel socketChannel, Selector selector) {
 		Connection connection = newConnection();
 		connection.initialize(serialization, writeBufferSize, objectBufferSize);
 		connection.endPoint = this;
@@ -491,9 +671,12 @@ public class Server implements EndPoint {
 			SelectionKey selectionKey = connection.tcp.accept(selector, socketChannel);
 			selectionKey.attach(connection);
 
-			int id = nextConnectionID++;
-			if (nextConnectionID == -1) {
-				nextConnectionID = 1;
+			int id;
+			synchronized (connectionLock) {
+				id = nextConnectionID++;
+				if (nextConnectionID == -1) {
+					nextConnectionID = 1;
+				}
 			}
 			connection.id = id;
 			connection.setConnected(true);
@@ -502,7 +685,9 @@ public class Server implements EndPoint {
 			if (udp == null) {
 				addConnection(connection);
 			} else {
-				pendingConnections.put(id, connection);
+				synchronized (connectionLock) {
+					pendingConnections.put(id, connection);
+				}
 			}
 
 			RegisterTCP registerConnection = new RegisterTCP();
@@ -530,18 +715,22 @@ public class Server implements EndPoint {
 	}
 
 	private void addConnection(Connection connection) {
-		Connection[] newConnections = new Connection[connections.length + 1];
-		newConnections[0] = connection;
-		System.arraycopy(connections, 0, newConnections, 1, connections.length);
-		connections = newConnections;
+		synchronized (connectionLock) { // Added for the reactor mode
+			Connection[] newConnections = new Connection[connections.length + 1];
+			newConnections[0] = connection;
+			System.arraycopy(connections, 0, newConnections, 1, connections.length);
+			connections = newConnections;
+		}
 	}
 
 	void removeConnection(Connection connection) {
-		ArrayList<Connection> temp = new ArrayList(Arrays.asList(connections));
-		temp.remove(connection);
-		connections = temp.toArray(new Connection[temp.size()]);
+		synchronized (connectionLock) { // Added for the reactor mode
+			ArrayList<Connection> temp = new ArrayList(Arrays.asList(connections));
+			temp.remove(connection);
+			connections = temp.toArray(new Connection[temp.size()]);
 
-		pendingConnections.remove(connection.id);
+			pendingConnections.remove(connection.id);
+		}
 	}
 
 	// BOZO - Provide mechanism for sending to multiple clients without serializing multiple times.
@@ -700,4 +889,152 @@ public class Server implements EndPoint {
 	public Connection[] getConnections() {
 		return connections;
 	}
+
+	/**
+	 * Thread owning one selector in the reactor mode. Registers the assigned connections, reads
+	 * their frames and performs the pending writes.
+	 */
+	// Added for the reactor mode
+	private class SelectorThread implements Runnable {
+
+		/**
+		 * Selector of this thread.
+		 */
+		private final Selector selector;
+
+		/**
+		 * Accepted socket channels waiting to be registered with the selector.
+		 */
+		private final Queue<SocketChannel> pendingChannels = new ConcurrentLinkedQueue<SocketChannel>();
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param selector
+		 *            Selector of this thread.
+		 */
+		SelectorThread(Selector selector) {
+			this.selector = selector;
+		}
+
+		/**
+		 * Assigns the accepted socket channel to this thread. The channel is registered by this
+		 * thread, as registering blocks while the selector is selecting.
+		 *
+		 * @param socketChannel
+		 *            Accepted socket channel.
+		 */
+		void register(SocketChannel socketChannel) {
+			pendingChannels.offer(socketChannel);
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			while (!shutdown) {
+				try {
+					selector.select();
+
+					SocketChannel socketChannel;
+					while ((socketChannel = pendingChannels.poll()) != null) {
+						acceptOperation(socketChannel, selector);
+					}
+
+					Set<SelectionKey> keys = selector.selectedKeys();
+					for (Iterator<SelectionKey> iter = keys.iterator(); iter.hasNext();) {
+						SelectionKey selectionKey = iter.next();
+						iter.remove();
+						Connection fromConnection = (Connection) selectionKey.attachment();
+						if (fromConnection == null) {
+							selectionKey.channel().close();
+							continue;
+						}
+						try {
+							int ops = selectionKey.readyOps();
+							if ((udp != null) && (fromConnection.udpRemoteAddress == null)) {
+								fromConnection.close();
+								continue;
+							}
+							if ((ops & SelectionKey.OP_READ) == SelectionKey.OP_READ) {
+								readFrameOperation(fromConnection);
+							}
+							if ((ops & SelectionKey.OP_WRITE) == SelectionKey.OP_WRITE) {
+								writeOperation(fromConnection);
+							}
+						} catch (CancelledKeyException ex) {
+							fromConnection.close();
+						}
+					}
+				} catch (IOException ex) {
+					if (ERROR) {
+						error("kryonet", "Error updating server connections.", ex);
+					}
+				}
+			}
+
+			try {
+				selector.close();
+			} catch (IOException ex) {
+				if (DEBUG) {
+					debug("kryonet", "Unable to close selector.", ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Task de-serializing one frame and notifying the listeners, after which the reading of the
+	 * connection is resumed.
+	 */
+	// Added for the reactor mode
+	private class DecodingTask implements Runnable {
+
+		/**
+		 * Connection the frame was received with.
+		 */
+		private final Connection connection;
+
+		/**
+		 * Complete frame.
+		 */
+		private final ByteBuffer frame;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param connection
+		 *            Connection the frame was received with.
+		 * @param frame
+		 *            Complete frame.
+		 */
+		DecodingTask(Connection connection, ByteBuffer frame) {
+			this.connection = connection;
+			this.frame = frame;
+		}
+
+		@Override
+		public void run() {
+			Object object;
+			try {
+				object = connection.tcp.readObject(connection, frame);
+			} catch (KryoNetException ex) {
+				if (ERROR) {
+					error("kryonet", "Error reading TCP from connection: " + connection, ex);
+				}
+				connection.close();
+				return;
+			}
+
+			try {
+				logReceived(connection, object);
+				connection.notifyReceived(object);
+			} finally {
+				try {
+					connection.tcp.resumeReading();
+				} catch (CancelledKeyException ex) {
+					connection.close();
+				}
+			}
+		}
+	}
 }
@@ -3,6 +3,7 @@ package rocks.inspectit.shared.all.kryonet;
 import static com.esotericsoftware.minlog.Log.DEBUG;
 import static com.esotericsoftware.minlog.Log.debug;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketAddress;
@@ -18,6 +19,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import com.esotericsoftware.kryonet.KryoNetException;
 
+import rocks.inspectit.shared.all.serializer.impl.StringDictionary;
 import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
 import rocks.inspectit.shared.all.storage.nio.stream.SocketExtendedByteBufferInputStream;
 import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
@@ -41,6 +43,24 @@ class TcpConnection {
 	// Added by ISE
 	private static final int MAX_OUTPUT_STREAMS = 10;
 
+	/**
+	 * Frame buffers bigger than this size are not kept for the next frame.
+	 */
+	// Added for the reactor mode
+	private static final int MAX_RETAINED_FRAME_SIZE = 1024 * 1024;
+
+	/**
+	 * Flag in the frame length marking the compressed frame.
+	 */
+	// Added for the frame compression
+	private static final int COMPRESSED_FRAME_FLAG = 0x80000000;
+
+	/**
+	 * Frames smaller than this size are never compressed.
+	 */
+	// Added for the frame compression
+	private static final int MIN_COMPRESSED_FRAME_SIZE = 1024;
+
 	/**
 	 * {@link StreamProvider} for creating streams.
 	 */
@@ -71,6 +91,48 @@ class TcpConnection {
 	// Added by ISE
 	private SocketExtendedByteBufferInputStream socketInputStream;
 
+	/**
+	 * Buffer holding the frame read by {@link #readFrame()}.
+	 */
+	// Added for the reactor mode
+	private volatile ByteBuffer frameBuffer;
+
+	/**
+	 * If reading is suspended because the last frame is still being de-serialized.
+	 */
+	// Added for the reactor mode
+	private boolean readSuspended;
+
+	/**
+	 * Lock for the changes of the selection key interest operations.
+	 */
+	// Added for the reactor mode
+	private final Object interestOpsLock = new Object();
+
+	/**
+	 * If the frames sent are compressed.
+	 */
+	// Added for the frame compression
+	private volatile boolean compressionEnabled;
+
+	/**
+	 * If the frame currently read is compressed.
+	 */
+	// Added for the frame compression
+	private boolean currentObjectCompressed;
+
+	/**
+	 * If the frame returned by {@link #readFrame()} is compressed.
+	 */
+	// Added for the frame compression
+	private boolean frameCompressed;
+
+	/**
+	 * Dictionary of the strings exchanged over this connection.
+	 */
+	// Added for the string dictionary
+	private final StringDictionary stringDictionary = new StringDictionary();
+
 	SocketChannel socketChannel;
 	int keepAliveMillis = 8000;
 	final ByteBuffer readBuffer, writeBuffer;
@@ -106,6 +168,8 @@ class TcpConnection {
 		readBuffer.clear();
 		readBuffer.flip();
 		currentObjectLength = 0;
+		compressionEnabled = false; // Added for the frame compression
+		stringDictionary.clear(); // Added for the string dictionary
 		try {
 			this.socketChannel = socketChannel;
 			socketChannel.configureBlocking(false);
@@ -136,6 +200,8 @@ class TcpConnection {
 		readBuffer.clear();
 		readBuffer.flip();
 		currentObjectLength = 0;
+		compressionEnabled = false; // Added for the frame compression
+		stringDictionary.clear(); // Added for the string dictionary
 		try {
 			SocketChannel socketChannel = selector.provider().openSocketChannel();
 			Socket socket = socketChannel.socket();
@@ -189,7 +255,7 @@ class TcpConnection {
 					return null;
 				}
 			}
-			currentObjectLength = serialization.readLength(readBuffer);
+			readFrameLength();
 
 			if (currentObjectLength <= 0) {
 				throw new KryoNetException("Invalid object length: " + currentObjectLength);
@@ -205,7 +271,11 @@ class TcpConnection {
 		// read object
 		Object object;
 		try {
-			object = serialization.read(connection, socketInputStream);
+			if (currentObjectCompressed) {
+				object = serialization.readCompressed(connection, socketInputStream);
+			} else {
+				object = serialization.read(connection, socketInputStream);
+			}
 		} catch (Exception ex) {
 			throw new KryoNetException("Error during deserialization.", ex);
 		}
@@ -214,13 +284,184 @@ class TcpConnection {
 		return object;
 	}
 
+	/**
+	 * Reads the next frame from the socket without blocking. The returned buffer is only valid
+	 * until the next call of this method, thus the reading should be suspended with
+	 * {@link #suspendReading()} until the frame is processed with
+	 * {@link #readObject(Connection, ByteBuffer)}.
+	 *
+	 * @return Buffer holding the complete frame or <code>null</code> if the frame has not been
+	 *         completely received yet.
+	 * @throws IOException
+	 *             If connection is closed or reading fails.
+	 */
+	// Added for the reactor mode
+	public ByteBuffer readFrame() throws IOException {
+		SocketChannel socketChannel = this.socketChannel;
+		if (socketChannel == null) {
+			throw new SocketException("Connection is closed.");
+		}
+
+		if (currentObjectLength == 0) {
+			// Read the length of the next object from the socket.
+			int lengthLength = serialization.getLengthLength();
+			if (readBuffer.remaining() < lengthLength) {
+				readBuffer.compact();
+				int bytesRead = socketChannel.read(readBuffer);
+				readBuffer.flip();
+				if (bytesRead == -1) {
+					throw new SocketException("Connection is closed.");
+				}
+				lastReadTime = System.currentTimeMillis();
+
+				if (readBuffer.remaining() < lengthLength) {
+					return null;
+				}
+			}
+			readFrameLength();
+
+			if (currentObjectLength <= 0) {
+				throw new KryoNetException("Invalid object length: " + currentObjectLength);
+			}
+
+			if ((frameBuffer == null) || (frameBuffer.capacity() < currentObjectLength)) {
+				frameBuffer = ByteBuffer.allocate(currentObjectLength);
+			}
+			frameBuffer.clear();
+			frameBuffer.limit(currentObjectLength);
+
+			// take the bytes of the frame already in the read buffer
+			while (readBuffer.hasRemaining() && frameBuffer.hasRemaining()) {
+				frameBuffer.put(readBuffer.get());
+			}
+		}
+
+		while (frameBuffer.hasRemaining()) {
+			int bytesRead = socketChannel.read(frameBuffer);
+			if (bytesRead == -1) {
+				throw new SocketException("Connection is closed.");
+			}
+			if (bytesRead == 0) {
+				return null;
+			}
+			lastReadTime = System.currentTimeMillis();
+		}
+
+		currentObjectLength = 0;
+		frameCompressed = currentObjectCompressed;
+		frameBuffer.flip();
+		return frameBuffer;
+	}
+
+	/**
+	 * De-serializes the object from the frame returned by {@link #readFrame()}. Can be called by
+	 * any thread.
+	 *
+	 * @param connection
+	 *            Connection the frame was received with.
+	 * @param frame
+	 *            Frame holding the object.
+	 * @return De-serialized object.
+	 */
+	// Added for the reactor mode
+	public Object readObject(Connection connection, ByteBuffer frame) {
+		try {
+			if (frameCompressed) {
+				return serialization.readCompressed(connection, new ByteArrayInputStream(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining()));
+			} else {
+				return serialization.read(connection, frame);
+			}
+		} catch (Exception ex) {
+			throw new KryoNetException("Error during deserialization.", ex);
+		} finally {
+			if (frame.capacity() > MAX_RETAINED_FRAME_SIZE) {
+				frameBuffer = null;
+			}
+		}
+	}
+
+	/**
+	 * Reads the length of the next frame from the read buffer.
+	 */
+	// Added for the frame compression
+	private void readFrameLength() {
+		int length = serialization.readLength(readBuffer);
+		currentObjectCompressed = (length & COMPRESSED_FRAME_FLAG) != 0;
+		currentObjectLength = length & ~COMPRESSED_FRAME_FLAG;
+	}
+
+	/**
+	 * Returns if the frames sent are compressed.
+	 */
+	// Added for the frame compression
+	public boolean isCompressionEnabled() {
+		return compressionEnabled;
+	}
+
+	/**
+	 * Sets if the frames sent are compressed.
+	 */
+	// Added for the frame compression
+	public void setCompressionEnabled(boolean compressionEnabled) {
+		this.compressionEnabled = compressionEnabled;
+	}
+
+	/**
+	 * Returns the dictionary of the strings exchanged over this connection.
+	 */
+	// Added for the string dictionary
+	public StringDictionary getStringDictionary() {
+		return stringDictionary;
+	}
+
+	/**
+	 * Stops the selection of this connection for reading.
+	 */
+	// Added for the reactor mode
+	public void suspendReading() {
+		synchronized (interestOpsLock) {
+			readSuspended = true;
+			selectionKey.interestOps(selectionKey.interestOps() & ~SelectionKey.OP_READ);
+		}
+	}
+
+	/**
+	 * Resumes the selection of this connection for reading and wakes up the selector.
+	 */
+	// Added for the reactor mode
+	public void resumeReading() {
+		synchronized (interestOpsLock) {
+			readSuspended = false;
+			selectionKey.interestOps(selectionKey.interestOps() | SelectionKey.OP_READ);
+		}
+		selectionKey.selector().wakeup();
+	}
+
+	/**
+	 * Sets the interest operations of the selection key keeping the read interest unless reading
+	 * is suspended.
+	 *
+	 * @param write
+	 *            If write interest should be set.
+	 */
+	// Added for the reactor mode
+	private void setInterestOps(boolean write) {
+		synchronized (interestOpsLock) {
+			int ops = readSuspended ? 0 : SelectionKey.OP_READ;
+			if (write) {
+				ops |= SelectionKey.OP_WRITE;
+			}
+			selectionKey.interestOps(ops);
+		}
+	}
+
 	// Changed completely by ISE
 	public void writeOperation() throws IOException {
 		writeReentrantLock.lock();
 		try {
 			if (writeToSocket()) {
 				// Write successful, clear OP_WRITE.
-				selectionKey.interestOps(SelectionKey.OP_READ);
+				setInterestOps(false);
 			}
 			lastWriteTime = System.currentTimeMillis();
 		} finally {
@@ -304,12 +545,36 @@ class TcpConnection {
 			}
 			outputStream.flush(false);
 
-			// rewrite the size to the first buffer
 			long writeSize = outputStream.getTotalWriteSize() - lengthLength;
+			int lengthFlag = 0;
+
+			// Added for the frame compression start
+			// compress into the idle stream, don't wait for one as we hold the write lock
+			if (compressionEnabled && (writeSize >= MIN_COMPRESSED_FRAME_SIZE)) {
+				ExtendedByteBufferOutputStream compressedStream = idleQueue.poll();
+				if (null != compressedStream) {
+					compressedStream.write(new byte[lengthLength]);
+					long compressedSize = serialization.compress(outputStream, lengthLength, compressedStream);
+					if (compressedSize < writeSize) {
+						compressedStream.flush(false);
+						outputStream.prepare();
+						idleQueue.offer(outputStream);
+						outputStream = compressedStream;
+						writeSize = compressedSize;
+						lengthFlag = COMPRESSED_FRAME_FLAG;
+					} else {
+						compressedStream.prepare();
+						idleQueue.offer(compressedStream);
+					}
+				}
+			}
+			// Added for the frame compression end
+
+			// rewrite the size to the first buffer
 			ByteBuffer buffer = outputStream.getAllByteBuffers().iterator().next();
 			int position = buffer.position();
 			buffer.position(0);
-			serialization.writeLength(buffer, (int) writeSize);
+			serialization.writeLength(buffer, ((int) writeSize) | lengthFlag);
 			buffer.position(position);
 
 			// Write to socket if no data was queued.
@@ -317,7 +582,7 @@ class TcpConnection {
 			writeQueue.add(outputStream);
 			if (!hasQueuedData && !writeToSocket()) {
 				// A partial write, set OP_WRITE to be notified when more writing can occur.
-				selectionKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+				setInterestOps(true);
 			} else {
 				// Full write, wake up selector so idle event will be fired.
 				selectionKey.selector().wakeup();
@@ -14,6 +14,7 @@ import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
 import com.esotericsoftware.kryo.serializers.FieldSerializer;
 import com.esotericsoftware.kryo.util.ObjectMap;
 
+import rocks.inspectit.shared.all.serializer.impl.accessor.IFieldAccessor;
 import rocks.inspectit.shared.all.serializer.schema.ClassSchema;
 import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
 
@@ -38,6 +39,10 @@ import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
  * decrease the amount of binary data. This is because we are writing integers that are less than
  * 128 and occupy only 1 byte and not complete field names.
  * <p>
+ * If the {@link IFieldAccessor} is given, the fields known to the accessor are written and read
+ * directly by the accessor and not with the Kryo cached fields. The accessor writes the same bytes
+ * as the cached field, thus the serialized data does not depend on the accessor being used.
+ * <p>
  * <b>IMPORTANT:</b> The class code is copied/taken/based from
  * <a href="https://github.com/EsotericSoftware/kryo">kryo</a>. Original author is Nathan Sweet.
  * License info can be found
@@ -61,6 +66,38 @@ public class CustomCompatibleFieldSerializer<T> extends FieldSerializer<T> {
 	 */
 	private ClassSchema schema;
 
+	/**
+	 * Accessor for the fields, can be <code>null</code>.
+	 */
+	private IFieldAccessor<? super T> fieldAccessor;
+
+	/**
+	 * Accessor ids of the fields, <code>-1</code> for the fields not handled by the accessor.
+	 */
+	private int[] fieldIds;
+
+	/**
+	 * Chunked output reused between the writes. Not used when writing the nested objects of the
+	 * same type.
+	 */
+	private final OutputChunked outputChunked = new OutputChunked(1024);
+
+	/**
+	 * If {@link #outputChunked} is in use.
+	 */
+	private boolean outputChunkedInUse;
+
+	/**
+	 * Chunked input reused between the reads. Not used when reading the nested objects of the same
+	 * type.
+	 */
+	private final InputChunked inputChunked = new InputChunked(1024);
+
+	/**
+	 * If {@link #inputChunked} is in use.
+	 */
+	private boolean inputChunkedInUse;
+
 	/**
 	 * Default constructor.
 	 *
@@ -88,7 +125,28 @@ public class CustomCompatibleFieldSerializer<T> extends FieldSerializer<T> {
 	 *            If the superclass schema should be used if the one for the class is not available.
 	 */
 	public CustomCompatibleFieldSerializer(Kryo kryo, Class<?> type, ClassSchemaManager schemaManager, boolean useSuperclassSchema) {
+		this(kryo, type, schemaManager, useSuperclassSchema, null);
+	}
+
+	/**
+	 * Constructor that uses the given {@link IFieldAccessor} for the fields the accessor knows
+	 * about.
+	 *
+	 * @param kryo
+	 *            Kryo instance
+	 * @param type
+	 *            Class to be serialized
+	 * @param schemaManager
+	 *            {@link ClassSchemaManager} holding information about values.
+	 * @param useSuperclassSchema
+	 *            If the superclass schema should be used if the one for the class is not available.
+	 * @param fieldAccessor
+	 *            Accessor for the fields, can be <code>null</code> to handle all fields with the
+	 *            Kryo cached fields.
+	 */
+	public CustomCompatibleFieldSerializer(Kryo kryo, Class<?> type, ClassSchemaManager schemaManager, boolean useSuperclassSchema, IFieldAccessor<? super T> fieldAccessor) {
 		super(kryo, type);
+		this.fieldAccessor = fieldAccessor;
 		schema = schemaManager.getSchema(type.getName());
 		if (useSuperclassSchema && (null == schema)) {
 			Class<?> superclass = type.getSuperclass();
@@ -129,6 +187,16 @@ public class CustomCompatibleFieldSerializer<T> extends FieldSerializer<T> {
 			for (int i = 0, n = fields.length; i < n; i++) {
 				fieldMarkers[i] = schema.getFieldMarker(fields[i].getField().getName()).intValue();
 			}
+
+			// Cache accessor ids
+			fieldIds = new int[fields.length];
+			for (int i = 0, n = fields.length; i < n; i++) {
+				if (null != fieldAccessor) {
+					fieldIds[i] = fieldAccessor.getFieldId(fields[i].getField().getName());
+				} else {
+					fieldIds[i] = -1;
+				}
+			}
 		}
 	}
 
@@ -151,10 +219,29 @@ public class CustomCompatibleFieldSerializer<T> extends FieldSerializer<T> {
 			}
 		}
 
-		OutputChunked outputChunked = new OutputChunked(output, 1024);
-		for (com.esotericsoftware.kryo.serializers.FieldSerializer.CachedField field : fields) {
-			field.write(outputChunked, object);
-			outputChunked.endChunks();
+		OutputChunked chunked;
+		boolean reused = !outputChunkedInUse;
+		if (reused) {
+			outputChunkedInUse = true;
+			chunked = outputChunked;
+			chunked.setOutputStream(output);
+		} else {
+			chunked = new OutputChunked(output, 1024);
+		}
+		try {
+			for (int i = 0, n = fields.length; i < n; i++) {
+				if (fieldIds[i] >= 0) {
+					((IFieldAccessor<T>) fieldAccessor).write(fieldIds[i], chunked, object);
+				} else {
+					fields[i].write(chunked, object);
+				}
+				chunked.endChunks();
+			}
+		} finally {
+			if (reused) {
+				outputChunked.setOutputStream(null);
+				outputChunkedInUse = false;
+			}
 		}
 	}
 
@@ -166,8 +253,8 @@ public class CustomCompatibleFieldSerializer<T> extends FieldSerializer<T> {
 		T object = kryo.newInstance(type);
 		kryo.reference(object);
 		ObjectMap context = kryo.getGraphContext();
-		CachedField[] fields = (CachedField[]) context.get(this);
-		if (fields == null) {
+		int[] fieldIndexes = (int[]) context.get(this);
+		if (fieldIndexes == null) {
 			int length = input.readInt(true);
 			if (TRACE) {
 				trace("kryo", "Read " + length + " field names.");
@@ -178,34 +265,51 @@ public class CustomCompatibleFieldSerializer<T> extends FieldSerializer<T> {
 				markers[i] = input.readInt(true);
 			}
 
-			fields = new CachedField[length];
-			CachedField[] allFields = getFields();
+			fieldIndexes = new int[length];
 			outer: for (int i = 0, n = markers.length; i < n; i++) {
 				int fieldMarker = markers[i];
-				for (int ii = 0, nn = allFields.length; ii < nn; ii++) {
+				for (int ii = 0, nn = fieldMarkers.length; ii < nn; ii++) {
 					if (fieldMarkers[ii] == fieldMarker) {
-						fields[i] = allFields[ii];
+						fieldIndexes[i] = ii;
 						continue outer;
 					}
 				}
 				if (TRACE) {
 					trace("kryo", "Ignoring obsolete field with marker: " + fieldMarker);
 				}
+				fieldIndexes[i] = -1;
 			}
-			context.put(this, fields);
+			context.put(this, fieldIndexes);
 		}
 
-		InputChunked inputChunked = new InputChunked(input, 1024);
-		for (com.esotericsoftware.kryo.serializers.FieldSerializer.CachedField cachedField : fields) {
-			if (cachedField == null) {
-				if (TRACE) {
-					trace("kryo", "Skip obsolete field.");
+		CachedField[] fields = getFields();
+		InputChunked chunked;
+		boolean reused = !inputChunkedInUse;
+		if (reused) {
+			inputChunkedInUse = true;
+			chunked = inputChunked;
+			chunked.setInputStream(input);
+		} else {
+			chunked = new InputChunked(input, 1024);
+		}
+		try {
+			for (int fieldIndex : fieldIndexes) {
+				if (fieldIndex < 0) {
+					if (TRACE) {
+						trace("kryo", "Skip obsolete field.");
+					}
+				} else if (fieldIds[fieldIndex] >= 0) {
+					((IFieldAccessor<T>) fieldAccessor).read(fieldIds[fieldIndex], chunked, object);
+				} else {
+					fields[fieldIndex].read(chunked, object);
 				}
-				inputChunked.nextChunks();
-				continue;
+				chunked.nextChunks();
+			}
+		} finally {
+			if (reused) {
+				inputChunked.setInputStream(null);
+				inputChunkedInUse = false;
 			}
-			cachedField.read(inputChunked, object);
-			inputChunked.nextChunks();
 		}
 		return object;
 	}
@@ -0,0 +1,90 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Serializes the strings using the {@link StringDictionary} found in the Kryo context under the
+ * {@link StringDictionary#CONTEXT_KEY}. Each string is prefixed with the tag:
+ * <ul>
+ * <li>{@value #TAG_INLINE} - string follows and is not in the dictionary</li>
+ * <li>{@value #TAG_NEW} - string follows and gets the next id in the dictionary</li>
+ * <li>any bigger value - string is in the dictionary with the id equal to the tag minus
+ * {@value #TAG_ID_OFFSET}</li>
+ * </ul>
+ * If there is no dictionary in the context the strings are serialized as with the default Kryo
+ * string serializer, so the format of the data saved to disk is not changed.
+ */
+public class DictionaryStringSerializer extends Serializer<String> {
+
+	/**
+	 * Tag of the string not in the dictionary.
+	 */
+	private static final int TAG_INLINE = 0;
+
+	/**
+	 * Tag of the string added to the dictionary.
+	 */
+	private static final int TAG_NEW = 1;
+
+	/**
+	 * Offset of the id in the tag.
+	 */
+	private static final int TAG_ID_OFFSET = 2;
+
+	/**
+	 * Default constructor.
+	 */
+	public DictionaryStringSerializer() {
+		setImmutable(true);
+		setAcceptsNull(true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(Kryo kryo, Output output, String object) {
+		StringDictionary dictionary = (StringDictionary) kryo.getContext().get(StringDictionary.CONTEXT_KEY);
+		if (null == dictionary) {
+			output.writeString(object);
+			return;
+		}
+
+		int id = (null != object) ? dictionary.getWriteId(object) : -1;
+		if (id >= 0) {
+			output.writeInt(id + TAG_ID_OFFSET, true);
+		} else if ((null != object) && dictionary.addWritten(object)) {
+			output.writeInt(TAG_NEW, true);
+			output.writeString(object);
+		} else {
+			output.writeInt(TAG_INLINE, true);
+			output.writeString(object);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String read(Kryo kryo, Input input, Class<String> type) {
+		StringDictionary dictionary = (StringDictionary) kryo.getContext().get(StringDictionary.CONTEXT_KEY);
+		if (null == dictionary) {
+			return input.readString();
+		}
+
+		int tag = input.readInt(true);
+		if (TAG_INLINE == tag) {
+			return input.readString();
+		} else if (TAG_NEW == tag) {
+			String string = input.readString();
+			dictionary.addRead(string);
+			return string;
+		} else {
+			return dictionary.getRead(tag - TAG_ID_OFFSET);
+		}
+	}
+
+}
@@ -9,6 +9,7 @@ import com.esotericsoftware.kryo.util.ObjectMap;
 
 import rocks.inspectit.shared.all.communication.data.InvocationAwareData;
 import rocks.inspectit.shared.all.communication.data.InvocationAwareData.MutableInt;
+import rocks.inspectit.shared.all.serializer.impl.accessor.IFieldAccessor;
 import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
 import rocks.inspectit.shared.all.serializer.util.KryoSerializationPreferences;
 
@@ -55,6 +56,25 @@ public class InvocationAwareDataSerializer<T extends InvocationAwareData> extend
 		super(kryo, type, schemaManager, useSuperclassSchema);
 	}
 
+	/**
+	 * Constructor that uses the given {@link IFieldAccessor} for the fields the accessor knows
+	 * about.
+	 *
+	 * @param kryo
+	 *            Kryo instance
+	 * @param type
+	 *            Class to be serialized
+	 * @param schemaManager
+	 *            {@link ClassSchemaManager} holding information about values.
+	 * @param useSuperclassSchema
+	 *            If the superclass schema should be used if the one for the class is not available.
+	 * @param fieldAccessor
+	 *            Accessor for the fields.
+	 */
+	public InvocationAwareDataSerializer(Kryo kryo, Class<T> type, ClassSchemaManager schemaManager, boolean useSuperclassSchema, IFieldAccessor<? super T> fieldAccessor) {
+		super(kryo, type, schemaManager, useSuperclassSchema, fieldAccessor);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -4,6 +4,7 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.serializer.impl.accessor.IFieldAccessor;
 import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
 
 /**
@@ -32,6 +33,24 @@ public class InvocationSequenceCustomCompatibleFieldSerializer extends CustomCom
 		super(kryo, type, schemaManager);
 	}
 
+	/**
+	 * Constructor that uses the given {@link IFieldAccessor} for the fields the accessor knows
+	 * about.
+	 *
+	 * @param kryo
+	 *            Kryo object.
+	 * @param type
+	 *            Type of class.
+	 * @param schemaManager
+	 *            Schema manager holding the schema for the given type.
+	 * @param fieldAccessor
+	 *            Accessor for the fields.
+	 */
+	public InvocationSequenceCustomCompatibleFieldSerializer(Kryo kryo, Class<? extends InvocationSequenceData> type, ClassSchemaManager schemaManager,
+			IFieldAccessor<? super InvocationSequenceData> fieldAccessor) {
+		super(kryo, type, schemaManager, false, fieldAccessor);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
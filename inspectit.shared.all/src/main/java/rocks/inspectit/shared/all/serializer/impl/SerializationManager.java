@@ -63,6 +63,7 @@ import rocks.inspectit.shared.all.communication.comparator.MethodSensorDataCompa
 import rocks.inspectit.shared.all.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.all.communication.comparator.SqlStatementDataComparatorEnum;
 import rocks.inspectit.shared.all.communication.comparator.TimerDataComparatorEnum;
+import rocks.inspectit.shared.all.communication.data.AgentOverheadInformationData;
 import rocks.inspectit.shared.all.communication.data.AggregatedExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.AggregatedHttpTimerData;
 import rocks.inspectit.shared.all.communication.data.AggregatedSqlStatementData;
@@ -70,6 +71,7 @@ import rocks.inspectit.shared.all.communication.data.AggregatedTimerData;
 import rocks.inspectit.shared.all.communication.data.ClassLoadingInformationData;
 import rocks.inspectit.shared.all.communication.data.CompilationInformationData;
 import rocks.inspectit.shared.all.communication.data.CpuInformationData;
+import rocks.inspectit.shared.all.communication.data.DataLossInformationData;
 import rocks.inspectit.shared.all.communication.data.DatabaseAggregatedTimerData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpInfo;
@@ -86,12 +88,16 @@ import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.communication.data.SystemInformationData;
 import rocks.inspectit.shared.all.communication.data.ThreadInformationData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.data.TimerDataBatch;
 import rocks.inspectit.shared.all.communication.data.VmArgumentData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData.AgentConnection;
 import rocks.inspectit.shared.all.communication.data.cmr.ApplicationData;
 import rocks.inspectit.shared.all.communication.data.cmr.BusinessTransactionData;
 import rocks.inspectit.shared.all.communication.data.cmr.CmrStatusData;
+import rocks.inspectit.shared.all.communication.message.AgentMessageAcknowledgement;
+import rocks.inspectit.shared.all.communication.message.AgentMessageBatch;
+import rocks.inspectit.shared.all.communication.message.AgentMessageSubscription;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.RemoteException;
 import rocks.inspectit.shared.all.exception.TechnicalException;
@@ -131,6 +137,17 @@ import rocks.inspectit.shared.all.serializer.HibernateAwareClassResolver;
 import rocks.inspectit.shared.all.serializer.IKryoProvider;
 import rocks.inspectit.shared.all.serializer.ISerializer;
 import rocks.inspectit.shared.all.serializer.SerializationException;
+import rocks.inspectit.shared.all.serializer.impl.accessor.ClassLoadingInformationDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.CompilationInformationDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.CpuInformationDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.ExceptionSensorDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.HttpTimerDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.InvocationSequenceDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.MemoryInformationDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.RuntimeInformationDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.SqlStatementDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.ThreadInformationDataFieldAccessor;
+import rocks.inspectit.shared.all.serializer.impl.accessor.TimerDataFieldAccessor;
 import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
 import rocks.inspectit.shared.all.util.IHibernateUtil;
 import rocks.inspectit.shared.all.util.KryoNetNetwork;
@@ -230,6 +247,8 @@ public class SerializationManager implements ISerializer, IKryoProvider, Initial
 	 */
 	private void registerClasses(Kryo kryo) {
 		/** Java native classes */
+		// replaces the default string serializer, keeps the registration id
+		kryo.register(String.class, new DictionaryStringSerializer());
 		kryo.register(Class.class, new ClassSerializer());
 		kryo.register(ArrayList.class, new HibernateAwareCollectionSerializer(hibernateUtil)); // NOPMD
 		kryo.register(CopyOnWriteArrayList.class, new CollectionSerializer());
@@ -249,27 +268,29 @@ public class SerializationManager implements ISerializer, IKryoProvider, Initial
 		kryo.register(PlatformSensorTypeIdent.class, new CustomCompatibleFieldSerializer<PlatformSensorTypeIdent>(kryo, PlatformSensorTypeIdent.class, schemaManager, true));
 		/** Common data classes */
 		kryo.register(MutableInt.class, new FieldSerializer<MutableInt>(kryo, MutableInt.class));
-		kryo.register(InvocationSequenceData.class, new InvocationSequenceCustomCompatibleFieldSerializer(kryo, InvocationSequenceData.class, schemaManager));
+		kryo.register(InvocationSequenceData.class, new InvocationSequenceCustomCompatibleFieldSerializer(kryo, InvocationSequenceData.class, schemaManager, new InvocationSequenceDataFieldAccessor()));
 		// TODO Check if we want for these
-		kryo.register(TimerData.class, new InvocationAwareDataSerializer<TimerData>(kryo, TimerData.class, schemaManager));
-		kryo.register(HttpTimerData.class, new InvocationAwareDataSerializer<HttpTimerData>(kryo, HttpTimerData.class, schemaManager));
-		kryo.register(SqlStatementData.class, new InvocationAwareDataSerializer<SqlStatementData>(kryo, SqlStatementData.class, schemaManager));
-		kryo.register(ExceptionSensorData.class, new InvocationAwareDataSerializer<ExceptionSensorData>(kryo, ExceptionSensorData.class, schemaManager));
+		kryo.register(TimerData.class, new InvocationAwareDataSerializer<TimerData>(kryo, TimerData.class, schemaManager, false, new TimerDataFieldAccessor<TimerData>()));
+		kryo.register(HttpTimerData.class, new InvocationAwareDataSerializer<HttpTimerData>(kryo, HttpTimerData.class, schemaManager, false, new HttpTimerDataFieldAccessor()));
+		kryo.register(SqlStatementData.class, new InvocationAwareDataSerializer<SqlStatementData>(kryo, SqlStatementData.class, schemaManager, false, new SqlStatementDataFieldAccessor()));
+		kryo.register(ExceptionSensorData.class, new InvocationAwareDataSerializer<ExceptionSensorData>(kryo, ExceptionSensorData.class, schemaManager, false, new ExceptionSensorDataFieldAccessor<ExceptionSensorData>()));
 		kryo.register(ExceptionEvent.class, new EnumSerializer(ExceptionEvent.class));
 		kryo.register(ParameterContentData.class, new CustomCompatibleFieldSerializer<ParameterContentData>(kryo, ParameterContentData.class, schemaManager));
-		kryo.register(MemoryInformationData.class, new CustomCompatibleFieldSerializer<MemoryInformationData>(kryo, MemoryInformationData.class, schemaManager));
-		kryo.register(CpuInformationData.class, new CustomCompatibleFieldSerializer<CpuInformationData>(kryo, CpuInformationData.class, schemaManager));
+		kryo.register(MemoryInformationData.class, new CustomCompatibleFieldSerializer<MemoryInformationData>(kryo, MemoryInformationData.class, schemaManager, false, new MemoryInformationDataFieldAccessor()));
+		kryo.register(CpuInformationData.class, new CustomCompatibleFieldSerializer<CpuInformationData>(kryo, CpuInformationData.class, schemaManager, false, new CpuInformationDataFieldAccessor()));
 		kryo.register(SystemInformationData.class, new CustomCompatibleFieldSerializer<SystemInformationData>(kryo, SystemInformationData.class, schemaManager));
 		kryo.register(VmArgumentData.class, new CustomCompatibleFieldSerializer<VmArgumentData>(kryo, VmArgumentData.class, schemaManager));
-		kryo.register(ThreadInformationData.class, new CustomCompatibleFieldSerializer<ThreadInformationData>(kryo, ThreadInformationData.class, schemaManager));
-		kryo.register(RuntimeInformationData.class, new CustomCompatibleFieldSerializer<RuntimeInformationData>(kryo, RuntimeInformationData.class, schemaManager));
-		kryo.register(CompilationInformationData.class, new CustomCompatibleFieldSerializer<CompilationInformationData>(kryo, CompilationInformationData.class, schemaManager));
-		kryo.register(ClassLoadingInformationData.class, new CustomCompatibleFieldSerializer<ClassLoadingInformationData>(kryo, ClassLoadingInformationData.class, schemaManager));
+		kryo.register(ThreadInformationData.class, new CustomCompatibleFieldSerializer<ThreadInformationData>(kryo, ThreadInformationData.class, schemaManager, false, new ThreadInformationDataFieldAccessor()));
+		kryo.register(RuntimeInformationData.class, new CustomCompatibleFieldSerializer<RuntimeInformationData>(kryo, RuntimeInformationData.class, schemaManager, false, new RuntimeInformationDataFieldAccessor()));
+		kryo.register(CompilationInformationData.class, new CustomCompatibleFieldSerializer<CompilationInformationData>(kryo, CompilationInformationData.class, schemaManager, false, new CompilationInformationDataFieldAccessor()));
+		kryo.register(ClassLoadingInformationData.class, new CustomCompatibleFieldSerializer<ClassLoadingInformationData>(kryo, ClassLoadingInformationData.class, schemaManager, false, new ClassLoadingInformationDataFieldAccessor()));
 		kryo.register(ParameterContentType.class, new EnumSerializer(ParameterContentType.class));
 
 		// aggregation classes
-		kryo.register(AggregatedExceptionSensorData.class, new InvocationAwareDataSerializer<AggregatedExceptionSensorData>(kryo, AggregatedExceptionSensorData.class, schemaManager));
-		kryo.register(DatabaseAggregatedTimerData.class, new InvocationAwareDataSerializer<DatabaseAggregatedTimerData>(kryo, DatabaseAggregatedTimerData.class, schemaManager, true));
+		kryo.register(AggregatedExceptionSensorData.class, new InvocationAwareDataSerializer<AggregatedExceptionSensorData>(kryo, AggregatedExceptionSensorData.class, schemaManager, false,
+				new ExceptionSensorDataFieldAccessor<AggregatedExceptionSensorData>()));
+		kryo.register(DatabaseAggregatedTimerData.class, new InvocationAwareDataSerializer<DatabaseAggregatedTimerData>(kryo, DatabaseAggregatedTimerData.class, schemaManager, true,
+				new TimerDataFieldAccessor<DatabaseAggregatedTimerData>()));
 
 		// classes needed for the HTTP calls from the UI
 		kryo.register(RemoteInvocation.class, new FieldSerializer<RemoteInvocation>(kryo, RemoteInvocation.class));
@@ -395,6 +416,20 @@ public class SerializationManager implements ISerializer, IKryoProvider, Initial
 
 		// added with INSPECTIT-2226
 		kryo.register(SubstitutionDescriptor.class, new FieldSerializer<SubstitutionDescriptor>(kryo, SubstitutionDescriptor.class));
+
+		// agent data loss reporting
+		kryo.register(DataLossInformationData.class, new CustomCompatibleFieldSerializer<DataLossInformationData>(kryo, DataLossInformationData.class, schemaManager));
+
+		// agent overhead reporting
+		kryo.register(AgentOverheadInformationData.class, new CustomCompatibleFieldSerializer<AgentOverheadInformationData>(kryo, AgentOverheadInformationData.class, schemaManager));
+
+		// columnar timer batches
+		kryo.register(TimerDataBatch.class, new TimerDataBatchSerializer());
+
+		// agent message push
+		kryo.register(AgentMessageSubscription.class, new FieldSerializer<AgentMessageSubscription>(kryo, AgentMessageSubscription.class));
+		kryo.register(AgentMessageBatch.class, new FieldSerializer<AgentMessageBatch>(kryo, AgentMessageBatch.class));
+		kryo.register(AgentMessageAcknowledgement.class, new FieldSerializer<AgentMessageAcknowledgement>(kryo, AgentMessageAcknowledgement.class));
 	}
 
 	/**
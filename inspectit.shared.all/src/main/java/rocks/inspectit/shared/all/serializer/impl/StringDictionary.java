@@ -0,0 +1,204 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary of the strings exchanged over one connection. Both sides of the connection keep one
+ * dictionary. The writing side assigns the ids to the strings in the order they are first written,
+ * the reading side assigns the same ids in the same order when reading them. Thus the id does not
+ * have to be transfered with the string and any later occurrence of the string is written as the
+ * id only.
+ * <p>
+ * The reading side returns the same string instance for the same id, so the strings read over the
+ * connection are canonicalized.
+ * <p>
+ * The amount of strings and characters in the dictionary is limited. Strings not fitting in the
+ * dictionary are written as they are.
+ */
+public class StringDictionary {
+
+	/**
+	 * Key of the dictionary in the Kryo context.
+	 */
+	public static final String CONTEXT_KEY = "stringDictionary";
+
+	/**
+	 * Max amount of strings in one direction.
+	 */
+	private static final int MAX_ENTRIES = 16384;
+
+	/**
+	 * Max length of the string to be placed in the dictionary.
+	 */
+	private static final int MAX_STRING_LENGTH = 8192;
+
+	/**
+	 * Max amount of characters of all strings in one direction.
+	 */
+	private static final int MAX_TOTAL_LENGTH = 2 * 1024 * 1024;
+
+	/**
+	 * Ids of the written strings.
+	 */
+	private final Map<String, Integer> writeIds = new HashMap<String, Integer>();
+
+	/**
+	 * Written strings in the order of their ids.
+	 */
+	private final List<String> writeStrings = new ArrayList<String>();
+
+	/**
+	 * Amount of written strings known to be sent.
+	 */
+	private int committedWriteSize;
+
+	/**
+	 * Amount of characters of the written strings.
+	 */
+	private int writeLength;
+
+	/**
+	 * Read strings in the order of their ids.
+	 */
+	private final List<String> readStrings = new ArrayList<String>();
+
+	/**
+	 * Amount of characters of the read strings.
+	 */
+	private int readLength;
+
+	/**
+	 * Returns the id of the written string.
+	 *
+	 * @param string
+	 *            String to write.
+	 * @return Id of the string or <code>-1</code> if the string was not written before.
+	 */
+	public synchronized int getWriteId(String string) {
+		Integer id = writeIds.get(string);
+		if (null == id) {
+			return -1;
+		}
+		return id.intValue();
+	}
+
+	/**
+	 * Adds the written string to the dictionary if it fits.
+	 *
+	 * @param string
+	 *            String to write.
+	 * @return <code>true</code> if the string was added and gets the next id,
+	 *         <code>false</code> if it should be written without the id.
+	 */
+	public synchronized boolean addWritten(String string) {
+		if (!fits(string, writeStrings.size(), writeLength)) {
+			return false;
+		}
+		writeIds.put(string, Integer.valueOf(writeStrings.size()));
+		writeStrings.add(string);
+		writeLength += string.length();
+		return true;
+	}
+
+	/**
+	 * Marks all strings added since the last commit as sent. Must be called when the serialized
+	 * object is passed to the connection.
+	 */
+	public synchronized void commit() {
+		committedWriteSize = writeStrings.size();
+	}
+
+	/**
+	 * Removes all strings added since the last commit. Must be called when the serialization of
+	 * the object failed, as the other side will never read them.
+	 */
+	public synchronized void rollback() {
+		for (int i = writeStrings.size() - 1; i >= committedWriteSize; i--) {
+			String string = writeStrings.remove(i);
+			writeIds.remove(string);
+			writeLength -= string.length();
+		}
+	}
+
+	/**
+	 * Returns the read string with the given id.
+	 *
+	 * @param id
+	 *            Id of the string.
+	 * @return Read string.
+	 * @throws IllegalStateException
+	 *             If the id is unknown, meaning the dictionaries are out of sync.
+	 */
+	public synchronized String getRead(int id) {
+		if ((id < 0) || (id >= readStrings.size())) {
+			throw new IllegalStateException("String with the id " + id + " does not exist in the dictionary of the size " + readStrings.size() + ".");
+		}
+		return readStrings.get(id);
+	}
+
+	/**
+	 * Adds the read string to the dictionary. The string gets the next id.
+	 *
+	 * @param string
+	 *            Read string.
+	 * @throws IllegalStateException
+	 *             If the string does not fit in the dictionary, meaning the dictionaries are out of
+	 *             sync.
+	 */
+	public synchronized void addRead(String string) {
+		if (!fits(string, readStrings.size(), readLength)) {
+			throw new IllegalStateException("String of the length " + string.length() + " can not be added to the dictionary.");
+		}
+		readStrings.add(string);
+		readLength += string.length();
+	}
+
+	/**
+	 * Clears the dictionary. Must be called when the connection is (re-)established.
+	 */
+	public synchronized void clear() {
+		writeIds.clear();
+		writeStrings.clear();
+		committedWriteSize = 0;
+		writeLength = 0;
+		readStrings.clear();
+		readLength = 0;
+	}
+
+	/**
+	 * Returns the amount of strings written with an id.
+	 *
+	 * @return Returns the amount of strings written with an id.
+	 */
+	public synchronized int getWriteSize() {
+		return writeStrings.size();
+	}
+
+	/**
+	 * Returns the amount of strings read with an id.
+	 *
+	 * @return Returns the amount of strings read with an id.
+	 */
+	public synchronized int getReadSize() {
+		return readStrings.size();
+	}
+
+	/**
+	 * Checks if the string fits in the dictionary.
+	 *
+	 * @param string
+	 *            String.
+	 * @param size
+	 *            Current amount of strings.
+	 * @param length
+	 *            Current amount of characters.
+	 * @return <code>true</code> if the string can be added
+	 */
+	private boolean fits(String string, int size, int length) {
+		return (size < MAX_ENTRIES) && (string.length() <= MAX_STRING_LENGTH) && ((length + string.length()) <= MAX_TOTAL_LENGTH);
+	}
+
+}
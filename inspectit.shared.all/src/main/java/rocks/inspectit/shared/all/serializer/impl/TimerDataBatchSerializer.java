@@ -0,0 +1,149 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.sql.Timestamp;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.TimerDataBatch;
+
+/**
+ * Serializer of the {@link TimerDataBatch}. The platform ident, sensor type ident and time stamp
+ * of the batch are written only once, followed by the columns of the batch. Time stamps of the
+ * timers are written as variable length deltas to the batch time stamp, idents and counts as
+ * variable length longs.
+ */
+public class TimerDataBatchSerializer extends Serializer<TimerDataBatch> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(Kryo kryo, Output output, TimerDataBatch batch) {
+		int size = batch.getSize();
+		long timeStamp = batch.getTimeStamp().getTime();
+
+		output.writeLong(batch.getPlatformIdent(), true);
+		output.writeLong(batch.getSensorTypeIdent(), true);
+		output.writeLong(timeStamp, true);
+		output.writeInt(size, true);
+
+		long[] timeStamps = batch.getTimeStamps();
+		for (int i = 0; i < size; i++) {
+			output.writeLong(timeStamps[i] - timeStamp, false);
+		}
+		writeLongs(output, batch.getMethodIdents(), size);
+		writeLongs(output, batch.getCounts(), size);
+		writeDoubles(output, batch.getDurations(), size);
+		writeDoubles(output, batch.getMins(), size);
+		writeDoubles(output, batch.getMaxs(), size);
+		writeDoubles(output, batch.getCpuDurations(), size);
+		writeDoubles(output, batch.getCpuMins(), size);
+		writeDoubles(output, batch.getCpuMaxs(), size);
+		boolean[] charting = batch.getCharting();
+		for (int i = 0; i < size; i++) {
+			output.writeBoolean(charting[i]);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public TimerDataBatch read(Kryo kryo, Input input, Class<TimerDataBatch> type) {
+		TimerDataBatch batch = new TimerDataBatch();
+		batch.setPlatformIdent(input.readLong(true));
+		batch.setSensorTypeIdent(input.readLong(true));
+		long timeStamp = input.readLong(true);
+		batch.setTimeStamp(new Timestamp(timeStamp));
+		int size = input.readInt(true);
+
+		long[] timeStamps = new long[size];
+		for (int i = 0; i < size; i++) {
+			timeStamps[i] = timeStamp + input.readLong(false);
+		}
+		batch.setTimeStamps(timeStamps);
+		batch.setMethodIdents(readLongs(input, size));
+		batch.setCounts(readLongs(input, size));
+		batch.setDurations(readDoubles(input, size));
+		batch.setMins(readDoubles(input, size));
+		batch.setMaxs(readDoubles(input, size));
+		batch.setCpuDurations(readDoubles(input, size));
+		batch.setCpuMins(readDoubles(input, size));
+		batch.setCpuMaxs(readDoubles(input, size));
+		boolean[] charting = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			charting[i] = input.readBoolean();
+		}
+		batch.setCharting(charting);
+		return batch;
+	}
+
+	/**
+	 * Writes the column of positive longs.
+	 *
+	 * @param output
+	 *            Output.
+	 * @param column
+	 *            Column.
+	 * @param size
+	 *            Size of the column.
+	 */
+	private void writeLongs(Output output, long[] column, int size) {
+		for (int i = 0; i < size; i++) {
+			output.writeLong(column[i], true);
+		}
+	}
+
+	/**
+	 * Writes the column of doubles.
+	 *
+	 * @param output
+	 *            Output.
+	 * @param column
+	 *            Column.
+	 * @param size
+	 *            Size of the column.
+	 */
+	private void writeDoubles(Output output, double[] column, int size) {
+		for (int i = 0; i < size; i++) {
+			output.writeDouble(column[i]);
+		}
+	}
+
+	/**
+	 * Reads the column of positive longs.
+	 *
+	 * @param input
+	 *            Input.
+	 * @param size
+	 *            Size of the column.
+	 * @return Column.
+	 */
+	private long[] readLongs(Input input, int size) {
+		long[] column = new long[size];
+		for (int i = 0; i < size; i++) {
+			column[i] = input.readLong(true);
+		}
+		return column;
+	}
+
+	/**
+	 * Reads the column of doubles.
+	 *
+	 * @param input
+	 *            Input.
+	 * @param size
+	 *            Size of the column.
+	 * @return Column.
+	 */
+	private double[] readDoubles(Input input, int size) {
+		double[] column = new double[size];
+		for (int i = 0; i < size; i++) {
+			column[i] = input.readDouble();
+		}
+		return column;
+	}
+}
@@ -0,0 +1,175 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.ClassLoadingInformationData;
+
+/**
+ * {@link IFieldAccessor} for the {@link ClassLoadingInformationData}.
+ */
+public class ClassLoadingInformationDataFieldAccessor extends DefaultDataFieldAccessor<ClassLoadingInformationData> {
+
+	/**
+	 * Id of the <code>count</code> field.
+	 */
+	private static final int COUNT = 3;
+
+	/**
+	 * Id of the <code>minLoadedClassCount</code> field.
+	 */
+	private static final int MIN_LOADED_CLASS_COUNT = 4;
+
+	/**
+	 * Id of the <code>maxLoadedClassCount</code> field.
+	 */
+	private static final int MAX_LOADED_CLASS_COUNT = 5;
+
+	/**
+	 * Id of the <code>totalLoadedClassCount</code> field.
+	 */
+	private static final int TOTAL_LOADED_CLASS_COUNT = 6;
+
+	/**
+	 * Id of the <code>minTotalLoadedClassCount</code> field.
+	 */
+	private static final int MIN_TOTAL_LOADED_CLASS_COUNT = 7;
+
+	/**
+	 * Id of the <code>maxTotalLoadedClassCount</code> field.
+	 */
+	private static final int MAX_TOTAL_LOADED_CLASS_COUNT = 8;
+
+	/**
+	 * Id of the <code>totalTotalLoadedClassCount</code> field.
+	 */
+	private static final int TOTAL_TOTAL_LOADED_CLASS_COUNT = 9;
+
+	/**
+	 * Id of the <code>minUnloadedClassCount</code> field.
+	 */
+	private static final int MIN_UNLOADED_CLASS_COUNT = 10;
+
+	/**
+	 * Id of the <code>maxUnloadedClassCount</code> field.
+	 */
+	private static final int MAX_UNLOADED_CLASS_COUNT = 11;
+
+	/**
+	 * Id of the <code>totalUnloadedClassCount</code> field.
+	 */
+	private static final int TOTAL_UNLOADED_CLASS_COUNT = 12;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("count".equals(fieldName)) {
+			return COUNT;
+		} else if ("minLoadedClassCount".equals(fieldName)) {
+			return MIN_LOADED_CLASS_COUNT;
+		} else if ("maxLoadedClassCount".equals(fieldName)) {
+			return MAX_LOADED_CLASS_COUNT;
+		} else if ("totalLoadedClassCount".equals(fieldName)) {
+			return TOTAL_LOADED_CLASS_COUNT;
+		} else if ("minTotalLoadedClassCount".equals(fieldName)) {
+			return MIN_TOTAL_LOADED_CLASS_COUNT;
+		} else if ("maxTotalLoadedClassCount".equals(fieldName)) {
+			return MAX_TOTAL_LOADED_CLASS_COUNT;
+		} else if ("totalTotalLoadedClassCount".equals(fieldName)) {
+			return TOTAL_TOTAL_LOADED_CLASS_COUNT;
+		} else if ("minUnloadedClassCount".equals(fieldName)) {
+			return MIN_UNLOADED_CLASS_COUNT;
+		} else if ("maxUnloadedClassCount".equals(fieldName)) {
+			return MAX_UNLOADED_CLASS_COUNT;
+		} else if ("totalUnloadedClassCount".equals(fieldName)) {
+			return TOTAL_UNLOADED_CLASS_COUNT;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, ClassLoadingInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			output.writeInt(object.getCount(), false);
+			break;
+		case MIN_LOADED_CLASS_COUNT:
+			output.writeInt(object.getMinLoadedClassCount(), false);
+			break;
+		case MAX_LOADED_CLASS_COUNT:
+			output.writeInt(object.getMaxLoadedClassCount(), false);
+			break;
+		case TOTAL_LOADED_CLASS_COUNT:
+			output.writeInt(object.getTotalLoadedClassCount(), false);
+			break;
+		case MIN_TOTAL_LOADED_CLASS_COUNT:
+			output.writeLong(object.getMinTotalLoadedClassCount(), false);
+			break;
+		case MAX_TOTAL_LOADED_CLASS_COUNT:
+			output.writeLong(object.getMaxTotalLoadedClassCount(), false);
+			break;
+		case TOTAL_TOTAL_LOADED_CLASS_COUNT:
+			output.writeLong(object.getTotalTotalLoadedClassCount(), false);
+			break;
+		case MIN_UNLOADED_CLASS_COUNT:
+			output.writeLong(object.getMinUnloadedClassCount(), false);
+			break;
+		case MAX_UNLOADED_CLASS_COUNT:
+			output.writeLong(object.getMaxUnloadedClassCount(), false);
+			break;
+		case TOTAL_UNLOADED_CLASS_COUNT:
+			output.writeLong(object.getTotalUnloadedClassCount(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, ClassLoadingInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			object.setCount(input.readInt(false));
+			break;
+		case MIN_LOADED_CLASS_COUNT:
+			object.setMinLoadedClassCount(input.readInt(false));
+			break;
+		case MAX_LOADED_CLASS_COUNT:
+			object.setMaxLoadedClassCount(input.readInt(false));
+			break;
+		case TOTAL_LOADED_CLASS_COUNT:
+			object.setTotalLoadedClassCount(input.readInt(false));
+			break;
+		case MIN_TOTAL_LOADED_CLASS_COUNT:
+			object.setMinTotalLoadedClassCount(input.readLong(false));
+			break;
+		case MAX_TOTAL_LOADED_CLASS_COUNT:
+			object.setMaxTotalLoadedClassCount(input.readLong(false));
+			break;
+		case TOTAL_TOTAL_LOADED_CLASS_COUNT:
+			object.setTotalTotalLoadedClassCount(input.readLong(false));
+			break;
+		case MIN_UNLOADED_CLASS_COUNT:
+			object.setMinUnloadedClassCount(input.readLong(false));
+			break;
+		case MAX_UNLOADED_CLASS_COUNT:
+			object.setMaxUnloadedClassCount(input.readLong(false));
+			break;
+		case TOTAL_UNLOADED_CLASS_COUNT:
+			object.setTotalUnloadedClassCount(input.readLong(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.CompilationInformationData;
+
+/**
+ * {@link IFieldAccessor} for the {@link CompilationInformationData}.
+ */
+public class CompilationInformationDataFieldAccessor extends DefaultDataFieldAccessor<CompilationInformationData> {
+
+	/**
+	 * Id of the <code>count</code> field.
+	 */
+	private static final int COUNT = 3;
+
+	/**
+	 * Id of the <code>minTotalCompilationTime</code> field.
+	 */
+	private static final int MIN_TOTAL_COMPILATION_TIME = 4;
+
+	/**
+	 * Id of the <code>maxTotalCompilationTime</code> field.
+	 */
+	private static final int MAX_TOTAL_COMPILATION_TIME = 5;
+
+	/**
+	 * Id of the <code>totalTotalCompilationTime</code> field.
+	 */
+	private static final int TOTAL_TOTAL_COMPILATION_TIME = 6;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("count".equals(fieldName)) {
+			return COUNT;
+		} else if ("minTotalCompilationTime".equals(fieldName)) {
+			return MIN_TOTAL_COMPILATION_TIME;
+		} else if ("maxTotalCompilationTime".equals(fieldName)) {
+			return MAX_TOTAL_COMPILATION_TIME;
+		} else if ("totalTotalCompilationTime".equals(fieldName)) {
+			return TOTAL_TOTAL_COMPILATION_TIME;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, CompilationInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			output.writeInt(object.getCount(), false);
+			break;
+		case MIN_TOTAL_COMPILATION_TIME:
+			output.writeLong(object.getMinTotalCompilationTime(), false);
+			break;
+		case MAX_TOTAL_COMPILATION_TIME:
+			output.writeLong(object.getMaxTotalCompilationTime(), false);
+			break;
+		case TOTAL_TOTAL_COMPILATION_TIME:
+			output.writeLong(object.getTotalTotalCompilationTime(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, CompilationInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			object.setCount(input.readInt(false));
+			break;
+		case MIN_TOTAL_COMPILATION_TIME:
+			object.setMinTotalCompilationTime(input.readLong(false));
+			break;
+		case MAX_TOTAL_COMPILATION_TIME:
+			object.setMaxTotalCompilationTime(input.readLong(false));
+			break;
+		case TOTAL_TOTAL_COMPILATION_TIME:
+			object.setTotalTotalCompilationTime(input.readLong(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.CpuInformationData;
+
+/**
+ * {@link IFieldAccessor} for the {@link CpuInformationData}.
+ */
+public class CpuInformationDataFieldAccessor extends DefaultDataFieldAccessor<CpuInformationData> {
+
+	/**
+	 * Id of the <code>count</code> field.
+	 */
+	private static final int COUNT = 3;
+
+	/**
+	 * Id of the <code>processCpuTime</code> field.
+	 */
+	private static final int PROCESS_CPU_TIME = 4;
+
+	/**
+	 * Id of the <code>minCpuUsage</code> field.
+	 */
+	private static final int MIN_CPU_USAGE = 5;
+
+	/**
+	 * Id of the <code>maxCpuUsage</code> field.
+	 */
+	private static final int MAX_CPU_USAGE = 6;
+
+	/**
+	 * Id of the <code>totalCpuUsage</code> field.
+	 */
+	private static final int TOTAL_CPU_USAGE = 7;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("count".equals(fieldName)) {
+			return COUNT;
+		} else if ("processCpuTime".equals(fieldName)) {
+			return PROCESS_CPU_TIME;
+		} else if ("minCpuUsage".equals(fieldName)) {
+			return MIN_CPU_USAGE;
+		} else if ("maxCpuUsage".equals(fieldName)) {
+			return MAX_CPU_USAGE;
+		} else if ("totalCpuUsage".equals(fieldName)) {
+			return TOTAL_CPU_USAGE;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, CpuInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			output.writeInt(object.getCount(), false);
+			break;
+		case PROCESS_CPU_TIME:
+			output.writeLong(object.getProcessCpuTime(), false);
+			break;
+		case MIN_CPU_USAGE:
+			output.writeFloat(object.getMinCpuUsage());
+			break;
+		case MAX_CPU_USAGE:
+			output.writeFloat(object.getMaxCpuUsage());
+			break;
+		case TOTAL_CPU_USAGE:
+			output.writeFloat(object.getTotalCpuUsage());
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, CpuInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			object.setCount(input.readInt(false));
+			break;
+		case PROCESS_CPU_TIME:
+			object.setProcessCpuTime(input.readLong(false));
+			break;
+		case MIN_CPU_USAGE:
+			object.setMinCpuUsage(input.readFloat());
+			break;
+		case MAX_CPU_USAGE:
+			object.setMaxCpuUsage(input.readFloat());
+			break;
+		case TOTAL_CPU_USAGE:
+			object.setTotalCpuUsage(input.readFloat());
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
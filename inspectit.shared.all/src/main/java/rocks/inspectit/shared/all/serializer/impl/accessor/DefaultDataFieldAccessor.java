@@ -0,0 +1,86 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * {@link IFieldAccessor} for the {@link DefaultData} ids. Sub-classes handle the fields of the
+ * data classes they are made for and delegate to the super-class for the fields they do not know.
+ *
+ * @param <T>
+ *            Type of the data.
+ */
+public class DefaultDataFieldAccessor<T extends DefaultData> implements IFieldAccessor<T> {
+
+	/**
+	 * Id of the <code>id</code> field.
+	 */
+	protected static final int ID = 0;
+
+	/**
+	 * Id of the <code>platformIdent</code> field.
+	 */
+	protected static final int PLATFORM_IDENT = 1;
+
+	/**
+	 * Id of the <code>sensorTypeIdent</code> field.
+	 */
+	protected static final int SENSOR_TYPE_IDENT = 2;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("id".equals(fieldName)) {
+			return ID;
+		} else if ("platformIdent".equals(fieldName)) {
+			return PLATFORM_IDENT;
+		} else if ("sensorTypeIdent".equals(fieldName)) {
+			return SENSOR_TYPE_IDENT;
+		}
+		return -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, T object) {
+		switch (fieldId) {
+		case ID:
+			output.writeLong(object.getId(), false);
+			break;
+		case PLATFORM_IDENT:
+			output.writeLong(object.getPlatformIdent(), false);
+			break;
+		case SENSOR_TYPE_IDENT:
+			output.writeLong(object.getSensorTypeIdent(), false);
+			break;
+		default:
+			throw new IllegalArgumentException("Field with the id " + fieldId + " is not handled by the accessor.");
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, T object) {
+		switch (fieldId) {
+		case ID:
+			object.setId(input.readLong(false));
+			break;
+		case PLATFORM_IDENT:
+			object.setPlatformIdent(input.readLong(false));
+			break;
+		case SENSOR_TYPE_IDENT:
+			object.setSensorTypeIdent(input.readLong(false));
+			break;
+		default:
+			throw new IllegalArgumentException("Field with the id " + fieldId + " is not handled by the accessor.");
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+
+/**
+ * {@link IFieldAccessor} for the {@link ExceptionSensorData}.
+ *
+ * @param <T>
+ *            Type of the exception sensor data.
+ */
+public class ExceptionSensorDataFieldAccessor<T extends ExceptionSensorData> extends MethodSensorDataFieldAccessor<T> {
+
+	/**
+	 * Id of the <code>throwableIdentityHashCode</code> field.
+	 */
+	protected static final int THROWABLE_IDENTITY_HASH_CODE = 4;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("throwableIdentityHashCode".equals(fieldName)) {
+			return THROWABLE_IDENTITY_HASH_CODE;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, T object) {
+		switch (fieldId) {
+		case THROWABLE_IDENTITY_HASH_CODE:
+			output.writeLong(object.getThrowableIdentityHashCode(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, T object) {
+		switch (fieldId) {
+		case THROWABLE_IDENTITY_HASH_CODE:
+			object.setThrowableIdentityHashCode(input.readLong(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+
+/**
+ * {@link IFieldAccessor} for the {@link HttpTimerData}.
+ */
+public class HttpTimerDataFieldAccessor extends TimerDataFieldAccessor<HttpTimerData> {
+
+	/**
+	 * Id of the <code>httpResponseStatus</code> field.
+	 */
+	private static final int HTTP_RESPONSE_STATUS = 11;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("httpResponseStatus".equals(fieldName)) {
+			return HTTP_RESPONSE_STATUS;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, HttpTimerData object) {
+		switch (fieldId) {
+		case HTTP_RESPONSE_STATUS:
+			output.writeInt(object.getHttpResponseStatus(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, HttpTimerData object) {
+		switch (fieldId) {
+		case HTTP_RESPONSE_STATUS:
+			object.setHttpResponseStatus(input.readInt(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.serializer.impl.CustomCompatibleFieldSerializer;
+
+/**
+ * Accessor that writes and reads the fields of the class without reflection. Used by the
+ * {@link CustomCompatibleFieldSerializer} for the fields the accessor knows about, all other fields
+ * are still handled by the Kryo cached fields.
+ * <p>
+ * The accessor must write every field with exactly the same encoding as the Kryo
+ * {@link com.esotericsoftware.kryo.serializers.FieldSerializer} would do, so that the serialized
+ * data is the same regardless if the accessor is used or not.
+ *
+ * @param <T>
+ *            Type of the object.
+ */
+public interface IFieldAccessor<T> {
+
+	/**
+	 * Returns the id of the field that is passed to the {@link #write(int, Output, Object)} and
+	 * {@link #read(int, Input, Object)} methods.
+	 *
+	 * @param fieldName
+	 *            Name of the field.
+	 * @return Id of the field or <code>-1</code> if the field is not handled by the accessor.
+	 */
+	int getFieldId(String fieldName);
+
+	/**
+	 * Writes the value of the field.
+	 *
+	 * @param fieldId
+	 *            Id of the field as returned by {@link #getFieldId(String)}.
+	 * @param output
+	 *            Output to write to.
+	 * @param object
+	 *            Object to read the value from.
+	 */
+	void write(int fieldId, Output output, T object);
+
+	/**
+	 * Reads the value of the field.
+	 *
+	 * @param fieldId
+	 *            Id of the field as returned by {@link #getFieldId(String)}.
+	 * @param input
+	 *            Input to read from.
+	 * @param object
+	 *            Object to set the value to.
+	 */
+	void read(int fieldId, Input input, T object);
+}
@@ -0,0 +1,162 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+
+/**
+ * {@link IFieldAccessor} for the {@link InvocationSequenceData}.
+ */
+public class InvocationSequenceDataFieldAccessor extends MethodSensorDataFieldAccessor<InvocationSequenceData> {
+
+	/**
+	 * Id of the <code>position</code> field.
+	 */
+	private static final int POSITION = 4;
+
+	/**
+	 * Id of the <code>duration</code> field.
+	 */
+	private static final int DURATION = 5;
+
+	/**
+	 * Id of the <code>start</code> field.
+	 */
+	private static final int START = 6;
+
+	/**
+	 * Id of the <code>end</code> field.
+	 */
+	private static final int END = 7;
+
+	/**
+	 * Id of the <code>childCount</code> field.
+	 */
+	private static final int CHILD_COUNT = 8;
+
+	/**
+	 * Id of the <code>collapsedCount</code> field.
+	 */
+	private static final int COLLAPSED_COUNT = 9;
+
+	/**
+	 * Id of the <code>samplingRate</code> field.
+	 */
+	private static final int SAMPLING_RATE = 10;
+
+	/**
+	 * Id of the <code>applicationId</code> field.
+	 */
+	private static final int APPLICATION_ID = 11;
+
+	/**
+	 * Id of the <code>businessTransactionId</code> field.
+	 */
+	private static final int BUSINESS_TRANSACTION_ID = 12;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("position".equals(fieldName)) {
+			return POSITION;
+		} else if ("duration".equals(fieldName)) {
+			return DURATION;
+		} else if ("start".equals(fieldName)) {
+			return START;
+		} else if ("end".equals(fieldName)) {
+			return END;
+		} else if ("childCount".equals(fieldName)) {
+			return CHILD_COUNT;
+		} else if ("collapsedCount".equals(fieldName)) {
+			return COLLAPSED_COUNT;
+		} else if ("samplingRate".equals(fieldName)) {
+			return SAMPLING_RATE;
+		} else if ("applicationId".equals(fieldName)) {
+			return APPLICATION_ID;
+		} else if ("businessTransactionId".equals(fieldName)) {
+			return BUSINESS_TRANSACTION_ID;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, InvocationSequenceData object) {
+		switch (fieldId) {
+		case POSITION:
+			output.writeLong(object.getPosition(), false);
+			break;
+		case DURATION:
+			output.writeDouble(object.getDuration());
+			break;
+		case START:
+			output.writeDouble(object.getStart());
+			break;
+		case END:
+			output.writeDouble(object.getEnd());
+			break;
+		case CHILD_COUNT:
+			output.writeLong(object.getChildCount(), false);
+			break;
+		case COLLAPSED_COUNT:
+			output.writeLong(object.getCollapsedCount(), false);
+			break;
+		case SAMPLING_RATE:
+			output.writeDouble(object.getSamplingRate());
+			break;
+		case APPLICATION_ID:
+			output.writeInt(object.getApplicationId(), false);
+			break;
+		case BUSINESS_TRANSACTION_ID:
+			output.writeInt(object.getBusinessTransactionId(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, InvocationSequenceData object) {
+		switch (fieldId) {
+		case POSITION:
+			object.setPosition(input.readLong(false));
+			break;
+		case DURATION:
+			object.setDuration(input.readDouble());
+			break;
+		case START:
+			object.setStart(input.readDouble());
+			break;
+		case END:
+			object.setEnd(input.readDouble());
+			break;
+		case CHILD_COUNT:
+			object.setChildCount(input.readLong(false));
+			break;
+		case COLLAPSED_COUNT:
+			object.setCollapsedCount(input.readLong(false));
+			break;
+		case SAMPLING_RATE:
+			object.setSamplingRate(input.readDouble());
+			break;
+		case APPLICATION_ID:
+			object.setApplicationId(input.readInt(false));
+			break;
+		case BUSINESS_TRANSACTION_ID:
+			object.setBusinessTransactionId(input.readInt(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,331 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.MemoryInformationData;
+
+/**
+ * {@link IFieldAccessor} for the {@link MemoryInformationData}.
+ */
+public class MemoryInformationDataFieldAccessor extends DefaultDataFieldAccessor<MemoryInformationData> {
+
+	/**
+	 * Id of the <code>count</code> field.
+	 */
+	private static final int COUNT = 3;
+
+	/**
+	 * Id of the <code>minFreePhysMemory</code> field.
+	 */
+	private static final int MIN_FREE_PHYS_MEMORY = 4;
+
+	/**
+	 * Id of the <code>maxFreePhysMemory</code> field.
+	 */
+	private static final int MAX_FREE_PHYS_MEMORY = 5;
+
+	/**
+	 * Id of the <code>totalFreePhysMemory</code> field.
+	 */
+	private static final int TOTAL_FREE_PHYS_MEMORY = 6;
+
+	/**
+	 * Id of the <code>minFreeSwapSpace</code> field.
+	 */
+	private static final int MIN_FREE_SWAP_SPACE = 7;
+
+	/**
+	 * Id of the <code>maxFreeSwapSpace</code> field.
+	 */
+	private static final int MAX_FREE_SWAP_SPACE = 8;
+
+	/**
+	 * Id of the <code>totalFreeSwapSpace</code> field.
+	 */
+	private static final int TOTAL_FREE_SWAP_SPACE = 9;
+
+	/**
+	 * Id of the <code>minComittedVirtualMemSize</code> field.
+	 */
+	private static final int MIN_COMITTED_VIRTUAL_MEM_SIZE = 10;
+
+	/**
+	 * Id of the <code>maxComittedVirtualMemSize</code> field.
+	 */
+	private static final int MAX_COMITTED_VIRTUAL_MEM_SIZE = 11;
+
+	/**
+	 * Id of the <code>totalComittedVirtualMemSize</code> field.
+	 */
+	private static final int TOTAL_COMITTED_VIRTUAL_MEM_SIZE = 12;
+
+	/**
+	 * Id of the <code>minUsedHeapMemorySize</code> field.
+	 */
+	private static final int MIN_USED_HEAP_MEMORY_SIZE = 13;
+
+	/**
+	 * Id of the <code>maxUsedHeapMemorySize</code> field.
+	 */
+	private static final int MAX_USED_HEAP_MEMORY_SIZE = 14;
+
+	/**
+	 * Id of the <code>totalUsedHeapMemorySize</code> field.
+	 */
+	private static final int TOTAL_USED_HEAP_MEMORY_SIZE = 15;
+
+	/**
+	 * Id of the <code>minComittedHeapMemorySize</code> field.
+	 */
+	private static final int MIN_COMITTED_HEAP_MEMORY_SIZE = 16;
+
+	/**
+	 * Id of the <code>maxComittedHeapMemorySize</code> field.
+	 */
+	private static final int MAX_COMITTED_HEAP_MEMORY_SIZE = 17;
+
+	/**
+	 * Id of the <code>totalComittedHeapMemorySize</code> field.
+	 */
+	private static final int TOTAL_COMITTED_HEAP_MEMORY_SIZE = 18;
+
+	/**
+	 * Id of the <code>minUsedNonHeapMemorySize</code> field.
+	 */
+	private static final int MIN_USED_NON_HEAP_MEMORY_SIZE = 19;
+
+	/**
+	 * Id of the <code>maxUsedNonHeapMemorySize</code> field.
+	 */
+	private static final int MAX_USED_NON_HEAP_MEMORY_SIZE = 20;
+
+	/**
+	 * Id of the <code>totalUsedNonHeapMemorySize</code> field.
+	 */
+	private static final int TOTAL_USED_NON_HEAP_MEMORY_SIZE = 21;
+
+	/**
+	 * Id of the <code>minComittedNonHeapMemorySize</code> field.
+	 */
+	private static final int MIN_COMITTED_NON_HEAP_MEMORY_SIZE = 22;
+
+	/**
+	 * Id of the <code>maxComittedNonHeapMemorySize</code> field.
+	 */
+	private static final int MAX_COMITTED_NON_HEAP_MEMORY_SIZE = 23;
+
+	/**
+	 * Id of the <code>totalComittedNonHeapMemorySize</code> field.
+	 */
+	private static final int TOTAL_COMITTED_NON_HEAP_MEMORY_SIZE = 24;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("count".equals(fieldName)) {
+			return COUNT;
+		} else if ("minFreePhysMemory".equals(fieldName)) {
+			return MIN_FREE_PHYS_MEMORY;
+		} else if ("maxFreePhysMemory".equals(fieldName)) {
+			return MAX_FREE_PHYS_MEMORY;
+		} else if ("totalFreePhysMemory".equals(fieldName)) {
+			return TOTAL_FREE_PHYS_MEMORY;
+		} else if ("minFreeSwapSpace".equals(fieldName)) {
+			return MIN_FREE_SWAP_SPACE;
+		} else if ("maxFreeSwapSpace".equals(fieldName)) {
+			return MAX_FREE_SWAP_SPACE;
+		} else if ("totalFreeSwapSpace".equals(fieldName)) {
+			return TOTAL_FREE_SWAP_SPACE;
+		} else if ("minComittedVirtualMemSize".equals(fieldName)) {
+			return MIN_COMITTED_VIRTUAL_MEM_SIZE;
+		} else if ("maxComittedVirtualMemSize".equals(fieldName)) {
+			return MAX_COMITTED_VIRTUAL_MEM_SIZE;
+		} else if ("totalComittedVirtualMemSize".equals(fieldName)) {
+			return TOTAL_COMITTED_VIRTUAL_MEM_SIZE;
+		} else if ("minUsedHeapMemorySize".equals(fieldName)) {
+			return MIN_USED_HEAP_MEMORY_SIZE;
+		} else if ("maxUsedHeapMemorySize".equals(fieldName)) {
+			return MAX_USED_HEAP_MEMORY_SIZE;
+		} else if ("totalUsedHeapMemorySize".equals(fieldName)) {
+			return TOTAL_USED_HEAP_MEMORY_SIZE;
+		} else if ("minComittedHeapMemorySize".equals(fieldName)) {
+			return MIN_COMITTED_HEAP_MEMORY_SIZE;
+		} else if ("maxComittedHeapMemorySize".equals(fieldName)) {
+			return MAX_COMITTED_HEAP_MEMORY_SIZE;
+		} else if ("totalComittedHeapMemorySize".equals(fieldName)) {
+			return TOTAL_COMITTED_HEAP_MEMORY_SIZE;
+		} else if ("minUsedNonHeapMemorySize".equals(fieldName)) {
+			return MIN_USED_NON_HEAP_MEMORY_SIZE;
+		} else if ("maxUsedNonHeapMemorySize".equals(fieldName)) {
+			return MAX_USED_NON_HEAP_MEMORY_SIZE;
+		} else if ("totalUsedNonHeapMemorySize".equals(fieldName)) {
+			return TOTAL_USED_NON_HEAP_MEMORY_SIZE;
+		} else if ("minComittedNonHeapMemorySize".equals(fieldName)) {
+			return MIN_COMITTED_NON_HEAP_MEMORY_SIZE;
+		} else if ("maxComittedNonHeapMemorySize".equals(fieldName)) {
+			return MAX_COMITTED_NON_HEAP_MEMORY_SIZE;
+		} else if ("totalComittedNonHeapMemorySize".equals(fieldName)) {
+			return TOTAL_COMITTED_NON_HEAP_MEMORY_SIZE;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, MemoryInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			output.writeInt(object.getCount(), false);
+			break;
+		case MIN_FREE_PHYS_MEMORY:
+			output.writeLong(object.getMinFreePhysMemory(), false);
+			break;
+		case MAX_FREE_PHYS_MEMORY:
+			output.writeLong(object.getMaxFreePhysMemory(), false);
+			break;
+		case TOTAL_FREE_PHYS_MEMORY:
+			output.writeLong(object.getTotalFreePhysMemory(), false);
+			break;
+		case MIN_FREE_SWAP_SPACE:
+			output.writeLong(object.getMinFreeSwapSpace(), false);
+			break;
+		case MAX_FREE_SWAP_SPACE:
+			output.writeLong(object.getMaxFreeSwapSpace(), false);
+			break;
+		case TOTAL_FREE_SWAP_SPACE:
+			output.writeLong(object.getTotalFreeSwapSpace(), false);
+			break;
+		case MIN_COMITTED_VIRTUAL_MEM_SIZE:
+			output.writeLong(object.getMinComittedVirtualMemSize(), false);
+			break;
+		case MAX_COMITTED_VIRTUAL_MEM_SIZE:
+			output.writeLong(object.getMaxComittedVirtualMemSize(), false);
+			break;
+		case TOTAL_COMITTED_VIRTUAL_MEM_SIZE:
+			output.writeLong(object.getTotalComittedVirtualMemSize(), false);
+			break;
+		case MIN_USED_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMinUsedHeapMemorySize(), false);
+			break;
+		case MAX_USED_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMaxUsedHeapMemorySize(), false);
+			break;
+		case TOTAL_USED_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getTotalUsedHeapMemorySize(), false);
+			break;
+		case MIN_COMITTED_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMinComittedHeapMemorySize(), false);
+			break;
+		case MAX_COMITTED_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMaxComittedHeapMemorySize(), false);
+			break;
+		case TOTAL_COMITTED_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getTotalComittedHeapMemorySize(), false);
+			break;
+		case MIN_USED_NON_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMinUsedNonHeapMemorySize(), false);
+			break;
+		case MAX_USED_NON_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMaxUsedNonHeapMemorySize(), false);
+			break;
+		case TOTAL_USED_NON_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getTotalUsedNonHeapMemorySize(), false);
+			break;
+		case MIN_COMITTED_NON_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMinComittedNonHeapMemorySize(), false);
+			break;
+		case MAX_COMITTED_NON_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getMaxComittedNonHeapMemorySize(), false);
+			break;
+		case TOTAL_COMITTED_NON_HEAP_MEMORY_SIZE:
+			output.writeLong(object.getTotalComittedNonHeapMemorySize(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, MemoryInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			object.setCount(input.readInt(false));
+			break;
+		case MIN_FREE_PHYS_MEMORY:
+			object.setMinFreePhysMemory(input.readLong(false));
+			break;
+		case MAX_FREE_PHYS_MEMORY:
+			object.setMaxFreePhysMemory(input.readLong(false));
+			break;
+		case TOTAL_FREE_PHYS_MEMORY:
+			object.setTotalFreePhysMemory(input.readLong(false));
+			break;
+		case MIN_FREE_SWAP_SPACE:
+			object.setMinFreeSwapSpace(input.readLong(false));
+			break;
+		case MAX_FREE_SWAP_SPACE:
+			object.setMaxFreeSwapSpace(input.readLong(false));
+			break;
+		case TOTAL_FREE_SWAP_SPACE:
+			object.setTotalFreeSwapSpace(input.readLong(false));
+			break;
+		case MIN_COMITTED_VIRTUAL_MEM_SIZE:
+			object.setMinComittedVirtualMemSize(input.readLong(false));
+			break;
+		case MAX_COMITTED_VIRTUAL_MEM_SIZE:
+			object.setMaxComittedVirtualMemSize(input.readLong(false));
+			break;
+		case TOTAL_COMITTED_VIRTUAL_MEM_SIZE:
+			object.setTotalComittedVirtualMemSize(input.readLong(false));
+			break;
+		case MIN_USED_HEAP_MEMORY_SIZE:
+			object.setMinUsedHeapMemorySize(input.readLong(false));
+			break;
+		case MAX_USED_HEAP_MEMORY_SIZE:
+			object.setMaxUsedHeapMemorySize(input.readLong(false));
+			break;
+		case TOTAL_USED_HEAP_MEMORY_SIZE:
+			object.setTotalUsedHeapMemorySize(input.readLong(false));
+			break;
+		case MIN_COMITTED_HEAP_MEMORY_SIZE:
+			object.setMinComittedHeapMemorySize(input.readLong(false));
+			break;
+		case MAX_COMITTED_HEAP_MEMORY_SIZE:
+			object.setMaxComittedHeapMemorySize(input.readLong(false));
+			break;
+		case TOTAL_COMITTED_HEAP_MEMORY_SIZE:
+			object.setTotalComittedHeapMemorySize(input.readLong(false));
+			break;
+		case MIN_USED_NON_HEAP_MEMORY_SIZE:
+			object.setMinUsedNonHeapMemorySize(input.readLong(false));
+			break;
+		case MAX_USED_NON_HEAP_MEMORY_SIZE:
+			object.setMaxUsedNonHeapMemorySize(input.readLong(false));
+			break;
+		case TOTAL_USED_NON_HEAP_MEMORY_SIZE:
+			object.setTotalUsedNonHeapMemorySize(input.readLong(false));
+			break;
+		case MIN_COMITTED_NON_HEAP_MEMORY_SIZE:
+			object.setMinComittedNonHeapMemorySize(input.readLong(false));
+			break;
+		case MAX_COMITTED_NON_HEAP_MEMORY_SIZE:
+			object.setMaxComittedNonHeapMemorySize(input.readLong(false));
+			break;
+		case TOTAL_COMITTED_NON_HEAP_MEMORY_SIZE:
+			object.setTotalComittedNonHeapMemorySize(input.readLong(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+
+/**
+ * {@link IFieldAccessor} for the {@link MethodSensorData}.
+ *
+ * @param <T>
+ *            Type of the method sensor data.
+ */
+public class MethodSensorDataFieldAccessor<T extends MethodSensorData> extends DefaultDataFieldAccessor<T> {
+
+	/**
+	 * Id of the <code>methodIdent</code> field.
+	 */
+	protected static final int METHOD_IDENT = 3;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("methodIdent".equals(fieldName)) {
+			return METHOD_IDENT;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, T object) {
+		switch (fieldId) {
+		case METHOD_IDENT:
+			output.writeLong(object.getMethodIdent(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, T object) {
+		switch (fieldId) {
+		case METHOD_IDENT:
+			object.setMethodIdent(input.readLong(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.RuntimeInformationData;
+
+/**
+ * {@link IFieldAccessor} for the {@link RuntimeInformationData}.
+ */
+public class RuntimeInformationDataFieldAccessor extends DefaultDataFieldAccessor<RuntimeInformationData> {
+
+	/**
+	 * Id of the <code>uptime</code> field.
+	 */
+	private static final int UPTIME = 3;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("uptime".equals(fieldName)) {
+			return UPTIME;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, RuntimeInformationData object) {
+		switch (fieldId) {
+		case UPTIME:
+			output.writeLong(object.getUptime(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, RuntimeInformationData object) {
+		switch (fieldId) {
+		case UPTIME:
+			object.setUptime(input.readLong(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
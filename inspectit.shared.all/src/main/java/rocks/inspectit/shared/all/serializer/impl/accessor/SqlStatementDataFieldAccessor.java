@@ -0,0 +1,58 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+
+/**
+ * {@link IFieldAccessor} for the {@link SqlStatementData}.
+ */
+public class SqlStatementDataFieldAccessor extends TimerDataFieldAccessor<SqlStatementData> {
+
+	/**
+	 * Id of the <code>preparedStatement</code> field.
+	 */
+	private static final int PREPARED_STATEMENT = 11;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("preparedStatement".equals(fieldName)) {
+			return PREPARED_STATEMENT;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, SqlStatementData object) {
+		switch (fieldId) {
+		case PREPARED_STATEMENT:
+			output.writeBoolean(object.isPreparedStatement());
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, SqlStatementData object) {
+		switch (fieldId) {
+		case PREPARED_STATEMENT:
+			object.setPreparedStatement(input.readBoolean());
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.ThreadInformationData;
+
+/**
+ * {@link IFieldAccessor} for the {@link ThreadInformationData}.
+ */
+public class ThreadInformationDataFieldAccessor extends DefaultDataFieldAccessor<ThreadInformationData> {
+
+	/**
+	 * Id of the <code>count</code> field.
+	 */
+	private static final int COUNT = 3;
+
+	/**
+	 * Id of the <code>minDaemonThreadCount</code> field.
+	 */
+	private static final int MIN_DAEMON_THREAD_COUNT = 4;
+
+	/**
+	 * Id of the <code>maxDaemonThreadCount</code> field.
+	 */
+	private static final int MAX_DAEMON_THREAD_COUNT = 5;
+
+	/**
+	 * Id of the <code>totalDaemonThreadCount</code> field.
+	 */
+	private static final int TOTAL_DAEMON_THREAD_COUNT = 6;
+
+	/**
+	 * Id of the <code>minPeakThreadCount</code> field.
+	 */
+	private static final int MIN_PEAK_THREAD_COUNT = 7;
+
+	/**
+	 * Id of the <code>maxPeakThreadCount</code> field.
+	 */
+	private static final int MAX_PEAK_THREAD_COUNT = 8;
+
+	/**
+	 * Id of the <code>totalPeakThreadCount</code> field.
+	 */
+	private static final int TOTAL_PEAK_THREAD_COUNT = 9;
+
+	/**
+	 * Id of the <code>minThreadCount</code> field.
+	 */
+	private static final int MIN_THREAD_COUNT = 10;
+
+	/**
+	 * Id of the <code>maxThreadCount</code> field.
+	 */
+	private static final int MAX_THREAD_COUNT = 11;
+
+	/**
+	 * Id of the <code>totalThreadCount</code> field.
+	 */
+	private static final int TOTAL_THREAD_COUNT = 12;
+
+	/**
+	 * Id of the <code>minTotalStartedThreadCount</code> field.
+	 */
+	private static final int MIN_TOTAL_STARTED_THREAD_COUNT = 13;
+
+	/**
+	 * Id of the <code>maxTotalStartedThreadCount</code> field.
+	 */
+	private static final int MAX_TOTAL_STARTED_THREAD_COUNT = 14;
+
+	/**
+	 * Id of the <code>totalTotalStartedThreadCount</code> field.
+	 */
+	private static final int TOTAL_TOTAL_STARTED_THREAD_COUNT = 15;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("count".equals(fieldName)) {
+			return COUNT;
+		} else if ("minDaemonThreadCount".equals(fieldName)) {
+			return MIN_DAEMON_THREAD_COUNT;
+		} else if ("maxDaemonThreadCount".equals(fieldName)) {
+			return MAX_DAEMON_THREAD_COUNT;
+		} else if ("totalDaemonThreadCount".equals(fieldName)) {
+			return TOTAL_DAEMON_THREAD_COUNT;
+		} else if ("minPeakThreadCount".equals(fieldName)) {
+			return MIN_PEAK_THREAD_COUNT;
+		} else if ("maxPeakThreadCount".equals(fieldName)) {
+			return MAX_PEAK_THREAD_COUNT;
+		} else if ("totalPeakThreadCount".equals(fieldName)) {
+			return TOTAL_PEAK_THREAD_COUNT;
+		} else if ("minThreadCount".equals(fieldName)) {
+			return MIN_THREAD_COUNT;
+		} else if ("maxThreadCount".equals(fieldName)) {
+			return MAX_THREAD_COUNT;
+		} else if ("totalThreadCount".equals(fieldName)) {
+			return TOTAL_THREAD_COUNT;
+		} else if ("minTotalStartedThreadCount".equals(fieldName)) {
+			return MIN_TOTAL_STARTED_THREAD_COUNT;
+		} else if ("maxTotalStartedThreadCount".equals(fieldName)) {
+			return MAX_TOTAL_STARTED_THREAD_COUNT;
+		} else if ("totalTotalStartedThreadCount".equals(fieldName)) {
+			return TOTAL_TOTAL_STARTED_THREAD_COUNT;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, ThreadInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			output.writeInt(object.getCount(), false);
+			break;
+		case MIN_DAEMON_THREAD_COUNT:
+			output.writeInt(object.getMinDaemonThreadCount(), false);
+			break;
+		case MAX_DAEMON_THREAD_COUNT:
+			output.writeInt(object.getMaxDaemonThreadCount(), false);
+			break;
+		case TOTAL_DAEMON_THREAD_COUNT:
+			output.writeInt(object.getTotalDaemonThreadCount(), false);
+			break;
+		case MIN_PEAK_THREAD_COUNT:
+			output.writeInt(object.getMinPeakThreadCount(), false);
+			break;
+		case MAX_PEAK_THREAD_COUNT:
+			output.writeInt(object.getMaxPeakThreadCount(), false);
+			break;
+		case TOTAL_PEAK_THREAD_COUNT:
+			output.writeInt(object.getTotalPeakThreadCount(), false);
+			break;
+		case MIN_THREAD_COUNT:
+			output.writeInt(object.getMinThreadCount(), false);
+			break;
+		case MAX_THREAD_COUNT:
+			output.writeInt(object.getMaxThreadCount(), false);
+			break;
+		case TOTAL_THREAD_COUNT:
+			output.writeInt(object.getTotalThreadCount(), false);
+			break;
+		case MIN_TOTAL_STARTED_THREAD_COUNT:
+			output.writeLong(object.getMinTotalStartedThreadCount(), false);
+			break;
+		case MAX_TOTAL_STARTED_THREAD_COUNT:
+			output.writeLong(object.getMaxTotalStartedThreadCount(), false);
+			break;
+		case TOTAL_TOTAL_STARTED_THREAD_COUNT:
+			output.writeLong(object.getTotalTotalStartedThreadCount(), false);
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, ThreadInformationData object) {
+		switch (fieldId) {
+		case COUNT:
+			object.setCount(input.readInt(false));
+			break;
+		case MIN_DAEMON_THREAD_COUNT:
+			object.setMinDaemonThreadCount(input.readInt(false));
+			break;
+		case MAX_DAEMON_THREAD_COUNT:
+			object.setMaxDaemonThreadCount(input.readInt(false));
+			break;
+		case TOTAL_DAEMON_THREAD_COUNT:
+			object.setTotalDaemonThreadCount(input.readInt(false));
+			break;
+		case MIN_PEAK_THREAD_COUNT:
+			object.setMinPeakThreadCount(input.readInt(false));
+			break;
+		case MAX_PEAK_THREAD_COUNT:
+			object.setMaxPeakThreadCount(input.readInt(false));
+			break;
+		case TOTAL_PEAK_THREAD_COUNT:
+			object.setTotalPeakThreadCount(input.readInt(false));
+			break;
+		case MIN_THREAD_COUNT:
+			object.setMinThreadCount(input.readInt(false));
+			break;
+		case MAX_THREAD_COUNT:
+			object.setMaxThreadCount(input.readInt(false));
+			break;
+		case TOTAL_THREAD_COUNT:
+			object.setTotalThreadCount(input.readInt(false));
+			break;
+		case MIN_TOTAL_STARTED_THREAD_COUNT:
+			object.setMinTotalStartedThreadCount(input.readLong(false));
+			break;
+		case MAX_TOTAL_STARTED_THREAD_COUNT:
+			object.setMaxTotalStartedThreadCount(input.readLong(false));
+			break;
+		case TOTAL_TOTAL_STARTED_THREAD_COUNT:
+			object.setTotalTotalStartedThreadCount(input.readLong(false));
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
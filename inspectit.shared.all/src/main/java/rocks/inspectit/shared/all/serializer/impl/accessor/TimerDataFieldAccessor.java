@@ -0,0 +1,140 @@
+package rocks.inspectit.shared.all.serializer.impl.accessor;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * {@link IFieldAccessor} for the {@link TimerData}. The minimum and maximum fields are not handled
+ * by the accessor, as they can only be changed with the calculate methods of the timer data.
+ *
+ * @param <T>
+ *            Type of the timer data.
+ */
+public class TimerDataFieldAccessor<T extends TimerData> extends MethodSensorDataFieldAccessor<T> {
+
+	/**
+	 * Id of the <code>count</code> field.
+	 */
+	protected static final int COUNT = 4;
+
+	/**
+	 * Id of the <code>duration</code> field.
+	 */
+	protected static final int DURATION = 5;
+
+	/**
+	 * Id of the <code>variance</code> field.
+	 */
+	protected static final int VARIANCE = 6;
+
+	/**
+	 * Id of the <code>cpuDuration</code> field.
+	 */
+	protected static final int CPU_DURATION = 7;
+
+	/**
+	 * Id of the <code>exclusiveCount</code> field.
+	 */
+	protected static final int EXCLUSIVE_COUNT = 8;
+
+	/**
+	 * Id of the <code>exclusiveDuration</code> field.
+	 */
+	protected static final int EXCLUSIVE_DURATION = 9;
+
+	/**
+	 * Id of the <code>charting</code> field.
+	 */
+	protected static final int CHARTING = 10;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getFieldId(String fieldName) {
+		if ("count".equals(fieldName)) {
+			return COUNT;
+		} else if ("duration".equals(fieldName)) {
+			return DURATION;
+		} else if ("variance".equals(fieldName)) {
+			return VARIANCE;
+		} else if ("cpuDuration".equals(fieldName)) {
+			return CPU_DURATION;
+		} else if ("exclusiveCount".equals(fieldName)) {
+			return EXCLUSIVE_COUNT;
+		} else if ("exclusiveDuration".equals(fieldName)) {
+			return EXCLUSIVE_DURATION;
+		} else if ("charting".equals(fieldName)) {
+			return CHARTING;
+		}
+		return super.getFieldId(fieldName);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int fieldId, Output output, T object) {
+		switch (fieldId) {
+		case COUNT:
+			output.writeLong(object.getCount(), false);
+			break;
+		case DURATION:
+			output.writeDouble(object.getDuration());
+			break;
+		case VARIANCE:
+			output.writeDouble(object.getVariance());
+			break;
+		case CPU_DURATION:
+			output.writeDouble(object.getCpuDuration());
+			break;
+		case EXCLUSIVE_COUNT:
+			output.writeLong(object.getExclusiveCount(), false);
+			break;
+		case EXCLUSIVE_DURATION:
+			output.writeDouble(object.getExclusiveDuration());
+			break;
+		case CHARTING:
+			output.writeBoolean(object.isCharting());
+			break;
+		default:
+			super.write(fieldId, output, object);
+			break;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void read(int fieldId, Input input, T object) {
+		switch (fieldId) {
+		case COUNT:
+			object.setCount(input.readLong(false));
+			break;
+		case DURATION:
+			object.setDuration(input.readDouble());
+			break;
+		case VARIANCE:
+			object.setVariance(input.readDouble());
+			break;
+		case CPU_DURATION:
+			object.setCpuDuration(input.readDouble());
+			break;
+		case EXCLUSIVE_COUNT:
+			object.setExclusiveCount(input.readLong(false));
+			break;
+		case EXCLUSIVE_DURATION:
+			object.setExclusiveDuration(input.readDouble());
+			break;
+		case CHARTING:
+			object.setCharting(input.readBoolean());
+			break;
+		default:
+			super.read(fieldId, input, object);
+			break;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package rocks.inspectit.shared.all.serializer.provider;
+
+import org.apache.commons.pool.BasePoolableObjectFactory;
+
+import rocks.inspectit.shared.all.serializer.ISerializerProvider;
+import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
+import rocks.inspectit.shared.all.util.ThreadAffineObjectPool;
+
+/**
+ * Pool of the {@link SerializationManager}s shared by all components that need a serializer only
+ * for a short time. Serializers are created with the given {@link ISerializerProvider} when the
+ * pool has no available one, thus the pool never blocks. A thread that releases a serializer gets
+ * the same serializer with the next acquire, so the Kryo instance and its buffers stay warm.
+ */
+public class SerializerPool extends ThreadAffineObjectPool<SerializationManager> {
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param serializerProvider
+	 *            Provider that creates new serializers.
+	 */
+	public SerializerPool(final ISerializerProvider<SerializationManager> serializerProvider) {
+		super(new BasePoolableObjectFactory<SerializationManager>() {
+			@Override
+			public SerializationManager makeObject() throws Exception {
+				return serializerProvider.createSerializer();
+			}
+		});
+	}
+
+	/**
+	 * Acquires the serializer from the pool. The serializer must be released with
+	 * {@link #releaseSerializer(SerializationManager)} after usage.
+	 *
+	 * @return {@link SerializationManager}
+	 */
+	public SerializationManager acquireSerializer() {
+		try {
+			return super.borrowObject();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException("Serializer can not be acquired from the pool.", e);
+		}
+	}
+
+	/**
+	 * Releases the serializer back to the pool.
+	 *
+	 * @param serializer
+	 *            {@link SerializationManager} acquired with {@link #acquireSerializer()}.
+	 */
+	public void releaseSerializer(SerializationManager serializer) {
+		super.returnObject(serializer);
+	}
+}
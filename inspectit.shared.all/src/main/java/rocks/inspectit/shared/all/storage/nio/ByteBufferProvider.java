@@ -5,7 +5,6 @@ import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
-import org.apache.commons.pool.impl.GenericObjectPool;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.InitializingBean;
@@ -15,6 +14,7 @@ import org.springframework.stereotype.Component;
 import rocks.inspectit.shared.all.cmr.property.spring.PropertyUpdate;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.all.storage.nio.bytebuffer.ByteBufferFactory;
+import rocks.inspectit.shared.all.util.ThreadAffineObjectPool;
 import rocks.inspectit.shared.all.util.UnderlyingSystemInfo;
 import rocks.inspectit.shared.all.util.UnderlyingSystemInfo.JvmProvider;
 
@@ -26,12 +26,15 @@ import rocks.inspectit.shared.all.util.UnderlyingSystemInfo.JvmProvider;
  * <P>
  * This class does not have protection against not returning a buffer, thus all components using the
  * provider have to ensure they will return the buffer to the provider.
+ * <P>
+ * The buffers are pooled in the {@link ThreadAffineObjectPool}, thus a thread that releases a
+ * buffer gets the same buffer with the next acquire without contending with the other threads.
  *
  * @author Ivan Senic
  *
  */
 @Component
-public class ByteBufferProvider extends GenericObjectPool<ByteBuffer> implements InitializingBean {
+public class ByteBufferProvider extends ThreadAffineObjectPool<ByteBuffer> implements InitializingBean {
 
 	/**
 	 * The log of this class.
@@ -110,7 +113,6 @@ public class ByteBufferProvider extends GenericObjectPool<ByteBuffer> implements
 		super(poolFactory);
 		this.poolFactory = poolFactory;
 		this.setMaxWait(maxWait);
-		this.setWhenExhaustedAction(WHEN_EXHAUSTED_BLOCK);
 	}
 
 	/**
@@ -175,6 +177,26 @@ public class ByteBufferProvider extends GenericObjectPool<ByteBuffer> implements
 		return super.getNumIdle() * bufferSize;
 	}
 
+	/**
+	 * Returns the amount of acquires that found no available buffer in the pool, thus a new direct
+	 * buffer had to be allocated.
+	 *
+	 * @return Returns the amount of acquires that had to allocate a new buffer.
+	 */
+	public long getBufferPoolMisses() {
+		return super.getMissCount();
+	}
+
+	/**
+	 * Returns the amount of direct memory in bytes occupied by the buffers of the pool, both
+	 * acquired and available ones.
+	 *
+	 * @return Returns the direct memory occupied by the pool buffers.
+	 */
+	public long getDirectMemoryUsage() {
+		return getCreatedCapacity();
+	}
+
 	/**
 	 * <i>This setter can be removed when the Spring3.0 on the GUI side is working properly.</i>
 	 *
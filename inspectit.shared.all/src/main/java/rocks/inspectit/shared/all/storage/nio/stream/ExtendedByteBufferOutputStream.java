@@ -174,6 +174,16 @@ public class ExtendedByteBufferOutputStream extends ByteBufferOutputStream {
 		return count;
 	}
 
+	/**
+	 * Sets {@link #byteBufferProvider}.
+	 *
+	 * @param byteBufferProvider
+	 *            New value for {@link #byteBufferProvider}
+	 */
+	public void setByteBufferProvider(ByteBufferProvider byteBufferProvider) {
+		this.byteBufferProvider = byteBufferProvider;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
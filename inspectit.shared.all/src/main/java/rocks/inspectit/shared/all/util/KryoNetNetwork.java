@@ -12,6 +12,7 @@ import com.esotericsoftware.kryonet.FrameworkMessage.RegisterUDP;
 import rocks.inspectit.shared.all.cmr.service.IAgentService;
 import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.cmr.service.IKeepAliveService;
+import rocks.inspectit.shared.all.kryonet.EnableCompression;
 import rocks.inspectit.shared.all.kryonet.rmi.ObjectSpace;
 
 /**
@@ -46,6 +47,9 @@ public final class KryoNetNetwork {
 		// this also must be called in this position cause we don't want to call it after the
 		// post processor from the CommonsCS registers new classes
 		ObjectSpace.registerClasses(kryo);
+
+		// message negotiating the frame compression
+		kryo.register(EnableCompression.class);
 	}
 
 }
@@ -0,0 +1,439 @@
+package rocks.inspectit.shared.all.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.pool.PoolableObjectFactory;
+
+/**
+ * Lock-free object pool with the thread affine fast path. Every thread has one slot where the last
+ * object returned by the thread is kept, so that the thread gets the same object back with the
+ * next borrow without touching any shared structure. If the slot of the thread is empty, the
+ * object is taken from the global idle queue and, as last resort, stolen from the slots of other
+ * threads. Only if no idle object is found, a new one is created with the factory and the miss is
+ * counted.
+ * <p>
+ * Like the commons-pool {@link org.apache.commons.pool.impl.GenericObjectPool}, the pool can limit
+ * the amount of borrowed objects ({@link #setMaxActive(int)}) and the amount of idle objects
+ * ({@link #setMaxIdle(int)}). Objects returned when the idle limit is reached are destroyed. When
+ * the active limit is reached, the borrowing thread waits at most {@link #setMaxWait(long)}
+ * milliseconds for an object to be returned. Negative limits mean no limit. Only the waiting for
+ * the exhausted pool blocks, borrowing and returning are otherwise lock-free.
+ *
+ * @param <T>
+ *            Type of the pooled objects.
+ */
+public class ThreadAffineObjectPool<T> {
+
+	/**
+	 * Factory creating, activating, passivating and destroying the objects.
+	 */
+	private final PoolableObjectFactory<T> factory;
+
+	/**
+	 * Slot of the current thread.
+	 */
+	private final ThreadLocal<Slot<T>> localSlot = new ThreadLocal<Slot<T>>();
+
+	/**
+	 * Slots of all threads, used for stealing idle objects.
+	 */
+	private final Queue<Slot<T>> slots = new ConcurrentLinkedQueue<Slot<T>>();
+
+	/**
+	 * Idle objects not kept in a thread slot.
+	 */
+	private final Queue<T> idleQueue = new ConcurrentLinkedQueue<T>();
+
+	/**
+	 * Amount of borrowed objects.
+	 */
+	private final AtomicInteger numActive = new AtomicInteger();
+
+	/**
+	 * Amount of idle objects, in the slots and in the idle queue.
+	 */
+	private final AtomicInteger numIdle = new AtomicInteger();
+
+	/**
+	 * Amount of borrows that had to create a new object.
+	 */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Amount of threads waiting for an object to be returned.
+	 */
+	private final AtomicInteger waiters = new AtomicInteger();
+
+	/**
+	 * Monitor the waiting threads wait on.
+	 */
+	private final Object waitMonitor = new Object();
+
+	/**
+	 * Maximum amount of borrowed objects, negative for no limit.
+	 */
+	private volatile int maxActive = -1;
+
+	/**
+	 * Maximum amount of idle objects, negative for no limit.
+	 */
+	private volatile int maxIdle = -1;
+
+	/**
+	 * Maximum time in milliseconds to wait for an object when the pool is exhausted, zero or
+	 * negative to wait until an object is available.
+	 */
+	private volatile long maxWait = -1;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param factory
+	 *            Factory creating, activating, passivating and destroying the objects.
+	 */
+	public ThreadAffineObjectPool(PoolableObjectFactory<T> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Borrows an object from the pool. The object of the current thread slot is preferred. If no
+	 * idle object exists, a new one is created.
+	 *
+	 * @return Borrowed object.
+	 * @throws NoSuchElementException
+	 *             If the pool is exhausted and no object was returned in the maximum wait time.
+	 * @throws Exception
+	 *             If the factory fails to create or activate the object.
+	 */
+	public T borrowObject() throws Exception {
+		reserveActive();
+
+		T object = null;
+		try {
+			object = pollIdle();
+			if (null == object) {
+				missCount.incrementAndGet();
+				object = factory.makeObject();
+			}
+			factory.activateObject(object);
+			return object;
+		} catch (Exception e) {
+			if (null != object) {
+				destroy(object);
+			}
+			releaseActive();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the borrowed object to the pool. The object is kept in the slot of the current
+	 * thread if it is empty. If the maximum amount of idle objects is reached, the object is
+	 * destroyed.
+	 *
+	 * @param object
+	 *            Object to return.
+	 */
+	public void returnObject(T object) {
+		try {
+			factory.passivateObject(object);
+			if (reserveIdle()) {
+				if (!getSlot().compareAndSet(null, object)) {
+					idleQueue.offer(object);
+				}
+			} else {
+				destroy(object);
+			}
+		} catch (Exception e) {
+			destroy(object);
+		} finally {
+			releaseActive();
+		}
+	}
+
+	/**
+	 * Creates a new object and adds it to the idle objects, so that it is available to any thread.
+	 * Can be used to fill the pool in advance.
+	 *
+	 * @throws Exception
+	 *             If the factory fails to create the object.
+	 */
+	public void addObject() throws Exception {
+		T object = factory.makeObject();
+		factory.passivateObject(object);
+		if (reserveIdle()) {
+			idleQueue.offer(object);
+		} else {
+			destroy(object);
+		}
+	}
+
+	/**
+	 * Returns the amount of borrowed objects.
+	 *
+	 * @return Returns the amount of borrowed objects.
+	 */
+	public int getNumActive() {
+		return numActive.get();
+	}
+
+	/**
+	 * Returns the amount of idle objects.
+	 *
+	 * @return Returns the amount of idle objects.
+	 */
+	public int getNumIdle() {
+		return numIdle.get();
+	}
+
+	/**
+	 * Returns the amount of borrows that found no idle object and had to create a new one.
+	 *
+	 * @return Returns the amount of borrows that found no idle object and had to create a new one.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Sets the maximum amount of borrowed objects, negative for no limit.
+	 *
+	 * @param maxActive
+	 *            Maximum amount of borrowed objects.
+	 */
+	public void setMaxActive(int maxActive) {
+		this.maxActive = maxActive;
+		signalWaiters();
+	}
+
+	/**
+	 * Sets the maximum amount of idle objects, negative for no limit.
+	 *
+	 * @param maxIdle
+	 *            Maximum amount of idle objects.
+	 */
+	public void setMaxIdle(int maxIdle) {
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds to wait for an object when the pool is exhausted, zero
+	 * or negative to wait until an object is available.
+	 *
+	 * @param maxWait
+	 *            Maximum wait time in milliseconds.
+	 */
+	public void setMaxWait(long maxWait) {
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Reserves one active object, waiting if the pool is exhausted.
+	 *
+	 * @throws NoSuchElementException
+	 *             If no object was returned in the maximum wait time.
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	private void reserveActive() throws NoSuchElementException, InterruptedException {
+		if (tryReserveActive()) {
+			return;
+		}
+
+		long wait = maxWait;
+		long deadline = System.currentTimeMillis() + wait;
+		waiters.incrementAndGet();
+		try {
+			synchronized (waitMonitor) {
+				while (!tryReserveActive()) {
+					if (wait > 0) {
+						long remaining = deadline - System.currentTimeMillis();
+						if (remaining <= 0) {
+							throw new NoSuchElementException("Pool exhausted, no object was returned in " + wait + " milliseconds.");
+						}
+						waitMonitor.wait(remaining);
+					} else {
+						waitMonitor.wait();
+					}
+				}
+			}
+		} finally {
+			waiters.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Tries to reserve one active object without waiting.
+	 *
+	 * @return If the object was reserved.
+	 */
+	private boolean tryReserveActive() {
+		while (true) {
+			int active = numActive.get();
+			int max = maxActive;
+			if ((max >= 0) && (active >= max)) {
+				return false;
+			}
+			if (numActive.compareAndSet(active, active + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Releases one active object and wakes up the waiting threads.
+	 */
+	private void releaseActive() {
+		numActive.decrementAndGet();
+		signalWaiters();
+	}
+
+	/**
+	 * Wakes up the threads waiting for an object, if there are any.
+	 */
+	private void signalWaiters() {
+		if (waiters.get() > 0) {
+			synchronized (waitMonitor) {
+				waitMonitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Reserves the place for one idle object.
+	 *
+	 * @return If the place was reserved, <code>false</code> if the maximum amount of idle objects
+	 *         is reached.
+	 */
+	private boolean reserveIdle() {
+		while (true) {
+			int idle = numIdle.get();
+			int max = maxIdle;
+			if ((max >= 0) && (idle >= max)) {
+				return false;
+			}
+			if (numIdle.compareAndSet(idle, idle + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Takes an idle object from the slot of the current thread, the idle queue or the slots of
+	 * other threads in this order.
+	 *
+	 * @return Idle object or <code>null</code> if there is none.
+	 */
+	private T pollIdle() {
+		Slot<T> slot = getSlot();
+		T object = slot.getAndSet(null);
+		if (null == object) {
+			object = idleQueue.poll();
+		}
+		if (null == object) {
+			object = steal(slot);
+		}
+		if (null != object) {
+			numIdle.decrementAndGet();
+		}
+		return object;
+	}
+
+	/**
+	 * Steals an idle object from the slot of another thread. Empty slots of the threads that are
+	 * not alive any more are removed.
+	 *
+	 * @param ownSlot
+	 *            Slot of the current thread.
+	 * @return Idle object or <code>null</code> if there is none.
+	 */
+	private T steal(Slot<T> ownSlot) {
+		for (Iterator<Slot<T>> it = slots.iterator(); it.hasNext();) {
+			Slot<T> slot = it.next();
+			if (slot == ownSlot) {
+				continue;
+			}
+			T object = slot.getAndSet(null);
+			if (null != object) {
+				return object;
+			}
+			if (!slot.isOwnerAlive()) {
+				it.remove();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the slot of the current thread, creating and registering it if needed.
+	 *
+	 * @return Slot of the current thread.
+	 */
+	private Slot<T> getSlot() {
+		Slot<T> slot = localSlot.get();
+		if (null == slot) {
+			slot = new Slot<T>(Thread.currentThread());
+			localSlot.set(slot);
+			slots.offer(slot);
+		}
+		return slot;
+	}
+
+	/**
+	 * Destroys the object with the factory.
+	 *
+	 * @param object
+	 *            Object to destroy.
+	 */
+	private void destroy(T object) {
+		try {
+			factory.destroyObject(object);
+		} catch (Exception e) { // NOPMD
+			// nothing to do, object is dropped anyway
+		}
+	}
+
+	/**
+	 * Slot of one thread holding at most one idle object.
+	 *
+	 * @param <T>
+	 *            Type of the pooled objects.
+	 */
+	private static class Slot<T> extends AtomicReference<T> {
+
+		/**
+		 * Generated UID.
+		 */
+		private static final long serialVersionUID = -2391845617351063785L;
+
+		/**
+		 * Thread owning the slot.
+		 */
+		private final transient WeakReference<Thread> owner;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param owner
+		 *            Thread owning the slot.
+		 */
+		Slot(Thread owner) {
+			this.owner = new WeakReference<Thread>(owner);
+		}
+
+		/**
+		 * @return If the thread owning the slot is still alive.
+		 */
+		boolean isOwnerAlive() {
+			Thread thread = owner.get();
+			return (null != thread) && thread.isAlive();
+		}
+	}
+}
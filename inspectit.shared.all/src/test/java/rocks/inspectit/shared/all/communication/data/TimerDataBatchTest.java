@@ -0,0 +1,104 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link TimerDataBatch}.
+ */
+@SuppressWarnings("PMD")
+public class TimerDataBatchTest extends TestBase {
+
+	TimerData timerData(long timeStamp, long methodIdent, double duration) {
+		TimerData timerData = new TimerData(new Timestamp(timeStamp), 1L, 2L, methodIdent);
+		timerData.increaseCount();
+		timerData.addDuration(duration);
+		timerData.calculateMin(duration);
+		timerData.calculateMax(duration);
+		return timerData;
+	}
+
+	public static class IsBatchable extends TimerDataBatchTest {
+
+		@Test
+		public void plainTimer() {
+			assertThat(TimerDataBatch.isBatchable(timerData(10L, 3L, 1d)), is(true));
+		}
+
+		@Test
+		public void subclass() {
+			assertThat(TimerDataBatch.isBatchable(new SqlStatementData(new Timestamp(10L), 1L, 2L, 3L)), is(false));
+		}
+
+		@Test
+		public void capturedParameters() {
+			TimerData timerData = timerData(10L, 3L, 1d);
+			timerData.addParameterContentData(new ParameterContentData());
+
+			assertThat(TimerDataBatch.isBatchable(timerData), is(false));
+		}
+
+		@Test
+		public void invocationAffiliation() {
+			TimerData timerData = timerData(10L, 3L, 1d);
+			timerData.addInvocationParentId(5L);
+
+			assertThat(TimerDataBatch.isBatchable(timerData), is(false));
+		}
+
+		@Test
+		public void exclusiveTime() {
+			TimerData timerData = timerData(10L, 3L, 1d);
+			timerData.increaseExclusiveCount();
+			timerData.addExclusiveDuration(1d);
+
+			assertThat(TimerDataBatch.isBatchable(timerData), is(false));
+		}
+
+		@Test
+		public void otherData() {
+			assertThat(TimerDataBatch.isBatchable(new ExceptionSensorData()), is(false));
+			assertThat(TimerDataBatch.isBatchable(null), is(false));
+		}
+	}
+
+	public static class Expand extends TimerDataBatchTest {
+
+		@Test
+		public void expand() {
+			TimerData first = timerData(20L, 3L, 1d);
+			TimerData second = timerData(10L, 4L, 2d);
+			second.setCpuDuration(1.5d);
+			second.calculateCpuMin(1.5d);
+			second.calculateCpuMax(1.5d);
+			second.setCharting(true);
+
+			TimerDataBatch batch = new TimerDataBatch(1L, 2L, Arrays.asList(first, second));
+			List<TimerData> expanded = batch.expand();
+
+			assertThat(batch.getSize(), is(2));
+			assertThat(batch.getTimeStamp().getTime(), is(10L));
+			assertThat(expanded, contains(first, second));
+			assertThat(expanded.get(1).isCharting(), is(true));
+			assertThat(expanded.get(1).getCpuMax(), is(1.5d));
+		}
+
+		@Test
+		public void empty() {
+			TimerDataBatch batch = new TimerDataBatch(1L, 2L, Collections.<TimerData> emptyList());
+
+			assertThat(batch.getSize(), is(0));
+			assertThat(batch.expand().isEmpty(), is(true));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package rocks.inspectit.shared.all.instrumentation.classcache.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class ClassHashTest extends TestBase {
+
+	static final String HEX_HASH = "0123456789abcdeffedcba9876543210";
+
+	public class FromString extends ClassHashTest {
+
+		@Test
+		public void hex() {
+			ClassHash classHash = ClassHash.fromString(HEX_HASH);
+
+			assertThat(classHash.getHigh(), is(0x0123456789abcdefL));
+			assertThat(classHash.getLow(), is(0xfedcba9876543210L));
+		}
+
+		@Test
+		public void upperCaseHex() {
+			ClassHash classHash = ClassHash.fromString(HEX_HASH.toUpperCase());
+
+			assertThat(classHash, is(ClassHash.fromString(HEX_HASH)));
+		}
+
+		@Test
+		public void longHexTruncated() {
+			ClassHash classHash = ClassHash.fromString(HEX_HASH + "00112233445566778899aabbccddeeff");
+
+			assertThat(classHash, is(ClassHash.fromString(HEX_HASH)));
+		}
+
+		@Test
+		public void notHex() {
+			ClassHash classHash = ClassHash.fromString("hash");
+
+			assertThat(classHash, is(ClassHash.fromString("hash")));
+			assertThat(classHash, is(not(ClassHash.fromString("other"))));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void nullString() {
+			ClassHash.fromString(null);
+		}
+	}
+
+	public class FromBytes extends ClassHashTest {
+
+		@Test
+		public void bytes() {
+			byte[] bytes = new byte[] { 0x01, 0x23, 0x45, 0x67, (byte) 0x89, (byte) 0xab, (byte) 0xcd, (byte) 0xef, (byte) 0xfe, (byte) 0xdc, (byte) 0xba, (byte) 0x98, 0x76, 0x54, 0x32, 0x10, 0x00 };
+
+			ClassHash classHash = ClassHash.fromBytes(bytes);
+
+			assertThat(classHash, is(ClassHash.fromString(HEX_HASH)));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void tooShort() {
+			ClassHash.fromBytes(new byte[8]);
+		}
+	}
+
+	public class ToString extends ClassHashTest {
+
+		@Test
+		public void hex() {
+			String string = new ClassHash(0x0123456789abcdefL, 0xfedcba9876543210L).toString();
+
+			assertThat(string, is(HEX_HASH));
+		}
+
+		@Test
+		public void leadingZeros() {
+			String string = new ClassHash(1L, 0L).toString();
+
+			assertThat(string, is("00000000000000010000000000000000"));
+		}
+	}
+
+}
@@ -0,0 +1,208 @@
+package rocks.inspectit.shared.all.kryonet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.storage.nio.ByteBufferProvider;
+import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link FrameCodec}.
+ */
+@SuppressWarnings("PMD")
+public class FrameCodecTest extends TestBase {
+
+	/**
+	 * Size of buffers {@link ByteBufferProvider} will return.
+	 */
+	private static final int BUFFER_SIZE = 1024;
+
+	@InjectMocks
+	FrameCodec codec;
+
+	@Mock
+	ByteBufferProvider byteBufferProvider;
+
+	ExtendedByteBufferOutputStream outputStream;
+
+	@BeforeMethod
+	public void init() throws IOException {
+		when(byteBufferProvider.acquireByteBuffer()).thenAnswer(new Answer<ByteBuffer>() {
+			@Override
+			public ByteBuffer answer(InvocationOnMock invocation) throws Throwable {
+				return ByteBuffer.allocate(BUFFER_SIZE);
+			}
+		});
+		outputStream = new ExtendedByteBufferOutputStream();
+		outputStream.setByteBufferProvider(byteBufferProvider);
+		outputStream.prepare();
+	}
+
+	/**
+	 * Compresses the given bytes written to the {@link #outputStream} after the offset.
+	 */
+	byte[] compress(byte[] bytes, int offset) throws IOException {
+		outputStream.write(new byte[offset]);
+		outputStream.write(bytes);
+		outputStream.flush(false);
+		ByteArrayOutputStream target = new ByteArrayOutputStream();
+		long written = codec.compress(outputStream, offset, target);
+		assertThat(written, is((long) target.size()));
+		return target.toByteArray();
+	}
+
+	/**
+	 * Reads all bytes of the stream.
+	 */
+	byte[] readAll(InputStream inputStream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[333];
+		int read;
+		while ((read = inputStream.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Creates bytes with many repetitions, similar to the serialized data.
+	 */
+	byte[] compressibleBytes(int length) {
+		byte[] bytes = new byte[length];
+		byte[] pattern = "rocks.inspectit.shared.all.communication.data.TimerData".getBytes();
+		Random random = new Random();
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (random.nextInt(10) == 0) ? (byte) random.nextInt() : pattern[i % pattern.length];
+		}
+		return bytes;
+	}
+
+	public static class Compress extends FrameCodecTest {
+
+		@Test
+		public void compressible() throws IOException {
+			byte[] bytes = compressibleBytes(10000);
+
+			byte[] compressed = compress(bytes, 0);
+
+			assertThat(compressed.length, is(lessThan(bytes.length)));
+			assertThat(readAll(codec.decompress(new ByteArrayInputStream(compressed))), is(equalTo(bytes)));
+			assertThat(codec.getDecompressedBytes(), is((long) bytes.length));
+			assertThat(codec.getCompressedBytes(), is((long) compressed.length));
+		}
+
+		@Test
+		public void incompressible() throws IOException {
+			byte[] bytes = new byte[10000];
+			new Random().nextBytes(bytes);
+
+			byte[] compressed = compress(bytes, 0);
+
+			// stored raw with the block header only
+			assertThat(compressed.length, is(bytes.length + 8));
+			assertThat(readAll(codec.decompress(new ByteArrayInputStream(compressed))), is(equalTo(bytes)));
+		}
+
+		@Test
+		public void multipleBlocks() throws IOException {
+			byte[] bytes = compressibleBytes((FrameCodec.BLOCK_SIZE * 3) + 17);
+
+			byte[] compressed = compress(bytes, 0);
+
+			assertThat(readAll(codec.decompress(new ByteArrayInputStream(compressed))), is(equalTo(bytes)));
+			assertThat(codec.getDecompressedBytes(), is((long) bytes.length));
+		}
+
+		@Test
+		public void offsetSkipped() throws IOException {
+			byte[] bytes = compressibleBytes(5000);
+
+			byte[] compressed = compress(bytes, 4);
+
+			assertThat(readAll(codec.decompress(new ByteArrayInputStream(compressed))), is(equalTo(bytes)));
+		}
+
+		@Test
+		public void sourceUnchanged() throws IOException {
+			byte[] bytes = compressibleBytes(5000);
+
+			compress(bytes, 0);
+
+			assertThat(outputStream.getTotalWriteSize(), is((long) bytes.length));
+			ByteBuffer buffer = outputStream.getAllByteBuffers().get(0);
+			assertThat(buffer.position(), is(0));
+			assertThat(buffer.remaining(), is(BUFFER_SIZE));
+		}
+
+		@Test
+		public void codecReused() throws IOException {
+			byte[] first = compressibleBytes(3000);
+			byte[] second = compressibleBytes(7000);
+
+			byte[] firstCompressed = compress(first, 0);
+			outputStream.prepare();
+			byte[] secondCompressed = compress(second, 0);
+
+			assertThat(readAll(codec.decompress(new ByteArrayInputStream(secondCompressed))), is(equalTo(second)));
+			assertThat(readAll(codec.decompress(new ByteArrayInputStream(firstCompressed))), is(equalTo(first)));
+			assertThat(codec.getDecompressedBytes(), is((long) first.length));
+		}
+	}
+
+	public static class Decompress extends FrameCodecTest {
+
+		@Test
+		public void empty() throws IOException {
+			assertThat(codec.decompress(new ByteArrayInputStream(new byte[0])).read(), is(-1));
+			assertThat(codec.getDecompressedBytes(), is(0L));
+		}
+
+		@Test(expectedExceptions = IOException.class)
+		public void truncated() throws IOException {
+			byte[] compressed = compress(compressibleBytes(5000), 0);
+
+			readAll(codec.decompress(new ByteArrayInputStream(Arrays.copyOf(compressed, compressed.length - 10))));
+		}
+
+		@Test(expectedExceptions = IOException.class)
+		public void invalidHeader() throws IOException {
+			byte[] compressed = compress(compressibleBytes(5000), 0);
+			compressed[0] = (byte) 0x7F;
+
+			readAll(codec.decompress(new ByteArrayInputStream(compressed)));
+		}
+
+		@Test
+		public void singleBytes() throws IOException {
+			byte[] bytes = compressibleBytes(2000);
+			byte[] compressed = compress(bytes, 0);
+
+			InputStream inputStream = codec.decompress(new ByteArrayInputStream(compressed));
+			for (byte b : bytes) {
+				assertThat(inputStream.read(), is(b & 0xFF));
+			}
+			assertThat(inputStream.read(), is(-1));
+			assertThat(codec.getCompressedBytes(), is(greaterThan(0L)));
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link DictionaryStringSerializer}.
+ */
+@SuppressWarnings("PMD")
+public class DictionaryStringSerializerTest extends TestBase {
+
+	private static final String SQL = "SELECT * FROM ORDERS WHERE CUSTOMER_ID = ? AND STATUS = ?";
+
+	Kryo writeKryo;
+
+	Kryo readKryo;
+
+	StringDictionary writeDictionary;
+
+	StringDictionary readDictionary;
+
+	@BeforeMethod
+	public void init() {
+		writeKryo = new Kryo();
+		writeKryo.register(String.class, new DictionaryStringSerializer());
+		writeKryo.register(ArrayList.class);
+		readKryo = new Kryo();
+		readKryo.register(String.class, new DictionaryStringSerializer());
+		readKryo.register(ArrayList.class);
+		writeDictionary = new StringDictionary();
+		readDictionary = new StringDictionary();
+		writeKryo.getContext().put(StringDictionary.CONTEXT_KEY, writeDictionary);
+		readKryo.getContext().put(StringDictionary.CONTEXT_KEY, readDictionary);
+	}
+
+	byte[] write(Object object) {
+		Output output = new Output(1024, -1);
+		writeKryo.writeClassAndObject(output, object);
+		return output.toBytes();
+	}
+
+	Object read(byte[] bytes) {
+		return readKryo.readClassAndObject(new Input(bytes));
+	}
+
+	public static class Serialize extends DictionaryStringSerializerTest {
+
+		@Test
+		public void repeatedString() {
+			byte[] first = write(new String(SQL));
+			writeDictionary.commit();
+			byte[] second = write(new String(SQL));
+			writeDictionary.commit();
+
+			Object firstRead = read(first);
+			Object secondRead = read(second);
+
+			assertThat((String) firstRead, is(SQL));
+			assertThat(secondRead, is(sameInstance(firstRead)));
+			assertThat(second.length, is(lessThan(first.length)));
+			assertThat(second.length, is(lessThan(SQL.length())));
+			assertThat(writeDictionary.getWriteSize(), is(1));
+			assertThat(readDictionary.getReadSize(), is(1));
+		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void stringsInCollection() {
+			List<String> strings = new ArrayList<String>(Arrays.asList("a", "b", "a", null, "c", "b"));
+
+			byte[] first = write(strings);
+			writeDictionary.commit();
+			byte[] second = write(strings);
+			writeDictionary.commit();
+
+			List<String> firstRead = (List<String>) read(first);
+			List<String> secondRead = (List<String>) read(second);
+
+			assertThat(firstRead, is(strings));
+			assertThat(secondRead, is(strings));
+			assertThat(secondRead.get(4), is(sameInstance(firstRead.get(4))));
+			assertThat(firstRead.get(3), is(nullValue()));
+		}
+
+		@Test
+		public void noDictionary() {
+			writeKryo.getContext().remove(StringDictionary.CONTEXT_KEY);
+			Kryo defaultKryo = new Kryo();
+
+			Output output = new Output(1024, -1);
+			defaultKryo.writeClassAndObject(output, SQL);
+
+			assertThat(write(SQL), is(output.toBytes()));
+			assertThat(writeDictionary.getWriteSize(), is(0));
+		}
+
+		@Test
+		public void longStringNotInDictionary() {
+			char[] chars = new char[10000];
+			Arrays.fill(chars, 'x');
+			String longString = new String(chars);
+
+			byte[] bytes = write(longString);
+
+			assertThat((String) read(bytes), is(longString));
+			assertThat(writeDictionary.getWriteSize(), is(0));
+			assertThat(readDictionary.getReadSize(), is(0));
+		}
+
+		@Test
+		public void rollback() {
+			write(SQL);
+			writeDictionary.rollback();
+
+			byte[] bytes = write(SQL);
+			writeDictionary.commit();
+
+			// first write never reached the other side
+			assertThat((String) read(bytes), is(SQL));
+			assertThat(readDictionary.getReadSize(), is(1));
+		}
+
+		@Test(expectedExceptions = IllegalStateException.class)
+		public void outOfSync() {
+			write(SQL);
+			writeDictionary.commit();
+			byte[] second = write(SQL);
+
+			read(second);
+		}
+
+		@Test
+		public void clear() {
+			write(SQL);
+			writeDictionary.commit();
+			writeDictionary.clear();
+
+			byte[] bytes = write(SQL);
+
+			assertThat((String) read(bytes), is(SQL));
+		}
+	}
+}
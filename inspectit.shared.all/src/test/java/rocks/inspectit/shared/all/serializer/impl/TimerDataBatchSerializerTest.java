@@ -0,0 +1,78 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.communication.data.TimerDataBatch;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link TimerDataBatchSerializer}.
+ */
+@SuppressWarnings("PMD")
+public class TimerDataBatchSerializerTest extends TestBase {
+
+	Kryo kryo;
+
+	@BeforeMethod
+	public void init() {
+		kryo = new Kryo();
+		kryo.register(TimerDataBatch.class, new TimerDataBatchSerializer());
+	}
+
+	TimerDataBatch roundTrip(TimerDataBatch batch) {
+		Output output = new Output(1024, -1);
+		kryo.writeClassAndObject(output, batch);
+		return (TimerDataBatch) kryo.readClassAndObject(new Input(output.toBytes()));
+	}
+
+	TimerData timerData(long timeStamp, long methodIdent, double duration) {
+		TimerData timerData = new TimerData(new Timestamp(timeStamp), 1L, 2L, methodIdent);
+		timerData.increaseCount();
+		timerData.addDuration(duration);
+		timerData.calculateMin(duration);
+		timerData.calculateMax(duration);
+		return timerData;
+	}
+
+	public static class Serialize extends TimerDataBatchSerializerTest {
+
+		@Test
+		public void roundTrip() {
+			TimerData first = timerData(1000L, 3L, 1d);
+			TimerData second = timerData(900L, 4L, 2d);
+			second.setCpuDuration(1.5d);
+			second.calculateCpuMin(1.5d);
+			second.calculateCpuMax(1.5d);
+			second.setCharting(true);
+			TimerDataBatch batch = new TimerDataBatch(1L, 2L, Arrays.asList(first, second));
+
+			TimerDataBatch read = roundTrip(batch);
+
+			assertThat(read, is(batch));
+			assertThat(read.expand(), contains(first, second));
+		}
+
+		@Test
+		public void empty() {
+			TimerDataBatch batch = new TimerDataBatch(1L, 2L, Arrays.<TimerData> asList());
+
+			TimerDataBatch read = roundTrip(batch);
+
+			assertThat(read, is(batch));
+			assertThat(read.getSize(), is(0));
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package rocks.inspectit.shared.all.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.pool.BasePoolableObjectFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link ThreadAffineObjectPool}.
+ */
+@SuppressWarnings("PMD")
+public class ThreadAffineObjectPoolTest {
+
+	/**
+	 * To be tested.
+	 */
+	private ThreadAffineObjectPool<Object> pool;
+
+	/**
+	 * Amount of destroyed objects.
+	 */
+	private AtomicInteger destroyed;
+
+	@BeforeMethod
+	public void init() {
+		destroyed = new AtomicInteger();
+		pool = new ThreadAffineObjectPool<Object>(new BasePoolableObjectFactory<Object>() {
+			@Override
+			public Object makeObject() {
+				return new Object();
+			}
+
+			@Override
+			public void destroyObject(Object obj) {
+				destroyed.incrementAndGet();
+			}
+		});
+	}
+
+	@Test
+	public void sameObjectForSameThread() throws Exception {
+		Object first = pool.borrowObject();
+		pool.returnObject(first);
+		Object second = pool.borrowObject();
+
+		assertThat(second, is(sameInstance(first)));
+		assertThat(pool.getMissCount(), is(1L));
+		assertThat(pool.getNumActive(), is(1));
+		assertThat(pool.getNumIdle(), is(0));
+	}
+
+	@Test
+	public void missWhenNothingIdle() throws Exception {
+		Object first = pool.borrowObject();
+		Object second = pool.borrowObject();
+
+		assertThat(second, is(not(sameInstance(first))));
+		assertThat(pool.getMissCount(), is(2L));
+		assertThat(pool.getNumActive(), is(2));
+	}
+
+	@Test
+	public void addedObjectBorrowed() throws Exception {
+		pool.addObject();
+
+		pool.borrowObject();
+
+		assertThat(pool.getMissCount(), is(0L));
+		assertThat(pool.getNumIdle(), is(0));
+	}
+
+	@Test
+	public void stealFromOtherThread() throws Exception {
+		final AtomicReference<Object> returned = new AtomicReference<Object>();
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Object object = pool.borrowObject();
+					pool.returnObject(object);
+					returned.set(object);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		thread.start();
+		thread.join();
+
+		Object object = pool.borrowObject();
+
+		assertThat(object, is(sameInstance(returned.get())));
+		assertThat(pool.getMissCount(), is(1L));
+	}
+
+	@Test
+	public void destroyOverMaxIdle() throws Exception {
+		pool.setMaxIdle(1);
+		Object first = pool.borrowObject();
+		Object second = pool.borrowObject();
+
+		pool.returnObject(first);
+		pool.returnObject(second);
+
+		assertThat(pool.getNumIdle(), is(1));
+		assertThat(pool.getNumActive(), is(0));
+		assertThat(destroyed.get(), is(1));
+	}
+
+	@Test(expectedExceptions = NoSuchElementException.class)
+	public void exhausted() throws Exception {
+		pool.setMaxActive(1);
+		pool.setMaxWait(10);
+		pool.borrowObject();
+
+		pool.borrowObject();
+	}
+
+	@Test
+	public void waitForReturned() throws Exception {
+		pool.setMaxActive(1);
+		pool.setMaxWait(5000);
+		final Object object = pool.borrowObject();
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				pool.returnObject(object);
+			}
+		});
+		thread.start();
+
+		Object borrowed = pool.borrowObject();
+		thread.join();
+
+		assertThat(borrowed, is(sameInstance(object)));
+		assertThat(pool.getNumActive(), is(1));
+	}
+}
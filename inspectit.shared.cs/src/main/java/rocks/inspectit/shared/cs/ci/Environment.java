@@ -26,6 +26,7 @@ import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementSensorCo
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.StatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.TimerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.IPlatformSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentOverheadSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
@@ -35,6 +36,7 @@ import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SystemSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
 import rocks.inspectit.shared.cs.ci.strategy.IStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.ListSendingStrategyConfig;
+import rocks.inspectit.shared.cs.ci.strategy.impl.RingBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.SimpleBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.SizeBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.TimeSendingStrategyConfig;
@@ -63,7 +65,7 @@ public class Environment extends AbstractCiData {
 	 * <p>
 	 * Default is {@link SimpleBufferStrategyConfig}.
 	 */
-	@XmlElementRefs({ @XmlElementRef(type = SimpleBufferStrategyConfig.class), @XmlElementRef(type = SizeBufferStrategyConfig.class) })
+	@XmlElementRefs({ @XmlElementRef(type = SimpleBufferStrategyConfig.class), @XmlElementRef(type = SizeBufferStrategyConfig.class), @XmlElementRef(type = RingBufferStrategyConfig.class) })
 	private IStrategyConfig bufferStrategyConfig = ConfigurationDefaultsFactory.getDefaultBufferStrategy();
 
 	/**
@@ -72,7 +74,7 @@ public class Environment extends AbstractCiData {
 	@XmlElementWrapper(name = "platform-sensor-configs")
 	@XmlElementRefs({ @XmlElementRef(type = ClassLoadingSensorConfig.class), @XmlElementRef(type = CompilationSensorConfig.class), @XmlElementRef(type = CpuSensorConfig.class),
 		@XmlElementRef(type = MemorySensorConfig.class), @XmlElementRef(type = RuntimeSensorConfig.class), @XmlElementRef(type = SystemSensorConfig.class),
-		@XmlElementRef(type = ThreadSensorConfig.class) })
+		@XmlElementRef(type = ThreadSensorConfig.class), @XmlElementRef(type = AgentOverheadSensorConfig.class) })
 	private final List<IPlatformSensorConfig> platformSensorConfigs = ConfigurationDefaultsFactory.getAvailablePlatformSensorConfigs();
 
 	/**
@@ -109,6 +111,18 @@ public class Environment extends AbstractCiData {
 	@XmlElement(name = "classLoadingDelegation")
 	private boolean classLoadingDelegation = true;
 
+	/**
+	 * If the agent compresses the data sent to the CMR.
+	 */
+	@XmlElement(name = "networkCompression")
+	private boolean networkCompression;
+
+	/**
+	 * Size of the agent disk spool in megabytes. Value <code>0</code> deactivates the spool.
+	 */
+	@XmlElement(name = "diskSpoolSize")
+	private int diskSpoolSize;
+
 	/**
 	 * Returns the {@link IMethodSensorConfig} for the given {@link IMethodSensorConfig} class.
 	 *
@@ -238,6 +252,44 @@ public class Environment extends AbstractCiData {
 		this.classLoadingDelegation = classLoadingDelegation;
 	}
 
+	/**
+	 * Gets {@link #networkCompression}.
+	 *
+	 * @return {@link #networkCompression}
+	 */
+	public boolean isNetworkCompression() {
+		return networkCompression;
+	}
+
+	/**
+	 * Sets {@link #networkCompression}.
+	 *
+	 * @param networkCompression
+	 *            New value for {@link #networkCompression}
+	 */
+	public void setNetworkCompression(boolean networkCompression) {
+		this.networkCompression = networkCompression;
+	}
+
+	/**
+	 * Gets {@link #diskSpoolSize}.
+	 *
+	 * @return {@link #diskSpoolSize}
+	 */
+	public int getDiskSpoolSize() {
+		return diskSpoolSize;
+	}
+
+	/**
+	 * Sets {@link #diskSpoolSize}.
+	 *
+	 * @param diskSpoolSize
+	 *            New value for {@link #diskSpoolSize}
+	 */
+	public void setDiskSpoolSize(int diskSpoolSize) {
+		this.diskSpoolSize = diskSpoolSize;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -247,9 +299,11 @@ public class Environment extends AbstractCiData {
 		int result = super.hashCode();
 		result = (prime * result) + ((this.bufferStrategyConfig == null) ? 0 : this.bufferStrategyConfig.hashCode());
 		result = (prime * result) + (this.classLoadingDelegation ? 1231 : 1237);
+		result = (prime * result) + this.diskSpoolSize;
 		result = (prime * result) + ((this.exceptionSensorConfig == null) ? 0 : this.exceptionSensorConfig.hashCode());
 		result = (prime * result) + ((this.jmxSensorConfig == null) ? 0 : this.jmxSensorConfig.hashCode());
 		result = (prime * result) + ((this.methodSensorConfigs == null) ? 0 : this.methodSensorConfigs.hashCode());
+		result = (prime * result) + (this.networkCompression ? 1231 : 1237);
 		result = (prime * result) + ((this.platformSensorConfigs == null) ? 0 : this.platformSensorConfigs.hashCode());
 		result = (prime * result) + ((this.profileIds == null) ? 0 : this.profileIds.hashCode());
 		result = (prime * result) + ((this.sendingStrategyConfig == null) ? 0 : this.sendingStrategyConfig.hashCode());
@@ -281,6 +335,9 @@ public class Environment extends AbstractCiData {
 		if (this.classLoadingDelegation != other.classLoadingDelegation) {
 			return false;
 		}
+		if (this.diskSpoolSize != other.diskSpoolSize) {
+			return false;
+		}
 		if (this.exceptionSensorConfig == null) {
 			if (other.exceptionSensorConfig != null) {
 				return false;
@@ -302,6 +359,9 @@ public class Environment extends AbstractCiData {
 		} else if (!this.methodSensorConfigs.equals(other.methodSensorConfigs)) {
 			return false;
 		}
+		if (this.networkCompression != other.networkCompression) {
+			return false;
+		}
 		if (this.platformSensorConfigs == null) {
 			if (other.platformSensorConfigs != null) {
 				return false;
@@ -18,6 +18,7 @@ import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementSensorCo
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.StatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.TimerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.IPlatformSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentOverheadSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
@@ -76,6 +77,7 @@ public final class ConfigurationDefaultsFactory {
 		platformSensorConfigs.add(new RuntimeSensorConfig());
 		platformSensorConfigs.add(new SystemSensorConfig());
 		platformSensorConfigs.add(new ThreadSensorConfig());
+		platformSensorConfigs.add(new AgentOverheadSensorConfig());
 		return platformSensorConfigs;
 	}
 
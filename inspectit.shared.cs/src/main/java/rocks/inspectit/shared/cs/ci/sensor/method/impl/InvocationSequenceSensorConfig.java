@@ -1,5 +1,8 @@
 package rocks.inspectit.shared.cs.ci.sensor.method.impl;
 
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import rocks.inspectit.shared.all.instrumentation.config.PriorityEnum;
@@ -25,6 +28,55 @@ public class InvocationSequenceSensorConfig extends StringConstraintSensorConfig
 	 */
 	public static final String CLASS_NAME = "rocks.inspectit.agent.java.sensor.method.invocationsequence.InvocationSequenceSensor";
 
+	/**
+	 * Maximum amount of invocations recorded in one sequence. Zero or negative value means
+	 * unlimited.
+	 */
+	@XmlAttribute(name = "maxNodes")
+	private int maxNodes;
+
+	/**
+	 * Maximum depth of the invocations recorded in one sequence. Zero or negative value means
+	 * unlimited.
+	 */
+	@XmlAttribute(name = "maxDepth")
+	private int maxDepth;
+
+	/**
+	 * If repeated identical sibling invocations without any measurement should be collapsed into
+	 * one counted invocation. Off by default.
+	 */
+	@XmlAttribute(name = "collapseRepetitions")
+	private boolean collapseRepetitions;
+
+	/**
+	 * Probability of recording the invocation sequence, in the range <code>[0, 1]</code>.
+	 */
+	@XmlAttribute(name = "samplingRate")
+	private double samplingRate = 1.0d;
+
+	/**
+	 * Maximum amount of recorded invocation sequences per second for one root method. Zero or
+	 * negative value means unlimited.
+	 */
+	@XmlAttribute(name = "maxTracesPerSecond")
+	private int maxTracesPerSecond;
+
+	/**
+	 * Not sampled invocation sequences slower than this duration in milliseconds are still sent
+	 * without nested invocations. Zero or negative value means not sampled are never kept because
+	 * of duration.
+	 */
+	@XmlAttribute(name = "keepSlowerThan")
+	private int keepSlowerThan;
+
+	/**
+	 * If not sampled invocation sequences that had an exception are still sent without nested
+	 * invocations. Only passed to the agent when sampling is configured.
+	 */
+	@XmlAttribute(name = "keepErrors")
+	private boolean keepErrors = true;
+
 	/**
 	 * No-args constructor.
 	 */
@@ -64,4 +116,177 @@ public class InvocationSequenceSensorConfig extends StringConstraintSensorConfig
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, Object> getParameters() {
+		Map<String, Object> parameters = super.getParameters();
+
+		// only the configured limits are passed, so that without them the agent records the
+		// complete invocation sequences as before
+		if (maxNodes > 0) {
+			parameters.put("maxnodes", String.valueOf(maxNodes));
+		}
+		if (maxDepth > 0) {
+			parameters.put("maxdepth", String.valueOf(maxDepth));
+		}
+		if (collapseRepetitions) {
+			parameters.put("collapserepetitions", "true");
+		}
+
+		boolean sampling = false;
+		if (samplingRate < 1.0d) {
+			parameters.put("samplingrate", String.valueOf(samplingRate));
+			sampling = true;
+		}
+		if (maxTracesPerSecond > 0) {
+			parameters.put("maxtracespersecond", String.valueOf(maxTracesPerSecond));
+			sampling = true;
+		}
+		if (sampling) {
+			if (keepSlowerThan > 0) {
+				parameters.put("keepslowerthan", String.valueOf(keepSlowerThan));
+			}
+			if (keepErrors) {
+				parameters.put("keeperrors", "true");
+			}
+		}
+
+		return parameters;
+	}
+
+	/**
+	 * Gets {@link #maxNodes}.
+	 *
+	 * @return {@link #maxNodes}
+	 */
+	public int getMaxNodes() {
+		return maxNodes;
+	}
+
+	/**
+	 * Sets {@link #maxNodes}.
+	 *
+	 * @param maxNodes
+	 *            New value for {@link #maxNodes}
+	 */
+	public void setMaxNodes(int maxNodes) {
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * Gets {@link #maxDepth}.
+	 *
+	 * @return {@link #maxDepth}
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Sets {@link #maxDepth}.
+	 *
+	 * @param maxDepth
+	 *            New value for {@link #maxDepth}
+	 */
+	public void setMaxDepth(int maxDepth) {
+		this.maxDepth = maxDepth;
+	}
+
+	/**
+	 * Gets {@link #collapseRepetitions}.
+	 *
+	 * @return {@link #collapseRepetitions}
+	 */
+	public boolean isCollapseRepetitions() {
+		return collapseRepetitions;
+	}
+
+	/**
+	 * Sets {@link #collapseRepetitions}.
+	 *
+	 * @param collapseRepetitions
+	 *            New value for {@link #collapseRepetitions}
+	 */
+	public void setCollapseRepetitions(boolean collapseRepetitions) {
+		this.collapseRepetitions = collapseRepetitions;
+	}
+
+	/**
+	 * Gets {@link #samplingRate}.
+	 *
+	 * @return {@link #samplingRate}
+	 */
+	public double getSamplingRate() {
+		return samplingRate;
+	}
+
+	/**
+	 * Sets {@link #samplingRate}.
+	 *
+	 * @param samplingRate
+	 *            New value for {@link #samplingRate}
+	 */
+	public void setSamplingRate(double samplingRate) {
+		this.samplingRate = samplingRate;
+	}
+
+	/**
+	 * Gets {@link #maxTracesPerSecond}.
+	 *
+	 * @return {@link #maxTracesPerSecond}
+	 */
+	public int getMaxTracesPerSecond() {
+		return maxTracesPerSecond;
+	}
+
+	/**
+	 * Sets {@link #maxTracesPerSecond}.
+	 *
+	 * @param maxTracesPerSecond
+	 *            New value for {@link #maxTracesPerSecond}
+	 */
+	public void setMaxTracesPerSecond(int maxTracesPerSecond) {
+		this.maxTracesPerSecond = maxTracesPerSecond;
+	}
+
+	/**
+	 * Gets {@link #keepSlowerThan}.
+	 *
+	 * @return {@link #keepSlowerThan}
+	 */
+	public int getKeepSlowerThan() {
+		return keepSlowerThan;
+	}
+
+	/**
+	 * Sets {@link #keepSlowerThan}.
+	 *
+	 * @param keepSlowerThan
+	 *            New value for {@link #keepSlowerThan}
+	 */
+	public void setKeepSlowerThan(int keepSlowerThan) {
+		this.keepSlowerThan = keepSlowerThan;
+	}
+
+	/**
+	 * Gets {@link #keepErrors}.
+	 *
+	 * @return {@link #keepErrors}
+	 */
+	public boolean isKeepErrors() {
+		return keepErrors;
+	}
+
+	/**
+	 * Sets {@link #keepErrors}.
+	 *
+	 * @param keepErrors
+	 *            New value for {@link #keepErrors}
+	 */
+	public void setKeepErrors(boolean keepErrors) {
+		this.keepErrors = keepErrors;
+	}
+
 }
@@ -1,5 +1,8 @@
 package rocks.inspectit.shared.cs.ci.sensor.method.impl;
 
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import rocks.inspectit.shared.all.instrumentation.config.PriorityEnum;
@@ -25,6 +28,14 @@ public class TimerSensorConfig extends StringConstraintSensorConfig implements I
 	 */
 	public static final String CLASS_NAME = "rocks.inspectit.agent.java.sensor.method.timer.TimerSensor";
 
+	/**
+	 * If the timer data of one method should be aggregated in a way that is safe for the
+	 * concurrent updates from many threads. Results in the <i>striped</i> timer storage mode on
+	 * the agent.
+	 */
+	@XmlAttribute(name = "concurrent-aggregation")
+	private boolean concurrentAggregation;
+
 	/**
 	 * No-args constructor.
 	 */
@@ -64,4 +75,67 @@ public class TimerSensorConfig extends StringConstraintSensorConfig implements I
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, Object> getParameters() {
+		Map<String, Object> params = super.getParameters();
+		if (concurrentAggregation) {
+			params.put("mode", "striped");
+		}
+		return params;
+	}
+
+	/**
+	 * Gets {@link #concurrentAggregation}.
+	 *
+	 * @return {@link #concurrentAggregation}
+	 */
+	public boolean isConcurrentAggregation() {
+		return concurrentAggregation;
+	}
+
+	/**
+	 * Sets {@link #concurrentAggregation}.
+	 *
+	 * @param concurrentAggregation
+	 *            New value for {@link #concurrentAggregation}
+	 */
+	public void setConcurrentAggregation(boolean concurrentAggregation) {
+		this.concurrentAggregation = concurrentAggregation;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = (prime * result) + (concurrentAggregation ? 1231 : 1237);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		TimerSensorConfig other = (TimerSensorConfig) obj;
+		if (concurrentAggregation != other.concurrentAggregation) {
+			return false;
+		}
+		return true;
+	}
+
 }
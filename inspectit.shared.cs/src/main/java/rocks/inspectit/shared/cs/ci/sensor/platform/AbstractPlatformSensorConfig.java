@@ -8,6 +8,7 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlSeeAlso;
 
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentOverheadSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
@@ -24,7 +25,7 @@ import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
  */
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlSeeAlso({ ClassLoadingSensorConfig.class, CompilationSensorConfig.class, CpuSensorConfig.class, MemorySensorConfig.class, RuntimeSensorConfig.class, SystemSensorConfig.class,
-		ThreadSensorConfig.class })
+		ThreadSensorConfig.class, AgentOverheadSensorConfig.class })
 public abstract class AbstractPlatformSensorConfig implements IPlatformSensorConfig {
 
 	/**
@@ -0,0 +1,35 @@
+package rocks.inspectit.shared.cs.ci.sensor.platform.impl;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import rocks.inspectit.shared.cs.ci.sensor.platform.AbstractPlatformSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.IPlatformSensorConfig;
+
+/**
+ * Sensor configuration for the self-monitoring of the agent overhead. Not active by default, as
+ * measuring the overhead adds some overhead itself.
+ */
+@XmlRootElement(name = "agent-overhead-sensor-config")
+public class AgentOverheadSensorConfig extends AbstractPlatformSensorConfig implements IPlatformSensorConfig {
+
+	/**
+	 * Implementing class name.
+	 */
+	public static final String CLASS_NAME = "rocks.inspectit.agent.java.sensor.platform.AgentOverheadInformation";
+
+	/**
+	 * No-args constructor.
+	 */
+	public AgentOverheadSensorConfig() {
+		setActive(false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getClassName() {
+		return CLASS_NAME;
+	}
+
+}
@@ -0,0 +1,184 @@
+package rocks.inspectit.shared.cs.ci.strategy.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlEnum;
+import javax.xml.bind.annotation.XmlEnumValue;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import rocks.inspectit.shared.cs.ci.strategy.IStrategyConfig;
+
+/**
+ * Configuration for the ring buffer strategy.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlRootElement(name = "ring-buffer-strategy-config")
+public class RingBufferStrategyConfig implements IStrategyConfig {
+
+	/**
+	 * Implementing class name.
+	 */
+	private static final String CLASS_NAME = "rocks.inspectit.agent.java.buffer.impl.RingBufferStrategy";
+
+	/**
+	 * Buffer size.
+	 * <p>
+	 * Default size is {@value #size}.
+	 */
+	@XmlAttribute(name = "size", required = true)
+	private int size = 12;
+
+	/**
+	 * Policy used when the buffer is full.
+	 */
+	@XmlAttribute(name = "drop-policy")
+	private DropPolicy dropPolicy = DropPolicy.OLDEST;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getClassName() {
+		return CLASS_NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, String> getSettings() {
+		Map<String, String> settings = new HashMap<>(2);
+		settings.put("size", String.valueOf(size));
+		settings.put("dropPolicy", dropPolicy.getValue());
+		return settings;
+	}
+
+	/**
+	 * Gets {@link #size}.
+	 *
+	 * @return {@link #size}
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Sets {@link #size}.
+	 *
+	 * @param size
+	 *            New value for {@link #size}
+	 */
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Gets {@link #dropPolicy}.
+	 *
+	 * @return {@link #dropPolicy}
+	 */
+	public DropPolicy getDropPolicy() {
+		return dropPolicy;
+	}
+
+	/**
+	 * Sets {@link #dropPolicy}.
+	 *
+	 * @param dropPolicy
+	 *            New value for {@link #dropPolicy}
+	 */
+	public void setDropPolicy(DropPolicy dropPolicy) {
+		this.dropPolicy = dropPolicy;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = (prime * result) + size;
+		result = (prime * result) + ((dropPolicy == null) ? 0 : dropPolicy.hashCode());
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		RingBufferStrategyConfig other = (RingBufferStrategyConfig) obj;
+		if (size != other.size) {
+			return false;
+		}
+		if (dropPolicy != other.dropPolicy) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Policy defining which data is dropped when the buffer is full.
+	 */
+	@XmlEnum(String.class)
+	public enum DropPolicy {
+
+		/**
+		 * The oldest buffered batch is dropped.
+		 */
+		@XmlEnumValue("oldest")
+		OLDEST("oldest"),
+
+		/**
+		 * The new batch is dropped.
+		 */
+		@XmlEnumValue("newest")
+		NEWEST("newest"),
+
+		/**
+		 * The new batch is kept with decreasing probability the longer the buffer is full.
+		 */
+		@XmlEnumValue("sampling")
+		SAMPLING("sampling");
+
+		/**
+		 * Value passed to the agent.
+		 */
+		private final String value;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param value
+		 *            Value passed to the agent.
+		 */
+		DropPolicy(String value) {
+			this.value = value;
+		}
+
+		/**
+		 * Gets {@link #value}.
+		 *
+		 * @return {@link #value}
+		 */
+		public String getValue() {
+			return value;
+		}
+
+	}
+
+}
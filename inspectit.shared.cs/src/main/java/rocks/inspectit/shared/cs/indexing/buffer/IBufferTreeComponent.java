@@ -1,7 +1,12 @@
 package rocks.inspectit.shared.cs.indexing.buffer;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.cs.indexing.ITreeComponent;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
 
@@ -54,4 +59,61 @@ public interface IBufferTreeComponent<E> extends ITreeComponent<E, E> {
 	 */
 	long getNumberOfElements();
 
+	/**
+	 * Returns the first <code>limit</code> elements that satisfy the query, sorted by the given
+	 * comparator. The result is the same as sorting the result of {@link #query(IIndexQuery)} and
+	 * taking the first <code>limit</code> elements, but only <code>limit</code> elements are kept
+	 * in memory during the search.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param comparator
+	 *            Comparator defining the order of the result.
+	 * @param limit
+	 *            Maximum number of elements to return.
+	 * @return Sorted list of elements, or empty list if nothing is found.
+	 */
+	List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit);
+
+	/**
+	 * Returns the first <code>limit</code> elements that satisfy the query, sorted by the given
+	 * comparator. Uses Join&Fork, each task keeps its own bounded result that is merged to the
+	 * result of the parent task.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param comparator
+	 *            Comparator defining the order of the result.
+	 * @param limit
+	 *            Maximum number of elements to return.
+	 * @param forkJoinPool
+	 *            The Pool which starts and manages the forks
+	 * @return Sorted list of elements, or empty list if nothing is found.
+	 * @see #query(IIndexQuery, Comparator, int)
+	 */
+	List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit, ForkJoinPool forkJoinPool);
+
+	/**
+	 * Offers all elements of this tree component that satisfy the query to the given result.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param result
+	 *            Result to offer the elements to.
+	 */
+	void query(IIndexQuery query, TopKQueryResult<E> result);
+
+	/**
+	 * Creates a fitting task for the top-k query.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param comparator
+	 *            Comparator defining the order of the result.
+	 * @param limit
+	 *            Maximum number of elements to return.
+	 * @return Task.
+	 */
+	RecursiveTask<TopKQueryResult<E>> getTaskForForkJoinQuery(IIndexQuery query, Comparator<? super E> comparator, int limit);
+
 }
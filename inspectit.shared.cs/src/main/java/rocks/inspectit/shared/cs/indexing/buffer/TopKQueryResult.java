@@ -0,0 +1,205 @@
+package rocks.inspectit.shared.cs.indexing.buffer;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.comparator.DefaultDataComparatorEnum;
+import rocks.inspectit.shared.all.communication.comparator.ResultComparator;
+
+/**
+ * Result of the query that needs only the first {@link #limit} elements sorted by the
+ * {@link #comparator}. The elements are kept in a bounded heap, so that an element is only kept if
+ * it is among the first {@link #limit} elements offered so far. This way the complete query result
+ * never has to be materialized and sorted.
+ * <p>
+ * If the comparator sorts by the time stamp only, the result can tell the tree components if
+ * elements of a certain time period can still enter the result, so that the tree components
+ * indexed by time can stop the search early.
+ *
+ * @param <E>
+ *            Type of the elements in the result.
+ */
+public class TopKQueryResult<E> {
+
+	/**
+	 * Maximum initial capacity of the heap.
+	 */
+	private static final int MAX_INITIAL_CAPACITY = 64;
+
+	/**
+	 * Comparator defining the order of the result.
+	 */
+	private final Comparator<? super E> comparator;
+
+	/**
+	 * Maximum number of elements in the result.
+	 */
+	private final int limit;
+
+	/**
+	 * Heap with the worst kept element on the head.
+	 */
+	private final PriorityQueue<E> heap;
+
+	/**
+	 * <code>1</code> if the comparator sorts by time stamp ascending, <code>-1</code> if it sorts
+	 * by time stamp descending, <code>0</code> if the comparator does not sort by time stamp only.
+	 */
+	private final int timeOrder;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param comparator
+	 *            Comparator defining the order of the result.
+	 * @param limit
+	 *            Maximum number of elements in the result.
+	 */
+	public TopKQueryResult(final Comparator<? super E> comparator, int limit) {
+		if (null == comparator) {
+			throw new IllegalArgumentException("Comparator must be provided for the top-k query.");
+		}
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit of the top-k query must not be negative.");
+		}
+		this.comparator = comparator;
+		this.limit = limit;
+		this.heap = new PriorityQueue<>(Math.max(1, Math.min(limit, MAX_INITIAL_CAPACITY)), new Comparator<E>() {
+
+			@Override
+			public int compare(E o1, E o2) {
+				return comparator.compare(o2, o1);
+			}
+		});
+		this.timeOrder = getTimeOrder(comparator);
+	}
+
+	/**
+	 * Offers the element to the result. The element is kept if the result is not full or if the
+	 * element is before the worst element in the result.
+	 *
+	 * @param element
+	 *            Element to offer.
+	 * @return <code>true</code> if the element was kept.
+	 */
+	public boolean offer(E element) {
+		if (heap.size() < limit) {
+			heap.offer(element);
+			return true;
+		} else if ((limit > 0) && (comparator.compare(element, heap.peek()) < 0)) {
+			heap.poll();
+			heap.offer(element);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Offers all elements of the other result to this one.
+	 *
+	 * @param other
+	 *            Result to merge.
+	 */
+	public void merge(TopKQueryResult<E> other) {
+		for (E element : other.heap) {
+			offer(element);
+		}
+	}
+
+	/**
+	 * @return If the result holds {@link #limit} elements already.
+	 */
+	public boolean isFull() {
+		return heap.size() >= limit;
+	}
+
+	/**
+	 * @return If the comparator sorts by the time stamp only.
+	 */
+	public boolean isTimeOrdered() {
+		return 0 != timeOrder;
+	}
+
+	/**
+	 * @return If the comparator sorts by the time stamp descending, thus newest elements first.
+	 */
+	public boolean isNewestFirst() {
+		return timeOrder < 0;
+	}
+
+	/**
+	 * Returns if any element with the time stamp in the given period can still enter the result.
+	 * Always <code>true</code> if the result is not full or the comparator does not sort by the
+	 * time stamp.
+	 *
+	 * @param periodStart
+	 *            Start of the period in milliseconds (inclusive).
+	 * @param periodEnd
+	 *            End of the period in milliseconds (exclusive).
+	 * @return <code>false</code> if no element of the period can enter the result.
+	 */
+	public boolean canAccept(long periodStart, long periodEnd) {
+		if (!isTimeOrdered() || !isFull()) {
+			return true;
+		}
+		if (0 == limit) {
+			return false;
+		}
+
+		Timestamp worstTimestamp = ((DefaultData) heap.peek()).getTimeStamp();
+		if (null == worstTimestamp) {
+			return true;
+		}
+		long worst = worstTimestamp.getTime();
+		if (timeOrder > 0) {
+			return periodStart < worst;
+		} else {
+			return (periodEnd - 1) > worst;
+		}
+	}
+
+	/**
+	 * @return Returns the elements of the result sorted by the comparator.
+	 */
+	public List<E> getSortedList() {
+		List<E> result = new ArrayList<>(heap);
+		Collections.sort(result, comparator);
+		return result;
+	}
+
+	/**
+	 * Returns if the given comparator sorts by the time stamp only.
+	 *
+	 * @param comparator
+	 *            Comparator.
+	 * @return If the comparator sorts by the time stamp only.
+	 */
+	public static boolean isTimeOrdered(Comparator<?> comparator) {
+		return 0 != getTimeOrder(comparator);
+	}
+
+	/**
+	 * Returns the time order of the comparator.
+	 *
+	 * @param comparator
+	 *            Comparator.
+	 * @return <code>1</code> for ascending, <code>-1</code> for descending time stamp order and
+	 *         <code>0</code> if the comparator does not sort by the time stamp only.
+	 */
+	private static int getTimeOrder(Comparator<?> comparator) {
+		if (DefaultDataComparatorEnum.TIMESTAMP == comparator) {
+			return 1;
+		} else if (comparator instanceof ResultComparator) {
+			ResultComparator<?> resultComparator = (ResultComparator<?>) comparator;
+			if (DefaultDataComparatorEnum.TIMESTAMP == resultComparator.getComparator()) {
+				return resultComparator.isAscending() ? 1 : -1;
+			}
+		}
+		return 0;
+	}
+}
@@ -1,14 +1,26 @@
 package rocks.inspectit.shared.cs.indexing.buffer.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.apache.commons.lang.ArrayUtils;
 
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.cs.indexing.AbstractBranch;
 import rocks.inspectit.shared.cs.indexing.ITreeComponent;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferBranchIndexer;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
+import rocks.inspectit.shared.cs.indexing.buffer.TopKQueryResult;
+import rocks.inspectit.shared.cs.indexing.indexer.impl.TimestampIndexer;
 
 /**
  * {@link Branch} is a {@link ITreeComponent} that holds references to other {@link ITreeComponent}
@@ -119,6 +131,122 @@ public class Branch<E extends DefaultData> extends AbstractBranch<E, E> implemen
 		return sum;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		TopKQueryResult<E> result = new TopKQueryResult<>(comparator, limit);
+		query(query, result);
+		return result.getSortedList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit, ForkJoinPool forkJoinPool) {
+		return forkJoinPool.invoke(getTaskForForkJoinQuery(query, comparator, limit)).getSortedList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If this branch indexes by time stamp and the result is ordered by time stamp, the child
+	 * components are queried in the order of the result and the search stops as soon as no element
+	 * of the next time period can enter the result.
+	 */
+	@Override
+	public void query(IIndexQuery query, TopKQueryResult<E> result) {
+		TimestampIndexer<E> timestampIndexer = getTimestampIndexer();
+		if ((null != timestampIndexer) && result.isTimeOrdered()) {
+			long period = timestampIndexer.getIndexingPeriod();
+			for (Long key : getTimeOrderedKeys(query, result.isNewestFirst())) {
+				if (!result.canAccept(key.longValue(), key.longValue() + period)) {
+					break;
+				}
+				ITreeComponent<E, E> component = getComponentMap().get(key);
+				if (component instanceof IBufferTreeComponent) {
+					((IBufferTreeComponent<E>) component).query(query, result);
+				}
+			}
+		} else {
+			for (ITreeComponent<E, E> component : getBranchesToQuery(query)) {
+				if (component instanceof IBufferTreeComponent) {
+					((IBufferTreeComponent<E>) component).query(query, result);
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The time stamp branches are not forked when the result is ordered by time stamp, so that the
+	 * search can stop early.
+	 */
+	@Override
+	public RecursiveTask<TopKQueryResult<E>> getTaskForForkJoinQuery(IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		if ((null != getTimestampIndexer()) && TopKQueryResult.isTimeOrdered(comparator)) {
+			return new TopKQueryTask<>(this, query, comparator, limit);
+		}
+
+		Collection<IBufferTreeComponent<E>> componentsToFork = new ArrayList<>();
+		for (ITreeComponent<E, E> component : getBranchesToQuery(query)) {
+			if (component instanceof IBufferTreeComponent) {
+				componentsToFork.add((IBufferTreeComponent<E>) component);
+			}
+		}
+		return new TopKQueryTask<>(componentsToFork, query, comparator, limit);
+	}
+
+	/**
+	 * Returns the time stamp indexer of this branch.
+	 *
+	 * @return Returns the {@link TimestampIndexer} if this branch indexes by time stamp, otherwise
+	 *         <code>null</code>.
+	 */
+	private TimestampIndexer<E> getTimestampIndexer() {
+		if (bufferBranchIndexer instanceof BufferBranchIndexer) {
+			Object delegateIndexer = ((BufferBranchIndexer<E>) bufferBranchIndexer).getDelegateIndexer();
+			if (delegateIndexer instanceof TimestampIndexer) {
+				return (TimestampIndexer<E>) delegateIndexer;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the keys of the time stamp branch that fit the query, sorted by time.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param newestFirst
+	 *            If the newest key should be first.
+	 * @return Sorted keys.
+	 */
+	private List<Long> getTimeOrderedKeys(IIndexQuery query, boolean newestFirst) {
+		Object[] queryKeys = getBranchIndexer().getKeys(query);
+		Collection<?> keys;
+		if (ArrayUtils.isEmpty(queryKeys)) {
+			keys = getComponentMap().keySet();
+		} else {
+			keys = Arrays.asList(queryKeys);
+		}
+
+		List<Long> sortedKeys = new ArrayList<>(keys.size());
+		for (Object key : keys) {
+			if (key instanceof Long) {
+				sortedKeys.add((Long) key);
+			}
+		}
+		Collections.sort(sortedKeys);
+		if (newestFirst) {
+			Collections.reverse(sortedKeys);
+		}
+		return sortedKeys;
+	}
+
 	/**
 	 * @return the bufferBranchIndexer
 	 */
@@ -29,6 +29,16 @@ public class BufferBranchIndexer<E extends DefaultData> implements IBufferBranch
 	 */
 	private BufferBranchIndexer<E> childBufferIndexer;
 
+	/**
+	 * If the leafs created by this indexer should keep the secondary index by method ident.
+	 */
+	private boolean methodIdentLeafIndex;
+
+	/**
+	 * If the leafs created by this indexer should hold strong references to the elements.
+	 */
+	private boolean strongReferenceLeafs;
+
 	/**
 	 * Default constructor.
 	 *
@@ -91,6 +101,8 @@ public class BufferBranchIndexer<E extends DefaultData> implements IBufferBranch
 	public IBufferBranchIndexer<E> getNewInstance() {
 		if (!sharedInstance()) {
 			BufferBranchIndexer<E> bufferBranchIndexer = new BufferBranchIndexer<>(delegateIndexer.getNewInstance(), childBufferIndexer);
+			bufferBranchIndexer.setMethodIdentLeafIndex(methodIdentLeafIndex);
+			bufferBranchIndexer.setStrongReferenceLeafs(strongReferenceLeafs);
 			return bufferBranchIndexer;
 		} else {
 			throw new UnsupportedOperationException("Method getNewInstance() called on the Indexer that has a shared instance.");
@@ -108,11 +120,36 @@ public class BufferBranchIndexer<E extends DefaultData> implements IBufferBranch
 			} else {
 				return new Branch<>(childBufferIndexer.getNewInstance());
 			}
+		} else if (strongReferenceLeafs) {
+			return new StrongReferenceLeaf<>(methodIdentLeafIndex);
 		} else {
-			return new Leaf<>();
+			return new Leaf<>(methodIdentLeafIndex);
 		}
 	}
 
+	/**
+	 * Sets {@link #methodIdentLeafIndex}. Only has effect on the indexer of the last tree level,
+	 * as only this one creates the leafs.
+	 *
+	 * @param methodIdentLeafIndex
+	 *            New value for {@link #methodIdentLeafIndex}
+	 */
+	public void setMethodIdentLeafIndex(boolean methodIdentLeafIndex) {
+		this.methodIdentLeafIndex = methodIdentLeafIndex;
+	}
+
+	/**
+	 * Sets {@link #strongReferenceLeafs}. Only has effect on the indexer of the last tree level,
+	 * as only this one creates the leafs. If set, the {@link StrongReferenceLeaf}s are created
+	 * instead of the {@link Leaf}s.
+	 *
+	 * @param strongReferenceLeafs
+	 *            New value for {@link #strongReferenceLeafs}
+	 */
+	public void setStrongReferenceLeafs(boolean strongReferenceLeafs) {
+		this.strongReferenceLeafs = strongReferenceLeafs;
+	}
+
 	/**
 	 * Gets {@link #delegateIndexer}.
 	 *
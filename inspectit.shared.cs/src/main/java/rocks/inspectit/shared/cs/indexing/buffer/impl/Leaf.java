@@ -3,6 +3,8 @@ package rocks.inspectit.shared.cs.indexing.buffer.impl;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -15,12 +17,19 @@ import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
 
 import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
 import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.cs.indexing.LeafTask;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
+import rocks.inspectit.shared.cs.indexing.buffer.TopKQueryResult;
 
 /**
  * Leaf class is the one that holds the weak references to objects, thus last in tree structure.
+ * <p>
+ * Optionally the leaf keeps a secondary index of the references partitioned by the method ident
+ * of the elements. Queries that define the method ident then iterate only the partition of the
+ * method and the partition of the elements that are not method sensor data, instead of iterating
+ * all the elements in the leaf.
  *
  * @author Ivan Senic
  *
@@ -34,6 +43,12 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	 */
 	private NonBlockingHashMapLong<CustomWeakReference<E>> map;
 
+	/**
+	 * Secondary index of the weak references by method ident. Is <code>null</code> if the method
+	 * ident index is not active.
+	 */
+	private MethodIdentIndex<CustomWeakReference<E>> methodIdentIndex;
+
 	/**
 	 * Reference queue where cleared Weak references are queued by garbage collection.
 	 */
@@ -58,8 +73,21 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	 * Default constructor.
 	 */
 	public Leaf() {
+		this(false);
+	}
+
+	/**
+	 * Secondary constructor.
+	 *
+	 * @param methodIdentIndexActive
+	 *            If the leaf should keep the secondary index of the elements by method ident.
+	 */
+	public Leaf(boolean methodIdentIndexActive) {
 		map = new NonBlockingHashMapLong<>();
 		referenceQueue = new ReferenceQueue<>();
+		if (methodIdentIndexActive) {
+			methodIdentIndex = new MethodIdentIndex<>();
+		}
 	}
 
 	/**
@@ -69,6 +97,9 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	public E put(E element) {
 		CustomWeakReference<E> weakReference = new CustomWeakReference<>(element, referenceQueue);
 		map.put(element.getId(), weakReference);
+		if (null != methodIdentIndex) {
+			methodIdentIndex.put(weakReference.getMethodIdent(), element.getId(), weakReference);
+		}
 		return element;
 	}
 
@@ -78,10 +109,10 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	@Override
 	public E get(E template) {
 		long id = template.getId();
-		WeakReference<E> weakReference = map.get(id);
+		CustomWeakReference<E> weakReference = map.get(id);
 		if (null != weakReference) {
 			if (null == weakReference.get()) {
-				map.remove(id);
+				remove(weakReference);
 				return null;
 			}
 			return weakReference.get();
@@ -96,14 +127,14 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	@Override
 	public E getAndRemove(E template) {
 		long id = template.getId();
-		WeakReference<E> weakReference = map.get(id);
+		CustomWeakReference<E> weakReference = map.get(id);
 		if (null != weakReference) {
 			if (null == weakReference.get()) {
-				map.remove(id);
+				remove(weakReference);
 				return null;
 			} else {
 				E result = weakReference.get();
-				map.remove(id);
+				remove(weakReference);
 				return result;
 			}
 		} else {
@@ -117,19 +148,96 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	@Override
 	public List<E> query(IIndexQuery query) {
 		List<E> results = new ArrayList<>();
-		Iterator<CustomWeakReference<E>> iterator = map.values().iterator();
-		while (iterator.hasNext()) {
-			WeakReference<E> weakReference = iterator.next();
-			if (null != weakReference) {
-				E element = weakReference.get();
-				if ((null != element) && element.isQueryComplied(query)) {
-					results.add(weakReference.get());
+		for (NonBlockingHashMapLong<CustomWeakReference<E>> mapToQuery : getMapsToQuery(query)) {
+			Iterator<CustomWeakReference<E>> iterator = mapToQuery.values().iterator();
+			while (iterator.hasNext()) {
+				WeakReference<E> weakReference = iterator.next();
+				if (null != weakReference) {
+					E element = weakReference.get();
+					if ((null != element) && element.isQueryComplied(query)) {
+						results.add(element);
+					}
 				}
 			}
 		}
 		return results;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		TopKQueryResult<E> result = new TopKQueryResult<>(comparator, limit);
+		query(query, result);
+		return result.getSortedList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit, ForkJoinPool forkJoinPool) {
+		return forkJoinPool.invoke(getTaskForForkJoinQuery(query, comparator, limit)).getSortedList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void query(IIndexQuery query, TopKQueryResult<E> result) {
+		for (NonBlockingHashMapLong<CustomWeakReference<E>> mapToQuery : getMapsToQuery(query)) {
+			Iterator<CustomWeakReference<E>> iterator = mapToQuery.values().iterator();
+			while (iterator.hasNext()) {
+				WeakReference<E> weakReference = iterator.next();
+				if (null != weakReference) {
+					E element = weakReference.get();
+					if ((null != element) && element.isQueryComplied(query)) {
+						result.offer(element);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RecursiveTask<TopKQueryResult<E>> getTaskForForkJoinQuery(IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		return new TopKQueryTask<>(this, query, comparator, limit);
+	}
+
+	/**
+	 * Returns the maps holding the references that need to be checked against the query. If the
+	 * method ident index is active and query defines the method ident, only the references of the
+	 * method and the ones not bound to any method are returned.
+	 *
+	 * @param query
+	 *            Query.
+	 * @return Maps to iterate.
+	 */
+	private List<NonBlockingHashMapLong<CustomWeakReference<E>>> getMapsToQuery(IIndexQuery query) {
+		if ((null == methodIdentIndex) || (0 == query.getMethodIdent())) {
+			return Collections.singletonList(map);
+		}
+
+		return methodIdentIndex.getPartitionsToQuery(query.getMethodIdent());
+	}
+
+	/**
+	 * Removes the weak reference from the map and from the method ident index.
+	 *
+	 * @param weakReference
+	 *            Reference to remove.
+	 */
+	private void remove(CustomWeakReference<E> weakReference) {
+		map.remove(weakReference.getReferentId());
+		if (null != methodIdentIndex) {
+			methodIdentIndex.remove(weakReference.getMethodIdent(), weakReference.getReferentId());
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -153,6 +261,11 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 		// for each CustomWeakReference in a map
 		size += map.size() * objectSizes.getSizeOfCustomWeakReference();
 
+		// method ident index, references are shared with the map
+		if (null != methodIdentIndex) {
+			size += methodIdentIndex.getSize(objectSizes);
+		}
+
 		return size;
 		// the size of the reference queue, runnable and future and not included, because they are
 		// simply to small and its size is constant and does not depend on the number of elements in
@@ -165,14 +278,14 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	@Override
 	@SuppressWarnings("unchecked")
 	public boolean clean() {
-		List<Long> toClean = new ArrayList<>();
+		List<CustomWeakReference<E>> toClean = new ArrayList<>();
 		CustomWeakReference<E> customWeakReference = (CustomWeakReference<E>) referenceQueue.poll();
 		while (customWeakReference != null) {
-			toClean.add(customWeakReference.getReferentId());
+			toClean.add(customWeakReference);
 			customWeakReference = (CustomWeakReference<E>) referenceQueue.poll();
 		}
-		for (Object key : toClean) {
-			map.remove(key);
+		for (CustomWeakReference<E> reference : toClean) {
+			remove(reference);
 		}
 		if (map.isEmpty()) {
 			return true;
@@ -194,6 +307,9 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	@Override
 	public void clearAll() {
 		map.clear();
+		if (null != methodIdentIndex) {
+			methodIdentIndex.clear();
+		}
 	}
 
 	/**
@@ -215,8 +331,8 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 	}
 
 	/**
-	 * Custom extension of {@link WeakReference} that will additionally hold the id of the referent
-	 * {@link DefaultData} object.
+	 * Custom extension of {@link WeakReference} that will additionally hold the id and the method
+	 * ident of the referent {@link DefaultData} object.
 	 *
 	 * @author Ivan Senic
 	 *
@@ -229,6 +345,11 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 		 */
 		private long referentId;
 
+		/**
+		 * Method ident of referring object or <code>0</code> if it's not a {@link MethodSensorData}.
+		 */
+		private long methodIdent;
+
 		/**
 		 * Default constructor.
 		 *
@@ -241,6 +362,7 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 		public CustomWeakReference(T referent, ReferenceQueue<? super T> q) {
 			super(referent, q);
 			referentId = referent.getId();
+			methodIdent = MethodIdentIndex.getMethodIdent(referent);
 		}
 
 		/**
@@ -250,6 +372,14 @@ public class Leaf<E extends DefaultData> implements IBufferTreeComponent<E> {
 			return referentId;
 		}
 
+		/**
+		 * @return The method ident of the {@link DefaultData} object {@link WeakReference} is
+		 *         refering to or <code>0</code> if it's not a {@link MethodSensorData}.
+		 */
+		public long getMethodIdent() {
+			return methodIdent;
+		}
+
 	}
 
 	/**
@@ -0,0 +1,126 @@
+package rocks.inspectit.shared.cs.indexing.buffer.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+
+/**
+ * Secondary index of the leaf values partitioned by the method ident of the elements. Elements
+ * that are not {@link MethodSensorData} are indexed with the key <code>0</code>. Used by the
+ * leafs, so that queries defining the method ident only iterate the partition of the method and
+ * the partition of the elements that are not method sensor data.
+ * <p>
+ * Empty partitions are never removed, as a concurrent {@link #put(long, long, Object)} could add
+ * a value to the partition being removed. The partitions are released together with the index.
+ *
+ * @param <V>
+ *            Type of the values held by the leaf.
+ */
+class MethodIdentIndex<V> {
+
+	/**
+	 * Partitions of the values by method ident.
+	 */
+	private final NonBlockingHashMapLong<NonBlockingHashMapLong<V>> partitions = new NonBlockingHashMapLong<>();
+
+	/**
+	 * Adds the value to the partition of the given method ident.
+	 *
+	 * @param methodIdent
+	 *            Method ident of the element.
+	 * @param id
+	 *            Id of the element.
+	 * @param value
+	 *            Value to add.
+	 */
+	public void put(long methodIdent, long id, V value) {
+		NonBlockingHashMapLong<V> partition = partitions.get(methodIdent);
+		if (null == partition) {
+			partition = new NonBlockingHashMapLong<>();
+			NonBlockingHashMapLong<V> existing = partitions.putIfAbsent(methodIdent, partition);
+			if (null != existing) {
+				partition = existing;
+			}
+		}
+		partition.put(id, value);
+	}
+
+	/**
+	 * Removes the value from the partition of the given method ident.
+	 *
+	 * @param methodIdent
+	 *            Method ident of the element.
+	 * @param id
+	 *            Id of the element.
+	 */
+	public void remove(long methodIdent, long id) {
+		NonBlockingHashMapLong<V> partition = partitions.get(methodIdent);
+		if (null != partition) {
+			partition.remove(id);
+		}
+	}
+
+	/**
+	 * Returns the partitions that need to be checked for the given method ident, these are the
+	 * partition of the method and the partition of the elements not bound to any method.
+	 *
+	 * @param methodIdent
+	 *            Method ident defined in the query, must not be <code>0</code>.
+	 * @return Partitions to iterate.
+	 */
+	public List<NonBlockingHashMapLong<V>> getPartitionsToQuery(long methodIdent) {
+		List<NonBlockingHashMapLong<V>> result = new ArrayList<>(2);
+		NonBlockingHashMapLong<V> methodPartition = partitions.get(methodIdent);
+		if (null != methodPartition) {
+			result.add(methodPartition);
+		}
+		NonBlockingHashMapLong<V> noMethodPartition = partitions.get(0L);
+		if (null != noMethodPartition) {
+			result.add(noMethodPartition);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the size of the index maps. The values are not included, as they are shared with the
+	 * leaf.
+	 *
+	 * @param objectSizes
+	 *            {@link IObjectSizes} to use.
+	 * @return Size in bytes.
+	 */
+	public long getSize(IObjectSizes objectSizes) {
+		long size = objectSizes.getSizeOfNonBlockingHashMapLong(partitions.size());
+		for (NonBlockingHashMapLong<V> partition : partitions.values()) {
+			size += objectSizes.getSizeOfNonBlockingHashMapLong(partition.size());
+		}
+		return size;
+	}
+
+	/**
+	 * Removes all partitions.
+	 */
+	public void clear() {
+		partitions.clear();
+	}
+
+	/**
+	 * Returns the key of the element in the index.
+	 *
+	 * @param element
+	 *            Element.
+	 * @return Method ident or <code>0</code> if the element is not a {@link MethodSensorData}.
+	 */
+	public static long getMethodIdent(DefaultData element) {
+		if (element instanceof MethodSensorData) {
+			return ((MethodSensorData) element).getMethodIdent();
+		}
+		return 0;
+	}
+
+}
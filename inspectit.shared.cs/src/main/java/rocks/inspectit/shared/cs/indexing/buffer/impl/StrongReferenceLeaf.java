@@ -0,0 +1,266 @@
+package rocks.inspectit.shared.cs.indexing.buffer.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
+import rocks.inspectit.shared.cs.indexing.LeafTask;
+import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
+import rocks.inspectit.shared.cs.indexing.buffer.TopKQueryResult;
+
+/**
+ * Leaf that holds the strong references to the objects in the primitive long keyed map, thus last
+ * in tree structure.
+ * <p>
+ * Opposite to the {@link Leaf} no weak references and no reference queue are used. The elements
+ * are never removed by the garbage collection, thus the owner of the tree must remove every
+ * element with {@link #getAndRemove(DefaultData)} when it is not needed anymore (as the buffer
+ * does on the eviction). The {@link #clean()} only reports if the leaf is empty.
+ * <p>
+ * Optionally the leaf keeps a secondary index of the elements partitioned by the method ident of
+ * the elements, same as the {@link Leaf}.
+ *
+ * @param <E>
+ *            Element type that the leaf can index (and hold).
+ */
+public class StrongReferenceLeaf<E extends DefaultData> implements IBufferTreeComponent<E> {
+
+	/**
+	 * Map of elements by id.
+	 */
+	private NonBlockingHashMapLong<E> map;
+
+	/**
+	 * Secondary index of the elements by method ident. Is <code>null</code> if the method ident
+	 * index is not active.
+	 */
+	private MethodIdentIndex<E> methodIdentIndex;
+
+	/**
+	 * Default constructor.
+	 */
+	public StrongReferenceLeaf() {
+		this(false);
+	}
+
+	/**
+	 * Secondary constructor.
+	 *
+	 * @param methodIdentIndexActive
+	 *            If the leaf should keep the secondary index of the elements by method ident.
+	 */
+	public StrongReferenceLeaf(boolean methodIdentIndexActive) {
+		map = new NonBlockingHashMapLong<>();
+		if (methodIdentIndexActive) {
+			methodIdentIndex = new MethodIdentIndex<>();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public E put(E element) {
+		map.put(element.getId(), element);
+		if (null != methodIdentIndex) {
+			methodIdentIndex.put(MethodIdentIndex.getMethodIdent(element), element.getId(), element);
+		}
+		return element;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public E get(E template) {
+		return map.get(template.getId());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public E getAndRemove(E template) {
+		E result = map.remove(template.getId());
+		if ((null != result) && (null != methodIdentIndex)) {
+			methodIdentIndex.remove(MethodIdentIndex.getMethodIdent(result), result.getId());
+		}
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query) {
+		List<E> results = new ArrayList<>();
+		for (NonBlockingHashMapLong<E> mapToQuery : getMapsToQuery(query)) {
+			for (E element : mapToQuery.values()) {
+				if (element.isQueryComplied(query)) {
+					results.add(element);
+				}
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query, ForkJoinPool forkJoinPool) {
+		return forkJoinPool.invoke(getTaskForForkJoinQuery(query));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		TopKQueryResult<E> result = new TopKQueryResult<>(comparator, limit);
+		query(query, result);
+		return result.getSortedList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<E> query(IIndexQuery query, Comparator<? super E> comparator, int limit, ForkJoinPool forkJoinPool) {
+		return forkJoinPool.invoke(getTaskForForkJoinQuery(query, comparator, limit)).getSortedList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void query(IIndexQuery query, TopKQueryResult<E> result) {
+		for (NonBlockingHashMapLong<E> mapToQuery : getMapsToQuery(query)) {
+			for (E element : mapToQuery.values()) {
+				if (element.isQueryComplied(query)) {
+					result.offer(element);
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RecursiveTask<List<E>> getTaskForForkJoinQuery(IIndexQuery query) {
+		return new LeafTask<>(this, query);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RecursiveTask<TopKQueryResult<E>> getTaskForForkJoinQuery(IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		return new TopKQueryTask<>(this, query, comparator, limit);
+	}
+
+	/**
+	 * Returns the maps holding the elements that need to be checked against the query. If the
+	 * method ident index is active and query defines the method ident, only the elements of the
+	 * method and the ones not bound to any method are returned.
+	 *
+	 * @param query
+	 *            Query.
+	 * @return Maps to iterate.
+	 */
+	private List<NonBlockingHashMapLong<E>> getMapsToQuery(IIndexQuery query) {
+		if ((null == methodIdentIndex) || (0 == query.getMethodIdent())) {
+			return Collections.singletonList(map);
+		}
+
+		return methodIdentIndex.getPartitionsToQuery(query.getMethodIdent());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getComponentSize(IObjectSizes objectSizes) {
+		long size = objectSizes.getSizeOfObjectHeader();
+		size += objectSizes.getPrimitiveTypesSize(2, 0, 0, 0, 0, 0);
+		size = objectSizes.alignTo8Bytes(size);
+
+		// map, elements themselves are accounted by the buffer
+		size += objectSizes.getSizeOfNonBlockingHashMapLong(map.size());
+
+		// method ident index
+		if (null != methodIdentIndex) {
+			size += methodIdentIndex.getSize(objectSizes);
+		}
+		return size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Elements are only removed explicitly, thus this method only reports if the leaf is empty.
+	 */
+	@Override
+	public boolean clean() {
+		return map.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * There is nothing to be cleaned in the background, as no garbage collected references are
+	 * held.
+	 */
+	@Override
+	public void cleanWithRunnable(ExecutorService executorService) {
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean clearEmptyComponents() {
+		return map.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getNumberOfElements() {
+		return map.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clearAll() {
+		map.clear();
+		if (null != methodIdentIndex) {
+			methodIdentIndex.clear();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		ToStringBuilder toStringBuilder = new ToStringBuilder(this);
+		toStringBuilder.append("elementsMap", map);
+		return toStringBuilder.toString();
+	}
+
+}
@@ -0,0 +1,110 @@
+package rocks.inspectit.shared.cs.indexing.buffer.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
+import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
+import rocks.inspectit.shared.cs.indexing.buffer.TopKQueryResult;
+
+/**
+ * Task of the top-k query. The task either queries one tree component sequentially or forks a
+ * task for each of the given components and merges their results. Every task keeps its own
+ * bounded {@link TopKQueryResult}.
+ *
+ * @param <E>
+ *            Type of the element that can be indexed by the tree components.
+ */
+@SuppressWarnings("serial")
+public class TopKQueryTask<E> extends RecursiveTask<TopKQueryResult<E>> {
+
+	/**
+	 * Component to query sequentially, <code>null</code> if the tasks are forked.
+	 */
+	private IBufferTreeComponent<E> component;
+
+	/**
+	 * Components to fork the tasks for, <code>null</code> if the component is queried
+	 * sequentially.
+	 */
+	private Collection<IBufferTreeComponent<E>> componentsToFork;
+
+	/**
+	 * The given query.
+	 */
+	private IIndexQuery query;
+
+	/**
+	 * Comparator defining the order of the result.
+	 */
+	private Comparator<? super E> comparator;
+
+	/**
+	 * Maximum number of elements in the result.
+	 */
+	private int limit;
+
+	/**
+	 * Constructor for the task that queries the component sequentially.
+	 *
+	 * @param component
+	 *            Component to query.
+	 * @param query
+	 *            the given query
+	 * @param comparator
+	 *            Comparator defining the order of the result.
+	 * @param limit
+	 *            Maximum number of elements in the result.
+	 */
+	public TopKQueryTask(IBufferTreeComponent<E> component, IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		this.component = component;
+		this.query = query;
+		this.comparator = comparator;
+		this.limit = limit;
+	}
+
+	/**
+	 * Constructor for the task that forks a task for each component.
+	 *
+	 * @param componentsToFork
+	 *            Components to fork the tasks for.
+	 * @param query
+	 *            the given query
+	 * @param comparator
+	 *            Comparator defining the order of the result.
+	 * @param limit
+	 *            Maximum number of elements in the result.
+	 */
+	public TopKQueryTask(Collection<IBufferTreeComponent<E>> componentsToFork, IIndexQuery query, Comparator<? super E> comparator, int limit) {
+		this.componentsToFork = componentsToFork;
+		this.query = query;
+		this.comparator = comparator;
+		this.limit = limit;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected TopKQueryResult<E> compute() {
+		TopKQueryResult<E> result = new TopKQueryResult<>(comparator, limit);
+		if (null != component) {
+			component.query(query, result);
+			return result;
+		}
+
+		List<RecursiveTask<TopKQueryResult<E>>> forks = new ArrayList<>();
+		for (IBufferTreeComponent<E> child : componentsToFork) {
+			RecursiveTask<TopKQueryResult<E>> task = child.getTaskForForkJoinQuery(query, comparator, limit);
+			forks.add(task);
+			task.fork();
+		}
+		for (RecursiveTask<TopKQueryResult<E>> fork : forks) {
+			result.merge(fork.join());
+		}
+		return result;
+	}
+}
@@ -3,6 +3,7 @@ package rocks.inspectit.shared.cs.indexing.impl;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.builder.ToStringBuilder;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.all.indexing.restriction.IIndexQueryRestriction;
+import rocks.inspectit.shared.cs.indexing.restriction.IIndexQueryRestrictionPredicate;
 import rocks.inspectit.shared.cs.indexing.restriction.IIndexQueryRestrictionProcessor;
 
 /**
@@ -75,6 +77,12 @@ public class IndexQuery implements IIndexQuery {
 	 */
 	private List<IIndexQueryRestriction> indexingRestrictionList = new ArrayList<>();
 
+	/**
+	 * Restrictions compiled for each class of the checked elements. Compiled lazily on the first
+	 * check of an element of the class and reset when a restriction is added.
+	 */
+	private transient ConcurrentHashMap<Class<?>, IIndexQueryRestrictionPredicate> compiledRestrictions = new ConcurrentHashMap<>();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -194,6 +202,7 @@ public class IndexQuery implements IIndexQuery {
 	@Override
 	public void addIndexingRestriction(IIndexQueryRestriction indexingRestriction) {
 		indexingRestrictionList.add(indexingRestriction);
+		compiledRestrictions = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -247,7 +256,25 @@ public class IndexQuery implements IIndexQuery {
 	 */
 	@Override
 	public boolean areAllRestrictionsFulfilled(DefaultData defaultData) {
-		return restrictionProcessor.areAllRestrictionsFulfilled(defaultData, indexingRestrictionList);
+		if (indexingRestrictionList.isEmpty()) {
+			return true;
+		}
+
+		ConcurrentHashMap<Class<?>, IIndexQueryRestrictionPredicate> compiled = compiledRestrictions;
+		if (null == compiled) {
+			// i.e. after deserialization
+			compiled = new ConcurrentHashMap<>();
+			compiledRestrictions = compiled;
+		}
+		IIndexQueryRestrictionPredicate predicate = compiled.get(defaultData.getClass());
+		if (null == predicate) {
+			predicate = restrictionProcessor.compile(defaultData.getClass(), indexingRestrictionList);
+			IIndexQueryRestrictionPredicate existing = compiled.putIfAbsent(defaultData.getClass(), predicate);
+			if (null != existing) {
+				predicate = existing;
+			}
+		}
+		return predicate.areAllFulfilled(defaultData);
 	}
 
 	/**
@@ -256,6 +283,7 @@ public class IndexQuery implements IIndexQuery {
 	 */
 	public void setRestrictionProcessor(IIndexQueryRestrictionProcessor restrictionProcessor) {
 		this.restrictionProcessor = restrictionProcessor;
+		this.compiledRestrictions = new ConcurrentHashMap<>();
 	}
 
 	/**
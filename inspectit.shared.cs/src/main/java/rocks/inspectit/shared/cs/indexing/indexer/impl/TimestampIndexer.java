@@ -114,6 +114,15 @@ public class TimestampIndexer<E extends DefaultData> implements IBranchIndexer<E
 		return timestamp.getTime() - (timestamp.getTime() % INDEXING_PERIOD);
 	}
 
+	/**
+	 * Returns the length of the period one key is made for. The key is the start of the period.
+	 *
+	 * @return Indexing period in milliseconds.
+	 */
+	public long getIndexingPeriod() {
+		return INDEXING_PERIOD;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
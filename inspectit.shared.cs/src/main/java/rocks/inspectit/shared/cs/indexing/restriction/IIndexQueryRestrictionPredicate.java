@@ -0,0 +1,26 @@
+package rocks.inspectit.shared.cs.indexing.restriction;
+
+import java.util.List;
+
+import rocks.inspectit.shared.all.indexing.restriction.IIndexQueryRestriction;
+
+/**
+ * Predicate that checks a list of {@link IIndexQueryRestriction}s against the objects of one
+ * class. The predicate is compiled once by the {@link IIndexQueryRestrictionProcessor} and can then
+ * be evaluated for any number of objects of the class it was compiled for.
+ *
+ * @see IIndexQueryRestrictionProcessor#compile(Class, List)
+ */
+public interface IIndexQueryRestrictionPredicate {
+
+	/**
+	 * If all restrictions the predicate was compiled for are fulfilled for supplied object. The
+	 * object must be of the class the predicate was compiled for.
+	 *
+	 * @param object
+	 *            Object that restrictions should be checked against.
+	 * @return True if all restrictions are fulfilled, otherwise false.
+	 */
+	boolean areAllFulfilled(Object object);
+
+}
@@ -24,4 +24,18 @@ public interface IIndexQueryRestrictionProcessor {
 	 */
 	boolean areAllRestrictionsFulfilled(Object object, List<IIndexQueryRestriction> restrictions);
 
+	/**
+	 * Compiles the given restrictions to the predicate that can check the restrictions against the
+	 * objects of the given class. Compiling once and evaluating the predicate for many objects of
+	 * the same class is faster than calling
+	 * {@link #areAllRestrictionsFulfilled(Object, List)} for every object.
+	 *
+	 * @param objectClass
+	 *            Class of the objects the restrictions will be checked against.
+	 * @param restrictions
+	 *            List of restrictions.
+	 * @return Predicate for the objects of the given class.
+	 */
+	IIndexQueryRestrictionPredicate compile(Class<?> objectClass, List<IIndexQueryRestriction> restrictions);
+
 }
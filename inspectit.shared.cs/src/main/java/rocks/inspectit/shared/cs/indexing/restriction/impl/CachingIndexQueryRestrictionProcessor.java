@@ -1,6 +1,8 @@
 package rocks.inspectit.shared.cs.indexing.restriction.impl;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
@@ -10,12 +12,15 @@ import org.springframework.stereotype.Component;
 
 import rocks.inspectit.shared.all.indexing.restriction.IIndexQueryRestriction;
 import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.cs.indexing.restriction.IIndexQueryRestrictionPredicate;
 import rocks.inspectit.shared.cs.indexing.restriction.IIndexQueryRestrictionProcessor;
 
 /**
- * This restriction processor caches the methods of each class that needs to be invoke. It also
- * marks in the cache all method that do not exist for specific class and an attempt to find them
- * was made.
+ * This restriction processor compiles the getter chain of each restriction to the
+ * {@link MethodHandle}s for the concrete class of the checked objects and caches the compiled
+ * accessors. The cache is keyed with the exact class and the list of the getter names. It also
+ * marks in the cache all getter chains that can not be resolved for specific class, so that the
+ * resolving is not repeated.
  *
  * @author Ivan Senic
  *
@@ -24,33 +29,36 @@ import rocks.inspectit.shared.cs.indexing.restriction.IIndexQueryRestrictionProc
 public class CachingIndexQueryRestrictionProcessor implements IIndexQueryRestrictionProcessor {
 
 	/**
-	 * The logger.
+	 * Type of the compiled getter handles.
 	 */
-	@Log
-	Logger log;
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
 
 	/**
-	 * Map for caching methods.
+	 * Marker accessor for the getter chains that can not be resolved.
 	 */
-	private final ConcurrentHashMap<Integer, Method> cacheMap;
+	private static final Accessor UNRESOLVED_ACCESSOR = new Accessor(new MethodHandle[0]);
 
 	/**
-	 * Marker method.
+	 * Predicate for an empty list of restrictions.
 	 */
-	private Method markerMethod;
+	private static final IIndexQueryRestrictionPredicate ALWAYS_FULFILLED = new IIndexQueryRestrictionPredicate() {
+
+		@Override
+		public boolean areAllFulfilled(Object object) {
+			return true;
+		}
+	};
 
 	/**
-	 * Default constructor. Sets {@link #markerMethod} to refer to {@link Object#toString()}.
+	 * The logger.
 	 */
-	public CachingIndexQueryRestrictionProcessor() {
-		cacheMap = new ConcurrentHashMap<>();
-		try {
-			// setting marker method to point to Object.toString()
-			markerMethod = Object.class.getMethod("toString", new Class[0]);
-		} catch (Exception e) {
-			throw new IllegalStateException("Method toString() can not be found", e);
-		}
-	}
+	@Log
+	Logger log;
+
+	/**
+	 * Map for caching compiled accessors.
+	 */
+	private final ConcurrentHashMap<AccessorKey, Accessor> cacheMap = new ConcurrentHashMap<>();
 
 	/**
 	 * {@inheritDoc}
@@ -58,16 +66,47 @@ public class CachingIndexQueryRestrictionProcessor implements IIndexQueryRestric
 	@Override
 	public boolean areAllRestrictionsFulfilled(Object object, List<IIndexQueryRestriction> restrictions) {
 		for (IIndexQueryRestriction indexingRestriction : restrictions) {
-			if (!isRestrictionFulfilled(object, indexingRestriction)) {
+			if (!isRestrictionFulfilled(getAccessor(object.getClass(), indexingRestriction), object, indexingRestriction)) {
 				return false;
 			}
 		}
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IIndexQueryRestrictionPredicate compile(Class<?> objectClass, List<IIndexQueryRestriction> restrictions) {
+		if (restrictions.isEmpty()) {
+			return ALWAYS_FULFILLED;
+		}
+
+		int size = restrictions.size();
+		Accessor[] accessors = new Accessor[size];
+		IIndexQueryRestriction[] compiledRestrictions = new IIndexQueryRestriction[size];
+		for (int i = 0; i < size; i++) {
+			compiledRestrictions[i] = restrictions.get(i);
+			accessors[i] = getAccessor(objectClass, compiledRestrictions[i]);
+			if (UNRESOLVED_ACCESSOR == accessors[i]) {
+				// one restriction can never be fulfilled
+				return new IIndexQueryRestrictionPredicate() {
+
+					@Override
+					public boolean areAllFulfilled(Object object) {
+						return false;
+					}
+				};
+			}
+		}
+		return new CompiledRestrictions(accessors, compiledRestrictions);
+	}
+
 	/**
 	 * Checks if one {@link IIndexQueryRestriction} is fulfilled.
 	 *
+	 * @param accessor
+	 *            Compiled accessor of the restriction for the class of the object.
 	 * @param object
 	 *            to start from
 	 * @param indexingRestriction
@@ -75,77 +114,220 @@ public class CachingIndexQueryRestrictionProcessor implements IIndexQueryRestric
 	 *
 	 * @return <code>true</code> if the indexing restriction is fulfilled.
 	 */
-	private boolean isRestrictionFulfilled(Object object, IIndexQueryRestriction indexingRestriction) {
-		List<String> methodNames = indexingRestriction.getQualifiedMethodNames();
+	private boolean isRestrictionFulfilled(Accessor accessor, Object object, IIndexQueryRestriction indexingRestriction) {
+		if (UNRESOLVED_ACCESSOR == accessor) {
+			return false;
+		}
 
 		try {
-			Object executeOn = object;
-			for (String methodName : methodNames) {
-				Method method = getMethod(executeOn, methodName);
-				if (null == method) {
-					return false;
-				}
-				executeOn = method.invoke(executeOn, new Object[0]);
-			}
-
-			return indexingRestriction.isFulfilled(executeOn);
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-			log.error("Error in find object to execute indexing restricton check.", e);
+			return indexingRestriction.isFulfilled(accessor.get(object));
+		} catch (Throwable t) { // NOPMD
+			log.error("Error in find object to execute indexing restricton check.", t);
 			return false;
 		}
 	}
 
 	/**
-	 * Returns the {@link Method} for the given {@link Object} with the given method name.
+	 * Returns the compiled accessor of the restriction for the given class.
 	 *
-	 * @param object
-	 *            Object to find method on.
-	 * @param methodName
-	 *            Name of the method.
-	 * @return Method if one can be found.
+	 * @param clazz
+	 *            Class of the objects to access.
+	 * @param indexingRestriction
+	 *            Restriction defining the getter chain.
+	 * @return Compiled accessor or {@link #UNRESOLVED_ACCESSOR} if the getter chain can not be
+	 *         resolved for the class.
 	 */
-	private Method getMethod(Object object, String methodName) {
-		int cacheKey = getMethodCacheKey(object.getClass(), methodName);
-		Method method = cacheMap.get(cacheKey);
+	private Accessor getAccessor(Class<?> clazz, IIndexQueryRestriction indexingRestriction) {
+		AccessorKey cacheKey = new AccessorKey(clazz, indexingRestriction.getQualifiedMethodNames());
+		Accessor accessor = cacheMap.get(cacheKey);
 
-		if (method == null) { // method is not yet in cache
-			try {
-				Method methodFromClass = object.getClass().getMethod(methodName, new Class<?>[0]);
-				Method existing = cacheMap.putIfAbsent(cacheKey, methodFromClass);
-				if (null != existing) {
-					methodFromClass = existing;
-				}
-				return methodFromClass;
-			} catch (NoSuchMethodException e) {
-				// not found, put marker method at this place in map
-				cacheMap.putIfAbsent(cacheKey, markerMethod);
-				return null;
-			} catch (SecurityException | IllegalArgumentException e) {
-				log.error("Error retrieve the method " + methodName + " for the object of class " + object.getClass(), e);
-				return null;
+		if (null == accessor) { // accessor is not yet in cache
+			accessor = compileAccessor(clazz, cacheKey.methodNames);
+			Accessor existing = cacheMap.putIfAbsent(cacheKey, accessor);
+			if (null != existing) {
+				accessor = existing;
 			}
-		} else if (markerMethod.equals(method)) {
-			return null;
-		} else {
-			return method;
 		}
+		return accessor;
 	}
 
 	/**
-	 * Returns key for the hash map based on the supplied class and method name.
+	 * Compiles the getter chain for the given class. The getters after the first one are resolved
+	 * on the declared return type of the previous getter.
 	 *
 	 * @param clazz
-	 *            class
-	 * @param methodName
-	 *            method name
-	 * @return int key
+	 *            Class to start from.
+	 * @param methodNames
+	 *            Getter names.
+	 * @return Compiled accessor or {@link #UNRESOLVED_ACCESSOR} if the getter chain can not be
+	 *         resolved.
 	 */
-	private int getMethodCacheKey(Class<?> clazz, String methodName) {
-		final int prime = 31;
-		int result = 0;
-		result = (prime * result) + ((clazz == null) ? 0 : clazz.hashCode());
-		result = (prime * result) + ((methodName == null) ? 0 : methodName.hashCode());
-		return result;
+	private Accessor compileAccessor(Class<?> clazz, List<String> methodNames) {
+		MethodHandle[] getters = new MethodHandle[methodNames.size()];
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		Class<?> current = clazz;
+		int i = 0;
+		for (String methodName : methodNames) {
+			if (current.isPrimitive()) {
+				return UNRESOLVED_ACCESSOR;
+			}
+			try {
+				Method method = current.getMethod(methodName, new Class<?>[0]);
+				// the method can be declared in a non-public super class
+				method.setAccessible(true);
+				getters[i++] = lookup.unreflect(method).asType(GETTER_TYPE);
+				current = method.getReturnType();
+			} catch (NoSuchMethodException e) {
+				return UNRESOLVED_ACCESSOR;
+			} catch (SecurityException | IllegalAccessException e) {
+				log.error("Error retrieve the method " + methodName + " for the object of class " + current, e);
+				return UNRESOLVED_ACCESSOR;
+			}
+		}
+		return new Accessor(getters);
+	}
+
+	/**
+	 * Compiled getter chain.
+	 */
+	private static final class Accessor {
+
+		/**
+		 * Getters to invoke one after another.
+		 */
+		private final MethodHandle[] getters;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param getters
+		 *            Getters to invoke one after another.
+		 */
+		Accessor(MethodHandle[] getters) {
+			this.getters = getters;
+		}
+
+		/**
+		 * Returns the value the getter chain leads to. If one of the getters in the chain returns
+		 * <code>null</code>, the value is <code>null</code>.
+		 *
+		 * @param object
+		 *            Object to start from.
+		 * @return Value to check the restriction on.
+		 * @throws Throwable
+		 *             If the getter throws the exception.
+		 */
+		Object get(Object object) throws Throwable {
+			Object value = object;
+			for (MethodHandle getter : getters) {
+				if (null == value) {
+					return null;
+				}
+				value = (Object) getter.invokeExact(value);
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Predicate holding the compiled accessors of all restrictions for one class.
+	 */
+	private final class CompiledRestrictions implements IIndexQueryRestrictionPredicate {
+
+		/**
+		 * Accessors, one per restriction.
+		 */
+		private final Accessor[] accessors;
+
+		/**
+		 * Restrictions.
+		 */
+		private final IIndexQueryRestriction[] restrictions;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param accessors
+		 *            Accessors, one per restriction.
+		 * @param restrictions
+		 *            Restrictions.
+		 */
+		CompiledRestrictions(Accessor[] accessors, IIndexQueryRestriction[] restrictions) {
+			this.accessors = accessors;
+			this.restrictions = restrictions;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean areAllFulfilled(Object object) {
+			for (int i = 0; i < accessors.length; i++) {
+				if (!isRestrictionFulfilled(accessors[i], object, restrictions[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Cache key consisting of the exact class and the getter names.
+	 */
+	private static final class AccessorKey {
+
+		/**
+		 * Class.
+		 */
+		private final Class<?> clazz;
+
+		/**
+		 * Getter names.
+		 */
+		private final List<String> methodNames;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param clazz
+		 *            Class.
+		 * @param methodNames
+		 *            Getter names.
+		 */
+		AccessorKey(Class<?> clazz, List<String> methodNames) {
+			this.clazz = clazz;
+			this.methodNames = methodNames;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = (prime * result) + clazz.hashCode();
+			result = (prime * result) + methodNames.hashCode();
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null) {
+				return false;
+			}
+			if (getClass() != obj.getClass()) {
+				return false;
+			}
+			AccessorKey other = (AccessorKey) obj;
+			return (clazz == other.clazz) && methodNames.equals(other.methodNames);
+		}
 	}
 
 }
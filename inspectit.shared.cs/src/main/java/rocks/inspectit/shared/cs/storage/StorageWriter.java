@@ -14,12 +14,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -37,7 +35,8 @@ import com.esotericsoftware.kryo.io.Output;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.serializer.ISerializer;
 import rocks.inspectit.shared.all.serializer.SerializationException;
-import rocks.inspectit.shared.all.serializer.provider.SerializationManagerProvider;
+import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
+import rocks.inspectit.shared.all.serializer.provider.SerializerPool;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
 import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
@@ -69,6 +68,11 @@ public class StorageWriter implements IWriter {
 	 */
 	private static final int FINALIZATION_TASKS_SLEEP_TIME = 500;
 
+	/**
+	 * Size of the buffer of the Kryo {@link Output} used by the write tasks.
+	 */
+	private static final int OUTPUT_BUFFER_SIZE = 4096;
+
 	/**
 	 * Total amount of tasks submitted to {@link #writingExecutorService}.
 	 */
@@ -108,15 +112,22 @@ public class StorageWriter implements IWriter {
 	WritingChannelManager writingChannelManager;
 
 	/**
-	 * {@link SerializationManagerProvider}.
+	 * {@link SerializerPool} shared by all writers.
 	 */
 	@Autowired
-	private SerializationManagerProvider serializationManagerProvider;
+	SerializerPool serializerPool;
 
 	/**
-	 * Queue for {@link ISerializer} that are available.
+	 * Kryo {@link Output} of the writing thread. Reused by all write tasks executed in the thread
+	 * instead of allocating a new output buffer for every written object. Note that only the
+	 * output buffer is reused, the data is still serialized for every write.
 	 */
-	BlockingQueue<ISerializer> serializerQueue = new LinkedBlockingQueue<>();
+	private final ThreadLocal<Output> threadOutput = new ThreadLocal<Output>() {
+		@Override
+		protected Output initialValue() {
+			return new Output(OUTPUT_BUFFER_SIZE);
+		}
+	};
 
 	/**
 	 * {@link ExecutorService} for writing tasks.
@@ -500,16 +511,7 @@ public class StorageWriter implements IWriter {
 	 */
 	public boolean writeNonDefaultDataObject(Object object, String fileName) {
 		try {
-			ISerializer serializer = null;
-			try {
-				serializer = serializerQueue.take();
-			} catch (InterruptedException e1) {
-				Thread.interrupted();
-			}
-			if (null == serializer) {
-				log.error("Serializer instance could not be obtained.");
-				return false;
-			}
+			SerializationManager serializer = serializerPool.acquireSerializer();
 
 			// prepare path
 			Path path = writingFolderPath.resolve(fileName);
@@ -530,7 +532,7 @@ public class StorageWriter implements IWriter {
 				log.error("Serialization for the object " + object + " failed. Data will be skipped.", e);
 				return false;
 			} finally {
-				serializerQueue.add(serializer);
+				serializerPool.releaseSerializer(serializer);
 			}
 
 			return true;
@@ -630,33 +632,33 @@ public class StorageWriter implements IWriter {
 					return;
 				}
 
-				ISerializer serializer = null;
+				SerializationManager serializer;
 				try {
-					serializer = serializerQueue.take();
-				} catch (InterruptedException e1) {
-					Thread.interrupted();
-				}
-				if (null == serializer) {
+					serializer = serializerPool.acquireSerializer();
+				} catch (IllegalStateException e) {
 					indexingTreeHandler.writeFailed(this);
-					log.error("Serializer instance could not be obtained.");
+					log.error("Serializer instance could not be obtained.", e);
 					return;
 				}
 
 				extendedByteBufferOutputStream = streamProvider.getExtendedByteBufferOutputStream();
+				Output output = threadOutput.get();
+				output.setOutputStream(extendedByteBufferOutputStream);
 				try {
-					Output output = new Output(extendedByteBufferOutputStream);
 					serializer.serialize(data, output, kryoPreferences);
 					extendedByteBufferOutputStream.flush(false);
 				} catch (SerializationException e) {
+					output.setOutputStream(null);
 					extendedByteBufferOutputStream.close();
 					indexingTreeHandler.writeFailed(this);
-					serializerQueue.add(serializer);
+					serializerPool.releaseSerializer(serializer);
 					if (log.isWarnEnabled()) {
 						log.warn("Serialization for the object " + data + " failed. Data will be skipped.", e);
 					}
 					return;
 				}
-				serializerQueue.add(serializer);
+				output.setOutputStream(null);
+				serializerPool.releaseSerializer(serializer);
 
 				// final reference needed because of the runnable
 				int buffersToWrite = extendedByteBufferOutputStream.getBuffersCount();
@@ -788,14 +790,6 @@ public class StorageWriter implements IWriter {
 	@PostConstruct
 	public void postConstruct() throws Exception {
 		indexingTreeHandler.registerStorageWriter(this);
-
-		// we create the same number of kryo instances as the size of the executor service
-		// this way every write task will not wait for a reference because one will always be
-		// available
-		int threads = writingExecutorService.getCorePoolSize();
-		for (int i = 0; i < threads; i++) {
-			serializerQueue.add(serializationManagerProvider.createSerializer());
-		}
 	}
 
 	/**
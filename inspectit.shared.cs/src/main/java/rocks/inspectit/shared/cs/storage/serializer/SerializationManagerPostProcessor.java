@@ -63,6 +63,7 @@ import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementParamete
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.StatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.TimerSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentOverheadSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
@@ -71,6 +72,7 @@ import rocks.inspectit.shared.cs.ci.sensor.platform.impl.RuntimeSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SystemSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.ListSendingStrategyConfig;
+import rocks.inspectit.shared.cs.ci.strategy.impl.RingBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.SimpleBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.SizeBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.TimeSendingStrategyConfig;
@@ -400,6 +402,13 @@ public class SerializationManagerPostProcessor implements BeanPostProcessor {
 		kryo.register(EMailListValidator.class, new FieldSerializer<EMailListValidator>(kryo, EMailListValidator.class), nextRegistrationId++);
 		kryo.register(AlertClosingReason.class, new EnumSerializer(AlertClosingReason.class), nextRegistrationId++);
 
+		// ring buffer strategy
+		kryo.register(RingBufferStrategyConfig.class, new FieldSerializer<RingBufferStrategyConfig>(kryo, RingBufferStrategyConfig.class), nextRegistrationId++);
+		kryo.register(RingBufferStrategyConfig.DropPolicy.class, new EnumSerializer(RingBufferStrategyConfig.DropPolicy.class), nextRegistrationId++);
+
+		// agent overhead sensor
+		kryo.register(AgentOverheadSensorConfig.class, new FieldSerializer<AgentOverheadSensorConfig>(kryo, AgentOverheadSensorConfig.class), nextRegistrationId++);
+
 	}
 
 }
@@ -0,0 +1,65 @@
+package rocks.inspectit.shared.cs.ci.sensor.method.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Map;
+
+import org.mockito.InjectMocks;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+@SuppressWarnings("PMD")
+public class InvocationSequenceSensorConfigTest extends TestBase {
+
+	@InjectMocks
+	InvocationSequenceSensorConfig config;
+
+	public static class GetParameters extends InvocationSequenceSensorConfigTest {
+
+		@Test
+		public void noLimitsByDefault() {
+			Map<String, Object> parameters = config.getParameters();
+
+			assertThat(parameters, not(hasKey("maxnodes")));
+			assertThat(parameters, not(hasKey("maxdepth")));
+			assertThat(parameters, not(hasKey("collapserepetitions")));
+			assertThat(parameters, not(hasKey("samplingrate")));
+			assertThat(parameters, not(hasKey("maxtracespersecond")));
+			assertThat(parameters, not(hasKey("keepslowerthan")));
+			assertThat(parameters, not(hasKey("keeperrors")));
+		}
+
+		@Test
+		public void limits() {
+			config.setMaxNodes(1000);
+			config.setMaxDepth(10);
+			config.setCollapseRepetitions(true);
+
+			Map<String, Object> parameters = config.getParameters();
+
+			assertThat(parameters, hasEntry("maxnodes", (Object) "1000"));
+			assertThat(parameters, hasEntry("maxdepth", (Object) "10"));
+			assertThat(parameters, hasEntry("collapserepetitions", (Object) "true"));
+		}
+
+		@Test
+		public void keepOptionsOnlyWithSampling() {
+			config.setKeepSlowerThan(100);
+
+			assertThat(config.getParameters(), not(hasKey("keepslowerthan")));
+
+			config.setSamplingRate(0.5d);
+			Map<String, Object> parameters = config.getParameters();
+
+			assertThat(parameters, hasEntry("samplingrate", (Object) "0.5"));
+			assertThat(parameters, hasEntry("keepslowerthan", (Object) "100"));
+			assertThat(parameters, hasEntry("keeperrors", (Object) "true"));
+			assertThat(config.isKeepErrors(), is(true));
+		}
+	}
+}
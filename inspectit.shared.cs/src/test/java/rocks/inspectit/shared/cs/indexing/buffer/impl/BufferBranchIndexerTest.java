@@ -73,6 +73,11 @@ public class BufferBranchIndexerTest {
 		bufferBranchIndexer = new BufferBranchIndexer<>(delegateIndexer, null);
 		component = bufferBranchIndexer.getNextTreeComponent();
 		assertThat(component, is(instanceOf(Leaf.class)));
+
+		// strong reference leaf if set
+		bufferBranchIndexer.setStrongReferenceLeafs(true);
+		component = bufferBranchIndexer.getNextTreeComponent();
+		assertThat(component, is(instanceOf(StrongReferenceLeaf.class)));
 	}
 
 	/**
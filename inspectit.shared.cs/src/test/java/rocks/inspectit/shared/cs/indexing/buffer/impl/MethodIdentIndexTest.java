@@ -0,0 +1,95 @@
+package rocks.inspectit.shared.cs.indexing.buffer.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.CpuInformationData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Testing of the {@link MethodIdentIndex}.
+ */
+@SuppressWarnings("PMD")
+public class MethodIdentIndexTest {
+
+	/**
+	 * Class under test.
+	 */
+	private MethodIdentIndex<String> methodIdentIndex;
+
+	/**
+	 * Init.
+	 */
+	@BeforeMethod
+	public void init() {
+		methodIdentIndex = new MethodIdentIndex<>();
+	}
+
+	/**
+	 * Tests that only the partitions of the method and of the data not bound to any method are
+	 * returned.
+	 */
+	@Test
+	public void partitionsToQuery() {
+		methodIdentIndex.put(10L, 1L, "method10");
+		methodIdentIndex.put(20L, 2L, "method20");
+		methodIdentIndex.put(0L, 3L, "noMethod");
+
+		List<NonBlockingHashMapLong<String>> partitions = methodIdentIndex.getPartitionsToQuery(10L);
+
+		assertThat(partitions, hasSize(2));
+		assertThat(partitions.get(0).get(1L), is("method10"));
+		assertThat(partitions.get(0).size(), is(1));
+		assertThat(partitions.get(1).get(3L), is("noMethod"));
+		assertThat(partitions.get(1).size(), is(1));
+	}
+
+	/**
+	 * Tests that the partition stays in the index after the last value is removed, so that the
+	 * values added concurrently are not lost.
+	 */
+	@Test
+	public void emptyPartitionKept() {
+		methodIdentIndex.put(10L, 1L, "method10");
+		List<NonBlockingHashMapLong<String>> partitions = methodIdentIndex.getPartitionsToQuery(10L);
+
+		methodIdentIndex.remove(10L, 1L);
+		methodIdentIndex.put(10L, 2L, "method10");
+
+		assertThat(methodIdentIndex.getPartitionsToQuery(10L).get(0), is(sameInstance(partitions.get(0))));
+		assertThat(partitions.get(0).get(2L), is("method10"));
+	}
+
+	/**
+	 * Tests that no partitions are returned for unknown method.
+	 */
+	@Test
+	public void noPartitions() {
+		methodIdentIndex.put(10L, 1L, "method10");
+		methodIdentIndex.clear();
+
+		assertThat(methodIdentIndex.getPartitionsToQuery(10L), is(empty()));
+	}
+
+	/**
+	 * Tests the method ident of the elements.
+	 */
+	@Test
+	public void methodIdent() {
+		TimerData timerData = new TimerData();
+		timerData.setMethodIdent(10L);
+
+		assertThat(MethodIdentIndex.getMethodIdent(timerData), is(10L));
+		assertThat(MethodIdentIndex.getMethodIdent(new CpuInformationData()), is(0L));
+	}
+
+}
@@ -14,6 +14,8 @@ import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ForkJoinPool;
@@ -24,6 +26,8 @@ import org.testng.annotations.Test;
 
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.comparator.DefaultDataComparatorEnum;
+import rocks.inspectit.shared.all.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
@@ -197,6 +201,172 @@ public class BufferIndexingTest {
 		}
 	}
 
+	/**
+	 * Test that the leafs with the method ident index iterate only the elements of the queried
+	 * method and the elements that are not method sensor data.
+	 *
+	 * @throws IndexingException
+	 *             If {@link IndexingException} occurs.
+	 */
+	@Test
+	public void queryLeafWithMethodIdentIndex() throws IndexingException {
+		BufferBranchIndexer<DefaultData> indexer = new BufferBranchIndexer<>(new ObjectTypeIndexer<>());
+		indexer.setMethodIdentLeafIndex(true);
+		IBufferTreeComponent<DefaultData> rootBranch = new Branch<>(indexer);
+
+		TimerData timerData1 = mock(TimerData.class);
+		when(timerData1.getId()).thenReturn(1L);
+		when(timerData1.getMethodIdent()).thenReturn(10L);
+		when(timerData1.isQueryComplied(indexQuery)).thenReturn(true);
+		rootBranch.put(timerData1);
+
+		TimerData timerData2 = mock(TimerData.class);
+		when(timerData2.getId()).thenReturn(2L);
+		when(timerData2.getMethodIdent()).thenReturn(20L);
+		when(timerData2.isQueryComplied(indexQuery)).thenReturn(true);
+		rootBranch.put(timerData2);
+
+		DefaultData defaultData = mock(DefaultData.class);
+		when(defaultData.getId()).thenReturn(3L);
+		when(defaultData.isQueryComplied(indexQuery)).thenReturn(true);
+		rootBranch.put(defaultData);
+
+		indexQuery.setMethodIdent(10L);
+
+		List<DefaultData> results = rootBranch.query(indexQuery);
+		assertThat(results.size(), is(equalTo(2)));
+		assertThat(results.contains(timerData1), is(true));
+		assertThat(results.contains(defaultData), is(true));
+		// Test for forkJoinPool
+		List<DefaultData> resultsForkJoin = rootBranch.query(indexQuery, forkJoinPool);
+		assertThat(resultsForkJoin.size(), is(equalTo(2)));
+
+		assertThat(rootBranch.getAndRemove(timerData1), is(equalTo((DefaultData) timerData1)));
+		results = rootBranch.query(indexQuery);
+		assertThat(results.size(), is(equalTo(1)));
+		assertThat(results.get(0), is(equalTo(defaultData)));
+
+		// without method ident all elements are iterated
+		indexQuery.setMethodIdent(0L);
+		results = rootBranch.query(indexQuery);
+		assertThat(results.size(), is(equalTo(2)));
+	}
+
+	/**
+	 * Test that the strong reference leafs hold the elements until they are removed and report
+	 * themselves as empty for the cleaning afterwards.
+	 *
+	 * @throws IndexingException
+	 *             If {@link IndexingException} occurs.
+	 */
+	@Test
+	public void strongReferenceLeafs() throws IndexingException {
+		BufferBranchIndexer<DefaultData> indexer = new BufferBranchIndexer<>(new ObjectTypeIndexer<>());
+		indexer.setMethodIdentLeafIndex(true);
+		indexer.setStrongReferenceLeafs(true);
+		IBufferTreeComponent<DefaultData> rootBranch = new Branch<>(indexer);
+
+		TimerData timerData1 = mock(TimerData.class);
+		when(timerData1.getId()).thenReturn(1L);
+		when(timerData1.getMethodIdent()).thenReturn(10L);
+		when(timerData1.isQueryComplied(indexQuery)).thenReturn(true);
+		rootBranch.put(timerData1);
+
+		TimerData timerData2 = mock(TimerData.class);
+		when(timerData2.getId()).thenReturn(2L);
+		when(timerData2.getMethodIdent()).thenReturn(20L);
+		when(timerData2.isQueryComplied(indexQuery)).thenReturn(true);
+		rootBranch.put(timerData2);
+
+		assertThat(rootBranch.get(timerData1), is(equalTo((DefaultData) timerData1)));
+		assertThat(rootBranch.query(indexQuery).size(), is(equalTo(2)));
+		indexQuery.setMethodIdent(20L);
+		List<DefaultData> results = rootBranch.query(indexQuery);
+		assertThat(results.size(), is(equalTo(1)));
+		assertThat(results.get(0), is(equalTo((DefaultData) timerData2)));
+
+		assertThat(rootBranch.getAndRemove(timerData2), is(equalTo((DefaultData) timerData2)));
+		assertThat(rootBranch.getAndRemove(timerData2), is(nullValue()));
+		assertThat(rootBranch.query(indexQuery).size(), is(equalTo(0)));
+		assertThat(rootBranch.clean(), is(false));
+
+		assertThat(rootBranch.getAndRemove(timerData1), is(equalTo((DefaultData) timerData1)));
+		assertThat(rootBranch.getNumberOfElements(), is(equalTo(0L)));
+		assertThat(rootBranch.clean(), is(true));
+	}
+
+	/**
+	 * Test that the top-k query returns the newest elements when sorting by time stamp descending.
+	 *
+	 * @throws IndexingException
+	 *             If {@link IndexingException} occurs.
+	 */
+	@Test
+	public void topKQueryNewestFirst() throws IndexingException {
+		IBufferTreeComponent<DefaultData> rootBranch = getTopKTestTree(100);
+		Comparator<DefaultData> comparator = new ResultComparator<>(DefaultDataComparatorEnum.TIMESTAMP, false);
+
+		List<DefaultData> results = rootBranch.query(indexQuery, comparator, 5);
+		List<DefaultData> resultsForkJoin = rootBranch.query(indexQuery, comparator, 5, forkJoinPool);
+
+		assertThat(results.size(), is(equalTo(5)));
+		assertThat(resultsForkJoin, is(equalTo(results)));
+		for (int i = 0; i < 5; i++) {
+			assertThat(results.get(i).getId(), is(equalTo(100L - i)));
+		}
+	}
+
+	/**
+	 * Test that the top-k query returns the same elements as sorting and limiting the complete
+	 * result.
+	 *
+	 * @throws IndexingException
+	 *             If {@link IndexingException} occurs.
+	 */
+	@Test
+	public void topKQuerySameAsSortedQuery() throws IndexingException {
+		IBufferTreeComponent<DefaultData> rootBranch = getTopKTestTree(100);
+
+		List<DefaultData> all = rootBranch.query(indexQuery);
+		Collections.sort(all, DefaultDataComparatorEnum.TIMESTAMP);
+		List<DefaultData> results = rootBranch.query(indexQuery, DefaultDataComparatorEnum.TIMESTAMP, 10);
+		List<DefaultData> resultsForkJoin = rootBranch.query(indexQuery, DefaultDataComparatorEnum.TIMESTAMP, 10, forkJoinPool);
+
+		assertThat(results, is(equalTo(all.subList(0, 10))));
+		assertThat(resultsForkJoin, is(equalTo(all.subList(0, 10))));
+
+		// not time ordered comparator
+		Collections.sort(all, DefaultDataComparatorEnum.ID);
+		results = rootBranch.query(indexQuery, DefaultDataComparatorEnum.ID, 10);
+		assertThat(results, is(equalTo(all.subList(0, 10))));
+
+		// limit bigger than the amount of elements
+		results = rootBranch.query(indexQuery, DefaultDataComparatorEnum.ID, 200);
+		assertThat(results, is(equalTo(all)));
+	}
+
+	/**
+	 * Creates the tree indexed by the object type and time stamp with the given amount of timer
+	 * data, one every 5 minutes, where the newer elements have higher ids.
+	 *
+	 * @param elements
+	 *            Amount of elements.
+	 * @return Tree.
+	 * @throws IndexingException
+	 *             If {@link IndexingException} occurs.
+	 */
+	private IBufferTreeComponent<DefaultData> getTopKTestTree(int elements) throws IndexingException {
+		BufferBranchIndexer<DefaultData> timestampIndexer = new BufferBranchIndexer<>(new TimestampIndexer<>());
+		IBufferTreeComponent<DefaultData> rootBranch = new Branch<>(new BufferBranchIndexer<>(new ObjectTypeIndexer<>(), timestampIndexer));
+		long start = System.currentTimeMillis() - (elements * 5 * 60 * 1000L);
+		for (int i = 1; i <= elements; i++) {
+			TimerData timerData = new TimerData(new Timestamp(start + (i * 5 * 60 * 1000L)), 10L, 20L, 30L);
+			timerData.setId(i);
+			rootBranch.put(timerData);
+		}
+		return rootBranch;
+	}
+
 	/**
 	 * Test tree with query that holds only object type.
 	 *
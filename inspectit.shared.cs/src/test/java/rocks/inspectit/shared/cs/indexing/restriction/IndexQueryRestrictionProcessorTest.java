@@ -3,6 +3,7 @@ package rocks.inspectit.shared.cs.indexing.restriction;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -642,4 +643,64 @@ public class IndexQueryRestrictionProcessorTest extends TestBase {
 		}
 	}
 
+	public static class Compile extends IndexQueryRestrictionProcessorTest {
+
+		/**
+		 * Tests that the compiled predicate checks all restrictions.
+		 */
+		@Test
+		public void compiledRestrictions() {
+			TimerData timerData = new TimerData();
+			timerData.setId(1L);
+			List<IIndexQueryRestriction> restrictions = Arrays.asList(IndexQueryRestrictionFactory.greaterEqual("id", 1L), IndexQueryRestrictionFactory.lessThan("id", 2L));
+
+			IIndexQueryRestrictionPredicate predicate = processor.compile(TimerData.class, restrictions);
+
+			assertThat(predicate.areAllFulfilled(timerData), is(true));
+			timerData.setId(2L);
+			assertThat(predicate.areAllFulfilled(timerData), is(false));
+		}
+
+		/**
+		 * Tests that the compiled predicate navigates the fields.
+		 */
+		@Test
+		public void compiledRestrictionsNavigation() {
+			HttpTimerData httpData = new HttpTimerData();
+			httpData.getHttpInfo().setId(1L);
+			List<IIndexQueryRestriction> restrictions = Collections.singletonList(IndexQueryRestrictionFactory.equal("httpInfo.id", 1L));
+
+			IIndexQueryRestrictionPredicate predicate = processor.compile(HttpTimerData.class, restrictions);
+
+			assertThat(predicate.areAllFulfilled(httpData), is(true));
+		}
+
+		/**
+		 * Tests that the accessors are cached per exact class, thus the field missing in one class
+		 * does not influence the other class.
+		 */
+		@Test
+		public void compiledPerClass() {
+			HttpTimerData httpData = new HttpTimerData();
+			httpData.getHttpInfo().setId(1L);
+			List<IIndexQueryRestriction> restrictions = Collections.singletonList(IndexQueryRestrictionFactory.equal("httpInfo.id", 1L));
+
+			IIndexQueryRestrictionPredicate timerPredicate = processor.compile(TimerData.class, restrictions);
+			IIndexQueryRestrictionPredicate httpPredicate = processor.compile(HttpTimerData.class, restrictions);
+
+			assertThat(timerPredicate.areAllFulfilled(new TimerData()), is(false));
+			assertThat(httpPredicate.areAllFulfilled(httpData), is(true));
+		}
+
+		/**
+		 * Tests that empty restrictions are always fulfilled.
+		 */
+		@Test
+		public void noRestrictions() {
+			IIndexQueryRestrictionPredicate predicate = processor.compile(TimerData.class, Collections.<IIndexQueryRestriction> emptyList());
+
+			assertThat(predicate.areAllFulfilled(new TimerData()), is(true));
+		}
+	}
+
 }
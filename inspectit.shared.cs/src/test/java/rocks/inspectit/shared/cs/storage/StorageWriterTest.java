@@ -3,6 +3,9 @@ package rocks.inspectit.shared.cs.storage;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
@@ -21,12 +24,12 @@ import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -39,8 +42,9 @@ import com.esotericsoftware.kryo.io.Output;
 
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
-import rocks.inspectit.shared.all.serializer.ISerializer;
 import rocks.inspectit.shared.all.serializer.SerializationException;
+import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
+import rocks.inspectit.shared.all.serializer.provider.SerializerPool;
 import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
 import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
@@ -57,7 +61,7 @@ public class StorageWriterTest {
 	private StorageWriter storageWriter;
 
 	@Mock
-	private ISerializer serializer;
+	private SerializationManager serializer;
 
 	@Mock
 	private StreamProvider streamProvider;
@@ -75,7 +79,7 @@ public class StorageWriterTest {
 	private StorageManager storageManager;
 
 	@Mock
-	private BlockingQueue<ISerializer> serializerQueue;
+	private SerializerPool serializerPool;
 
 	@Mock
 	private ScheduledExecutorService scheduledExecutorService;
@@ -98,13 +102,13 @@ public class StorageWriterTest {
 		when(storageIndexingTreeHandler.startWrite(Matchers.<WriteTask> anyObject())).thenReturn(1);
 		when(storageManager.canWriteMore()).thenReturn(true);
 		when(storageManager.getChannelPath(Matchers.<IStorageData> anyObject(), anyInt())).thenReturn(Paths.get("test"));
-		when(serializerQueue.take()).thenReturn(serializer);
+		when(serializerPool.acquireSerializer()).thenReturn(serializer);
 		when(scheduledExecutorService.scheduleWithFixedDelay(Matchers.<Runnable> anyObject(), anyLong(), anyLong(), Matchers.<TimeUnit> anyObject())).thenReturn(future);
 		storageWriter.indexingTreeHandler = storageIndexingTreeHandler;
 		storageWriter.storageManager = storageManager;
 		storageWriter.writingChannelManager = writingChannelManager;
 		storageWriter.streamProvider = streamProvider;
-		storageWriter.serializerQueue = serializerQueue;
+		storageWriter.serializerPool = serializerPool;
 		storageWriter.scheduledExecutorService = scheduledExecutorService;
 		storageWriter.writeDataProcessors = Collections.singletonList(writeDataProcessor);
 		storageWriter.log = LoggerFactory.getLogger(storageWriter.getClass());
@@ -153,7 +157,7 @@ public class StorageWriterTest {
 	public void writeTaskWriteNotAllowedByStorageManager() {
 		when(storageManager.canWriteMore()).thenReturn(false);
 		storageWriter.new WriteTask(new TimerData(), Collections.emptyMap()).run();
-		verifyZeroInteractions(storageIndexingTreeHandler, extendedByteBufferOutputStream, streamProvider, serializer, serializerQueue, writingChannelManager);
+		verifyZeroInteractions(storageIndexingTreeHandler, extendedByteBufferOutputStream, streamProvider, serializer, serializerPool, writingChannelManager);
 	}
 
 	@Test
@@ -165,7 +169,7 @@ public class StorageWriterTest {
 		writeTask.run();
 
 		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
-		verifyZeroInteractions(serializer, serializerQueue, streamProvider, writingChannelManager);
+		verifyZeroInteractions(serializer, serializerPool, streamProvider, writingChannelManager);
 	}
 
 	@Test
@@ -177,26 +181,14 @@ public class StorageWriterTest {
 		writeTask.run();
 
 		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
-		verifyZeroInteractions(serializer, serializerQueue, streamProvider, writingChannelManager);
+		verifyZeroInteractions(serializer, serializerPool, streamProvider, writingChannelManager);
 	}
 
 	@Test
-	public void writeTaskNoSerializerAvailable() throws InterruptedException {
+	public void writeTaskNoSerializerAvailable() {
 		TimerData timerData = new TimerData();
 		WriteTask writeTask = storageWriter.new WriteTask(timerData, Collections.emptyMap());
-		when(serializerQueue.take()).thenReturn(null);
-
-		writeTask.run();
-
-		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
-		verifyZeroInteractions(writingChannelManager, streamProvider, extendedByteBufferOutputStream);
-	}
-
-	@Test
-	public void writeTaskSerializerQueueInterrupted() throws InterruptedException {
-		TimerData timerData = new TimerData();
-		WriteTask writeTask = storageWriter.new WriteTask(timerData, Collections.emptyMap());
-		doThrow(InterruptedException.class).when(serializerQueue).take();
+		doThrow(IllegalStateException.class).when(serializerPool).acquireSerializer();
 
 		writeTask.run();
 
@@ -214,10 +206,25 @@ public class StorageWriterTest {
 
 		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
 		verify(extendedByteBufferOutputStream, times(1)).close();
-		verify(serializerQueue, times(1)).add(serializer);
+		verify(serializerPool, times(1)).releaseSerializer(serializer);
 		verifyZeroInteractions(writingChannelManager);
 	}
 
+	@Test
+	public void writeTaskReusesOutput() throws SerializationException {
+		WriteTask writeTaskOne = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+		WriteTask writeTaskTwo = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+
+		writeTaskOne.run();
+		writeTaskTwo.run();
+
+		ArgumentCaptor<Output> outputCaptor = ArgumentCaptor.forClass(Output.class);
+		verify(serializer, times(2)).serialize(anyObject(), outputCaptor.capture(), Matchers.<Map<?, ?>> anyObject());
+		assertThat(outputCaptor.getAllValues().get(0), is(sameInstance(outputCaptor.getAllValues().get(1))));
+		assertThat(outputCaptor.getValue().getOutputStream(), is(nullValue()));
+		verify(serializerPool, times(2)).releaseSerializer(serializer);
+	}
+
 	@Test
 	public void writeTaskExceptionDuringWrite() throws IOException {
 		TimerData timerData = new TimerData();
@@ -229,7 +236,7 @@ public class StorageWriterTest {
 
 		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
 		verify(extendedByteBufferOutputStream, times(1)).close();
-		verify(serializerQueue, times(1)).add(serializer);
+		verify(serializerPool, times(1)).releaseSerializer(serializer);
 	}
 
 	@Test
@@ -243,21 +250,15 @@ public class StorageWriterTest {
 
 		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
 		verify(extendedByteBufferOutputStream, times(1)).close();
-		verify(serializerQueue, times(1)).add(serializer);
+		verify(serializerPool, times(1)).releaseSerializer(serializer);
 	}
 
 	@Test
-	public void objectWriteNoSerializerAvailable() throws InterruptedException {
-		when(serializerQueue.take()).thenReturn(null);
-		storageWriter.writeNonDefaultDataObject(new Object(), "myFile");
+	public void objectWriteNoSerializerAvailable() {
+		doThrow(IllegalStateException.class).when(serializerPool).acquireSerializer();
+		boolean written = storageWriter.writeNonDefaultDataObject(new Object(), "myFile");
 
-		verifyZeroInteractions(writingChannelManager, streamProvider, extendedByteBufferOutputStream);
-	}
-
-	@Test
-	public void objectWriteSerializerQueueInterrupted() throws InterruptedException {
-		doThrow(InterruptedException.class).when(serializerQueue).take();
-		storageWriter.writeNonDefaultDataObject(new Object(), "myFile");
+		assertThat(written, is(false));
 
 		verifyZeroInteractions(writingChannelManager, streamProvider, extendedByteBufferOutputStream);
 	}
@@ -272,7 +273,7 @@ public class StorageWriterTest {
 		doThrow(SerializationException.class).when(serializer).serialize(anyObject(), Matchers.<Output> anyObject());
 		storageWriter.writeNonDefaultDataObject(new Object(), "myFile");
 
-		verify(serializerQueue, times(1)).add(serializer);
+		verify(serializerPool, times(1)).releaseSerializer(serializer);
 		verifyZeroInteractions(writingChannelManager, extendedByteBufferOutputStream);
 	}
 
@@ -31,6 +31,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.ByteBufferInputStream;
 import com.esotericsoftware.kryo.io.ByteBufferOutputStream;
 import com.esotericsoftware.kryo.io.Input;
@@ -47,6 +48,7 @@ import rocks.inspectit.shared.all.communication.data.AggregatedSqlStatementData;
 import rocks.inspectit.shared.all.communication.data.AggregatedTimerData;
 import rocks.inspectit.shared.all.communication.data.ClassLoadingInformationData;
 import rocks.inspectit.shared.all.communication.data.CompilationInformationData;
+import rocks.inspectit.shared.all.communication.data.CpuInformationData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
@@ -65,6 +67,7 @@ import rocks.inspectit.shared.all.exception.RemoteException;
 import rocks.inspectit.shared.all.exception.enumeration.StorageErrorCodeEnum;
 import rocks.inspectit.shared.all.serializer.ISerializer;
 import rocks.inspectit.shared.all.serializer.SerializationException;
+import rocks.inspectit.shared.all.serializer.impl.CustomCompatibleFieldSerializer;
 import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
 import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
 import rocks.inspectit.shared.all.testbase.TestBase;
@@ -243,6 +246,40 @@ public class SerializerTest extends TestBase {
 		assertThat(copy == object, is(false));
 	}
 
+	/**
+	 * Provides classes that are serialized with the field accessors.
+	 *
+	 * @return Provides classes that are serialized with the field accessors.
+	 */
+	@DataProvider(name = "fieldAccessorClassProvider")
+	public Object[][] fieldAccessorClassProvider() {
+		return new Object[][] { { TimerData.class }, { HttpTimerData.class }, { SqlStatementData.class }, { ExceptionSensorData.class }, { InvocationSequenceData.class },
+				{ ClassLoadingInformationData.class }, { CompilationInformationData.class }, { CpuInformationData.class }, { MemoryInformationData.class }, { RuntimeInformationData.class },
+				{ ThreadInformationData.class } };
+	}
+
+	/**
+	 * Tests that the classes serialized with the field accessors result in the same bytes as when
+	 * all fields are serialized with the Kryo cached fields.
+	 */
+	@Test(dataProvider = "fieldAccessorClassProvider")
+	public void fieldAccessorSameBytes(Class<?> testingClass) throws InstantiationException, IllegalAccessException, SerializationException {
+		Object object = getInstanceWithPrimitiveFieldsSet(testingClass);
+		SerializationManager cachedFieldsSerializer = new SerializationManager();
+		cachedFieldsSerializer.setSchemaManager(schemaManager);
+		cachedFieldsSerializer.setKryoNetNetwork(new KryoNetNetwork());
+		cachedFieldsSerializer.initKryo();
+		Kryo kryo = cachedFieldsSerializer.getKryo();
+		kryo.register(testingClass, new CustomCompatibleFieldSerializer<Object>(kryo, testingClass, schemaManager));
+
+		Output expected = new Output(1024, -1);
+		cachedFieldsSerializer.serialize(object, expected);
+		Output actual = new Output(1024, -1);
+		serializer.serialize(object, actual);
+
+		assertThat(actual.toBytes(), is(equalTo(expected.toBytes())));
+	}
+
 	private Object getInstanceWithPrimitiveFieldsSet(Class<?> testingClass) throws IllegalArgumentException, IllegalAccessException, InstantiationException {
 		Object object = testingClass.newInstance();
 
@@ -12,6 +12,7 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IPropertyListener;
@@ -24,6 +25,7 @@ import org.eclipse.ui.forms.widgets.Section;
 import rocks.inspectit.shared.cs.ci.Environment;
 import rocks.inspectit.shared.cs.ci.strategy.IStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.ListSendingStrategyConfig;
+import rocks.inspectit.shared.cs.ci.strategy.impl.RingBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.SimpleBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.SizeBufferStrategyConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.TimeSendingStrategyConfig;
@@ -45,6 +47,11 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 	 */
 	private static final String SIZE_BUFFER_STRATEGY = "Size buffer";
 
+	/**
+	 * Display name of the ring buffer strategy.
+	 */
+	private static final String RING_BUFFER_STRATEGY = "Ring buffer";
+
 	/**
 	 * Display name of the simple buffer strategy.
 	 */
@@ -105,6 +112,16 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 	 */
 	private Button classDelegationButton;
 
+	/**
+	 * Button for network compression.
+	 */
+	private Button networkCompressionButton;
+
+	/**
+	 * Spinner for the disk spool size.
+	 */
+	private Spinner diskSpoolSizeSpinner;
+
 	/**
 	 * Default constructor.
 	 *
@@ -171,7 +188,7 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 		gd.widthHint = 50;
 		bufferValue.setLayoutData(gd);
 		createInfoLabel(mainComposite, toolkit,
-				"The simple version of a buffer is apparently no buffer at all. It contains exactly one element. This is useful if old data isn't necessary or maybe the memory of the application is very limited.\nThe Size buffer strategy needs specification of the size of this buffer. This buffer works as a FILO stack, so last added elements will be sent first (as they are more important), and old ones are thrown away if this buffer is full");
+				"The simple version of a buffer is apparently no buffer at all. It contains exactly one element. This is useful if old data isn't necessary or maybe the memory of the application is very limited.\nThe Size buffer strategy needs specification of the size of this buffer. This buffer works as a FILO stack, so last added elements will be sent first (as they are more important), and old ones are thrown away if this buffer is full.\nThe Ring buffer strategy needs specification of the size of this buffer. This buffer works as a lock-free FIFO queue, so elements are sent in the order they were created. When the buffer is full, the data is dropped as defined by the drop policy (oldest by default) and the amount of dropped data is reported to the CMR.");
 
 		// fill the boxes and values
 		sendingCombo.add(TIME_SENDING_STRATEGY);
@@ -191,17 +208,26 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 
 		bufferCombo.add(SIMPLE_BUFFER_STRATEGY);
 		bufferCombo.add(SIZE_BUFFER_STRATEGY);
+		bufferCombo.add(RING_BUFFER_STRATEGY);
 		IStrategyConfig bufferStrategyConfig = environment.getBufferStrategyConfig();
 		if (bufferStrategyConfig instanceof SimpleBufferStrategyConfig) {
 			bufferCombo.setData(SIMPLE_BUFFER_STRATEGY, bufferStrategyConfig);
 			bufferCombo.setData(SIZE_BUFFER_STRATEGY, new SizeBufferStrategyConfig());
+			bufferCombo.setData(RING_BUFFER_STRATEGY, new RingBufferStrategyConfig());
 			bufferCombo.select(0);
 			bufferValue.setEnabled(false);
 		} else if (bufferStrategyConfig instanceof SizeBufferStrategyConfig) {
 			bufferCombo.setData(SIMPLE_BUFFER_STRATEGY, new SimpleBufferStrategyConfig());
 			bufferCombo.setData(SIZE_BUFFER_STRATEGY, bufferStrategyConfig);
+			bufferCombo.setData(RING_BUFFER_STRATEGY, new RingBufferStrategyConfig());
 			bufferCombo.select(1);
 			bufferValue.setText(String.valueOf(((SizeBufferStrategyConfig) bufferStrategyConfig).getSize()));
+		} else if (bufferStrategyConfig instanceof RingBufferStrategyConfig) {
+			bufferCombo.setData(SIMPLE_BUFFER_STRATEGY, new SimpleBufferStrategyConfig());
+			bufferCombo.setData(SIZE_BUFFER_STRATEGY, new SizeBufferStrategyConfig());
+			bufferCombo.setData(RING_BUFFER_STRATEGY, bufferStrategyConfig);
+			bufferCombo.select(2);
+			bufferValue.setText(String.valueOf(((RingBufferStrategyConfig) bufferStrategyConfig).getSize()));
 		}
 
 		// listeners
@@ -227,6 +253,9 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 				} else if (data instanceof SizeBufferStrategyConfig) {
 					bufferValue.setEnabled(true);
 					bufferValue.setText(String.valueOf(((SizeBufferStrategyConfig) data).getSize()));
+				} else if (data instanceof RingBufferStrategyConfig) {
+					bufferValue.setEnabled(true);
+					bufferValue.setText(String.valueOf(((RingBufferStrategyConfig) data).getSize()));
 				}
 			}
 		});
@@ -255,6 +284,27 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 		createInfoLabel(mainComposite, toolkit,
 				"If activated all sub-classes of java.lang.ClassLoader will be instrumented so that loading of the inspectIT classes is delegated to the inspectIT class loader. Should only be changed to false in rare cases and is expert user level option.");
 
+		// network compression
+		toolkit.createLabel(mainComposite, "Network compression:").setLayoutData(new GridData(SWT.FILL, SWT.CENTER, false, false));
+		networkCompressionButton = toolkit.createButton(mainComposite, "Active", SWT.CHECK);
+		networkCompressionButton.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false, 2, 1));
+		networkCompressionButton.setSelection(environment.isNetworkCompression());
+		createInfoLabel(mainComposite, toolkit,
+				"If activated the agent compresses the data sent to the CMR with the LZ4 algorithm. Reduces the network traffic for the small additional CPU cost on the agent and CMR side. The achieved compression ratio is reported in the CMR status.");
+
+		// disk spool
+		toolkit.createLabel(mainComposite, "Disk spool size (MB):").setLayoutData(new GridData(SWT.FILL, SWT.CENTER, false, false));
+		diskSpoolSizeSpinner = new Spinner(mainComposite, SWT.BORDER);
+		diskSpoolSizeSpinner.setMinimum(0);
+		diskSpoolSizeSpinner.setMaximum(Integer.MAX_VALUE);
+		diskSpoolSizeSpinner.setIncrement(1);
+		diskSpoolSizeSpinner.setPageIncrement(64);
+		diskSpoolSizeSpinner.setSelection(environment.getDiskSpoolSize());
+		diskSpoolSizeSpinner.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 2, 1));
+		toolkit.adapt(diskSpoolSizeSpinner);
+		createInfoLabel(mainComposite, toolkit,
+				"Size of the file on the agent side that keeps the measurements while the CMR is not available. The data is sent to the CMR after the connection is re-established. If the file is full the oldest data is dropped. Value 0 deactivates the disk spool.");
+
 		// dirty listener
 		Listener dirtyListener = new Listener() {
 			@Override
@@ -269,6 +319,8 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 		sendingValue.addListener(SWT.Modify, dirtyListener);
 		bufferValue.addListener(SWT.Modify, dirtyListener);
 		classDelegationButton.addListener(SWT.Selection, dirtyListener);
+		networkCompressionButton.addListener(SWT.Selection, dirtyListener);
+		diskSpoolSizeSpinner.addListener(SWT.Modify, dirtyListener);
 	}
 
 	/**
@@ -282,6 +334,8 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 			validateUpdateSendingStrategy(true);
 			validateUpdateBufferStrategy(true);
 			environment.setClassLoadingDelegation(classDelegationButton.getSelection());
+			environment.setNetworkCompression(networkCompressionButton.getSelection());
+			environment.setDiskSpoolSize(diskSpoolSizeSpinner.getSelection());
 			getManagedForm().dirtyStateChanged();
 		}
 	}
@@ -358,6 +412,21 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 				showSizeBufferStrategyValidationMessage();
 				valid = false;
 			}
+		} else if (bufferStrategy instanceof RingBufferStrategyConfig) {
+			try {
+				int size = Integer.parseInt(bufferValue.getText());
+				if (size <= 0) {
+					showRingBufferStrategyValidationMessage();
+					valid = false;
+				} else {
+					if (update) {
+						((RingBufferStrategyConfig) bufferStrategy).setSize(size);
+					}
+				}
+			} catch (NumberFormatException exception) {
+				showRingBufferStrategyValidationMessage();
+				valid = false;
+			}
 		}
 		if (update) {
 			environment.setBufferStrategyConfig(bufferStrategy);
@@ -387,6 +456,13 @@ public class EnvironmentSettingsPart extends SectionPart implements IPropertyLis
 		bufferValueDecoration.setDescriptionText("Size buffer strategy must define a buffer size greater than zero.");
 	}
 
+	/**
+	 * Shows validation error message for ring buffer strategy.
+	 */
+	private void showRingBufferStrategyValidationMessage() {
+		bufferValueDecoration.setDescriptionText("Ring buffer strategy must define a buffer size greater than zero.");
+	}
+
 	/**
 	 * Creates info icon with given text as tool-tip.
 	 *
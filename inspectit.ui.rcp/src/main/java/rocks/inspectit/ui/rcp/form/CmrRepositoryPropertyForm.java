@@ -107,11 +107,13 @@ public class CmrRepositoryPropertyForm implements ISelectionChangedListener {
 	private Label recordingLabel; // NOCHK
 	private Label version; // NOCHK
 	private Label bufferSize; // NOCHK
+	private Label bufferIndexingLag; // NOCHK
 	private Label recTime; // NOCHK
 	private Label spaceLeftLabel; // NOCHK
 	private ProgressBar spaceLeftBar; // NOCHK
 	private Label uptimeLabel; // NOCHK
 	private Label databaseSizeLabel; // NOCHK
+	private Label networkCompressionLabel; // NOCHK
 
 	/**
 	 * Map containing the labels of the external services.
@@ -192,6 +194,10 @@ public class CmrRepositoryPropertyForm implements ISelectionChangedListener {
 		databaseSizeLabel = toolkit.createLabel(generalComposite, null, SWT.WRAP);
 		databaseSizeLabel.setToolTipText("Current size of the database on the CMR");
 
+		toolkit.createLabel(generalComposite, "Network compression:");
+		networkCompressionLabel = toolkit.createLabel(generalComposite, null, SWT.WRAP);
+		networkCompressionLabel.setToolTipText("Compression ratio of the data exchanged with the agents and the CPU time the CMR spent in compressing and decompressing it");
+
 		generalSection.setClient(generalComposite);
 		generalSection.setLayout(new TableWrapLayout());
 		generalSection.setLayoutData(new TableWrapData(TableWrapData.FILL_GRAB));
@@ -251,6 +257,9 @@ public class CmrRepositoryPropertyForm implements ISelectionChangedListener {
 		bufferSize = toolkit.createLabel(bufferSectionComposite, null, SWT.CENTER);
 		bufferSize.setLayoutData(new TableWrapData(TableWrapData.FILL_GRAB));
 
+		toolkit.createLabel(bufferSectionComposite, "Indexing lag:");
+		bufferIndexingLag = toolkit.createLabel(bufferSectionComposite, null, SWT.WRAP);
+
 		bufferSection.setClient(bufferSectionComposite);
 		bufferSection.setLayout(new TableWrapLayout());
 		bufferSection.setLayoutData(new TableWrapData(TableWrapData.FILL_GRAB));
@@ -445,6 +454,8 @@ public class CmrRepositoryPropertyForm implements ISelectionChangedListener {
 				bufferDate.setText("-");
 			}
 
+			bufferIndexingLag.setText(cmrStatusData.getBufferIndexingLagElements() + " elements (" + NumberFormatter.humanReadableMillisCount(cmrStatusData.getBufferIndexingLagMillis(), true) + ")");
+
 			// hard drive space data
 			int spaceOccupancy = (int) ((100 * (double) cmrStatusData.getStorageDataSpaceLeft()) / cmrStatusData.getStorageMaxDataSpace());
 			StringBuilder spaceLeftStringBuilder = new StringBuilder(String.valueOf(spaceOccupancy));
@@ -484,6 +495,23 @@ public class CmrRepositoryPropertyForm implements ISelectionChangedListener {
 				databaseSizeLabel.setText("n/a");
 			}
 
+			// network compression info
+			long networkCompressedBytes = cmrStatusData.getNetworkCompressedBytes();
+			if (networkCompressedBytes > 0) {
+				long networkRawBytes = cmrStatusData.getNetworkRawBytes();
+				StringBuilder compressionText = new StringBuilder("Ratio ");
+				compressionText.append(NumberFormatter.formatDouble((double) networkRawBytes / networkCompressedBytes, 2));
+				compressionText.append(" (");
+				compressionText.append(NumberFormatter.humanReadableByteCount(networkRawBytes));
+				compressionText.append(" to ");
+				compressionText.append(NumberFormatter.humanReadableByteCount(networkCompressedBytes));
+				compressionText.append("), CPU time ");
+				compressionText.append(NumberFormatter.formatNanosToSeconds(cmrStatusData.getNetworkCompressionTime()));
+				networkCompressionLabel.setText(compressionText.toString());
+			} else {
+				networkCompressionLabel.setText("n/a");
+			}
+
 			// external services
 			for (Entry<ExternalServiceType, Pair<Label, Label>> serviceEntry : externalServiceLabelMap.entrySet()) {
 				ExternalServiceStatus serviceStatus = cmrStatusData.getExternalServiceStatusMap().get(serviceEntry.getKey());
@@ -508,12 +536,14 @@ public class CmrRepositoryPropertyForm implements ISelectionChangedListener {
 			bufferBar.setMaximum(Integer.MAX_VALUE);
 			bufferBar.setSelection(0);
 			bufferSize.setText("");
+			bufferIndexingLag.setText("");
 			spaceLeftBar.setMaximum(Integer.MAX_VALUE);
 			spaceLeftBar.setSelection(0);
 			spaceLeftBar.setToolTipText("");
 			spaceLeftLabel.setText("");
 			uptimeLabel.setText("");
 			databaseSizeLabel.setText("");
+			networkCompressionLabel.setText("");
 
 			for (Entry<ExternalServiceType, Pair<Label, Label>> serviceEntry : externalServiceLabelMap.entrySet()) {
 				serviceEntry.getValue().getFirst().setImage(InspectIT.getDefault().getImage(InspectITImages.IMG_RECORD_GRAY));
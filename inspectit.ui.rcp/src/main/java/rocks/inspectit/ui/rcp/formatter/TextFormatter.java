@@ -43,6 +43,7 @@ import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementParamete
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.StatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.TimerSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentOverheadSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
@@ -382,6 +383,9 @@ public final class TextFormatter {
 				} else {
 					styledString.append("Connected :: No data sent", StyledString.DECORATIONS_STYLER);
 				}
+				if (agentStatusData.getDroppedDataCount() > 0) {
+					styledString.append(" :: " + agentStatusData.getDroppedDataCount() + " data objects dropped on the CMR", StyledString.DECORATIONS_STYLER);
+				}
 				break;
 			case NO_KEEP_ALIVE:
 				long timeSinceLastKeepAlive = System.currentTimeMillis() - agentStatusData.getLastKeepAliveTimestamp();
@@ -726,6 +730,8 @@ public final class TextFormatter {
 			return "System Information";
 		} else if (ObjectUtils.equals(sensorClass, ThreadSensorConfig.class)) {
 			return "Thread Information";
+		} else if (ObjectUtils.equals(sensorClass, AgentOverheadSensorConfig.class)) {
+			return "Agent Overhead Information";
 		} else if (ObjectUtils.equals(sensorClass, JmxSensorConfig.class)) {
 			return "JMX Sensor";
 		}
@@ -13,8 +13,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -45,9 +43,9 @@ import com.esotericsoftware.kryo.io.Input;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.enumeration.StorageErrorCodeEnum;
-import rocks.inspectit.shared.all.serializer.ISerializer;
 import rocks.inspectit.shared.all.serializer.SerializationException;
-import rocks.inspectit.shared.all.serializer.provider.SerializationManagerProvider;
+import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
+import rocks.inspectit.shared.all.serializer.provider.SerializerPool;
 import rocks.inspectit.shared.all.serializer.util.KryoUtil;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
 import rocks.inspectit.shared.cs.indexing.storage.impl.StorageDescriptor;
@@ -69,43 +67,21 @@ import rocks.inspectit.ui.rcp.storage.http.TransferDataMonitor;
  */
 public class DataRetriever {
 
-	/**
-	 * Amount of serializers to be available to this class.
-	 */
-	private int serializerCount = 3;
-
 	/**
 	 * {@link StorageManager}.
 	 */
 	private StorageManager storageManager;
 
 	/**
-	 * Serialization manager provider.
+	 * Pool of the serializers.
 	 */
-	private SerializationManagerProvider serializationManagerProvider;
-
-	/**
-	 * Queue for {@link ISerializer} that are available.
-	 */
-	private BlockingQueue<ISerializer> serializerQueue = new LinkedBlockingQueue<>();
+	private SerializerPool serializerPool;
 
 	/**
 	 * Stream provider needed for local data reading.
 	 */
 	private InputStreamProvider streamProvider;
 
-	/**
-	 * Initializes the retriever.
-	 *
-	 * @throws Exception
-	 *             If exception occurs.
-	 */
-	protected void init() throws Exception {
-		for (int i = 0; i < serializerCount; i++) {
-			serializerQueue.add(serializationManagerProvider.createSerializer());
-		}
-	}
-
 	/**
 	 * Retrieves the wanted data described in the {@link StorageDescriptor} from the desired
 	 * {@link CmrRepositoryDefinition}. This method will try to invoke as less as possible HTTP
@@ -163,12 +139,7 @@ public class DataRetriever {
 			rangeHeader.append(rangeDescriptor);
 
 			httpGet.addHeader("Range", rangeHeader.toString());
-			ISerializer serializer = null;
-			try {
-				serializer = serializerQueue.take();
-			} catch (InterruptedException e) {
-				Thread.interrupted();
-			}
+			SerializationManager serializer = serializerPool.acquireSerializer();
 			InputStream inputStream = null;
 			Input input = null;
 			try {
@@ -208,7 +179,7 @@ public class DataRetriever {
 				if (null != input) {
 					input.close();
 				}
-				serializerQueue.add(serializer);
+				serializerPool.releaseSerializer(serializer);
 			}
 		}
 		return receivedData;
@@ -260,12 +231,7 @@ public class DataRetriever {
 
 		List<E> receivedData = new ArrayList<>(descriptors.size());
 
-		ISerializer serializer = null;
-		try {
-			serializer = serializerQueue.take();
-		} catch (InterruptedException e) {
-			Thread.interrupted();
-		}
+		SerializationManager serializer = serializerPool.acquireSerializer();
 		InputStream inputStream = null;
 		Input input = null;
 		try {
@@ -280,7 +246,7 @@ public class DataRetriever {
 			if (null != input) {
 				input.close();
 			}
-			serializerQueue.add(serializer);
+			serializerPool.releaseSerializer(serializer);
 		}
 
 		return receivedData;
@@ -316,12 +282,7 @@ public class DataRetriever {
 		} else {
 			HttpClient httpClient = new DefaultHttpClient();
 			HttpGet httpGet = new HttpGet(getServerUri(cmrRepositoryDefinition) + cachedFileLocation);
-			ISerializer serializer = null;
-			try {
-				serializer = serializerQueue.take();
-			} catch (InterruptedException e) {
-				Thread.interrupted();
-			}
+			SerializationManager serializer = serializerPool.acquireSerializer();
 			InputStream inputStream = null;
 			Input input = null;
 			try {
@@ -339,7 +300,7 @@ public class DataRetriever {
 				if (null != input) {
 					input.close();
 				}
-				serializerQueue.add(serializer);
+				serializerPool.releaseSerializer(serializer);
 			}
 		}
 	}
@@ -368,12 +329,7 @@ public class DataRetriever {
 		if (Files.notExists(path)) {
 			return null;
 		} else {
-			ISerializer serializer = null;
-			try {
-				serializer = serializerQueue.take();
-			} catch (InterruptedException e) {
-				Thread.interrupted();
-			}
+			SerializationManager serializer = serializerPool.acquireSerializer();
 
 			Input input = null;
 			try (InputStream inputStream = Files.newInputStream(path, StandardOpenOption.READ)) {
@@ -385,7 +341,7 @@ public class DataRetriever {
 				if (null != input) {
 					input.close();
 				}
-				serializerQueue.add(serializer);
+				serializerPool.releaseSerializer(serializer);
 			}
 		}
 	}
@@ -682,23 +638,13 @@ public class DataRetriever {
 	}
 
 	/**
-	 * Sets {@link #serializerCount}.
-	 *
-	 * @param serializerCount
-	 *            New value for {@link #serializerCount}
-	 */
-	public void setSerializerCount(int serializerCount) {
-		this.serializerCount = serializerCount;
-	}
-
-	/**
-	 * Sets {@link #serializationManagerProvider}.
+	 * Sets {@link #serializerPool}.
 	 *
-	 * @param serializationManagerProvider
-	 *            New value for {@link #serializationManagerProvider}
+	 * @param serializerPool
+	 *            New value for {@link #serializerPool}
 	 */
-	public void setSerializationManagerProvider(SerializationManagerProvider serializationManagerProvider) {
-		this.serializationManagerProvider = serializationManagerProvider;
+	public void setSerializerPool(SerializerPool serializerPool) {
+		this.serializerPool = serializerPool;
 	}
 
 	/**